@@ -115,6 +115,13 @@
 	#include <sys/time.h>
 #endif
 
+// thread local storage, used to cache per-thread state such as the JNIEnv
+#ifdef OS_WINDOWS
+	#define THREAD_LOCAL __declspec(thread)
+#else
+	#define THREAD_LOCAL __thread
+#endif
+
 //#include <stdlib.h>
 //#include <stdio.h>
 
@@ -21,6 +21,9 @@ PORTICO13_NS_START
 
 int JavaRTI::rtiCounter = 0;
 
+// the JNIEnv for the current thread, set the first time it attaches and cleared when it detaches
+static THREAD_LOCAL JNIEnv* threadEnvironment = NULL;
+
 //----------------------------------------------------------
 //                      CONSTRUCTORS
 //----------------------------------------------------------
@@ -31,6 +34,8 @@ JavaRTI::JavaRTI( JavaVM *jvm )
 	this->jproxyClass = NULL;
 	this->jproxy      = NULL;
 	this->id          = ++rtiCounter;
+	this->packedBuffer   = NULL;
+	this->packedCapacity = 0;
 
 	// get a name for the logger
 	char name[16];
@@ -45,6 +50,9 @@ JavaRTI::JavaRTI( JavaVM *jvm )
 	this->attachToJVM();
 	this->initialize();
 	this->cacheMethodIds();
+
+	// create the buffer for packed values and hand it over to the proxy
+	this->ensurePackedCapacity( PACKED_BUFFER_SIZE );
 }
 
 JavaRTI::~JavaRTI()
@@ -68,6 +76,10 @@ JavaRTI::~JavaRTI()
 	//      attaching in a single thread
 	//this->detachFromJVM();
 
+	// the proxy held the only reference to the buffer, so we can free it now it has gone
+	if( this->packedBuffer != NULL )
+		delete [] this->packedBuffer;
+
 	delete this->logger;
 	Runtime::getRuntime()->removeRtiAmbassador( this->id );
 }
@@ -334,6 +346,99 @@ HVPS JavaRTI::convertPHVPS( const HLA::ParameterHandleValuePairSet& parameters )
 	return hvps;
 }
 
+/*
+ * Packs the tag and attribute values into the buffer shared with the proxy, ready for one of
+ * the packed update calls, and returns the number of bytes used. Each int is written in the
+ * native byte order, which the proxy reads the buffer in, and the layout is:
+ *
+ *   [tag length][tag bytes][pair count] ([handle][value length][value bytes])*
+ *
+ * A NULL tag is written with a length of -1. Compared to convertAHVPS(), the values are copied
+ * once, straight into memory the JVM can see, rather than into a new Java byte[] for each of
+ * them plus the arrays that hold them all.
+ */
+jint JavaRTI::packValues( const char *tag, const HLA::AttributeHandleValuePairSet& attributes )
+	throw( HLA::RTIinternalError )
+{
+	// FIX: see convertAHVPS()
+	if( &attributes == NULL )
+	{
+		throw HLA::RTIinternalError( "AttributeHandleValuePairSet was NULL" );
+	}
+
+	// work out how much room we need so that we only have to check the buffer once
+	jint tagLength = tag == NULL ? -1 : strlen(tag);
+	size_t required = (2*sizeof(jint)) + (tag == NULL ? 0 : tagLength);
+	for( HLA::ULong i = 0; i < attributes.size(); ++i )
+		required += (2*sizeof(jint)) + attributes.getValueLength(i);
+
+	ensurePackedCapacity( required );
+
+	// write the values out
+	char *position = packBytes( this->packedBuffer, tag, tagLength );
+	position = packInt( position, attributes.size() );
+	for( HLA::ULong i = 0; i < attributes.size(); ++i )
+	{
+		HLA::ULong valueSize = attributes.getValueLength(i);
+		position = packInt( position, attributes.getHandle(i) );
+		position = packBytes( position, attributes.getValuePointer(i,valueSize), valueSize );
+	}
+
+	return (jint)(position - this->packedBuffer);
+}
+
+/*
+ * Same as the AttributeHandleValuePairSet version, but for interaction parameters
+ */
+jint JavaRTI::packValues( const char *tag, const HLA::ParameterHandleValuePairSet& parameters )
+	throw( HLA::RTIinternalError )
+{
+	// FIX: see convertPHVPS()
+	if( &parameters == NULL )
+	{
+		throw HLA::RTIinternalError( "ParameterHandleValuePairSet was NULL" );
+	}
+
+	// work out how much room we need so that we only have to check the buffer once
+	jint tagLength = tag == NULL ? -1 : strlen(tag);
+	size_t required = (2*sizeof(jint)) + (tag == NULL ? 0 : tagLength);
+	for( HLA::ULong i = 0; i < parameters.size(); ++i )
+		required += (2*sizeof(jint)) + parameters.getValueLength(i);
+
+	ensurePackedCapacity( required );
+
+	// write the values out
+	char *position = packBytes( this->packedBuffer, tag, tagLength );
+	position = packInt( position, parameters.size() );
+	for( HLA::ULong i = 0; i < parameters.size(); ++i )
+	{
+		HLA::ULong valueSize = parameters.getValueLength(i);
+		position = packInt( position, parameters.getHandle(i) );
+		position = packBytes( position, parameters.getValuePointer(i,valueSize), valueSize );
+	}
+
+	return (jint)(position - this->packedBuffer);
+}
+
+char* JavaRTI::packInt( char *position, jint value )
+{
+	memcpy( position, &value, sizeof(jint) );
+	return position + sizeof(jint);
+}
+
+/*
+ * Write the length and then the data. A negative length means there is no data at all.
+ */
+char* JavaRTI::packBytes( char *position, const char *data, jint length )
+{
+	position = packInt( position, length );
+	if( length <= 0 )
+		return position;
+
+	memcpy( position, data, length );
+	return position + length;
+}
+
 /*
  * This method will convert the given time into a jdouble that can be sent to the
  * Java side of the interface
@@ -491,6 +596,11 @@ HLA::AttributeHandleSet* JavaRTI::convertToAHS( jintArray array )
  */
 JNIEnv* JavaRTI::attachToJVM() throw( HLA::RTIinternalError )
 {
+	// a thread keeps the same JNIEnv for as long as it is attached, so once we
+	// have it there is no need to go back to the JVM on every call
+	if( threadEnvironment != NULL )
+		return threadEnvironment;
+
 	JNIEnv* jnienv = NULL;
 	jvm->GetEnv((void **)&jnienv, JNI_VERSION_1_6);
 
@@ -508,6 +618,7 @@ JNIEnv* JavaRTI::attachToJVM() throw( HLA::RTIinternalError )
 		}
 	}
 
+	threadEnvironment = jnienv;
 	return jnienv;
 }
 
@@ -520,12 +631,64 @@ void JavaRTI::detachFromJVM()
 {
 	logger->debug( "Detaching from JVM" );
 	jint result = Runtime::getRuntime()->jvm->DetachCurrentThread();
+	threadEnvironment = NULL;
 	if( result == 0 )
 		logger->info( "Detached from JVM" );
 	else
 		logger->fatal( "Couldn't detach from JVM" );
 }
 
+/*
+ * Make sure the packed buffer can hold at least the given number of bytes. If it can't, a
+ * bigger one is allocated (doubling until it fits) and handed over to the proxy as a direct
+ * ByteBuffer in place of the old one, which is then freed.
+ */
+void JavaRTI::ensurePackedCapacity( size_t required ) throw( HLA::RTIinternalError )
+{
+	if( required <= this->packedCapacity )
+		return;
+
+	size_t capacity = this->packedCapacity == 0 ? PACKED_BUFFER_SIZE : this->packedCapacity;
+	while( capacity < required )
+		capacity *= 2;
+
+	if( capacity > 0x7fffffff )
+	{
+		logger->error( "Values too large to pack (%d bytes)", (int)required );
+		throw HLA::RTIinternalError( "Values too large to pass to the JVM" );
+	}
+
+	// wrap the new memory and give it to the proxy. We don't hang on to the ByteBuffer
+	// ourselves; the proxy keeps it for as long as it needs it
+	JNIEnv *jnienv = this->attachToJVM();
+	char *buffer = new char[capacity];
+	jobject jbuffer = jnienv->NewDirectByteBuffer( buffer, (jlong)capacity );
+	if( jbuffer != NULL )
+	{
+		jnienv->CallVoidMethod( jproxy, SET_PACKED_BUFFER, jbuffer );
+		jnienv->DeleteLocalRef( jbuffer );
+	}
+
+	// we use the plain JNI exception detection here, as this is called during construction
+	// before the exception manager can locate us (see initialize())
+	if( jbuffer == NULL || jnienv->ExceptionOccurred() )
+	{
+		jnienv->ExceptionDescribe();
+		jnienv->ExceptionClear();
+		delete [] buffer;
+		logger->fatal( "Could not hand the packed value buffer over to the JVM" );
+		throw HLA::RTIinternalError( "Could not hand the packed value buffer over to the JVM" );
+	}
+
+	// the proxy has let go of the old buffer now, so we can too
+	if( this->packedBuffer != NULL )
+		delete [] this->packedBuffer;
+
+	this->packedBuffer = buffer;
+	this->packedCapacity = capacity;
+	logger->debug( "Packed value buffer is now %d bytes", (int)capacity );
+}
+
 /*
  * This method will pre-fetch all the necessary JNI ID's. It expects there to be
  * a valid JNIEnv in this->jnienv (so attachToJVM() should have been called first.
@@ -696,6 +859,11 @@ void JavaRTI::cacheMethodIds() throw( HLA::RTIinternalError )
 	cacheMethod( &UPDATE_ATTRIBUTE_VALUES_WITH_TIME, "updateAttributeValues", "(I[I[[B[BD)I" );
 	cacheMethod( &SEND_INTERACTION, "sendInteraction", "(I[I[[B[B)V" );
 	cacheMethod( &SEND_INTERACTION_WITH_TIME, "sendInteraction", "(I[I[[B[BD)I" );
+	cacheMethod( &SET_PACKED_BUFFER, "setPackedBuffer", "(Ljava/nio/ByteBuffer;)V" );
+	cacheMethod( &UPDATE_ATTRIBUTE_VALUES_PACKED, "updateAttributeValuesPacked", "(II)V" );
+	cacheMethod( &UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME, "updateAttributeValuesPacked", "(IID)I" );
+	cacheMethod( &SEND_INTERACTION_PACKED, "sendInteractionPacked", "(II)V" );
+	cacheMethod( &SEND_INTERACTION_PACKED_WITH_TIME, "sendInteractionPacked", "(IID)I" );
 	cacheMethod( &DELETE_OBJECT_INSTANCE, "deleteObjectInstance", "(I[B)V" );
 	cacheMethod( &DELETE_OBJECT_INSTANCE_WITH_TIME, "deleteObjectInstance", "(I[BD)I" );
 	cacheMethod( &LOCAL_DELETE_OBJECT_INSTANCE, "localDeleteObjectInstance", "(I)V" );
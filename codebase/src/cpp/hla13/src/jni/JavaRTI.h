@@ -37,6 +37,8 @@ class JavaRTI
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
 	//----------------------------------------------------------
+	private:
+		static const size_t PACKED_BUFFER_SIZE = 8192; // starting size, grows as needed
 
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
@@ -60,6 +62,12 @@ class JavaRTI
 		char *eName;
 		char *eReason;
 
+		// memory that updates and interactions are packed into for the trip to Java. The
+		// proxy sees it as a direct ByteBuffer, so the values are only copied once on the
+		// way over. Like the rest of the ambassador, this isn't safe for concurrent use.
+		char* packedBuffer;
+		size_t packedCapacity;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
@@ -89,6 +97,12 @@ class JavaRTI
 		HVPS convertPHVPS( const HLA::ParameterHandleValuePairSet& parameters )
 			throw( HLA::RTIinternalError );
 
+		// pack values into the buffer shared with the proxy, returning the length used
+		jint packValues( const char *tag, const HLA::AttributeHandleValuePairSet& attributes )
+			throw( HLA::RTIinternalError );
+		jint packValues( const char *tag, const HLA::ParameterHandleValuePairSet& parameters )
+			throw( HLA::RTIinternalError );
+
 		void pushException( char *exceptionName, char *reason );
 
 		long currentTimeMillis();
@@ -102,6 +116,9 @@ class JavaRTI
 		JNIEnv* attachToJVM() throw( HLA::RTIinternalError );
 		void initialize() throw( HLA::RTIinternalError );
 		void detachFromJVM(); /* should not be called currently */
+		void ensurePackedCapacity( size_t required ) throw( HLA::RTIinternalError );
+		char* packInt( char *position, jint value );
+		char* packBytes( char *position, const char *data, jint length );
 		void cacheMethodIds() throw( HLA::RTIinternalError );
 		void cacheMethod( jmethodID *handle, const char *method, const char *signature )
 			throw( HLA::RTIinternalError );
@@ -154,6 +171,11 @@ class JavaRTI
 		jmethodID UPDATE_ATTRIBUTE_VALUES_WITH_TIME;
 		jmethodID SEND_INTERACTION;
 		jmethodID SEND_INTERACTION_WITH_TIME;
+		jmethodID SET_PACKED_BUFFER;
+		jmethodID UPDATE_ATTRIBUTE_VALUES_PACKED;
+		jmethodID UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME;
+		jmethodID SEND_INTERACTION_PACKED;
+		jmethodID SEND_INTERACTION_PACKED_WITH_TIME;
 		jmethodID DELETE_OBJECT_INSTANCE;
 		jmethodID DELETE_OBJECT_INSTANCE_WITH_TIME;
 		jmethodID LOCAL_DELETE_OBJECT_INSTANCE;
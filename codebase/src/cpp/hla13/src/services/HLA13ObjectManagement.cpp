@@ -99,9 +99,8 @@ RTI::RTIambassador::updateAttributeValues( RTI::ObjectHandle theObject,
 	       RTI::RTIinternalError )
 {
 	// get java versions of the parameters
-	jbyteArray jTag = privateRefs->rti->convertTag( theTag );
 	jdouble jTime = privateRefs->rti->convertTime( theTime );
-	HVPS values = privateRefs->rti->convertAHVPS( theAttributes );
+	jint jLength = privateRefs->rti->packValues( theTag, theAttributes );
 
 	// log the request
 	if( logger->isTraceEnabled() )
@@ -114,18 +113,13 @@ RTI::RTIambassador::updateAttributeValues( RTI::ObjectHandle theObject,
 	
 	// call the method
 	JNIEnv *env = privateRefs->rti->getJniEnvironment();
-	env->CallVoidMethod( privateRefs->rti->jproxy,
-	                     privateRefs->rti->UPDATE_ATTRIBUTE_VALUES_WITH_TIME,
-	                     theObject,
-	                     values.handles,
-	                     values.values,
-	                     jTag,
-	                     jTime );
+	env->CallIntMethod( privateRefs->rti->jproxy,
+	                    privateRefs->rti->UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME,
+	                    theObject,
+	                    jLength,
+	                    jTime );
 	
-	// clean up and run the exception check
-	env->DeleteLocalRef( jTag );
-	env->DeleteLocalRef( values.handles );
-	env->DeleteLocalRef( values.values );
+	// run the exception check
 	privateRefs->rti->exceptionCheck();
 
 	logger->trace( "[Finished] updateAttributeValues(TSO): objectHandle=%d", theObject );
@@ -155,22 +149,16 @@ void RTI::RTIambassador::updateAttributeValues( RTI::ObjectHandle theObject,
 	}
 
 	// get java versions of the parameters
-	jbyteArray jTag = privateRefs->rti->convertTag( theTag );
-	HVPS values = privateRefs->rti->convertAHVPS( attributes );
+	jint jLength = privateRefs->rti->packValues( theTag, attributes );
 	
 	// call the method
 	JNIEnv *env = privateRefs->rti->getJniEnvironment();
 	env->CallVoidMethod( privateRefs->rti->jproxy,
-	                     privateRefs->rti->UPDATE_ATTRIBUTE_VALUES,
+	                     privateRefs->rti->UPDATE_ATTRIBUTE_VALUES_PACKED,
 	                     theObject,
-	                     values.handles,
-	                     values.values,
-	                     jTag );
+	                     jLength );
 	
-	// clean up and run the exception check
-	env->DeleteLocalRef( jTag );
-	env->DeleteLocalRef( values.handles );
-	env->DeleteLocalRef( values.values );
+	// run the exception check
 	privateRefs->rti->exceptionCheck();
 	
 	logger->trace( "[Finished] updateAttributeValues(RO): objectHandle=%d", theObject );
@@ -193,9 +181,8 @@ RTI::RTIambassador::sendInteraction( RTI::InteractionClassHandle theInteraction,
 	       RTI::RTIinternalError )
 {
 	// get java versions of the parameters
-	jbyteArray jTag = privateRefs->rti->convertTag( theTag );
 	jdouble jTime = privateRefs->rti->convertTime( theTime );
-	HVPS values = privateRefs->rti->convertPHVPS( theParameters );
+	jint jLength = privateRefs->rti->packValues( theTag, theParameters );
 	
 	// log the request
 	if( logger->isTraceEnabled() )
@@ -208,18 +195,13 @@ RTI::RTIambassador::sendInteraction( RTI::InteractionClassHandle theInteraction,
 		
 	// call the method
 	JNIEnv *env = privateRefs->rti->getJniEnvironment();
-	env->CallVoidMethod( privateRefs->rti->jproxy,
-	                     privateRefs->rti->SEND_INTERACTION_WITH_TIME,
-	                     theInteraction,
-	                     values.handles,
-	                     values.values,
-	                     jTag,
-	                     jTime );
+	env->CallIntMethod( privateRefs->rti->jproxy,
+	                    privateRefs->rti->SEND_INTERACTION_PACKED_WITH_TIME,
+	                    theInteraction,
+	                    jLength,
+	                    jTime );
 	
-	// clean up and run the exception check
-	env->DeleteLocalRef( jTag );
-	env->DeleteLocalRef( values.handles );
-	env->DeleteLocalRef( values.values );
+	// run the exception check
 	privateRefs->rti->exceptionCheck();
 
 	logger->trace( "[Finished] sendInteraction(TSO): classHandle=%d", theInteraction );
@@ -249,22 +231,16 @@ void RTI::RTIambassador::sendInteraction( RTI::InteractionClassHandle theInterac
 	}
 
 	// get java versions of the parameters
-	jbyteArray jTag = privateRefs->rti->convertTag( theTag );
-	HVPS values = privateRefs->rti->convertPHVPS( theParameters );
+	jint jLength = privateRefs->rti->packValues( theTag, theParameters );
 	
 	// call the method
 	JNIEnv *env = privateRefs->rti->getJniEnvironment();
 	env->CallVoidMethod( privateRefs->rti->jproxy,
-	                     privateRefs->rti->SEND_INTERACTION,
+	                     privateRefs->rti->SEND_INTERACTION_PACKED,
 	                     theInteraction,
-	                     values.handles,
-	                     values.values,
-	                     jTag );
+	                     jLength );
 	
-	// clean up and run the exception check
-	env->DeleteLocalRef( jTag );
-	env->DeleteLocalRef( values.handles );
-	env->DeleteLocalRef( values.values );
+	// run the exception check
 	privateRefs->rti->exceptionCheck();
 	
 	logger->trace( "[Finished] sendInteraction(RO): classHandle=%d", theInteraction );
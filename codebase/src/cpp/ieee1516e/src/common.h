@@ -117,6 +117,13 @@
  	#include <limits.h> // LONG_MAX
 #endif
 
+// thread local storage, used to cache per-thread state such as the JNIEnv
+#ifdef OS_WINDOWS
+	#define THREAD_LOCAL __declspec(thread)
+#else
+	#define THREAD_LOCAL __thread
+#endif
+
 // standard library types
 #include <iostream>
 #include <map>
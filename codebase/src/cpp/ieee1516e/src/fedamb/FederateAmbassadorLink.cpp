@@ -54,6 +54,219 @@ JavaRTI* getRTI( int id )
 	return theRTI;
 }
 
+/*
+ * Batched callback record types and flags. These must match the values in the Java
+ * org.portico.impl.cpp1516e.CallbackBatch class, which also describes the record layout.
+ */
+#define BATCH_TYPE_REFLECT        1
+#define BATCH_TYPE_RECEIVE        2
+#define BATCH_FLAG_FLOAT_TIME     0x01
+#define BATCH_FLAG_INTEGER_TIME   0x02
+#define BATCH_FLAG_RETRACTION     0x04
+
+/*
+ * Helpers to read values out of a batch buffer. Java writes everything in native byte
+ * order, but makes no promises about alignment, so we copy rather than cast.
+ */
+const char* unpackInt( const char* position, jint& value )
+{
+	memcpy( &value, position, sizeof(jint) );
+	return position + sizeof(jint);
+}
+
+const char* unpackLong( const char* position, jlong& value )
+{
+	memcpy( &value, position, sizeof(jlong) );
+	return position + sizeof(jlong);
+}
+
+const char* unpackData( const char* position, VariableLengthData& data )
+{
+	jint length = 0;
+	position = unpackInt( position, length );
+	if( length <= 0 )
+		return position;
+
+	data.setData( position, length );
+	return position + length;
+}
+
+/*
+ * Read a single reflection or interaction from the batch buffer and pass it on to the
+ * federate ambassador. Returns a pointer to the start of the next record.
+ */
+const char* deliverBatchedCallback( JavaRTI* javarti, const char* position )
+{
+	// header
+	jint type = 0, handle = 0, sentOrder = 0, transport = 0, flags = 0;
+	position = unpackInt( position, type );
+	position = unpackInt( position, handle );
+	position = unpackInt( position, sentOrder );
+	position = unpackInt( position, transport );
+	position = unpackInt( position, flags );
+
+	// time and received order, if we have them
+	HLAfloat64Time floatTime;
+	HLAinteger64Time integerTime;
+	const LogicalTime* time = NULL;
+	jint receivedOrder = 0;
+	if( flags & (BATCH_FLAG_FLOAT_TIME|BATCH_FLAG_INTEGER_TIME) )
+	{
+		jlong bits = 0;
+		position = unpackLong( position, bits );
+		position = unpackInt( position, receivedOrder );
+		if( flags & BATCH_FLAG_FLOAT_TIME )
+		{
+			double value = 0.0;
+			memcpy( &value, &bits, sizeof(double) );
+			floatTime.setTime( value );
+			time = &floatTime;
+		}
+		else
+		{
+			integerTime.setTime( bits );
+			time = &integerTime;
+		}
+	}
+
+	jint retraction = 0;
+	if( flags & BATCH_FLAG_RETRACTION )
+		position = unpackInt( position, retraction );
+
+	// supplemental info
+	jint producingFederate = -1, regionCount = 0;
+	position = unpackInt( position, producingFederate );
+	position = unpackInt( position, regionCount );
+	RegionHandleSet regions;
+	for( jint i = 0; i < regionCount; ++i )
+	{
+		jint region = 0;
+		position = unpackInt( position, region );
+		regions.insert( JniUtils::toRegionHandle(region) );
+	}
+
+	// tag
+	VariableLengthData tag;
+	position = unpackData( position, tag );
+
+	// values
+	jint valueCount = 0;
+	position = unpackInt( position, valueCount );
+
+	if( type == BATCH_TYPE_REFLECT )
+	{
+		AttributeHandleValueMap attributes;
+		for( jint i = 0; i < valueCount; ++i )
+		{
+			jint attribute = 0;
+			position = unpackInt( position, attribute );
+			position = unpackData( position, attributes[JniUtils::toAttributeHandle(attribute)] );
+		}
+
+		SupplementalReflectInfo supplemental;
+		if( producingFederate != -1 )
+		{
+			supplemental.hasProducingFederate = true;
+			supplemental.producingFederate = JniUtils::toFederateHandle( producingFederate );
+		}
+		if( regionCount > 0 )
+		{
+			supplemental.hasSentRegions = true;
+			supplemental.sentRegions = regions;
+		}
+
+		if( time == NULL )
+		{
+			javarti->fedamb->reflectAttributeValues( JniUtils::toObjectHandle(handle),
+			                                         attributes,
+			                                         tag,
+			                                         JniUtils::toOrder(sentOrder),
+			                                         JniUtils::toTransport(transport),
+			                                         supplemental );
+		}
+		else if( flags & BATCH_FLAG_RETRACTION )
+		{
+			javarti->fedamb->reflectAttributeValues( JniUtils::toObjectHandle(handle),
+			                                         attributes,
+			                                         tag,
+			                                         JniUtils::toOrder(sentOrder),
+			                                         JniUtils::toTransport(transport),
+			                                         *time,
+			                                         JniUtils::toOrder(receivedOrder),
+			                                         JniUtils::toRetractionHandle(retraction),
+			                                         supplemental );
+		}
+		else
+		{
+			javarti->fedamb->reflectAttributeValues( JniUtils::toObjectHandle(handle),
+			                                         attributes,
+			                                         tag,
+			                                         JniUtils::toOrder(sentOrder),
+			                                         JniUtils::toTransport(transport),
+			                                         *time,
+			                                         JniUtils::toOrder(receivedOrder),
+			                                         supplemental );
+		}
+	}
+	else
+	{
+		ParameterHandleValueMap parameters;
+		for( jint i = 0; i < valueCount; ++i )
+		{
+			jint parameter = 0;
+			position = unpackInt( position, parameter );
+			position = unpackData( position, parameters[JniUtils::toParameterHandle(parameter)] );
+		}
+
+		SupplementalReceiveInfo supplemental;
+		if( producingFederate != -1 )
+		{
+			supplemental.hasProducingFederate = true;
+			supplemental.producingFederate = JniUtils::toFederateHandle( producingFederate );
+		}
+		if( regionCount > 0 )
+		{
+			supplemental.hasSentRegions = true;
+			supplemental.sentRegions = regions;
+		}
+
+		if( time == NULL )
+		{
+			javarti->fedamb->receiveInteraction( JniUtils::toInteractionClassHandle(handle),
+			                                     parameters,
+			                                     tag,
+			                                     JniUtils::toOrder(sentOrder),
+			                                     JniUtils::toTransport(transport),
+			                                     supplemental );
+		}
+		else if( flags & BATCH_FLAG_RETRACTION )
+		{
+			javarti->fedamb->receiveInteraction( JniUtils::toInteractionClassHandle(handle),
+			                                     parameters,
+			                                     tag,
+			                                     JniUtils::toOrder(sentOrder),
+			                                     JniUtils::toTransport(transport),
+			                                     *time,
+			                                     JniUtils::toOrder(receivedOrder),
+			                                     JniUtils::toRetractionHandle(retraction),
+			                                     supplemental );
+		}
+		else
+		{
+			javarti->fedamb->receiveInteraction( JniUtils::toInteractionClassHandle(handle),
+			                                     parameters,
+			                                     tag,
+			                                     JniUtils::toOrder(sentOrder),
+			                                     JniUtils::toTransport(transport),
+			                                     *time,
+			                                     JniUtils::toOrder(receivedOrder),
+			                                     supplemental );
+		}
+	}
+
+	return position;
+}
+
 //------------------------------------------------------------------------------------------
 //                                 IMPLEMENTATION METHODS
 //------------------------------------------------------------------------------------------
@@ -1829,3 +2042,33 @@ JNIEXPORT void JNICALL Java_org_portico_impl_cpp1516e_FederateAmbassadorLink_req
 	
 	javarti->fedamb->requestRetraction( JniUtils::toRetractionHandle(retractionHandle) );
 }
+
+/*
+ * Class:     org_portico_impl_cpp1516e_FederateAmbassadorLink
+ * Method:    deliverBatch
+ * Signature: (ILjava/nio/ByteBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_org_portico_impl_cpp1516e_FederateAmbassadorLink_deliverBatch
+	( JNIEnv *jnienv,
+	  jobject jfedamb,
+	  jint fedid,
+	  jobject buffer,
+	  jint length,
+	  jint count )
+{
+	JavaRTI *javarti = getRTI( fedid );
+	if( javarti == NULL )
+		return;
+
+	// the buffer is shared with the Java side, read the callbacks straight out of it
+	const char* position = (const char*)jnienv->GetDirectBufferAddress( buffer );
+	if( position == NULL )
+	{
+		cout << "ERROR [fedamb] Callback batch is not a direct buffer (id=" << fedid << ")" << endl;
+		return;
+	}
+
+	const char* end = position + length;
+	for( jint i = 0; i < count && position < end; ++i )
+		position = deliverBatchedCallback( javarti, position );
+}
@@ -567,6 +567,14 @@ JNIEXPORT void JNICALL Java_org_portico_impl_cpp1516e_FederateAmbassadorLink_tim
 JNIEXPORT void JNICALL Java_org_portico_impl_cpp1516e_FederateAmbassadorLink_requestRetraction
   (JNIEnv *, jobject, jint, jint);
 
+/*
+ * Class:     org_portico_impl_cpp1516e_FederateAmbassadorLink
+ * Method:    deliverBatch
+ * Signature: (ILjava/nio/ByteBuffer;II)V
+ */
+JNIEXPORT void JNICALL Java_org_portico_impl_cpp1516e_FederateAmbassadorLink_deliverBatch
+  (JNIEnv *, jobject, jint, jobject, jint, jint);
+
 #ifdef __cplusplus
 }
 #endif
@@ -15,6 +15,7 @@
 #include "jni/JavaRTI.h"
 #include "utils/ExceptionHacks.h"
 #include "utils/StringUtils.h"
+#include "jni/JniUtils.h"
 
 PORTICO1516E_NS_START
 
@@ -29,6 +30,8 @@ JavaRTI::JavaRTI( Runtime* jniRuntime, int id )
 	this->jniRuntime  = jniRuntime;
 	this->jproxyClass = NULL;
 	this->jproxy      = NULL;
+	this->packedBuffer   = NULL;
+	this->packedCapacity = 0;
 
 	// get a name for the logger
 	stringstream ss;
@@ -42,6 +45,9 @@ JavaRTI::JavaRTI( Runtime* jniRuntime, int id )
 	// initialize the connection
 	this->initialize();
 	this->cacheMethodIds();
+
+	// create the buffer for packed values and hand it over to the proxy
+	this->ensurePackedCapacity( getJniEnvironment(), PACKED_BUFFER_SIZE );
 }
 
 JavaRTI::~JavaRTI()
@@ -60,6 +66,10 @@ JavaRTI::~JavaRTI()
 	//      attaching in a single thread
 	//this->detachFromJVM();
 
+	// the proxy held the only reference to the buffer, so we can free it now it has gone
+	if( this->packedBuffer != NULL )
+		delete [] this->packedBuffer;
+
 	delete this->logger;
 }
 
@@ -144,6 +154,137 @@ JNIEnv* JavaRTI::getJniEnvironment()
 	return this->jniRuntime->attachToJVM();
 }
 
+/////////////////////////////////////////////////////////////////////////////////////////////
+/////////////////////////////////// Packed Value Methods ////////////////////////////////////
+/////////////////////////////////////////////////////////////////////////////////////////////
+/*
+ * Packs the tag and attribute values into the buffer shared with the proxy, ready for one of
+ * the packed update calls, and returns the number of bytes used. Each int is written in the
+ * native byte order, which the proxy reads the buffer in, and the layout is:
+ *
+ *   [tag length][tag bytes][pair count] ([handle][value length][value bytes])*
+ *
+ * This means the values are copied once, straight into memory the JVM can see, rather than
+ * into a new Java byte[] for each of them plus the arrays that hold them all.
+ */
+jint JavaRTI::packValues( JNIEnv* jnienv,
+                          const VariableLengthData& tag,
+                          const AttributeHandleValueMap& values )
+	throw( RTIinternalError )
+{
+	// work out how much room we need so that we only have to check the buffer once
+	size_t required = (2*sizeof(jint)) + tag.size();
+	AttributeHandleValueMap::const_iterator iterator;
+	for( iterator = values.begin(); iterator != values.end(); iterator++ )
+		required += (2*sizeof(jint)) + (*iterator).second.size();
+
+	ensurePackedCapacity( jnienv, required );
+
+	// write the values out
+	char* position = packBytes( this->packedBuffer, tag.data(), tag.size() );
+	position = packInt( position, (jint)values.size() );
+	for( iterator = values.begin(); iterator != values.end(); iterator++ )
+	{
+		position = packInt( position, JniUtils::fromHandle((*iterator).first) );
+		position = packBytes( position, (*iterator).second.data(), (*iterator).second.size() );
+	}
+
+	return (jint)(position - this->packedBuffer);
+}
+
+/*
+ * Same as the AttributeHandleValueMap version, but for interaction parameters
+ */
+jint JavaRTI::packValues( JNIEnv* jnienv,
+                          const VariableLengthData& tag,
+                          const ParameterHandleValueMap& values )
+	throw( RTIinternalError )
+{
+	// work out how much room we need so that we only have to check the buffer once
+	size_t required = (2*sizeof(jint)) + tag.size();
+	ParameterHandleValueMap::const_iterator iterator;
+	for( iterator = values.begin(); iterator != values.end(); iterator++ )
+		required += (2*sizeof(jint)) + (*iterator).second.size();
+
+	ensurePackedCapacity( jnienv, required );
+
+	// write the values out
+	char* position = packBytes( this->packedBuffer, tag.data(), tag.size() );
+	position = packInt( position, (jint)values.size() );
+	for( iterator = values.begin(); iterator != values.end(); iterator++ )
+	{
+		position = packInt( position, JniUtils::fromHandle((*iterator).first) );
+		position = packBytes( position, (*iterator).second.data(), (*iterator).second.size() );
+	}
+
+	return (jint)(position - this->packedBuffer);
+}
+
+/*
+ * Make sure the packed buffer can hold at least the given number of bytes. If it can't, a
+ * bigger one is allocated (doubling until it fits) and handed over to the proxy as a direct
+ * ByteBuffer in place of the old one, which is then freed.
+ */
+void JavaRTI::ensurePackedCapacity( JNIEnv* jnienv, size_t required ) throw( RTIinternalError )
+{
+	if( required <= this->packedCapacity )
+		return;
+
+	size_t capacity = this->packedCapacity == 0 ? PACKED_BUFFER_SIZE : this->packedCapacity;
+	while( capacity < required )
+		capacity *= 2;
+
+	if( capacity > 0x7fffffff )
+	{
+		logger->error( "Values too large to pack (%d bytes)", (int)required );
+		throw RTIinternalError( L"Values too large to pass to the JVM" );
+	}
+
+	// wrap the new memory and give it to the proxy. We don't hang on to the ByteBuffer
+	// ourselves; the proxy keeps it for as long as it needs it
+	char* buffer = new char[capacity];
+	jobject jbuffer = jnienv->NewDirectByteBuffer( buffer, (jlong)capacity );
+	if( jbuffer != NULL )
+	{
+		jnienv->CallVoidMethod( jproxy, SET_PACKED_BUFFER, jbuffer );
+		jnienv->DeleteLocalRef( jbuffer );
+	}
+
+	// we use the plain JNI exception detection here, as this is called during construction
+	// before the exception manager can locate us (see initialize())
+	if( jbuffer == NULL || jnienv->ExceptionOccurred() )
+	{
+		jnienv->ExceptionDescribe();
+		jnienv->ExceptionClear();
+		delete [] buffer;
+		logger->fatal( "Could not hand the packed value buffer over to the JVM" );
+		throw RTIinternalError( L"Could not hand the packed value buffer over to the JVM" );
+	}
+
+	// the proxy has let go of the old buffer now, so we can too
+	if( this->packedBuffer != NULL )
+		delete [] this->packedBuffer;
+
+	this->packedBuffer = buffer;
+	this->packedCapacity = capacity;
+	logger->debug( "Packed value buffer is now %d bytes", (int)capacity );
+}
+
+char* JavaRTI::packInt( char* position, jint value )
+{
+	memcpy( position, &value, sizeof(jint) );
+	return position + sizeof(jint);
+}
+
+char* JavaRTI::packBytes( char* position, const void* data, size_t length )
+{
+	position = packInt( position, (jint)length );
+	if( length > 0 )
+		memcpy( position, data, length );
+
+	return position + length;
+}
+
 /////////////////////////////////////////////////////////////////////////////////////////////
 /////////////////////////////////// VM Management Methods ///////////////////////////////////
 /////////////////////////////////////////////////////////////////////////////////////////////
@@ -317,6 +458,11 @@ void JavaRTI::cacheMethodIds() throw( RTIinternalError )
 	cacheMethod( jnienv, &UPDATE_ATTRIBUTE_VALUES_WITH_TIME, "updateAttributeValues", "(I[I[[B[BD)I" );
 	cacheMethod( jnienv, &SEND_INTERACTION, "sendInteraction", "(I[I[[B[B)V" );
 	cacheMethod( jnienv, &SEND_INTERACTION_WITH_TIME, "sendInteraction", "(I[I[[B[BD)I" );
+	cacheMethod( jnienv, &SET_PACKED_BUFFER, "setPackedBuffer", "(Ljava/nio/ByteBuffer;)V" );
+	cacheMethod( jnienv, &UPDATE_ATTRIBUTE_VALUES_PACKED, "updateAttributeValuesPacked", "(II)V" );
+	cacheMethod( jnienv, &UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME, "updateAttributeValuesPacked", "(IID)I" );
+	cacheMethod( jnienv, &SEND_INTERACTION_PACKED, "sendInteractionPacked", "(II)V" );
+	cacheMethod( jnienv, &SEND_INTERACTION_PACKED_WITH_TIME, "sendInteractionPacked", "(IID)I" );
 	cacheMethod( jnienv, &DELETE_OBJECT_INSTANCE, "deleteObjectInstance", "(I[B)V" );
 	cacheMethod( jnienv, &DELETE_OBJECT_INSTANCE_WITH_TIME, "deleteObjectInstance", "(I[BD)I" );
 	cacheMethod( jnienv, &LOCAL_DELETE_OBJECT_INSTANCE, "localDeleteObjectInstance", "(I)V" );
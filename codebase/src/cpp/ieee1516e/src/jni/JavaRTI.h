@@ -41,6 +41,7 @@ class JavaRTI
 	//                    STATIC VARIABLES
 	//----------------------------------------------------------
 	private:
+		static const size_t PACKED_BUFFER_SIZE = 8192; // starting size, grows as needed
 
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
@@ -61,6 +62,12 @@ class JavaRTI
 		string eName;
 		string eReason;
 
+		// memory that updates and interactions are packed into for the trip to Java. The
+		// proxy sees it as a direct ByteBuffer, so the values are only copied once on the
+		// way over. Like the rest of the ambassador, this isn't safe for concurrent use.
+		char* packedBuffer;
+		size_t packedCapacity;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
@@ -81,8 +88,21 @@ class JavaRTI
 		
 		JNIEnv* getJniEnvironment();
 
+		// pack values into the buffer shared with the proxy, returning the length used
+		jint packValues( JNIEnv* jnienv,
+		                 const VariableLengthData& tag,
+		                 const AttributeHandleValueMap& values )
+			throw( RTIinternalError );
+		jint packValues( JNIEnv* jnienv,
+		                 const VariableLengthData& tag,
+		                 const ParameterHandleValueMap& values )
+			throw( RTIinternalError );
+
 	private:
 		void initialize() throw( RTIinternalError );
+		void ensurePackedCapacity( JNIEnv* jnienv, size_t required ) throw( RTIinternalError );
+		char* packInt( char* position, jint value );
+		char* packBytes( char* position, const void* data, size_t length );
 
 		// JNI method caching
 		void cacheMethodIds() throw( RTIinternalError );
@@ -155,6 +175,11 @@ class JavaRTI
 		jmethodID UPDATE_ATTRIBUTE_VALUES_WITH_TIME;
 		jmethodID SEND_INTERACTION;
 		jmethodID SEND_INTERACTION_WITH_TIME;
+		jmethodID SET_PACKED_BUFFER;
+		jmethodID UPDATE_ATTRIBUTE_VALUES_PACKED;
+		jmethodID UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME;
+		jmethodID SEND_INTERACTION_PACKED;
+		jmethodID SEND_INTERACTION_PACKED_WITH_TIME;
 		jmethodID DELETE_OBJECT_INSTANCE;
 		jmethodID DELETE_OBJECT_INSTANCE_WITH_TIME;
 		jmethodID LOCAL_DELETE_OBJECT_INSTANCE;
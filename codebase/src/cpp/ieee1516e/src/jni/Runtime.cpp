@@ -24,6 +24,9 @@ jclass Runtime::JCLASS_BYTE_ARRAY   = 0;
 jclass Runtime::JCLASS_STRING_ARRAY = 0;
 jclass Runtime::JCLASS_STRING       = 0;
 
+// the JNIEnv for the current thread, set the first time it attaches and cleared when it detaches
+static THREAD_LOCAL JNIEnv* threadEnvironment = NULL;
+
 //------------------------------------------------------------------------------------------
 //                                       CONSTRUCTORS                                       
 //------------------------------------------------------------------------------------------
@@ -76,6 +79,8 @@ Runtime::~Runtime()
 		logger->debug( "destroying the JVM" );
 		this->jvm->DestroyJavaVM();
 	}
+
+	threadEnvironment = NULL;
 	
 	delete this->logger;
 }
@@ -634,6 +639,11 @@ void Runtime::processRid() throw( RTIinternalError )
  */
 JNIEnv* Runtime::attachToJVM() throw( RTIinternalError )
 {
+	// a thread keeps the same JNIEnv for as long as it is attached, so once we
+	// have it there is no need to go back to the JVM on every call
+	if( threadEnvironment != NULL )
+		return threadEnvironment;
+
 	JNIEnv* jnienv = NULL;
 
 	jvm->GetEnv((void **)&jnienv, getJNIVersion());
@@ -649,6 +659,7 @@ JNIEnv* Runtime::attachToJVM() throw( RTIinternalError )
 		}
 	}
 
+	threadEnvironment = jnienv;
 	return jnienv;
 }
 
@@ -661,6 +672,7 @@ void Runtime::detachFromJVM()
 {
 	logger->trace( "Detaching current thread from JVM" );
 	jint result = Runtime::getRuntime()->jvm->DetachCurrentThread();
+	threadEnvironment = NULL;
 	if( result == 0 )
 		logger->debug( "Detached curren thread from JVM" );
 	else
@@ -261,20 +261,15 @@ void PorticoRtiAmbassador::updateAttributeValues( ObjectInstanceHandle theObject
 
 	// get java versions of the parameters
 	jint jobjectHandle = JniUtils::fromHandle( theObject );
-	HVPS jattributes = JniUtils::fromMap( jnienv, attributes );
-	jbyteArray jtag = JniUtils::fromTag( jnienv, tag );
+	jint jlength = javarti->packValues( jnienv, tag, attributes );
 	
 	// call the method
 	jnienv->CallVoidMethod( javarti->jproxy,
-	                        javarti->UPDATE_ATTRIBUTE_VALUES,
+	                        javarti->UPDATE_ATTRIBUTE_VALUES_PACKED,
 	                        jobjectHandle,
-	                        jattributes.handles,
-	                        jattributes.values,
-	                        jtag );
+	                        jlength );
 
-	// clean up and run the exception check
-	JniUtils::deleteHVPS( jnienv, jattributes );
-	jnienv->DeleteLocalRef( jtag );
+	// run the exception check
 	javarti->exceptionCheck();
 	
 	if( logger->isTraceEnabled() )
@@ -313,22 +308,17 @@ MessageRetractionHandle PorticoRtiAmbassador::updateAttributeValues(
 
 	// get java versions of the parameters
 	jint jobjectHandle = JniUtils::fromHandle( theObject );
-	HVPS jattributes = JniUtils::fromMap( jnienv, attributes );
-	jbyteArray jtag = JniUtils::fromTag( jnienv, tag );
 	jdouble jtime = JniUtils::fromTime( theTime );
+	jint jlength = javarti->packValues( jnienv, tag, attributes );
 	
 	// call the method
 	jint retraction = jnienv->CallIntMethod( javarti->jproxy,
-	                                         javarti->UPDATE_ATTRIBUTE_VALUES_WITH_TIME,
+	                                         javarti->UPDATE_ATTRIBUTE_VALUES_PACKED_WITH_TIME,
 	                                         jobjectHandle,
-	                                         jattributes.handles,
-	                                         jattributes.values,
-	                                         jtag,
+	                                         jlength,
 	                                         jtime );
 
-	// clean up and run the exception check
-	JniUtils::deleteHVPS( jnienv, jattributes );
-	jnienv->DeleteLocalRef( jtag );
+	// run the exception check
 	javarti->exceptionCheck();
 	
 	if( logger->isTraceEnabled() )
@@ -367,20 +357,15 @@ void PorticoRtiAmbassador::sendInteraction( InteractionClassHandle theInteractio
 
 	// get java versions of the parameters
 	jint jinteraction = JniUtils::fromHandle( theInteraction );
-	HVPS jparameters = JniUtils::fromMap( jnienv, parameters );
-	jbyteArray jtag = JniUtils::fromTag( jnienv, tag );
+	jint jlength = javarti->packValues( jnienv, tag, parameters );
 
 	// call the method
 	jnienv->CallVoidMethod( javarti->jproxy,
-	                        javarti->SEND_INTERACTION,
+	                        javarti->SEND_INTERACTION_PACKED,
 	                        jinteraction,
-	                        jparameters.handles,
-	                        jparameters.values,
-	                        jtag );
+	                        jlength );
 
-	// clean up and run the exception check
-	JniUtils::deleteHVPS( jnienv, jparameters );
-	jnienv->DeleteLocalRef( jtag );
+	// run the exception check
 	javarti->exceptionCheck();
 	
 	if( logger->isTraceEnabled() )
@@ -419,22 +404,17 @@ MessageRetractionHandle PorticoRtiAmbassador::sendInteraction(
 
 	// get java versions of the parameters
 	jint jinteraction = JniUtils::fromHandle( theInteraction );
-	HVPS jparameters = JniUtils::fromMap( jnienv, parameters );
-	jbyteArray jtag = JniUtils::fromTag( jnienv, tag );
 	jdouble jtime = JniUtils::fromTime( theTime );
+	jint jlength = javarti->packValues( jnienv, tag, parameters );
 	
 	// call the method
 	jint retraction = jnienv->CallIntMethod( javarti->jproxy,
-	                                         javarti->SEND_INTERACTION_WITH_TIME,
+	                                         javarti->SEND_INTERACTION_PACKED_WITH_TIME,
 	                                         jinteraction,
-	                                         jparameters.handles,
-	                                         jparameters.values,
-	                                         jtag,
+	                                         jlength,
 	                                         jtime );
 
-	// clean up and run the exception check
-	JniUtils::deleteHVPS( jnienv, jparameters );
-	jnienv->DeleteLocalRef( jtag );
+	// run the exception check
 	javarti->exceptionCheck();
 	
 	if( logger->isTraceEnabled() )
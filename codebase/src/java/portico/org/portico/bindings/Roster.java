@@ -12,20 +12,18 @@
  *   (that goes for your lawyer as well)
  *
  */
-package org.portico.bindings.jgroups;
+package org.portico.bindings;
 
 import java.util.HashSet;
 import java.util.Set;
 
-import org.portico.bindings.ConnectedRoster;
-import org.portico.bindings.jgroups.channel.Manifest;
 import org.portico.lrc.model.ObjectModel;
 
 /**
  * Portico bindings each have to provide an implementation of the {@link ConnectedRoster}
  * so that the framework can access membership information in a connection-neutral manner.
- * This class provides that implementation for the JGroups binding, wrapping
- * information from a {@link Manifest}.
+ * This class provides a simple implementation that the bindings share, holding a copy of the
+ * membership information that the binding gathered when joining.
  */
 public class Roster implements ConnectedRoster
 {
@@ -50,6 +50,29 @@ public class Configuration
 	    that there is no existing co-ordinator and appointing ourselves to that lofty title */
 	public static final String PROP_JGROUPS_GMS_TIMEOUT = "portico.jgroups.gms.jointimeout";
 
+	/** The system property that selects the JGroups stack to use. This is either the name of
+	    one of the built-in profiles (udp, lowlatency, throughput, tcp, tcp-file) or the path
+	    to an external stack configuration file. Default is "udp" */
+	public static final String PROP_JGROUPS_STACK = "portico.jgroups.stack";
+
+	/** The system property that specifies whether all the channels in a JVM should share a
+	    single JGroups transport (sockets, timer and thread pools), default is false */
+	public static final String PROP_JGROUPS_SHARED_TRANSPORT = "portico.jgroups.sharedtransport";
+
+	/** The period of time (millis) to wait for an existing coordinator to send us the federation
+	    manifest when we connect to a channel that has other members, default is 2000 */
+	public static final String PROP_JGROUPS_COORDINATOR_TIMEOUT = "portico.jgroups.coordinator.timeout";
+
+	/** The number of worker threads used to decode incoming messages off the JGroups delivery
+	    thread. Default is 0, which decodes on the delivery thread itself */
+	public static final String PROP_JGROUPS_DECODERS = "portico.jgroups.decoders";
+
+	///// portico message bundling (LAN)
+	/** Whether or not Portico bundles outgoing messages before handing them to JGroups */
+	public static final String PROP_JGROUPS_BUNDLER_ENABLED = "portico.jgroups.bundler.enabled";
+	public static final String PROP_JGROUPS_BUNDLER_SIZE    = "portico.jgroups.bundler.maxsize";
+	public static final String PROP_JGROUPS_BUNDLER_TIME    = "portico.jgroups.bundler.timeout";
+
 	///// auditor settings
 	/** Whether or not the auditor is enabled */
 	public static final String PROP_JGROUPS_AUDITOR_ENABLED = "portico.jgroups.auditor.enabled";
@@ -115,6 +138,77 @@ public class Configuration
 		return Boolean.valueOf( System.getProperty(PROP_JGROUPS_DAEMON,"true") );
 	}
 
+	/**
+	 * Return the location of the JGroups stack configuration to use. If the value of the
+	 * {@link #PROP_JGROUPS_STACK} property is the name of one of the built-in profiles, the
+	 * path to that profile inside the Portico jar is returned. Otherwise the value is assumed
+	 * to be a file path, URL or classpath resource and is returned as is. Default is "udp".
+	 * <p/>
+	 * Built-in profiles:
+	 * <ul>
+	 *   <li><code>udp</code>: General purpose UDP multicast stack (default)</li>
+	 *   <li><code>lowlatency</code>: UDP multicast with bundling off, tuned for LAN latency</li>
+	 *   <li><code>throughput</code>: UDP multicast with aggressive bundling and large buffers</li>
+	 *   <li><code>tcp</code>: TCP with static discovery of members (TCPPING)</li>
+	 *   <li><code>tcp-file</code>: TCP with discovery through a shared directory (FILE_PING)</li>
+	 * </ul>
+	 */
+	public static final String getStackLocation()
+	{
+		String value = System.getProperty( PROP_JGROUPS_STACK, "udp" ).trim();
+		String lower = value.toLowerCase();
+		if( lower.equals("udp") || lower.equals("lowlatency") || lower.equals("throughput") ||
+			lower.equals("tcp") || lower.equals("tcp-file") )
+		{
+			return "etc/jgroups-"+lower+".xml";
+		}
+		else
+		{
+			return value;
+		}
+	}
+
+	/**
+	 * @return True if all channels in the JVM should be multiplexed over a single shared JGroups
+	 *         transport. Default is false.
+	 */
+	public static final boolean useSharedTransport()
+	{
+		return Boolean.valueOf( System.getProperty(PROP_JGROUPS_SHARED_TRANSPORT,"false") );
+	}
+
+	/**
+	 * @return The time (in milliseconds) to wait for the manifest from an existing coordinator
+	 *         when we connect to a channel with other members in it. Defaults to 2000.
+	 */
+	public static final long getCoordinatorTimeout()
+	{
+		return Long.parseLong( System.getProperty(PROP_JGROUPS_COORDINATOR_TIMEOUT,"2000") );
+	}
+
+	/**
+	 * @return The number of threads that should be used to decode incoming messages. If this is
+	 *         0, messages are decoded on the JGroups delivery thread. Defaults to 0.
+	 * @throws JConfigurationException If the value is not a valid non-negative number
+	 */
+	public static final int getDecoderCount() throws JConfigurationException
+	{
+		String value = System.getProperty( PROP_JGROUPS_DECODERS, "0" ).trim();
+		try
+		{
+			int count = Integer.parseInt( value );
+			if( count < 0 )
+				throw new NumberFormatException();
+			
+			return count;
+		}
+		catch( NumberFormatException e )
+		{
+			throw new JConfigurationException( "Invalid decoder count: "+
+			                                   PROP_JGROUPS_DECODERS+"="+value );
+		}
+	}
+
 	/**
 	 * @return True if the Auditor has been turned on in configuration, false otherwise.
 	 *         Default is false.
@@ -248,7 +342,82 @@ public class Configuration
 	 */
 	public static int getWanBundleSize()
 	{
-		String value = System.getProperty( PROP_JGROUPS_WAN_BUNDLE_SIZE, "64k" );
+		return parseSize( PROP_JGROUPS_WAN_BUNDLE_SIZE, "64k" );
+	}
+
+	/**
+	 * Return the maximum amount of time (millis) the bundler should hold a message for
+	 * before flushing, regardless of bundled size.
+	 * Default: 20ms
+	 */
+	public static int getWanBundleTimeout()
+	{
+		String value = System.getProperty( PROP_JGROUPS_WAN_BUNDLE_TIME, "20" );
+		value = value.trim();
+
+		try
+		{
+			return Integer.parseInt( value );
+		}
+		catch( NumberFormatException e )
+		{
+			throw new JConfigurationException( "Could not parse max time size: "+
+			                                   PROP_JGROUPS_WAN_BUNDLE_TIME+"="+value );
+		}
+	}
+	
+	/**
+	 * @return True if outgoing messages should be bundled together by Portico before being
+	 *         handed to JGroups. Default is false.
+	 */
+	public static boolean isBundlerEnabled()
+	{
+		return Boolean.valueOf( System.getProperty(PROP_JGROUPS_BUNDLER_ENABLED,"false") );
+	}
+
+	/**
+	 * Return the size (bytes) a LAN bundle can grow to before it is flushed. This should be
+	 * kept below the fragmentation size so that a bundle goes out as a single datagram.
+	 * Default is 32K.
+	 */
+	public static int getBundlerSize()
+	{
+		return parseSize( PROP_JGROUPS_BUNDLER_SIZE, "32k" );
+	}
+
+	/**
+	 * Return the maximum amount of time (millis) the LAN bundler should hold a message for
+	 * before flushing, regardless of bundled size.
+	 * Default: 2ms
+	 */
+	public static int getBundlerTimeout()
+	{
+		String value = System.getProperty( PROP_JGROUPS_BUNDLER_TIME, "2" ).trim();
+		try
+		{
+			int timeout = Integer.parseInt( value );
+			if( timeout < 0 )
+				throw new NumberFormatException();
+			
+			return timeout;
+		}
+		catch( NumberFormatException e )
+		{
+			throw new JConfigurationException( "Could not parse bundler timeout: "+
+			                                   PROP_JGROUPS_BUNDLER_TIME+"="+value );
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////
+	//// Private Helper Methods     //////////////////////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Parse the size held in the given property. Sizes can be specified with a suffix of
+	 * 'b', 'k' or 'm'. Without a suffix the value is taken as bytes.
+	 */
+	private static int parseSize( String property, String defaultValue )
+	{
+		String value = System.getProperty( property, defaultValue );
 		value = value.trim().toLowerCase();
 
 		try
@@ -282,34 +451,10 @@ public class Configuration
 		catch( NumberFormatException e )
 		{
 			throw new JConfigurationException( "Could not parse max bundle size: " +
-			                                   PROP_JGROUPS_WAN_BUNDLE_SIZE+"="+value );
+			                                   property+"="+value );
 		}
 	}
 
-	/**
-	 * Return the maximum amount of time (millis) the bundler should hold a message for
-	 * before flushing, regardless of bundled size.
-	 * Default: 20ms
-	 */
-	public static int getWanBundleTimeout()
-	{
-		String value = System.getProperty( PROP_JGROUPS_WAN_BUNDLE_TIME, "20" );
-		value = value.trim();
-
-		try
-		{
-			return Integer.parseInt( value );
-		}
-		catch( NumberFormatException e )
-		{
-			throw new JConfigurationException( "Could not parse max time size: "+
-			                                   PROP_JGROUPS_WAN_BUNDLE_TIME+"="+value );
-		}
-	}
-	
-	//////////////////////////////////////////////////////////////////////////////////////
-	//// Private Helper Methods     //////////////////////////////////////////////////////
-	//////////////////////////////////////////////////////////////////////////////////////
 	private static List<String> explode( String string, String delimiter )
 	{
 		List<String> list = new ArrayList<String>();
@@ -0,0 +1,283 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+import org.portico.lrc.LRC;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * The decoder takes the work of turning incoming payloads back into {@link PorticoMessage}s off
+ * the JGroups delivery thread. Payloads are handed to a small pool of worker threads that decode
+ * them in parallel, and the decoded messages are then handed back to the {@link Federation} for
+ * delivery in exactly the order they were received from each sender.
+ * <p/>
+ * Each sender has its own stream of pending payloads. When a worker finishes decoding it marks
+ * its slot as done and then delivers every completed slot from the head of that sender's stream.
+ * A message that decodes quickly will wait behind an earlier, slower one from the same sender,
+ * but messages from different senders never hold each other up.
+ * <p/>
+ * The number of workers is set through {@link Configuration#PROP_JGROUPS_DECODERS}. If it is 0
+ * (the default), no decoder is created and the {@link Federation} decodes on the delivery thread
+ * as it always has.
+ */
+public class Decoder
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Federation federation;
+	private Logger logger;
+	private ExecutorService workers;
+	private Map<Object,Stream> streams;
+	
+	// count of payloads submitted but not yet delivered, used by flush()
+	private int pending;
+	private Object pendingLock;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public Decoder( Federation federation, int workerCount )
+	{
+		this.federation = federation;
+		this.logger = Logger.getLogger( "portico.lrc.jgroups" );
+		this.workers = Executors.newFixedThreadPool( workerCount, new WorkerFactory() );
+		this.streams = new HashMap<Object,Stream>();
+		this.pending = 0;
+		this.pendingLock = new Object();
+		
+		logger.debug( "Started message decoder with "+workerCount+" worker threads" );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Queue the given payload for decoding. The resulting message will be delivered after all
+	 * the messages previously submitted for the same sender.
+	 * 
+	 * @param sender Identifies the source of the payload (the JGroups address, for example). All
+	 *               that matters is that it is the same object for every message from a sender.
+	 * @param payload The serialized message
+	 * @param lrc The LRC that was joined when the payload arrived, and which it is decoded for
+	 */
+	public void submit( Object sender, byte[] payload, LRC lrc )
+	{
+		// the slot goes in while we still hold the map so that release() can't take the
+		// stream away between us finding it and adding to it
+		Slot slot;
+		synchronized( streams )
+		{
+			Stream stream = streams.get( sender );
+			if( stream == null )
+			{
+				stream = new Stream();
+				streams.put( sender, stream );
+			}
+
+			slot = new Slot( stream, payload, lrc );
+			synchronized( stream )
+			{
+				stream.slots.add( slot );
+			}
+		}
+
+		synchronized( pendingLock )
+		{
+			++pending;
+		}
+
+		workers.execute( slot );
+	}
+
+	/**
+	 * Blocks until every payload that has been submitted so far has been decoded and delivered.
+	 * This is used before anything that is processed inline on the delivery thread (such as a
+	 * resign notification) so that it can't overtake messages still sitting in the decoder.
+	 */
+	public void flush()
+	{
+		synchronized( pendingLock )
+		{
+			while( pending > 0 )
+			{
+				try
+				{
+					pendingLock.wait();
+				}
+				catch( InterruptedException ie )
+				{
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forget about the given sender (because it has resigned, for example). Call {@link #flush()}
+	 * first. If anything from the sender is still waiting to be delivered, the stream is kept so
+	 * that nothing is lost or reordered.
+	 * 
+	 * @param sender The sender whose stream should be removed
+	 */
+	public void release( Object sender )
+	{
+		synchronized( streams )
+		{
+			Stream stream = streams.get( sender );
+			if( stream == null )
+				return;
+
+			synchronized( stream )
+			{
+				if( stream.slots.isEmpty() )
+					streams.remove( sender );
+			}
+		}
+	}
+
+	/**
+	 * @return The number of senders we are currently holding a stream for
+	 */
+	public int getStreamCount()
+	{
+		synchronized( streams )
+		{
+			return streams.size();
+		}
+	}
+
+	/**
+	 * Stops the worker threads. Anything that hasn't been decoded yet is discarded.
+	 */
+	public void shutdown()
+	{
+		workers.shutdownNow();
+		synchronized( streams )
+		{
+			streams.clear();
+		}
+		
+		synchronized( pendingLock )
+		{
+			pending = 0;
+			pendingLock.notifyAll();
+		}
+	}
+
+	/**
+	 * Deliver every decoded message sitting at the head of the given stream. The lock on the
+	 * stream is held while delivering so that two workers can't deliver out of order.
+	 */
+	private void drain( Stream stream )
+	{
+		int delivered = 0;
+		synchronized( stream )
+		{
+			while( stream.slots.isEmpty() == false && stream.slots.getFirst().decoded )
+			{
+				Slot slot = stream.slots.removeFirst();
+				if( slot.message != null )
+					federation.deliver( slot.message, slot.payload.length, slot.lrc );
+
+				++delivered;
+			}
+		}
+
+		if( delivered == 0 )
+			return;
+
+		synchronized( pendingLock )
+		{
+			pending -= delivered;
+			if( pending <= 0 )
+			{
+				pending = 0;
+				pendingLock.notifyAll();
+			}
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/** The ordered list of payloads received from a single sender */
+	private class Stream
+	{
+		private LinkedList<Slot> slots = new LinkedList<Slot>();
+	}
+
+	/** A single payload and, once a worker has got to it, the message it decoded to */
+	private class Slot implements Runnable
+	{
+		private Stream stream;
+		private byte[] payload;
+		private LRC lrc;
+		private PorticoMessage message;
+		private volatile boolean decoded;
+
+		public Slot( Stream stream, byte[] payload, LRC lrc )
+		{
+			this.stream = stream;
+			this.payload = payload;
+			this.lrc = lrc;
+			this.message = null;
+			this.decoded = false;
+		}
+
+		public void run()
+		{
+			try
+			{
+				this.message = federation.decode( payload, lrc );
+			}
+			finally
+			{
+				// a null message is just skipped when the stream is drained
+				this.decoded = true;
+				drain( stream );
+			}
+		}
+	}
+	
+	/** Creates daemon worker threads with a recognisable name */
+	private class WorkerFactory implements ThreadFactory
+	{
+		private AtomicInteger count = new AtomicInteger( 0 );
+		public Thread newThread( Runnable runnable )
+		{
+			Thread thread = new Thread( runnable, "portico-decoder-"+count.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		}
+	}
+}
@@ -17,6 +17,7 @@ package org.portico.bindings.jgroups;
 import java.util.UUID;
 
 import org.apache.log4j.Logger;
+import org.jgroups.Address;
 import org.jgroups.util.Util;
 import org.portico.bindings.jgroups.channel.Channel;
 import org.portico.bindings.jgroups.channel.Manifest;
@@ -34,6 +35,7 @@ import org.portico.lrc.services.federation.msg.ResignFederation;
 import org.portico.lrc.utils.MessageHelpers;
 import org.portico.utils.messaging.ErrorResponse;
 import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.PooledMessage;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -63,7 +65,7 @@ public class Federation
 	private String fedname;
 	private boolean connected;
 	private UUID uuid;
-	private Manifest manifest;
+	private volatile Manifest manifest;
 
 	// Active Federation Connection
 	public LRC joinedLRC;
@@ -78,6 +80,12 @@ public class Federation
 	// write metadata about incoming/outgoing message flow
 	private Auditor auditor;
 
+	// decodes incoming messages off the delivery thread (null if we decode inline)
+	private Decoder decoder;
+
+	// bundles outgoing messages before they go to the channel (null if we don't bundle)
+	private LanBundler bundler;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
@@ -103,6 +111,10 @@ public class Federation
 
 		// create this, but leave as disabled for now - gets turned on in joinFederation
 		this.auditor = new Auditor();
+		
+		// created when we connect, if configured
+		this.decoder = null;
+		this.bundler = null;
 	}
 
 	//----------------------------------------------------------
@@ -117,9 +129,21 @@ public class Federation
 		if( this.connected )
 			return;
 
+		// start the decoder if we're not going to decode on the delivery thread
+		int decoderCount = Configuration.getDecoderCount();
+		if( decoderCount > 0 )
+			this.decoder = new Decoder( this, decoderCount );
+
 		// connect to the main federation channel
 		this.channel = new Channel( this );
 		this.channel.connect();
+
+		// start bundling outgoing messages if we have been configured to
+		if( Configuration.isBundlerEnabled() )
+		{
+			this.bundler = new LanBundler( this.channel );
+			this.bundler.start();
+		}
 		
 		// create the WAN gateway - but don't enable it unless we need it
 		this.gateway = new Gateway( this );
@@ -144,10 +168,24 @@ public class Federation
 		if( this.connected == false )
 			return;
 		
+		// get anything we're still holding out before we leave
+		if( this.bundler != null )
+		{
+			this.bundler.stop();
+			this.bundler = null;
+		}
+
 		this.channel.disconnect();
 		if( this.gateway != null )
 			this.gateway.disconnect();
 
+		// stop the decoder now that nothing else can come in
+		if( this.decoder != null )
+		{
+			this.decoder.shutdown();
+			this.decoder = null;
+		}
+
 		// clear out any connection we have to an LRC
 		if( this.joinedLRC != null )
 			this.joinedLRC = null;
@@ -169,8 +207,15 @@ public class Federation
 		// 1. Send out the Coordinator discovery request to see if anyone is already in the role
 		channel.sendFindCoordinator();
 		
-		// 2. Allow some time for the responses to come in
-		PorticoConstants.sleep( 2000 ); // FIXME replace with configurable -- especially for WAN
+		// 2. Allow some time for the responses to come in. If we're the only member of the
+		//    channel there is nobody to respond, so don't bother waiting. Otherwise, stop
+		//    waiting as soon as a manifest turns up.
+		if( channel.getMemberCount() > 1 )
+		{
+			long deadline = System.currentTimeMillis() + Configuration.getCoordinatorTimeout();
+			while( manifest == null && System.currentTimeMillis() < deadline )
+				PorticoConstants.sleep( 10 );
+		}
 		
 		// 3. Check to see if we have a manifest. If there is a coordinator out there, they
 		//    will have sent this through to us. If there isn't one out there, we will have
@@ -195,10 +240,25 @@ public class Federation
 		if( auditor.isRecording() )
 			auditor.sent( message, payload.length );
 
-		// Send the message
-		channel.send( payload );
+		// Send the message, through the bundler if we have one
+		LanBundler bundler = this.bundler;
+		if( bundler == null )
+			channel.send( payload, message.getPriority() );
+		else
+			bundler.submit( payload, message.getPriority() );
 	}
 	
+	/**
+	 * If we are bundling, send anything currently sitting in the bundle straight away rather
+	 * than waiting for it to fill up or time out. Does nothing if we're not bundling.
+	 */
+	public void flush() throws JRTIinternalError
+	{
+		LanBundler bundler = this.bundler;
+		if( bundler != null )
+			bundler.flush();
+	}
+
 	//////////////////////////////////////////////////////////////////////////////
 	/// Federation Lifecycle Methods  ////////////////////////////////////////////
 	//////////////////////////////////////////////////////////////////////////////
@@ -277,6 +337,11 @@ public class Federation
 			}
 		}
 
+		// anything still in the decoder from a previous join is dropped when it is delivered
+		// (there is no joined LRC), so let it run out before we link in the new one
+		if( decoder != null )
+			decoder.flush();
+
 		// store the LRC locally so that we can route incoming messages to it
 		this.joinedLRC = lrc;
 
@@ -308,6 +373,9 @@ public class Federation
 		logger.debug( "REQUEST resignFederation: federate="+federateName+", federation="+fedname );
 
 		byte[] payload = MessageHelpers.deflate( resignMessage );
+
+		// anything we sent before resigning must get there before the resignation does
+		flush();
 		
 		// send to the local channel
 		channel.sendResignFederation( payload );
@@ -366,28 +434,79 @@ public class Federation
 	//////////////////////////////////////////////////////////////////////////////
 	/// Incoming Message Methods  ////////////////////////////////////////////////
 	//////////////////////////////////////////////////////////////////////////////
-	public final void receiveAsynchronous( byte[] payload )
+	/**
+	 * Asynchronous message received from the given sender. If we have a {@link Decoder}, the
+	 * payload is passed to it for decoding and delivery on one of its worker threads. If not,
+	 * it is decoded and delivered right here on the calling thread.
+	 * 
+	 * @param sender The address of the sender. Messages with the same sender are always delivered
+	 *               in the order they arrive.
+	 * @param payload The serialized message
+	 */
+	public final void receiveAsynchronous( Address sender, byte[] payload )
+	{
+		LRC lrc = this.joinedLRC;
+		if( lrc == null )
+			return;
+		
+		Decoder decoder = this.decoder;
+		if( decoder == null )
+			receiveAsynchronous( payload );
+		else
+			decoder.submit( sender, payload, lrc );
+	}
+
+	/**
+	 * A bundle of messages put together by the sender's {@link LanBundler} has been received.
+	 * Split it up and hand each message off in the order it was sent, just as if it had arrived
+	 * on its own.
+	 */
+	public final void receiveBundle( Address sender, byte[] bundle )
 	{
 		if( this.joinedLRC == null )
 			return;
+
+		try
+		{
+			for( byte[] payload : LanBundler.split(bundle) )
+				receiveAsynchronous( sender, payload );
+		}
+		catch( RuntimeException e )
+		{
+			logger.error( "Error splitting received bundle: "+e.getMessage()+
+			              ", size="+bundle.length, e );
+		}
+	}
+
+	/**
+	 * Decodes and delivers the given message on the calling thread.
+	 */
+	public final void receiveAsynchronous( byte[] payload )
+	{
+		LRC lrc = this.joinedLRC;
+		if( lrc == null )
+			return;
+		
+		// fetch the payload from the message
+		PorticoMessage message = decode( payload, lrc );
 		
+		// if we get null back, it means we should stop processing now
+		if( message == null )
+			return;
+		
+		deliver( message, payload.length, lrc );
+	}
+
+	/**
+	 * Turns the given payload back into a {@link PorticoMessage} for the given LRC. Returns null
+	 * if the message should be skipped (including if there was a problem decoding it, in which
+	 * case the problem is logged). This can be called from any thread.
+	 */
+	protected PorticoMessage decode( byte[] payload, LRC lrc )
+	{
 		try
 		{
-			// fetch the payload from the message
-			PorticoMessage message = MessageHelpers.inflate( payload,
-			                                                 PorticoMessage.class,
-			                                                 joinedLRC );
-			
-			// if we get null back, it means we should stop processing now
-			if( message == null )
-					return;
-			
-			// log an audit entry for the reception
-			if( auditor.isRecording() )
-				auditor.received( message, payload.length );
-			
-			// shove into our queue for later processing
-			joinedLRC.getState().getQueue().offer( message );
+			return MessageHelpers.inflate( payload, PorticoMessage.class, lrc );
 		}
 		catch( Exception e )
 		{
@@ -395,10 +514,43 @@ public class Federation
 			// the time we came to use it, it became null (due to resignation). Roll with
 			// if and just skip over. No point worring about being unable to process a
 			// message from a federate we just resigned from anyway.
-			if( joinedLRC == null )
-				return;
-			else
+			if( joinedLRC != null )
 				logger.error( "Error processing received message: " + e.getMessage()+", size="+payload.length, e );
+
+			return null;
+		}
+	}
+
+	/**
+	 * Hand a decoded message to the given LRC for processing. The LRC is the one that was joined
+	 * when the message was received. If it has since resigned (or been replaced by another
+	 * join), the message is dropped rather than leaking into the new federation.
+	 */
+	protected void deliver( PorticoMessage message, int size, LRC lrc )
+	{
+		if( lrc != this.joinedLRC )
+		{
+			// it may have come from the old LRC's message pool, hand it back
+			if( message instanceof PooledMessage )
+				((PooledMessage)message).release();
+
+			return;
+		}
+
+		try
+		{
+			// log an audit entry for the reception
+			if( auditor.isRecording() )
+				auditor.received( message, size );
+			
+			// shove into our queue for later processing
+			lrc.getState().getQueue().offer( message );
+		}
+		catch( Exception e )
+		{
+			// see the comment in decode(), the same applies here
+			if( joinedLRC != null )
+				logger.error( "Error processing received message: " + e.getMessage()+", size="+size, e );
 		}
 	}
 	
@@ -521,8 +673,17 @@ public class Federation
 		logger.info( "Federate ["+federateName+"] joined federation ["+fedname+"]" );
 	}
 	
-	public void receiveResignFederation( UUID sender, byte[] payload )
+	public void receiveResignFederation( UUID sender, Address address, byte[] payload )
 	{
+		// make sure anything the federate sent before resigning has been delivered first, then
+		// drop the decoder's stream for it so that they don't build up as federates come and go
+		Decoder decoder = this.decoder;
+		if( decoder != null )
+		{
+			decoder.flush();
+			decoder.release( address );
+		}
+
 		// tell our Manifest that a federate has resigned from the federation
 		receiveAsynchronous( payload );
 
@@ -558,7 +719,7 @@ public class Federation
 		}
 	}
 
-	public void receiveGoodbye( UUID leaver, byte[] payload )
+	public void receiveGoodbye( UUID leaver, Address address, byte[] payload )
 	{
 		logger.trace( "Received goodbye notification: channel="+fedname+", from="+leaver );
 
@@ -581,7 +742,7 @@ public class Federation
 			// Turn the message into a byte[] -- this is what the receive method wants even
 			// thought it is going to turn it right back into a PorticoMessage. Given how
 			// infrequent we will be doing this it isn't a big deal
-			this.receiveResignFederation( leaver, MessageHelpers.deflate(resign) );
+			this.receiveResignFederation( leaver, address, MessageHelpers.deflate(resign) );
 			
 			logger.info( "Federate ["+federateName+","+federateHandle+
 			             "] disconnected, synthesized resign message. All done." );
@@ -595,7 +756,7 @@ public class Federation
 	}
 
 	/** Confirmation that a federate has left when we did not expect */
-	public void receiveCrashed( UUID crashed )
+	public void receiveCrashed( UUID crashed, Address address )
 	{
 		if( manifest.isJoinedFederate(crashed) )
 		{
@@ -603,7 +764,7 @@ public class Federation
 			logger.warn( "Federate ["+federateName+
 			             "] has crashed. Sending fake resignation because it was too rude to." );
 			
-			receiveGoodbye( crashed, new byte[]{} );
+			receiveGoodbye( crashed, address, new byte[]{} );
 		}
 		else
 		{
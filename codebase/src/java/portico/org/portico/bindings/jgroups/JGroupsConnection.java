@@ -20,10 +20,12 @@ import java.util.Map;
 import org.apache.log4j.Logger;
 import org.portico.bindings.ConnectedRoster;
 import org.portico.bindings.IConnection;
+import org.portico.bindings.Roster;
 import org.portico.lrc.LRC;
 import org.portico.lrc.PorticoConstants;
 import org.portico.lrc.compat.JConfigurationException;
 import org.portico.lrc.compat.JFederateNotExecutionMember;
+import org.portico.lrc.compat.JFederationExecutionDoesNotExist;
 import org.portico.lrc.compat.JRTIinternalError;
 import org.portico.lrc.model.ModelMerger;
 import org.portico.lrc.model.ObjectModel;
@@ -168,6 +170,7 @@ public class JGroupsConnection implements IConnection
 	{
 		validateConnected();
 		joinedFederation.send( message );
+		joinedFederation.flush(); // don't start the clock with the message sitting in a bundle
 		PorticoConstants.sleep( Configuration.RESPONSE_TIMEOUT );
 	}
 
@@ -207,6 +210,16 @@ public class JGroupsConnection implements IConnection
 		return federation;
 	}
 
+	/**
+	 * Returns the cached {@link Federation} with the given name, or <code>null</code> if we
+	 * aren't connected to its channel. Unlike {@link #findFederation(String)}, this never
+	 * connects to anything.
+	 */
+	Federation getFederation( String federationName )
+	{
+		return federations.get( federationName );
+	}
+
 	/**
 	 * Find the channel for the federation we are trying to create (name is used)
 	 * and then attempt to install a federation in it. If there is no existing
@@ -241,6 +254,13 @@ public class JGroupsConnection implements IConnection
 		// connect to the federation channel if we are not already
 		Federation federation = findFederation( joinMessage.getFederationName() );
 		
+		// make sure there is a federation in the channel before we go poking at its FOM
+		if( federation.getManifest().containsFederation() == false )
+		{
+			throw new JFederationExecutionDoesNotExist( "federation doesn't exist: "+
+			                                            joinMessage.getFederationName() );
+		}
+
 		// validate that our FOM modules can be merged successfully with the existing FOM first
 		logger.debug( "Validate that ["+joinMessage.getJoinModules().size()+
 		              "] modules can merge successfully with the existing FOM" );
@@ -339,7 +359,7 @@ public class JGroupsConnection implements IConnection
 			// That exception would in turn cascade out and prevent us from disconnecting
 			// unless we did something about it!
 			federation.disconnect();
-			federations.remove( federation );
+			federations.remove( destroyMessage.getFederationName() );
 		}
 	}
 
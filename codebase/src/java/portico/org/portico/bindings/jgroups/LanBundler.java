@@ -0,0 +1,427 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+import org.portico.bindings.jgroups.channel.Channel;
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.utils.StringUtils;
+import org.portico.utils.messaging.MessagePriority;
+
+/**
+ * Packs many small outgoing messages into a single JGroups message before they are sent on the
+ * local {@link Channel}. JGroups has its own bundler at the transport, but each message handed
+ * to it still carries its own headers, sequence number and retransmission bookkeeping. When a
+ * federate sends thousands of tiny updates per frame, that per-message overhead dominates, so
+ * we pay it once per bundle instead.
+ * 
+ * ## Bundling
+ * As with the WAN bundler, messages are stored until either the bundle grows past a configurable
+ * size (at which point the submitting thread flushes it), or the oldest message in it has been
+ * held for longer than a configurable time (at which point the flusher thread does).
+ * 
+ * ## Framing
+ * Bundles are sent with the {@link org.portico.bindings.jgroups.channel.ControlHeader#BUNDLE}
+ * header and have the following layout:
+ * 
+ *     [int count] ([int length][length bytes])*
+ * 
+ * Receivers use {@link #split(byte[])} to break them back into the original payloads.
+ * 
+ * ## Ordering
+ * Bundles keep their place in the sender's FIFO stream like any other message. Messages that are
+ * sent unbundled (anything with a priority above {@link MessagePriority#NORMAL}, or control
+ * messages such as resign) must not overtake those already sitting in the bundle, so the bundle
+ * is always flushed before they go out.
+ * 
+ * ## Locking
+ * The bundle is only locked while messages are added to it or it is swapped out for sending.
+ * The send itself happens outside that lock so that other threads can carry on filling the next
+ * bundle while JGroups works (or blocks on flow control). Sends are serialized by a second lock
+ * which is taken before the bundle lock is let go, so they always go out in the order the
+ * bundles were swapped out.
+ */
+public class LanBundler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Channel channel;
+
+	// message queuing
+	private int sizeLimit;          // max bytes to hold onto before release
+	private long timeLimit;         // max time (nanos) to hold onto messages before release
+	private ByteBuffer buffer;      // store outgoing messages here prior to flush
+	private int queuedMessages;     // number of messages we currently have queued
+	private long oldestMessage;     // time (nanos) when first message turned up in the bundle
+
+	// flushing
+	private Lock lock;              // guards the bundle
+	private Lock sendLock;          // keeps sends in the order bundles were taken
+	private Condition armCondition; // signalled when the first message lands in an empty bundle
+	private Thread flusherThread;
+	private volatile boolean running;
+
+	// metrics
+	private long totalMessagesSent;
+	private long totalBundlesSent;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	protected LanBundler( Channel channel )
+	{
+		this.logger = Logger.getLogger( "portico.lrc.jgroups" );
+		this.channel = channel;
+
+		// message queuing
+		this.sizeLimit = Configuration.getBundlerSize();
+		this.timeLimit = TimeUnit.MILLISECONDS.toNanos( Configuration.getBundlerTimeout() );
+		this.buffer = ByteBuffer.allocate( (int)(sizeLimit*1.1) );
+		this.buffer.position( 4 ); // leave room for the count
+		this.queuedMessages = 0;
+		this.oldestMessage = 0;
+
+		// flushing
+		this.lock = new ReentrantLock();
+		this.sendLock = new ReentrantLock();
+		this.armCondition = this.lock.newCondition();
+		this.flusherThread = null;
+		this.running = false;
+
+		// metrics
+		this.totalMessagesSent = 0;
+		this.totalBundlesSent = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/** Starts the flusher thread (as a daemon) */
+	protected void start()
+	{
+		logger.debug( "[LanBundler] Starting. Max bundle size="+
+		              StringUtils.getSizeString(sizeLimit)+", max bundle time="+TimeUnit.NANOSECONDS.toMillis(timeLimit)+"ms" );
+
+		this.running = true;
+		this.flusherThread = new Thread( new Flusher(), "Bundle-Flusher" );
+		this.flusherThread.setDaemon( true );
+		this.flusherThread.start();
+	}
+
+	/** Flushes anything that is still held and stops the flusher thread */
+	protected void stop()
+	{
+		lock.lock();
+		try
+		{
+			this.running = false;
+			armCondition.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		try
+		{
+			flush();
+		}
+		catch( JRTIinternalError rtie )
+		{
+			logger.warn( "Error flushing bundled messages during shutdown: "+rtie.getMessage() );
+		}
+
+		try
+		{
+			flusherThread.join( 2000 );
+		}
+		catch( InterruptedException ie )
+		{
+			logger.warn( "LanBundler flusher thread did not shut down cleanly (2 sec wait)" );
+		}
+
+		logger.debug( "[LanBundler] Stopped. Sent "+totalMessagesSent+" messages in "+
+		              totalBundlesSent+" bundles" );
+	}
+
+	/**
+	 * Submit a message for sending. Messages of {@link MessagePriority#NORMAL} priority are added
+	 * to the bundle, which is flushed on this thread if that takes it past the size limit. If
+	 * this is the first message in the bundle, the flusher is armed so that it goes out within
+	 * the time limit regardless.
+	 * 
+	 * Higher priority messages are not bundled. The bundle is flushed and then they are sent
+	 * straight away, keeping them behind everything that was submitted before them.
+	 * 
+	 * @throws JRTIinternalError If there is a problem sending the bundle or message
+	 */
+	public void submit( byte[] payload, MessagePriority priority ) throws JRTIinternalError
+	{
+		byte[] bundle = null;
+		lock.lock();
+		try
+		{
+			if( priority == MessagePriority.NORMAL )
+			{
+				// queue the message
+				growBufferIfNeeded( 4+payload.length );
+				buffer.putInt( payload.length );
+				buffer.put( payload );
+				if( ++queuedMessages == 1 )
+				{
+					// first message in the bundle, arm the flusher
+					this.oldestMessage = System.nanoTime();
+					armCondition.signal();
+				}
+
+				// check to see if we've hit the size trigger
+				if( buffer.position() < sizeLimit )
+					return;
+			}
+
+			// either the bundle is full, or there is a message that has to go out behind it
+			bundle = takeBundle();
+			sendLock.lock();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		try
+		{
+			if( bundle != null )
+				sendBundle( bundle );
+
+			if( priority != MessagePriority.NORMAL )
+				channel.send( payload, priority );
+		}
+		finally
+		{
+			sendLock.unlock();
+		}
+	}
+
+	/**
+	 * Send whatever is currently held in the bundle. Does nothing if the bundle is empty.
+	 * 
+	 * @throws JRTIinternalError If there is a problem sending the bundle
+	 */
+	public void flush() throws JRTIinternalError
+	{
+		byte[] bundle;
+		lock.lock();
+		try
+		{
+			bundle = takeBundle();
+			if( bundle == null )
+				return;
+
+			sendLock.lock();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		try
+		{
+			sendBundle( bundle );
+		}
+		finally
+		{
+			sendLock.unlock();
+		}
+	}
+
+	/**
+	 * Take everything in the bundle out so that it can be sent, leaving an empty bundle behind.
+	 * Returns <code>null</code> if there was nothing in it. Must be called with the bundle lock
+	 * held.
+	 */
+	private byte[] takeBundle()
+	{
+		if( queuedMessages == 0 )
+			return null;
+
+		// JGroups holds onto the buffer for retransmission, so it gets its own copy
+		buffer.putInt( 0, queuedMessages );
+		byte[] bundle = Arrays.copyOf( buffer.array(), buffer.position() );
+
+		// reset before sending so that a failure doesn't leave us resending forever
+		buffer.clear();
+		buffer.position( 4 );
+		this.queuedMessages = 0;
+		this.oldestMessage = 0;
+		return bundle;
+	}
+
+	/**
+	 * Send a bundle taken by {@link #takeBundle()}. Must be called with the send lock held.
+	 */
+	private void sendBundle( byte[] bundle ) throws JRTIinternalError
+	{
+		channel.sendBundle( bundle );
+
+		// metrics
+		int count = ByteBuffer.wrap(bundle).getInt( 0 );
+		totalMessagesSent += count;
+		totalBundlesSent++;
+		if( logger.isTraceEnabled() )
+			logger.trace( "Sent bundle of "+count+" messages ("+bundle.length+"b)" );
+	}
+
+	/**
+	 * If the buffer does not have enough space to store the give amount of bytes, grow it
+	 * so that it can (with some to spare - currently 10%). Only happens when a single message
+	 * is bigger than the space left over below the size limit.
+	 */
+	private final void growBufferIfNeeded( int spaceRequired )
+	{
+		if( buffer.remaining() < spaceRequired )
+		{
+			int newsize = buffer.capacity() + spaceRequired;
+			ByteBuffer newBuffer = ByteBuffer.allocate( (int)(newsize*1.1) ); // 10% elbow room
+
+			// copy the contents of the old buffer over and replace it
+			this.buffer.flip();
+			newBuffer.put( buffer );
+			this.buffer = newBuffer;
+		}
+	}
+
+	public long getSentMessageCount()
+	{
+		return this.totalMessagesSent;
+	}
+
+	public long getSentBundleCount()
+	{
+		return this.totalBundlesSent;
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////
+	////// Private Class: Flusher   //////////////////////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Sleeps until the bundle has something in it, then waits until the oldest message has
+	 * reached the time limit before flushing. If the size limit is hit first, the submitting
+	 * thread will have flushed already and we just go back to sleep.
+	 */
+	private class Flusher implements Runnable
+	{
+		public void run()
+		{
+			try
+			{
+				while( true )
+				{
+					byte[] bundle;
+					lock.lock();
+					try
+					{
+						if( awaitTimeLimit() == false )
+							return;
+
+						bundle = takeBundle();
+						sendLock.lock();
+					}
+					finally
+					{
+						lock.unlock();
+					}
+
+					try
+					{
+						sendBundle( bundle );
+					}
+					catch( JRTIinternalError rtie )
+					{
+						logger.error( "Error sending bundled messages: "+rtie.getMessage(), rtie );
+					}
+					finally
+					{
+						sendLock.unlock();
+					}
+				}
+			}
+			catch( InterruptedException ie )
+			{
+				// we are shutting down and that's cool
+			}
+		}
+
+		/**
+		 * Wait (holding the bundle lock) until the oldest message in the bundle has been there
+		 * for the time limit. Returns <code>false</code> if we were stopped in the mean time.
+		 */
+		private boolean awaitTimeLimit() throws InterruptedException
+		{
+			while( running )
+			{
+				if( queuedMessages == 0 )
+				{
+					armCondition.await();
+					continue;
+				}
+
+				long remaining = (oldestMessage + timeLimit) - System.nanoTime();
+				if( remaining <= 0 )
+					return true;
+
+				armCondition.awaitNanos( remaining );
+			}
+
+			return false;
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Break a bundle received from the channel back into the individual message payloads it
+	 * was made from, in the order they were submitted.
+	 */
+	public static List<byte[]> split( byte[] bundle )
+	{
+		ByteBuffer buffer = ByteBuffer.wrap( bundle );
+		int count = buffer.getInt();
+		List<byte[]> payloads = new ArrayList<byte[]>( count );
+		for( int i = 0; i < count; i++ )
+		{
+			byte[] payload = new byte[buffer.getInt()];
+			buffer.get( payload );
+			payloads.add( payload );
+		}
+
+		return payloads;
+	}
+}
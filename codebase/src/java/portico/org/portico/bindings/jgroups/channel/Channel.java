@@ -22,10 +22,12 @@ import org.jgroups.JChannel;
 import org.jgroups.Message;
 import org.jgroups.Message.Flag;
 import org.jgroups.blocks.MessageDispatcher;
+import org.jgroups.protocols.TP;
 import org.jgroups.util.DefaultThreadFactory;
 import org.portico.bindings.jgroups.Configuration;
 import org.portico.bindings.jgroups.Federation;
 import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.utils.messaging.MessagePriority;
 
 /**
  * This class represents a channel devoted to supporting an active Portico Federation.
@@ -98,8 +100,7 @@ public class Channel
 		}
 
 		// Disconnect
-		this.jchannel.disconnect();
-		this.jchannel.close();
+		StackFactory.closeChannel( channelName, jchannel );
 		this.connected = false;
 		logger.debug( "Connection closed to channel ["+channelName+"]" );
 	}
@@ -145,10 +146,9 @@ public class Channel
 	 */
 	private JChannel constructChannel() throws Exception
 	{
-		// create a different channel depending on whether we are trying to use the WAN
-		// or local network infrastructure
-		JChannel channel = null;
-		channel = new JChannel( "etc/jgroups-udp.xml" );
+		// create the channel from the stack configuration, sharing the transport with
+		// other channels in this JVM if we have been configured to do so
+		JChannel channel = StackFactory.createChannel( channelName );
 
 		// if we're not using daemon threads, return without resetting the thread groups
 		if( Configuration.useDaemonThreads() == false )
@@ -181,6 +181,8 @@ public class Channel
 	public String getChannelName() { return this.channelName; }
 	public boolean isConnected() { return this.connected; }
 	public Address getChannelAddress() { return this.jchannel.getAddress(); }
+	public int getMemberCount() { return this.jchannel.getView().size(); }
+	public TP getTransport() { return this.jchannel.getProtocolStack().getTransport(); }
 
 	/**
 	 * This method will send the provided message to all federates connected to the same JGroups
@@ -193,11 +195,37 @@ public class Channel
 	 * @throws JRTIinternalError If there is a problem serializing or sending the message
 	 */
 	public void send( byte[] payload ) throws JRTIinternalError
+	{
+		send( payload, MessagePriority.NORMAL );
+	}
+
+	/**
+	 * Same as {@link #send(byte[])} except that messages with a priority higher than
+	 * {@link MessagePriority#NORMAL} are sent with the DONT_BUNDLE and NO_FC flags so that they
+	 * go out straight away rather than waiting behind bulk data in the bundler or for flow
+	 * control credits.
+	 * <p/>
+	 * We deliberately don't use OOB here. OOB messages are delivered outside the per-sender FIFO
+	 * ordering, which would let a time advance request overtake the timestamped messages sent
+	 * before it. As sequence numbers are assigned above the bundler, unbundled messages still
+	 * keep their place in the sender's stream.
+	 * 
+	 * @param payload The serialized message to send
+	 * @param priority The priority of the message contained in the payload
+	 * @throws JRTIinternalError If there is a problem sending the message
+	 */
+	public void send( byte[] payload, MessagePriority priority ) throws JRTIinternalError
 	{
 		// send the message
 		try
 		{
 			Message message = new Message( null /*destination*/, null /*source*/, payload );
+			if( priority != MessagePriority.NORMAL )
+			{
+				message.setFlag( Flag.DONT_BUNDLE );
+				message.setFlag( Flag.NO_FC );
+			}
+
 			jchannel.send( message );
 		}
 		catch( Exception e )
@@ -207,6 +235,31 @@ public class Channel
 		}
 	}
 	
+	/**
+	 * Send a bundle of regular messages put together by the Portico-level
+	 * {@link org.portico.bindings.jgroups.LanBundler}. Bundles are marked with a control header so
+	 * that receivers know to split them, but otherwise go out just like any regular message
+	 * (subject to flow control and JGroups bundling). No {@link UUIDHeader} is attached as
+	 * receivers don't need it.
+	 * 
+	 * @param bundle The framed bundle to send
+	 * @throws JRTIinternalError If there is a problem sending the bundle
+	 */
+	public void sendBundle( byte[] bundle ) throws JRTIinternalError
+	{
+		try
+		{
+			Message message = new Message( null /*destination*/, null /*source*/, bundle );
+			message.putHeader( ControlHeader.HEADER, ControlHeader.bundle() );
+			jchannel.send( message );
+		}
+		catch( Exception e )
+		{
+			throw new JRTIinternalError( "Problem sending bundle: channel="+channelName+
+			                             ", error message="+e.getMessage(), e );
+		}
+	}
+	
 	//////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////// Federation Lifecycle Methods ////////////////////////////
 	//////////////////////////////////////////////////////////////////////////////////////
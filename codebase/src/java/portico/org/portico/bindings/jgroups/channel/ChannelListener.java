@@ -92,7 +92,7 @@ public class ChannelListener implements RequestHandler, MessageListener, Members
 		for( Address suspect : suspected )
 		{
 			if( newView.containsMember(suspect) == false )
-				federation.receiveCrashed( allSeenMembers.get(suspect) );
+				federation.receiveCrashed( allSeenMembers.get(suspect), suspect );
 		}
 	}
 
@@ -156,7 +156,12 @@ public class ChannelListener implements RequestHandler, MessageListener, Members
 		if( header == null )
 		{
 			// just a regular message, hand it off to our receiver
-			federation.receiveAsynchronous( message.getBuffer() );
+			federation.receiveAsynchronous( message.getSrc(), message.getBuffer() );
+		}
+		else if( header.getMessageType() == ControlHeader.BUNDLE )
+		{
+			// a bundle of regular messages, split it and hand each off in turn
+			federation.receiveBundle( message.getSrc(), message.getBuffer() );
 		}
 		else
 		{
@@ -183,7 +188,9 @@ public class ChannelListener implements RequestHandler, MessageListener, Members
 					break;
 				case ControlHeader.RESIGN_FEDERATION:
 					logger.debug( "(GMS) resignFederation("+message.getSrc()+")" );
-					federation.receiveResignFederation( sender, message.getBuffer() );
+					federation.receiveResignFederation( sender,
+					                                    message.getSrc(),
+					                                    message.getBuffer() );
 					break;
 				case ControlHeader.DESTROY_FEDERATION:
 					logger.debug( "(GMS) destroyFederation("+message.getSrc()+")" );
@@ -191,7 +198,7 @@ public class ChannelListener implements RequestHandler, MessageListener, Members
 					break;
 				case ControlHeader.GOODBYE:
 					logger.debug( "(GMS) goodbye("+message.getSrc()+")" );
-					federation.receiveGoodbye( sender, message.getBuffer() );
+					federation.receiveGoodbye( sender, message.getSrc(), message.getBuffer() );
 					break;
 				default:
 					logger.warn( "Unknown control message [type="+header.getMessageType()+"]. Ignore." );
@@ -40,6 +40,8 @@ public class ControlHeader extends Header
 	public static final short JOIN_FEDERATION        = 4;
 	public static final short RESIGN_FEDERATION      = 5;
 	public static final short DESTROY_FEDERATION     = 6;
+
+	public static final short BUNDLE                 = 50;  // bundle of regular messages
 	
 	public static final short GOODBYE                = 100; // sent when disconnecting from channel
 
@@ -108,6 +110,8 @@ public class ControlHeader extends Header
 				return "ResignFederation";
 			case DESTROY_FEDERATION:
 				return "DestroyFederation";
+			case BUNDLE:
+				return "Bundle";
 			case GOODBYE:
 				return "Goodbye";
 			default:
@@ -148,6 +152,11 @@ public class ControlHeader extends Header
 		return new ControlHeader( DESTROY_FEDERATION );
 	}
 	
+	public static ControlHeader bundle()
+	{
+		return new ControlHeader( BUNDLE );
+	}
+
 	public static ControlHeader goodbye()
 	{
 		return new ControlHeader( GOODBYE );
@@ -0,0 +1,185 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups.channel;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.jgroups.JChannel;
+import org.jgroups.conf.ConfiguratorFactory;
+import org.jgroups.conf.ProtocolConfiguration;
+import org.jgroups.conf.ProtocolStackConfigurator;
+import org.portico.bindings.jgroups.Configuration;
+import org.portico.lrc.compat.JConfigurationException;
+
+/**
+ * Builds the {@link JChannel}s used by each {@link Channel}. The stack configuration to use is
+ * selected by {@link Configuration#getStackLocation()}, which is either one of the profiles that
+ * ships inside the Portico jar or an external file. Each stack configuration is only parsed once
+ * per JVM and each new channel is given its own copy of it.
+ * <p/>
+ * When shared transport is enabled (see {@link Configuration#PROP_JGROUPS_SHARED_TRANSPORT}),
+ * the transport protocol of every channel is given the same <code>singleton_name</code>. JGroups
+ * will then multiplex all the channels in the JVM over a single transport, sharing the sockets,
+ * timer and thread pools rather than creating a set for each federation. A JGroups transport
+ * can only carry one channel for any given cluster name, so if a second connection in the same
+ * JVM wants a channel for a federation that is already using the shared transport, it is given
+ * a private transport instead.
+ */
+public class StackFactory
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final Logger logger = Logger.getLogger( "portico.lrc.jgroups" );
+
+	/** The transport name that all channels using the shared transport are given */
+	public static final String SHARED_TRANSPORT_NAME = "portico-shared";
+
+	/** Parsed stack configurations, keyed by location and loaded lazily on first use */
+	private static Map<String,List<ProtocolConfiguration>> stacks =
+		new HashMap<String,List<ProtocolConfiguration>>();
+
+	/** Names of the clusters currently carried by the shared transport */
+	private static Set<String> sharedClusters = new HashSet<String>();
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private StackFactory()
+	{
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Create a new, unconnected channel that will be used to talk to the given cluster. If shared
+	 * transport is enabled and there is no other channel for the cluster using it, the channel
+	 * will be configured to use the shared transport. When the channel is closed, the caller
+	 * should do so through {@link #closeChannel(String, JChannel)}.
+	 */
+	public static synchronized JChannel createChannel( String clusterName ) throws Exception
+	{
+		List<ProtocolConfiguration> stack = getStack( Configuration.getStackLocation() );
+
+		// give the channel its own copy of the configuration so nothing is shared by accident
+		boolean shared = Configuration.useSharedTransport() &&
+		                 sharedClusters.contains(clusterName) == false;
+		List<ProtocolConfiguration> copy = new ArrayList<ProtocolConfiguration>();
+		for( ProtocolConfiguration protocol : stack )
+		{
+			HashMap<String,String> properties =
+				new HashMap<String,String>( protocol.getProperties() );
+			copy.add( new ProtocolConfiguration(protocol.getProtocolName(),properties) );
+		}
+
+		// the transport is always the first protocol in the stack
+		if( shared )
+		{
+			copy.get(0).getProperties().put( "singleton_name", SHARED_TRANSPORT_NAME );
+			sharedClusters.add( clusterName );
+			logger.debug( "Channel for ["+clusterName+"] will use the shared transport" );
+		}
+
+		return new JChannel( new Configurator(copy) );
+	}
+
+	/**
+	 * Fetch the parsed configuration for the stack at the given location, parsing it if this is
+	 * the first time it has been asked for. If the configuration can't be found or parsed, a
+	 * {@link JConfigurationException} is thrown.
+	 */
+	static List<ProtocolConfiguration> getStack( String location )
+		throws JConfigurationException
+	{
+		List<ProtocolConfiguration> stack = stacks.get( location );
+		if( stack != null )
+			return stack;
+		
+		try
+		{
+			ProtocolStackConfigurator configurator =
+				ConfiguratorFactory.getStackConfigurator( location );
+			stack = configurator.getProtocolStack();
+		}
+		catch( Exception e )
+		{
+			throw new JConfigurationException( "Could not load JGroups stack ["+location+"]: "+
+			                                   e.getMessage(), e );
+		}
+		
+		logger.debug( "Loaded JGroups stack configuration from ["+location+"]" );
+		stacks.put( location, stack );
+		return stack;
+	}
+
+	/**
+	 * Disconnect and close the given channel. If it was using the shared transport, another
+	 * channel for the same cluster may now be created on it. The shared transport itself is
+	 * only torn down by JGroups once the last channel using it has been closed.
+	 */
+	public static synchronized void closeChannel( String clusterName, JChannel channel )
+	{
+		boolean shared = channel.getProtocolStack().getTransport().isSingleton();
+		channel.disconnect();
+		channel.close();
+		if( shared )
+			sharedClusters.remove( clusterName );
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////
+	////// Private Class: Configurator   /////////////////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////
+	private static class Configurator implements ProtocolStackConfigurator
+	{
+		private List<ProtocolConfiguration> protocols;
+		public Configurator( List<ProtocolConfiguration> protocols )
+		{
+			this.protocols = protocols;
+		}
+
+		public List<ProtocolConfiguration> getProtocolStack()
+		{
+			return this.protocols;
+		}
+
+		public String getProtocolStackString()
+		{
+			StringBuilder builder = new StringBuilder();
+			for( ProtocolConfiguration protocol : protocols )
+			{
+				if( builder.length() > 0 )
+					builder.append( ":" );
+				builder.append( protocol.getProtocolString() );
+			}
+			
+			return builder.toString();
+		}
+	}
+}
@@ -29,6 +29,7 @@ import org.jgroups.Message;
 import org.jgroups.Message.Flag;
 import org.portico.bindings.jgroups.Configuration;
 import org.portico.bindings.jgroups.Federation;
+import org.portico.bindings.jgroups.LanBundler;
 import org.portico.bindings.jgroups.channel.ControlHeader;
 import org.portico.bindings.jgroups.channel.UUIDHeader;
 import org.portico.bindings.jgroups.wan.global.Header;
@@ -270,6 +271,13 @@ public class Gateway
 		{
 			relay( Header.RELAY, null, message.getBuffer() );
 		}
+		else if( header.getMessageType() == ControlHeader.BUNDLE )
+		{
+			// a LAN bundle - relay the messages in it individually, our own bundler
+			// will group them up for the trip over the WAN
+			for( byte[] payload : LanBundler.split(message.getBuffer()) )
+				relay( Header.RELAY, null, payload );
+		}
 		else
 		{
 			// Make sure we're connected first. On resign we will immediately disconnect
@@ -300,6 +308,7 @@ public class Gateway
 			case ControlHeader.RESIGN_FEDERATION:  return Header.RESIGN_FEDERATION;
 			case ControlHeader.DESTROY_FEDERATION: return Header.DESTROY_FEDERATION;
 			case ControlHeader.GOODBYE:            return -1; // don't log, but don't process
+			case ControlHeader.BUNDLE:             return -1; // split in forwardToGateway()
 			default:                               // drop through
 		}
 
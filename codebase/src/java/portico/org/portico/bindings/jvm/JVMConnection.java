@@ -23,7 +23,7 @@ import java.util.concurrent.locks.ReentrantLock;
 import org.apache.log4j.Logger;
 import org.portico.bindings.ConnectedRoster;
 import org.portico.bindings.IConnection;
-import org.portico.bindings.jgroups.Roster;
+import org.portico.bindings.Roster;
 import org.portico.lrc.LRC;
 import org.portico.lrc.PorticoConstants;
 import org.portico.lrc.compat.JConfigurationException;
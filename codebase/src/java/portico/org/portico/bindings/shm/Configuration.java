@@ -0,0 +1,144 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.shm;
+
+import java.io.File;
+
+import org.portico.lrc.compat.JConfigurationException;
+
+/**
+ * All configuration information for the shared memory binding is stored in system properties.
+ * This class provides statics that can be used to identify the specific keys, along with helpers
+ * that will parse and validate their values.
+ */
+public class Configuration
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	///// configuration system properties ////////////////////////////////////////////////////
+	/** The directory that the federation files are mapped from. All federates that want to
+	    talk to one another must point at the same directory. Ideally this is a tmpfs mount */
+	public static final String PROP_SHM_DIRECTORY = "portico.shm.directory";
+
+	/** Size of the broadcast ring buffer that is created with each federation */
+	public static final String PROP_SHM_RING_SIZE = "portico.shm.ringsize";
+
+	/** Size of the region reserved in the federation file to store the FOM */
+	public static final String PROP_SHM_FOM_SIZE = "portico.shm.fomsize";
+
+	/** Number of nanoseconds the receiver will spin before it starts parking between polls */
+	public static final String PROP_SHM_SPIN_TIME = "portico.shm.spintime";
+
+	/** Number of microseconds the receiver will park for once it has stopped spinning */
+	public static final String PROP_SHM_PARK_TIME = "portico.shm.parktime";
+
+	/** Number of milliseconds a sender will wait for space in the ring before giving up */
+	public static final String PROP_SHM_SEND_TIMEOUT = "portico.shm.sendtimeout";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return The directory that federation files should be stored in. Defaults to a directory
+	 *         called "portico-shm" inside the system temp directory.
+	 */
+	public static File getDirectory()
+	{
+		String defaultDirectory = System.getProperty("java.io.tmpdir")+File.separator+"portico-shm";
+		return new File( System.getProperty(PROP_SHM_DIRECTORY,defaultDirectory) );
+	}
+
+	/**
+	 * @return The size (in bytes) of the broadcast ring created with each federation.
+	 *         Defaults to 8MB.
+	 */
+	public static int getRingSize()
+	{
+		return parseSize( PROP_SHM_RING_SIZE, "8m" );
+	}
+
+	/**
+	 * @return The size (in bytes) of the region reserved to hold the federation FOM.
+	 *         Defaults to 2MB.
+	 */
+	public static int getFomSize()
+	{
+		return parseSize( PROP_SHM_FOM_SIZE, "2m" );
+	}
+
+	/**
+	 * @return The time (in nanos) the receiver should busy-spin looking for new messages
+	 *         before it starts to park between polls. Defaults to 50 microseconds.
+	 */
+	public static long getSpinTime()
+	{
+		return Long.parseLong( System.getProperty(PROP_SHM_SPIN_TIME,"50000") );
+	}
+
+	/**
+	 * @return The time (in nanos) that the receiver should park for between polls once it
+	 *         has stopped spinning. Property is in micros. Defaults to 100 microseconds.
+	 */
+	public static long getParkTime()
+	{
+		return Long.parseLong( System.getProperty(PROP_SHM_PARK_TIME,"100") ) * 1000;
+	}
+
+	/**
+	 * @return The time (in millis) a sender should wait for a slow receiver to free up space
+	 *         in the ring before throwing an exception. Defaults to 5000.
+	 */
+	public static long getSendTimeout()
+	{
+		return Long.parseLong( System.getProperty(PROP_SHM_SEND_TIMEOUT,"5000") );
+	}
+
+	/**
+	 * Parse the size stored in the given property. Values can be suffixed with "k" or "m"
+	 * to signal kilobytes or megabytes. No suffix (or "b") is taken to be bytes.
+	 */
+	private static int parseSize( String property, String defaultValue )
+	{
+		String value = System.getProperty( property, defaultValue ).trim().toLowerCase();
+		try
+		{
+			if( value.endsWith("k") )
+				return Integer.parseInt( value.substring(0,value.length()-1) ) * 1024;
+			else if( value.endsWith("m") )
+				return Integer.parseInt( value.substring(0,value.length()-1) ) * 1024 * 1024;
+			else if( value.endsWith("b") )
+				return Integer.parseInt( value.substring(0,value.length()-1) );
+			else
+				return Integer.parseInt( value );
+		}
+		catch( NumberFormatException e )
+		{
+			throw new JConfigurationException( "Could not parse size: "+property+"="+value );
+		}
+	}
+}
@@ -0,0 +1,811 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.shm;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.compat.JFederateAlreadyExecutionMember;
+import org.portico.lrc.compat.JFederatesCurrentlyJoined;
+import org.portico.lrc.compat.JFederationExecutionAlreadyExists;
+import org.portico.lrc.compat.JFederationExecutionDoesNotExist;
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.lrc.model.ModelMerger;
+import org.portico.lrc.model.ObjectModel;
+
+/**
+ * A {@link SharedFederation} represents a single federation that is held in a memory mapped file
+ * that all federates on the local host can access. The file is split into three regions:
+ * <ol>
+ *   <li><b>Control Region</b>: Federation name, state flags, the broadcast write cursor and a
+ *       table of federate slots. Each slot holds the handle, name and read cursor of a joined
+ *       federate. All modifications to this region are made while holding a file lock on it.</li>
+ *   <li><b>FOM Region</b>: The serialized {@link ObjectModel} for the federation. This is
+ *       extended in place as federates join with additional modules.</li>
+ *   <li><b>Ring Region</b>: A multi-producer/multi-consumer broadcast ring. Producers append
+ *       length-prefixed records under the control lock. Each consumer polls from its own cursor
+ *       without taking any lock, storing its progress back into its slot so that producers know
+ *       when space can be reclaimed.</li>
+ * </ol>
+ * 
+ * The ring is read by other processes, so Java's memory model can't be relied on to make a
+ * record visible. Instead, the length word at the front of each record is what publishes it:
+ * a producer writes the payload, clears the length word of the record that will follow it and
+ * only then writes its own length. Consumers read the length word first, and a zero length means
+ * nothing has been published there yet. The buffer accesses either side of a length word (or a
+ * read cursor) are kept apart by a fence: an atomic update of a local counter, which neither the
+ * compiler nor the processor may move any other memory access across.
+ * 
+ * Each connection gets its own instance (and mapping) of the file. Because file locks are held on
+ * behalf of the whole JVM, a second per-file lock is used to serialize access between instances
+ * that live in the same process.
+ * <p/>
+ * <b>NOTE:</b> Should a federate process die without resigning, its slot will remain and its
+ * stale cursor will eventually stop producers from making progress. If this happens, resign the
+ * remaining federates and remove the federation file from the shared directory.
+ */
+public class SharedFederation
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int MAGIC   = 0x50525449; // "PRTI"
+	private static final int VERSION = 1;
+
+	/** Maximum number of federates that can join a single shared memory federation */
+	public static final int MAX_FEDERATES = 62;
+
+	// control region layout
+	private static final int HEADER_SIZE          = 8192;
+	private static final int OFFSET_MAGIC         = 0;
+	private static final int OFFSET_VERSION       = 4;
+	private static final int OFFSET_ACTIVE        = 8;
+	private static final int OFFSET_NEXT_HANDLE   = 12;
+	private static final int OFFSET_WRITE_CURSOR  = 16;
+	private static final int OFFSET_RING_SIZE     = 24;
+	private static final int OFFSET_FOM_SIZE      = 28;
+	private static final int OFFSET_FOM_LENGTH    = 32;
+	private static final int OFFSET_NAME          = 64;  // int length + name bytes
+	private static final int MAX_NAME             = 124;
+	private static final int OFFSET_SLOTS         = 256;
+
+	// federate slot layout
+	private static final int SLOT_SIZE            = 128;
+	private static final int SLOT_HANDLE          = 0;   // 0 if slot is free
+	private static final int SLOT_CURSOR          = 8;
+	private static final int SLOT_NAME            = 16;  // int length + name bytes
+	private static final int MAX_SLOT_NAME        = 108;
+
+	/** Written in place of a record length when the remainder of the ring is skipped */
+	private static final int WRAP_MARKER = -1;
+
+	/** JVM-wide locks for each federation file, file locks don't cover threads in one process */
+	private static final Map<String,ReentrantLock> LOCKS = new HashMap<String,ReentrantLock>();
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private File file;
+	private RandomAccessFile randomAccessFile;
+	private FileChannel channel;
+	private MappedByteBuffer buffer;
+	private ReentrantLock jvmLock;
+	private FileLock fileLock;
+
+	private int ringBase;
+	private int ringSize;
+
+	// local membership information
+	private volatile int localSlot;
+	private long readCursor;
+	private ByteBuffer readView;
+
+	// only updated to order accesses to the mapping, see fence()
+	private AtomicInteger fence;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private SharedFederation( String name, File file ) throws JRTIinternalError
+	{
+		this.name = name;
+		this.file = file;
+		this.localSlot = -1;
+		this.readCursor = 0;
+		this.fence = new AtomicInteger( 0 );
+		try
+		{
+			this.randomAccessFile = new RandomAccessFile( file, "rw" );
+			this.channel = randomAccessFile.getChannel();
+		}
+		catch( Exception e )
+		{
+			throw new JRTIinternalError( "Could not open federation file: "+file, e );
+		}
+
+		synchronized( LOCKS )
+		{
+			String key = file.getAbsolutePath();
+			this.jvmLock = LOCKS.get( key );
+			if( jvmLock == null )
+			{
+				jvmLock = new ReentrantLock();
+				LOCKS.put( key, jvmLock );
+			}
+		}
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////// Control Region Management //////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	private void lockControl() throws JRTIinternalError
+	{
+		jvmLock.lock();
+		try
+		{
+			this.fileLock = channel.lock( 0, HEADER_SIZE, false );
+		}
+		catch( Exception e )
+		{
+			jvmLock.unlock();
+			throw new JRTIinternalError( "Could not lock federation file: "+file, e );
+		}
+	}
+
+	private void unlockControl()
+	{
+		try
+		{
+			if( fileLock != null )
+				fileLock.release();
+		}
+		catch( Exception e )
+		{
+			// nothing we can do about it now
+		}
+		finally
+		{
+			this.fileLock = null;
+			jvmLock.unlock();
+		}
+	}
+
+	/**
+	 * Map the full file into memory. If the <code>size</code> is larger than the existing file,
+	 * it will be extended first.
+	 */
+	private void map( long size ) throws Exception
+	{
+		if( randomAccessFile.length() < size )
+			randomAccessFile.setLength( size );
+
+		// native order, so that every process reads the words in the file the same way
+		this.buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+		this.buffer.order( ByteOrder.nativeOrder() );
+		this.ringBase = HEADER_SIZE + buffer.getInt( OFFSET_FOM_SIZE );
+		this.ringSize = buffer.getInt( OFFSET_RING_SIZE );
+		this.readView = buffer.duplicate();
+	}
+
+	private boolean isActive()
+	{
+		return buffer.getInt(OFFSET_MAGIC) == MAGIC &&
+		       buffer.getInt(OFFSET_VERSION) == VERSION &&
+		       buffer.getInt(OFFSET_ACTIVE) == 1;
+	}
+
+	/**
+	 * Initialize the control region for a brand new federation and write the FOM. Must be
+	 * called while holding the control lock.
+	 */
+	private void initialize( ObjectModel fom, int fomSize, int ringSize ) throws Exception
+	{
+		ByteBuffer view = buffer.duplicate();
+		for( int i = 0; i < HEADER_SIZE; i++ )
+			view.put( i, (byte)0 );
+
+		buffer.putInt( OFFSET_MAGIC, MAGIC );
+		buffer.putInt( OFFSET_VERSION, VERSION );
+		buffer.putInt( OFFSET_NEXT_HANDLE, 0 );
+		buffer.putLong( OFFSET_WRITE_CURSOR, 0 );
+		buffer.putInt( OFFSET_RING_SIZE, ringSize );
+		buffer.putInt( OFFSET_FOM_SIZE, fomSize );
+		putString( OFFSET_NAME, name, MAX_NAME );
+		this.ringBase = HEADER_SIZE + fomSize;
+		this.ringSize = ringSize;
+
+		writeFOM( fom );
+		// the file may be left over from an old federation, make sure the ring reads as empty
+		buffer.putInt( ringBase, 0 );
+		buffer.putInt( OFFSET_ACTIVE, 1 );
+		buffer.force();
+	}
+
+	private ObjectModel readFOM() throws Exception
+	{
+		byte[] data = new byte[buffer.getInt(OFFSET_FOM_LENGTH)];
+		ByteBuffer view = buffer.duplicate();
+		view.position( HEADER_SIZE );
+		view.get( data );
+		
+		ObjectInputStream ois = new ObjectInputStream( new ByteArrayInputStream(data) );
+		return (ObjectModel)ois.readObject();
+	}
+
+	private void writeFOM( ObjectModel fom ) throws Exception
+	{
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream( baos );
+		oos.writeObject( fom );
+		oos.close();
+		byte[] data = baos.toByteArray();
+		
+		int fomSize = buffer.getInt( OFFSET_FOM_SIZE );
+		if( data.length > fomSize )
+		{
+			throw new JRTIinternalError( "Serialized FOM ("+data.length+"b) is larger than space "+
+			                             "reserved for it ("+fomSize+"b). Increase "+
+			                             Configuration.PROP_SHM_FOM_SIZE );
+		}
+
+		ByteBuffer view = buffer.duplicate();
+		view.position( HEADER_SIZE );
+		view.put( data );
+		buffer.putInt( OFFSET_FOM_LENGTH, data.length );
+	}
+
+	private void putString( int offset, String value, int maxLength ) throws JRTIinternalError
+	{
+		byte[] bytes = value.getBytes();
+		if( bytes.length > maxLength )
+			throw new JRTIinternalError( "Name too long for shared memory binding: "+value );
+		
+		buffer.putInt( offset, bytes.length );
+		ByteBuffer view = buffer.duplicate();
+		view.position( offset+4 );
+		view.put( bytes );
+	}
+
+	private String getString( int offset )
+	{
+		byte[] bytes = new byte[buffer.getInt(offset)];
+		ByteBuffer view = buffer.duplicate();
+		view.position( offset+4 );
+		view.get( bytes );
+		return new String( bytes );
+	}
+
+	private int slotOffset( int slot )
+	{
+		return OFFSET_SLOTS + (slot*SLOT_SIZE);
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////// Federation Lifecycle Methods ///////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Removes the federation. If there are still federates joined, an exception is thrown.
+	 */
+	public void destroy() throws JFederatesCurrentlyJoined, JRTIinternalError
+	{
+		lockControl();
+		try
+		{
+			for( int i = 0; i < MAX_FEDERATES; i++ )
+			{
+				if( buffer.getInt(slotOffset(i)+SLOT_HANDLE) != 0 )
+					throw new JFederatesCurrentlyJoined( "federates currently joined to: "+name );
+			}
+
+			buffer.putInt( OFFSET_ACTIVE, 0 );
+			buffer.force();
+		}
+		finally
+		{
+			unlockControl();
+		}
+		
+		close();
+		file.delete();
+	}
+
+	/**
+	 * Joins the federate with the given name to the federation, merging the provided modules into
+	 * the shared FOM. The local read cursor is placed at the current end of the ring, so only
+	 * messages sent from this point on will be received. Returns the handle for the federate.
+	 */
+	public int join( String federateName, List<ObjectModel> joinModules ) throws Exception
+	{
+		lockControl();
+		try
+		{
+			// make sure the name is unique and find ourselves a slot
+			int freeSlot = -1;
+			for( int i = 0; i < MAX_FEDERATES; i++ )
+			{
+				int offset = slotOffset( i );
+				if( buffer.getInt(offset+SLOT_HANDLE) == 0 )
+				{
+					if( freeSlot == -1 )
+						freeSlot = i;
+				}
+				else if( PorticoConstants.isUniqueFederateNamesRequired() &&
+				         getString(offset+SLOT_NAME).equals(federateName) )
+				{
+					throw new JFederateAlreadyExecutionMember( "federate with name already joined: "+
+					                                           federateName );
+				}
+			}
+			
+			if( freeSlot == -1 )
+			{
+				throw new JRTIinternalError( "Federation ["+name+"] is full: max of "+
+				                             MAX_FEDERATES+" federates in shared memory binding" );
+			}
+			
+			// merge in the join modules - dry run first so we don't mess up the stored model
+			if( joinModules != null && joinModules.isEmpty() == false )
+			{
+				ObjectModel fom = readFOM();
+				ModelMerger.mergeDryRun( fom, joinModules );
+				writeFOM( ModelMerger.merge(fom,joinModules) );
+			}
+
+			// claim the slot
+			int federateHandle = buffer.getInt( OFFSET_NEXT_HANDLE ) + 1;
+			buffer.putInt( OFFSET_NEXT_HANDLE, federateHandle );
+
+			int offset = slotOffset( freeSlot );
+			this.readCursor = buffer.getLong( OFFSET_WRITE_CURSOR );
+			this.localSlot = freeSlot;
+			putString( offset+SLOT_NAME, federateName, MAX_SLOT_NAME );
+			buffer.putLong( offset+SLOT_CURSOR, readCursor );
+			buffer.putInt( offset+SLOT_HANDLE, federateHandle );
+			return federateHandle;
+		}
+		finally
+		{
+			unlockControl();
+		}
+	}
+	
+	/**
+	 * Release the slot held by the local federate. After this, producers will no longer wait on
+	 * the local federate to consume messages.
+	 */
+	public void resign() throws JRTIinternalError
+	{
+		if( localSlot == -1 )
+			return;
+
+		lockControl();
+		try
+		{
+			buffer.putInt( slotOffset(localSlot)+SLOT_HANDLE, 0 );
+			this.localSlot = -1;
+		}
+		finally
+		{
+			unlockControl();
+		}
+	}
+	
+	/**
+	 * Release the mapping and any file handles. The federation itself is unaffected.
+	 */
+	public void close()
+	{
+		try
+		{
+			channel.close();
+			randomAccessFile.close();
+		}
+		catch( Exception e )
+		{
+			// ignore, we're on the way out anyway
+		}
+	}
+
+	public Set<Integer> getFederateHandles() throws JRTIinternalError
+	{
+		Set<Integer> handles = new HashSet<Integer>();
+		lockControl();
+		try
+		{
+			for( int i = 0; i < MAX_FEDERATES; i++ )
+			{
+				int handle = buffer.getInt( slotOffset(i)+SLOT_HANDLE );
+				if( handle != 0 )
+					handles.add( handle );
+			}
+		}
+		finally
+		{
+			unlockControl();
+		}
+		
+		return handles;
+	}
+
+	public ObjectModel getFOM() throws Exception
+	{
+		lockControl();
+		try
+		{
+			return readFOM();
+		}
+		finally
+		{
+			unlockControl();
+		}
+	}
+
+	public String getName()
+	{
+		return this.name;
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Ring Management ///////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Append the given payload to the broadcast ring. If there is not enough free space (because
+	 * some federates are slow to consume) this call will wait for up to the configured send
+	 * timeout before throwing an exception.
+	 */
+	public void write( byte[] payload ) throws JRTIinternalError
+	{
+		int recordSize = align( 4+payload.length );
+		if( payload.length == 0 )
+			throw new JRTIinternalError( "Can't write an empty message to the shared memory ring" );
+		if( recordSize > ringSize/2 )
+		{
+			throw new JRTIinternalError( "Message of "+payload.length+"b is too large for ring of "+
+			                             ringSize+"b. Increase "+Configuration.PROP_SHM_RING_SIZE );
+		}
+
+		lockControl();
+		try
+		{
+			long cursor = buffer.getLong( OFFSET_WRITE_CURSOR );
+			int offset = (int)(cursor % ringSize);
+			
+			// if the record won't fit in what remains of the ring, we skip to the start
+			int required = recordSize;
+			boolean wrap = (offset+recordSize) > ringSize;
+			if( wrap )
+				required += ringSize - offset;
+			
+			// we also clear the length word of the record after ours, so need space for it
+			waitForSpace( cursor+required+8 );
+
+			int start = wrap ? 0 : offset;
+			ByteBuffer view = buffer.duplicate();
+			view.position( ringBase+start+4 );
+			view.put( payload );
+			putOrderedInt( (start+recordSize) % ringSize, 0 );
+
+			// publish the record, and if we wrapped, point readers at it only once it is there
+			putOrderedInt( start, payload.length );
+			if( wrap )
+				putOrderedInt( offset, WRAP_MARKER );
+
+			buffer.putLong( OFFSET_WRITE_CURSOR, cursor+required );
+		}
+		finally
+		{
+			unlockControl();
+		}
+	}
+
+	/**
+	 * Waits until every joined federate has consumed enough of the ring that the write cursor
+	 * can be moved up to the given value without overwriting unread data.
+	 */
+	private void waitForSpace( long targetCursor ) throws JRTIinternalError
+	{
+		long deadline = System.nanoTime() + (Configuration.getSendTimeout()*1000000);
+		while( targetCursor - slowestReader() > ringSize )
+		{
+			if( System.nanoTime() > deadline )
+			{
+				throw new JRTIinternalError( "Timed out waiting for space in shared memory ring "+
+				                             "for ["+name+"]: federate not consuming messages?" );
+			}
+
+			LockSupport.parkNanos( 1000 );
+		}
+	}
+
+	private long slowestReader()
+	{
+		long slowest = Long.MAX_VALUE;
+		for( int i = 0; i < MAX_FEDERATES; i++ )
+		{
+			int offset = slotOffset( i );
+			if( buffer.getInt(offset+SLOT_HANDLE) == 0 )
+				continue;
+			
+			fence();
+			slowest = Math.min( slowest, buffer.getLong(offset+SLOT_CURSOR) );
+		}
+		
+		return slowest;
+	}
+
+	/**
+	 * Fetch the next record from the ring for the local federate. If there are no records
+	 * waiting, or the local federate has resigned, <code>null</code> is returned. This method
+	 * takes no locks, but it is not thread safe and must only be called from a single reader
+	 * thread.
+	 */
+	public byte[] read()
+	{
+		int slot = localSlot;
+		if( slot == -1 )
+			return null;
+
+		int offset = (int)(readCursor % ringSize);
+		int length = getVolatileInt( offset );
+		if( length == WRAP_MARKER )
+		{
+			// the marker is only written once the record at the start is published
+			readCursor += ringSize - offset;
+			offset = 0;
+			length = getVolatileInt( 0 );
+		}
+
+		if( length == 0 )
+			return null;
+
+		byte[] payload = new byte[length];
+		readView.position( ringBase+offset+4 );
+		readView.get( payload );
+		
+		// let the producers know we're done with this space
+		readCursor += align( 4+length );
+		fence();
+		buffer.putLong( slotOffset(slot)+SLOT_CURSOR, readCursor );
+		return payload;
+	}
+	
+	/**
+	 * @return <code>true</code> if there are messages in the ring the local federate has not
+	 *         yet read. Once the local federate has resigned, this is always <code>false</code>.
+	 */
+	public boolean hasPending()
+	{
+		return localSlot != -1 && getVolatileInt( (int)(readCursor % ringSize) ) != 0;
+	}
+
+	/**
+	 * @return The position in the ring that the local federate has read up to
+	 */
+	public long getReadCursor()
+	{
+		return this.readCursor;
+	}
+
+	/**
+	 * @return The position in the ring that producers have written up to. Readers may not see
+	 *         the records right up to this point until they are published.
+	 */
+	public long getWriteCursor()
+	{
+		fence();
+		return buffer.getLong( OFFSET_WRITE_CURSOR );
+	}
+
+	/**
+	 * Store the given value at the given offset into the ring, making sure that all stores
+	 * before it are visible first.
+	 */
+	private void putOrderedInt( int ringOffset, int value )
+	{
+		fence();
+		buffer.putInt( ringBase+ringOffset, value );
+	}
+
+	/**
+	 * Load the int at the given offset into the ring, making sure that no loads after it can
+	 * see values older than it.
+	 */
+	private int getVolatileInt( int ringOffset )
+	{
+		int value = buffer.getInt( ringBase+ringOffset );
+		fence();
+		return value;
+	}
+
+	/**
+	 * Keep the accesses to the mapping on either side of this call in order. The atomic update
+	 * both loads and stores a volatile value, so nothing before it can be moved after it and
+	 * nothing after it can be moved before it.
+	 */
+	private void fence()
+	{
+		fence.incrementAndGet();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	private static int align( int size )
+	{
+		return (size+7) & ~7;
+	}
+
+	/**
+	 * Find the file for the named federation. Characters that aren't safe in a file name are
+	 * replaced. The real name is stored in the control region.
+	 */
+	private static File fileFor( String federationName )
+	{
+		String safe = federationName.replaceAll( "[^A-Za-z0-9._-]", "_" );
+		return new File( Configuration.getDirectory(), safe+".fed" );
+	}
+	
+	/**
+	 * Create a new federation with the given name and FOM. The file for the federation will be
+	 * created if it doesn't exist. If the file exists and contains an active federation, an
+	 * exception is thrown.
+	 */
+	public static SharedFederation create( String federationName, ObjectModel fom )
+		throws JFederationExecutionAlreadyExists, JRTIinternalError
+	{
+		File directory = Configuration.getDirectory();
+		if( directory.exists() == false && directory.mkdirs() == false )
+			throw new JRTIinternalError( "Could not create shared memory directory: "+directory );
+
+		int fomSize = align( Configuration.getFomSize() );
+		int ringSize = align( Configuration.getRingSize() );
+		SharedFederation federation = new SharedFederation( federationName, fileFor(federationName) );
+		federation.lockControl();
+		try
+		{
+			federation.map( HEADER_SIZE+fomSize+ringSize );
+			if( federation.isActive() )
+				throw new JFederationExecutionAlreadyExists( federationName );
+			
+			federation.initialize( fom, fomSize, ringSize );
+			return federation;
+		}
+		catch( JFederationExecutionAlreadyExists e )
+		{
+			federation.close();
+			throw e;
+		}
+		catch( JRTIinternalError e )
+		{
+			federation.close();
+			throw e;
+		}
+		catch( Exception e )
+		{
+			federation.close();
+			throw new JRTIinternalError( "Could not create shared federation: "+federationName, e );
+		}
+		finally
+		{
+			federation.unlockControl();
+		}
+	}
+	
+	/**
+	 * Open an existing federation. If there is no active federation with the given name, an
+	 * exception will be thrown.
+	 */
+	public static SharedFederation open( String federationName )
+		throws JFederationExecutionDoesNotExist, JRTIinternalError
+	{
+		File file = fileFor( federationName );
+		if( file.exists() == false || file.length() < HEADER_SIZE )
+			throw new JFederationExecutionDoesNotExist( "federation doesn't exist: "+federationName );
+		
+		SharedFederation federation = new SharedFederation( federationName, file );
+		federation.lockControl();
+		try
+		{
+			federation.map( file.length() );
+			if( federation.isActive() == false ||
+				federation.getString(OFFSET_NAME).equals(federationName) == false )
+			{
+				federation.close();
+				throw new JFederationExecutionDoesNotExist( "federation doesn't exist: "+
+				                                            federationName );
+			}
+			
+			return federation;
+		}
+		catch( JFederationExecutionDoesNotExist e )
+		{
+			throw e;
+		}
+		catch( Exception e )
+		{
+			federation.close();
+			throw new JRTIinternalError( "Could not open shared federation: "+federationName, e );
+		}
+		finally
+		{
+			federation.unlockControl();
+		}
+	}
+	
+	/**
+	 * Look through the shared directory and return the names of all active federations.
+	 */
+	public static String[] listActive() throws JRTIinternalError
+	{
+		File[] files = Configuration.getDirectory().listFiles( new FileFilter()
+		{
+			public boolean accept( File pathname )
+			{
+				return pathname.getName().endsWith( ".fed" );
+			}
+		});
+		
+		List<String> names = new ArrayList<String>();
+		if( files == null )
+			return new String[0];
+
+		for( File file : files )
+		{
+			SharedFederation federation = new SharedFederation( file.getName(), file );
+			federation.lockControl();
+			try
+			{
+				federation.map( file.length() );
+				if( federation.isActive() )
+					names.add( federation.getString(OFFSET_NAME) );
+			}
+			catch( Exception e )
+			{
+				// not a federation file we understand, skip it
+			}
+			finally
+			{
+				federation.unlockControl();
+				federation.close();
+			}
+		}
+		
+		return names.toArray( new String[0] );
+	}
+}
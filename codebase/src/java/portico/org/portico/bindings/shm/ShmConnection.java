@@ -0,0 +1,290 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.shm;
+
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Logger;
+import org.portico.bindings.ConnectedRoster;
+import org.portico.bindings.IConnection;
+import org.portico.bindings.Roster;
+import org.portico.lrc.LRC;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.compat.JConfigurationException;
+import org.portico.lrc.compat.JFederateNotExecutionMember;
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.lrc.services.federation.msg.CreateFederation;
+import org.portico.lrc.services.federation.msg.DestroyFederation;
+import org.portico.lrc.services.federation.msg.JoinFederation;
+import org.portico.lrc.services.federation.msg.ResignFederation;
+import org.portico.lrc.utils.MessageHelpers;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * The {@link ShmConnection} allows federates that are running in separate processes on the same
+ * host to communicate through memory mapped files rather than the network stack. Each federation
+ * is represented by a single file in a shared directory (see {@link SharedFederation}) that holds
+ * a control region used to coordinate create/join/resign/destroy, along with a broadcast ring.
+ * <p/>
+ * Outgoing messages are serialized and appended to the ring directly from the calling thread.
+ * Each connection runs a receiver thread that polls its own read cursor, spinning briefly after
+ * each message before falling back to short parks so that idle federates don't burn a core.
+ * <p/>
+ * All federates that want to talk to one another need to point at the same directory (see
+ * {@link Configuration#PROP_SHM_DIRECTORY}). Mixing bindings within a federation isn't supported.
+ */
+public class ShmConnection implements IConnection
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	/** The period of time (millis) to sleep for after a broadcastAndSleep() */
+	public static final long CONNECTION_TIMEOUT = 100;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private LRC lrc;
+	private Logger logger;
+	private SharedFederation federation;
+	private int localHandle;
+	private Receiver receiver;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ShmConnection()
+	{
+		this.localHandle = PorticoConstants.NULL_HANDLE;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// lifecycle methods //////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	public void configure( LRC lrc, Map<String,Object> properties )
+		throws JConfigurationException
+	{
+		this.lrc = lrc;
+		this.logger = Logger.getLogger( "portico.lrc.shm" );
+	}
+
+	public void connect() throws JRTIinternalError
+	{
+		logger.debug( "Shared memory binding using directory: "+Configuration.getDirectory() );
+	}
+
+	public void disconnect() throws JRTIinternalError
+	{
+		if( this.federation != null )
+		{
+			stopReceiver();
+			this.federation.resign();
+			this.federation.close();
+			this.federation = null;
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// message sending methods ///////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Serializes the message and appends it to the broadcast ring of the joined federation.
+	 */
+	public void broadcast( PorticoMessage message ) throws Exception
+	{
+		validateConnected();
+		federation.write( MessageHelpers.deflate(message) );
+	}
+
+	/**
+	 * Same as {@link #broadcast(PorticoMessage)} except that it will sleep for
+	 * {@link #CONNECTION_TIMEOUT} milliseconds after the message has been sent.
+	 */
+	public void broadcastAndSleep( PorticoMessage message ) throws Exception
+	{
+		broadcast( message );
+		PorticoConstants.sleep( CONNECTION_TIMEOUT );
+	}
+
+	private void validateConnected() throws JFederateNotExecutionMember
+	{
+		if( this.federation == null )
+			throw new JFederateNotExecutionMember( "not joined to a federation" );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// bootstrapping methods ////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	public void createFederation( CreateFederation createMessage ) throws Exception
+	{
+		String name = createMessage.getFederationName();
+		SharedFederation.create( name, createMessage.getModel() ).close();
+		logger.debug( "Created new federation ["+name+"]" );
+	}
+
+	public void destroyFederation( DestroyFederation destroyMessage ) throws Exception
+	{
+		String name = destroyMessage.getFederationName();
+		SharedFederation.open( name ).destroy();
+		logger.debug( "Destroyed federation ["+name+"]" );
+	}
+
+	public synchronized ConnectedRoster joinFederation( JoinFederation joinMessage )
+		throws Exception
+	{
+		String federationName = joinMessage.getFederationName();
+		String federateName = joinMessage.getFederateName();
+		SharedFederation joining = SharedFederation.open( federationName );
+		try
+		{
+			logger.debug( "Merge ["+joinMessage.getJoinModules().size()+
+			              "] modules into existing FOM" );
+			this.localHandle = joining.join( federateName, joinMessage.getJoinModules() );
+		}
+		catch( Exception e )
+		{
+			joining.close();
+			throw e;
+		}
+
+		this.federation = joining;
+		this.receiver = new Receiver();
+		this.receiver.start();
+
+		logger.debug( "Joined federate ["+federateName+"] to federation ["+federationName+"]" );
+		return new Roster( localHandle, federation.getFederateHandles(), federation.getFOM() );
+	}
+
+	public synchronized void resignFederation( ResignFederation resignMessage ) throws Exception
+	{
+		validateConnected();
+		
+		// let everyone know we're on the way out, then drain what is left for us and leave
+		broadcast( resignMessage );
+		stopReceiver();
+		federation.resign();
+		federation.close();
+		this.federation = null;
+		this.localHandle = PorticoConstants.NULL_HANDLE;
+		logger.debug( "Resigned federate ["+resignMessage.getFederateName()+
+		              "] from federation ["+resignMessage.getFederationName()+"]" );
+	}
+
+	public String[] listActiveFederations() throws Exception
+	{
+		return SharedFederation.listActive();
+	}
+
+	private void stopReceiver()
+	{
+		if( this.receiver == null )
+			return;
+
+		try
+		{
+			receiver.running = false;
+			LockSupport.unpark( receiver );
+			receiver.join( 2000 );
+		}
+		catch( InterruptedException ie )
+		{
+			logger.warn( "Shared memory receiver thread did not shut down cleanly (2 sec wait)" );
+		}
+		
+		this.receiver = null;
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////
+	////// Private Class: Receiver   /////////////////////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Polls the ring for new messages and hands them to the LRC. Once asked to stop, it will
+	 * drain anything that had been written by then before exiting, but it won't keep chasing
+	 * messages that other federates continue to send.
+	 */
+	private class Receiver extends Thread
+	{
+		private volatile boolean running;
+		private long spinTime;
+		private long parkTime;
+		
+		public Receiver()
+		{
+			super( "shm-receiver["+federation.getName()+"]" );
+			this.setDaemon( true );
+			this.running = true;
+			this.spinTime = Configuration.getSpinTime();
+			this.parkTime = Configuration.getParkTime();
+		}
+		
+		public void run()
+		{
+			long lastMessage = System.nanoTime();
+			while( running )
+			{
+				byte[] payload = federation.read();
+				if( payload == null )
+				{
+					// nothing there - spin for a little while, then start backing off
+					if( System.nanoTime()-lastMessage > spinTime )
+						LockSupport.parkNanos( parkTime );
+
+					continue;
+				}
+
+				lastMessage = System.nanoTime();
+				deliver( payload );
+			}
+
+			// drain what was written before we were stopped. a null read means we've either
+			// caught up or the federate has already resigned, either way we're done
+			long drainTo = federation.getWriteCursor();
+			while( federation.getReadCursor() < drainTo )
+			{
+				byte[] payload = federation.read();
+				if( payload == null )
+					break;
+				
+				deliver( payload );
+			}
+		}
+
+		private void deliver( byte[] payload )
+		{
+			try
+			{
+				// null means the LRC isn't interested in this message
+				PorticoMessage message = MessageHelpers.inflate( payload,
+				                                                 PorticoMessage.class,
+				                                                 lrc );
+				if( message != null )
+					lrc.getState().getQueue().offer( message );
+			}
+			catch( Exception e )
+			{
+				logger.error( "Error receiving message from shared memory ring: "+
+				              e.getMessage(), e );
+			}
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
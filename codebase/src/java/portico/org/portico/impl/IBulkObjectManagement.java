@@ -0,0 +1,65 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl;
+
+/**
+ * Portico extension for registering and deleting large numbers of object instances at once.
+ * Each call is handled as a single request by the LRC and produces a single message on the
+ * network, no matter how many objects it covers. Remote federates still get a separate
+ * discover or remove callback for each object, exactly as if the objects had been registered
+ * or deleted one at a time.
+ * <p/>
+ * The interface is implemented by the HLA 1.3 and IEEE 1516e ambassadors. As the handle and
+ * exception types differ between the specifications, they are given as type parameters:
+ * <ul>
+ *   <li><b>1.3</b>: <code>IBulkObjectManagement&lt;Integer,int[],RTIexception&gt;</code></li>
+ *   <li><b>1516e</b>: <code>IBulkObjectManagement&lt;ObjectClassHandle,ObjectInstanceHandle[],
+ *       RTIexception&gt;</code></li>
+ * </ul>
+ * To use it, cast the ambassador: <code>((IBulkObjectManagement&lt;...&gt;)rtiamb)</code>.
+ * 
+ * @param <C> The type used to identify an object class
+ * @param <H> The type used to hold a group of object instance handles
+ * @param <E> The base exception type of the specification
+ */
+public interface IBulkObjectManagement<C,H,E extends Exception>
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Register <code>count</code> new instances of the given class, each with an RTI generated
+	 * name. The handles of the new objects are returned in the order they were registered.
+	 */
+	public H registerObjectInstances( C theClass, int count ) throws E;
+
+	/**
+	 * Register one new instance of the given class for each of the given names. The returned
+	 * handles are in the same order as the names. Any names that haven't already been reserved
+	 * by the federate are reserved together as part of the call. If any name is unavailable, no
+	 * objects are registered.
+	 */
+	public H registerObjectInstances( C theClass, String[] theNames ) throws E;
+
+	/**
+	 * Delete all the given objects (receive order). The federate must hold the delete privilege
+	 * for every one of them, otherwise none are deleted.
+	 */
+	public void deleteObjectInstances( H theObjects, byte[] tag ) throws E;
+}
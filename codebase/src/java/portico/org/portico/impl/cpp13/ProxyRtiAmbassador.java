@@ -19,6 +19,8 @@ import static org.portico.lrc.PorticoConstants.*;
 import java.io.File;
 import java.io.FileInputStream;
 import java.lang.String;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.Properties;
 
 import org.apache.log4j.Logger;
@@ -29,6 +31,8 @@ import org.portico.impl.hla13.types.HLA13AttributeHandleSet;
 import org.portico.impl.hla13.types.HLA13FederateHandleSet;
 import org.portico.impl.hla13.types.HLA13SuppliedAttributes;
 import org.portico.impl.hla13.types.HLA13SuppliedParameters;
+import org.portico.lrc.LRC;
+import org.portico.lrc.utils.MessageHelpers;
 
 import hla.rti.CouldNotOpenFED;
 import hla.rti.EventRetractionHandle;
@@ -55,6 +59,7 @@ public class ProxyRtiAmbassador
 	private ProxyFederateAmbassador fedamb;
 	private int id; // an id that represents the C++ JavaRTI object
 	private Logger logger;
+	private ByteBuffer packedBuffer; // native memory the C++ side packs update values into
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -100,6 +105,34 @@ public class ProxyRtiAmbassador
 			return given;
 	}
 
+	/**
+	 * Called from C++ to hand over the direct buffer that it packs handle/value pairs into for
+	 * updates and interactions. The buffer wraps memory owned by the C++ side. It is handed over
+	 * once when that side is created, and again whenever it has to grow the buffer.
+	 */
+	public void setPackedBuffer( ByteBuffer buffer )
+	{
+		this.packedBuffer = buffer.order( ByteOrder.nativeOrder() );
+	}
+
+	/**
+	 * Returns the packed buffer with its limit set to the given length, the amount of it that
+	 * the C++ side filled for the current call
+	 */
+	private ByteBuffer packedValues( int length )
+	{
+		this.packedBuffer.limit( length );
+		return this.packedBuffer;
+	}
+
+	/**
+	 * The LRC behind the ambassador, whose message pools packed values are decoded into
+	 */
+	private LRC lrc()
+	{
+		return this.rtiamb.getHelper().getLrc();
+	}
+
 	/**
 	 * Converts the form that parameter values are sent over from C++ in into the form
 	 * expected by the java side of the bindings.
@@ -698,6 +731,45 @@ public class ProxyRtiAmbassador
 		return -1;
 	}
 
+	public void updateAttributeValuesPacked( int theObject, int length )
+	{
+		// log the request
+		if( logger.isTraceEnabled() )
+			logger.trace( "[Request] updateAttributeValues(RO,packed): objectId=" + theObject );
+
+		try
+		{
+			this.rtiamb.updateAttributeValues(
+			    MessageHelpers.unpackUpdate(packedValues(length),theObject,lrc()) );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+	}
+
+	public int updateAttributeValuesPacked( int theObject, int length, double time )
+	{
+		// log the request
+		if( logger.isTraceEnabled() )
+		{
+			logger.trace( "[Request] updateAttributeValues(TSO,packed): objectId=" + theObject +
+			              ", time=" + time );
+		}
+
+		try
+		{
+			this.rtiamb.updateAttributeValues(
+			    MessageHelpers.unpackUpdate(packedValues(length),theObject,lrc()), time );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+
+		return -1;
+	}
+
 	public void sendInteraction( int theInteraction, int[] handles, byte[][] values, byte[] tag )
 	{
 		// log the request
@@ -746,6 +818,46 @@ public class ProxyRtiAmbassador
 		return -1;
 	}
 
+	public void sendInteractionPacked( int theInteraction, int length )
+	{
+		// log the request
+		if( logger.isTraceEnabled() )
+			logger.trace( "[Request] sendInteraction(RO,packed): class=" + theInteraction );
+
+		try
+		{
+			this.rtiamb.sendInteraction(
+			    MessageHelpers.unpackInteraction(packedValues(length),theInteraction,lrc()) );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+	}
+
+	public int sendInteractionPacked( int theInteraction, int length, double time )
+	{
+		// log the request
+		if( logger.isTraceEnabled() )
+		{
+			logger.trace( "[Request] sendInteraction(TSO,packed): class=" + theInteraction +
+			              ", time=" + time );
+		}
+
+		try
+		{
+			this.rtiamb.sendInteraction(
+			    MessageHelpers.unpackInteraction(packedValues(length),theInteraction,lrc()),
+			    time );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+
+		return -1;
+	}
+
 	public void deleteObjectInstance( int objectHandle, byte[] tag )
 	{
 		// log the request
@@ -0,0 +1,316 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.cpp1516e;
+
+import static org.portico.impl.hla1516e.types.HLA1516eHandle.fromHandle;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Map;
+
+import hla.rti1516e.AttributeHandle;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.FederateHandle;
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.LogicalTime;
+import hla.rti1516e.MessageRetractionHandle;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.OrderType;
+import hla.rti1516e.ParameterHandle;
+import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RegionHandle;
+import hla.rti1516e.RegionHandleSet;
+import hla.rti1516e.TransportationTypeHandle;
+import hla.rti1516e.time.HLAfloat64Time;
+import hla.rti1516e.time.HLAinteger64Time;
+
+/**
+ * A set of reflection and interaction callbacks packed into a direct {@link ByteBuffer} so
+ * that they can be handed over to a C++ federate ambassador with a single JNI call (see
+ * {@link FederateAmbassadorLink#deliverBatch(int, ByteBuffer, int, int)}). The buffer is in
+ * native byte order so the C++ side can read it in place.
+ * <p/>
+ * Each callback is written as a record with the following layout (all values are 4-byte ints
+ * unless noted otherwise):
+ * <pre>
+ *   [type][handle][sentOrder][transport][flags]
+ *   [time (8 bytes)][receivedOrder]   -- only if FLAG_FLOAT_TIME or FLAG_INTEGER_TIME is set
+ *   [retractionHandle]                -- only if FLAG_RETRACTION is set
+ *   [producingFederate][regionCount]([region])*
+ *   [tagLength][tag bytes]            -- tagLength of -1 means there is no tag
+ *   [valueCount]([handle][length][value bytes])*
+ * </pre>
+ * The type is either {@link #TYPE_REFLECT} or {@link #TYPE_RECEIVE}. Orders and transports
+ * are encoded the same way they are for the individual {@link FederateAmbassadorLink} calls.
+ * A float time is written as the raw bits of the double, an integer time as the long itself.
+ * <p/>
+ * This class is not thread safe. It is only ever filled and flushed by the thread that is
+ * processing callbacks for the federate.
+ */
+public class CallbackBatch
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	public static final int TYPE_REFLECT = 1;
+	public static final int TYPE_RECEIVE = 2;
+
+	public static final int FLAG_FLOAT_TIME   = 0x01;
+	public static final int FLAG_INTEGER_TIME = 0x02;
+	public static final int FLAG_RETRACTION   = 0x04;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ByteBuffer buffer;
+	private int count;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CallbackBatch( int size )
+	{
+		this.buffer = ByteBuffer.allocateDirect( size ).order( ByteOrder.nativeOrder() );
+		this.count = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Pack a reflection into the batch. The time, received order and retraction handle can be
+	 * null if the callback didn't come with them.
+	 * 
+	 * @return true if the reflection was added, false if there isn't enough room left for it
+	 *         (in which case nothing is written)
+	 */
+	public boolean addReflect( ObjectInstanceHandle theObject,
+	                           AttributeHandleValueMap theAttributes,
+	                           byte[] tag,
+	                           OrderType sentOrdering,
+	                           TransportationTypeHandle theTransport,
+	                           LogicalTime theTime,
+	                           OrderType receivedOrdering,
+	                           MessageRetractionHandle retractionHandle,
+	                           FederateHandle producingFederate,
+	                           RegionHandleSet sentRegions )
+	{
+		int size = headerSize( theTime, retractionHandle, sentRegions, tag ) +
+		           valuesSize( theAttributes );
+		if( size > buffer.remaining() )
+			return false;
+
+		putHeader( TYPE_REFLECT,
+		           fromHandle(theObject),
+		           tag,
+		           sentOrdering,
+		           theTransport,
+		           theTime,
+		           receivedOrdering,
+		           retractionHandle,
+		           producingFederate,
+		           sentRegions );
+
+		buffer.putInt( theAttributes.size() );
+		for( Map.Entry<AttributeHandle,byte[]> entry : theAttributes.entrySet() )
+			putValue( fromHandle(entry.getKey()), entry.getValue() );
+
+		++count;
+		return true;
+	}
+
+	/**
+	 * Pack an interaction into the batch. The time, received order and retraction handle can
+	 * be null if the callback didn't come with them.
+	 * 
+	 * @return true if the interaction was added, false if there isn't enough room left for it
+	 *         (in which case nothing is written)
+	 */
+	public boolean addReceive( InteractionClassHandle interactionClass,
+	                           ParameterHandleValueMap theParameters,
+	                           byte[] tag,
+	                           OrderType sentOrdering,
+	                           TransportationTypeHandle theTransport,
+	                           LogicalTime theTime,
+	                           OrderType receivedOrdering,
+	                           MessageRetractionHandle retractionHandle,
+	                           FederateHandle producingFederate,
+	                           RegionHandleSet sentRegions )
+	{
+		int size = headerSize( theTime, retractionHandle, sentRegions, tag ) +
+		           valuesSize( theParameters );
+		if( size > buffer.remaining() )
+			return false;
+
+		putHeader( TYPE_RECEIVE,
+		           fromHandle(interactionClass),
+		           tag,
+		           sentOrdering,
+		           theTransport,
+		           theTime,
+		           receivedOrdering,
+		           retractionHandle,
+		           producingFederate,
+		           sentRegions );
+
+		buffer.putInt( theParameters.size() );
+		for( Map.Entry<ParameterHandle,byte[]> entry : theParameters.entrySet() )
+			putValue( fromHandle(entry.getKey()), entry.getValue() );
+
+		++count;
+		return true;
+	}
+
+	/**
+	 * Empty the batch so that it can be filled again
+	 */
+	public void clear()
+	{
+		buffer.clear();
+		count = 0;
+	}
+
+	public boolean isEmpty()
+	{
+		return count == 0;
+	}
+
+	/** @return The number of callbacks in the batch */
+	public int getCount()
+	{
+		return count;
+	}
+
+	/** @return The number of bytes of the buffer that have been filled */
+	public int getLength()
+	{
+		return buffer.position();
+	}
+
+	public ByteBuffer getBuffer()
+	{
+		return buffer;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////// Helper Methods ////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////
+	private int headerSize( LogicalTime time,
+	                        MessageRetractionHandle retraction,
+	                        RegionHandleSet regions,
+	                        byte[] tag )
+	{
+		// type, handle, sent order, transport, flags, producer, region count, tag length
+		int size = 32;
+		if( time != null )
+			size += 12;
+		if( retraction != null )
+			size += 4;
+		if( regions != null )
+			size += regions.size() * 4;
+		if( tag != null )
+			size += tag.length;
+
+		return size;
+	}
+
+	private int valuesSize( Map<?,byte[]> values )
+	{
+		int size = 4;
+		for( byte[] value : values.values() )
+			size += 8 + value.length;
+
+		return size;
+	}
+
+	private void putHeader( int type,
+	                        int handle,
+	                        byte[] tag,
+	                        OrderType sentOrdering,
+	                        TransportationTypeHandle theTransport,
+	                        LogicalTime theTime,
+	                        OrderType receivedOrdering,
+	                        MessageRetractionHandle retractionHandle,
+	                        FederateHandle producingFederate,
+	                        RegionHandleSet sentRegions )
+	{
+		int flags = 0;
+		if( theTime instanceof HLAfloat64Time )
+			flags |= FLAG_FLOAT_TIME;
+		else if( theTime != null )
+			flags |= FLAG_INTEGER_TIME;
+		if( retractionHandle != null )
+			flags |= FLAG_RETRACTION;
+
+		buffer.putInt( type );
+		buffer.putInt( handle );
+		buffer.putInt( convert(sentOrdering) );
+		buffer.putInt( fromHandle(theTransport) );
+		buffer.putInt( flags );
+
+		// time and received order
+		if( theTime instanceof HLAfloat64Time )
+			buffer.putDouble( ((HLAfloat64Time)theTime).getValue() );
+		else if( theTime != null )
+			buffer.putLong( ((HLAinteger64Time)theTime).getValue() );
+
+		if( theTime != null )
+			buffer.putInt( convert(receivedOrdering) );
+
+		if( retractionHandle != null )
+			buffer.putInt( fromHandle(retractionHandle) );
+
+		// supplemental info
+		buffer.putInt( fromHandle(producingFederate) );
+		if( sentRegions == null )
+		{
+			buffer.putInt( 0 );
+		}
+		else
+		{
+			buffer.putInt( sentRegions.size() );
+			for( RegionHandle region : sentRegions )
+				buffer.putInt( fromHandle(region) );
+		}
+
+		// tag
+		if( tag == null )
+		{
+			buffer.putInt( -1 );
+		}
+		else
+		{
+			buffer.putInt( tag.length );
+			buffer.put( tag );
+		}
+	}
+
+	private void putValue( int handle, byte[] value )
+	{
+		buffer.putInt( handle );
+		buffer.putInt( value.length );
+		buffer.put( value );
+	}
+
+	private int convert( OrderType type )
+	{
+		// same encoding as ProxyFederateAmbassador, RECEIVE=1, TIMESTAMP=2
+		return type.ordinal()+1;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -14,6 +14,8 @@
  */
 package org.portico.impl.cpp1516e;
 
+import java.nio.ByteBuffer;
+
 /**
  * This class provides a set of native methods that allow the RTI to call back to
  * C++ based federate ambassadors. For each C++ federate, we create an intermediate
@@ -466,6 +468,13 @@ public class FederateAmbassadorLink
 	// 8.22
 	public native void requestRetraction( int id, int theHandle );
 
+	/**
+	 * Deliver a batch of reflections and interactions in one go. The buffer is a direct
+	 * buffer in native byte order holding <code>count</code> callbacks packed into its first
+	 * <code>length</code> bytes, in the format described in {@link CallbackBatch}.
+	 */
+	public native void deliverBatch( int id, ByteBuffer buffer, int length, int count );
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
@@ -16,6 +16,8 @@ package org.portico.impl.cpp1516e;
 
 import java.util.Set;
 
+import org.portico.lrc.PorticoConstants;
+
 import static org.portico.impl.hla1516e.types.HLA1516eHandle.*;
 
 import hla.rti1516e.AttributeHandle;
@@ -72,6 +74,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	private FederateAmbassadorLink link;
 	private int ambassadorId;
 
+	// callback batching, only set up if portico.cpp.batchCallbacks is enabled
+	private CallbackBatch batch;
+	private Thread batchThread;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
@@ -79,11 +85,164 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	{
 		this.link = new FederateAmbassadorLink();
 		this.ambassadorId = id;
+		this.batch = null;
+		this.batchThread = null;
+		if( PorticoConstants.isCppBatchCallbacks() )
+			this.batch = new CallbackBatch( PorticoConstants.getCppBatchSize() );
 	}
 
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
+	////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Batching Methods ///////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Start batching reflections and interactions received by the calling thread rather than
+	 * passing each straight to the C++ side. They are handed over together when the batch
+	 * fills, when some other callback arrives or when {@link #endBatch()} is called. Does
+	 * nothing if callback batching is not enabled.
+	 */
+	public void beginBatch()
+	{
+		if( batch != null )
+			batchThread = Thread.currentThread();
+	}
+
+	/**
+	 * Stop batching and hand anything still waiting in the batch over to the C++ side.
+	 */
+	public void endBatch()
+	{
+		if( batchThread != Thread.currentThread() )
+			return;
+
+		try
+		{
+			flush();
+		}
+		finally
+		{
+			batchThread = null;
+		}
+	}
+
+	/**
+	 * Hand any callbacks waiting in the batch over to the C++ side and then return the link.
+	 * Every callback that doesn't go into the batch goes through here, so that the federate
+	 * still sees all callbacks in the order they were delivered.
+	 */
+	private FederateAmbassadorLink link()
+	{
+		if( batchThread == Thread.currentThread() )
+			flush();
+
+		return link;
+	}
+
+	private void flush()
+	{
+		if( batch.isEmpty() )
+			return;
+
+		try
+		{
+			link.deliverBatch( ambassadorId, batch.getBuffer(), batch.getLength(), batch.getCount() );
+		}
+		finally
+		{
+			batch.clear();
+		}
+	}
+
+	/**
+	 * Add the reflection to the batch if we are batching, flushing first if there isn't
+	 * room. Returns false if it has to be passed over on its own.
+	 */
+	private boolean batchReflect( ObjectInstanceHandle theObject,
+	                              AttributeHandleValueMap theAttributes,
+	                              byte[] tag,
+	                              OrderType sentOrdering,
+	                              TransportationTypeHandle theTransport,
+	                              LogicalTime theTime,
+	                              OrderType receivedOrdering,
+	                              MessageRetractionHandle retractionHandle,
+	                              SupplementalReflectInfo reflectInfo )
+	{
+		if( batchThread != Thread.currentThread() )
+			return false;
+
+		for( int i = 0; i < 2; i++ )
+		{
+			if( batch.addReflect(theObject,
+			                     theAttributes,
+			                     tag,
+			                     sentOrdering,
+			                     theTransport,
+			                     theTime,
+			                     receivedOrdering,
+			                     retractionHandle,
+			                     reflectInfo.getProducingFederate(),
+			                     reflectInfo.getSentRegions()) )
+			{
+				return true;
+			}
+			else if( batch.isEmpty() )
+			{
+				// too big to ever fit, send it on its own
+				return false;
+			}
+
+			flush();
+		}
+
+		return false;
+	}
+
+	/**
+	 * Add the interaction to the batch if we are batching, flushing first if there isn't
+	 * room. Returns false if it has to be passed over on its own.
+	 */
+	private boolean batchReceive( InteractionClassHandle interactionClass,
+	                              ParameterHandleValueMap theParameters,
+	                              byte[] tag,
+	                              OrderType sentOrdering,
+	                              TransportationTypeHandle theTransport,
+	                              LogicalTime theTime,
+	                              OrderType receivedOrdering,
+	                              MessageRetractionHandle retractionHandle,
+	                              SupplementalReceiveInfo receiveInfo )
+	{
+		if( batchThread != Thread.currentThread() )
+			return false;
+
+		for( int i = 0; i < 2; i++ )
+		{
+			if( batch.addReceive(interactionClass,
+			                     theParameters,
+			                     tag,
+			                     sentOrdering,
+			                     theTransport,
+			                     theTime,
+			                     receivedOrdering,
+			                     retractionHandle,
+			                     receiveInfo.getProducingFederate(),
+			                     receiveInfo.getSentRegions()) )
+			{
+				return true;
+			}
+			else if( batch.isEmpty() )
+			{
+				// too big to ever fit, send it on its own
+				return false;
+			}
+
+			flush();
+		}
+
+		return false;
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////////////// Helper Methods //////////////////////////////////// 
 	////////////////////////////////////////////////////////////////////////////////////////
@@ -153,35 +312,35 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	////////////////////////////////////////////////////////////////////////////////////////
 	public void connectionLost( String faultDescription ) throws FederateInternalError
 	{
-		link.connectionLost( ambassadorId, faultDescription );
+		link().connectionLost( ambassadorId, faultDescription );
 	}
 
 	//4.7
 	public void synchronizationPointRegistrationSucceeded( String label )
 	    throws FederateInternalError
 	{
-		link.synchronizationPointRegistrationSucceeded( ambassadorId, label );
+		link().synchronizationPointRegistrationSucceeded( ambassadorId, label );
 	}
 
 	public void synchronizationPointRegistrationFailed( String label,
 	                                                    SynchronizationPointFailureReason reason )
 	    throws FederateInternalError
 	{
-		link.synchronizationPointRegistrationFailed( ambassadorId, label, reason.name() );
+		link().synchronizationPointRegistrationFailed( ambassadorId, label, reason.name() );
 	}
 
 	//4.8
 	public void announceSynchronizationPoint( String label, byte[] tag )
 		throws FederateInternalError
 	{
-		link.announceSynchronizationPoint( ambassadorId, label, tag );
+		link().announceSynchronizationPoint( ambassadorId, label, tag );
 	}
 
 	//4.10
 	public void federationSynchronized( String label, FederateHandleSet failedSet )
 	    throws FederateInternalError
 	{
-		link.federationSynchronized( ambassadorId, label, convert(failedSet) );
+		link().federationSynchronized( ambassadorId, label, convert(failedSet) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -190,26 +349,26 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	//4.12
 	public void initiateFederateSave( String label ) throws FederateInternalError
 	{
-		link.initiateFederateSave( ambassadorId, label );
+		link().initiateFederateSave( ambassadorId, label );
 	}
 
 	public void initiateFederateSave( String label, LogicalTime time ) throws FederateInternalError
 	{
 		if( time instanceof HLAfloat64Time )
-			link.initiateFederateSave( ambassadorId, label, toDouble(time) );
+			link().initiateFederateSave( ambassadorId, label, toDouble(time) );
 		else
-			link.initiateFederateSave( ambassadorId, label, toLong(time) );
+			link().initiateFederateSave( ambassadorId, label, toLong(time) );
 	}
 
 	// 4.15
 	public void federationSaved() throws FederateInternalError
 	{
-		link.federationSaved( ambassadorId );
+		link().federationSaved( ambassadorId );
 	}
 
 	public void federationNotSaved( SaveFailureReason reason ) throws FederateInternalError
 	{
-		link.federationNotSaved( ambassadorId, reason.name() );
+		link().federationNotSaved( ambassadorId, reason.name() );
 	}
 
 	// 4.17
@@ -224,24 +383,24 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 			statuses[i] = response[i].status.name();
 		}
 		
-		link.federationSaveStatusResponse( ambassadorId, handles, statuses );
+		link().federationSaveStatusResponse( ambassadorId, handles, statuses );
 	}
 
 	// 4.19
 	public void requestFederationRestoreSucceeded( String label ) throws FederateInternalError
 	{
-		link.requestFederationRestoreSucceeded( ambassadorId, label );
+		link().requestFederationRestoreSucceeded( ambassadorId, label );
 	}
 
 	public void requestFederationRestoreFailed( String label ) throws FederateInternalError
 	{
-		link.requestFederationRestoreFailed( ambassadorId, label );
+		link().requestFederationRestoreFailed( ambassadorId, label );
 	}
 
 	// 4.20
 	public void federationRestoreBegun() throws FederateInternalError
 	{
-		link.federationRestoreBegun( ambassadorId );
+		link().federationRestoreBegun( ambassadorId );
 	}
 
 	// 4.21
@@ -250,21 +409,21 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                     FederateHandle federateHandle )
 	    throws FederateInternalError
 	{
-		link.initiateFederateRestore( ambassadorId,
-		                              label,
-		                              federateName,
-		                              fromHandle(federateHandle) );
+		link().initiateFederateRestore( ambassadorId,
+		                                label,
+		                                federateName,
+		                                fromHandle(federateHandle) );
 	}
 
 	// 4.23
 	public void federationRestored() throws FederateInternalError
 	{
-		link.federationRestored( ambassadorId );
+		link().federationRestored( ambassadorId );
 	}
 
 	public void federationNotRestored( RestoreFailureReason reason ) throws FederateInternalError
 	{
-		link.federationNotRestored( ambassadorId, reason.name() );
+		link().federationNotRestored( ambassadorId, reason.name() );
 	}
 
 	// 4.25
@@ -281,7 +440,7 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 			statuses[i] = response[i].status.name();
 		}
 		
-		link.federationRestoreStatusResponse( ambassadorId, preHandles, postHandles, statuses );
+		link().federationRestoreStatusResponse( ambassadorId, preHandles, postHandles, statuses );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -300,34 +459,34 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 			count++;
 		}
 		
-		link.reportFederationExecutions( ambassadorId, federations, implementations );
+		link().reportFederationExecutions( ambassadorId, federations, implementations );
 	}
 
 	// 5.10
 	public void startRegistrationForObjectClass( ObjectClassHandle theClass )
 	    throws FederateInternalError
 	{
-		link.startRegistrationForObjectClass( ambassadorId, fromHandle(theClass) );
+		link().startRegistrationForObjectClass( ambassadorId, fromHandle(theClass) );
 	}
 
 	// 5.11
 	public void stopRegistrationForObjectClass( ObjectClassHandle theClass )
 	    throws FederateInternalError
 	{
-		link.stopRegistrationForObjectClass( ambassadorId, fromHandle(theClass) );
+		link().stopRegistrationForObjectClass( ambassadorId, fromHandle(theClass) );
 	}
 
 	// 5.12
 	public void turnInteractionsOn( InteractionClassHandle theHandle ) throws FederateInternalError
 	{
-		link.turnInteractionsOn( ambassadorId, fromHandle(theHandle) );
+		link().turnInteractionsOn( ambassadorId, fromHandle(theHandle) );
 	}
 
 	// 5.13
 	public void turnInteractionsOff( InteractionClassHandle theHandle )
 	    throws FederateInternalError
 	{
-		link.turnInteractionsOff( ambassadorId, fromHandle(theHandle) );
+		link().turnInteractionsOff( ambassadorId, fromHandle(theHandle) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -337,27 +496,27 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	public void objectInstanceNameReservationSucceeded( String objectName )
 	    throws FederateInternalError
 	{
-		link.objectInstanceNameReservationSucceeded( ambassadorId, objectName );
+		link().objectInstanceNameReservationSucceeded( ambassadorId, objectName );
 	}
 
 	public void multipleObjectInstanceNameReservationSucceeded( Set<String> objectNames )
 	    throws FederateInternalError
 	{
-		link.multipleObjectInstanceNameReservationSucceeded( ambassadorId,
-		                                                     objectNames.toArray(new String[]{}) );
+		link().multipleObjectInstanceNameReservationSucceeded( ambassadorId,
+		                                                       objectNames.toArray(new String[]{}) );
 	}
 
 	public void objectInstanceNameReservationFailed( String objectName )
 	    throws FederateInternalError
 	{
-		link.objectInstanceNameReservationFailed( ambassadorId, objectName );
+		link().objectInstanceNameReservationFailed( ambassadorId, objectName );
 	}
 
 	public void multipleObjectInstanceNameReservationFailed( Set<String> objectNames )
 	    throws FederateInternalError
 	{
-		link.multipleObjectInstanceNameReservationFailed( ambassadorId,
-		                                                  objectNames.toArray(new String[]{}) );
+		link().multipleObjectInstanceNameReservationFailed( ambassadorId,
+		                                                    objectNames.toArray(new String[]{}) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -369,10 +528,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                    String objectName )
 	    throws FederateInternalError
 	{
-		link.discoverObjectInstance( ambassadorId,
-		                             fromHandle(theObject),
-		                             fromHandle(theObjectClass),
-		                             objectName );
+		link().discoverObjectInstance( ambassadorId,
+		                               fromHandle(theObject),
+		                               fromHandle(theObjectClass),
+		                               objectName );
 	}
 
 	public void discoverObjectInstance( ObjectInstanceHandle theObject,
@@ -381,11 +540,11 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                    FederateHandle producingFederate )
 	    throws FederateInternalError
 	{
-		link.discoverObjectInstance( ambassadorId,
-		                             fromHandle(theObject),
-		                             fromHandle(theObjectClass),
-		                             objectName,
-		                             fromHandle(producingFederate) );
+		link().discoverObjectInstance( ambassadorId,
+		                               fromHandle(theObject),
+		                               fromHandle(theObjectClass),
+		                               objectName,
+		                               fromHandle(producingFederate) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -400,6 +559,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                    SupplementalReflectInfo reflectInfo )
 	    throws FederateInternalError
 	{
+		if( batchReflect(theObject,
+		                 theAttributes,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 null,
+		                 null,
+		                 null,
+		                 reflectInfo) )
+		{
+			return;
+		}
+
 		// convert the AttributeHandleValueMap
 		int[] attributeHandles = new int[theAttributes.size()];
 		byte[][] attributeValues = new byte[theAttributes.size()][];
@@ -411,15 +583,15 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 			count++;
 		}
 		
-		link.reflectAttributeValues( ambassadorId,
-		                             fromHandle(theObject),
-		                             attributeHandles,
-		                             attributeValues,
-		                             tag,
-		                             convert(sentOrdering),
-		                             fromHandle(theTransport),
-		                             fromHandle(reflectInfo.getProducingFederate()),
-		                             convert(reflectInfo.getSentRegions()) );
+		link().reflectAttributeValues( ambassadorId,
+		                               fromHandle(theObject),
+		                               attributeHandles,
+		                               attributeValues,
+		                               tag,
+		                               convert(sentOrdering),
+		                               fromHandle(theTransport),
+		                               fromHandle(reflectInfo.getProducingFederate()),
+		                               convert(reflectInfo.getSentRegions()) );
 	}
 
 	public void reflectAttributeValues( ObjectInstanceHandle theObject,
@@ -432,6 +604,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                    SupplementalReflectInfo reflectInfo )
 	    throws FederateInternalError
 	{
+		if( batchReflect(theObject,
+		                 theAttributes,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 theTime,
+		                 receivedOrdering,
+		                 null,
+		                 reflectInfo) )
+		{
+			return;
+		}
+
 		// convert the AttributeHandleValueMap
 		int[] attributeHandles = new int[theAttributes.size()];
 		byte[][] attributeValues = new byte[theAttributes.size()][];
@@ -445,31 +630,31 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 
 		if( theTime instanceof HLAfloat64Time )
 		{
-    		link.reflectAttributeValues( ambassadorId,
-    		                             fromHandle(theObject),
-    		                             attributeHandles,
-    		                             attributeValues,
-    		                             tag,
-    		                             convert(sentOrdering),
-    		                             fromHandle(theTransport),
-    		                             toDouble(theTime),
-    		                             convert(receivedOrdering),
-    		                             fromHandle(reflectInfo.getProducingFederate()),
-    		                             convert(reflectInfo.getSentRegions()) );
+    		link().reflectAttributeValues( ambassadorId,
+    		                               fromHandle(theObject),
+    		                               attributeHandles,
+    		                               attributeValues,
+    		                               tag,
+    		                               convert(sentOrdering),
+    		                               fromHandle(theTransport),
+    		                               toDouble(theTime),
+    		                               convert(receivedOrdering),
+    		                               fromHandle(reflectInfo.getProducingFederate()),
+    		                               convert(reflectInfo.getSentRegions()) );
 		}
 		else
 		{
-    		link.reflectAttributeValues( ambassadorId,
-    		                             fromHandle(theObject),
-    		                             attributeHandles,
-    		                             attributeValues,
-    		                             tag,
-    		                             convert(sentOrdering),
-    		                             fromHandle(theTransport),
-    		                             toLong(theTime),
-    		                             convert(receivedOrdering),
-    		                             fromHandle(reflectInfo.getProducingFederate()),
-    		                             convert(reflectInfo.getSentRegions()) );
+    		link().reflectAttributeValues( ambassadorId,
+    		                               fromHandle(theObject),
+    		                               attributeHandles,
+    		                               attributeValues,
+    		                               tag,
+    		                               convert(sentOrdering),
+    		                               fromHandle(theTransport),
+    		                               toLong(theTime),
+    		                               convert(receivedOrdering),
+    		                               fromHandle(reflectInfo.getProducingFederate()),
+    		                               convert(reflectInfo.getSentRegions()) );
 		}
 	}
 
@@ -484,6 +669,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                    SupplementalReflectInfo reflectInfo )
 	    throws FederateInternalError
 	{
+		if( batchReflect(theObject,
+		                 theAttributes,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 theTime,
+		                 receivedOrdering,
+		                 retractionHandle,
+		                 reflectInfo) )
+		{
+			return;
+		}
+
 		// convert the AttributeHandleValueMap
 		int[] attributeHandles = new int[theAttributes.size()];
 		byte[][] attributeValues = new byte[theAttributes.size()][];
@@ -497,33 +695,33 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 
 		if( theTime instanceof HLAfloat64Time )
 		{
-        	link.reflectAttributeValues( ambassadorId,
-        	                             fromHandle(theObject),
-        	                             attributeHandles,
-        	                             attributeValues,
-        	                             tag,
-        	                             convert(sentOrdering),
-        	                             fromHandle(theTransport),
-        	                             toDouble(theTime),
-        	                             convert(receivedOrdering),
-        	                             fromHandle(retractionHandle),
-        	                             fromHandle(reflectInfo.getProducingFederate()),
-        	                             convert(reflectInfo.getSentRegions()) );
+        	link().reflectAttributeValues( ambassadorId,
+        	                               fromHandle(theObject),
+        	                               attributeHandles,
+        	                               attributeValues,
+        	                               tag,
+        	                               convert(sentOrdering),
+        	                               fromHandle(theTransport),
+        	                               toDouble(theTime),
+        	                               convert(receivedOrdering),
+        	                               fromHandle(retractionHandle),
+        	                               fromHandle(reflectInfo.getProducingFederate()),
+        	                               convert(reflectInfo.getSentRegions()) );
 		}
 		else
 		{
-        	link.reflectAttributeValues( ambassadorId,
-        	                             fromHandle(theObject),
-        	                             attributeHandles,
-        	                             attributeValues,
-        	                             tag,
-        	                             convert(sentOrdering),
-        	                             fromHandle(theTransport),
-        	                             toLong(theTime),
-        	                             convert(receivedOrdering),
-        	                             fromHandle(retractionHandle),
-        	                             fromHandle(reflectInfo.getProducingFederate()),
-        	                             convert(reflectInfo.getSentRegions()) );
+        	link().reflectAttributeValues( ambassadorId,
+        	                               fromHandle(theObject),
+        	                               attributeHandles,
+        	                               attributeValues,
+        	                               tag,
+        	                               convert(sentOrdering),
+        	                               fromHandle(theTransport),
+        	                               toLong(theTime),
+        	                               convert(receivedOrdering),
+        	                               fromHandle(retractionHandle),
+        	                               fromHandle(reflectInfo.getProducingFederate()),
+        	                               convert(reflectInfo.getSentRegions()) );
 		}
 	}
 
@@ -539,6 +737,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                SupplementalReceiveInfo receiveInfo )
 	    throws FederateInternalError
 	{
+		if( batchReceive(interactionClass,
+		                 theParameters,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 null,
+		                 null,
+		                 null,
+		                 receiveInfo) )
+		{
+			return;
+		}
+
 		// convert the ParameterHandleValueMap
 		int[] parameterHandles = new int[theParameters.size()];
 		byte[][] parameterValues = new byte[theParameters.size()][];
@@ -550,15 +761,15 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 			count++;
 		}
 
-		link.receiveInteraction( ambassadorId,
-		                         fromHandle(interactionClass),
-		                         parameterHandles,
-		                         parameterValues,
-		                         tag,
-		                         convert(sentOrdering),
-		                         fromHandle(theTransport),
-		                         fromHandle(receiveInfo.getProducingFederate()),
-		                         convert(receiveInfo.getSentRegions()) );
+		link().receiveInteraction( ambassadorId,
+		                           fromHandle(interactionClass),
+		                           parameterHandles,
+		                           parameterValues,
+		                           tag,
+		                           convert(sentOrdering),
+		                           fromHandle(theTransport),
+		                           fromHandle(receiveInfo.getProducingFederate()),
+		                           convert(receiveInfo.getSentRegions()) );
 	}
 
 	public void receiveInteraction( InteractionClassHandle interactionClass,
@@ -571,6 +782,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                SupplementalReceiveInfo receiveInfo )
 	    throws FederateInternalError
 	{
+		if( batchReceive(interactionClass,
+		                 theParameters,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 theTime,
+		                 receivedOrdering,
+		                 null,
+		                 receiveInfo) )
+		{
+			return;
+		}
+
 		// convert the ParameterHandleValueMap
 		int[] parameterHandles = new int[theParameters.size()];
 		byte[][] parameterValues = new byte[theParameters.size()][];
@@ -584,31 +808,31 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 
 		if( theTime instanceof HLAfloat64Time )
 		{
-    		link.receiveInteraction( ambassadorId,
-    		                         fromHandle(interactionClass),
-    		                         parameterHandles,
-    		                         parameterValues,
-    		                         tag,
-    		                         convert(sentOrdering),
-    		                         fromHandle(theTransport),
-    		                         toDouble(theTime),
-    		                         convert(receivedOrdering),
-    		                         fromHandle(receiveInfo.getProducingFederate()),
-    		                         convert(receiveInfo.getSentRegions()) );
+    		link().receiveInteraction( ambassadorId,
+    		                           fromHandle(interactionClass),
+    		                           parameterHandles,
+    		                           parameterValues,
+    		                           tag,
+    		                           convert(sentOrdering),
+    		                           fromHandle(theTransport),
+    		                           toDouble(theTime),
+    		                           convert(receivedOrdering),
+    		                           fromHandle(receiveInfo.getProducingFederate()),
+    		                           convert(receiveInfo.getSentRegions()) );
 		}
 		else
 		{
-    		link.receiveInteraction( ambassadorId,
-    		                         fromHandle(interactionClass),
-    		                         parameterHandles,
-    		                         parameterValues,
-    		                         tag,
-    		                         convert(sentOrdering),
-    		                         fromHandle(theTransport),
-    		                         toLong(theTime),
-    		                         convert(receivedOrdering),
-    		                         fromHandle(receiveInfo.getProducingFederate()),
-    		                         convert(receiveInfo.getSentRegions()) );
+    		link().receiveInteraction( ambassadorId,
+    		                           fromHandle(interactionClass),
+    		                           parameterHandles,
+    		                           parameterValues,
+    		                           tag,
+    		                           convert(sentOrdering),
+    		                           fromHandle(theTransport),
+    		                           toLong(theTime),
+    		                           convert(receivedOrdering),
+    		                           fromHandle(receiveInfo.getProducingFederate()),
+    		                           convert(receiveInfo.getSentRegions()) );
 		}
 	}
 
@@ -623,6 +847,19 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                SupplementalReceiveInfo receiveInfo )
 	    throws FederateInternalError
 	{
+		if( batchReceive(interactionClass,
+		                 theParameters,
+		                 tag,
+		                 sentOrdering,
+		                 theTransport,
+		                 theTime,
+		                 receivedOrdering,
+		                 retractionHandle,
+		                 receiveInfo) )
+		{
+			return;
+		}
+
 		// convert the ParameterHandleValueMap
 		int[] parameterHandles = new int[theParameters.size()];
 		byte[][] parameterValues = new byte[theParameters.size()][];
@@ -636,33 +873,33 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 		
 		if( theTime instanceof HLAfloat64Time )
 		{
-    		link.receiveInteraction( ambassadorId,
-    		                         fromHandle(interactionClass),
-    		                         parameterHandles,
-    		                         parameterValues,
-    		                         tag,
-    		                         convert(sentOrdering),
-    		                         fromHandle(theTransport),
-    		                         toDouble(theTime),
-    		                         convert(receivedOrdering),
-    		                         fromHandle(retractionHandle),
-    		                         fromHandle(receiveInfo.getProducingFederate()),
-    		                         convert(receiveInfo.getSentRegions()) );
+    		link().receiveInteraction( ambassadorId,
+    		                           fromHandle(interactionClass),
+    		                           parameterHandles,
+    		                           parameterValues,
+    		                           tag,
+    		                           convert(sentOrdering),
+    		                           fromHandle(theTransport),
+    		                           toDouble(theTime),
+    		                           convert(receivedOrdering),
+    		                           fromHandle(retractionHandle),
+    		                           fromHandle(receiveInfo.getProducingFederate()),
+    		                           convert(receiveInfo.getSentRegions()) );
 		}
 		else
 		{
-    		link.receiveInteraction( ambassadorId,
-    		                         fromHandle(interactionClass),
-    		                         parameterHandles,
-    		                         parameterValues,
-    		                         tag,
-    		                         convert(sentOrdering),
-    		                         fromHandle(theTransport),
-    		                         toLong(theTime),
-    		                         convert(receivedOrdering),
-    		                         fromHandle(retractionHandle),
-    		                         fromHandle(receiveInfo.getProducingFederate()),
-    		                         convert(receiveInfo.getSentRegions()) );
+    		link().receiveInteraction( ambassadorId,
+    		                           fromHandle(interactionClass),
+    		                           parameterHandles,
+    		                           parameterValues,
+    		                           tag,
+    		                           convert(sentOrdering),
+    		                           fromHandle(theTransport),
+    		                           toLong(theTime),
+    		                           convert(receivedOrdering),
+    		                           fromHandle(retractionHandle),
+    		                           fromHandle(receiveInfo.getProducingFederate()),
+    		                           convert(receiveInfo.getSentRegions()) );
 		}
 	}
 
@@ -676,11 +913,11 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                  SupplementalRemoveInfo removeInfo )
 	    throws FederateInternalError
 	{
-		link.removeObjectInstance( ambassadorId,
-		                           fromHandle(theObject),
-		                           tag,
-		                           convert(sentOrdering),
-		                           fromHandle(removeInfo.getProducingFederate()) );
+		link().removeObjectInstance( ambassadorId,
+		                             fromHandle(theObject),
+		                             tag,
+		                             convert(sentOrdering),
+		                             fromHandle(removeInfo.getProducingFederate()) );
 	}
 
 	public void removeObjectInstance( ObjectInstanceHandle theObject,
@@ -693,23 +930,23 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	{
 		if( theTime instanceof HLAfloat64Time )
 		{
-			link.removeObjectInstance( ambassadorId,
-			                           fromHandle(theObject),
-			                           tag,
-			                           convert(sentOrdering),
-			                           toDouble(theTime),
-			                           convert(receivedOrdering),
-			                           fromHandle(removeInfo.getProducingFederate()) );
+			link().removeObjectInstance( ambassadorId,
+			                             fromHandle(theObject),
+			                             tag,
+			                             convert(sentOrdering),
+			                             toDouble(theTime),
+			                             convert(receivedOrdering),
+			                             fromHandle(removeInfo.getProducingFederate()) );
 		}
 		else
 		{
-			link.removeObjectInstance( ambassadorId,
-			                           fromHandle(theObject),
-			                           tag,
-			                           convert(sentOrdering),
-			                           toLong(theTime),
-			                           convert(receivedOrdering),
-			                           fromHandle(removeInfo.getProducingFederate()) );
+			link().removeObjectInstance( ambassadorId,
+			                             fromHandle(theObject),
+			                             tag,
+			                             convert(sentOrdering),
+			                             toLong(theTime),
+			                             convert(receivedOrdering),
+			                             fromHandle(removeInfo.getProducingFederate()) );
 		}
 	}
 
@@ -724,25 +961,25 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	{
 		if( theTime instanceof HLAfloat64Time )
 		{
-			link.removeObjectInstance( ambassadorId,
-			                           fromHandle(theObject),
-			                           tag,
-			                           convert(sentOrdering),
-			                           toDouble(theTime),
-			                           convert(receivedOrdering),
-			                           fromHandle(retractionHandle),
-			                           fromHandle(removeInfo.getProducingFederate()) );
+			link().removeObjectInstance( ambassadorId,
+			                             fromHandle(theObject),
+			                             tag,
+			                             convert(sentOrdering),
+			                             toDouble(theTime),
+			                             convert(receivedOrdering),
+			                             fromHandle(retractionHandle),
+			                             fromHandle(removeInfo.getProducingFederate()) );
 		}
 		else
 		{
-			link.removeObjectInstance( ambassadorId,
-			                           fromHandle(theObject),
-			                           tag,
-			                           convert(sentOrdering),
-			                           toLong(theTime),
-			                           convert(receivedOrdering),
-			                           fromHandle(retractionHandle),
-			                           fromHandle(removeInfo.getProducingFederate()) );
+			link().removeObjectInstance( ambassadorId,
+			                             fromHandle(theObject),
+			                             tag,
+			                             convert(sentOrdering),
+			                             toLong(theTime),
+			                             convert(receivedOrdering),
+			                             fromHandle(retractionHandle),
+			                             fromHandle(removeInfo.getProducingFederate()) );
 		}
 	}
 
@@ -753,7 +990,7 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	public void attributesInScope( ObjectInstanceHandle theObject, AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.attributesInScope( ambassadorId, fromHandle(theObject), convert(theAttributes) );
+		link().attributesInScope( ambassadorId, fromHandle(theObject), convert(theAttributes) );
 	}
 
 	// 6.16
@@ -761,7 +998,7 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                  AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.attributesOutOfScope( ambassadorId, fromHandle(theObject), convert(theAttributes) );
+		link().attributesOutOfScope( ambassadorId, fromHandle(theObject), convert(theAttributes) );
 	}
 
 	// 6.18
@@ -769,10 +1006,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                         AttributeHandleSet theAttributes,
 	                                         byte[] tag ) throws FederateInternalError
 	{
-		link.provideAttributeValueUpdate( ambassadorId,
-		                                  fromHandle(theObject),
-		                                  convert(theAttributes),
-		                                  tag );
+		link().provideAttributeValueUpdate( ambassadorId,
+		                                    fromHandle(theObject),
+		                                    convert(theAttributes),
+		                                    tag );
 	}
 
 	// 6.19
@@ -780,9 +1017,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                            AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.turnUpdatesOnForObjectInstance( ambassadorId,
-		                                     fromHandle(theObject),
-		                                     convert(theAttributes) );
+		link().turnUpdatesOnForObjectInstance( ambassadorId,
+		                                       fromHandle(theObject),
+		                                       convert(theAttributes) );
 	}
 
 	public void turnUpdatesOnForObjectInstance( ObjectInstanceHandle theObject,
@@ -790,10 +1027,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                            String updateRateDesignator )
 	    throws FederateInternalError
 	{
-		link.turnUpdatesOnForObjectInstance( ambassadorId,
-		                                     fromHandle(theObject),
-		                                     convert(theAttributes),
-		                                     updateRateDesignator );
+		link().turnUpdatesOnForObjectInstance( ambassadorId,
+		                                       fromHandle(theObject),
+		                                       convert(theAttributes),
+		                                       updateRateDesignator );
 	}
 
 	// 6.20
@@ -801,9 +1038,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                             AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.turnUpdatesOffForObjectInstance( ambassadorId,
-		                                      fromHandle(theObject),
-		                                      convert(theAttributes) );
+		link().turnUpdatesOffForObjectInstance( ambassadorId,
+		                                        fromHandle(theObject),
+		                                        convert(theAttributes) );
 	}
 
 	// 6.20
@@ -812,10 +1049,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                      TransportationTypeHandle theTransport )
 	    throws FederateInternalError
 	{
-		link.confirmAttributeTransportationTypeChange( ambassadorId,
-		                                               fromHandle(theObject),
-		                                               convert(theAttributes),
-		                                               fromHandle(theTransport) );
+		link().confirmAttributeTransportationTypeChange( ambassadorId,
+		                                                 fromHandle(theObject),
+		                                                 convert(theAttributes),
+		                                                 fromHandle(theTransport) );
 	}
 
 	// 6.20
@@ -823,9 +1060,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                        TransportationTypeHandle theTransport )
 	    throws FederateInternalError
 	{
-		link.confirmInteractionTransportationTypeChange( ambassadorId,
-		                                                 fromHandle(theInteraction),
-		                                                 fromHandle(theTransport) );
+		link().confirmInteractionTransportationTypeChange( ambassadorId,
+		                                                   fromHandle(theInteraction),
+		                                                   fromHandle(theTransport) );
 	}
 
 	// 6.20
@@ -834,10 +1071,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                               TransportationTypeHandle theTransport )
 	    throws FederateInternalError
 	{
-		link.reportAttributeTransportationType( ambassadorId,
-		                                        fromHandle(theObject),
-		                                        fromHandle(theAttribute),
-		                                        fromHandle(theTransport) );
+		link().reportAttributeTransportationType( ambassadorId,
+		                                          fromHandle(theObject),
+		                                          fromHandle(theAttribute),
+		                                          fromHandle(theTransport) );
 	}
 
 	// 6.20
@@ -846,10 +1083,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                 TransportationTypeHandle theTransport )
 	    throws FederateInternalError
 	{
-		link.reportInteractionTransportationType( ambassadorId,
-		                                          fromHandle(theFederate),
-		                                          fromHandle(theInteraction),
-		                                          fromHandle(theTransport) );
+		link().reportInteractionTransportationType( ambassadorId,
+		                                            fromHandle(theFederate),
+		                                            fromHandle(theInteraction),
+		                                            fromHandle(theTransport) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -861,10 +1098,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                 byte[] tag )
 	    throws FederateInternalError
 	{
-		link.requestAttributeOwnershipAssumption( ambassadorId,
-		                                          fromHandle(theObject),
-		                                          convert(offeredAttributes),
-		                                          tag );
+		link().requestAttributeOwnershipAssumption( ambassadorId,
+		                                            fromHandle(theObject),
+		                                            convert(offeredAttributes),
+		                                            tag );
 	}
 
 	// 7.5
@@ -872,9 +1109,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                            AttributeHandleSet offeredAttributes )
 	    throws FederateInternalError
 	{
-		link.requestDivestitureConfirmation( ambassadorId,
-		                                     fromHandle(theObject),
-		                                     convert(offeredAttributes) );
+		link().requestDivestitureConfirmation( ambassadorId,
+		                                       fromHandle(theObject),
+		                                       convert(offeredAttributes) );
 	}
 
 	// 7.7
@@ -883,10 +1120,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                       byte[] tag )
 	    throws FederateInternalError
 	{
-		link.attributeOwnershipAcquisitionNotification( ambassadorId,
-		                                                fromHandle(theObject),
-		                                                convert(securedAttributes),
-		                                                tag );
+		link().attributeOwnershipAcquisitionNotification( ambassadorId,
+		                                                  fromHandle(theObject),
+		                                                  convert(securedAttributes),
+		                                                  tag );
 	}
 
 	// 7.10
@@ -894,9 +1131,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                           AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.attributeOwnershipUnavailable( ambassadorId,
-		                                    fromHandle(theObject),
-		                                    convert(theAttributes) );
+		link().attributeOwnershipUnavailable( ambassadorId,
+		                                      fromHandle(theObject),
+		                                      convert(theAttributes) );
 	}
 
 	// 7.11
@@ -905,10 +1142,10 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                              byte[] tag )
 	    throws FederateInternalError
 	{
-		link.requestAttributeOwnershipRelease( ambassadorId,
-		                                       fromHandle(theObject),
-		                                       convert(candidateAttributes),
-		                                       tag );
+		link().requestAttributeOwnershipRelease( ambassadorId,
+		                                         fromHandle(theObject),
+		                                         convert(candidateAttributes),
+		                                         tag );
 	}
 
 	// 7.15
@@ -916,9 +1153,9 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                                              AttributeHandleSet theAttributes )
 	    throws FederateInternalError
 	{
-		link.confirmAttributeOwnershipAcquisitionCancellation( ambassadorId,
-		                                                       fromHandle(theObject),
-		                                                       convert(theAttributes) );
+		link().confirmAttributeOwnershipAcquisitionCancellation( ambassadorId,
+		                                                         fromHandle(theObject),
+		                                                         convert(theAttributes) );
 	}
 
 	// 7.17
@@ -927,22 +1164,22 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	                                      FederateHandle theOwner )
 	    throws FederateInternalError
 	{
-		link.informAttributeOwnership( ambassadorId,
-		                               fromHandle(theObject),
-		                               fromHandle(theAttribute),
-		                               fromHandle(theOwner) );
+		link().informAttributeOwnership( ambassadorId,
+		                                 fromHandle(theObject),
+		                                 fromHandle(theAttribute),
+		                                 fromHandle(theOwner) );
 	}
 
 	public void attributeIsNotOwned( ObjectInstanceHandle theObject, AttributeHandle theAttribute )
 	    throws FederateInternalError
 	{
-		link.attributeIsNotOwned( ambassadorId, fromHandle(theObject), fromHandle(theAttribute) );
+		link().attributeIsNotOwned( ambassadorId, fromHandle(theObject), fromHandle(theAttribute) );
 	}
 
 	public void attributeIsOwnedByRTI( ObjectInstanceHandle theObject, AttributeHandle theAttribute )
 	    throws FederateInternalError
 	{
-		link.attributeIsOwnedByRTI( ambassadorId, fromHandle(theObject), fromHandle(theAttribute) );
+		link().attributeIsOwnedByRTI( ambassadorId, fromHandle(theObject), fromHandle(theAttribute) );
 	}
 
 	///////////////////////////////////////////////////////////////////////////////////////////
@@ -952,33 +1189,33 @@ public class ProxyFederateAmbassador implements FederateAmbassador
 	public void timeRegulationEnabled( LogicalTime time ) throws FederateInternalError
 	{
 		if( time instanceof HLAfloat64Time )
-			link.timeRegulationEnabled( ambassadorId, toDouble(time) );
+			link().timeRegulationEnabled( ambassadorId, toDouble(time) );
 		else
-			link.timeRegulationEnabled( ambassadorId, toLong(time) );
+			link().timeRegulationEnabled( ambassadorId, toLong(time) );
 	}
 
 	// 8.6
 	public void timeConstrainedEnabled( LogicalTime time ) throws FederateInternalError
 	{
 		if( time instanceof HLAfloat64Time )
-			link.timeConstrainedEnabled( ambassadorId, toDouble(time) );
+			link().timeConstrainedEnabled( ambassadorId, toDouble(time) );
 		else
-			link.timeConstrainedEnabled( ambassadorId, toLong(time) );
+			link().timeConstrainedEnabled( ambassadorId, toLong(time) );
 	}
 
 	// 8.13
 	public void timeAdvanceGrant( LogicalTime time ) throws FederateInternalError
 	{
 		if( time instanceof HLAfloat64Time )
-			link.timeAdvanceGrant( ambassadorId, toDouble(time) );
+			link().timeAdvanceGrant( ambassadorId, toDouble(time) );
 		else
-			link.timeAdvanceGrant( ambassadorId, toLong(time) );
+			link().timeAdvanceGrant( ambassadorId, toLong(time) );
 	}
 
 	// 8.22
 	public void requestRetraction( MessageRetractionHandle theHandle ) throws FederateInternalError
 	{
-		link.requestRetraction( ambassadorId, fromHandle(theHandle) );
+		link().requestRetraction( ambassadorId, fromHandle(theHandle) );
 	}
 
 	//----------------------------------------------------------
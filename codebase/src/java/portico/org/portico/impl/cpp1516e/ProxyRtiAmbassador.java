@@ -20,6 +20,8 @@ import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.HashSet;
 import java.util.Properties;
 
@@ -46,6 +48,8 @@ import org.portico.impl.hla1516e.types.HLA1516eRegionHandleSet;
 import org.portico.impl.hla1516e.types.HLA1516eTransportationTypeHandleFactory;
 import org.portico.impl.hla1516e.types.time.DoubleTime;
 import org.portico.impl.hla1516e.types.time.DoubleTimeInterval;
+import org.portico.lrc.LRC;
+import org.portico.lrc.utils.MessageHelpers;
 
 /**
  * This class is provided as the simplified JNI link to C++ code in the interface binding.
@@ -80,6 +84,7 @@ public class ProxyRtiAmbassador
 	private ProxyFederateAmbassador fedamb;
 	private int id;
 	private Logger logger;
+	private ByteBuffer packedBuffer; // native memory the C++ side packs update values into
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -168,6 +173,34 @@ public class ProxyRtiAmbassador
 		return handleSet;
 	}
 
+	/**
+	 * Called from C++ to hand over the direct buffer that it packs handle/value pairs into for
+	 * updates and interactions. The buffer wraps memory owned by the C++ side. It is handed over
+	 * once when that side is created, and again whenever it has to grow the buffer.
+	 */
+	public void setPackedBuffer( ByteBuffer buffer )
+	{
+		this.packedBuffer = buffer.order( ByteOrder.nativeOrder() );
+	}
+
+	/**
+	 * Returns the packed buffer with its limit set to the given length, the amount of it that
+	 * the C++ side filled for the current call
+	 */
+	private ByteBuffer packedValues( int length )
+	{
+		this.packedBuffer.limit( length );
+		return this.packedBuffer;
+	}
+
+	/**
+	 * The LRC behind the ambassador, whose message pools packed values are decoded into
+	 */
+	private LRC lrc()
+	{
+		return this.rtiamb.getHelper().getLrc();
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////////
     ////////////////////////////// Federation Management Services //////////////////////////////
 	////////////////////////////////////////////////////////////////////////////////////////////
@@ -914,6 +947,36 @@ public class ProxyRtiAmbassador
 		}
 	}
 
+	// 6.10
+	public void updateAttributeValuesPacked( int theObject, int length )
+	{
+		try
+		{
+			rtiamb.updateAttributeValues(
+			    MessageHelpers.unpackUpdate(packedValues(length),theObject,lrc()) );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+	}
+
+	// 6.10
+	public int updateAttributeValuesPacked( int theObject, int length, double theTime )
+	{
+		try
+		{
+			MessageRetractionReturn result = rtiamb.updateAttributeValues(
+			    MessageHelpers.unpackUpdate(packedValues(length),theObject,lrc()), theTime );
+			return HLA1516eHandle.fromHandle( result.handle );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+			return -1;
+		}
+	}
+
 	// 6.12
 	public void sendInteraction( int theInteraction,
 	                             int[] parameters,
@@ -963,6 +1026,37 @@ public class ProxyRtiAmbassador
 		}
 	}
 
+	// 6.12
+	public void sendInteractionPacked( int theInteraction, int length )
+	{
+		try
+		{
+			rtiamb.sendInteraction(
+			    MessageHelpers.unpackInteraction(packedValues(length),theInteraction,lrc()) );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+		}
+	}
+
+	// 6.12
+	public int sendInteractionPacked( int theInteraction, int length, double theTime )
+	{
+		try
+		{
+			MessageRetractionReturn result = rtiamb.sendInteraction(
+			    MessageHelpers.unpackInteraction(packedValues(length),theInteraction,lrc()),
+			    theTime );
+			return HLA1516eHandle.fromHandle( result.handle );
+		}
+		catch( Exception e )
+		{
+			ExceptionManager.pushException( this.id, e );
+			return -1;
+		}
+	}
+
 	// 6.14
 	public void deleteObjectInstance( int objectHandle, byte[] tag )
 	{
@@ -2120,6 +2214,12 @@ public class ProxyRtiAmbassador
 	// 10.42
 	public boolean evokeMultipleCallbacks( double minSeconds, double maxSeconds )
 	{
+		// hold reflections and interactions back while we're in here so they can
+		// be handed over to the C++ side in batches rather than one at a time
+		ProxyFederateAmbassador batching = this.fedamb;
+		if( batching != null )
+			batching.beginBatch();
+
 		try
 		{
 			return rtiamb.evokeMultipleCallbacks( minSeconds, maxSeconds );
@@ -2129,6 +2229,11 @@ public class ProxyRtiAmbassador
 			ExceptionManager.pushException( this.id, e );
 			return false;
 		}
+		finally
+		{
+			if( batching != null )
+				batching.endBatch();
+		}
 	}
 
 	// 10.43
@@ -22,6 +22,7 @@ import hla.rti.*;
 import hla.rti.jlc.RTIambassadorEx;
 
 import org.apache.log4j.Logger;
+import org.portico.impl.IBulkObjectManagement;
 import org.portico.impl.hla13.types.DoubleTime;
 import org.portico.impl.hla13.types.DoubleTimeInterval;
 import org.portico.impl.hla13.types.HLA13AttributeHandleSet;
@@ -103,8 +104,10 @@ import org.portico.lrc.services.federation.msg.DestroyFederation;
 import org.portico.lrc.services.federation.msg.JoinFederation;
 import org.portico.lrc.services.federation.msg.ResignFederation;
 import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DeleteObjects;
 import org.portico.lrc.services.object.msg.LocalDelete;
 import org.portico.lrc.services.object.msg.RegisterObject;
+import org.portico.lrc.services.object.msg.RegisterObjects;
 import org.portico.lrc.services.object.msg.RequestClassUpdate;
 import org.portico.lrc.services.object.msg.RequestObjectUpdate;
 import org.portico.lrc.services.object.msg.SendInteraction;
@@ -143,10 +146,12 @@ import org.portico.lrc.services.time.msg.TimeAdvanceRequest;
 import org.portico.utils.messaging.ErrorResponse;
 import org.portico.utils.messaging.ExtendedSuccessMessage;
 import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.PooledMessage;
 import org.portico.utils.messaging.PorticoMessage;
 import org.portico.utils.messaging.ResponseMessage;
 
-public class Rti13Ambassador implements RTIambassadorEx
+public class Rti13Ambassador
+       implements RTIambassadorEx, IBulkObjectManagement<Integer,int[],RTIexception>
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
@@ -1887,12 +1892,30 @@ public class Rti13Ambassador implements RTIambassadorEx
 		       RTIinternalError,
 		       ConcurrentAccessAttempted
 	{
-		///////////////////////////////////////////////////////
-		// 1. create the message and pass it to the LRC sink //
-		///////////////////////////////////////////////////////
 		HLA13ByteArrayMap map = convertAttributes( theAttributes );
-		UpdateAttributes request = new UpdateAttributes( theObject, tag, map.toJavaMap() );
-		ResponseMessage response = processMessage( request );
+		updateAttributeValues( new UpdateAttributes(theObject,tag,map.toJavaMap()) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order update that is already in Portico's own form.
+	 * The C++ bindings use this so they can decode straight into a message taken from the
+	 * LRC's update pool rather than building a {@link SuppliedAttributes} first. The request
+	 * is released once it has been processed.
+	 */
+	public void updateAttributeValues( UpdateAttributes request )
+		throws ObjectNotKnown,
+		       AttributeNotDefined,
+		       AttributeNotOwned,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		ResponseMessage response = processPooledMessage( request );
 
 		////////////////////////////
 		// 2. process the results //
@@ -1962,15 +1985,31 @@ public class Rti13Ambassador implements RTIambassadorEx
 		       RTIinternalError,
 		       ConcurrentAccessAttempted
 	{
-		///////////////////////////////////////////////////////
-		// 1. create the message and pass it to the LRC sink //
-		///////////////////////////////////////////////////////
 		HLA13ByteArrayMap map = convertAttributes( theAttributes );
-		UpdateAttributes request = new UpdateAttributes( theObject,
-		                                                 tag,
-		                                                 map.toJavaMap(),
-		                                                 convertTime(theTime) );
-		ResponseMessage response = processMessage( request );
+		return updateAttributeValues( new UpdateAttributes(theObject,tag,map.toJavaMap()),
+		                              convertTime(theTime) );
+	}
+
+	/**
+	 * Portico-specific: as for {@link #updateAttributeValues(UpdateAttributes)}, except that
+	 * the update is given the provided timestamp before it is sent.
+	 */
+	public EventRetractionHandle updateAttributeValues( UpdateAttributes request, double time )
+		throws ObjectNotKnown,
+		       AttributeNotDefined,
+		       AttributeNotOwned,
+		       InvalidFederationTime,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		request.setTimestamp( time );
+		ResponseMessage response = processPooledMessage( request );
 
 		////////////////////////////
 		// 2. process the results //
@@ -2041,12 +2080,30 @@ public class Rti13Ambassador implements RTIambassadorEx
 		       RTIinternalError, 
 		       ConcurrentAccessAttempted
 	{
-   		///////////////////////////////////////////////////////
-		// 1. create the message and pass it to the LRC sink //
-		///////////////////////////////////////////////////////
 		HLA13ByteArrayMap map = convertParameters( theParameters );
-		SendInteraction request = new SendInteraction( interaction, tag, map.toJavaMap() );
-		ResponseMessage response = processMessage( request );
+		sendInteraction( new SendInteraction(interaction,tag,map.toJavaMap()) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order interaction that is already in Portico's own form.
+	 * The C++ bindings use this so they can decode straight into a message taken from the
+	 * LRC's interaction pool rather than building a {@link SuppliedParameters} first. The
+	 * request is released once it has been processed.
+	 */
+	public void sendInteraction( SendInteraction request )
+		throws InteractionClassNotDefined,
+		       InteractionClassNotPublished,
+		       InteractionParameterNotDefined,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		ResponseMessage response = processPooledMessage( request );
 
 		////////////////////////////
 		// 2. process the results //
@@ -2116,15 +2173,31 @@ public class Rti13Ambassador implements RTIambassadorEx
 		       RTIinternalError,
 		       ConcurrentAccessAttempted
 	{
-  		///////////////////////////////////////////////////////
-		// 1. create the message and pass it to the LRC sink //
-		///////////////////////////////////////////////////////
 		HLA13ByteArrayMap map = convertParameters( theParameters );
-		SendInteraction request = new SendInteraction( interaction,
-		                                               tag,
-		                                               map.toJavaMap(),
-		                                               convertTime(theTime) );
-		ResponseMessage response = processMessage( request );
+		return sendInteraction( new SendInteraction(interaction,tag,map.toJavaMap()),
+		                        convertTime(theTime) );
+	}
+
+	/**
+	 * Portico-specific: as for {@link #sendInteraction(SendInteraction)}, except that the
+	 * interaction is given the provided timestamp before it is sent.
+	 */
+	public EventRetractionHandle sendInteraction( SendInteraction request, double time )
+		throws InteractionClassNotDefined,
+		       InteractionClassNotPublished,
+		       InteractionParameterNotDefined,
+		       InvalidFederationTime,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		request.setTimestamp( time );
+		ResponseMessage response = processPooledMessage( request );
 
 		////////////////////////////
 		// 2. process the results //
@@ -2322,6 +2395,174 @@ public class Rti13Ambassador implements RTIambassadorEx
 		}
 	}
 
+	///////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Bulk Object Management ///////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Portico-specific: register <code>count</code> instances of the given class with RTI
+	 * generated names in a single request. See {@link IBulkObjectManagement}.
+	 */
+	public int[] registerObjectInstances( Integer theClass, int count )
+		throws ObjectClassNotDefined,
+		       ObjectClassNotPublished,
+		       ObjectAlreadyRegistered,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		return registerObjectInstances( theClass, new String[Math.max(0,count)] );
+	}
+
+	/**
+	 * Portico-specific: register one instance of the given class for each of the given names in
+	 * a single request. A <code>null</code> name has one generated for it by the RTI. See
+	 * {@link IBulkObjectManagement}.
+	 */
+	public int[] registerObjectInstances( Integer theClass, String[] theObjects )
+		throws ObjectClassNotDefined,
+		       ObjectClassNotPublished,
+		       ObjectAlreadyRegistered,
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		RegisterObjects request = new RegisterObjects( theClass, theObjects );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			OCInstance[] instances = (OCInstance[])response.getResult();
+			int[] handles = new int[instances.length];
+			for( int i = 0; i < instances.length; i++ )
+				handles[i] = instances[i].getHandle();
+
+			return handles;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JObjectClassNotPublished )
+			{
+				throw new ObjectClassNotPublished( theException );
+			}
+			else if( theException instanceof JObjectAlreadyRegistered )
+			{
+				throw new ObjectAlreadyRegistered( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else if( theException instanceof JConcurrentAccessAttempted )
+			{
+				throw new ConcurrentAccessAttempted( theException );
+			}
+			else
+			{
+				logException( "registerObjectInstances", theException );
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * Portico-specific: delete all the given objects in a single request. See
+	 * {@link IBulkObjectManagement}.
+	 */
+	public void deleteObjectInstances( int[] theObjects, byte[] userSuppliedTag )
+		throws ObjectNotKnown,
+		       DeletePrivilegeNotHeld, 
+		       FederateNotExecutionMember,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       RTIinternalError,
+		       ConcurrentAccessAttempted
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		DeleteObjects request = new DeleteObjects( theObjects, userSuppliedTag );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectNotKnown )
+			{
+				throw new ObjectNotKnown( theException );
+			}
+			else if( theException instanceof JDeletePrivilegeNotHeld )
+			{
+				throw new DeletePrivilegeNotHeld( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else if( theException instanceof JConcurrentAccessAttempted )
+			{
+				throw new ConcurrentAccessAttempted( theException );
+			}
+			else
+			{
+				logException( "deleteObjectInstances", theException );
+			}
+		}
+	}
+
 	// 6.10 
 	public void localDeleteObjectInstance( int objectHandle )
 		throws ObjectNotKnown,
@@ -5846,6 +6087,22 @@ public class Rti13Ambassador implements RTIambassadorEx
 			return new ErrorResponse( e );
 		}
 	}
+
+	/**
+	 * Same as {@link #processMessage(PorticoMessage)}, except that the request is released once
+	 * processing is finished, letting it go back to its pool if it came from one
+	 */
+	private ResponseMessage processPooledMessage( PooledMessage request )
+	{
+		try
+		{
+			return processMessage( request );
+		}
+		finally
+		{
+			request.release();
+		}
+	}
 	
 	/**
 	 * This method prints the stack trace for the exception and then throws an RTIinternalError 
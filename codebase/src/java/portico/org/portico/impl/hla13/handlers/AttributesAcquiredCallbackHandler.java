@@ -57,7 +57,9 @@ public class AttributesAcquiredCallbackHandler extends HLA13CallbackHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		OwnershipAcquired acquired = context.getRequest( OwnershipAcquired.class, this );
-		vetoUnlessFromUs( acquired );
+		if( vetoUnlessFromUs(context,acquired) )
+			return;
+
 		int objectHandle = acquired.getObjectHandle();
 		Set<Integer> attributes = acquired.getAttributeHandles();
 
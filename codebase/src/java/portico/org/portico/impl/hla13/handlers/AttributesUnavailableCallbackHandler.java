@@ -54,7 +54,9 @@ public class AttributesUnavailableCallbackHandler extends HLA13CallbackHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		AttributesUnavailable unavailable = context.getRequest( AttributesUnavailable.class, this );
-		vetoUnlessFromUs( unavailable );
+		if( vetoUnlessFromUs(context,unavailable) )
+			return;
+
 		int objectHandle = unavailable.getObjectHandle();
 		Set<Integer> attributes = unavailable.getAttributeHandles();
 		
@@ -16,14 +16,15 @@ package org.portico.impl.hla1516e;
 
 import java.net.URL;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Set;
 
 import hla.rti1516e.*;
 import hla.rti1516e.exceptions.*;
+import hla.rti1516e.encoding.EncoderException;
 
 import org.apache.log4j.Logger;
+import org.portico.impl.IBulkObjectManagement;
 import org.portico.impl.hla1516e.types.HLA1516eAttributeHandleFactory;
 import org.portico.impl.hla1516e.types.HLA1516eAttributeHandleSet;
 import org.portico.impl.hla1516e.types.HLA1516eAttributeHandleSetFactory;
@@ -45,6 +46,7 @@ import org.portico.impl.hla1516e.types.HLA1516eParameterHandleValueMapFactory;
 import org.portico.impl.hla1516e.types.HLA1516eRegionHandleSetFactory;
 import org.portico.impl.hla1516e.types.HLA1516eResignAction;
 import org.portico.impl.hla1516e.types.HLA1516eTransportationTypeHandleFactory;
+import org.portico.impl.hla1516e.types.encoding.HLA1516eEncoderSession;
 import org.portico.lrc.PorticoConstants;
 import org.portico.lrc.compat.JAsynchronousDeliveryAlreadyDisabled;
 import org.portico.lrc.compat.JAsynchronousDeliveryAlreadyEnabled;
@@ -78,15 +80,23 @@ import org.portico.lrc.compat.JInteractionParameterNotDefined;
 import org.portico.lrc.compat.JInvalidFederationTime;
 import org.portico.lrc.compat.JInvalidLookahead;
 import org.portico.lrc.compat.JInvalidResignAction;
+import org.portico.lrc.compat.JInvalidRetractionHandle;
+import org.portico.lrc.compat.JMessageCanNoLongerBeRetracted;
+import org.portico.lrc.compat.JNameSetWasEmpty;
 import org.portico.lrc.compat.JObjectAlreadyRegistered;
 import org.portico.lrc.compat.JObjectClassNotDefined;
 import org.portico.lrc.compat.JObjectClassNotPublished;
 import org.portico.lrc.compat.JObjectClassNotSubscribed;
+import org.portico.lrc.compat.JObjectInstanceNameNotReserved;
 import org.portico.lrc.compat.JObjectNotKnown;
 import org.portico.lrc.compat.JOwnershipAcquisitionPending;
 import org.portico.lrc.compat.JRTIinternalError;
 import org.portico.lrc.compat.JRestoreInProgress;
+import org.portico.lrc.compat.JRestoreNotInProgress;
+import org.portico.lrc.compat.JRestoreNotRequested;
 import org.portico.lrc.compat.JSaveInProgress;
+import org.portico.lrc.compat.JSaveNotInProgress;
+import org.portico.lrc.compat.JSaveNotInitiated;
 import org.portico.lrc.compat.JSynchronizationLabelNotAnnounced;
 import org.portico.lrc.compat.JTimeAdvanceAlreadyInProgress;
 import org.portico.lrc.compat.JTimeConstrainedAlreadyEnabled;
@@ -105,10 +115,14 @@ import org.portico.lrc.services.federation.msg.DestroyFederation;
 import org.portico.lrc.services.federation.msg.JoinFederation;
 import org.portico.lrc.services.federation.msg.ResignFederation;
 import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DeleteObjects;
 import org.portico.lrc.services.object.msg.LocalDelete;
 import org.portico.lrc.services.object.msg.RegisterObject;
+import org.portico.lrc.services.object.msg.RegisterObjects;
+import org.portico.lrc.services.object.msg.ReleaseObjectNames;
 import org.portico.lrc.services.object.msg.RequestClassUpdate;
 import org.portico.lrc.services.object.msg.RequestObjectUpdate;
+import org.portico.lrc.services.object.msg.ReserveMultipleObjectNames;
 import org.portico.lrc.services.object.msg.ReserveObjectName;
 import org.portico.lrc.services.object.msg.SendInteraction;
 import org.portico.lrc.services.object.msg.UpdateAttributes;
@@ -126,6 +140,15 @@ import org.portico.lrc.services.pubsub.msg.UnpublishInteractionClass;
 import org.portico.lrc.services.pubsub.msg.UnpublishObjectClass;
 import org.portico.lrc.services.pubsub.msg.UnsubscribeInteractionClass;
 import org.portico.lrc.services.pubsub.msg.UnsubscribeObjectClass;
+import org.portico.lrc.services.saverestore.msg.QueryRestoreStatus;
+import org.portico.lrc.services.saverestore.msg.QuerySaveStatus;
+import org.portico.lrc.services.saverestore.msg.RestoreAbort;
+import org.portico.lrc.services.saverestore.msg.RestoreComplete;
+import org.portico.lrc.services.saverestore.msg.RestoreRequest;
+import org.portico.lrc.services.saverestore.msg.SaveAbort;
+import org.portico.lrc.services.saverestore.msg.SaveBegun;
+import org.portico.lrc.services.saverestore.msg.SaveComplete;
+import org.portico.lrc.services.saverestore.msg.SaveRequest;
 import org.portico.lrc.services.sync.msg.SyncPointAchieved;
 import org.portico.lrc.services.sync.msg.SyncPointAnnouncement;
 import org.portico.lrc.services.time.msg.DisableAsynchronousDelivery;
@@ -138,17 +161,21 @@ import org.portico.lrc.services.time.msg.FlushQueueRequest;
 import org.portico.lrc.services.time.msg.ModifyLookahead;
 import org.portico.lrc.services.time.msg.NextEventRequest;
 import org.portico.lrc.services.time.msg.QueryGalt;
+import org.portico.lrc.services.time.msg.Retract;
 import org.portico.lrc.services.time.msg.TimeAdvanceRequest;
 import org.portico.utils.messaging.ErrorResponse;
 import org.portico.utils.messaging.ExtendedSuccessMessage;
 import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.PooledMessage;
 import org.portico.utils.messaging.PorticoMessage;
 import org.portico.utils.messaging.ResponseMessage;
 
 /**
  * The Portico implementation of the IEEE 1516-2010 (HLA Evolved) RTIambassador class.
  */
-public class Rti1516eAmbassador implements RTIambassador
+public class Rti1516eAmbassador
+       implements RTIambassador,
+                  IBulkObjectManagement<ObjectClassHandle,ObjectInstanceHandle[],RTIexception>
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
@@ -963,152 +990,11 @@ public class Rti1516eAmbassador implements RTIambassador
 		       FederateNotExecutionMember,
 		       NotConnected,
 		       RTIinternalError
-	{
-		featureNotSupported( "requestFederationSave()" );
-	}
-
-	// 4.16
-	public void requestFederationSave( String label, LogicalTime theTime )
-		throws LogicalTimeAlreadyPassed,
-		       InvalidLogicalTime,
-		       FederateUnableToUseTime,
-		       SaveInProgress,
-		       RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "requestFederationSave()" );
-	}
-
-	// 4.18
-	public void federateSaveBegun()
-		throws SaveNotInitiated,
-		       RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "federateSaveBegun()" );
-	}
-
-	// 4.19
-	public void federateSaveComplete()
-		throws FederateHasNotBegunSave,
-		       RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "federateSaveComplete()" );
-	}
-
-	// 4.19
-	public void federateSaveNotComplete()
-		throws FederateHasNotBegunSave,
-		       RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "federateSaveNotComplete()" );
-	}
-
-	// 4.21
-	public void abortFederationSave()
-		throws SaveNotInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "abortFederationSave()" );
-	}
-
-	// 4.22
-	public void queryFederationSaveStatus()
-		throws RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "queryFederationSaveStatus()" );
-	}
-
-	// 4.24
-	public void requestFederationRestore( String label )
-		throws SaveInProgress,
-		       RestoreInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "requestFederationRestore()" );
-	}
-
-	// 4.28
-	public void federateRestoreComplete()
-		throws RestoreNotRequested,
-		       SaveInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "federateRestoreComplete()" );
-	}
-
-	// 4.28
-	public void federateRestoreNotComplete()
-		throws RestoreNotRequested,
-		       SaveInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "federateRestoreNotComplete()" );
-	}
-
-	// 4.30
-	public void abortFederationRestore()
-		throws RestoreNotInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "abortFederationRestore()" );
-	}
-
-	// 4.31
-	public void queryFederationRestoreStatus()
-		throws SaveInProgress,
-		       FederateNotExecutionMember,
-		       NotConnected,
-		       RTIinternalError
-	{
-		featureNotSupported( "queryFederationRestoreStatus()" );
-	}
-
-	///////////////////////////////////////////////////////////////////////////////////////////
-	///////////////////////////// Declaration Management Services /////////////////////////////
-	///////////////////////////////////////////////////////////////////////////////////////////
-
-	// 5.2
-	public void publishObjectClassAttributes( ObjectClassHandle theClass,
-	                                          AttributeHandleSet attributeList )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		// check the handle set //
-		HashSet<Integer> set = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
-		int handle = HLA1516eHandle.fromHandle( theClass );
-		PublishObjectClass request = new PublishObjectClass( handle, set );
+		SaveRequest request = new SaveRequest( label );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1129,14 +1015,6 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
-			{
-				throw new ObjectClassNotDefined( theException );
-			}
-			else if( theException instanceof JAttributeNotDefined )
-			{
-				throw new AttributeNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
@@ -1151,25 +1029,33 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "publishObjectClassAttributes", theException );
+				logException( "requestFederationSave", theException );
 			}
 		}
 	}
 
-	// 5.3
-	public void unpublishObjectClass( ObjectClassHandle theClass )
-		throws OwnershipAcquisitionPending,
-		       ObjectClassNotDefined,
+	// 4.16
+	public void requestFederationSave( String label, LogicalTime theTime )
+		throws LogicalTimeAlreadyPassed,
+		       InvalidLogicalTime,
+		       FederateUnableToUseTime,
 		       SaveInProgress,
 		       RestoreInProgress,
 		       FederateNotExecutionMember,
 		       NotConnected,
 		       RTIinternalError
 	{
+		////////////////////////////////////////////////////////
+		// 0. check that we have the right logical time class //
+		////////////////////////////////////////////////////////
+		if( theTime == null )
+			throw new InvalidLogicalTime( "Expecting LogicalTime, found: null" );
+		double time = this.helper.getTime( theTime );
+
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		UnpublishObjectClass request = new UnpublishObjectClass(HLA1516eHandle.fromHandle(theClass));
+		SaveRequest request = new SaveRequest( label, time );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1190,17 +1076,17 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
+			else if( theException instanceof JFederateNotExecutionMember )
 			{
-				throw new ObjectClassNotDefined( theException );
+				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JOwnershipAcquisitionPending )
+			else if( theException instanceof JFederationTimeAlreadyPassed )
 			{
-				throw new OwnershipAcquisitionPending( theException );
+				throw new LogicalTimeAlreadyPassed( theException );
 			}
-			else if( theException instanceof JFederateNotExecutionMember )
+			else if( theException instanceof JInvalidFederationTime )
 			{
-				throw new FederateNotExecutionMember( theException );
+				throw new InvalidLogicalTime( theException );
 			}
 			else if( theException instanceof JSaveInProgress )
 			{
@@ -1210,35 +1096,25 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RestoreInProgress( theException );
 			}
-			else if( theException instanceof JObjectClassNotPublished )
-			{
-				// ignore! it's the 1516 spec way :(
-			}
 			else
 			{
-				logException( "unpublishObjectClass", theException );
+				logException( "requestFederationSave", theException );
 			}
 		}
 	}
 
-	// 5.3
-	public void unpublishObjectClassAttributes( ObjectClassHandle theClass,
-	                                            AttributeHandleSet attributeList )
-	    throws OwnershipAcquisitionPending,
-	           AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.18
+	public void federateSaveBegun()
+		throws SaveNotInitiated,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		int cHandle = HLA1516eHandle.fromHandle( theClass );
-		HashSet<Integer> attributes = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
-		UnpublishObjectClass request = new UnpublishObjectClass( cHandle, attributes );
+		SaveBegun request = new SaveBegun();
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1259,55 +1135,37 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
-			{
-				throw new ObjectClassNotDefined( theException );
-			}
-			else if( theException instanceof JOwnershipAcquisitionPending )
-			{
-				throw new OwnershipAcquisitionPending( theException );
-			}
-			else if( theException instanceof JAttributeNotDefined )
-			{
-				throw new AttributeNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JSaveInProgress )
+			else if( theException instanceof JSaveNotInitiated )
 			{
-				throw new SaveInProgress( theException );
+				throw new SaveNotInitiated( theException );
 			}
 			else if( theException instanceof JRestoreInProgress )
 			{
 				throw new RestoreInProgress( theException );
 			}
-			else if( theException instanceof JObjectClassNotPublished )
-			{
-				// ignore! it's the 1516 spec way :(
-			}
 			else
 			{
-				logException( "unpublishObjectClassAttributes", theException );
+				logException( "federateSaveBegun", theException );
 			}
 		}
 	}
 
-	// 5.4
-	public void publishInteractionClass( InteractionClassHandle theInteraction )
-	    throws InteractionClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.19
+	public void federateSaveComplete()
+		throws FederateHasNotBegunSave,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		PublishInteractionClass request =
-			new PublishInteractionClass( HLA1516eHandle.fromHandle(theInteraction) );
+		SaveComplete request = new SaveComplete( true );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1328,17 +1186,13 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JSaveInProgress )
+			else if( theException instanceof JSaveNotInitiated )
 			{
-				throw new SaveInProgress( theException );
+				throw new FederateHasNotBegunSave( theException );
 			}
 			else if( theException instanceof JRestoreInProgress )
 			{
@@ -1346,25 +1200,23 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "publishInteractionClass", theException );
+				logException( "federateSaveComplete", theException );
 			}
 		}
 	}
 
-	// 5.5
-	public void unpublishInteractionClass( InteractionClassHandle theInteraction )
-	    throws InteractionClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.19
+	public void federateSaveNotComplete()
+		throws FederateHasNotBegunSave,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		UnpublishInteractionClass request =
-			new UnpublishInteractionClass( HLA1516eHandle.fromHandle(theInteraction) );
+		SaveComplete request = new SaveComplete( false );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1385,50 +1237,36 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
-			else if( theException instanceof JFederateNotExecutionMember )
+			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JSaveInProgress )
+			else if( theException instanceof JSaveNotInitiated )
 			{
-				throw new SaveInProgress( theException );
+				throw new FederateHasNotBegunSave( theException );
 			}
 			else if( theException instanceof JRestoreInProgress )
 			{
 				throw new RestoreInProgress( theException );
 			}
-			else if( theException instanceof JInteractionClassNotPublished )
-			{
-				// ignore! it's the 1516 spec way :(
-			}
 			else
 			{
-				logException( "unpublishInteractionClass", theException );
+				logException( "federateSaveNotComplete", theException );
 			}
 		}
 	}
 
-	// 5.6
-	public void subscribeObjectClassAttributes( ObjectClassHandle theClass,
-	                                            AttributeHandleSet attributeList )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.21
+	public void abortFederationSave()
+		throws SaveNotInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		HashSet<Integer> set = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
-		int handle = HLA1516eHandle.fromHandle( theClass );
-		SubscribeObjectClass request = new SubscribeObjectClass( handle, set, true );
+		SaveAbort request = new SaveAbort();
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1449,88 +1287,24 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
-			{
-				throw new ObjectClassNotDefined( theException );
-			}
-			else if( theException instanceof JAttributeNotDefined )
-			{
-				throw new AttributeNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JObjectClassNotSubscribed )
-			{
-				// ignore, for that is the 1516 way
-			}
-			else if( theException instanceof JSaveInProgress )
-			{
-				throw new SaveInProgress( theException );
-			}
-			else if( theException instanceof JRestoreInProgress )
+			else if( theException instanceof JSaveNotInProgress )
 			{
-				throw new RestoreInProgress( theException );
+				throw new SaveNotInProgress( theException );
 			}
 			else
 			{
-				logException( "subscribeObjectClassAttributes", theException );
+				logException( "abortFederationSave", theException );
 			}
 		}
 	}
 
-	// 5.6
-	public void subscribeObjectClassAttributes( ObjectClassHandle theClass,
-	                                            AttributeHandleSet attributeList,
-	                                            String updateRateDesignator )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           InvalidUpdateRateDesignator,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
-	{
-		featureNotSupported( "subscribeObjectClassAttributes(updateRateDesignator)" );
-	}
-
-	// 5.6
-	public void subscribeObjectClassAttributesPassively( ObjectClassHandle theClass,
-	                                                     AttributeHandleSet attributeList )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
-	{
-		featureNotSupported( "subscribeObjectClassAttributesPassively()" );
-	}
-
-	// 5.6
-	public void subscribeObjectClassAttributesPassively( ObjectClassHandle theClass,
-	                                                     AttributeHandleSet attributeList,
-	                                                     String updateRateDesignator )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           InvalidUpdateRateDesignator,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
-	{
-		featureNotSupported( "subscribeObjectClassAttributesPassively()" );
-	}
-
-	// 5.7
-	public void unsubscribeObjectClass( ObjectClassHandle theClass )
-		throws ObjectClassNotDefined,
-		       SaveInProgress,
-		       RestoreInProgress,
+	// 4.22
+	public void queryFederationSaveStatus()
+		throws RestoreInProgress,
 		       FederateNotExecutionMember,
 		       NotConnected,
 		       RTIinternalError
@@ -1538,8 +1312,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		UnsubscribeObjectClass request =
-			new UnsubscribeObjectClass( HLA1516eHandle.fromHandle(theClass) );
+		QuerySaveStatus request = new QuerySaveStatus();
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1560,50 +1333,33 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
-			{
-				throw new ObjectClassNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JObjectClassNotSubscribed )
-			{
-				// ignore, for that is the 1516 way
-			}
-			else if( theException instanceof JSaveInProgress )
-			{
-				throw new SaveInProgress( theException );
-			}
 			else if( theException instanceof JRestoreInProgress )
 			{
 				throw new RestoreInProgress( theException );
 			}
 			else
 			{
-				logException( "unsucbscirbeObjectClass", theException );
+				logException( "queryFederationSaveStatus", theException );
 			}
 		}
 	}
 
-	// 5.7
-	public void unsubscribeObjectClassAttributes( ObjectClassHandle theClass,
-	                                              AttributeHandleSet attributeList )
-	    throws AttributeNotDefined,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.24
+	public void requestFederationRestore( String label )
+		throws SaveInProgress,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		int cHandle = HLA1516eHandle.fromHandle( theClass );
-		HashSet<Integer> attributes = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
-		UnsubscribeObjectClass request = new UnsubscribeObjectClass( cHandle, attributes );
+		RestoreRequest request = new RestoreRequest( label );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1624,18 +1380,10 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectClassNotDefined )
-			{
-				throw new ObjectClassNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JObjectClassNotSubscribed )
-			{
-				// ignore, for that is the 1516 way
-			}
 			else if( theException instanceof JSaveInProgress )
 			{
 				throw new SaveInProgress( theException );
@@ -1644,32 +1392,25 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RestoreInProgress( theException );
 			}
-			else if( theException instanceof JObjectClassNotSubscribed )
-			{
-				throw new RTIinternalError( theException );
-			}
 			else
 			{
-				logException( "unsucbscirbeObjectClassAttributes", theException );
+				logException( "requestFederationRestore", theException );
 			}
 		}
 	}
 
-	// 5.8
-	public void subscribeInteractionClass( InteractionClassHandle theClass )
-	    throws FederateServiceInvocationsAreBeingReportedViaMOM,
-	           InteractionClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.28
+	public void federateRestoreComplete()
+		throws RestoreNotRequested,
+		       SaveInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		SubscribeInteractionClass request =
-			new SubscribeInteractionClass( HLA1516eHandle.fromHandle(theClass) );
+		RestoreComplete request = new RestoreComplete( true );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1690,60 +1431,37 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JInteractionClassNotSubscribed )
+			else if( theException instanceof JRestoreNotRequested )
 			{
-				// ignore, for that is the 1516 way
+				throw new RestoreNotRequested( theException );
 			}
 			else if( theException instanceof JSaveInProgress )
 			{
 				throw new SaveInProgress( theException );
 			}
-			else if( theException instanceof JRestoreInProgress )
-			{
-				throw new RestoreInProgress( theException );
-			}
 			else
 			{
-				logException( "subscribeInteractionClass", theException );
+				logException( "federateRestoreComplete", theException );
 			}
 		}
 	}
 
-	// 5.8
-	public void subscribeInteractionClassPassively( InteractionClassHandle theClass )
-	    throws FederateServiceInvocationsAreBeingReportedViaMOM,
-	    InteractionClassNotDefined,
-	    SaveInProgress,
-	    RestoreInProgress,
-	    FederateNotExecutionMember,
-	    NotConnected,
-	    RTIinternalError
-	{
-		featureNotSupported( "subscribeInteractionClassPassively()" );
-	}
-
-	// 5.9
-	public void unsubscribeInteractionClass( InteractionClassHandle theClass )
-	    throws InteractionClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 4.28
+	public void federateRestoreNotComplete()
+		throws RestoreNotRequested,
+		       SaveInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		UnsubscribeInteractionClass request =
-			new UnsubscribeInteractionClass( HLA1516eHandle.fromHandle(theClass) );
+		RestoreComplete request = new RestoreComplete( false );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1764,41 +1482,28 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JInteractionClassNotSubscribed )
+			else if( theException instanceof JRestoreNotRequested )
 			{
-				// ignore, for that is the 1516 way
+				throw new RestoreNotRequested( theException );
 			}
 			else if( theException instanceof JSaveInProgress )
 			{
 				throw new SaveInProgress( theException );
 			}
-			else if( theException instanceof JRestoreInProgress )
-			{
-				throw new RestoreInProgress( theException );
-			}
 			else
 			{
-				logException( "unsubscribeInteractionClass", theException );
+				logException( "federateRestoreNotComplete", theException );
 			}
 		}
 	}
 
-	///////////////////////////////////////////////////////////////////////////////////////////
-    /////////////////////////////// Object Management Services ////////////////////////////////
-	///////////////////////////////////////////////////////////////////////////////////////////
-	// 6.2
-	public void reserveObjectInstanceName( String theObjectName )
-		throws IllegalName,
-		       SaveInProgress,
-		       RestoreInProgress,
+	// 4.30
+	public void abortFederationRestore()
+		throws RestoreNotInProgress,
 		       FederateNotExecutionMember,
 		       NotConnected,
 		       RTIinternalError
@@ -1806,7 +1511,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		ReserveObjectName request = new ReserveObjectName( theObjectName );
+		RestoreAbort request = new RestoreAbort();
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1827,80 +1532,150 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JIllegalName )
-			{
-				throw new IllegalName( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
 			}
-			else if( theException instanceof JSaveInProgress )
-			{
-				throw new SaveInProgress( theException );
-			}
-			else if( theException instanceof JRestoreInProgress )
+			else if( theException instanceof JRestoreNotInProgress )
 			{
-				throw new RestoreInProgress( theException );
+				throw new RestoreNotInProgress( theException );
 			}
 			else
 			{
-				logException( "reserveObjectInstanceName", theException );
+				logException( "abortFederationRestore", theException );
 			}
 		}
 	}
 
-	// 6.4
-	public void releaseObjectInstanceName( String theObjectInstanceName )
-	    throws ObjectInstanceNameNotReserved,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
-	{
-		featureNotSupported( "releaseObjectInstanceName()" );
-	}
-
-	// 6.5
-	public void reserveMultipleObjectInstanceName( Set<String> theObjectNames )
-		throws IllegalName,
-		       NameSetWasEmpty,
-		       SaveInProgress,
-		       RestoreInProgress,
+	// 4.31
+	public void queryFederationRestoreStatus()
+		throws SaveInProgress,
 		       FederateNotExecutionMember,
 		       NotConnected,
 		       RTIinternalError
 	{
-		featureNotSupported( "reserveMultipleObjectInstanceName()" );
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		QueryRestoreStatus request = new QueryRestoreStatus();
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else
+			{
+				logException( "queryFederationRestoreStatus", theException );
+			}
+		}
 	}
 
-	// 6.7
-	public void releaseMultipleObjectInstanceName( Set<String> theObjectNames )
-	    throws ObjectInstanceNameNotReserved,
+	///////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////// Declaration Management Services /////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+
+	// 5.2
+	public void publishObjectClassAttributes( ObjectClassHandle theClass,
+	                                          AttributeHandleSet attributeList )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
 	           NotConnected,
 	           RTIinternalError
 	{
-		featureNotSupported( "releaseMultipleObjectInstanceName()" );
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		// check the handle set //
+		HashSet<Integer> set = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
+		int handle = HLA1516eHandle.fromHandle( theClass );
+		PublishObjectClass request = new PublishObjectClass( handle, set );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JAttributeNotDefined )
+			{
+				throw new AttributeNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "publishObjectClassAttributes", theException );
+			}
+		}
 	}
 
-	// 6.8
-	public ObjectInstanceHandle registerObjectInstance( ObjectClassHandle theClass )
-	    throws ObjectClassNotPublished,
-	           ObjectClassNotDefined,
-	           SaveInProgress,
-	           RestoreInProgress,
-	           FederateNotExecutionMember,
-	           NotConnected,
-	           RTIinternalError
+	// 5.3
+	public void unpublishObjectClass( ObjectClassHandle theClass )
+		throws OwnershipAcquisitionPending,
+		       ObjectClassNotDefined,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
 	{
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		RegisterObject request = new RegisterObject( HLA1516eHandle.fromHandle(theClass) );
+		UnpublishObjectClass request = new UnpublishObjectClass(HLA1516eHandle.fromHandle(theClass));
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1910,9 +1685,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			ExtendedSuccessMessage success = (ExtendedSuccessMessage)response;
-			OCInstance instance = (OCInstance)success.getResult();
-			return new HLA1516eHandle( instance.getHandle() );
+			return;
 		}
 		else
 		{
@@ -1927,9 +1700,9 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new ObjectClassNotDefined( theException );
 			}
-			else if( theException instanceof JObjectClassNotPublished )
+			else if( theException instanceof JOwnershipAcquisitionPending )
 			{
-				throw new ObjectClassNotPublished( theException );
+				throw new OwnershipAcquisitionPending( theException );
 			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
@@ -1943,20 +1716,22 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RestoreInProgress( theException );
 			}
+			else if( theException instanceof JObjectClassNotPublished )
+			{
+				// ignore! it's the 1516 spec way :(
+			}
 			else
 			{
-				logException( "registerObjectInstance", theException );
-				return null;
+				logException( "unpublishObjectClass", theException );
 			}
 		}
 	}
 
-	// 6.8
-	public ObjectInstanceHandle registerObjectInstance( ObjectClassHandle theClass,
-	                                                    String theObjectName )
-	    throws ObjectInstanceNameInUse,
-	           ObjectInstanceNameNotReserved,
-	           ObjectClassNotPublished,
+	// 5.3
+	public void unpublishObjectClassAttributes( ObjectClassHandle theClass,
+	                                            AttributeHandleSet attributeList )
+	    throws OwnershipAcquisitionPending,
+	           AttributeNotDefined,
 	           ObjectClassNotDefined,
 	           SaveInProgress,
 	           RestoreInProgress,
@@ -1967,8 +1742,9 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		RegisterObject request =
-			new RegisterObject( HLA1516eHandle.fromHandle(theClass), theObjectName );
+		int cHandle = HLA1516eHandle.fromHandle( theClass );
+		HashSet<Integer> attributes = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
+		UnpublishObjectClass request = new UnpublishObjectClass( cHandle, attributes );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -1978,9 +1754,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			ExtendedSuccessMessage success = (ExtendedSuccessMessage)response;
-			OCInstance instance = (OCInstance)success.getResult();
-			return new HLA1516eHandle( instance.getHandle() );
+			return;
 		}
 		else
 		{
@@ -1995,13 +1769,13 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new ObjectClassNotDefined( theException );
 			}
-			else if( theException instanceof JObjectClassNotPublished )
+			else if( theException instanceof JOwnershipAcquisitionPending )
 			{
-				throw new ObjectClassNotPublished( theException );
+				throw new OwnershipAcquisitionPending( theException );
 			}
-			else if( theException instanceof JObjectAlreadyRegistered )
+			else if( theException instanceof JAttributeNotDefined )
 			{
-				throw new ObjectInstanceNameInUse( theException );
+				throw new AttributeNotDefined( theException );
 			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
@@ -2015,21 +1789,20 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RestoreInProgress( theException );
 			}
+			else if( theException instanceof JObjectClassNotPublished )
+			{
+				// ignore! it's the 1516 spec way :(
+			}
 			else
 			{
-				logException( "registerObjectInstance", theException );
-				return null;
+				logException( "unpublishObjectClassAttributes", theException );
 			}
 		}
 	}
 
-	// 6.10
-	public void updateAttributeValues( ObjectInstanceHandle theObject,
-	                                   AttributeHandleValueMap theAttributes,
-	                                   byte[] tag )
-	    throws AttributeNotOwned,
-	           AttributeNotDefined,
-	           ObjectInstanceNotKnown,
+	// 5.4
+	public void publishInteractionClass( InteractionClassHandle theInteraction )
+	    throws InteractionClassNotDefined,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
@@ -2039,9 +1812,8 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		HashMap<Integer,byte[]> map = HLA1516eAttributeHandleValueMap.toJavaMap( theAttributes );
-		int objectId = HLA1516eHandle.fromHandle( theObject );
-		UpdateAttributes request = new UpdateAttributes( objectId, tag, map );
+		PublishInteractionClass request =
+			new PublishInteractionClass( HLA1516eHandle.fromHandle(theInteraction) );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -2062,17 +1834,9 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectNotKnown )
-			{
-				throw new ObjectInstanceNotKnown( theException );
-			}
-			else if( theException instanceof JAttributeNotDefined )
-			{
-				throw new AttributeNotDefined( theException );
-			}
-			else if( theException instanceof JAttributeNotOwned )
+			else if( theException instanceof JInteractionClassNotDefined )
 			{
-				throw new AttributeNotOwned( theException );
+				throw new InteractionClassNotDefined( theException );
 			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
@@ -2088,38 +1852,25 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "updateAttributeValues", theException );
+				logException( "publishInteractionClass", theException );
 			}
 		}
 	}
 
-	// 6.10
-	public MessageRetractionReturn updateAttributeValues( ObjectInstanceHandle theObject,
-	                                                      AttributeHandleValueMap theAttributes,
-	                                                      byte[] tag,
-	                                                      LogicalTime theTime )
-	    throws InvalidLogicalTime,
-	           AttributeNotOwned,
-	           AttributeNotDefined,
-	           ObjectInstanceNotKnown,
+	// 5.5
+	public void unpublishInteractionClass( InteractionClassHandle theInteraction )
+	    throws InteractionClassNotDefined,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
 	           NotConnected,
 	           RTIinternalError
 	{
-		////////////////////////////////////////////////////////
-		// 0. check that we have the right logical time class //
-		////////////////////////////////////////////////////////
-		double doubleTime = this.helper.getTime( theTime );
-
-		HashMap<Integer,byte[]> map = HLA1516eAttributeHandleValueMap.toJavaMap( theAttributes );
-		int oHandle = HLA1516eHandle.fromHandle( theObject );
-		
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		UpdateAttributes request = new UpdateAttributes( oHandle, tag, map, doubleTime );
+		UnpublishInteractionClass request =
+			new UnpublishInteractionClass( HLA1516eHandle.fromHandle(theInteraction) );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -2129,7 +1880,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			return new MessageRetractionReturn( true, new HLA1516eHandle(0) );
+			return;
 		}
 		else
 		{
@@ -2140,17 +1891,1216 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectNotKnown )
+			else if( theException instanceof JInteractionClassNotDefined )
 			{
-				throw new ObjectInstanceNotKnown( theException );
+				throw new InteractionClassNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else if( theException instanceof JInteractionClassNotPublished )
+			{
+				// ignore! it's the 1516 spec way :(
+			}
+			else
+			{
+				logException( "unpublishInteractionClass", theException );
+			}
+		}
+	}
+
+	// 5.6
+	public void subscribeObjectClassAttributes( ObjectClassHandle theClass,
+	                                            AttributeHandleSet attributeList )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		HashSet<Integer> set = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
+		int handle = HLA1516eHandle.fromHandle( theClass );
+		SubscribeObjectClass request = new SubscribeObjectClass( handle, set, true );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JAttributeNotDefined )
+			{
+				throw new AttributeNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JObjectClassNotSubscribed )
+			{
+				// ignore, for that is the 1516 way
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "subscribeObjectClassAttributes", theException );
+			}
+		}
+	}
+
+	// 5.6
+	public void subscribeObjectClassAttributes( ObjectClassHandle theClass,
+	                                            AttributeHandleSet attributeList,
+	                                            String updateRateDesignator )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
+	           InvalidUpdateRateDesignator,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		featureNotSupported( "subscribeObjectClassAttributes(updateRateDesignator)" );
+	}
+
+	// 5.6
+	public void subscribeObjectClassAttributesPassively( ObjectClassHandle theClass,
+	                                                     AttributeHandleSet attributeList )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		featureNotSupported( "subscribeObjectClassAttributesPassively()" );
+	}
+
+	// 5.6
+	public void subscribeObjectClassAttributesPassively( ObjectClassHandle theClass,
+	                                                     AttributeHandleSet attributeList,
+	                                                     String updateRateDesignator )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
+	           InvalidUpdateRateDesignator,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		featureNotSupported( "subscribeObjectClassAttributesPassively()" );
+	}
+
+	// 5.7
+	public void unsubscribeObjectClass( ObjectClassHandle theClass )
+		throws ObjectClassNotDefined,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		UnsubscribeObjectClass request =
+			new UnsubscribeObjectClass( HLA1516eHandle.fromHandle(theClass) );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JObjectClassNotSubscribed )
+			{
+				// ignore, for that is the 1516 way
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "unsucbscirbeObjectClass", theException );
+			}
+		}
+	}
+
+	// 5.7
+	public void unsubscribeObjectClassAttributes( ObjectClassHandle theClass,
+	                                              AttributeHandleSet attributeList )
+	    throws AttributeNotDefined,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		int cHandle = HLA1516eHandle.fromHandle( theClass );
+		HashSet<Integer> attributes = HLA1516eAttributeHandleSet.toJavaSet( attributeList );
+		UnsubscribeObjectClass request = new UnsubscribeObjectClass( cHandle, attributes );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JObjectClassNotSubscribed )
+			{
+				// ignore, for that is the 1516 way
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else if( theException instanceof JObjectClassNotSubscribed )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else
+			{
+				logException( "unsucbscirbeObjectClassAttributes", theException );
+			}
+		}
+	}
+
+	// 5.8
+	public void subscribeInteractionClass( InteractionClassHandle theClass )
+	    throws FederateServiceInvocationsAreBeingReportedViaMOM,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		SubscribeInteractionClass request =
+			new SubscribeInteractionClass( HLA1516eHandle.fromHandle(theClass) );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JInteractionClassNotDefined )
+			{
+				throw new InteractionClassNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JInteractionClassNotSubscribed )
+			{
+				// ignore, for that is the 1516 way
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "subscribeInteractionClass", theException );
+			}
+		}
+	}
+
+	// 5.8
+	public void subscribeInteractionClassPassively( InteractionClassHandle theClass )
+	    throws FederateServiceInvocationsAreBeingReportedViaMOM,
+	    InteractionClassNotDefined,
+	    SaveInProgress,
+	    RestoreInProgress,
+	    FederateNotExecutionMember,
+	    NotConnected,
+	    RTIinternalError
+	{
+		featureNotSupported( "subscribeInteractionClassPassively()" );
+	}
+
+	// 5.9
+	public void unsubscribeInteractionClass( InteractionClassHandle theClass )
+	    throws InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		UnsubscribeInteractionClass request =
+			new UnsubscribeInteractionClass( HLA1516eHandle.fromHandle(theClass) );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JInteractionClassNotDefined )
+			{
+				throw new InteractionClassNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JInteractionClassNotSubscribed )
+			{
+				// ignore, for that is the 1516 way
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "unsubscribeInteractionClass", theException );
+			}
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+    /////////////////////////////// Object Management Services ////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	// 6.2
+	public void reserveObjectInstanceName( String theObjectName )
+		throws IllegalName,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		ReserveObjectName request = new ReserveObjectName( theObjectName );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JIllegalName )
+			{
+				throw new IllegalName( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "reserveObjectInstanceName", theException );
+			}
+		}
+	}
+
+	// 6.4
+	public void releaseObjectInstanceName( String theObjectInstanceName )
+	    throws ObjectInstanceNameNotReserved,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		ReleaseObjectNames request = new ReleaseObjectNames( theObjectInstanceName );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectInstanceNameNotReserved )
+			{
+				throw new ObjectInstanceNameNotReserved( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "releaseObjectInstanceName", theException );
+			}
+		}
+	}
+
+	// 6.5
+	public void reserveMultipleObjectInstanceName( Set<String> theObjectNames )
+		throws IllegalName,
+		       NameSetWasEmpty,
+		       SaveInProgress,
+		       RestoreInProgress,
+		       FederateNotExecutionMember,
+		       NotConnected,
+		       RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		ReserveMultipleObjectNames request = new ReserveMultipleObjectNames( theObjectNames );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JIllegalName )
+			{
+				throw new IllegalName( theException );
+			}
+			else if( theException instanceof JNameSetWasEmpty )
+			{
+				throw new NameSetWasEmpty( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "reserveMultipleObjectInstanceName", theException );
+			}
+		}
+	}
+
+	// 6.7
+	public void releaseMultipleObjectInstanceName( Set<String> theObjectNames )
+	    throws ObjectInstanceNameNotReserved,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		ReleaseObjectNames request = new ReleaseObjectNames( theObjectNames );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectInstanceNameNotReserved )
+			{
+				throw new ObjectInstanceNameNotReserved( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "releaseMultipleObjectInstanceName", theException );
+			}
+		}
+	}
+
+	// 6.8
+	public ObjectInstanceHandle registerObjectInstance( ObjectClassHandle theClass )
+	    throws ObjectClassNotPublished,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		RegisterObject request = new RegisterObject( HLA1516eHandle.fromHandle(theClass) );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			ExtendedSuccessMessage success = (ExtendedSuccessMessage)response;
+			OCInstance instance = (OCInstance)success.getResult();
+			return new HLA1516eHandle( instance.getHandle() );
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JObjectClassNotPublished )
+			{
+				throw new ObjectClassNotPublished( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "registerObjectInstance", theException );
+				return null;
+			}
+		}
+	}
+
+	// 6.8
+	public ObjectInstanceHandle registerObjectInstance( ObjectClassHandle theClass,
+	                                                    String theObjectName )
+	    throws ObjectInstanceNameInUse,
+	           ObjectInstanceNameNotReserved,
+	           ObjectClassNotPublished,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		RegisterObject request =
+			new RegisterObject( HLA1516eHandle.fromHandle(theClass), theObjectName );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			ExtendedSuccessMessage success = (ExtendedSuccessMessage)response;
+			OCInstance instance = (OCInstance)success.getResult();
+			return new HLA1516eHandle( instance.getHandle() );
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectClassNotDefined )
+			{
+				throw new ObjectClassNotDefined( theException );
+			}
+			else if( theException instanceof JObjectClassNotPublished )
+			{
+				throw new ObjectClassNotPublished( theException );
+			}
+			else if( theException instanceof JObjectAlreadyRegistered )
+			{
+				throw new ObjectInstanceNameInUse( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "registerObjectInstance", theException );
+				return null;
+			}
+		}
+	}
+
+	// 6.10
+	public void updateAttributeValues( ObjectInstanceHandle theObject,
+	                                   AttributeHandleValueMap theAttributes,
+	                                   byte[] tag )
+	    throws AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		int objectId = HLA1516eHandle.fromHandle( theObject );
+		updateAttributeValues( newUpdate(objectId,theAttributes,tag) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order update with the values encoded in the given
+	 * session. Each value is copied out of the session's buffer once, straight into the
+	 * message that is sent, so the session can be reset and reused as soon as this returns.
+	 */
+	public void updateAttributeValues( ObjectInstanceHandle theObject,
+	                                   HLA1516eEncoderSession theAttributes,
+	                                   byte[] tag )
+	    throws AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		int objectId = HLA1516eHandle.fromHandle( theObject );
+		updateAttributeValues( newUpdate(objectId,theAttributes,tag) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order update that is already in Portico's own form.
+	 * The C++ bindings use this so they can decode straight into a message taken from the
+	 * LRC's update pool rather than building an {@link AttributeHandleValueMap} first.
+	 * The request is released once it has been processed.
+	 */
+	public void updateAttributeValues( UpdateAttributes request )
+	    throws AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		ResponseMessage response = processPooledMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectNotKnown )
+			{
+				throw new ObjectInstanceNotKnown( theException );
+			}
+			else if( theException instanceof JAttributeNotDefined )
+			{
+				throw new AttributeNotDefined( theException );
+			}
+			else if( theException instanceof JAttributeNotOwned )
+			{
+				throw new AttributeNotOwned( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "updateAttributeValues", theException );
+			}
+		}
+	}
+
+	// 6.10
+	public MessageRetractionReturn updateAttributeValues( ObjectInstanceHandle theObject,
+	                                                      AttributeHandleValueMap theAttributes,
+	                                                      byte[] tag,
+	                                                      LogicalTime theTime )
+	    throws InvalidLogicalTime,
+	           AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		////////////////////////////////////////////////////////
+		// 0. check that we have the right logical time class //
+		////////////////////////////////////////////////////////
+		double doubleTime = this.helper.getTime( theTime );
+
+		int oHandle = HLA1516eHandle.fromHandle( theObject );
+		return updateAttributeValues( newUpdate(oHandle,theAttributes,tag), doubleTime );
+	}
+
+	/**
+	 * Portico-specific: as for
+	 * {@link #updateAttributeValues(ObjectInstanceHandle, HLA1516eEncoderSession, byte[])},
+	 * except that the update is sent with the given timestamp.
+	 */
+	public MessageRetractionReturn updateAttributeValues( ObjectInstanceHandle theObject,
+	                                                      HLA1516eEncoderSession theAttributes,
+	                                                      byte[] tag,
+	                                                      LogicalTime theTime )
+	    throws InvalidLogicalTime,
+	           AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		double doubleTime = this.helper.getTime( theTime );
+		int oHandle = HLA1516eHandle.fromHandle( theObject );
+		return updateAttributeValues( newUpdate(oHandle,theAttributes,tag), doubleTime );
+	}
+
+	/**
+	 * Portico-specific: as for {@link #updateAttributeValues(UpdateAttributes)}, except that
+	 * the update is given the provided timestamp before it is sent.
+	 */
+	public MessageRetractionReturn updateAttributeValues( UpdateAttributes request, double time )
+	    throws InvalidLogicalTime,
+	           AttributeNotOwned,
+	           AttributeNotDefined,
+	           ObjectInstanceNotKnown,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		request.setTimestamp( time );
+		ResponseMessage response = processPooledMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return toRetractionReturn( response );
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JObjectNotKnown )
+			{
+				throw new ObjectInstanceNotKnown( theException );
+			}
+			else if( theException instanceof JAttributeNotDefined )
+			{
+				throw new AttributeNotDefined( theException );
+			}
+			else if( theException instanceof JAttributeNotOwned )
+			{
+				throw new AttributeNotOwned( theException );
+			}
+			else if( theException instanceof JInvalidFederationTime )
+			{
+				throw new InvalidLogicalTime( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "updateAttributeValues(LogicalTime)", theException );
+				throw new RTIinternalError( theException );
+			}
+		}
+	}
+
+	// 6.12
+	public void sendInteraction( InteractionClassHandle theInteraction,
+	                             ParameterHandleValueMap theParameters,
+	                             byte[] tag )
+	    throws InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		int interactionId = HLA1516eHandle.fromHandle( theInteraction );
+		sendInteraction( newInteraction(interactionId,theParameters,tag) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order interaction with the parameter values encoded in
+	 * the given session. As with updates, each value is copied out of the session once and
+	 * the session can be reused as soon as this returns.
+	 */
+	public void sendInteraction( InteractionClassHandle theInteraction,
+	                             HLA1516eEncoderSession theParameters,
+	                             byte[] tag )
+	    throws InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		int interactionId = HLA1516eHandle.fromHandle( theInteraction );
+		sendInteraction( newInteraction(interactionId,theParameters,tag) );
+	}
+
+	/**
+	 * Portico-specific: send a receive order interaction that is already in Portico's own form.
+	 * The C++ bindings use this so they can decode straight into a message taken from the
+	 * LRC's interaction pool rather than building a {@link ParameterHandleValueMap} first.
+	 * The request is released once it has been processed.
+	 */
+	public void sendInteraction( SendInteraction request )
+	    throws InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		ResponseMessage response = processPooledMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JInteractionClassNotDefined )
+			{
+				throw new InteractionClassNotDefined( theException );
+			}
+			else if( theException instanceof JInteractionClassNotPublished )
+			{
+				throw new InteractionClassNotPublished( theException );
+			}
+			else if( theException instanceof JInteractionParameterNotDefined )
+			{
+				throw new InteractionParameterNotDefined( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else
+			{
+				logException( "sendInteraction", theException );
+			}
+		}
+	}
+
+	// 6.12
+	public MessageRetractionReturn sendInteraction( InteractionClassHandle theInteraction,
+	                                                ParameterHandleValueMap theParameters,
+	                                                byte[] tag,
+	                                                LogicalTime theTime )
+	    throws InvalidLogicalTime,
+	           InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		////////////////////////////////////////////////////////
+		// 0. check that we have the right logical time class //
+		////////////////////////////////////////////////////////
+		double doubleTime = this.helper.getTime( theTime );
+		int iHandle = HLA1516eHandle.fromHandle( theInteraction );
+		return sendInteraction( newInteraction(iHandle,theParameters,tag), doubleTime );
+	}
+
+	/**
+	 * Portico-specific: as for
+	 * {@link #sendInteraction(InteractionClassHandle, HLA1516eEncoderSession, byte[])},
+	 * except that the interaction is sent with the given timestamp.
+	 */
+	public MessageRetractionReturn sendInteraction( InteractionClassHandle theInteraction,
+	                                                HLA1516eEncoderSession theParameters,
+	                                                byte[] tag,
+	                                                LogicalTime theTime )
+	    throws InvalidLogicalTime,
+	           InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		double doubleTime = this.helper.getTime( theTime );
+		int iHandle = HLA1516eHandle.fromHandle( theInteraction );
+		return sendInteraction( newInteraction(iHandle,theParameters,tag), doubleTime );
+	}
+
+	/**
+	 * Portico-specific: as for {@link #sendInteraction(SendInteraction)}, except that the
+	 * interaction is given the provided timestamp before it is sent.
+	 */
+	public MessageRetractionReturn sendInteraction( SendInteraction request, double time )
+	    throws InvalidLogicalTime,
+	           InteractionClassNotPublished,
+	           InteractionParameterNotDefined,
+	           InteractionClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		/////////////////////////////////////////
+		// 1. pass the message to the LRC sink //
+		/////////////////////////////////////////
+		request.setTimestamp( time );
+		ResponseMessage response = processPooledMessage( request );
+		
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// everything went fine!
+			return toRetractionReturn( response );
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JInteractionClassNotDefined )
+			{
+				throw new InteractionClassNotDefined( theException );
 			}
-			else if( theException instanceof JAttributeNotDefined )
+			else if( theException instanceof JInteractionClassNotPublished )
 			{
-				throw new AttributeNotDefined( theException );
+				throw new InteractionClassNotPublished( theException );
 			}
-			else if( theException instanceof JAttributeNotOwned )
+			else if( theException instanceof JInteractionParameterNotDefined )
 			{
-				throw new AttributeNotOwned( theException );
+				throw new InteractionParameterNotDefined( theException );
 			}
 			else if( theException instanceof JInvalidFederationTime )
 			{
@@ -2170,19 +3120,16 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "updateAttributeValues(LogicalTime)", theException );
+				logException( "sentInteraction(LogicalTime)", theException );
 				throw new RTIinternalError( theException );
 			}
 		}
 	}
 
-	// 6.12
-	public void sendInteraction( InteractionClassHandle theInteraction,
-	                             ParameterHandleValueMap theParameters,
-	                             byte[] tag )
-	    throws InteractionClassNotPublished,
-	           InteractionParameterNotDefined,
-	           InteractionClassNotDefined,
+	// 6.14
+	public void deleteObjectInstance( ObjectInstanceHandle objectHandle, byte[] userSuppliedTag )
+	    throws DeletePrivilegeNotHeld,
+	           ObjectInstanceNotKnown,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
@@ -2192,9 +3139,8 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		HashMap<Integer,byte[]> map = HLA1516eParameterHandleValueMap.toJavaMap( theParameters ); 
-		int interactionId = HLA1516eHandle.fromHandle( theInteraction );
-		SendInteraction request = new SendInteraction( interactionId, tag, map );
+		DeleteObject request =
+			new DeleteObject( HLA1516eHandle.fromHandle(objectHandle), userSuppliedTag );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -2215,17 +3161,13 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
-			else if( theException instanceof JInteractionClassNotPublished )
+			else if( theException instanceof JObjectNotKnown )
 			{
-				throw new InteractionClassNotPublished( theException );
+				throw new ObjectInstanceNotKnown( theException );
 			}
-			else if( theException instanceof JInteractionParameterNotDefined )
+			else if( theException instanceof JDeletePrivilegeNotHeld )
 			{
-				throw new InteractionParameterNotDefined( theException );
+				throw new DeletePrivilegeNotHeld( theException );
 			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
@@ -2241,20 +3183,18 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "sendInteraction", theException );
+				logException( "deleteObjectInstance", theException );
 			}
 		}
 	}
 
-	// 6.12
-	public MessageRetractionReturn sendInteraction( InteractionClassHandle theInteraction,
-	                                                ParameterHandleValueMap theParameters,
-	                                                byte[] tag,
-	                                                LogicalTime theTime )
+	// 6.14
+	public MessageRetractionReturn deleteObjectInstance( ObjectInstanceHandle objectHandle,
+	                                                     byte[] userSuppliedTag,
+	                                                     LogicalTime theTime )
 	    throws InvalidLogicalTime,
-	           InteractionClassNotPublished,
-	           InteractionParameterNotDefined,
-	           InteractionClassNotDefined,
+	           DeletePrivilegeNotHeld,
+	           ObjectInstanceNotKnown,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
@@ -2264,16 +3204,15 @@ public class Rti1516eAmbassador implements RTIambassador
 		////////////////////////////////////////////////////////
 		// 0. check that we have the right logical time class //
 		////////////////////////////////////////////////////////
-		double doubleTime = this.helper.getTime( theTime );
-		HashMap<Integer,byte[]> map = HLA1516eParameterHandleValueMap.toJavaMap( theParameters );
-		int iHandle = HLA1516eHandle.fromHandle( theInteraction );
-
+		double time = this.helper.getTime( theTime );
+		int oHandle = HLA1516eHandle.fromHandle( objectHandle );
+		
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		SendInteraction request = new SendInteraction( iHandle, tag, map, doubleTime );
+		DeleteObject request = new DeleteObject( oHandle, userSuppliedTag, time );
 		ResponseMessage response = processMessage( request );
-		
+
 		////////////////////////////
 		// 2. process the results //
 		////////////////////////////
@@ -2281,7 +3220,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			return new MessageRetractionReturn( true, new HLA1516eHandle(0) );
+			return toRetractionReturn( response );
 		}
 		else
 		{
@@ -2292,17 +3231,13 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JInteractionClassNotDefined )
-			{
-				throw new InteractionClassNotDefined( theException );
-			}
-			else if( theException instanceof JInteractionClassNotPublished )
+			else if( theException instanceof JObjectNotKnown )
 			{
-				throw new InteractionClassNotPublished( theException );
+				throw new ObjectInstanceNotKnown( theException );
 			}
-			else if( theException instanceof JInteractionParameterNotDefined )
+			else if( theException instanceof JDeletePrivilegeNotHeld )
 			{
-				throw new InteractionParameterNotDefined( theException );
+				throw new DeletePrivilegeNotHeld( theException );
 			}
 			else if( theException instanceof JInvalidFederationTime )
 			{
@@ -2322,16 +3257,54 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "sentInteraction(LogicalTime)", theException );
-				throw new RTIinternalError( theException );
+				logException( "deleteObjectInstance", theException );
+				return null;
 			}
 		}
 	}
 
-	// 6.14
-	public void deleteObjectInstance( ObjectInstanceHandle objectHandle, byte[] userSuppliedTag )
-	    throws DeletePrivilegeNotHeld,
-	           ObjectInstanceNotKnown,
+	///////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Bulk Object Management ///////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Portico-specific: register <code>count</code> instances of the given class with RTI
+	 * generated names in a single request. See {@link IBulkObjectManagement}.
+	 */
+	public ObjectInstanceHandle[] registerObjectInstances( ObjectClassHandle theClass, int count )
+	    throws ObjectClassNotPublished,
+	           ObjectClassNotDefined,
+	           SaveInProgress,
+	           RestoreInProgress,
+	           FederateNotExecutionMember,
+	           NotConnected,
+	           RTIinternalError
+	{
+		try
+		{
+			return registerObjectInstances( theClass, new String[Math.max(0,count)] );
+		}
+		catch( ObjectInstanceNameInUse niu )
+		{
+			// can't happen, all the names are generated for us
+			throw new RTIinternalError( niu.getMessage(), niu );
+		}
+		catch( ObjectInstanceNameNotReserved nnr )
+		{
+			throw new RTIinternalError( nnr.getMessage(), nnr );
+		}
+	}
+
+	/**
+	 * Portico-specific: register one instance of the given class for each of the given names in
+	 * a single request. A <code>null</code> name has one generated for it by the RTI. See
+	 * {@link IBulkObjectManagement}.
+	 */
+	public ObjectInstanceHandle[] registerObjectInstances( ObjectClassHandle theClass,
+	                                                       String[] theObjectNames )
+	    throws ObjectInstanceNameInUse,
+	           ObjectInstanceNameNotReserved,
+	           ObjectClassNotPublished,
+	           ObjectClassNotDefined,
 	           SaveInProgress,
 	           RestoreInProgress,
 	           FederateNotExecutionMember,
@@ -2341,8 +3314,8 @@ public class Rti1516eAmbassador implements RTIambassador
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		DeleteObject request =
-			new DeleteObject( HLA1516eHandle.fromHandle(objectHandle), userSuppliedTag );
+		RegisterObjects request =
+			new RegisterObjects( HLA1516eHandle.fromHandle(theClass), theObjectNames );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -2352,7 +3325,12 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			return;
+			OCInstance[] instances = (OCInstance[])response.getResult();
+			ObjectInstanceHandle[] handles = new ObjectInstanceHandle[instances.length];
+			for( int i = 0; i < instances.length; i++ )
+				handles[i] = new HLA1516eHandle( instances[i].getHandle() );
+
+			return handles;
 		}
 		else
 		{
@@ -2363,13 +3341,17 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new RTIinternalError( theException );
 			}
-			else if( theException instanceof JObjectNotKnown )
+			else if( theException instanceof JObjectClassNotDefined )
 			{
-				throw new ObjectInstanceNotKnown( theException );
+				throw new ObjectClassNotDefined( theException );
 			}
-			else if( theException instanceof JDeletePrivilegeNotHeld )
+			else if( theException instanceof JObjectClassNotPublished )
 			{
-				throw new DeletePrivilegeNotHeld( theException );
+				throw new ObjectClassNotPublished( theException );
+			}
+			else if( theException instanceof JObjectAlreadyRegistered )
+			{
+				throw new ObjectInstanceNameInUse( theException );
 			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
@@ -2385,17 +3367,18 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "deleteObjectInstance", theException );
+				logException( "registerObjectInstances", theException );
+				return null;
 			}
 		}
 	}
 
-	// 6.14
-	public MessageRetractionReturn deleteObjectInstance( ObjectInstanceHandle objectHandle,
-	                                                     byte[] userSuppliedTag,
-	                                                     LogicalTime theTime )
-	    throws InvalidLogicalTime,
-	           DeletePrivilegeNotHeld,
+	/**
+	 * Portico-specific: delete all the given objects in a single request. See
+	 * {@link IBulkObjectManagement}.
+	 */
+	public void deleteObjectInstances( ObjectInstanceHandle[] theObjects, byte[] userSuppliedTag )
+	    throws DeletePrivilegeNotHeld,
 	           ObjectInstanceNotKnown,
 	           SaveInProgress,
 	           RestoreInProgress,
@@ -2403,16 +3386,14 @@ public class Rti1516eAmbassador implements RTIambassador
 	           NotConnected,
 	           RTIinternalError
 	{
-		////////////////////////////////////////////////////////
-		// 0. check that we have the right logical time class //
-		////////////////////////////////////////////////////////
-		double time = this.helper.getTime( theTime );
-		int oHandle = HLA1516eHandle.fromHandle( objectHandle );
-		
 		///////////////////////////////////////////////////////
 		// 1. create the message and pass it to the LRC sink //
 		///////////////////////////////////////////////////////
-		DeleteObject request = new DeleteObject( oHandle, userSuppliedTag, time );
+		int[] handles = new int[theObjects.length];
+		for( int i = 0; i < theObjects.length; i++ )
+			handles[i] = HLA1516eHandle.fromHandle( theObjects[i] );
+
+		DeleteObjects request = new DeleteObjects( handles, userSuppliedTag );
 		ResponseMessage response = processMessage( request );
 
 		////////////////////////////
@@ -2422,7 +3403,7 @@ public class Rti1516eAmbassador implements RTIambassador
 		if( response.isError() == false )
 		{
 			// everything went fine!
-			return new MessageRetractionReturn( true, new HLA1516eHandle(0) );
+			return;
 		}
 		else
 		{
@@ -2441,10 +3422,6 @@ public class Rti1516eAmbassador implements RTIambassador
 			{
 				throw new DeletePrivilegeNotHeld( theException );
 			}
-			else if( theException instanceof JInvalidFederationTime )
-			{
-				throw new InvalidLogicalTime( theException );
-			}
 			else if( theException instanceof JFederateNotExecutionMember )
 			{
 				throw new FederateNotExecutionMember( theException );
@@ -2459,8 +3436,7 @@ public class Rti1516eAmbassador implements RTIambassador
 			}
 			else
 			{
-				logException( "deleteObjectInstance", theException );
-				return null;
+				logException( "deleteObjectInstances", theException );
 			}
 		}
 	}
@@ -4410,7 +5386,59 @@ public class Rti1516eAmbassador implements RTIambassador
 		       NotConnected,
 		       RTIinternalError
 	{
-		featureNotSupported( "retract()" );
+		///////////////////////////////////////////////////////
+		// 1. create the message and pass it to the LRC sink //
+		///////////////////////////////////////////////////////
+		Retract request = new Retract( HLA1516eHandle.fromHandle(theHandle) );
+		ResponseMessage response = processMessage( request );
+
+		////////////////////////////
+		// 2. process the results //
+		////////////////////////////
+		// check to see if we got an error or a success
+		if( response.isError() == false )
+		{
+			// request was fine
+			return;
+		}
+		else
+		{
+			// an exception was caused :(
+			Throwable theException = ((ErrorResponse)response).getCause();
+
+			if( theException instanceof JRTIinternalError )
+			{
+				throw new RTIinternalError( theException );
+			}
+			else if( theException instanceof JInvalidRetractionHandle )
+			{
+				throw new InvalidMessageRetractionHandle( theException );
+			}
+			else if( theException instanceof JMessageCanNoLongerBeRetracted )
+			{
+				throw new MessageCanNoLongerBeRetracted( theException );
+			}
+			else if( theException instanceof JTimeRegulationWasNotEnabled )
+			{
+				throw new TimeRegulationIsNotEnabled( theException );
+			}
+			else if( theException instanceof JSaveInProgress )
+			{
+				throw new SaveInProgress( theException );
+			}
+			else if( theException instanceof JRestoreInProgress )
+			{
+				throw new RestoreInProgress( theException );
+			}
+			else if( theException instanceof JFederateNotExecutionMember )
+			{
+				throw new FederateNotExecutionMember( theException );
+			}
+			else
+			{
+				logException( "retract", theException );
+			}
+		}
 	}
 
 	// 8.23
@@ -5567,6 +6595,138 @@ public class Rti1516eAmbassador implements RTIambassador
 		}
 	}
 	
+	/**
+	 * Same as {@link #processMessage(PorticoMessage)}, except that the request is released once
+	 * processing is finished, letting it go back to its pool if it came from one
+	 */
+	private ResponseMessage processPooledMessage( PooledMessage request ) throws NotConnected
+	{
+		try
+		{
+			return processMessage( request );
+		}
+		finally
+		{
+			request.release();
+		}
+	}
+
+	/**
+	 * Turn the response to a timestamped update, interaction or delete into the return value
+	 * for it. The LRC hands back the retraction handle as the result, which is
+	 * {@link PorticoConstants#NULL_HANDLE} if the message can't be retracted (it wasn't sent
+	 * TSO by a regulating federate).
+	 */
+	private MessageRetractionReturn toRetractionReturn( ResponseMessage response )
+	{
+		int handle = PorticoConstants.NULL_HANDLE;
+		if( response instanceof ExtendedSuccessMessage )
+		{
+			Integer result = ((ExtendedSuccessMessage)response).getResult( Integer.class );
+			if( result != null )
+				handle = result;
+		}
+
+		return new MessageRetractionReturn( handle != PorticoConstants.NULL_HANDLE,
+		                                    new HLA1516eHandle(handle) );
+	}
+
+	/**
+	 * Take an {@link UpdateAttributes} from the LRC's pool and fill it out. The caller must
+	 * release it once it has been processed.
+	 */
+	private UpdateAttributes newUpdate( int objectId,
+	                                    AttributeHandleValueMap attributes,
+	                                    byte[] tag )
+		throws RTIinternalError
+	{
+		UpdateAttributes request = helper.getLrc().getUpdatePool().acquire();
+		try
+		{
+			request.setObjectId( objectId );
+			request.setTag( tag );
+			HLA1516eAttributeHandleValueMap.toJavaMap( attributes, request.getAttributes() );
+			return request;
+		}
+		catch( RTIinternalError rtie )
+		{
+			request.release();
+			throw rtie;
+		}
+	}
+
+	/**
+	 * As for {@link #newUpdate(int, AttributeHandleValueMap, byte[])}, but with the values
+	 * copied out of an encoder session.
+	 */
+	private UpdateAttributes newUpdate( int objectId,
+	                                    HLA1516eEncoderSession attributes,
+	                                    byte[] tag )
+		throws RTIinternalError
+	{
+		UpdateAttributes request = helper.getLrc().getUpdatePool().acquire();
+		try
+		{
+			request.setObjectId( objectId );
+			request.setTag( tag );
+			attributes.toJavaMap( request.getAttributes() );
+			return request;
+		}
+		catch( EncoderException ee )
+		{
+			request.release();
+			throw new RTIinternalError( ee.getMessage(), ee );
+		}
+	}
+
+	/**
+	 * Take a {@link SendInteraction} from the LRC's pool and fill it out. The caller must
+	 * release it once it has been processed.
+	 */
+	private SendInteraction newInteraction( int interactionId,
+	                                        ParameterHandleValueMap parameters,
+	                                        byte[] tag )
+		throws RTIinternalError
+	{
+		SendInteraction request = helper.getLrc().getInteractionPool().acquire();
+		try
+		{
+			request.setInteractionId( interactionId );
+			request.setTag( tag );
+			HLA1516eParameterHandleValueMap.toJavaMap( parameters, request.getParameters() );
+			return request;
+		}
+		catch( RTIinternalError rtie )
+		{
+			request.release();
+			throw rtie;
+		}
+	}
+
+	/**
+	 * As for {@link #newInteraction(int, ParameterHandleValueMap, byte[])}, but with the
+	 * values copied out of an encoder session.
+	 */
+	private SendInteraction newInteraction( int interactionId,
+	                                        HLA1516eEncoderSession parameters,
+	                                        byte[] tag )
+		throws RTIinternalError
+	{
+		SendInteraction request = helper.getLrc().getInteractionPool().acquire();
+		try
+		{
+			request.setInteractionId( interactionId );
+			request.setTag( tag );
+			parameters.toJavaMap( request.getParameters() );
+			return request;
+		}
+		catch( EncoderException ee )
+		{
+			request.release();
+			throw new RTIinternalError( ee.getMessage(), ee );
+		}
+	}
+
 	/**
 	 * This method prints the stack trace for the exception and then throws an RTIinternalError 
 	 */
@@ -20,6 +20,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.apache.log4j.Logger;
 import org.portico.impl.HLAVersion;
 import org.portico.lrc.compat.JCouldNotOpenFED;
 import org.portico.lrc.compat.JErrorReadingFED;
@@ -30,6 +31,14 @@ import org.portico.lrc.model.ObjectModel;
 import org.portico.lrc.model.Order;
 import org.portico.lrc.model.PCMetadata;
 import org.portico.lrc.model.Transport;
+import org.portico.lrc.model.datatype.ArrayType;
+import org.portico.lrc.model.datatype.BasicType;
+import org.portico.lrc.model.datatype.Endianness;
+import org.portico.lrc.model.datatype.EnumeratedType;
+import org.portico.lrc.model.datatype.FixedRecordType;
+import org.portico.lrc.model.datatype.IDatatype;
+import org.portico.lrc.model.datatype.SimpleType;
+import org.portico.lrc.model.datatype.VariantRecordType;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
@@ -72,6 +81,7 @@ public class FOM
 		Element objectsElement = null;
 		Element interactionsElement = null;
 		Element dimensionsElement = null;
+		Element dataTypesElement = null;
 		for( Element temp : getChildElements(element) )
 		{
 			if( temp.getTagName().equals("objects") )
@@ -80,6 +90,8 @@ public class FOM
 				interactionsElement = temp;
 			else if( temp.getTagName().equals("dimensions") )
 				dimensionsElement = temp;
+			else if( temp.getTagName().equals("dataTypes") )
+				dataTypesElement = temp;
 			else
 				continue; // ignore
 		}
@@ -115,10 +127,156 @@ public class FOM
 			
 		}
 
+		// extract the data types
+		if( dataTypesElement != null )
+			this.extractDatatypes( dataTypesElement );
+
 		// return the completed FOM
 		return this.fom;
 	}
 
+	////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Datatype Methods ////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Read each of the tables in the <code>dataTypes</code> element and add a type to the model
+	 * for every entry. Types refer to one another by name, so no attempt is made to check that
+	 * the types they use exist (they may be declared in another module, or be one of the types
+	 * predefined by the standard).
+	 * <p/>
+	 * Data types were ignored entirely by earlier versions of the parser, so rather than fail
+	 * the whole FOM, any entry we can't make sense of is logged and skipped.
+	 */
+	private void extractDatatypes( Element dataTypesElement )
+	{
+		for( Element table : getChildElements(dataTypesElement) )
+		{
+			for( Element entry : getChildElements(table) )
+			{
+				try
+				{
+					IDatatype datatype = extractDatatype( entry );
+					if( datatype != null )
+						fom.addDatatype( datatype );
+				}
+				catch( JErrorReadingFED error )
+				{
+					Logger.getLogger("portico.lrc").warn( "Skipping data type: "+error.getMessage() );
+				}
+			}
+		}
+	}
+
+	/**
+	 * Create the data type described by a single entry in one of the data type tables. Returns
+	 * null for elements that aren't data types.
+	 */
+	private IDatatype extractDatatype( Element element ) throws JErrorReadingFED
+	{
+		String tag = element.getTagName();
+		if( tag.equals("basicData") )
+		{
+			String name = getChildValue( element, "name" );
+			String size = getChildValue( element, "size", name );
+			String endian = getChildValueForgiving( element, "endian", name );
+			return new BasicType( name, parseInt(size,name), Endianness.fromFomString(endian) );
+		}
+		else if( tag.equals("simpleData") )
+		{
+			String name = getChildValue( element, "name" );
+			return new SimpleType( name, getChildValue(element,"representation",name) );
+		}
+		else if( tag.equals("enumeratedData") )
+		{
+			String name = getChildValue( element, "name" );
+			EnumeratedType type = new EnumeratedType( name,
+			                                          getChildValue(element,"representation",name) );
+			for( Element enumerator : getAllChildElements(element,"enumerator") )
+			{
+				// an enumerator can list more than one value, we only use the first
+				String enumeratorName = getChildValue( enumerator, "name", name );
+				String value = getChildValue( enumerator, "value", enumeratorName );
+				type.addEnumerator( enumeratorName, parseLong(value.split(",")[0],name) );
+			}
+
+			return type;
+		}
+		else if( tag.equals("arrayData") )
+		{
+			String name = getChildValue( element, "name" );
+			String cardinality = getChildValue( element, "cardinality", name );
+			return new ArrayType( name,
+			                      getChildValue(element,"dataType",name),
+			                      ArrayType.parseCardinality(cardinality),
+			                      getChildValue(element,"encoding",name) );
+		}
+		else if( tag.equals("fixedRecordData") )
+		{
+			String name = getChildValue( element, "name" );
+			FixedRecordType type = new FixedRecordType( name );
+			for( Element field : getAllChildElements(element,"field") )
+			{
+				String fieldName = getChildValue( field, "name", name );
+				type.addField( fieldName, getChildValue(field,"dataType",fieldName) );
+			}
+
+			return type;
+		}
+		else if( tag.equals("variantRecordData") )
+		{
+			String name = getChildValue( element, "name" );
+			VariantRecordType type = new VariantRecordType( name,
+			                                                getChildValue(element,"discriminant",name),
+			                                                getChildValue(element,"dataType",name) );
+			for( Element alternative : getAllChildElements(element,"alternative") )
+			{
+				List<String> enumerators = new ArrayList<String>();
+				String enumeratorList = getChildValue( alternative, "enumerator", name );
+				for( String enumerator : enumeratorList.split(",") )
+					enumerators.add( enumerator.trim() );
+
+				// alternatives with no value have a type of "NA" (or nothing at all)
+				String datatype = getChildValueForgiving( alternative, "dataType", name );
+				if( datatype != null && (datatype.equals("NA") || datatype.isEmpty()) )
+					datatype = null;
+
+				type.addAlternative( enumerators,
+				                     getChildValueForgiving(alternative,"name",name),
+				                     datatype );
+			}
+
+			return type;
+		}
+		else
+		{
+			return null;
+		}
+	}
+
+	private int parseInt( String value, String typeName ) throws JErrorReadingFED
+	{
+		try
+		{
+			return Integer.parseInt( value.trim() );
+		}
+		catch( NumberFormatException nfe )
+		{
+			throw new JErrorReadingFED( "Invalid number ["+value+"] in data type "+typeName );
+		}
+	}
+
+	private long parseLong( String value, String typeName ) throws JErrorReadingFED
+	{
+		try
+		{
+			return Long.parseLong( value.trim() );
+		}
+		catch( NumberFormatException nfe )
+		{
+			throw new JErrorReadingFED( "Invalid number ["+value+"] in data type "+typeName );
+		}
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////////
 	/////////////////////////////////// Object Class Methods ///////////////////////////////////
 	////////////////////////////////////////////////////////////////////////////////////////////
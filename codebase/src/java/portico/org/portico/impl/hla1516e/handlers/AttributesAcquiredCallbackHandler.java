@@ -56,7 +56,9 @@ public class AttributesAcquiredCallbackHandler extends HLA1516eCallbackHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		OwnershipAcquired acquired = context.getRequest( OwnershipAcquired.class, this );
-		vetoUnlessFromUs( acquired );
+		if( vetoUnlessFromUs(context,acquired) )
+			return;
+
 		int objectHandle = acquired.getObjectHandle();
 		Set<Integer> attributes = acquired.getAttributeHandles();
 
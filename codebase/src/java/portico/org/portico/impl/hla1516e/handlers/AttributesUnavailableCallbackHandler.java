@@ -53,7 +53,9 @@ public class AttributesUnavailableCallbackHandler extends HLA1516eCallbackHandle
 	public void process( MessageContext context ) throws Exception
 	{
 		AttributesUnavailable unavailable = context.getRequest( AttributesUnavailable.class, this );
-		vetoUnlessFromUs( unavailable );
+		if( vetoUnlessFromUs(context,unavailable) )
+			return;
+
 		int objectHandle = unavailable.getObjectHandle();
 		Set<Integer> attributes = unavailable.getAttributeHandles();
 		
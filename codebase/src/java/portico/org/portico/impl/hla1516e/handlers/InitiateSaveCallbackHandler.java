@@ -55,11 +55,24 @@ public class InitiateSaveCallbackHandler extends HLA1516eCallbackHandler
 		SaveRequest request = context.getRequest( SaveRequest.class, this );
 		String label = request.getLabel();
 
-		if( logger.isTraceEnabled() )
-			logger.trace( "CALLBACK initiateFederateSave(label="+label+")" );
+		// do the callback, passing the save time along if the save was scheduled for one
+		if( request.isTimestamped() )
+		{
+			if( logger.isTraceEnabled() )
+			{
+				logger.trace( "CALLBACK initiateFederateSave(label="+label+",time="+
+				              request.getTimestamp()+")" );
+			}
+
+			fedamb().initiateFederateSave( label, helper.getLogicalTime(request.getTimestamp()) );
+		}
+		else
+		{
+			if( logger.isTraceEnabled() )
+				logger.trace( "CALLBACK initiateFederateSave(label="+label+")" );
 
-		// do the callback
-		fedamb().initiateFederateSave( label );
+			fedamb().initiateFederateSave( label );
+		}
 
 		context.success();
 		
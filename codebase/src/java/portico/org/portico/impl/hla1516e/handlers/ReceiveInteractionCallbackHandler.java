@@ -83,14 +83,30 @@ public class ReceiveInteractionCallbackHandler extends HLA1516eCallbackHandler
 			}
 			
 			LogicalTime time = helper.getLogicalTime( timestamp );
-			fedamb().receiveInteraction( new HLA1516eHandle(classHandle),
-			                             received,                  // map
-			                             request.getTag(),          // tag
-			                             OrderType.TIMESTAMP,       // sent order
-			                             RELIABLE,                  // transport
-			                             time,                      // time 
-			                             OrderType.TIMESTAMP,       // received order
-			                             supplement );              // supplemental receive info
+			if( request.isRetractable() )
+			{
+				HLA1516eHandle retraction = new HLA1516eHandle( request.getRetractionHandle() );
+				fedamb().receiveInteraction( new HLA1516eHandle(classHandle),
+				                             received,                  // map
+				                             request.getTag(),          // tag
+				                             OrderType.TIMESTAMP,       // sent order
+				                             RELIABLE,                  // transport
+				                             time,                      // time 
+				                             OrderType.TIMESTAMP,       // received order
+				                             retraction,                // retraction handle
+				                             supplement );              // supplemental receive info
+			}
+			else
+			{
+				fedamb().receiveInteraction( new HLA1516eHandle(classHandle),
+				                             received,                  // map
+				                             request.getTag(),          // tag
+				                             OrderType.TIMESTAMP,       // sent order
+				                             RELIABLE,                  // transport
+				                             time,                      // time 
+				                             OrderType.TIMESTAMP,       // received order
+				                             supplement );              // supplemental receive info
+			}
 		}
 		else
 		{
@@ -83,14 +83,30 @@ public class ReflectAttributesCallbackHandler extends HLA1516eCallbackHandler
 			}
 
 			LogicalTime time = helper.getLogicalTime( timestamp );
-			fedamb().reflectAttributeValues( new HLA1516eHandle(objectHandle),
-			                                 reflected,                 // attributes
-			                                 request.getTag(),          // tag
-			                                 OrderType.TIMESTAMP,       // sent order
-			                                 RELIABLE,                  // transport
-			                                 time,                      // time
-			                                 OrderType.TIMESTAMP,       // received order
-			                                 supplement );              // supplemental reflect info
+			if( request.isRetractable() )
+			{
+				HLA1516eHandle retraction = new HLA1516eHandle( request.getRetractionHandle() );
+				fedamb().reflectAttributeValues( new HLA1516eHandle(objectHandle),
+				                                 reflected,                 // attributes
+				                                 request.getTag(),          // tag
+				                                 OrderType.TIMESTAMP,       // sent order
+				                                 RELIABLE,                  // transport
+				                                 time,                      // time
+				                                 OrderType.TIMESTAMP,       // received order
+				                                 retraction,                // retraction handle
+				                                 supplement );              // supplemental reflect info
+			}
+			else
+			{
+				fedamb().reflectAttributeValues( new HLA1516eHandle(objectHandle),
+				                                 reflected,                 // attributes
+				                                 request.getTag(),          // tag
+				                                 OrderType.TIMESTAMP,       // sent order
+				                                 RELIABLE,                  // transport
+				                                 time,                      // time
+				                                 OrderType.TIMESTAMP,       // received order
+				                                 supplement );              // supplemental reflect info
+			}
 		}
 		else
 		{
@@ -73,12 +73,26 @@ public class RemoveObjectCallbackHandler extends HLA1516eCallbackHandler
 			}
 
 			LogicalTime time = helper.getLogicalTime( timestamp );
-			fedamb().removeObjectInstance( new HLA1516eHandle(objectHandle),
-			                               request.getTag(),           // tag
-			                               OrderType.TIMESTAMP,        // sent order
-			                               time,                       // time
-			                               OrderType.TIMESTAMP,        // received order
-			                               supplement );               // supplemental remove info
+			if( request.isRetractable() )
+			{
+				HLA1516eHandle retraction = new HLA1516eHandle( request.getRetractionHandle() );
+				fedamb().removeObjectInstance( new HLA1516eHandle(objectHandle),
+				                               request.getTag(),           // tag
+				                               OrderType.TIMESTAMP,        // sent order
+				                               time,                       // time
+				                               OrderType.TIMESTAMP,        // received order
+				                               retraction,                 // retraction handle
+				                               supplement );               // supplemental remove info
+			}
+			else
+			{
+				fedamb().removeObjectInstance( new HLA1516eHandle(objectHandle),
+				                               request.getTag(),           // tag
+				                               OrderType.TIMESTAMP,        // sent order
+				                               time,                       // time
+				                               OrderType.TIMESTAMP,        // received order
+				                               supplement );               // supplemental remove info
+			}
 		}
 		else
 		{
@@ -0,0 +1,74 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.handlers;
+
+import java.util.Map;
+
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.lrc.services.time.msg.RequestRetraction;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Generates requestRetraction() callbacks to a IEEE-1516e compliant federate ambassador when the
+ * sender of a TSO message the federate has already received retracts it
+ */
+@MessageHandler(modules="lrc1516e-callback",
+                keywords= {"lrc1516e"},
+                sinks="incoming",
+                priority=3,
+                messages=RequestRetraction.class)
+public class RequestRetractionCallbackHandler extends HLA1516eCallbackHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		RequestRetraction request = context.getRequest( RequestRetraction.class, this );
+		int handle = request.getRetractionHandle();
+		if( logger.isTraceEnabled() )
+			logger.trace( "CALLBACK requestRetraction(handle="+handle+")" );
+
+		fedamb().requestRetraction( new HLA1516eHandle(handle) );
+
+		// mark the call as successful
+		context.success();
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "         requestRetraction() callback complete" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
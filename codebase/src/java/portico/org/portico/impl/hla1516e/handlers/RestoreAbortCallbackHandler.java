@@ -0,0 +1,73 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.handlers;
+
+import hla.rti1516e.RestoreFailureReason;
+
+import java.util.Map;
+
+import org.portico.lrc.services.saverestore.msg.RestoreAbort;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Generates federationNotRestored() callbacks to a IEEE-1516e compliant federate ambassador when a
+ * federation restore is aborted
+ */
+@MessageHandler(modules="lrc1516e-callback",
+                keywords= {"lrc1516e"},
+                sinks="incoming",
+                priority=3,
+                messages=RestoreAbort.class)
+public class RestoreAbortCallbackHandler extends HLA1516eCallbackHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		if( logger.isTraceEnabled() )
+			logger.trace( "CALLBACK federationNotRestored(reason=RESTORE_ABORTED)" );
+
+		fedamb().federationNotRestored( RestoreFailureReason.RESTORE_ABORTED );
+
+		// mark the call as successful
+		context.success();
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "         federationNotRestored() callback complete" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
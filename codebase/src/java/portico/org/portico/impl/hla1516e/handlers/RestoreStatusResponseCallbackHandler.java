@@ -0,0 +1,106 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.handlers;
+
+import hla.rti1516e.FederateRestoreStatus;
+import hla.rti1516e.RestoreStatus;
+
+import java.util.Map;
+
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.lrc.services.saverestore.data.SRStatus;
+import org.portico.lrc.services.saverestore.msg.RestoreStatusResponse;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Generates federationRestoreStatusResponse() callbacks to a IEEE-1516e compliant federate
+ * ambassador
+ */
+@MessageHandler(modules="lrc1516e-callback",
+                keywords= {"lrc1516e"},
+                sinks="incoming",
+                priority=3,
+                messages=RestoreStatusResponse.class)
+public class RestoreStatusResponseCallbackHandler extends HLA1516eCallbackHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		RestoreStatusResponse response = context.getRequest( RestoreStatusResponse.class, this );
+		Map<Integer,SRStatus> statuses = response.getStatuses();
+
+		// federates keep their handles across a restore, so pre and post handles are the same
+		FederateRestoreStatus[] restoreStatus = new FederateRestoreStatus[statuses.size()];
+		int index = 0;
+		for( Integer federateHandle : statuses.keySet() )
+		{
+			HLA1516eHandle handle = new HLA1516eHandle( federateHandle );
+			RestoreStatus status = toRestoreStatus( statuses.get(federateHandle) );
+			restoreStatus[index++] = new FederateRestoreStatus( handle, handle, status );
+		}
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "CALLBACK federationRestoreStatusResponse(statuses="+statuses+")" );
+
+		fedamb().federationRestoreStatusResponse( restoreStatus );
+
+		// mark the call as successful
+		context.success();
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "         federationRestoreStatusResponse() callback complete" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	private static RestoreStatus toRestoreStatus( SRStatus status )
+	{
+		switch( status )
+		{
+			case REQUESTED:
+				return RestoreStatus.FEDERATE_RESTORE_REQUEST_PENDING;
+			case INITIATED:
+				return RestoreStatus.FEDERATE_WAITING_FOR_RESTORE_TO_BEGIN;
+			case BEGUN:
+				return RestoreStatus.FEDERATE_RESTORING;
+			case COMPLETE:
+			case NOT_COMPLETE:
+				return RestoreStatus.FEDERATE_WAITING_FOR_FEDERATION_TO_RESTORE;
+			default:
+				return RestoreStatus.NO_RESTORE_IN_PROGRESS;
+		}
+	}
+}
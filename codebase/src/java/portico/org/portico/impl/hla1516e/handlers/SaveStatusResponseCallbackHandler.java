@@ -0,0 +1,104 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.handlers;
+
+import hla.rti1516e.FederateHandleSaveStatusPair;
+import hla.rti1516e.SaveStatus;
+
+import java.util.Map;
+
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.lrc.services.saverestore.data.SRStatus;
+import org.portico.lrc.services.saverestore.msg.SaveStatusResponse;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Generates federationSaveStatusResponse() callbacks to a IEEE-1516e compliant federate
+ * ambassador
+ */
+@MessageHandler(modules="lrc1516e-callback",
+                keywords= {"lrc1516e"},
+                sinks="incoming",
+                priority=3,
+                messages=SaveStatusResponse.class)
+public class SaveStatusResponseCallbackHandler extends HLA1516eCallbackHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		SaveStatusResponse response = context.getRequest( SaveStatusResponse.class, this );
+		Map<Integer,SRStatus> statuses = response.getStatuses();
+
+		FederateHandleSaveStatusPair[] pairs = new FederateHandleSaveStatusPair[statuses.size()];
+		int index = 0;
+		for( Integer federateHandle : statuses.keySet() )
+		{
+			SaveStatus status = toSaveStatus( statuses.get(federateHandle) );
+			pairs[index++] = new FederateHandleSaveStatusPair( new HLA1516eHandle(federateHandle),
+			                                                   status );
+		}
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "CALLBACK federationSaveStatusResponse(statuses="+statuses+")" );
+
+		fedamb().federationSaveStatusResponse( pairs );
+
+		// mark the call as successful
+		context.success();
+
+		if( logger.isTraceEnabled() )
+			logger.trace( "         federationSaveStatusResponse() callback complete" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	private static SaveStatus toSaveStatus( SRStatus status )
+	{
+		switch( status )
+		{
+			case REQUESTED:
+			case INITIATED:
+				return SaveStatus.FEDERATE_INSTRUCTED_TO_SAVE;
+			case BEGUN:
+				return SaveStatus.FEDERATE_SAVING;
+			case COMPLETE:
+			case NOT_COMPLETE:
+				return SaveStatus.FEDERATE_WAITING_FOR_FEDERATION_TO_SAVE;
+			default:
+				return SaveStatus.NO_SAVE_IN_PROGRESS;
+		}
+	}
+}
@@ -91,10 +91,19 @@ public class HLA1516eParameterHandleValueMap
 	//----------------------------------------------------------
 	public static HashMap<Integer,byte[]> toJavaMap( ParameterHandleValueMap map )
 		throws RTIinternalError
+	{
+		return toJavaMap( map, new HashMap<Integer,byte[]>() );
+	}
+
+	/**
+	 * Same as {@link #toJavaMap(ParameterHandleValueMap)}, except that the values are put into the given map
+	 * (which is returned) rather than a new one. Used to fill the maps of pooled messages.
+	 */
+	public static HashMap<Integer,byte[]> toJavaMap( ParameterHandleValueMap map, HashMap<Integer,byte[]> realMap )
+		throws RTIinternalError
 	{
 		try
 		{
-			HashMap<Integer,byte[]> realMap = new HashMap<Integer,byte[]>();
 			for( ParameterHandle handle : map.keySet() )
 			{
 				realMap.put( ((HLA1516eHandle)handle).handle, map.get(handle) );
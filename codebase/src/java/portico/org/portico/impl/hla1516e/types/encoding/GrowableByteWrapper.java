@@ -0,0 +1,93 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding;
+
+import java.util.Arrays;
+
+import hla.rti1516e.encoding.ByteWrapper;
+
+/**
+ * A {@link ByteWrapper} that is only ever written to, and which grows its backing array as
+ * needed rather than running out of space. Because it can never run out, elements encoding
+ * into it can skip working out their encoded length up front (see
+ * {@link HLA1516eDataElement#checkSpace(ByteWrapper)}).
+ * <p/>
+ * Note that {@link #array()} may return a different array after any write.
+ */
+public class GrowableByteWrapper extends ByteWrapper
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public GrowableByteWrapper( int initialCapacity )
+	{
+		super( Math.max(initialCapacity,16) );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Grows the backing array if there isn't room for <code>length</code> more bytes.
+	 */
+	@Override
+	public void verify( int length )
+	{
+		if( length > 0 && getPos()+length > array().length )
+		{
+			int position = getPos();
+			int capacity = Math.max( position+length, array().length*2 );
+			byte[] bigger = Arrays.copyOf( array(), capacity );
+			reassign( bigger, 0, bigger.length );
+			advance( position );
+		}
+
+		super.verify( length );
+	}
+
+	/**
+	 * There is always room for more, so this reports all the space the wrapper could grow to.
+	 */
+	@Override
+	public int remaining()
+	{
+		return Integer.MAX_VALUE - getPos();
+	}
+
+	/**
+	 * Move the write position back to the given index, so that anything written after it will
+	 * be overwritten. The backing array is kept.
+	 */
+	public void rewind( int position )
+	{
+		if( position < 0 || position > getPos() )
+			throw new ArrayIndexOutOfBoundsException( position );
+
+		reset();
+		advance( position );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -102,8 +102,7 @@ public class HLA1516eASCIIstring extends HLA1516eDataElement implements HLAASCII
 	@Override
 	public void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		if( byteWrapper.remaining() < getEncodedLength() )
-			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+		checkSpace( byteWrapper );
 		
 		byte[] buffer = getBytes();
 		byteWrapper.putInt( buffer.length );
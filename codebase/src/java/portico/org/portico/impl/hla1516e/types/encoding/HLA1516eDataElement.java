@@ -89,6 +89,22 @@ public abstract class HLA1516eDataElement implements DataElement
 	/////////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////////////// Helper Methods /////////////////////////////////////
 	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Check that there is room left in the wrapper to encode this element. Working out the
+	 * encoded length means walking the whole element, so it is skipped for wrappers that grow
+	 * as they are written to.
+	 * 
+	 * @throws EncoderException If the wrapper doesn't have room for the encoded element
+	 */
+	protected final void checkSpace( ByteWrapper byteWrapper ) throws EncoderException
+	{
+		if( byteWrapper instanceof GrowableByteWrapper )
+			return;
+
+		if( byteWrapper.remaining() < getEncodedLength() )
+			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+	}
+
 	protected final void AvalidateNotNull( Object buffer ) throws DecoderException
 	{
 		if( buffer == null )
@@ -0,0 +1,341 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import org.portico.impl.hla1516e.types.HLA1516eAttributeHandleValueMap;
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.impl.hla1516e.types.HLA1516eParameterHandleValueMap;
+import org.portico.impl.hla1516e.types.encoding.codec.ICodec;
+import org.portico.utils.bithelpers.BitHelpers;
+
+import hla.rti1516e.AttributeHandle;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.ParameterHandle;
+import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.encoding.ByteWrapper;
+import hla.rti1516e.encoding.DataElement;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Encodes the values for a whole update (or interaction) one after the other into a single
+ * buffer that is kept from one use to the next, rather than giving each value its own
+ * {@link ByteWrapper} and <code>byte[]</code> as {@link DataElement#toByteArray()} does.
+ * <p/>
+ * The session just remembers which range of the buffer holds the value for each handle. The
+ * values are only copied out, once each, when the session is turned into a map or handed
+ * straight to the RTI through one of the Portico-specific <code>updateAttributeValues()</code>
+ * or <code>sendInteraction()</code> methods on the 1516e RTIambassador. Once that is done the
+ * session can be {@link #reset()} and used for the next update.
+ * <p/>
+ * Sessions aren't thread safe, so keep one per sending thread:
+ * <pre>
+ * session.reset();
+ * session.encode( positionHandle, position );
+ * session.encode( velocityHandle, velocity );
+ * rtiamb.updateAttributeValues( object, session, tag );
+ * </pre>
+ * Values can also be written straight into the wrapper returned from {@link #begin(AttributeHandle)}.
+ * Where a count or length has to be written before the data it describes, reserve space for it
+ * with {@link #reserveInt()} and fill it in afterwards with {@link #backfillInt(int, int)} or
+ * {@link #backfillLength(int)}.
+ */
+public class HLA1516eEncoderSession
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int NO_VALUE = -1;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private GrowableByteWrapper buffer;
+	private int[] handles;
+	private int[] starts;
+	private int[] ends;
+	private int count;
+
+	private int openHandle;
+	private int openStart;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HLA1516eEncoderSession()
+	{
+		this( 1024 );
+	}
+
+	/**
+	 * @param initialCapacity The number of bytes to size the buffer for to start with. The
+	 *                        buffer grows as needed and keeps its size across resets.
+	 */
+	public HLA1516eEncoderSession( int initialCapacity )
+	{
+		this.buffer = new GrowableByteWrapper( initialCapacity );
+		this.handles = new int[16];
+		this.starts = new int[16];
+		this.ends = new int[16];
+		this.count = 0;
+		this.openHandle = NO_VALUE;
+		this.openStart = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Forget all the values encoded so far. The buffer is kept for the next use.
+	 */
+	public void reset()
+	{
+		this.buffer.reset();
+		this.count = 0;
+		this.openHandle = NO_VALUE;
+	}
+
+	/**
+	 * Start the value for the given attribute. Anything written to the returned wrapper up
+	 * until {@link #end()} is called becomes the value.
+	 */
+	public ByteWrapper begin( AttributeHandle handle ) throws EncoderException
+	{
+		return begin( HLA1516eHandle.fromHandle(handle) );
+	}
+
+	/**
+	 * Start the value for the given parameter. Anything written to the returned wrapper up
+	 * until {@link #end()} is called becomes the value.
+	 */
+	public ByteWrapper begin( ParameterHandle handle ) throws EncoderException
+	{
+		return begin( HLA1516eHandle.fromHandle(handle) );
+	}
+
+	private ByteWrapper begin( int handle ) throws EncoderException
+	{
+		if( openHandle != NO_VALUE )
+			throw new EncoderException( "Value for handle "+openHandle+" has not been ended" );
+
+		this.openHandle = handle;
+		this.openStart = buffer.getPos();
+		return buffer;
+	}
+
+	/**
+	 * Finish the value started with the last call to <code>begin()</code>.
+	 */
+	public void end() throws EncoderException
+	{
+		if( openHandle == NO_VALUE )
+			throw new EncoderException( "No value has been started" );
+
+		if( count == handles.length )
+		{
+			this.handles = Arrays.copyOf( handles, count*2 );
+			this.starts = Arrays.copyOf( starts, count*2 );
+			this.ends = Arrays.copyOf( ends, count*2 );
+		}
+
+		handles[count] = openHandle;
+		starts[count] = openStart;
+		ends[count] = buffer.getPos();
+		++count;
+		this.openHandle = NO_VALUE;
+	}
+
+	/**
+	 * Encode the given element as the value for the attribute.
+	 */
+	public void encode( AttributeHandle handle, DataElement element ) throws EncoderException
+	{
+		encode( HLA1516eHandle.fromHandle(handle), element );
+	}
+
+	/**
+	 * Encode the given element as the value for the parameter.
+	 */
+	public void encode( ParameterHandle handle, DataElement element ) throws EncoderException
+	{
+		encode( HLA1516eHandle.fromHandle(handle), element );
+	}
+
+	private void encode( int handle, DataElement element ) throws EncoderException
+	{
+		int start = buffer.getPos();
+		try
+		{
+			element.encode( begin(handle) );
+			end();
+		}
+		catch( RuntimeException re )
+		{
+			// drop whatever part of the value made it in before the failure
+			this.openHandle = NO_VALUE;
+			buffer.rewind( start );
+			if( re instanceof EncoderException )
+				throw re;
+			else
+				throw new EncoderException( re.getMessage(), re );
+		}
+	}
+
+	/**
+	 * Encode the given value as the value for the attribute, using a codec generated from the
+	 * FOM (see {@link org.portico.impl.hla1516e.types.encoding.codec.CodecFactory}).
+	 */
+	public void encode( AttributeHandle handle, ICodec codec, Object value )
+		throws EncoderException
+	{
+		encode( HLA1516eHandle.fromHandle(handle), codec, value );
+	}
+
+	/**
+	 * Encode the given value as the value for the parameter, using a codec generated from the
+	 * FOM (see {@link org.portico.impl.hla1516e.types.encoding.codec.CodecFactory}).
+	 */
+	public void encode( ParameterHandle handle, ICodec codec, Object value )
+		throws EncoderException
+	{
+		encode( HLA1516eHandle.fromHandle(handle), codec, value );
+	}
+
+	private void encode( int handle, ICodec codec, Object value ) throws EncoderException
+	{
+		int start = buffer.getPos();
+		try
+		{
+			begin( handle );
+			int length = codec.getEncodedLength( value );
+			buffer.verify( length );
+
+			ByteBuffer target = ByteBuffer.wrap( buffer.array(), start, length );
+			codec.encode( value, target );
+			buffer.advance( target.position()-start );
+			end();
+		}
+		catch( RuntimeException re )
+		{
+			this.openHandle = NO_VALUE;
+			buffer.rewind( start );
+			if( re instanceof EncoderException )
+				throw re;
+			else
+				throw new EncoderException( "Could not encode "+codec.getName()+": "+re, re );
+		}
+	}
+
+	/**
+	 * Write a placeholder int at the current position, to be filled in later with
+	 * {@link #backfillInt(int, int)} or {@link #backfillLength(int)}.
+	 * 
+	 * @return The position of the placeholder
+	 */
+	public int reserveInt()
+	{
+		int mark = buffer.getPos();
+		buffer.putInt( 0 );
+		return mark;
+	}
+
+	/**
+	 * Overwrite the int reserved at the given position with a big endian value.
+	 */
+	public void backfillInt( int mark, int value ) throws EncoderException
+	{
+		if( mark < 0 || mark+4 > buffer.getPos() )
+			throw new EncoderException( "No reserved int at position "+mark );
+
+		BitHelpers.putIntBE( value, buffer.array(), mark );
+	}
+
+	/**
+	 * Overwrite the int reserved at the given position with the number of bytes that have
+	 * been written since it.
+	 */
+	public void backfillLength( int mark ) throws EncoderException
+	{
+		backfillInt( mark, buffer.getPos()-(mark+4) );
+	}
+
+	/**
+	 * @return The wrapper around the session's buffer, positioned at the end of the data
+	 *         written so far
+	 */
+	public ByteWrapper getByteWrapper()
+	{
+		return this.buffer;
+	}
+
+	/**
+	 * @return The number of values encoded since the last reset
+	 */
+	public int size()
+	{
+		return this.count;
+	}
+
+	/**
+	 * @return The total number of bytes encoded since the last reset
+	 */
+	public int getEncodedLength()
+	{
+		return buffer.getPos();
+	}
+
+	/**
+	 * Copy each of the values into its own array and add them to the given map against their
+	 * handles. This is the only copy the values go through on their way to the RTI.
+	 * 
+	 * @return The given map
+	 * @throws EncoderException If a value has been started but not ended
+	 */
+	public HashMap<Integer,byte[]> toJavaMap( HashMap<Integer,byte[]> map )
+		throws EncoderException
+	{
+		if( openHandle != NO_VALUE )
+			throw new EncoderException( "Value for handle "+openHandle+" has not been ended" );
+
+		byte[] array = buffer.array();
+		for( int i = 0; i < count; i++ )
+			map.put( handles[i], Arrays.copyOfRange(array,starts[i],ends[i]) );
+
+		return map;
+	}
+
+	/**
+	 * @return A new map holding a copy of each of the encoded values against their attribute
+	 */
+	public AttributeHandleValueMap toAttributeHandleValueMap() throws EncoderException
+	{
+		return new HLA1516eAttributeHandleValueMap( toJavaMap(new HashMap<Integer,byte[]>()) );
+	}
+
+	/**
+	 * @return A new map holding a copy of each of the encoded values against their parameter
+	 */
+	public ParameterHandleValueMap toParameterHandleValueMap() throws EncoderException
+	{
+		return new HLA1516eParameterHandleValueMap( toJavaMap(new HashMap<Integer,byte[]>()) );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -113,8 +113,7 @@ public class HLA1516eFixedArray<T extends DataElement>
 	public void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
 		int length = this.size();
-		if( byteWrapper.remaining() < this.getEncodedLength() )
-			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+		checkSpace( byteWrapper );
 		
 		// Write the array length
 		byteWrapper.putInt( length );
@@ -86,14 +86,12 @@ public class HLA1516eFloat32BE extends HLA1516eDataElement implements HLAfloat32
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		try
-		{
-			byteWrapper.put( toByteArray() );
-		}
-		catch( Exception e )
-		{
-			throw new EncoderException( e.getMessage(), e );
-		}
+		if( byteWrapper.remaining() < 4 )
+			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+
+		byteWrapper.verify( 4 );
+		BitHelpers.putFloatBE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 4 );
 	}
 
 	@Override
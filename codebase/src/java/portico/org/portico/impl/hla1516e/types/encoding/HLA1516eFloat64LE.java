@@ -86,14 +86,12 @@ public class HLA1516eFloat64LE extends HLA1516eDataElement implements HLAfloat64
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		try
-		{
-			byteWrapper.put( toByteArray() );
-		}
-		catch( Exception e )
-		{
-			throw new EncoderException( e.getMessage(), e );
-		}
+		if( byteWrapper.remaining() < 8 )
+			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+
+		byteWrapper.verify( 8 );
+		BitHelpers.putDoubleLE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 8 );
 	}
 
 	@Override
@@ -86,11 +86,12 @@ public class HLA1516eInteger32BE extends HLA1516eDataElement implements HLAinteg
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		byte[] asBytes = toByteArray();
-		if( byteWrapper.remaining() < asBytes.length )
+		if( byteWrapper.remaining() < 4 )
 			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
-		
-		byteWrapper.put( toByteArray() );
+
+		byteWrapper.verify( 4 );
+		BitHelpers.putIntBE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 4 );
 	}
 
 	@Override
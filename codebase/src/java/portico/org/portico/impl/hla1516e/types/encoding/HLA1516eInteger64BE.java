@@ -86,11 +86,12 @@ public class HLA1516eInteger64BE extends HLA1516eDataElement implements HLAinteg
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		byte[] asBytes = toByteArray();
-		if( byteWrapper.remaining() < asBytes.length )
+		if( byteWrapper.remaining() < 8 )
 			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
-		
-		byteWrapper.put( toByteArray() );
+
+		byteWrapper.verify( 8 );
+		BitHelpers.putLongBE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 8 );
 	}
 
 	@Override
@@ -86,11 +86,12 @@ public class HLA1516eInteger64LE extends HLA1516eDataElement implements HLAinteg
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		byte[] asBytes = toByteArray();
-		if( byteWrapper.remaining() < asBytes.length )
+		if( byteWrapper.remaining() < 8 )
 			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
-		
-		byteWrapper.put( toByteArray() );
+
+		byteWrapper.verify( 8 );
+		BitHelpers.putLongLE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 8 );
 	}
 
 	@Override
@@ -86,14 +86,12 @@ public class HLA1516eOctetPairLE extends HLA1516eDataElement implements HLAoctet
 	@Override
 	public final void encode( ByteWrapper byteWrapper ) throws EncoderException
 	{
-		try
-		{
-			byteWrapper.put( toByteArray() );
-		}
-		catch( Exception e )
-		{
-			throw new EncoderException( e.getMessage(), e );
-		}
+		if( byteWrapper.remaining() < 2 )
+			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+
+		byteWrapper.verify( 2 );
+		BitHelpers.putShortLE( value, byteWrapper.array(), byteWrapper.getPos() );
+		byteWrapper.advance( 2 );
 	}
 
 	@Override
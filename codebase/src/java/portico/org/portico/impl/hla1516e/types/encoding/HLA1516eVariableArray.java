@@ -123,8 +123,7 @@ public class HLA1516eVariableArray<T extends DataElement>
     public void encode( ByteWrapper byteWrapper )
         throws EncoderException
     {
-		if( byteWrapper.remaining() < this.getEncodedLength() )
-			throw new EncoderException( "Insufficient space remaining in buffer to encode this value" );
+		checkSpace( byteWrapper );
 		
 		// Write the number of elements encoded
 		byteWrapper.putInt( this.elements.size() );
@@ -131,8 +131,7 @@ public class HLA1516eVariantRecord<T extends DataElement>
 		if( this.discriminant == null )
 			throw new EncoderException( "No discriminant set in HLAvariantRecord" );
 
-		if( this.getEncodedLength() > byteWrapper.remaining() )
-			throw new EncoderException( "Not enought space in ByteWrapper to encode HLAvariantRecord" );
+		checkSpace( byteWrapper );
 
 		this.discriminant.encode( byteWrapper );
 		// ignoring padding after the discriminant for now
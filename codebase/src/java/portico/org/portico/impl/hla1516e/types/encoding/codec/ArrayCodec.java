@@ -0,0 +1,148 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+
+import org.portico.lrc.model.datatype.ArrayType;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Codec for arrays whose values are <code>Object[]</code>. As with the HLA1516eFixedArray and
+ * HLA1516eVariableArray elements, both fixed and variable arrays are written as an element
+ * count followed by each of the elements. For fixed arrays, the count has to match the
+ * cardinality from the FOM.
+ */
+public class ArrayCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private ICodec element;
+	private int cardinality;
+	private int fixedLength;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param name The name of the array type
+	 * @param element The codec for each element of the array
+	 * @param cardinality The number of elements in a fixed array, or {@link ArrayType#DYNAMIC}
+	 */
+	public ArrayCodec( String name, ICodec element, int cardinality )
+	{
+		this.name = name;
+		this.element = element;
+		this.cardinality = cardinality;
+		if( cardinality != ArrayType.DYNAMIC && element.getFixedLength() != -1 )
+			this.fixedLength = 4 + (cardinality * element.getFixedLength());
+		else
+			this.fixedLength = -1;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public int getFixedLength()
+	{
+		return this.fixedLength;
+	}
+
+	public int getEncodedLength( Object value ) throws EncoderException
+	{
+		if( fixedLength != -1 )
+			return fixedLength;
+
+		Object[] elements = elements( value );
+		if( element.getFixedLength() != -1 )
+			return 4 + (elements.length * element.getFixedLength());
+
+		int length = 4;
+		for( int i = 0; i < elements.length; i++ )
+			length += element.getEncodedLength( elements[i] );
+
+		return length;
+	}
+
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException
+	{
+		Object[] elements = elements( value );
+		buffer.putInt( elements.length );
+		for( int i = 0; i < elements.length; i++ )
+			element.encode( elements[i], buffer );
+	}
+
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException
+	{
+		int count = buffer.getInt();
+		if( cardinality != ArrayType.DYNAMIC && count != cardinality )
+		{
+			throw new DecoderException( "Element count in decoded "+name+" differs. Expected ["+
+			                            cardinality+"] Received ["+count+"]" );
+		}
+		else if( count < 0 || count > buffer.remaining() )
+		{
+			throw new DecoderException( "Invalid element count for "+name+": "+count );
+		}
+
+		Object[] elements = null;
+		if( reuse instanceof Object[] && ((Object[])reuse).length == count )
+			elements = (Object[])reuse;
+		else
+			elements = new Object[count];
+
+		for( int i = 0; i < count; i++ )
+			elements[i] = element.decode( buffer, elements[i] );
+
+		return elements;
+	}
+
+	private Object[] elements( Object value ) throws EncoderException
+	{
+		if( value instanceof Object[] == false )
+			throw new EncoderException( "Expected Object[] for "+name+", found: "+value );
+
+		Object[] elements = (Object[])value;
+		if( cardinality != ArrayType.DYNAMIC && elements.length != cardinality )
+		{
+			throw new EncoderException( name+" must have "+cardinality+" elements, found "+
+			                            elements.length );
+		}
+
+		return elements;
+	}
+
+	public String toString()
+	{
+		return name+" ("+element.getName()+"[])";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,338 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+
+import org.portico.lrc.model.datatype.BasicType;
+import org.portico.lrc.model.datatype.Endianness;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Codec for a basic data representation (and the simple and enumerated types built on one).
+ * <p/>
+ * The static put/get methods do the actual work for each kind of basic type and byte order.
+ * Generated record codecs call them directly for every basic field (see
+ * {@link CodecGenerator}), which lets the JIT inline them into straight-line code.
+ */
+public class BasicCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                      ENUMERATIONS
+	//----------------------------------------------------------
+	public enum Kind
+	{
+		OCTET( "Octet", 1 ),
+		SHORT( "Short", 2 ),
+		INT( "Int", 4 ),
+		LONG( "Long", 8 ),
+		FLOAT( "Float", 4 ),
+		DOUBLE( "Double", 8 );
+
+		private String label;
+		private int length;
+		private Kind( String label, int length )
+		{
+			this.label = label;
+			this.length = length;
+		}
+
+		public int getLength()
+		{
+			return this.length;
+		}
+
+		public String toString()
+		{
+			return this.label;
+		}
+	}
+
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private Kind kind;
+	private boolean littleEndian;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param name The name of the FOM type (which may be a simple or enumerated type)
+	 * @param basic The basic representation that values are encoded as
+	 */
+	public BasicCodec( String name, BasicType basic ) throws EncoderException
+	{
+		this.name = name;
+		this.kind = toKind( basic );
+		this.littleEndian = basic.getEndianness() == Endianness.LITTLE && kind != Kind.OCTET;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public Kind getKind()
+	{
+		return this.kind;
+	}
+
+	public boolean isLittleEndian()
+	{
+		return this.littleEndian;
+	}
+
+	public int getFixedLength()
+	{
+		return kind.getLength();
+	}
+
+	public int getEncodedLength( Object value )
+	{
+		return kind.getLength();
+	}
+
+	/**
+	 * @return The name of the static method in this class that writes values of this type.
+	 *         It takes a ByteBuffer and an Object and returns nothing.
+	 */
+	public String getPutMethod()
+	{
+		return "put"+kind+suffix();
+	}
+
+	/**
+	 * @return The name of the static method in this class that reads values of this type.
+	 *         It takes a ByteBuffer and returns an Object.
+	 */
+	public String getGetMethod()
+	{
+		return "get"+kind+suffix();
+	}
+
+	private String suffix()
+	{
+		if( kind == Kind.OCTET )
+			return "";
+		else
+			return littleEndian ? "LE" : "BE";
+	}
+
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException
+	{
+		switch( kind )
+		{
+			case OCTET:
+				putOctet( buffer, value );
+				break;
+			case SHORT:
+				if( littleEndian ) putShortLE( buffer, value ); else putShortBE( buffer, value );
+				break;
+			case INT:
+				if( littleEndian ) putIntLE( buffer, value ); else putIntBE( buffer, value );
+				break;
+			case LONG:
+				if( littleEndian ) putLongLE( buffer, value ); else putLongBE( buffer, value );
+				break;
+			case FLOAT:
+				if( littleEndian ) putFloatLE( buffer, value ); else putFloatBE( buffer, value );
+				break;
+			case DOUBLE:
+				if( littleEndian ) putDoubleLE( buffer, value ); else putDoubleBE( buffer, value );
+				break;
+		}
+	}
+
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException
+	{
+		switch( kind )
+		{
+			case OCTET:
+				return getOctet( buffer );
+			case SHORT:
+				return littleEndian ? getShortLE( buffer ) : getShortBE( buffer );
+			case INT:
+				return littleEndian ? getIntLE( buffer ) : getIntBE( buffer );
+			case LONG:
+				return littleEndian ? getLongLE( buffer ) : getLongBE( buffer );
+			case FLOAT:
+				return littleEndian ? getFloatLE( buffer ) : getFloatBE( buffer );
+			default:
+				return littleEndian ? getDoubleLE( buffer ) : getDoubleBE( buffer );
+		}
+	}
+
+	public String toString()
+	{
+		return name+" ("+getPutMethod().substring(3)+")";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	private static Kind toKind( BasicType basic ) throws EncoderException
+	{
+		switch( basic.getSize() )
+		{
+			case 8:
+				return Kind.OCTET;
+			case 16:
+				return Kind.SHORT;
+			case 32:
+				return basic.isFloatingPoint() ? Kind.FLOAT : Kind.INT;
+			case 64:
+				return basic.isFloatingPoint() ? Kind.DOUBLE : Kind.LONG;
+			default:
+				throw new EncoderException( "Unsupported size for basic type "+basic.getName()+
+				                            ": "+basic.getSize()+" bits" );
+		}
+	}
+
+	private static Number number( Object value ) throws EncoderException
+	{
+		if( value instanceof Number )
+			return (Number)value;
+		else if( value instanceof Boolean )
+			return ((Boolean)value) ? 1 : 0;
+		else
+			throw new EncoderException( "Expected a Number, found: "+value );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Put/Get Methods ////////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	public static void putOctet( ByteBuffer buffer, Object value )
+	{
+		buffer.put( number(value).byteValue() );
+	}
+
+	public static Object getOctet( ByteBuffer buffer )
+	{
+		return buffer.get();
+	}
+
+	public static void putShortBE( ByteBuffer buffer, Object value )
+	{
+		buffer.putShort( number(value).shortValue() );
+	}
+
+	public static void putShortLE( ByteBuffer buffer, Object value )
+	{
+		buffer.putShort( Short.reverseBytes(number(value).shortValue()) );
+	}
+
+	public static Object getShortBE( ByteBuffer buffer )
+	{
+		return buffer.getShort();
+	}
+
+	public static Object getShortLE( ByteBuffer buffer )
+	{
+		return Short.reverseBytes( buffer.getShort() );
+	}
+
+	public static void putIntBE( ByteBuffer buffer, Object value )
+	{
+		buffer.putInt( number(value).intValue() );
+	}
+
+	public static void putIntLE( ByteBuffer buffer, Object value )
+	{
+		buffer.putInt( Integer.reverseBytes(number(value).intValue()) );
+	}
+
+	public static Object getIntBE( ByteBuffer buffer )
+	{
+		return buffer.getInt();
+	}
+
+	public static Object getIntLE( ByteBuffer buffer )
+	{
+		return Integer.reverseBytes( buffer.getInt() );
+	}
+
+	public static void putLongBE( ByteBuffer buffer, Object value )
+	{
+		buffer.putLong( number(value).longValue() );
+	}
+
+	public static void putLongLE( ByteBuffer buffer, Object value )
+	{
+		buffer.putLong( Long.reverseBytes(number(value).longValue()) );
+	}
+
+	public static Object getLongBE( ByteBuffer buffer )
+	{
+		return buffer.getLong();
+	}
+
+	public static Object getLongLE( ByteBuffer buffer )
+	{
+		return Long.reverseBytes( buffer.getLong() );
+	}
+
+	public static void putFloatBE( ByteBuffer buffer, Object value )
+	{
+		buffer.putFloat( number(value).floatValue() );
+	}
+
+	public static void putFloatLE( ByteBuffer buffer, Object value )
+	{
+		int bits = Float.floatToRawIntBits( number(value).floatValue() );
+		buffer.putInt( Integer.reverseBytes(bits) );
+	}
+
+	public static Object getFloatBE( ByteBuffer buffer )
+	{
+		return buffer.getFloat();
+	}
+
+	public static Object getFloatLE( ByteBuffer buffer )
+	{
+		return Float.intBitsToFloat( Integer.reverseBytes(buffer.getInt()) );
+	}
+
+	public static void putDoubleBE( ByteBuffer buffer, Object value )
+	{
+		buffer.putDouble( number(value).doubleValue() );
+	}
+
+	public static void putDoubleLE( ByteBuffer buffer, Object value )
+	{
+		long bits = Double.doubleToRawLongBits( number(value).doubleValue() );
+		buffer.putLong( Long.reverseBytes(bits) );
+	}
+
+	public static Object getDoubleBE( ByteBuffer buffer )
+	{
+		return buffer.getDouble();
+	}
+
+	public static Object getDoubleLE( ByteBuffer buffer )
+	{
+		return Double.longBitsToDouble( Long.reverseBytes(buffer.getLong()) );
+	}
+}
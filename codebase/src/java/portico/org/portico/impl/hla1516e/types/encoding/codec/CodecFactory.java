@@ -0,0 +1,367 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.model.ObjectModel;
+import org.portico.lrc.model.datatype.ArrayType;
+import org.portico.lrc.model.datatype.BasicType;
+import org.portico.lrc.model.datatype.EnumeratedType;
+import org.portico.lrc.model.datatype.FixedRecordType;
+import org.portico.lrc.model.datatype.IDatatype;
+import org.portico.lrc.model.datatype.SimpleType;
+import org.portico.lrc.model.datatype.VariantRecordType;
+
+import hla.rti1516e.encoding.ByteWrapper;
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Builds (and caches) an {@link ICodec} for each of the data types declared in the FOM of an
+ * {@link ObjectModel}, or any of the standard HLA types it refers to. Once built, a codec
+ * encodes or decodes values of its type with no further lookups against the FOM.
+ * <p/>
+ * The bytes produced are the same as those produced by the matching elements from the
+ * HLA1516eEncoderFactory, so the two can be mixed freely between federates.
+ */
+public class CodecFactory
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final String ASCII_CHAR = "HLAASCIIchar";
+	private static final String UNICODE_CHAR = "HLAunicodeChar";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ObjectModel fom;
+	private Map<String,ICodec> codecs;
+	private Set<String> building;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CodecFactory( ObjectModel fom )
+	{
+		this.fom = fom;
+		this.codecs = new HashMap<String,ICodec>();
+		this.building = new HashSet<String>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Get the codec for the data type with the given name, building it first if needed.
+	 * 
+	 * @param typeName The name of the data type as given in the FOM
+	 * @throws EncoderException If the type is unknown, refers to itself, or uses an encoding
+	 *                          that isn't supported
+	 */
+	public synchronized ICodec getCodec( String typeName ) throws EncoderException
+	{
+		ICodec codec = codecs.get( typeName );
+		if( codec != null )
+			return codec;
+
+		if( building.add(typeName) == false )
+			throw new EncoderException( "Data type refers back to itself: "+typeName );
+
+		try
+		{
+			codec = createCodec( getDatatype(typeName) );
+			codecs.put( typeName, codec );
+			return codec;
+		}
+		finally
+		{
+			building.remove( typeName );
+		}
+	}
+
+	private ICodec createCodec( IDatatype datatype ) throws EncoderException
+	{
+		switch( datatype.getDatatypeClass() )
+		{
+			case BASIC:
+			case SIMPLE:
+			case ENUMERATED:
+				return new BasicCodec( datatype.getName(), resolveBasic(datatype) );
+			case ARRAY:
+				return createArrayCodec( (ArrayType)datatype );
+			case FIXEDRECORD:
+				return createRecordCodec( (FixedRecordType)datatype );
+			case VARIANTRECORD:
+				return createVariantCodec( (VariantRecordType)datatype );
+			default:
+				throw new EncoderException( "Unsupported data type: "+datatype.getName() );
+		}
+	}
+
+	private ICodec createArrayCodec( ArrayType array ) throws EncoderException
+	{
+		String encoding = array.getEncoding();
+		if( ArrayType.ENCODING_FIXED.equals(encoding) == false &&
+		    ArrayType.ENCODING_VARIABLE.equals(encoding) == false )
+		{
+			throw new EncoderException( "Unsupported array encoding for "+array.getName()+
+			                            ": "+encoding );
+		}
+
+		// strings and octet arrays get their own codecs that deal in String and byte[]
+		String elementType = array.getElementType();
+		if( array.getCardinality() == ArrayType.DYNAMIC )
+		{
+			if( ASCII_CHAR.equals(elementType) )
+				return new StringCodec( array.getName(), false );
+			else if( UNICODE_CHAR.equals(elementType) )
+				return new StringCodec( array.getName(), true );
+		}
+
+		ICodec element = getCodec( elementType );
+		if( element instanceof BasicCodec &&
+		    ((BasicCodec)element).getKind() == BasicCodec.Kind.OCTET )
+		{
+			return new OctetArrayCodec( array.getName(), array.getCardinality() );
+		}
+		else
+		{
+			return new ArrayCodec( array.getName(), element, array.getCardinality() );
+		}
+	}
+
+	private ICodec createRecordCodec( FixedRecordType record ) throws EncoderException
+	{
+		List<FixedRecordType.Field> fields = record.getFields();
+		ICodec[] fieldCodecs = new ICodec[fields.size()];
+		for( int i = 0; i < fieldCodecs.length; i++ )
+			fieldCodecs[i] = getCodec( fields.get(i).getDatatype() );
+
+		return CodecGenerator.generate( record.getName(), fieldCodecs );
+	}
+
+	private ICodec createVariantCodec( VariantRecordType variant ) throws EncoderException
+	{
+		IDatatype discriminantType = getDatatype( variant.getDiscriminantType() );
+		EnumeratedType enumerated = null;
+		if( discriminantType instanceof EnumeratedType )
+			enumerated = (EnumeratedType)discriminantType;
+
+		VariantRecordCodec codec =
+			new VariantRecordCodec( variant.getName(), getCodec(discriminantType.getName()) );
+
+		for( VariantRecordType.Alternative alternative : variant.getAlternatives() )
+		{
+			ICodec alternativeCodec = null;
+			if( alternative.getDatatype() != null )
+				alternativeCodec = getCodec( alternative.getDatatype() );
+
+			for( String enumerator : alternative.getEnumerators() )
+			{
+				if( VariantRecordType.OTHER.equals(enumerator) )
+				{
+					codec.setOther( alternativeCodec );
+				}
+				else if( enumerator.startsWith("[") && enumerator.endsWith("]") )
+				{
+					// range in the form [first..last], inclusive
+					String[] bounds = enumerator.substring(1,enumerator.length()-1).split( "\\.\\." );
+					if( bounds.length != 2 )
+					{
+						throw new EncoderException( "Invalid enumerator range in "+
+						                            variant.getName()+": "+enumerator );
+					}
+
+					long first = enumeratorValue( variant, enumerated, bounds[0].trim() );
+					long last = enumeratorValue( variant, enumerated, bounds[1].trim() );
+					if( enumerated != null )
+					{
+						for( Long value : enumerated.getEnumerators().values() )
+						{
+							if( value >= first && value <= last )
+								codec.addAlternative( value, alternativeCodec );
+						}
+					}
+					else
+					{
+						for( long value = first; value <= last; value++ )
+							codec.addAlternative( value, alternativeCodec );
+					}
+				}
+				else
+				{
+					long value = enumeratorValue( variant, enumerated, enumerator );
+					codec.addAlternative( value, alternativeCodec );
+				}
+			}
+		}
+
+		return codec;
+	}
+
+	private long enumeratorValue( VariantRecordType variant,
+	                              EnumeratedType enumerated,
+	                              String enumerator )
+		throws EncoderException
+	{
+		if( enumerated != null )
+		{
+			Long value = enumerated.getValue( enumerator );
+			if( value != null )
+				return value;
+		}
+
+		try
+		{
+			return Long.parseLong( enumerator );
+		}
+		catch( NumberFormatException nfe )
+		{
+			throw new EncoderException( "Unknown enumerator in "+variant.getName()+": "+
+			                            enumerator );
+		}
+	}
+
+	/**
+	 * Follow the representation of a simple or enumerated type down to its basic type.
+	 */
+	private BasicType resolveBasic( IDatatype datatype ) throws EncoderException
+	{
+		Set<String> visited = new HashSet<String>();
+		while( datatype instanceof BasicType == false )
+		{
+			if( visited.add(datatype.getName()) == false )
+				throw new EncoderException( "Data type refers back to itself: "+datatype.getName() );
+
+			if( datatype instanceof SimpleType )
+				datatype = getDatatype( ((SimpleType)datatype).getRepresentation() );
+			else if( datatype instanceof EnumeratedType )
+				datatype = getDatatype( ((EnumeratedType)datatype).getRepresentation() );
+			else
+				throw new EncoderException( "Not a basic representation: "+datatype.getName() );
+		}
+
+		return (BasicType)datatype;
+	}
+
+	private IDatatype getDatatype( String typeName ) throws EncoderException
+	{
+		IDatatype datatype = fom.getDatatype( typeName );
+		if( datatype == null )
+			throw new EncoderException( "Unknown data type: "+typeName );
+		else
+			return datatype;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Encode the given value into a new byte[] sized exactly to fit it.
+	 */
+	public static byte[] encode( ICodec codec, Object value ) throws EncoderException
+	{
+		byte[] bytes = new byte[codec.getEncodedLength(value)];
+		ByteBuffer buffer = ByteBuffer.wrap( bytes );
+		try
+		{
+			codec.encode( value, buffer );
+		}
+		catch( EncoderException ee )
+		{
+			throw ee;
+		}
+		catch( RuntimeException re )
+		{
+			throw new EncoderException( "Could not encode "+codec.getName()+": "+re, re );
+		}
+
+		return bytes;
+	}
+
+	/**
+	 * Encode the given value into the wrapper at its current position, advancing past the
+	 * bytes that were written.
+	 */
+	public static void encode( ICodec codec, Object value, ByteWrapper wrapper )
+		throws EncoderException
+	{
+		ByteBuffer buffer = ByteBuffer.wrap( wrapper.array(), wrapper.getPos(), wrapper.remaining() );
+		try
+		{
+			codec.encode( value, buffer );
+		}
+		catch( EncoderException ee )
+		{
+			throw ee;
+		}
+		catch( RuntimeException re )
+		{
+			throw new EncoderException( "Could not encode "+codec.getName()+": "+re, re );
+		}
+
+		wrapper.advance( buffer.position() - wrapper.getPos() );
+	}
+
+	/**
+	 * Decode a value from the given bytes.
+	 */
+	public static Object decode( ICodec codec, byte[] bytes ) throws DecoderException
+	{
+		return decode( codec, ByteBuffer.wrap(bytes), null );
+	}
+
+	/**
+	 * Decode a value from the wrapper at its current position, advancing past the bytes that
+	 * were read. Where possible the given value is reused to hold the result.
+	 */
+	public static Object decode( ICodec codec, ByteWrapper wrapper, Object reuse )
+		throws DecoderException
+	{
+		ByteBuffer buffer = ByteBuffer.wrap( wrapper.array(), wrapper.getPos(), wrapper.remaining() );
+		Object value = decode( codec, buffer, reuse );
+		wrapper.advance( buffer.position() - wrapper.getPos() );
+		return value;
+	}
+
+	private static Object decode( ICodec codec, ByteBuffer buffer, Object reuse )
+		throws DecoderException
+	{
+		try
+		{
+			return codec.decode( buffer, reuse );
+		}
+		catch( DecoderException de )
+		{
+			throw de;
+		}
+		catch( BufferUnderflowException bue )
+		{
+			throw new DecoderException( "Insufficient data to decode "+codec.getName(), bue );
+		}
+		catch( RuntimeException re )
+		{
+			throw new DecoderException( "Could not decode "+codec.getName()+": "+re, re );
+		}
+	}
+}
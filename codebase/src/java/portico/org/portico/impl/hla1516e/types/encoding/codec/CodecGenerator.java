@@ -0,0 +1,312 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Generates a {@link FixedRecordCodec} subclass for a fixed record type from the FOM. The
+ * generated encode/decode/length methods are unrolled over the fields of the record, so there
+ * is no per-field loop or type dispatch at runtime: basic fields turn into direct static calls
+ * on {@link BasicCodec} and any other field into a call on its own codec.
+ * <p/>
+ * Each class is defined in its own small class loader, so it can be collected along with the
+ * {@link CodecFactory} that asked for it.
+ */
+public class CodecGenerator implements Opcodes
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final AtomicInteger COUNTER = new AtomicInteger( 0 );
+
+	private static final String PACKAGE = "org/portico/impl/hla1516e/types/encoding/codec/";
+	private static final String SUPER = Type.getInternalName( FixedRecordCodec.class );
+	private static final String CODEC = Type.getInternalName( ICodec.class );
+	private static final String BASIC = Type.getInternalName( BasicCodec.class );
+	private static final String ENCODER_EX = Type.getInternalName( EncoderException.class );
+	private static final String DECODER_EX = Type.getInternalName( DecoderException.class );
+
+	private static final String D_CONSTRUCTOR = "(Ljava/lang/String;[L"+CODEC+";)V";
+	private static final String D_LENGTH = "(Ljava/lang/Object;)I";
+	private static final String D_ENCODE = "(Ljava/lang/Object;Ljava/nio/ByteBuffer;)V";
+	private static final String D_DECODE = "(Ljava/nio/ByteBuffer;Ljava/lang/Object;)Ljava/lang/Object;";
+	private static final String D_VALUES = "(Ljava/lang/Object;)[Ljava/lang/Object;";
+	private static final String D_PUT = "(Ljava/nio/ByteBuffer;Ljava/lang/Object;)V";
+	private static final String D_GET = "(Ljava/nio/ByteBuffer;)Ljava/lang/Object;";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private CodecGenerator()
+	{
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Generate, load and instantiate a codec for a fixed record with the given fields.
+	 * 
+	 * @param name The name of the fixed record type
+	 * @param fields The codecs for each of the fields of the record, in FOM order
+	 * @throws EncoderException If there is a problem generating or loading the class
+	 */
+	public static FixedRecordCodec generate( String name, ICodec[] fields )
+		throws EncoderException
+	{
+		String className = PACKAGE+"Generated$"+sanitize(name)+"$"+COUNTER.incrementAndGet();
+		byte[] bytecode = generateClass( className, fields );
+
+		try
+		{
+			Class<?> clazz = new GeneratedLoader().define( className.replace('/','.'), bytecode );
+			return (FixedRecordCodec)clazz.getConstructor( String.class, ICodec[].class )
+			                              .newInstance( name, fields );
+		}
+		catch( Exception e )
+		{
+			throw new EncoderException( "Could not generate codec for "+name+": "+
+			                            e.getMessage(), e );
+		}
+		catch( LinkageError e )
+		{
+			throw new EncoderException( "Could not generate codec for "+name+": "+
+			                            e.getMessage(), e );
+		}
+	}
+
+	private static byte[] generateClass( String className, ICodec[] fields )
+	{
+		ClassWriter writer = new ClassWriter( ClassWriter.COMPUTE_MAXS );
+		writer.visit( V1_5, ACC_PUBLIC|ACC_FINAL|ACC_SUPER, className, null, SUPER, null );
+
+		// constructor, just passes through to FixedRecordCodec
+		MethodVisitor method = writer.visitMethod( ACC_PUBLIC, "<init>", D_CONSTRUCTOR, null, null );
+		method.visitCode();
+		method.visitVarInsn( ALOAD, 0 );
+		method.visitVarInsn( ALOAD, 1 );
+		method.visitVarInsn( ALOAD, 2 );
+		method.visitMethodInsn( INVOKESPECIAL, SUPER, "<init>", D_CONSTRUCTOR );
+		method.visitInsn( RETURN );
+		method.visitMaxs( 0, 0 );
+		method.visitEnd();
+
+		generateLength( writer, className, fields );
+		generateEncode( writer, className, fields );
+		generateDecode( writer, className, fields );
+
+		writer.visitEnd();
+		return writer.toByteArray();
+	}
+
+	/**
+	 * int getEncodedLength( Object value ): the sum of the fixed length fields is folded into
+	 * a constant, and only the variable length fields are asked for their size.
+	 */
+	private static void generateLength( ClassWriter writer, String className, ICodec[] fields )
+	{
+		MethodVisitor method = writer.visitMethod( ACC_PUBLIC, "getEncodedLength", D_LENGTH,
+		                                           null, new String[]{ ENCODER_EX } );
+		method.visitCode();
+
+		int constant = 0;
+		boolean variable = false;
+		for( ICodec field : fields )
+		{
+			if( field.getFixedLength() == -1 )
+				variable = true;
+			else
+				constant += field.getFixedLength();
+		}
+
+		if( variable == false )
+		{
+			method.visitLdcInsn( constant );
+			method.visitInsn( IRETURN );
+		}
+		else
+		{
+			// Object[] values = values( value );
+			method.visitVarInsn( ALOAD, 0 );
+			method.visitVarInsn( ALOAD, 1 );
+			method.visitMethodInsn( INVOKEVIRTUAL, className, "values", D_VALUES );
+			method.visitVarInsn( ASTORE, 2 );
+
+			method.visitLdcInsn( constant );
+			for( int i = 0; i < fields.length; i++ )
+			{
+				if( fields[i].getFixedLength() != -1 )
+					continue;
+
+				// length += fields[i].getEncodedLength( values[i] );
+				loadField( method, className, i );
+				method.visitVarInsn( ALOAD, 2 );
+				method.visitLdcInsn( i );
+				method.visitInsn( AALOAD );
+				method.visitMethodInsn( INVOKEINTERFACE, CODEC, "getEncodedLength", D_LENGTH );
+				method.visitInsn( IADD );
+			}
+
+			method.visitInsn( IRETURN );
+		}
+
+		method.visitMaxs( 0, 0 );
+		method.visitEnd();
+	}
+
+	/**
+	 * void encode( Object value, ByteBuffer buffer )
+	 */
+	private static void generateEncode( ClassWriter writer, String className, ICodec[] fields )
+	{
+		MethodVisitor method = writer.visitMethod( ACC_PUBLIC, "encode", D_ENCODE,
+		                                           null, new String[]{ ENCODER_EX } );
+		method.visitCode();
+
+		// Object[] values = values( value );
+		method.visitVarInsn( ALOAD, 0 );
+		method.visitVarInsn( ALOAD, 1 );
+		method.visitMethodInsn( INVOKEVIRTUAL, className, "values", D_VALUES );
+		method.visitVarInsn( ASTORE, 3 );
+
+		for( int i = 0; i < fields.length; i++ )
+		{
+			if( fields[i] instanceof BasicCodec )
+			{
+				// BasicCodec.putXxx( buffer, values[i] );
+				method.visitVarInsn( ALOAD, 2 );
+				method.visitVarInsn( ALOAD, 3 );
+				method.visitLdcInsn( i );
+				method.visitInsn( AALOAD );
+				method.visitMethodInsn( INVOKESTATIC, BASIC,
+				                        ((BasicCodec)fields[i]).getPutMethod(), D_PUT );
+			}
+			else
+			{
+				// fields[i].encode( values[i], buffer );
+				loadField( method, className, i );
+				method.visitVarInsn( ALOAD, 3 );
+				method.visitLdcInsn( i );
+				method.visitInsn( AALOAD );
+				method.visitVarInsn( ALOAD, 2 );
+				method.visitMethodInsn( INVOKEINTERFACE, CODEC, "encode", D_ENCODE );
+			}
+		}
+
+		method.visitInsn( RETURN );
+		method.visitMaxs( 0, 0 );
+		method.visitEnd();
+	}
+
+	/**
+	 * Object decode( ByteBuffer buffer, Object reuse )
+	 */
+	private static void generateDecode( ClassWriter writer, String className, ICodec[] fields )
+	{
+		MethodVisitor method = writer.visitMethod( ACC_PUBLIC, "decode", D_DECODE,
+		                                           null, new String[]{ DECODER_EX } );
+		method.visitCode();
+
+		// Object[] values = target( reuse );
+		method.visitVarInsn( ALOAD, 0 );
+		method.visitVarInsn( ALOAD, 2 );
+		method.visitMethodInsn( INVOKEVIRTUAL, className, "target", D_VALUES );
+		method.visitVarInsn( ASTORE, 3 );
+
+		for( int i = 0; i < fields.length; i++ )
+		{
+			method.visitVarInsn( ALOAD, 3 );
+			method.visitLdcInsn( i );
+			if( fields[i] instanceof BasicCodec )
+			{
+				// values[i] = BasicCodec.getXxx( buffer );
+				method.visitVarInsn( ALOAD, 1 );
+				method.visitMethodInsn( INVOKESTATIC, BASIC,
+				                        ((BasicCodec)fields[i]).getGetMethod(), D_GET );
+			}
+			else
+			{
+				// values[i] = fields[i].decode( buffer, values[i] );
+				loadField( method, className, i );
+				method.visitVarInsn( ALOAD, 1 );
+				method.visitVarInsn( ALOAD, 3 );
+				method.visitLdcInsn( i );
+				method.visitInsn( AALOAD );
+				method.visitMethodInsn( INVOKEINTERFACE, CODEC, "decode", D_DECODE );
+			}
+			method.visitInsn( AASTORE );
+		}
+
+		method.visitVarInsn( ALOAD, 3 );
+		method.visitInsn( ARETURN );
+		method.visitMaxs( 0, 0 );
+		method.visitEnd();
+	}
+
+	/** Pushes <code>this.fields[index]</code> */
+	private static void loadField( MethodVisitor method, String className, int index )
+	{
+		method.visitVarInsn( ALOAD, 0 );
+		method.visitFieldInsn( GETFIELD, className, "fields", "[L"+CODEC+";" );
+		method.visitLdcInsn( index );
+		method.visitInsn( AALOAD );
+	}
+
+	/** Reduce a FOM type name to something that is legal in a class name */
+	private static String sanitize( String name )
+	{
+		StringBuilder builder = new StringBuilder( name.length() );
+		for( int i = 0; i < name.length(); i++ )
+		{
+			char c = name.charAt( i );
+			builder.append( Character.isJavaIdentifierPart(c) ? c : '_' );
+		}
+
+		return builder.toString();
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////// Private Class: GeneratedLoader ///////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	private static class GeneratedLoader extends ClassLoader
+	{
+		public GeneratedLoader()
+		{
+			super( CodecGenerator.class.getClassLoader() );
+		}
+
+		public Class<?> define( String name, byte[] bytecode )
+		{
+			return defineClass( name, bytecode, 0, bytecode.length );
+		}
+	}
+}
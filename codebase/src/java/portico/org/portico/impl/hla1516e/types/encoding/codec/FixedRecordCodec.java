@@ -0,0 +1,103 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Base class for the fixed record codecs that {@link CodecGenerator} generates. Values are an
+ * <code>Object[]</code> with one entry per field, in FOM order. The generated subclass
+ * implements the encode/decode methods as straight-line code over the fields, so all that
+ * lives here is the state and the checks the generated code calls into.
+ */
+public abstract class FixedRecordCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	protected final String name;
+	protected final ICodec[] fields;
+	private int fixedLength;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	protected FixedRecordCodec( String name, ICodec[] fields )
+	{
+		this.name = name;
+		this.fields = fields;
+		this.fixedLength = 0;
+		for( ICodec field : fields )
+		{
+			if( field.getFixedLength() == -1 )
+			{
+				this.fixedLength = -1;
+				break;
+			}
+
+			this.fixedLength += field.getFixedLength();
+		}
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public int getFixedLength()
+	{
+		return this.fixedLength;
+	}
+
+	/**
+	 * @return The field values held in the given record value
+	 * @throws EncoderException If the value isn't an Object[] with one entry per field
+	 */
+	protected final Object[] values( Object value ) throws EncoderException
+	{
+		if( value instanceof Object[] && ((Object[])value).length == fields.length )
+			return (Object[])value;
+
+		throw new EncoderException( "Expected Object["+fields.length+"] for "+name+
+		                            ", found: "+value );
+	}
+
+	/**
+	 * @return The given value if it can hold the decoded fields, otherwise a new array
+	 */
+	protected final Object[] target( Object reuse )
+	{
+		if( reuse instanceof Object[] && ((Object[])reuse).length == fields.length )
+			return (Object[])reuse;
+		else
+			return new Object[fields.length];
+	}
+
+	public String toString()
+	{
+		return name+" (record)";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,75 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Encodes and decodes values of a single FOM data type, producing the same bytes as the
+ * equivalent tree of data elements from the encoding package would. Codecs are built from the
+ * FOM by a {@link CodecFactory} and, unlike data elements, hold no value themselves, so one
+ * codec can be shared by any number of threads.
+ * <p/>
+ * Values are plain Java objects:
+ * <ul>
+ *   <li>Basic, simple and enumerated types: a {@link Number} (Byte, Short, Integer, Long,
+ *       Float or Double depending on the basic representation)</li>
+ *   <li>HLAASCIIstring and HLAunicodeString: a {@link String}</li>
+ *   <li>Arrays of octets or bytes: a <code>byte[]</code></li>
+ *   <li>All other arrays and fixed records: an <code>Object[]</code> with one entry for each
+ *       element or field</li>
+ *   <li>Variant records: an <code>Object[2]</code> holding the discriminant value and then
+ *       the value of the selected alternative (null if the alternative has no value)</li>
+ * </ul>
+ * All buffers passed to a codec must be in big endian order (the default for a ByteBuffer).
+ */
+public interface ICodec
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return The name of the FOM data type this codec is for
+	 */
+	public String getName();
+
+	/**
+	 * @return The number of bytes every value of this type encodes to, or -1 if the length
+	 *         depends on the value
+	 */
+	public int getFixedLength();
+
+	/**
+	 * @return The number of bytes the given value will take up when encoded
+	 */
+	public int getEncodedLength( Object value ) throws EncoderException;
+
+	/**
+	 * Write the given value into the buffer at its current position, moving the position on
+	 * past the value.
+	 */
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException;
+
+	/**
+	 * Read a value from the buffer at its current position, moving the position on past it.
+	 * If <code>reuse</code> is a value previously decoded by this codec, its arrays are filled
+	 * in and handed back rather than new ones being created. Pass null to always get a new
+	 * value back.
+	 */
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException;
+}
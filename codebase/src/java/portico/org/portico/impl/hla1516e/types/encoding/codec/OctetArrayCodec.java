@@ -0,0 +1,121 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+
+import org.portico.lrc.model.datatype.ArrayType;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Codec for arrays of octets (HLAopaqueData, HLAhandle and the like) whose values are
+ * <code>byte[]</code>. Encoded as a count followed by the bytes, the same as
+ * HLA1516eOpaqueData.
+ */
+public class OctetArrayCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private int cardinality;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public OctetArrayCodec( String name, int cardinality )
+	{
+		this.name = name;
+		this.cardinality = cardinality;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public int getFixedLength()
+	{
+		return cardinality == ArrayType.DYNAMIC ? -1 : 4 + cardinality;
+	}
+
+	public int getEncodedLength( Object value ) throws EncoderException
+	{
+		return 4 + bytes(value).length;
+	}
+
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException
+	{
+		byte[] bytes = bytes( value );
+		buffer.putInt( bytes.length );
+		buffer.put( bytes );
+	}
+
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException
+	{
+		int count = buffer.getInt();
+		if( cardinality != ArrayType.DYNAMIC && count != cardinality )
+		{
+			throw new DecoderException( "Element count in decoded "+name+" differs. Expected ["+
+			                            cardinality+"] Received ["+count+"]" );
+		}
+		else if( count < 0 || count > buffer.remaining() )
+		{
+			throw new DecoderException( "Invalid element count for "+name+": "+count );
+		}
+
+		byte[] bytes = null;
+		if( reuse instanceof byte[] && ((byte[])reuse).length == count )
+			bytes = (byte[])reuse;
+		else
+			bytes = new byte[count];
+
+		buffer.get( bytes );
+		return bytes;
+	}
+
+	private byte[] bytes( Object value ) throws EncoderException
+	{
+		if( value instanceof byte[] == false )
+			throw new EncoderException( "Expected byte[] for "+name+", found: "+value );
+
+		byte[] bytes = (byte[])value;
+		if( cardinality != ArrayType.DYNAMIC && bytes.length != cardinality )
+		{
+			throw new EncoderException( name+" must have "+cardinality+" elements, found "+
+			                            bytes.length );
+		}
+
+		return bytes;
+	}
+
+	public String toString()
+	{
+		return name+" (byte[])";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,137 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Codec for HLAASCIIstring and HLAunicodeString, whose values are {@link String}s. The bytes
+ * written are the same as those from HLA1516eASCIIstring and HLA1516eUnicodeString: a count
+ * of characters followed by the characters themselves (ISO-8859-1 or UTF-16 respectively).
+ */
+public class StringCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final Charset ASCII = Charset.forName( "ISO-8859-1" );
+	private static final Charset UNICODE = Charset.forName( "UTF-16" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private boolean unicode;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param name The name of the string type
+	 * @param unicode True for strings of HLAunicodeChar, false for strings of HLAASCIIchar
+	 */
+	public StringCodec( String name, boolean unicode )
+	{
+		this.name = name;
+		this.unicode = unicode;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public int getFixedLength()
+	{
+		return -1;
+	}
+
+	public int getEncodedLength( Object value ) throws EncoderException
+	{
+		String string = string( value );
+		if( unicode == false )
+			return 4 + string.length();
+		else if( string.isEmpty() )
+			return 4;
+		else
+			return 4 + 2 + (string.length() * 2); // includes the byte order mark
+	}
+
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException
+	{
+		String string = string( value );
+		if( unicode )
+		{
+			byte[] bytes = string.getBytes( UNICODE );
+			buffer.putInt( bytes.length / 2 );
+			buffer.put( bytes );
+		}
+		else
+		{
+			buffer.putInt( string.length() );
+			buffer.put( string.getBytes(ASCII) );
+		}
+	}
+
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException
+	{
+		int count = buffer.getInt();
+		int length = unicode ? count * 2 : count;
+		if( count < 0 || length > buffer.remaining() )
+			throw new DecoderException( "Invalid character count for "+name+": "+count );
+
+		String string = null;
+		if( buffer.hasArray() )
+		{
+			string = new String( buffer.array(),
+			                     buffer.arrayOffset()+buffer.position(),
+			                     length,
+			                     unicode ? UNICODE : ASCII );
+			buffer.position( buffer.position()+length );
+		}
+		else
+		{
+			byte[] bytes = new byte[length];
+			buffer.get( bytes );
+			string = new String( bytes, unicode ? UNICODE : ASCII );
+		}
+
+		return string;
+	}
+
+	private String string( Object value ) throws EncoderException
+	{
+		if( value instanceof String )
+			return (String)value;
+		else
+			throw new EncoderException( "Expected String for "+name+", found: "+value );
+	}
+
+	public String toString()
+	{
+		return name+" (String)";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,175 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.impl.hla1516e.types.encoding.codec;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+
+/**
+ * Codec for variant records. Values are an <code>Object[2]</code> holding the discriminant
+ * (a {@link Number}) and the value of the alternative it selects (null if the alternative
+ * has no data). The discriminant is written first, followed by the alternative, as with
+ * HLA1516eVariantRecord.
+ */
+public class VariantRecordCodec implements ICodec
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private ICodec discriminant;
+	private Map<Long,ICodec> alternatives;
+	private boolean hasOther;
+	private ICodec other;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param name The name of the variant record type
+	 * @param discriminant The codec for the discriminant
+	 */
+	public VariantRecordCodec( String name, ICodec discriminant )
+	{
+		this.name = name;
+		this.discriminant = discriminant;
+		this.alternatives = new HashMap<Long,ICodec>();
+		this.hasOther = false;
+		this.other = null;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Register the codec for the alternative selected by the given discriminant value.
+	 * 
+	 * @param value The discriminant value
+	 * @param codec The codec for the alternative, or null if the alternative has no data
+	 */
+	public void addAlternative( long value, ICodec codec )
+	{
+		this.alternatives.put( value, codec );
+	}
+
+	/**
+	 * Register the codec for the HLAother alternative, used for any discriminant value that
+	 * has no alternative of its own.
+	 * 
+	 * @param codec The codec for the alternative, or null if the alternative has no data
+	 */
+	public void setOther( ICodec codec )
+	{
+		this.hasOther = true;
+		this.other = codec;
+	}
+
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public int getFixedLength()
+	{
+		return -1;
+	}
+
+	public int getEncodedLength( Object value ) throws EncoderException
+	{
+		Object[] values = values( value );
+		ICodec alternative = alternative( ((Number)values[0]).longValue() );
+		int length = discriminant.getEncodedLength( values[0] );
+		if( alternative != null )
+			length += alternative.getEncodedLength( values[1] );
+
+		return length;
+	}
+
+	public void encode( Object value, ByteBuffer buffer ) throws EncoderException
+	{
+		Object[] values = values( value );
+		ICodec alternative = alternative( ((Number)values[0]).longValue() );
+		discriminant.encode( values[0], buffer );
+		if( alternative != null )
+			alternative.encode( values[1], buffer );
+	}
+
+	public Object decode( ByteBuffer buffer, Object reuse ) throws DecoderException
+	{
+		Object[] values = null;
+		if( reuse instanceof Object[] && ((Object[])reuse).length == 2 )
+			values = (Object[])reuse;
+		else
+			values = new Object[2];
+
+		values[0] = discriminant.decode( buffer, null );
+		long key = ((Number)values[0]).longValue();
+		ICodec alternative = null;
+		if( alternatives.containsKey(key) )
+			alternative = alternatives.get( key );
+		else if( hasOther )
+			alternative = other;
+		else
+			throw new DecoderException( "Unknown discriminant for "+name+": "+key );
+
+		if( alternative == null )
+			values[1] = null;
+		else
+			values[1] = alternative.decode( buffer, values[1] );
+
+		return values;
+	}
+
+	private ICodec alternative( long key ) throws EncoderException
+	{
+		if( alternatives.containsKey(key) )
+			return alternatives.get( key );
+		else if( hasOther )
+			return other;
+		else
+			throw new EncoderException( "Unknown discriminant for "+name+": "+key );
+	}
+
+	private Object[] values( Object value ) throws EncoderException
+	{
+		if( value instanceof Object[] && ((Object[])value).length == 2 &&
+		    ((Object[])value)[0] instanceof Number )
+		{
+			return (Object[])value;
+		}
+		else
+		{
+			throw new EncoderException( "Expected Object[]{discriminant,value} for "+name+
+			                            ", found: "+value );
+		}
+	}
+
+	public String toString()
+	{
+		return name+" (variant)";
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,211 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.log4j.Logger;
+
+/**
+ * A fixed set of worker threads that callbacks can be spread over when immediate callback
+ * delivery is enabled. Each task is submitted with a key (an object instance handle, or an
+ * interaction class handle) and every task with the same key runs on the same worker, in the
+ * order it was submitted. Tasks with different keys can run at the same time.
+ * <p/>
+ * Anything that must not run alongside other callbacks (timestamp-ordered messages, time advance
+ * grants, discoveries and so on) should be held back until {@link #awaitIdle()} returns, and then
+ * run on the calling thread.
+ * <p/>
+ * Each worker has a bounded queue. If a worker falls too far behind, {@link #submit(int,Runnable)}
+ * blocks until it catches up, rather than letting its backlog grow without limit.
+ */
+public class CallbackWorkerPool
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int WORKER_QUEUE_SIZE = 1024;
+
+	/** Handed to each worker on shutdown, once it reaches this it exits */
+	private static final Runnable STOP = new Runnable(){ public void run(){} };
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Logger logger;
+	private Worker[] workers;
+
+	// tracking of submitted work that hasn't finished yet
+	private Lock lock;
+	private Condition idleCondition;
+	private int outstanding;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * Create the pool and start its workers (as daemons).
+	 */
+	public CallbackWorkerPool( int size, Logger logger )
+	{
+		this.logger = logger;
+		this.lock = new ReentrantLock();
+		this.idleCondition = lock.newCondition();
+		this.outstanding = 0;
+
+		this.workers = new Worker[size];
+		for( int i = 0; i < size; i++ )
+		{
+			this.workers[i] = new Worker( i );
+			this.workers[i].start();
+		}
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Queue the given task on the worker responsible for the given key. Blocks if that worker's
+	 * queue is full. If interrupted while blocked, the task is not queued.
+	 */
+	public void submit( int key, Runnable task ) throws InterruptedException
+	{
+		lock.lock();
+		try
+		{
+			++outstanding;
+		}
+		finally
+		{
+			lock.unlock();
+		}
+
+		// spread sequential handles over the workers, rather than relying on them being
+		// nicely distributed by whoever allocated them
+		int hash = key * 0x9E3779B9;
+		hash ^= (hash >>> 16);
+		try
+		{
+			workers[(hash & 0x7fffffff) % workers.length].tasks.put( task );
+		}
+		catch( InterruptedException ie )
+		{
+			completed();
+			throw ie;
+		}
+	}
+
+	/**
+	 * Block until every task submitted so far has completed.
+	 */
+	public void awaitIdle() throws InterruptedException
+	{
+		lock.lock();
+		try
+		{
+			while( outstanding > 0 )
+				idleCondition.await();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private void completed()
+	{
+		lock.lock();
+		try
+		{
+			if( --outstanding == 0 )
+				idleCondition.signalAll();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Let each worker finish everything already queued for it, then stop it. Blocks until all
+	 * the workers have exited.
+	 */
+	public void shutdown() throws InterruptedException
+	{
+		for( Worker worker : workers )
+			worker.tasks.put( STOP );
+
+		for( Worker worker : workers )
+			worker.join();
+	}
+
+	public int getSize()
+	{
+		return this.workers.length;
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////
+	////// Private Class: Worker   ///////////////////////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////
+	private class Worker extends Thread
+	{
+		private BlockingQueue<Runnable> tasks;
+
+		public Worker( int index )
+		{
+			super( "CallbackWorker-"+index );
+			super.setDaemon( true );
+			this.tasks = new ArrayBlockingQueue<Runnable>( WORKER_QUEUE_SIZE );
+		}
+
+		public void run()
+		{
+			try
+			{
+				while( true )
+				{
+					Runnable task = tasks.take();
+					if( task == STOP )
+						return;
+
+					try
+					{
+						task.run();
+					}
+					catch( Exception e )
+					{
+						logger.error( "Problem processing callback message: "+e.getMessage(), e );
+					}
+					finally
+					{
+						completed();
+					}
+				}
+			}
+			catch( InterruptedException ie )
+			{
+				// shutting down
+			}
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -14,7 +14,6 @@
  */
 package org.portico.lrc;
 
-import java.sql.Timestamp;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -24,6 +23,7 @@ import org.apache.log4j.Logger;
 import org.portico.bindings.IConnection;
 import org.portico.bindings.jgroups.JGroupsConnection;
 import org.portico.bindings.jvm.JVMConnection;
+import org.portico.bindings.shm.ShmConnection;
 import org.portico.container.Container;
 import org.portico.impl.HLAVersion;
 import org.portico.impl.ISpecHelper;
@@ -32,12 +32,16 @@ import org.portico.lrc.compat.JConfigurationException;
 import org.portico.lrc.compat.JRTIinternalError;
 import org.portico.lrc.notifications.NotificationManager;
 import org.portico.lrc.notifications.Priority;
+import org.portico.lrc.services.object.msg.SendInteraction;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
 import org.portico.utils.ObjectFactory;
 import org.portico.utils.messaging.AbstractMessageHandler;
 import org.portico.utils.messaging.ErrorResponse;
 import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessagePool;
 import org.portico.utils.messaging.MessageSink;
 import org.portico.utils.messaging.Module;
+import org.portico.utils.messaging.PooledMessage;
 import org.portico.utils.messaging.PorticoMessage;
 import org.portico.utils.messaging.ResponseMessage;
 
@@ -137,6 +141,10 @@ public class LRC
 	// Callback Processing //
 	private Thread immediateCallbackDispatcher; 
 
+	// Message Pools //
+	private MessagePool<UpdateAttributes> updatePool;
+	private MessagePool<SendInteraction> interactionPool;
+
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
@@ -167,6 +175,16 @@ public class LRC
 		// the immediate callback processing remains null until turned on explictly
 		this.immediateCallbackDispatcher = null;
 
+		// create the pools for the high-volume message types (only used if turned on)
+		this.updatePool = new MessagePool<UpdateAttributes>( "UpdateAttributes" )
+		{
+			protected UpdateAttributes create() { return new UpdateAttributes(); }
+		};
+		this.interactionPool = new MessagePool<SendInteraction>( "SendInteraction" )
+		{
+			protected SendInteraction create() { return new SendInteraction(); }
+		};
+
 		// create the LRCState component that has most of the state-holding components inside it
 		this.state = new LRCState( this );
 		
@@ -297,6 +315,7 @@ public class LRC
 	 *   <li>"jvm" for {@link JVMConnection}</li>
 	 *   <li>"jgroups" for {@link org.portico.bindings.jgroups.JGroupsConnection JGroups Connection}
 	 *       (the default)</li>
+	 *   <li>"shm" for {@link ShmConnection} (shared memory between processes on one host)</li>
 	 * </ul>
 	 * 
 	 * If the class specified in the property cannot be found, or it doesn't implement the
@@ -315,6 +334,8 @@ public class LRC
 			return JVMConnection.class;
 		else if( property.equalsIgnoreCase("jgroups") )
 			return JGroupsConnection.class;
+		else if( property.equalsIgnoreCase("shm") )
+			return ShmConnection.class;
 		
 		// we don't have one of the aliases, try and find the class and load it
 		logger.trace( "Trying to load connection class: " + property );
@@ -415,6 +436,24 @@ public class LRC
 	{
 		return this.state;
 	}
+
+	/**
+	 * @return The pool that {@link UpdateAttributes} messages should be acquired from. Anything
+	 *         acquired must be released once it has been processed.
+	 */
+	public MessagePool<UpdateAttributes> getUpdatePool()
+	{
+		return this.updatePool;
+	}
+
+	/**
+	 * @return The pool that {@link SendInteraction} messages should be acquired from. Anything
+	 *         acquired must be released once it has been processed.
+	 */
+	public MessagePool<SendInteraction> getInteractionPool()
+	{
+		return this.interactionPool;
+	}
 	
 	public IConnection getConnection()
 	{
@@ -539,16 +578,14 @@ public class LRC
 
 		try
 		{
-			// figure out how long we can tick for under min/max settings
-			long startTime = System.currentTimeMillis();
-			long minTime = startTime + (long)(minSeconds*1000);
-			long maxTime = startTime + (long)(maxSeconds*1000);
+			// figure out how long we can tick for under min/max settings (as nanoTime deadlines)
+			long minTime = LRCMessageQueue.deadline( (long)(minSeconds*1000000000.0) );
+			long maxTime = LRCMessageQueue.deadline( (long)(maxSeconds*1000000000.0) );
 
 			// poll until AT LEAST the minimum time
-			Timestamp minimumTimestamp = new Timestamp( minTime );
-			while( System.currentTimeMillis() < minTime )
+			while( LRCMessageQueue.hasPassed(minTime) == false )
 			{
-				PorticoMessage message = state.messageQueue.pollUntil( minimumTimestamp );
+				PorticoMessage message = state.messageQueue.pollUntil( minTime );
 				if( message == null )
 					break;
 				else
@@ -557,7 +594,7 @@ public class LRC
 
 			// the min time has now passed, keep processing messages until either
 			// the max time expires, or we run out of tasks
-			while( System.currentTimeMillis() < maxTime )
+			while( LRCMessageQueue.hasPassed(maxTime) == false )
 			{
 				PorticoMessage message = state.messageQueue.poll();
 				if( message == null )
@@ -656,8 +693,7 @@ public class LRC
 		try
 		{
 			// fetch a single incoming message, waiting only as long as we are given
-			long timeout = (long)wait;
-			PorticoMessage message = state.messageQueue.poll( timeout*1000*1000000 );
+			PorticoMessage message = state.messageQueue.poll( (long)(wait*1000000000.0) );
 			
 			// process the message if there is one
 			if( message != null )
@@ -707,6 +743,12 @@ public class LRC
 			logger.error( "FAILURE Exception encountered while processing incoming message: " +
 			              e.getMessage(), e ); 
 		}
+		finally
+		{
+			// all the handlers and callbacks are done with it, let it go back to its pool
+			if( message instanceof PooledMessage )
+				((PooledMessage)message).release();
+		}
 	}
 
 	/**
@@ -740,6 +782,11 @@ public class LRC
 		if( state.isImmediateCallbackDeliveryEnabled() == false )
 			return;
 		
+		// turn the flag off first, so that any callbacks held back while callbacks are
+		// disabled go back on the queue for tick() rather than holding up the shutdown of
+		// the dispatcher
+		state.setImmediateCallbackDelivery( false );
+
 		// interrupt the callback processing thread and wait for it to stop
 		try
 		{
@@ -756,9 +803,7 @@ public class LRC
 		}
 		finally
 		{
-			// update the state to set the immediate processing flag to off
 			this.immediateCallbackDispatcher = null;
-			state.setImmediateCallbackDelivery( false );
 		}
 	}
 
@@ -794,18 +839,36 @@ public class LRC
 	 * queue for available messages, processing them as they are received until the Thread is
 	 * interrupted. Immediate callback processing is turned on via the LRC and not enabled at
 	 * startup.
+	 * <p/>
+	 * If {@link PorticoConstants#PROPERTY_CALLBACK_WORKERS} is set, receive-order reflections and
+	 * interactions are handed to a {@link CallbackWorkerPool}, keyed by object instance handle or
+	 * interaction class handle, so that callbacks for different objects can run at the same time
+	 * while those for the same object stay in order. Everything else (timestamped messages, time
+	 * advance grants, discoveries, removals and so on) waits for the workers to go idle and is
+	 * then processed right here, so it is never reordered against anything around it.
+	 * <p/>
+	 * Every callback, whichever thread delivers it, waits for callbacks to be enabled right
+	 * before it is delivered (see {@link LRCState#beginCallback()}). Work already handed to the
+	 * workers is therefore held back by a call to disable callbacks, just like the queue is.
 	 */
 	private class ImmediateCallbackDispatcher extends Thread
 	{
+		private CallbackWorkerPool workers;
+
 		public ImmediateCallbackDispatcher()
 		{
 			super( "ImmediateCallbackDispatcher" );
 			super.setDaemon( true );
+
+			int workerCount = PorticoConstants.getCallbackWorkers();
+			this.workers = workerCount > 0 ? new CallbackWorkerPool(workerCount,logger) : null;
 		}
 		
 		public void run()
 		{
 			logger.debug( "Starting immediate callback delivery processor" );
+			if( workers != null )
+				logger.debug( "Spreading receive-order callbacks over "+workers.getSize()+" workers" );
 			
 			// Loop continuously until we are interrupted, polling for messages.
 			// When we receive one, proces it and move on to the next.
@@ -813,41 +876,144 @@ public class LRC
 			{
 				try
 				{
-					// If callbacks are currently not enabled, sleep for a bit and come back
-					// You mean just block!? Yes. I do. It's fine. Really. The stated use case
-					// for enabled/disable callbacks it to allow the federate to initiate a
-					// block on callbacks temporarily, so if unblocking takes a brief moment,
-					// it's really not an issue. Relax, tiger.
-					if( state.areCallbacksEnabled() == false )
-					{
-						Thread.sleep( 500 ); // sleep for half a second
-						continue;
-					}
+					// If callbacks are currently not enabled, wait until they are
+					state.awaitCallbacksEnabled();
 
 					// if callbacks are enabled, get bizzay processing them
-					PorticoMessage message = state.messageQueue.pollUntilNextMessage();
-					
-					if( message != null )
+					final PorticoMessage message = state.messageQueue.pollUntilNextMessage();
+					if( message == null )
+						continue;
+
+					if( workers != null )
 					{
+						int key = getWorkerKey( message );
+						if( key != -1 )
+						{
+							submit( key, message, new Runnable()
+							{
+								public void run()
+								{
+									try
+									{
+										dispatch( message );
+									}
+									catch( InterruptedException ie )
+									{
+										Thread.currentThread().interrupt();
+									}
+								}
+							});
+							continue;
+						}
+
+						// must be processed in order with everything else, wait for the
+						// workers to catch up first
 						try
 						{
-							tickProcess( message );
+							workers.awaitIdle();
 						}
-						catch( Exception e )
+						catch( InterruptedException ie )
 						{
-							// something went wrong in the callback, log it
-							logger.error( "Problem processing callback message: "+e.getMessage(), e );
+							state.messageQueue.putBack( message );
+							throw ie;
 						}
 					}
+
+					dispatch( message );
 				}
 				catch( InterruptedException ie )
 				{
 					break;
 				}
 			}
-			
+
+			// let the workers finish anything we've already given them
+			if( workers != null )
+			{
+				try
+				{
+					workers.shutdown();
+				}
+				catch( InterruptedException ie )
+				{
+					logger.warn( "Interrupted waiting for callback workers to stop" );
+				}
+			}
+
 			logger.debug( "Immediate callback delivery processor disabled" );
 		}
+
+		/**
+		 * Deliver the callback for the given message. Callbacks may have been disabled since it
+		 * was taken from the queue (or handed to a worker), so this waits for them to be enabled
+		 * again first. If immediate delivery is turned off while we wait (or we are interrupted),
+		 * the message is put back on the queue for the next tick() rather than lost.
+		 */
+		private void dispatch( PorticoMessage message ) throws InterruptedException
+		{
+			try
+			{
+				if( state.beginCallback() == false )
+				{
+					state.messageQueue.putBack( message );
+					return;
+				}
+			}
+			catch( InterruptedException ie )
+			{
+				state.messageQueue.putBack( message );
+				throw ie;
+			}
+
+			try
+			{
+				tickProcess( message );
+			}
+			catch( Exception e )
+			{
+				// something went wrong in the callback, log it
+				logger.error( "Problem processing callback message: "+e.getMessage(), e );
+			}
+			finally
+			{
+				state.endCallback();
+			}
+		}
+
+		/**
+		 * Hand the given task (delivering the given message) to the workers. If we are
+		 * interrupted before it is accepted, the message goes back on the queue.
+		 */
+		private void submit( int key, PorticoMessage message, Runnable task )
+			throws InterruptedException
+		{
+			try
+			{
+				workers.submit( key, task );
+			}
+			catch( InterruptedException ie )
+			{
+				state.messageQueue.putBack( message );
+				throw ie;
+			}
+		}
+
+		/**
+		 * Returns the key to process the given message under on the worker pool, or -1 if it
+		 * must be processed on the dispatcher thread. Only receive-order reflections and
+		 * interactions are spread over the workers.
+		 */
+		private int getWorkerKey( PorticoMessage message )
+		{
+			if( message.isTimestamped() )
+				return -1;
+			else if( message instanceof UpdateAttributes )
+				return ((UpdateAttributes)message).getObjectId();
+			else if( message instanceof SendInteraction )
+				return ((SendInteraction)message).getInteractionId();
+			else
+				return -1;
+		}
 	}
 
 }
@@ -101,6 +101,116 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	
 	public abstract void process( MessageContext context ) throws Exception;
 
+	/////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////// Veto Methods //////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Vetos processing of the current message by marking the context. No further handlers will
+	 * be given the message, so the calling handler should return straight after this call.
+	 */
+	protected void veto( MessageContext context )
+	{
+		context.veto();
+	}
+
+	/**
+	 * The same as {@link #veto(MessageContext)}, except that the given reason is logged at the
+	 * debug level.
+	 */
+	protected void veto( MessageContext context, String reason )
+	{
+		if( logger.isDebugEnabled() )
+			logger.debug( "(veto) " + reason );
+		
+		context.veto();
+	}
+
+	/**
+	 * This method will check the {@link PorticoMessage} to see if the kernel is an intended
+	 * target of the message. To be a target, the request must have either NO stated target (so
+	 * everyone is the target) or the target must have the same handle as the current federate.
+	 * If the message is intended for someone else, the context is vetoed and <code>true</code>
+	 * is returned (the caller should then stop processing).
+	 */
+	protected boolean vetoUnlessForUsOrBroadcast( MessageContext context, PorticoMessage request )
+	{
+		int target = request.getTargetFederate();
+		if( target != PorticoConstants.NULL_HANDLE && target != lrcState.getFederateHandle() )
+			context.veto();
+
+		return context.isVetoed();
+	}
+	
+	/**
+	 * This method will check the incoming request to see if the target federate handle is the
+	 * same as the handle of the local federate (accessed through the {@link LRCState}).
+	 * If the handles differ, the context is vetoed and <code>true</code> is returned.
+	 */
+	protected boolean vetoUnlessForUs( MessageContext context, PorticoMessage request )
+	{
+		if( request.getTargetFederate() != lrcState.getFederateHandle() )
+			context.veto();
+
+		return context.isVetoed();
+	}
+	
+	/**
+	 * This method will check the source ID of the message and if it is the same as our federate
+	 * handle, it will veto the context and return <code>true</code>. This can be used by
+	 * handlers if they want to filter out messages that they themselves generated (and thus might
+	 * not need to process). 
+	 */
+	protected boolean vetoIfMessageFromUs( MessageContext context, PorticoMessage request )
+	{
+		if( request.getSourceFederate() == lrcState.getFederateHandle() )
+			context.veto();
+
+		return context.isVetoed();
+	}
+	
+	/**
+	 * This method will check the source ID of the message and if it ISN'T the same as out federate
+	 * handle it will veto the context and return <code>true</code>.
+	 */
+	protected boolean vetoUnlessFromUs( MessageContext context, PorticoMessage request )
+	{
+		if( request.getSourceFederate() != lrcState.getFederateHandle() )
+			context.veto();
+
+		return context.isVetoed();
+	}
+
+	/**
+	 * Checks to see if the local federate is joined to a federation. If it is not, the context
+	 * will be vetoed and <code>true</code> returned.
+	 */
+	protected boolean vetoIfNotJoined( MessageContext context )
+	{
+		if( lrcState.isJoined() == false )
+			veto( context, "Can't process message, not currently joined to a federation" );
+
+		return context.isVetoed();
+	}
+	
+	/**
+	 * Checks to see if the local federate knowns about the federate with the given handle. If it
+	 * doesn't, the context will be vetoed and <code>true</code> returned.
+	 */
+	protected boolean vetoIfSourceNotJoined( MessageContext context, int federateHandle )
+	{
+		if( lrcState.getKnownFederate(federateHandle) == null )
+			context.veto();
+
+		return context.isVetoed();
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Exception-based Veto Methods ////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	// These are kept for plugin handlers written before vetoes were carried in the context.
+	// They all throw a VetoException, which the MessageSink still honours. Don't use these in
+	// new handlers, use the MessageContext based versions above.
+
 	/**
 	 * Vetos processing of the current message. This method just throws a {@link VetoException}.
 	 */
@@ -122,10 +232,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 
 	/**
-	 * This method will check the {@link PorticoMessage} to see if the kernel is an intended
-	 * target of the message. To be a target, the request must have either NO stated target (so
-	 * everyone is the target) or the target must have the same handle as the current federate.
-	 * If the message is intended for someone else, a {@link VetoException} will be thrown.
+	 * Exception-based version of {@link #vetoUnlessForUsOrBroadcast(MessageContext, PorticoMessage)}
 	 */
 	protected void vetoUnlessForUsOrBroadcast( PorticoMessage request ) throws VetoException
 	{
@@ -135,9 +242,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 	
 	/**
-	 * This method will check the incoming request to see if the target federate handle is the
-	 * same as the handle of the local federate (accessed through the {@link LRCState}).
-	 * If the handles differ, a {@link VetoException} will be thrown, ending processing.
+	 * Exception-based version of {@link #vetoUnlessForUs(MessageContext, PorticoMessage)}
 	 */
 	protected void vetoUnlessForUs( PorticoMessage request ) throws VetoException
 	{
@@ -146,10 +251,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 	
 	/**
-	 * This method will check the source ID of the message and if it is the same as our federate
-	 * handle, it will throw a {@link VetoException}, ending processing. This can be used by
-	 * handlers if they want to filter out messages that they themselves generated (and thus might
-	 * not need to process). 
+	 * Exception-based version of {@link #vetoIfMessageFromUs(MessageContext, PorticoMessage)}
 	 */
 	protected void vetoIfMessageFromUs( PorticoMessage request ) throws VetoException
 	{
@@ -158,8 +260,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 	
 	/**
-	 * This method will check the source ID of the message and if it ISN'T the same as out federate
-	 * handle it will throw a {@link VetoException}, ending processing.
+	 * Exception-based version of {@link #vetoUnlessFromUs(MessageContext, PorticoMessage)}
 	 */
 	protected void vetoUnlessFromUs( PorticoMessage request ) throws VetoException
 	{
@@ -168,8 +269,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 
 	/**
-	 * Checks to see if the local federate is joined to a federation. If it is not, a VetoException
-	 * will be thrown.
+	 * Exception-based version of {@link #vetoIfNotJoined(MessageContext)}
 	 */
 	protected void vetoIfNotJoined() throws VetoException
 	{
@@ -178,8 +278,7 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 	}
 	
 	/**
-	 * Checks to see if the local federate knowns about the federate with the given handle. If it
-	 * doesn't, a {@link VetoException} is thrown.
+	 * Exception-based version of {@link #vetoIfSourceNotJoined(MessageContext, int)}
 	 */
 	protected void vetoIfSourceNotJoined( int federateHandle ) throws VetoException
 	{
@@ -187,6 +286,9 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 			throw new VetoException( "vetoIfSourceNotJoined()" );
 	}
 	
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Message Helpers /////////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
 	/**
 	 * This will initialize the various parts of the given instance of the a {@link PorticoMessage}
 	 * subclass and return it (so you can chain this call if you want). It will do things like set
@@ -218,6 +320,24 @@ public abstract class LRCMessageHandler extends AbstractMessageHandler
 		instance.setTargetFederate( target );
 		return fill( instance );
 	}
+
+	/**
+	 * Timestamped messages sent while the local federate is regulating can be retracted later.
+	 * If the given message is one of these, it is given a retraction handle from the
+	 * {@link org.portico.lrc.services.time.data.RetractionManager}. The handle is returned so
+	 * that it can be passed back as the result of the request. If the message can't be retracted,
+	 * {@link PorticoConstants#NULL_HANDLE} is returned.
+	 */
+	protected int assignRetractionHandle( PorticoMessage message )
+	{
+		if( message.isTimestamped() && lrcState.isRegulating() )
+		{
+			int handle = lrcState.getRetractionManager().messageSent( message.getTimestamp() );
+			message.setRetractionHandle( handle );
+		}
+
+		return message.getRetractionHandle();
+	}
 	
 	/**
 	 * This method will take the given message and process it in the incoming message sink. If an
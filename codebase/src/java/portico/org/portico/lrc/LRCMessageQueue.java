@@ -17,20 +17,34 @@ package org.portico.lrc;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Date;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.PriorityBlockingQueue;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.portico.lrc.compat.JConfigurationException;
+import org.portico.lrc.queue.BlockingWaitStrategy;
+import org.portico.lrc.queue.BusySpinWaitStrategy;
+import org.portico.lrc.queue.CalendarTsoStore;
+import org.portico.lrc.queue.Conflator;
+import org.portico.lrc.queue.HeapTsoStore;
+import org.portico.lrc.queue.ITsoStore;
+import org.portico.lrc.queue.IWaitStrategy;
+import org.portico.lrc.queue.ParkWaitStrategy;
+import org.portico.lrc.queue.RetractableTsoStore;
+import org.portico.lrc.queue.SpinYieldWaitStrategy;
+import org.portico.lrc.queue.WakeLatency;
+import org.portico.lrc.services.object.data.IngressFilter;
 import org.portico.lrc.services.saverestore.data.SaveRestoreTarget;
+import org.portico.lrc.services.time.data.RetractionManager;
 import org.portico.lrc.services.time.data.TimeStatus;
+import org.portico.utils.ObjectFactory;
 import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessagePriority;
+import org.portico.utils.messaging.PooledMessage;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -42,21 +56,41 @@ import org.portico.utils.messaging.PorticoMessage;
  * This queue contains two queues internally: one for receive-order messages (RO) and one for 
  * timestamp-ordered messages (TSO). The RO queue is maintained on a normal first-in/first-out
  * basis. The TSO queue is sorted based on the timestamp of the incoming message. Those with
- * lower timestamps will be placed at the front of the queue. TSO messages are only released by the
+ * lower timestamps will be placed at the front of the queue, and those with the same timestamp
+ * are kept in the order they arrived. How the TSO messages are actually stored is up to the
+ * {@link ITsoStore} selected with {@link PorticoConstants#PROPERTY_TSO_STORE} (see
+ * {@link #createTsoStore()}). TSO messages are only released by the
  * queue when the {@link TimeStatus} of the local federate and federation is in an appropriate 
  * state (briefly: when the federation-lbts is greater-or-equal to the timestamp AND the time of
  * the local federate is as well).
  * <p/>
+ * A third, small queue holds control traffic that has been expedited past the RO queue. Any
+ * non-timestamped message whose {@link PorticoMessage#getPriority() priority} is above
+ * {@link MessagePriority#NORMAL} is placed in it, and it is always drained before the RO queue.
+ * {@link MessagePriority#CONTROL} messages are only expedited if there is nothing from their
+ * sender already waiting in the RO queue, so the relative order of messages from a single
+ * federate is kept. {@link MessagePriority#EXPEDITED} messages (time management) don't depend
+ * on any earlier RO message, so they always skip ahead.
+ * <p/>
+ * Messages that were taken from the queue for immediate delivery but couldn't be delivered (see
+ * {@link #putBack(PorticoMessage)}) are held ahead of everything else, in the order they were
+ * put back.
+ * <p/>
  * Any messages that are placed in the queue and have the
  * {@link PorticoMessage#isImmediateProcessingRequired()} flag set will be automatically routed
  * into the incoming sink of the kernel associated with the LRC rather than storing them. I repeat,
  * messages with this flag will be processed right away and are not stored in the queue.
+ * <p/>
+ * If it has been turned on for any object classes, receive-order reflections are passed through
+ * a {@link Conflator} before they are queued. Updates for an object that already has an update
+ * waiting in the RO queue are merged into that update rather than queued behind it.
  */
 public class LRCMessageQueue implements SaveRestoreTarget
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
 	//----------------------------------------------------------
+	private static final long MAX_TIMEOUT = Long.MAX_VALUE / 2;
 
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
@@ -64,8 +98,11 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	private LRC lrc;
 	private LRCState state;
 	
+	private BlockingQueue<PorticoMessage> returnedQueue;
+	private BlockingQueue<PorticoMessage> controlQueue;
 	private BlockingQueue<PorticoMessage> roQueue;
-	private PriorityBlockingQueue<PorticoMessage> tsoQueue;
+	private RetractableTsoStore tsoQueue;
+	private Conflator conflator;
 
 	// hla-related properties //
 	private TimeStatus timeStatus;
@@ -73,6 +110,10 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	// locking and concurrency //
 	private Lock lock;
 	private Condition condition;
+	private volatile long offerCount;
+	private IWaitStrategy waitStrategy;
+	private WakeLatency wakeLatency;
+	private volatile long lastOfferTime;
 	
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -82,12 +123,19 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	{
 		this.state = lrcState;
 		this.lrc = lrcState.theLRC;
+		this.returnedQueue = new LinkedBlockingQueue<PorticoMessage>();
+		this.controlQueue = new LinkedBlockingQueue<PorticoMessage>();
 		this.roQueue = new LinkedBlockingQueue<PorticoMessage>();
-		this.tsoQueue = new PriorityBlockingQueue<PorticoMessage>( 13, new Sorter() );
+		this.tsoQueue = new RetractableTsoStore( createTsoStore() );
+		this.conflator = new Conflator( lrcState );
 		
 		// locking and concurrency //
 		this.lock = new ReentrantLock();
 		this.condition = this.lock.newCondition();
+		this.offerCount = 0;
+		this.waitStrategy = createWaitStrategy();
+		this.wakeLatency = PorticoConstants.isWaitInstrumented() ? new WakeLatency() : null;
+		this.lastOfferTime = 0;
 		
 		// this will be lazy-loaded
 		// when a federate first joins a federation, the time status will be created and
@@ -135,6 +183,13 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	 *       the message is TSO, it is placed on the TSO queue.</li>
 	 * </ul>
 	 * 
+	 * RO messages with a priority above {@link MessagePriority#NORMAL} are placed on the control
+	 * queue so they can be released ahead of any waiting bulk traffic (see the class comments).
+	 * 
+	 * Before any of this, the message is given to the {@link IngressFilter}. Updates and
+	 * interactions the local federate has no subscription for are dropped without being queued
+	 * (<code>true</code> is still returned, as the message was dealt with).
+	 * 
 	 * Timestamped messages will be ordered according to their time (lowest to highest). If the
 	 * federate is *NOT* constrained, messages will automatically be stored in the RO queue (and
 	 * will have their times set to PorticoConstants.NULL_TIME).
@@ -145,6 +200,13 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	{
 		if( message == null )
 			return false;
+
+		// drop anything we have no interest in before it takes up space in the queues
+		if( state.getInterestManager().getIngressFilter().accept(message) == false )
+		{
+			release( message );
+			return true;
+		}
 		
 		lock.lock();
 		try
@@ -164,17 +226,27 @@ public class LRCMessageQueue implements SaveRestoreTarget
 				}
 			}
 			
-			// FIX: PORT-103: If not constrained, store the message RO and remove the timestamp
+			// if this is control traffic, expedite it past the bulk data in the RO queue
+			if( message.getPriority() != MessagePriority.NORMAL && message.isTimestamped() == false )
+				return offerControl( message );
+
+			// FIX: PORT-103: If not constrained, store the message RO and remove the timestamp.
+			// This must come before conflation, so these are merged like any other RO update
 			if( timeStatus().isConstrained() == false )
-			{
 				message.setTimestamp( PorticoConstants.NULL_TIME );
-				return this.roQueue.offer( message );
+
+			// merge RO reflections into any update still waiting for the same object
+			if( conflator.conflate(message) )
+			{
+				release( message );
+				return true;
 			}
-			
+
 			// check if it is RO or TSO
 			if( message.isTimestamped() )
 			{
-				return this.tsoQueue.offer( message );
+				this.tsoQueue.add( message );
+				return true;
 			}
 			else
 			{
@@ -183,20 +255,82 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		}
 		finally
 		{
-			// signal to any threads waiting on the condition
+			// let anyone waiting know that something has turned up
+			if( wakeLatency != null )
+				lastOfferTime = System.nanoTime();
+			
+			++offerCount;
 			condition.signalAll();
 			// release the lock
 			lock.unlock();
 		}
 	}
 
+	/**
+	 * Messages that are dropped rather than queued will never be processed, so if they came
+	 * from a pool they have to be let go of here
+	 */
+	private void release( PorticoMessage message )
+	{
+		if( message instanceof PooledMessage )
+			((PooledMessage)message).release();
+	}
+
+	/**
+	 * Places the given RO control message on the control queue, unless it is a
+	 * {@link MessagePriority#CONTROL} message and there is already something from the same
+	 * sender waiting in the RO queue. In that case it goes to the back of the RO queue so that
+	 * it isn't processed before anything it might depend on (an object registration, say).
+	 * <p/>
+	 * Control messages are rare compared to the bulk traffic, so the scan of the RO queue is
+	 * cheaper than keeping per-sender counts up to date on every offer and poll.
+	 */
+	private boolean offerControl( PorticoMessage message )
+	{
+		if( message.getPriority() == MessagePriority.CONTROL )
+		{
+			int sender = message.getSourceFederate();
+			for( PorticoMessage queued : this.roQueue )
+			{
+				if( queued.getSourceFederate() == sender )
+					return this.roQueue.offer( message );
+			}
+		}
+
+		return this.controlQueue.offer( message );
+	}
+
+	/**
+	 * Return a message that was taken from the queue but couldn't be delivered, so that it is
+	 * the next thing released. The immediate callback dispatcher uses this when immediate
+	 * delivery is turned off while it is holding messages, so the next tick() gets them. Messages
+	 * put back are released in the order they were put back, ahead of anything still queued
+	 * (they were all taken out before it), and aren't filtered or conflated a second time.
+	 */
+	public void putBack( PorticoMessage message )
+	{
+		lock.lock();
+		try
+		{
+			this.returnedQueue.offer( message );
+		}
+		finally
+		{
+			++offerCount;
+			condition.signalAll();
+			lock.unlock();
+		}
+	}
+
 	/**
 	 * Fetch the next available message from the queue.
 	 * <p/>
 	 * The algorithm used to determine which message is next goes as follows:
 	 * 
 	 * <ol>
-	 *   <li>If there are any RO messages, they are removed first</li>
+	 *   <li>If any messages were put back, they are removed first</li>
+	 *   <li>If there are any expedited control messages, they are removed next</li>
+	 *   <li>If there are any RO messages, they are removed next</li>
 	 *   <li>If there are no RO messages the first message of the TSO queue is consulted
 	 *       <ol>
 	 *         <li>If the timestamp of the first message is *less than or equal to* the current
@@ -221,6 +355,17 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		{
 			TimeStatus localStatus = timeStatus();
 
+			/////////////////////////////////////////
+			// check for expedited control traffic //
+			/////////////////////////////////////////
+			// anything put back has been released once already
+			if( this.returnedQueue.isEmpty() == false )
+				return this.returnedQueue.poll();
+
+			// none of these are "messages" in the spec sense, so they can always be released
+			if( this.controlQueue.isEmpty() == false )
+				return this.controlQueue.poll();
+
 			///////////////////////////////
 			// check for any RO messages //
 			///////////////////////////////
@@ -251,7 +396,7 @@ public class LRCMessageQueue implements SaveRestoreTarget
 				else
 				{
 					// we don't need to worry about the async status, just deliver the RO message
-					return this.roQueue.poll();
+					return conflator.released( this.roQueue.poll() );
 				}
 			}
 			
@@ -277,7 +422,7 @@ public class LRCMessageQueue implements SaveRestoreTarget
 				         message.getTimestamp() <= localStatus.getRequestedTime() )
 				{
 					// it is! release it - we also need to remove it, so we'll poll
-					return this.tsoQueue.poll();
+					return delivered( this.tsoQueue.poll() );
 				}
 			}
 	
@@ -293,6 +438,40 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		}
 	}
 
+	/**
+	 * Record that the given message is being released from the TSO queue, so that we know to ask
+	 * the federate to retract it should its sender retract it later (see
+	 * {@link RetractionManager}). Returns the message so calls can be chained.
+	 */
+	private PorticoMessage delivered( PorticoMessage message )
+	{
+		if( message.isRetractable() )
+			state.getRetractionManager().messageDelivered( message );
+
+		return message;
+	}
+
+	/**
+	 * Take the message with the given retraction handle out of the TSO queue, if it is still
+	 * there. Retracted messages are found through an index kept by the store, so the queue is not
+	 * searched (see {@link RetractableTsoStore}).
+	 * 
+	 * @return The message that was retracted, or <code>null</code> if there is no message with
+	 *         the handle waiting in the TSO queue (it may have already been released)
+	 */
+	public PorticoMessage retract( int retractionHandle )
+	{
+		lock.lock();
+		try
+		{
+			return this.tsoQueue.retract( retractionHandle );
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
 	/**
 	 * This method is provided to support implementations of the HLA method flushQueueRequest().
 	 * It will return a list of all available messages that exist in the RO queue, along with all
@@ -308,19 +487,17 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		{
 			List<PorticoMessage> flushList = new ArrayList<PorticoMessage>();
 
-			// flush out all the RO messages
+			// flush out all the returned, control and RO messages
+			returnedQueue.drainTo( flushList );
+			controlQueue.drainTo( flushList );
 			roQueue.drainTo( flushList );
+			conflator.clear( false );
 
 			// get all the TSO messages up to the specified time
-			PorticoMessage temp = tsoQueue.peek();
-			while( temp != null )
-			{
-				if( temp.getTimestamp() > maxTime )
-					break;
-
-				flushList.add( tsoQueue.poll() );
-				temp = tsoQueue.peek();
-			}
+			int roCount = flushList.size();
+			tsoQueue.drainTo( flushList, maxTime );
+			for( int i = roCount; i < flushList.size(); i++ )
+				delivered( flushList.get(i) );
 
 			return flushList;
 		}
@@ -380,40 +557,20 @@ public class LRCMessageQueue implements SaveRestoreTarget
 
 	/**
 	 * This method is the same as {@link #poll()} except that if there are no messages available,
-	 * it will block until there are (or until the timeout value has been reached). If the blocking
-	 * thread is interrupted while waiting, null will be returned.
+	 * it will wait until there are (or until the timeout value has been reached). If the waiting
+	 * thread is interrupted while waiting, null will be returned. How the thread waits is up to
+	 * the {@link IWaitStrategy} in use.
 	 */
 	public PorticoMessage poll( long timeoutNanos )
 	{
-		lock.lock();
 		try
 		{
-			// 1. check to see if we have a message //
-			// there is no need to aquire the lock as we are not accessing the queue directly
-			// lock is reentrant, so we shouldn't take hit for aquiring it in poll()
-			PorticoMessage theMessage = poll();
-			if( theMessage != null )
-			{
-				// there is a message so we can just return it
-				return theMessage;
-			}
-	
-			// 2. need to wait for an update to come through //
-			// wait on condition
-			condition.awaitNanos( timeoutNanos );
-			// we have been woken up:
-			//  -if by timeout: return null
-			//  -if by signal: return available message
-			return poll();
+			return pollUntilDeadline( deadline(timeoutNanos) );
 		}
 		catch( InterruptedException ie )
 		{
 			return null;
 		}
-		finally
-		{
-			lock.unlock();
-		}
 	}
 
 	/**
@@ -423,60 +580,79 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	 */
 	public PorticoMessage pollUntilNextMessage() throws InterruptedException
 	{
-		lock.lock();
+		return pollUntilDeadline( IWaitStrategy.NO_DEADLINE );
+	}
+
+	/**
+	 * This method is the same as {@link #poll()} except that if there are no messages available,
+	 * it will wait until there are (or until {@link System#nanoTime()} reaches the given deadline).
+	 * If the waiting thread is interrupted while waiting, null is returned.
+	 */
+	public PorticoMessage pollUntil( long deadlineNanos )
+	{
 		try
 		{
-			// 1. check to see if we have a message
-			// there is no need to aquire the lock as we are not accessing the queue directly
-			// lock is reentrant, so we shouldn't take hit for aquiring it in poll()
-			PorticoMessage theMessage = poll();
-			if( theMessage != null )
-			{
-				// there is a message so we can just return it
-				return theMessage;
-			}
-	
-			// 2. need to wait for an update to come through
-			// wait on condition
-			condition.await();
-			// we have been woken up:
-			//  -if by timeout: return null
-			//  -if by signal: return available message
-			return poll();
+			return pollUntilDeadline( deadlineNanos );
 		}
-		finally
+		catch( InterruptedException ie )
 		{
-			lock.unlock();
+			return null;
 		}
 	}
 
 	/**
-	 * This method is the same as {@link #poll()} except that if there are no messages available,
-	 * it will block until there are (or until the deadline time has been reached). If the blocking
-	 * thread is interrupted while waiting, null is returned.
+	 * Poll for a message and, if there isn't one, wait for something new to be offered using
+	 * the current {@link IWaitStrategy} before polling again. As before, only a single wait is
+	 * done, so null can come back before the deadline if the newly offered message couldn't be
+	 * released (a TSO message beyond our requested time for example). The lock is NOT held while
+	 * waiting, otherwise the spinning strategies would keep the offering threads out.
 	 */
-	public PorticoMessage pollUntil( Date deadline )
+	private PorticoMessage pollUntilDeadline( long deadlineNanos ) throws InterruptedException
+	{
+		// 1. check to see if we have a message. take note of the offer count first so that
+		//    we can tell if anything turns up between our poll and starting to wait
+		long seen = this.offerCount;
+		PorticoMessage theMessage = poll();
+		if( theMessage != null )
+			return theMessage;
+		else if( hasPassed(deadlineNanos) )
+			return null;
+
+		// 2. need to wait for an update to come through
+		waitStrategy.await( this, seen, deadlineNanos );
+		theMessage = poll();
+		if( theMessage != null && wakeLatency != null )
+			wakeLatency.record( System.nanoTime() - lastOfferTime );
+
+		return theMessage;
+	}
+
+	/**
+	 * Block on the queue's condition until the offer count is no longer <code>lastSeen</code>,
+	 * or until the deadline (see {@link System#nanoTime()}) passes. This is what the
+	 * {@link BlockingWaitStrategy} uses, the others just watch {@link #getOfferCount()}.
+	 */
+	public void awaitOffer( long lastSeen, long deadlineNanos ) throws InterruptedException
 	{
 		lock.lock();
 		try
 		{
-			// 1. check to see if we have a message
-			// there is no need to aquire the lock as we are not accessing the queue directly
-			// lock is reentrant, so we shouldn't take hit for aquiring it in poll()
-			PorticoMessage theMessage = poll();
-			if( theMessage != null )
+			// check under the lock, offer() bumps the count and signals while holding it
+			while( this.offerCount == lastSeen )
 			{
-				// there is a message so we can just return it
-				return theMessage;
+				if( deadlineNanos == IWaitStrategy.NO_DEADLINE )
+				{
+					condition.await();
+				}
+				else
+				{
+					long remaining = deadlineNanos - System.nanoTime();
+					if( remaining <= 0 )
+						return;
+					
+					condition.awaitNanos( remaining );
+				}
 			}
-	
-			// 2. need to wait for an update to come through
-			condition.awaitUntil( deadline );
-			return poll();
-		}
-		catch( InterruptedException ie )
-		{
-			return null;
 		}
 		finally
 		{
@@ -484,6 +660,25 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		}
 	}
 
+	/**
+	 * @return The number of messages that have been offered to the queue. This only ever goes up,
+	 *         so {@link IWaitStrategy} implementations can watch it to see if anything new has
+	 *         turned up without having to take the lock.
+	 */
+	public long getOfferCount()
+	{
+		return this.offerCount;
+	}
+
+	/**
+	 * @return The wake-up latency figures for the queue, or null if they aren't being recorded
+	 *         (see {@link PorticoConstants#PROPERTY_WAIT_INSTRUMENT})
+	 */
+	public WakeLatency getWakeLatency()
+	{
+		return this.wakeLatency;
+	}
+
 	/**
 	 * This method will return the callback message at the head of the TSO queue, but it WILL NOT
 	 * REMOVE IT. This method should only be called by certain time-advancement handlers when
@@ -491,13 +686,14 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	 */
 	public PorticoMessage peekTSO()
 	{
-		if( tsoQueue.isEmpty() )
+		lock.lock();
+		try
 		{
-			return null;
+			return tsoQueue.peek();
 		}
-		else
+		finally
 		{
-			return tsoQueue.peek();
+			lock.unlock();
 		}
 	}
 
@@ -510,7 +706,10 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		try
 		{
 			// test the queues //
-			return this.roQueue.isEmpty() && this.tsoQueue.isEmpty();
+			return this.returnedQueue.isEmpty() &&
+			       this.controlQueue.isEmpty() &&
+			       this.roQueue.isEmpty() &&
+			       this.tsoQueue.isEmpty();
 		}
 		finally
 		{
@@ -523,23 +722,25 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	////////////////////////////////////////////////////////////////////////////////////////////
 	/**
 	 * When a federate becomes unconstrained, it is no long able to receive messages with
-	 * timestamps. This method goes through the existing TSO queue and sets the timestamps of all
-	 * contained messages to {@link PorticoConstants#NULL_TIME} before putting them into the RO
-	 * queue and clearing the TSO queue.
+	 * timestamps. This method empties the existing TSO queue (in timestamp order) and sets the
+	 * timestamps of all contained messages to {@link PorticoConstants#NULL_TIME} before putting
+	 * them into the RO queue.
 	 */
 	public void becameUnconstrained()
 	{
 		lock.lock();
 		try
 		{
-			for( PorticoMessage message : this.tsoQueue )
+			List<PorticoMessage> tsoContents = new ArrayList<PorticoMessage>( tsoQueue.size() );
+			tsoQueue.drainTo( tsoContents, Double.POSITIVE_INFINITY );
+			for( PorticoMessage message : tsoContents )
 			{
 				message.setTimestamp( PorticoConstants.NULL_TIME );
 				roQueue.offer( message );
 			}
 
-			// clear the tso queue
-			this.tsoQueue.clear();
+			// later RO updates mustn't be merged in ahead of the ones we just moved over
+			conflator.clear( false );
 		}
 		finally
 		{
@@ -549,15 +750,70 @@ public class LRCMessageQueue implements SaveRestoreTarget
 
 	public int getSize()
 	{
-		return this.roQueue.size() + this.tsoQueue.size();
+		lock.lock();
+		try
+		{
+			return this.returnedQueue.size() + this.controlQueue.size() +
+			       this.roQueue.size() + this.tsoQueue.size();
+		}
+		finally
+		{
+			lock.unlock();
+		}
 	}
 	
 	public String toString()
+	{
+		lock.lock();
+		try
+		{
+			return describe();
+		}
+		finally
+		{
+			lock.unlock();
+		}
+	}
+
+	private String describe()
 	{
 		StringBuilder builder = new StringBuilder( "Message Queue (federate:" );
 		builder.append( state.getFederateHandle() );
 		builder.append( ")\n" );
 		
+		// Returned Messages //
+		if( returnedQueue.isEmpty() == false )
+		{
+			builder.append( "\t[Returned]\n" );
+			builder.append( "\t" );
+			builder.append( returnedQueue.size() );
+			builder.append( " message(s) waiting to be delivered again\n" );
+		}
+
+		// Control Queue //
+		builder.append( "\t[Control Queue]\n" );
+		if( controlQueue.isEmpty() )
+		{
+			builder.append( "\t(empty)\n" );
+		}
+		else
+		{
+			PorticoMessage[] controlArray =
+				controlQueue.toArray( new PorticoMessage[controlQueue.size()] );
+			for( int i = 0; i < controlArray.length; i++ )
+			{
+				builder.append( "\t[" );
+				builder.append( i+1 );
+				builder.append( "] message=" );
+				builder.append( controlArray[i].getClass().getCanonicalName() );
+				builder.append( ", src=" );
+				builder.append( controlArray[i].getSourceFederate() );
+				builder.append( ", dst=" );
+				builder.append( controlArray[i].getTargetFederate() );
+				builder.append( "\n" );
+			}
+		}
+
 		// Receive Order Queue //
 		builder.append( "\t[RO Queue]\n" );
 		if( roQueue.isEmpty() )
@@ -581,7 +837,7 @@ public class LRCMessageQueue implements SaveRestoreTarget
 			}
 		}
 		
-		// Receive Order Queue //
+		// Timestamp Order Queue //
 		builder.append( "\t[TSO Queue]\n" );
 		if( tsoQueue.isEmpty() )
 		{
@@ -589,7 +845,7 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		}
 		else
 		{
-			PorticoMessage[] tsoArray = tsoQueue.toArray( new PorticoMessage[tsoQueue.size()] );
+			PorticoMessage[] tsoArray = tsoQueue.toList().toArray( new PorticoMessage[0] );
 			for( int i = 0; i < tsoArray.length; i++ )
 			{
 				builder.append( "\t[" );
@@ -597,7 +853,7 @@ public class LRCMessageQueue implements SaveRestoreTarget
 				builder.append( "] message=" );
 				builder.append( tsoArray[i].getClass().getCanonicalName() );
 				builder.append( " @" );
-				builder.append( tsoArray[0].getTimestamp() );
+				builder.append( tsoArray[i].getTimestamp() );
 				builder.append( ", src=" );
 				builder.append( tsoArray[i].getSourceFederate() );
 				builder.append( ", dst=" );
@@ -618,11 +874,11 @@ public class LRCMessageQueue implements SaveRestoreTarget
 		{
 			lock.lock();
 
-			// only write the CONTENTS of the tsoQueue. Writing the whole queue means that
-    		// we have to write the Sorter, and because it's an inner class it attempts to
-    		// write the queue itself (which we don't want to do)
-    		ArrayList<PorticoMessage> tsoContents = new ArrayList<PorticoMessage>();
-    		tsoQueue.drainTo( tsoContents );
+			// only write the CONTENTS of the tsoQueue (in release order). The store itself
+			// isn't serializable, and which one is in use is a local configuration choice.
+			// Don't drain it either, the federate carries on with the same queue after a save
+    		ArrayList<PorticoMessage> tsoContents =
+    			new ArrayList<PorticoMessage>( tsoQueue.toList() );
     		output.writeObject( tsoContents );
 
     		// don't include any Save status messages from the RO-Queue when we write the
@@ -643,11 +899,17 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	/**
 	 * Goes through the RO queue and filters out any save messages, returning a *NEW* queue that
 	 * has the contents of the existing RO queue, but does not have any of the save messages.
+	 * Any returned and expedited control messages are put at the front of the new queue, which
+	 * is the order they would have been released in anyway.
 	 */
 	private BlockingQueue<PorticoMessage> filterSaveMessages()
 	{
+		List<PorticoMessage> pending = new ArrayList<PorticoMessage>( returnedQueue );
+		pending.addAll( controlQueue );
+		pending.addAll( roQueue );
+
 		BlockingQueue<PorticoMessage> newQueue = new LinkedBlockingQueue<PorticoMessage>();
-		for( PorticoMessage message : roQueue )
+		for( PorticoMessage message : pending )
 		{
 			if( message instanceof org.portico.lrc.services.saverestore.msg.SaveBegun ||
 				message instanceof org.portico.lrc.services.saverestore.msg.SaveComplete )
@@ -671,9 +933,14 @@ public class LRCMessageQueue implements SaveRestoreTarget
 			lock.lock();
 			
     		ArrayList<PorticoMessage> tsoContents = (ArrayList<PorticoMessage>)input.readObject();
-    		this.tsoQueue.addAll( tsoContents );
+    		this.tsoQueue.clear();
+    		for( PorticoMessage message : tsoContents )
+    			this.tsoQueue.add( message );
     
+    		this.returnedQueue.clear();
+    		this.controlQueue.clear();
     		this.roQueue = (BlockingQueue<PorticoMessage>)input.readObject();
+    		this.conflator.clear( true );
     		this.timeStatus = (TimeStatus)input.readObject();
 		}
 		finally
@@ -685,42 +952,97 @@ public class LRCMessageQueue implements SaveRestoreTarget
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
-	/////////////////////////////////////////////////////////////////////////////////////////
-	////////////////////////////////// Private Inner Class //////////////////////////////////
-	/////////////////////////////////////////////////////////////////////////////////////////
 	/**
-	 * Comparator used for sorting TSO callback messages such that the callback queue remains
-	 * ordered. If the TSO message is a time advance grant (responds <code>true</code> to the
-	 * {@link PorticoMessage#isTimeAdvance()}), it is considered LESS than any other
-	 * message with the SAME timestamp. This way, it forces it to the bottom of the queue for
-	 * that timestamp.
+	 * Create the {@link ITsoStore} that will hold TSO messages. The system property
+	 * {@link PorticoConstants#PROPERTY_TSO_STORE} is consulted to see which implementation
+	 * should be used. The value should be the fully qualified name of a class that implements
+	 * {@link ITsoStore}. However, for the implementations that come with Portico, an alias can
+	 * be provided. Currently supported aliases are:
+	 * <ul>
+	 *   <li>"calendar" for {@link CalendarTsoStore} (the default)</li>
+	 *   <li>"heap" for {@link HeapTsoStore}</li>
+	 * </ul>
+	 * 
+	 * If the class specified in the property cannot be found, or it doesn't implement the
+	 * {@link ITsoStore} interface, an exception will be thrown.
 	 */
-	private class Sorter implements Comparator<PorticoMessage>
+	private static ITsoStore createTsoStore() throws JConfigurationException
 	{
-		public int compare( PorticoMessage o1, PorticoMessage o2 )
+		String property = PorticoConstants.getTsoStore();
+
+		// check to see if we have one of the predefined aliases
+		if( property.equalsIgnoreCase("calendar") )
+			return new CalendarTsoStore();
+		else if( property.equalsIgnoreCase("heap") )
+			return new HeapTsoStore();
+
+		// we don't have one of the aliases, try and find the class and create it
+		try
 		{
-			double time1 = o1.getTimestamp();
-			double time2 = o2.getTimestamp();
-			
-			if( time1 < time2 )
-			{
-				return -1;
-			}
-			else if( time1 > time2 )
-			{
-				return 1;
-			}
-			else
-			{
-				// they appear to be equal, which is fine as long as NEITHER of them
-				// is a time advance grant
-				if( o1.isTimeAdvance() )
-					return 1;
-				else if( o2.isTimeAdvance() )
-					return -1;
-				else
-					return 0;
-			}
+			return ObjectFactory.create( property, ITsoStore.class );
 		}
+		catch( Exception e )
+		{
+			throw new JConfigurationException( "Problem creating TSO store: " + property, e );
+		}
+	}
+
+	/**
+	 * Create the {@link IWaitStrategy} that threads waiting on the queue will use. The system
+	 * property {@link PorticoConstants#PROPERTY_WAIT_STRATEGY} is consulted to see which
+	 * implementation should be used. As with {@link #createTsoStore()}, the value can be the
+	 * fully qualified name of a class implementing {@link IWaitStrategy}, or one of the aliases:
+	 * <ul>
+	 *   <li>"blocking" for {@link BlockingWaitStrategy} (the default)</li>
+	 *   <li>"spinyield" for {@link SpinYieldWaitStrategy}</li>
+	 *   <li>"busyspin" for {@link BusySpinWaitStrategy}</li>
+	 *   <li>"park" for {@link ParkWaitStrategy}</li>
+	 * </ul>
+	 */
+	private static IWaitStrategy createWaitStrategy() throws JConfigurationException
+	{
+		String property = PorticoConstants.getWaitStrategy();
+
+		// check to see if we have one of the predefined aliases
+		if( property.equalsIgnoreCase("blocking") )
+			return new BlockingWaitStrategy();
+		else if( property.equalsIgnoreCase("spinyield") )
+			return new SpinYieldWaitStrategy( PorticoConstants.getWaitSpins() );
+		else if( property.equalsIgnoreCase("busyspin") )
+			return new BusySpinWaitStrategy();
+		else if( property.equalsIgnoreCase("park") )
+			return new ParkWaitStrategy( PorticoConstants.getWaitParkNanos() );
+
+		// we don't have one of the aliases, try and find the class and create it
+		try
+		{
+			return ObjectFactory.create( property, IWaitStrategy.class );
+		}
+		catch( Exception e )
+		{
+			throw new JConfigurationException( "Problem creating wait strategy: " + property, e );
+		}
+	}
+
+	/**
+	 * Turn a timeout into a {@link System#nanoTime()} deadline. Timeouts of more than a century
+	 * or so are taken to mean {@link IWaitStrategy#NO_DEADLINE}, as adding them to the current
+	 * time could overflow. Deadlines should be compared by subtraction for the same reason.
+	 */
+	public static long deadline( long timeoutNanos )
+	{
+		if( timeoutNanos >= MAX_TIMEOUT )
+			return IWaitStrategy.NO_DEADLINE;
+		else
+			return System.nanoTime() + Math.max( timeoutNanos, 0 );
+	}
+
+	/**
+	 * @return True if {@link System#nanoTime()} has reached the given deadline (which is never
+	 *         the case for {@link IWaitStrategy#NO_DEADLINE})
+	 */
+	public static boolean hasPassed( long deadlineNanos )
+	{
+		return deadlineNanos != IWaitStrategy.NO_DEADLINE && System.nanoTime()-deadlineNanos >= 0;
 	}
 }
@@ -36,6 +36,7 @@ import org.portico.lrc.services.mom.data.MomManager;
 import org.portico.lrc.services.object.data.InterestManager;
 import org.portico.lrc.services.object.data.RegionStore;
 import org.portico.lrc.services.object.data.Repository;
+import org.portico.lrc.services.object.data.UpdateSuppressor;
 import org.portico.lrc.services.ownership.data.OwnershipManager;
 import org.portico.lrc.services.saverestore.data.Manifest;
 import org.portico.lrc.services.saverestore.data.RestoreManager;
@@ -43,8 +44,10 @@ import org.portico.lrc.services.saverestore.data.SaveManager;
 import org.portico.lrc.services.saverestore.data.SaveRestoreTarget;
 import org.portico.lrc.services.saverestore.data.Serializer;
 import org.portico.lrc.services.sync.data.SyncPointManager;
+import org.portico.lrc.services.time.data.RetractionManager;
 import org.portico.lrc.services.time.data.TimeManager;
 import org.portico.lrc.services.time.data.TimeStatus;
+import org.portico.lrc.utils.HandleAllocator;
 
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
@@ -99,8 +102,13 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	// Time related settings //
 	private TimeManager timeManager;
 	private TimeStatus timeStatus;
+	private RetractionManager retractionManager;
 	private boolean ticking;
-	private boolean callbacksEnabled;
+	private volatile boolean callbacksEnabled;
+	private Object callbacksEnabledLock; // immediate dispatcher waits on this while disabled
+	private int callbacksRunning;        // immediate callbacks being delivered right now
+	private int callbacksDisabling;      // of those, how many are waiting in a disable call
+	private ThreadLocal<Boolean> inCallback;
 	private boolean immediateCallbacks;
 	
 	// Pub&Sub settings //
@@ -111,8 +119,8 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	
 	// Instance Repository //
 	private Repository repository;
-	private int latestObjectHandle;
-	private int maxObjectHandle;
+	private UpdateSuppressor updateSuppressor;
+	private HandleAllocator objectHandles;
 	
 	// Ownership settings //
 	private OwnershipManager ownershipManager;
@@ -125,8 +133,7 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	
 	// DDM state entities //
 	private RegionStore regionStore;
-	private int latestRegionToken;
-	private int maxRegionToken;
+	private HandleAllocator regionTokens;
 	
 	// Record of other federates //
 	private Federation federation;
@@ -142,6 +149,10 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	public LRCState( LRC theLRC )
 	{
 		this.theLRC = theLRC;
+		this.callbacksEnabledLock = new Object();
+		this.callbacksRunning = 0;
+		this.callbacksDisabling = 0;
+		this.inCallback = new ThreadLocal<Boolean>();
 		this.reinitialize();
 	}
 
@@ -172,8 +183,9 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		// Time related settings //
 		this.timeManager = new TimeManager();
 		this.timeStatus = new TimeStatus(); // give us a dummy status with default values for now
+		this.retractionManager = new RetractionManager();
 		this.ticking = false;
-		this.callbacksEnabled = true;
+		this.setCallbacksEnabled( true );
 		//this.immediateCallbacks = false; -- don't reinitialize this one, we want it to persist
 		
 		// Pub&Sub settings //
@@ -189,16 +201,15 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		
 		// Instance Repository //
 		this.repository = new Repository( this );
-		this.latestObjectHandle = 0;
-		this.maxObjectHandle = 0;
+		this.updateSuppressor = new UpdateSuppressor( this );
+		this.objectHandles = null; // created on first use, once we know our federate handle
 		
 		// Ownership settings //
 		this.ownershipManager = new OwnershipManager();
 		
 		// Region Store //
 		this.regionStore = new RegionStore( this );
-		this.latestRegionToken = 0;
-		this.maxRegionToken = 0;
+		this.regionTokens = null; // created on first use, once we know our federate handle
 		
 		// Other Federates Records //
 		this.federation = new Federation( this );
@@ -212,6 +223,7 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		manifest.addTarget( momManager ); // after this.federation
 		manifest.addTarget( syncPointManager );
 		manifest.addTarget( timeManager );
+		manifest.addTarget( retractionManager );
 		manifest.addTarget( regionStore );
 		manifest.addTarget( interestManager );
 		manifest.addTarget( repository );
@@ -249,11 +261,16 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		// tell the time manager that we've joined and cache the local state
 		timeManager.joinedFederation( federateHandle, null );
 		this.timeStatus = timeManager.getTimeStatus( federateHandle );
+		retractionManager.joinedFederation( federateHandle );
 		
 		// tell the save/restore managers that the local federate is in here
 		saveManager.joinedFederation( federateHandle );
 		restoreManager.joinedFederation( federateHandle );
 		
+		// build the subscription table (and start filtering incoming updates/interactions against
+		// our as yet empty subscriptions)
+		interestManager.updateSubscriptionTable();
+
 		// tell the mom manager that things are a go
 		momManager.connectedToFederation();
 		
@@ -294,6 +311,16 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	@Override
 	public void localFederateResignedFromFederation()
 	{
+		// report how quickly we were picking up messages before the queue goes away
+		if( messageQueue.getWakeLatency() != null )
+			theLRC.logger.info( "Federate ["+federateName+"] "+messageQueue.getWakeLatency() );
+
+		if( theLRC.getUpdatePool().isEnabled() && theLRC.logger.isDebugEnabled() )
+		{
+			theLRC.logger.debug( theLRC.getUpdatePool() );
+			theLRC.logger.debug( theLRC.getInteractionPool() );
+		}
+
 		this.theLRC.reinitialize();
 	}
 
@@ -304,6 +331,7 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	@Override
 	public void remoteFederateResignedFromFederation( int federateHandle, String federateName )
 	{
+		retractionManager.resignedFederation( federateHandle );
 		Federate federate = this.federation.removeFederate( federateHandle );
 		if( federate != null )
 			momManager.federateResignedFederation( federate );
@@ -494,9 +522,99 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		return this.callbacksEnabled;
 	}
 	
+	/**
+	 * Turn callbacks on or off. When turning them off with immediate callback delivery in use,
+	 * this blocks until any callbacks being delivered right now (on the dispatcher thread or
+	 * the callback workers) have finished, so that none are delivered once it returns. Callbacks
+	 * that are themselves in here disabling callbacks are not waited for (including the caller's
+	 * own, if it is called from inside one), otherwise two of them would wait on each other.
+	 */
 	public void setCallbacksEnabled( boolean enabled )
 	{
-		this.callbacksEnabled = enabled;
+		synchronized( callbacksEnabledLock )
+		{
+			this.callbacksEnabled = enabled;
+			callbacksEnabledLock.notifyAll();
+			if( enabled )
+				return;
+
+			boolean fromCallback = inCallback.get() != null;
+			if( fromCallback )
+			{
+				++this.callbacksDisabling;
+				callbacksEnabledLock.notifyAll();
+			}
+
+			try
+			{
+				while( this.callbacksRunning > this.callbacksDisabling &&
+				       this.callbacksEnabled == false )
+				{
+					callbacksEnabledLock.wait();
+				}
+			}
+			catch( InterruptedException ie )
+			{
+				Thread.currentThread().interrupt();
+			}
+			finally
+			{
+				if( fromCallback )
+					--this.callbacksDisabling;
+			}
+		}
+	}
+
+	/**
+	 * Block until callbacks are enabled. Returns straight away if they already are. Used by the
+	 * immediate callback dispatcher so that it resumes as soon as callbacks are turned back on.
+	 */
+	public void awaitCallbacksEnabled() throws InterruptedException
+	{
+		synchronized( callbacksEnabledLock )
+		{
+			while( this.callbacksEnabled == false )
+				callbacksEnabledLock.wait();
+		}
+	}
+
+	/**
+	 * Called by the immediate callback dispatcher and its workers right before they deliver a
+	 * callback. Blocks while callbacks are disabled, then counts the callback as being delivered
+	 * until {@link #endCallback()} is called.
+	 * 
+	 * @return <code>true</code> if the callback can be delivered. <code>false</code> if immediate
+	 *         delivery was turned off while callbacks were disabled, in which case the message
+	 *         must be put back on the queue for tick() to deliver, and {@link #endCallback()}
+	 *         must not be called.
+	 */
+	public boolean beginCallback() throws InterruptedException
+	{
+		synchronized( callbacksEnabledLock )
+		{
+			while( this.callbacksEnabled == false && this.immediateCallbacks )
+				callbacksEnabledLock.wait();
+
+			if( this.callbacksEnabled == false )
+				return false;
+
+			++this.callbacksRunning;
+			inCallback.set( Boolean.TRUE );
+			return true;
+		}
+	}
+
+	/**
+	 * Marks the end of a callback started with {@link #beginCallback()}
+	 */
+	public void endCallback()
+	{
+		synchronized( callbacksEnabledLock )
+		{
+			--this.callbacksRunning;
+			inCallback.remove();
+			callbacksEnabledLock.notifyAll();
+		}
 	}
 
 	public boolean isImmediateCallbackDeliveryEnabled()
@@ -516,7 +634,11 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	 */
 	public void setImmediateCallbackDelivery( boolean enabled )
 	{
-		this.immediateCallbacks = enabled;
+		synchronized( callbacksEnabledLock )
+		{
+			this.immediateCallbacks = enabled;
+			callbacksEnabledLock.notifyAll();
+		}
 	}
 
 	public boolean isTicking()
@@ -608,6 +730,11 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	{
 		return this.timeManager;
 	}
+
+	public RetractionManager getRetractionManager()
+	{
+		return this.retractionManager;
+	}
 	
 	public SyncPointManager getSyncPointManager()
 	{
@@ -628,6 +755,11 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	{
 		return this.repository;
 	}
+
+	public UpdateSuppressor getUpdateSuppressor()
+	{
+		return this.updateSuppressor;
+	}
 	
 	public OwnershipManager getOwnershipManager()
 	{
@@ -657,7 +789,7 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	 * 
 	 * <ul>
 	 *   <li>
-	 *   <b>Min Value</b>: <code>((federateHandle-1)*{@link PorticoConstants#MAX_OBJECTS})+1</code>
+	 *   <b>Min Value</b>: <code>((federateHandle-1)*{@link PorticoConstants#MAX_OBJECTS})+2</code>
 	 *   (see MOM note below)
 	 *   </li>
 	 *   <li>
@@ -665,33 +797,42 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	 *   </li>
 	 * </ul> 
 	 * 
-	 * When a new value is requested, an internal counter is incremented and the value returned.
-	 * If the new value should cross the max value, an exception is thrown.
+	 * Handles are given out by a {@link HandleAllocator}, so once an object is deleted its handle
+	 * is handed back (see {@link #releaseObjectHandle(int)}) and the slot it occupied can be used
+	 * again, once every fresh slot has been used. Any bits set aside for the generation of a slot
+	 * (see {@link PorticoConstants#PROPERTY_HANDLE_GENERATION_BITS}) keep a recycled slot from
+	 * coming back with the same handle for longer, at the cost of fewer slots. The limit is on
+	 * the number of objects alive at once, not on the number of registrations over the life of
+	 * the federate. If every slot is in use, an exception is thrown.
 	 * <p/>
-	 * <b>NOTE:</b> The +1 is to allow a handle for the MOM object that is registered when a
-	 * federate joins a federation. As the local LRC controls this particular object, the handle
-	 * for the object comes out of the local federate's stash. Also note that the handle 0 is used
-	 * to specify the federation MOM object.
-	 * <p/>
-	 * <b>NOTE:</b> Handles cannot currently be reused, so the max number of objects that can be
-	 * registered for a particular federate basically means that max number of successful object
-	 * registrations that can occur, not the max number of active/alive/non-deleted objects a
-	 * federate can register. This problem will be addressed in the future.
+	 * <b>NOTE:</b> The first two values in the range are never given out. One allows a handle for
+	 * the MOM object that is registered when a federate joins a federation. As the local LRC
+	 * controls this particular object, the handle for the object comes out of the local
+	 * federate's stash. Also note that the handle 0 is used to specify the federation MOM object.
 	 */
 	public int nextObjectHandle() throws JRTIinternalError
 	{
-		if( this.maxObjectHandle == 0 )
+		if( this.objectHandles == null )
 		{
-			// initialize the max and current handle values
-			latestObjectHandle = ((federateHandle-1) * PorticoConstants.MAX_OBJECTS)+1;
-			maxObjectHandle =  (federateHandle * PorticoConstants.MAX_OBJECTS)-1;
+			this.objectHandles =
+				new HandleAllocator( (federateHandle-1) * PorticoConstants.MAX_OBJECTS,
+				                     PorticoConstants.MAX_OBJECTS,
+				                     2,
+				                     PorticoConstants.getHandleGenerationBits() );
 		}
 		
-		++latestObjectHandle;
-		if( latestObjectHandle > maxObjectHandle )
-			throw new JRTIinternalError( "Execeeded max number of objects" );
-		else
-			return latestObjectHandle;
+		return objectHandles.nextHandle();
+	}
+
+	/**
+	 * Hands an object handle back once the object it identified has been deleted, so that its
+	 * slot can be reused. Handles from outside this federate's range, and handles that have
+	 * already been given back, are ignored.
+	 */
+	public void releaseObjectHandle( int objectHandle )
+	{
+		if( this.objectHandles != null )
+			objectHandles.release( objectHandle );
 	}
 	
 	/**
@@ -719,35 +860,41 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 	 * 
 	 * <ul>
 	 *   <li>
-	 *   <b>Min Value</b>: <code>(federateHandle-1)*{@link PorticoConstants#MAX_OBJECTS}</code>
+	 *   <b>Min Value</b>: <code>((federateHandle-1)*{@link PorticoConstants#MAX_REGIONS})+1</code>
 	 *   </li>
 	 *   <li>
-	 *   <b>Max Value</b>: <code>((federateHandle)*{@link PorticoConstants#MAX_OBJECTS})-1</code>
+	 *   <b>Max Value</b>: <code>((federateHandle)*{@link PorticoConstants#MAX_REGIONS})-1</code>
 	 *   </li>
 	 * </ul> 
 	 * 
-	 * When a new value is requested, an internal counter is incremented and the value returned.
-	 * If the new value should cross the max value, an exception is thrown.
-	 * <p/>
-	 * <b>NOTE:</b> Tokens cannot currently be reused, so the max number of regions that can be
-	 * registered for a particular federate basically means that max number of successful create
-	 * regions requests that can occur, not the max number of active/alive/non-deleted regions a
-	 * federate can create. This problem will be addressed in the future.
+	 * Tokens are recycled in the same way as object handles (see {@link #nextObjectHandle()}).
+	 * Once a region is deleted its token is given back through {@link #releaseRegionToken(int)},
+	 * so the limit is on the number of regions alive at once. If every slot is in use, an
+	 * exception is thrown.
 	 */
 	public int nextRegionToken() throws JRTIinternalError
 	{
-		if( maxRegionToken == 0 )
+		if( this.regionTokens == null )
 		{
-			// initialize the max and current handle values
-			latestRegionToken = (federateHandle-1) * PorticoConstants.MAX_REGIONS;
-			maxRegionToken =  (federateHandle * PorticoConstants.MAX_REGIONS)-1;
+			this.regionTokens =
+				new HandleAllocator( (federateHandle-1) * PorticoConstants.MAX_REGIONS,
+				                     PorticoConstants.MAX_REGIONS,
+				                     1,
+				                     PorticoConstants.getHandleGenerationBits() );
 		}
 		
-		++latestRegionToken;
-		if( latestRegionToken > maxRegionToken )
-			throw new JRTIinternalError( "Execeeded max number of regions" );
-		else
-			return latestRegionToken;
+		return regionTokens.nextHandle();
+	}
+
+	/**
+	 * Hands a region token back once the region has been deleted, so that its slot can be reused.
+	 * Tokens from outside this federate's range, and tokens that have already been given back,
+	 * are ignored.
+	 */
+	public void releaseRegionToken( int regionToken )
+	{
+		if( this.regionTokens != null )
+			regionTokens.release( regionToken );
 	}
 
 	////////////////////////////////////////////////////////////
@@ -826,12 +973,10 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		output.writeBoolean( immediateCallbacks );
 		
 		// Instance Repository //
-		output.writeInt( latestObjectHandle );
-		output.writeInt( maxObjectHandle );
+		output.writeObject( objectHandles );
 		
 		// DDM state entities //
-		output.writeInt( latestRegionToken );
-		output.writeInt( maxRegionToken );
+		output.writeObject( regionTokens );
 	}
 
 	public void restoreFromStream( ObjectInput input ) throws Exception
@@ -850,12 +995,16 @@ public class LRCState extends NullNotificationListener implements SaveRestoreTar
 		this.immediateCallbacks = input.readBoolean();
 		
 		// Instance Repository //
-		this.latestObjectHandle = input.readInt();
-		this.maxObjectHandle = input.readInt();
+		this.objectHandles = (HandleAllocator)input.readObject();
+		
+		// the values we last sent may not be the ones the federation saw before the restore
+		this.updateSuppressor.clear();
 		
 		// DDM state entities //
-		this.latestRegionToken = input.readInt();
-		this.maxRegionToken = input.readInt();
+		this.regionTokens = (HandleAllocator)input.readObject();
+		
+		// now that the FOM is back, rebuild the subscription table (and so the ingress filter)
+		interestManager.updateSubscriptionTable();
 	}
 
 	//----------------------------------------------------------
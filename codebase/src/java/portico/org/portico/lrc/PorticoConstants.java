@@ -78,14 +78,18 @@ public class PorticoConstants
 	/** The maximum number of federates allowed in any single federation. Currently 1024. */
 	public static final int MAX_FEDERATES = 1024;
 	
-	/** The maximum number of objects a federate is allowed to register. This value is calculated
+	/** The size of the object handle range given to each federate. This value is calculated
 	    as {@link Integer#MAX_VALUE} / {@link #MAX_FEDERATES} */
 	public static final int MAX_OBJECTS = Integer.MAX_VALUE / MAX_FEDERATES;
 
-	/** The maximum number of regions a federate is allowed to register. This value is calculated
+	/** The size of the region token range given to each federate. This value is calculated
 	    as {@link Integer#MAX_VALUE} / {@link #MAX_FEDERATES} */
 	public static final int MAX_REGIONS = Integer.MAX_VALUE / MAX_FEDERATES;
-	
+
+	/** The size of the message retraction handle range given to each federate. This value is
+	    calculated as {@link Integer#MAX_VALUE} / {@link #MAX_FEDERATES} */
+	public static final int MAX_RETRACTIONS = Integer.MAX_VALUE / MAX_FEDERATES;
+
 	/** The handle given to the MOM object instances registered in federations to represent the
 	    federation itself. */
 	public static final int MOM_FEDERATION_OBJECT_HANDLE = 0;
@@ -153,6 +157,22 @@ public class PorticoConstants
 	
 	/** System property for defining which directory save/restore dump files should be in */
 	public static final String PROPERTY_SAVE_DIRECTORY = "portico.saveDirectory";
+
+	/** System property for defining whether save files are written out on a background thread
+	    once the LRC state has been snapshotted in memory. The federate's save isn't reported as
+	    complete until the file is written either way. Restores wait for any pending write.
+	    Default is off */
+	public static final String PROPERTY_SAVE_BACKGROUND = "portico.save.background";
+
+	/** System property for defining whether the chunks of a save file are compressed.
+	    Default is on */
+	public static final String PROPERTY_SAVE_COMPRESS = "portico.save.compress";
+
+	/** System property for defining whether a save only writes out the parts of the LRC state
+	    that aren't already in the chunk store (see {@link #getSaveChunkDirectory()}), referring
+	    to the stored copies for the rest. The store must be kept to restore from such a save.
+	    Default is off */
+	public static final String PROPERTY_SAVE_INCREMENTAL = "portico.save.incremental";
 	
 	/** System property for defining which directory to put the log file in */
 	public static final String PROPERTY_LOG_DIR = "portico.logdir";
@@ -168,6 +188,74 @@ public class PorticoConstants
 	/** System property for defining whether or not a federate has to have a unique name when
 	    joining a federation. By default it should and this check is enabled */
 	public static final String PROPERTY_UNIQUE_FEDERATE_NAMES = "portico.uniqueFederateNames";
+
+	/** System property for defining whether incoming updates and interactions that the local
+	    federate isn't subscribed to are dropped as they arrive, rather than being queued and
+	    discarded later. Default is to drop them on arrival */
+	public static final String PROPERTY_INGRESS_FILTER = "portico.ingressFilter";
+
+	/** System property used to specify how timestamp-ordered messages are stored while they
+	    wait to be released. Either an alias ("calendar" or "heap") or the name of a class that
+	    implements {@link org.portico.lrc.queue.ITsoStore}. Default is "calendar" */
+	public static final String PROPERTY_TSO_STORE = "portico.tsoStore";
+
+	/** System property listing the object classes whose receive-order updates should be merged
+	    (latest value wins) while waiting in the queue. Comma separated, subclasses of a listed
+	    class are included. Default is empty (no conflation) */
+	public static final String PROPERTY_CONFLATE = "portico.conflate";
+
+	/** System property listing the object classes whose outgoing updates should have any
+	    attribute values that haven't changed since they were last sent removed. Comma separated,
+	    subclasses of a listed class are included. Default is empty (send everything) */
+	public static final String PROPERTY_SUPPRESS_UNCHANGED = "portico.suppressUnchanged";
+
+	/** System property for the number of worker threads immediate callbacks are spread over.
+	    Receive-order reflections and interactions are delivered concurrently for different
+	    objects (or interaction classes). Only suitable for thread-safe federate ambassadors.
+	    Default is 0 (all callbacks delivered on the single dispatcher thread) */
+	public static final String PROPERTY_CALLBACK_WORKERS = "portico.callbackWorkers";
+
+	/** System property used to specify how a thread waiting on the LRC queue (tick,
+	    evokeCallback or the immediate callback dispatcher) waits for new messages. Either an
+	    alias ("blocking", "spinyield", "busyspin" or "park") or the name of a class that
+	    implements {@link org.portico.lrc.queue.IWaitStrategy}. Default is "blocking" */
+	public static final String PROPERTY_WAIT_STRATEGY = "portico.waitStrategy";
+
+	/** System property for the number of times the "spinyield" wait strategy checks the queue
+	    before it starts yielding between checks. Default is 10000 */
+	public static final String PROPERTY_WAIT_SPINS = "portico.waitStrategy.spins";
+
+	/** System property for how long (in nanoseconds) the "park" wait strategy parks between
+	    checks of the queue. Default is 10000 (10 microseconds) */
+	public static final String PROPERTY_WAIT_PARK_NANOS = "portico.waitStrategy.parkNanos";
+
+	/** System property for turning on the recording of how long it takes a waiting thread to
+	    pick up a newly queued message. The figures are logged when the federate resigns.
+	    Default is off */
+	public static final String PROPERTY_WAIT_INSTRUMENT = "portico.waitStrategy.instrument";
+
+	/** System property for turning on the pooling of incoming and outgoing reflections and
+	    interactions. Pooled messages are reset and reused once all their handlers and callbacks
+	    have finished with them rather than being left for the garbage collector. Default is off */
+	public static final String PROPERTY_MESSAGE_POOL = "portico.messagePool";
+
+	/** System property for the most messages of each type that a pool will hold on to while they
+	    wait to be reused. Default is 1024 */
+	public static final String PROPERTY_MESSAGE_POOL_SIZE = "portico.messagePool.size";
+
+	/** System property for turning on leak detection for pooled messages. Every acquired
+	    message is tracked and a warning is logged for any that are garbage collected without
+	    having been released. This is expensive, only use it while debugging. Default is off */
+	public static final String PROPERTY_MESSAGE_POOL_DEBUG = "portico.messagePool.debug";
+
+	/** System property for the number of high bits in each federate's object handle, region
+	    token and retraction handle range that mark the generation of a recycled value. Each bit
+	    halves the number of objects (or regions) a federate can have alive at once, and doubles
+	    how often a slot must be recycled before one of its handles is given out again. Default
+	    is 0, which keeps the full range (about 2 million) for live handles. Deleted handles are
+	    still only reused once every fresh one has been given out. See
+	    {@link org.portico.lrc.utils.HandleAllocator}. */
+	public static final String PROPERTY_HANDLE_GENERATION_BITS = "portico.handles.generationBits";
 	
 	///////////////////////////////////////////////
 	////////////// Kernel Properties //////////////
@@ -223,6 +311,16 @@ public class PorticoConstants
 	public static final String PROPERTY_CPP_COMPILER = "portico.cpp.compiler";
 	public static final String PROPERTY_CPP_HLAVERSION = "portico.cpp.hlaversion";
 	public static final String PROPERTY_CPP_ARCH = "portico.cpp.arch";
+
+	/** System property for turning on batched callback delivery to C++ (1516e) federates.
+	    During evokeMultipleCallbacks, reflections and interactions are packed into a buffer
+	    shared with the C++ side and handed over in one go rather than one JNI call each.
+	    Default is off */
+	public static final String PROPERTY_CPP_BATCH_CALLBACKS = "portico.cpp.batchCallbacks";
+
+	/** System property for the size (in bytes) of the buffer used to batch callbacks for
+	    C++ federates. Default is 65536 */
+	public static final String PROPERTY_CPP_BATCH_SIZE = "portico.cpp.batchSize";
 	
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
@@ -357,6 +455,16 @@ public class PorticoConstants
 		String directory = System.getProperty( PROPERTY_SAVE_DIRECTORY, "./savedata" );
 		return directory+"/"+saveLabel+"/"+federateName+".save";
 	}
+
+	/**
+	 * Returns the directory that incremental saves keep their chunks in. It sits alongside the
+	 * directories for each save label and is shared by all of them.
+	 */
+	public static String getSaveChunkDirectory()
+	{
+		String directory = System.getProperty( PROPERTY_SAVE_DIRECTORY, "./savedata" );
+		return directory+"/.chunks";
+	}
 	
 	/**
 	 * This is a wrapper for {@link System#getProperty(String, String)} except that it will
@@ -393,6 +501,20 @@ public class PorticoConstants
 		                                   " expected bool (true,false,on,off,enabled,disabled)" );
 	}
 
+	/**
+	 * This is a wrapper for {@link System#getProperty(String)} that splits a comma separated
+	 * value into its parts, trimming the whitespace around each. If the property isn't set (or
+	 * is empty) an empty array is returned.
+	 */
+	public static String[] getListProperty( String propertyName )
+	{
+		String propertyValue = System.getProperty( propertyName, "" ).trim();
+		if( propertyValue.isEmpty() )
+			return new String[0];
+		else
+			return propertyValue.split( "\\s*,\\s*" );
+	}
+
 	/**
 	 * This is a wrapper for {@link System#getProperty(String, String)} except that it will
 	 * sanitize int values. If the value of the property is not an integer, an exception will be
@@ -580,6 +702,102 @@ public class PorticoConstants
 		return getBooleanProperty( PROPERTY_UNIQUE_FEDERATE_NAMES, "true" );
 	}
 
+	public static boolean isIngressFilterEnabled()
+	{
+		return getBooleanProperty( PROPERTY_INGRESS_FILTER, "true" );
+	}
+
+	public static String getTsoStore()
+	{
+		return System.getProperty( PROPERTY_TSO_STORE, "calendar" );
+	}
+
+	/**
+	 * @return The names of the object classes listed in {@link #PROPERTY_CONFLATE}. An empty
+	 *         array is returned if there are none.
+	 */
+	public static String[] getConflatedClasses()
+	{
+		return getListProperty( PROPERTY_CONFLATE );
+	}
+
+	/**
+	 * @return The names of the object classes listed in {@link #PROPERTY_SUPPRESS_UNCHANGED}. An
+	 *         empty array is returned if there are none.
+	 */
+	public static String[] getSuppressUnchangedClasses()
+	{
+		return getListProperty( PROPERTY_SUPPRESS_UNCHANGED );
+	}
+
+	public static int getCallbackWorkers() throws JConfigurationException
+	{
+		return getIntProperty( PROPERTY_CALLBACK_WORKERS, "0" );
+	}
+
+	public static String getWaitStrategy()
+	{
+		return System.getProperty( PROPERTY_WAIT_STRATEGY, "blocking" );
+	}
+
+	public static int getWaitSpins() throws JConfigurationException
+	{
+		return getIntProperty( PROPERTY_WAIT_SPINS, "10000" );
+	}
+
+	public static int getWaitParkNanos() throws JConfigurationException
+	{
+		return getIntProperty( PROPERTY_WAIT_PARK_NANOS, "10000" );
+	}
+
+	public static boolean isWaitInstrumented() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_WAIT_INSTRUMENT, "false" );
+	}
+
+	public static boolean isMessagePoolEnabled() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_MESSAGE_POOL, "false" );
+	}
+
+	public static int getMessagePoolSize() throws JConfigurationException
+	{
+		return getIntProperty( PROPERTY_MESSAGE_POOL_SIZE, "1024" );
+	}
+
+	public static boolean isMessagePoolDebug() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_MESSAGE_POOL_DEBUG, "false" );
+	}
+
+	public static int getHandleGenerationBits() throws JConfigurationException
+	{
+		int bits = getIntProperty( PROPERTY_HANDLE_GENERATION_BITS, "0" );
+		if( bits < 0 || bits > 16 )
+		{
+			throw new JConfigurationException( "Invalid value for system property \""+
+			                                   PROPERTY_HANDLE_GENERATION_BITS+"\", found="+bits+
+			                                   ", expected 0-16" );
+		}
+
+		return bits;
+	}
+
+	public static boolean isSaveInBackground() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_SAVE_BACKGROUND, "false" );
+	}
+
+	public static boolean isSaveCompressed() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_SAVE_COMPRESS, "true" );
+	}
+
+	public static boolean isSaveIncremental() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_SAVE_INCREMENTAL, "false" );
+	}
+
 	///////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////////////// C++ Property Methods /////////////////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////
@@ -656,6 +874,16 @@ public class PorticoConstants
 		return getCppHlaVersion().equals("ieee1516e");
 	}
 
+	public static boolean isCppBatchCallbacks() throws JConfigurationException
+	{
+		return getBooleanProperty( PROPERTY_CPP_BATCH_CALLBACKS, "false" );
+	}
+
+	public static int getCppBatchSize() throws JConfigurationException
+	{
+		return getIntProperty( PROPERTY_CPP_BATCH_SIZE, "65536" );
+	}
+
 	///////////////////////////////////////////////////////////////////////////////////////
 	////////////////////////////////// Container Methods //////////////////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////
@@ -35,6 +35,7 @@ public class ACInstance implements Serializable
 	//----------------------------------------------------------
 	private int handle;
 	private int owner;
+	private int ownershipVersion;
 	private OCInstance container;
 	private ACMetadata type;
 	private RegionInstance region;
@@ -47,6 +48,7 @@ public class ACInstance implements Serializable
 	{
 		this.handle = PorticoConstants.NULL_HANDLE;
 		this.owner = PorticoConstants.NULL_HANDLE;
+		this.ownershipVersion = 0;
 		this.container = null;
 		this.type = null;
 		this.region = null;
@@ -134,6 +136,9 @@ public class ACInstance implements Serializable
 	 */
 	public void setOwner( int owner )
 	{
+		if( this.owner != owner )
+			++this.ownershipVersion;
+
 		this.owner = owner;
 	}
 	
@@ -142,7 +147,17 @@ public class ACInstance implements Serializable
 	 */
 	public void unown()
 	{
-		this.owner = PorticoConstants.NULL_HANDLE;
+		setOwner( PorticoConstants.NULL_HANDLE );
+	}
+
+	/**
+	 * A count of the number of times the owner of this attribute has changed. Anything that
+	 * wants to know if ownership has changed hands since it last looked (even if it has since
+	 * come back to the same federate) can compare this with the value it saw then.
+	 */
+	public int getOwnershipVersion()
+	{
+		return ownershipVersion;
 	}
 
 	public ACMetadata getType()
@@ -26,6 +26,7 @@ import java.util.Set;
 import org.apache.log4j.Logger;
 import org.portico.lrc.compat.JInconsistentFDD;
 import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.lrc.model.datatype.IDatatype;
 
 /**
  * This class provides the logic for merging multiple {@link ObjectModel}s together into a
@@ -102,6 +103,13 @@ public class ModelMerger
 		if( extension.getInteractionRoot() != null )
 			mergeInteractionClass( base.getInteractionRoot(), extension.getInteractionRoot() );
 		
+		// add any data types the base doesn't already have
+		for( IDatatype datatype : extension.getDatatypes() )
+		{
+			if( base.getDatatype(datatype.getName()) == null )
+				base.addDatatype( datatype );
+		}
+
 		// return the merges model
 		return base;
 	}
@@ -15,6 +15,7 @@
 package org.portico.lrc.model;
 
 import java.io.Serializable;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Set;
 import java.util.Map;
@@ -22,6 +23,8 @@ import java.util.HashSet;
 import java.util.HashMap;
 
 import org.portico.impl.HLAVersion;
+import org.portico.lrc.model.datatype.IDatatype;
+import org.portico.lrc.model.datatype.StandardDatatypes;
 
 /**
  * This class represents a HLA FOM. It contains a set of object and interaction classes (routing
@@ -59,6 +62,7 @@ public class ObjectModel implements Serializable
 	private Map<Integer,OCMetadata> oclasses;
 	private Map<Integer,ICMetadata> iclasses;
 	private Map<Integer,Space> spaces;
+	private Map<String,IDatatype> datatypes;
 	private OCMetadata ocroot;
 	private ICMetadata icroot;
 	
@@ -74,6 +78,7 @@ public class ObjectModel implements Serializable
 		this.oclasses = new HashMap<Integer,OCMetadata>();
 		this.iclasses = new HashMap<Integer,ICMetadata>();
 		this.spaces   = new HashMap<Integer,Space>();
+		this.datatypes = new HashMap<String,IDatatype>();
 		this.locked   = false;
 		this.ocroot   = null;
 		this.icroot   = null;
@@ -396,6 +401,33 @@ public class ObjectModel implements Serializable
 		}
 	}
 	
+	/**
+	 * Get the handles of the object class with the given name and of every class that extends it
+	 * (directly or further down the hierarchy). Each handle is a set bit in the returned
+	 * {@link BitSet}. If no class with the given name exists in this model, null is returned.
+	 */
+	public BitSet getObjectClassHierarchy( String name )
+	{
+		OCMetadata root = this.getObjectClass( name );
+		if( root == null )
+			return null;
+
+		BitSet handles = new BitSet();
+		for( OCMetadata objectClass : this.oclasses.values() )
+		{
+			for( OCMetadata clazz = objectClass; clazz != null; clazz = clazz.getParent() )
+			{
+				if( clazz == root )
+				{
+					handles.set( objectClass.getHandle() );
+					break;
+				}
+			}
+		}
+
+		return handles;
+	}
+
 	/**
 	 * Get the name of the object class represented by the given handle in this model. If the
 	 * handle does not represent a class, null will be returned. 
@@ -636,6 +668,40 @@ public class ObjectModel implements Serializable
 		return "<unknown>";
 	}
 
+	/////////////////////////////////////////////////////////////
+	////////////////////// Datatype Methods /////////////////////
+	/////////////////////////////////////////////////////////////
+	/**
+	 * Add the given type to the model, replacing any existing type with the same name.
+	 */
+	public void addDatatype( IDatatype datatype )
+	{
+		this.datatypes.put( datatype.getName(), datatype );
+	}
+
+	/**
+	 * Fetch the data type with the given name. If the FOM didn't declare a type with that name,
+	 * the types predefined by the standard MIM are checked (see {@link StandardDatatypes}). If
+	 * there is still no type with the name, null is returned.
+	 */
+	public IDatatype getDatatype( String name )
+	{
+		IDatatype datatype = this.datatypes.get( name );
+		if( datatype == null )
+			datatype = StandardDatatypes.get( name );
+
+		return datatype;
+	}
+
+	/**
+	 * @return All the data types declared in the FOM. This doesn't include the standard types
+	 *         unless the FOM declared them itself.
+	 */
+	public Collection<IDatatype> getDatatypes()
+	{
+		return this.datatypes.values();
+	}
+
 	/////////////////////////////////////////////////////////////
 	//////////////////// Dynamic FOM Methods ////////////////////
 	/////////////////////////////////////////////////////////////
@@ -0,0 +1,112 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+/**
+ * An array data type (<code>arrayData</code>). The cardinality is either a fixed number of
+ * elements or {@link #DYNAMIC}, and the encoding is normally <code>HLAfixedArray</code> or
+ * <code>HLAvariableArray</code> (FOMs are free to name their own encodings, so whatever is
+ * in the FOM is kept as-is).
+ */
+public class ArrayType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	public static final int DYNAMIC = -1;
+
+	public static final String ENCODING_FIXED = "HLAfixedArray";
+	public static final String ENCODING_VARIABLE = "HLAvariableArray";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private String elementType;
+	private int cardinality;
+	private String encoding;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ArrayType( String name, String elementType, int cardinality, String encoding )
+	{
+		this.name = name;
+		this.elementType = elementType;
+		this.cardinality = cardinality;
+		this.encoding = encoding;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.ARRAY;
+	}
+
+	/**
+	 * @return The name of the type of each element in the array
+	 */
+	public String getElementType()
+	{
+		return this.elementType;
+	}
+
+	/**
+	 * @return The number of elements in the array, or {@link #DYNAMIC}
+	 */
+	public int getCardinality()
+	{
+		return this.cardinality;
+	}
+
+	public String getEncoding()
+	{
+		return this.encoding;
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Convert the value of a FOM <code>cardinality</code> element into a number of elements.
+	 * "Dynamic" and ranges (such as "[1..10]") are treated as {@link #DYNAMIC}, as is anything
+	 * else that isn't a plain number (such as multi-dimensional cardinalities).
+	 */
+	public static int parseCardinality( String value )
+	{
+		try
+		{
+			return Integer.parseInt( value.trim() );
+		}
+		catch( NumberFormatException nfe )
+		{
+			return DYNAMIC;
+		}
+	}
+}
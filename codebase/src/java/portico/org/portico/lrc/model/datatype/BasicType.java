@@ -0,0 +1,88 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+/**
+ * A basic data representation (<code>basicData</code>). These are the leaves of every other
+ * type: a fixed number of bits in a given byte order.
+ */
+public class BasicType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private int size;
+	private Endianness endianness;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public BasicType( String name, int size, Endianness endianness )
+	{
+		this.name = name;
+		this.size = size;
+		this.endianness = endianness;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.BASIC;
+	}
+
+	/**
+	 * @return The size of the type in bits
+	 */
+	public int getSize()
+	{
+		return this.size;
+	}
+
+	public Endianness getEndianness()
+	{
+		return this.endianness;
+	}
+
+	/**
+	 * The FOM only gives us a size for basic types, not whether they hold integer or floating
+	 * point values. We go by the name for that, anything with "float" in it is floating point.
+	 */
+	public boolean isFloatingPoint()
+	{
+		return this.name.toLowerCase().contains( "float" );
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
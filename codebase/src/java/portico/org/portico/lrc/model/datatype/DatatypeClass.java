@@ -0,0 +1,31 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+/**
+ * The different sections of the FOM <code>dataTypes</code> table that a type can come from.
+ */
+public enum DatatypeClass
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	BASIC,
+	SIMPLE,
+	ENUMERATED,
+	ARRAY,
+	FIXEDRECORD,
+	VARIANTRECORD;
+}
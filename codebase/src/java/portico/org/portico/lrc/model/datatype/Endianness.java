@@ -0,0 +1,42 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+/**
+ * Byte order of a basic data representation
+ */
+public enum Endianness
+{
+	//----------------------------------------------------------
+	//                        VALUES
+	//----------------------------------------------------------
+	BIG,
+	LITTLE;
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Convert the value of a FOM <code>endian</code> element ("Big" or "Little") into an
+	 * Endianness. Anything other than "Little" is taken to be big endian.
+	 */
+	public static Endianness fromFomString( String value )
+	{
+		if( value != null && value.trim().equalsIgnoreCase("little") )
+			return LITTLE;
+		else
+			return BIG;
+	}
+}
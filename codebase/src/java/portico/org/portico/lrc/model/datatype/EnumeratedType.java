@@ -0,0 +1,99 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * An enumerated data type (<code>enumeratedData</code>). Each enumerator has a name and a
+ * value, with values encoded using the basic representation of the type.
+ */
+public class EnumeratedType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private String representation;
+	private Map<String,Long> enumerators;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public EnumeratedType( String name, String representation )
+	{
+		this.name = name;
+		this.representation = representation;
+		this.enumerators = new LinkedHashMap<String,Long>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.ENUMERATED;
+	}
+
+	/**
+	 * @return The name of the basic type that enumerator values are encoded as
+	 */
+	public String getRepresentation()
+	{
+		return this.representation;
+	}
+
+	public void addEnumerator( String name, long value )
+	{
+		this.enumerators.put( name, value );
+	}
+
+	/**
+	 * @return The value of the named enumerator, or null if there isn't one by that name
+	 */
+	public Long getValue( String enumerator )
+	{
+		return this.enumerators.get( enumerator );
+	}
+
+	/**
+	 * @return The enumerators of this type mapped to their values, in declaration order
+	 */
+	public Map<String,Long> getEnumerators()
+	{
+		return Collections.unmodifiableMap( this.enumerators );
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
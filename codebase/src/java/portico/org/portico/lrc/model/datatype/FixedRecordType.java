@@ -0,0 +1,109 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A fixed record data type (<code>fixedRecordData</code>), which is an ordered list of named
+ * fields, each with its own type.
+ */
+public class FixedRecordType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private List<Field> fields;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public FixedRecordType( String name )
+	{
+		this.name = name;
+		this.fields = new ArrayList<Field>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.FIXEDRECORD;
+	}
+
+	public void addField( String name, String datatype )
+	{
+		this.fields.add( new Field(name,datatype) );
+	}
+
+	/**
+	 * @return The fields of the record in the order they are encoded
+	 */
+	public List<Field> getFields()
+	{
+		return Collections.unmodifiableList( this.fields );
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////// Public Class: Field /////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	public static class Field implements Serializable
+	{
+		private static final long serialVersionUID = 98121116105109L;
+		private String name;
+		private String datatype;
+
+		public Field( String name, String datatype )
+		{
+			this.name = name;
+			this.datatype = datatype;
+		}
+
+		public String getName()
+		{
+			return this.name;
+		}
+
+		/** @return The name of the type of this field */
+		public String getDatatype()
+		{
+			return this.datatype;
+		}
+	}
+}
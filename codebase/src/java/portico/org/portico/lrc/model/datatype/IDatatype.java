@@ -0,0 +1,39 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+import java.io.Serializable;
+
+/**
+ * A data type declared in the <code>dataTypes</code> section of a FOM. Types refer to each
+ * other by name rather than directly so that modules can be merged and types can be declared
+ * in any order. Use {@link org.portico.lrc.model.ObjectModel#getDatatype(String)} to resolve
+ * a name into its type.
+ */
+public interface IDatatype extends Serializable
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return The name of the type as declared in the FOM
+	 */
+	public String getName();
+
+	/**
+	 * @return The category of FOM type that this is (basic, simple, array, ...)
+	 */
+	public DatatypeClass getDatatypeClass();
+}
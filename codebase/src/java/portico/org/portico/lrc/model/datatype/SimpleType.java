@@ -0,0 +1,72 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+/**
+ * A simple data type (<code>simpleData</code>), which gives a new name to a basic
+ * representation.
+ */
+public class SimpleType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private String representation;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SimpleType( String name, String representation )
+	{
+		this.name = name;
+		this.representation = representation;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.SIMPLE;
+	}
+
+	/**
+	 * @return The name of the basic type that values of this type are encoded as
+	 */
+	public String getRepresentation()
+	{
+		return this.representation;
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
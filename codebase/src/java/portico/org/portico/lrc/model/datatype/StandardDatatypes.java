@@ -0,0 +1,111 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The data types predefined by the HLA 1516e standard MIM. FOM modules refer to these without
+ * declaring them, so {@link org.portico.lrc.model.ObjectModel#getDatatype(String)} falls back
+ * to this set for any name the FOM didn't declare itself.
+ */
+public class StandardDatatypes
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final Map<String,IDatatype> TYPES = createTypes();
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	private StandardDatatypes()
+	{
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return The standard type with the given name, or null if there is no such type
+	 */
+	public static IDatatype get( String name )
+	{
+		return TYPES.get( name );
+	}
+
+	public static Map<String,IDatatype> getAll()
+	{
+		return TYPES;
+	}
+
+	private static Map<String,IDatatype> createTypes()
+	{
+		Map<String,IDatatype> types = new HashMap<String,IDatatype>();
+
+		// basic data representations
+		add( types, new BasicType("HLAinteger16BE",16,Endianness.BIG) );
+		add( types, new BasicType("HLAinteger32BE",32,Endianness.BIG) );
+		add( types, new BasicType("HLAinteger64BE",64,Endianness.BIG) );
+		add( types, new BasicType("HLAfloat32BE",32,Endianness.BIG) );
+		add( types, new BasicType("HLAfloat64BE",64,Endianness.BIG) );
+		add( types, new BasicType("HLAoctetPairBE",16,Endianness.BIG) );
+		add( types, new BasicType("HLAinteger16LE",16,Endianness.LITTLE) );
+		add( types, new BasicType("HLAinteger32LE",32,Endianness.LITTLE) );
+		add( types, new BasicType("HLAinteger64LE",64,Endianness.LITTLE) );
+		add( types, new BasicType("HLAfloat32LE",32,Endianness.LITTLE) );
+		add( types, new BasicType("HLAfloat64LE",64,Endianness.LITTLE) );
+		add( types, new BasicType("HLAoctetPairLE",16,Endianness.LITTLE) );
+		add( types, new BasicType("HLAoctet",8,Endianness.BIG) );
+
+		// simple data types
+		add( types, new SimpleType("HLAASCIIchar","HLAoctet") );
+		add( types, new SimpleType("HLAunicodeChar","HLAoctetPairBE") );
+		add( types, new SimpleType("HLAbyte","HLAoctet") );
+
+		// enumerated data types
+		EnumeratedType hlaboolean = new EnumeratedType( "HLAboolean", "HLAinteger32BE" );
+		hlaboolean.addEnumerator( "HLAfalse", 0 );
+		hlaboolean.addEnumerator( "HLAtrue", 1 );
+		add( types, hlaboolean );
+
+		// array data types
+		add( types, new ArrayType("HLAASCIIstring","HLAASCIIchar",
+		                          ArrayType.DYNAMIC,ArrayType.ENCODING_VARIABLE) );
+		add( types, new ArrayType("HLAunicodeString","HLAunicodeChar",
+		                          ArrayType.DYNAMIC,ArrayType.ENCODING_VARIABLE) );
+		add( types, new ArrayType("HLAopaqueData","HLAbyte",
+		                          ArrayType.DYNAMIC,ArrayType.ENCODING_VARIABLE) );
+		add( types, new ArrayType("HLAhandle","HLAbyte",
+		                          ArrayType.DYNAMIC,ArrayType.ENCODING_VARIABLE) );
+
+		return Collections.unmodifiableMap( types );
+	}
+
+	private static void add( Map<String,IDatatype> types, IDatatype type )
+	{
+		types.put( type.getName(), type );
+	}
+}
@@ -0,0 +1,142 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.model.datatype;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A variant record data type (<code>variantRecordData</code>). The value of an enumerated
+ * discriminant decides which of the alternatives (if any) follows it.
+ */
+public class VariantRecordType implements IDatatype
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	/** Enumerator that selects an alternative for every value no other alternative covers */
+	public static final String OTHER = "HLAother";
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private String discriminantName;
+	private String discriminantType;
+	private List<Alternative> alternatives;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public VariantRecordType( String name, String discriminantName, String discriminantType )
+	{
+		this.name = name;
+		this.discriminantName = discriminantName;
+		this.discriminantType = discriminantType;
+		this.alternatives = new ArrayList<Alternative>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public String getName()
+	{
+		return this.name;
+	}
+
+	public DatatypeClass getDatatypeClass()
+	{
+		return DatatypeClass.VARIANTRECORD;
+	}
+
+	public String getDiscriminantName()
+	{
+		return this.discriminantName;
+	}
+
+	/**
+	 * @return The name of the enumerated type of the discriminant
+	 */
+	public String getDiscriminantType()
+	{
+		return this.discriminantType;
+	}
+
+	/**
+	 * Add an alternative.
+	 * 
+	 * @param enumerators The enumerators that select this alternative. Each is either the name
+	 *                    of an enumerator, a range in the form "[first..last]" or
+	 *                    {@link #OTHER}
+	 * @param name The name of the alternative
+	 * @param datatype The name of the type of the alternative, or null if it has no value
+	 */
+	public void addAlternative( List<String> enumerators, String name, String datatype )
+	{
+		this.alternatives.add( new Alternative(enumerators,name,datatype) );
+	}
+
+	public List<Alternative> getAlternatives()
+	{
+		return Collections.unmodifiableList( this.alternatives );
+	}
+
+	public String toString()
+	{
+		return this.name;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////// Public Class: Alternative //////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	public static class Alternative implements Serializable
+	{
+		private static final long serialVersionUID = 98121116105109L;
+		private List<String> enumerators;
+		private String name;
+		private String datatype;
+
+		public Alternative( List<String> enumerators, String name, String datatype )
+		{
+			this.enumerators = new ArrayList<String>( enumerators );
+			this.name = name;
+			this.datatype = datatype;
+		}
+
+		public List<String> getEnumerators()
+		{
+			return Collections.unmodifiableList( this.enumerators );
+		}
+
+		public String getName()
+		{
+			return this.name;
+		}
+
+		/** @return The name of the type of the alternative, or null if it carries no value */
+		public String getDatatype()
+		{
+			return this.datatype;
+		}
+	}
+}
@@ -0,0 +1,56 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import org.portico.lrc.LRCMessageQueue;
+
+/**
+ * Spins on the queue's offer count without ever giving up the CPU. Gives the lowest wake-up
+ * latency, but the waiting thread will use all of a core for as long as it waits. Only use this
+ * if the federate has a core to itself.
+ */
+public class BusySpinWaitStrategy implements IWaitStrategy
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void await( LRCMessageQueue queue, long lastSeen, long deadline )
+		throws InterruptedException
+	{
+		while( queue.getOfferCount() == lastSeen )
+		{
+			if( deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0 )
+				return;
+			else if( Thread.interrupted() )
+				throw new InterruptedException();
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,246 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * {@link ITsoStore} that groups messages into buckets, one per distinct timestamp. Federations
+ * tend to generate a lot of messages for a small number of timestamps (everyone sends their
+ * updates for time t, then everyone sends their updates for t+1), so this is a much better fit
+ * than a heap:
+ * <ul>
+ *   <li>Adding a message for a timestamp we already have a bucket for is a hash lookup and an
+ *       append. Only the first message for a new timestamp pays to place a bucket in order.</li>
+ *   <li>Within a bucket messages are kept first-in/first-out, with time advance messages held
+ *       separately and released after everything else at that time.</li>
+ *   <li>The bucket at the head is cached, so peeking and polling don't touch the ordered map
+ *       until a whole time step has been released.</li>
+ *   <li>Draining up to a given time (for flush queue requests) hands over whole buckets at a
+ *       time rather than removing messages one by one.</li>
+ * </ul>
+ */
+public class CalendarTsoStore implements ITsoStore
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	/** Maximum number of emptied buckets we'll hold on to for reuse */
+	private static final int SPARE_BUCKETS = 8;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TreeMap<Double,Bucket> ordered;
+	private Map<Double,Bucket> lookup;
+	private Bucket head;
+	private int size;
+
+	private ArrayDeque<Bucket> spares;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public CalendarTsoStore()
+	{
+		this.ordered = new TreeMap<Double,Bucket>();
+		this.lookup = new HashMap<Double,Bucket>();
+		this.head = null;
+		this.size = 0;
+		this.spares = new ArrayDeque<Bucket>( SPARE_BUCKETS );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void add( PorticoMessage message )
+	{
+		Double timestamp = message.getTimestamp();
+		Bucket bucket = lookup.get( timestamp );
+		if( bucket == null )
+		{
+			bucket = spares.isEmpty() ? new Bucket() : spares.poll();
+			bucket.timestamp = timestamp;
+			lookup.put( timestamp, bucket );
+			ordered.put( timestamp, bucket );
+
+			// a message may arrive for a time earlier than the current head
+			if( head != null && timestamp < head.timestamp )
+				head = bucket;
+		}
+
+		bucket.add( message );
+		++size;
+	}
+
+	public PorticoMessage peek()
+	{
+		Bucket bucket = head();
+		return bucket == null ? null : bucket.peek();
+	}
+
+	public PorticoMessage poll()
+	{
+		Bucket bucket = head();
+		if( bucket == null )
+			return null;
+
+		PorticoMessage message = bucket.poll();
+		--size;
+		if( bucket.isEmpty() )
+			discard( bucket );
+
+		return message;
+	}
+
+	public int drainTo( Collection<PorticoMessage> collection, double maxTime )
+	{
+		int count = 0;
+		Iterator<Bucket> iterator = ordered.headMap(maxTime,true).values().iterator();
+		while( iterator.hasNext() )
+		{
+			Bucket bucket = iterator.next();
+			count += bucket.drainTo( collection );
+			iterator.remove();
+			lookup.remove( bucket.timestamp );
+			recycle( bucket );
+		}
+
+		size -= count;
+		head = null;
+		return count;
+	}
+
+	public List<PorticoMessage> toList()
+	{
+		List<PorticoMessage> list = new ArrayList<PorticoMessage>( size );
+		for( Bucket bucket : ordered.values() )
+		{
+			list.addAll( bucket.messages );
+			list.addAll( bucket.advances );
+		}
+
+		return list;
+	}
+
+	public void clear()
+	{
+		ordered.clear();
+		lookup.clear();
+		head = null;
+		size = 0;
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public boolean isEmpty()
+	{
+		return size == 0;
+	}
+
+	/**
+	 * Return the bucket with the lowest timestamp, looking it up from the ordered map only if
+	 * we don't already have it cached. Returns null if the store is empty.
+	 */
+	private Bucket head()
+	{
+		if( head == null && size > 0 )
+			head = ordered.firstEntry().getValue();
+
+		return head;
+	}
+
+	/**
+	 * Remove the given (now empty) bucket from the store and keep it for reuse.
+	 */
+	private void discard( Bucket bucket )
+	{
+		ordered.remove( bucket.timestamp );
+		lookup.remove( bucket.timestamp );
+		if( bucket == head )
+			head = null;
+
+		recycle( bucket );
+	}
+
+	private void recycle( Bucket bucket )
+	{
+		bucket.timestamp = null;
+		if( spares.size() < SPARE_BUCKETS )
+			spares.offer( bucket );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * All the messages for a single timestamp. Regular messages and time advances are kept in
+	 * separate FIFO queues so that the advances can be released after everything else.
+	 */
+	private static class Bucket
+	{
+		private Double timestamp;
+		private ArrayDeque<PorticoMessage> messages = new ArrayDeque<PorticoMessage>();
+		private ArrayDeque<PorticoMessage> advances = new ArrayDeque<PorticoMessage>( 2 );
+
+		private void add( PorticoMessage message )
+		{
+			if( message.isTimeAdvance() )
+				advances.offer( message );
+			else
+				messages.offer( message );
+		}
+
+		private PorticoMessage peek()
+		{
+			return messages.isEmpty() ? advances.peek() : messages.peek();
+		}
+
+		private PorticoMessage poll()
+		{
+			return messages.isEmpty() ? advances.poll() : messages.poll();
+		}
+
+		private int drainTo( Collection<PorticoMessage> collection )
+		{
+			int count = messages.size() + advances.size();
+			collection.addAll( messages );
+			collection.addAll( advances );
+			messages.clear();
+			advances.clear();
+			return count;
+		}
+
+		private boolean isEmpty()
+		{
+			return messages.isEmpty() && advances.isEmpty();
+		}
+	}
+}
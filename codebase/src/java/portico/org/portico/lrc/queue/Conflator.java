@@ -0,0 +1,263 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.lrc.LRCState;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.model.ObjectModel;
+import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DiscoverObject;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * The conflator lets the {@link LRCMessageQueue} merge receive-order reflections for the same
+ * object instance while they are waiting to be delivered. If an update arrives for an object that
+ * already has an update waiting in the RO queue, the new values are written into the waiting
+ * message (newest value wins, attribute by attribute) rather than being queued behind it. A
+ * federate that has fallen behind is then only given the current state of each object, not every
+ * value it missed along the way.
+ * <p/>
+ * Conflation is off unless one or more object classes are listed in the
+ * {@link PorticoConstants#PROPERTY_CONFLATE} system property. Listing a class turns it on for
+ * that class and all its subclasses. Only RO reflections are ever merged. Timestamped updates,
+ * interactions and everything else pass through untouched, and an update is only merged into one
+ * from the same federate. The queue strips the timestamp from messages given to a federate that
+ * isn't time-constrained before they get here, so for such a federate every reflection is RO and
+ * can be merged. The merged values are delivered at the position of the waiting update,
+ * which means they can be delivered ahead of other messages that arrived after it.
+ * <p/>
+ * The conflator is only ever used while the message queue lock is held, so it doesn't need any
+ * locking of its own.
+ */
+public class Conflator
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private LRCState state;
+	private Logger logger;
+	private String[] classNames;
+
+	private ObjectModel resolvedFom;     // the FOM the class names were resolved against
+	private BitSet conflatedClasses;     // index: object class handle
+	private Set<Integer> conflatedObjects;
+	private Map<Integer,Pending> pending; // key: object handle
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public Conflator( LRCState state )
+	{
+		this.state = state;
+		this.logger = Logger.getLogger( "portico.lrc" );
+		this.classNames = PorticoConstants.getConflatedClasses();
+
+		this.resolvedFom = null;
+		this.conflatedClasses = new BitSet();
+		this.conflatedObjects = new HashSet<Integer>();
+		this.pending = new HashMap<Integer,Pending>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return <code>true</code> if conflation has been turned on for any object class
+	 */
+	public boolean isEnabled()
+	{
+		return classNames.length > 0;
+	}
+
+	/**
+	 * Called for each message as it is placed in the queue. If the message is a receive-order
+	 * update that could be merged into an update already waiting for the same object, it is
+	 * merged and <code>true</code> is returned. The caller must then <b>not</b> queue it.
+	 * Otherwise <code>false</code> is returned and the message should be queued as normal.
+	 * <p/>
+	 * Discovery and deletion notices are also watched here so that we know which objects belong
+	 * to a conflated class.
+	 */
+	public boolean conflate( PorticoMessage message )
+	{
+		if( classNames.length == 0 )
+			return false;
+
+		if( message instanceof UpdateAttributes )
+			return conflate( (UpdateAttributes)message );
+
+		if( message instanceof DiscoverObject )
+		{
+			DiscoverObject discover = (DiscoverObject)message;
+			if( isConflated(discover.getClassHandle()) )
+				conflatedObjects.add( discover.getObjectHandle() );
+		}
+		else if( message instanceof DeleteObject )
+		{
+			int objectHandle = ((DeleteObject)message).getObjectHandle();
+			conflatedObjects.remove( objectHandle );
+			pending.remove( objectHandle );
+		}
+
+		return false;
+	}
+
+	private boolean conflate( UpdateAttributes update )
+	{
+		int objectHandle = update.getObjectId();
+		if( update.isTimestamped() || conflatedObjects.contains(objectHandle) == false )
+		{
+			// anything that comes after this update must not be merged ahead of it
+			pending.remove( objectHandle );
+			return false;
+		}
+
+		Pending waiting = pending.get( objectHandle );
+		if( waiting == null || waiting.update.getSourceFederate() != update.getSourceFederate() )
+		{
+			// nothing to merge into, this update becomes the one that waits in the queue
+			pending.put( objectHandle, new Pending(update) );
+			return false;
+		}
+
+		waiting.merge( update );
+		if( logger.isTraceEnabled() )
+		{
+			logger.trace( "CONFLATE update for object ["+objectHandle+"]: attributes="+
+			              update.getAttributes().keySet() );
+		}
+
+		return true;
+	}
+
+	/**
+	 * Called for each message as it leaves the RO queue. Once an update has been released we
+	 * can no longer merge anything into it.
+	 * 
+	 * @return The given message, so this can wrap the call that removed it from the queue
+	 */
+	public PorticoMessage released( PorticoMessage message )
+	{
+		if( message instanceof UpdateAttributes && pending.isEmpty() == false )
+		{
+			int objectHandle = ((UpdateAttributes)message).getObjectId();
+			Pending waiting = pending.get( objectHandle );
+			if( waiting != null && waiting.update == message )
+				pending.remove( objectHandle );
+		}
+
+		return message;
+	}
+
+	/**
+	 * Forget about all waiting updates. Called whenever the RO queue is emptied or changed in a
+	 * way that doesn't go through {@link #released(PorticoMessage)}. The objects we know belong
+	 * to conflated classes are kept, unless <code>objectsToo</code> is <code>true</code>.
+	 */
+	public void clear( boolean objectsToo )
+	{
+		this.pending.clear();
+		if( objectsToo )
+			this.conflatedObjects.clear();
+	}
+
+	/**
+	 * Does the configuration ask for objects of the given (registered) class to be conflated?
+	 * The configured class names are resolved against the current FOM the first time this is
+	 * asked, and again if the FOM is replaced (by a rejoin or restore).
+	 */
+	private boolean isConflated( int classHandle )
+	{
+		ObjectModel fom = state.getFOM();
+		if( fom == null )
+			return false;
+
+		if( fom != resolvedFom )
+			resolve( fom );
+
+		return classHandle >= 0 && conflatedClasses.get( classHandle );
+	}
+
+	private void resolve( ObjectModel fom )
+	{
+		conflatedClasses.clear();
+		for( String className : classNames )
+		{
+			BitSet hierarchy = fom.getObjectClassHierarchy( className );
+			if( hierarchy == null )
+			{
+				logger.warn( "Can't conflate updates for object class ["+className+
+				             "]: class not found in FOM" );
+			}
+			else
+			{
+				conflatedClasses.or( hierarchy );
+			}
+		}
+
+		this.resolvedFom = fom;
+		logger.debug( "Conflating RO updates for "+conflatedClasses.cardinality()+
+		              " object classes" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Class: Pending /////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * An update that is sitting in the RO queue and can still be merged into.
+	 */
+	private static class Pending
+	{
+		private UpdateAttributes update;
+		private boolean copied;
+
+		private Pending( UpdateAttributes update )
+		{
+			this.update = update;
+			this.copied = false;
+		}
+
+		private void merge( UpdateAttributes newer )
+		{
+			// the attribute map may be shared with other receivers of the same message
+			// (the JVM binding only makes shallow clones), so take our own copy before writing
+			if( copied == false )
+			{
+				update.setAttributes( new HashMap<Integer,byte[]>(update.getAttributes()) );
+				copied = true;
+			}
+
+			update.getAttributes().putAll( newer.getAttributes() );
+			update.setTag( newer.getTag() );
+		}
+	}
+}
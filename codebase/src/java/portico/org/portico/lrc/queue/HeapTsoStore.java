@@ -0,0 +1,159 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * {@link ITsoStore} backed by a binary heap. Each message is tagged with an insertion sequence
+ * number as it goes in so that messages with the same timestamp come out in the order they
+ * arrived (a plain heap makes no such promise). Inserts and removals are O(log n).
+ * <p/>
+ * This is the way the TSO queue has always been stored. It is kept around mostly for comparison
+ * with the {@link CalendarTsoStore}, which does better when many messages share a timestamp.
+ */
+public class HeapTsoStore implements ITsoStore
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private PriorityQueue<Entry> heap;
+	private long sequence;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public HeapTsoStore()
+	{
+		this.heap = new PriorityQueue<Entry>( 13, new Sorter() );
+		this.sequence = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void add( PorticoMessage message )
+	{
+		heap.offer( new Entry(message,sequence++) );
+	}
+
+	public PorticoMessage peek()
+	{
+		Entry entry = heap.peek();
+		return entry == null ? null : entry.message;
+	}
+
+	public PorticoMessage poll()
+	{
+		Entry entry = heap.poll();
+		if( heap.isEmpty() )
+			sequence = 0;
+
+		return entry == null ? null : entry.message;
+	}
+
+	public int drainTo( Collection<PorticoMessage> collection, double maxTime )
+	{
+		int count = 0;
+		Entry entry = heap.peek();
+		while( entry != null && entry.message.getTimestamp() <= maxTime )
+		{
+			collection.add( heap.poll().message );
+			++count;
+			entry = heap.peek();
+		}
+
+		return count;
+	}
+
+	public List<PorticoMessage> toList()
+	{
+		List<Entry> entries = new ArrayList<Entry>( heap );
+		Collections.sort( entries, heap.comparator() );
+
+		List<PorticoMessage> list = new ArrayList<PorticoMessage>( entries.size() );
+		for( Entry entry : entries )
+			list.add( entry.message );
+
+		return list;
+	}
+
+	public void clear()
+	{
+		heap.clear();
+		sequence = 0;
+	}
+
+	public int size()
+	{
+		return heap.size();
+	}
+
+	public boolean isEmpty()
+	{
+		return heap.isEmpty();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	private static class Entry
+	{
+		private PorticoMessage message;
+		private long sequence;
+
+		private Entry( PorticoMessage message, long sequence )
+		{
+			this.message = message;
+			this.sequence = sequence;
+		}
+	}
+
+	/**
+	 * Orders entries by timestamp. If the message is a time advance grant (responds
+	 * <code>true</code> to {@link PorticoMessage#isTimeAdvance()}), it is placed after any
+	 * other message with the SAME timestamp. Anything left over is ordered by arrival.
+	 */
+	private static class Sorter implements Comparator<Entry>
+	{
+		public int compare( Entry o1, Entry o2 )
+		{
+			int result = Double.compare( o1.message.getTimestamp(), o2.message.getTimestamp() );
+			if( result != 0 )
+				return result;
+
+			boolean advance1 = o1.message.isTimeAdvance();
+			boolean advance2 = o2.message.isTimeAdvance();
+			if( advance1 != advance2 )
+				return advance1 ? 1 : -1;
+
+			return o1.sequence < o2.sequence ? -1 : (o1.sequence > o2.sequence ? 1 : 0);
+		}
+	}
+}
@@ -0,0 +1,86 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * An {@link ITsoStore} holds the timestamp-ordered messages for the {@link LRCMessageQueue}.
+ * Messages must be released in timestamp order (lowest first). Messages with the same timestamp
+ * must be released in the order they were added, except that a time advance message (one that
+ * responds <code>true</code> to {@link PorticoMessage#isTimeAdvance()}) must always be released
+ * after every other message with the same timestamp.
+ * <p/>
+ * Implementations do not need to be thread safe. The {@link LRCMessageQueue} only ever accesses
+ * its store while holding its own lock.
+ * <p/>
+ * The store in use is chosen with the {@link org.portico.lrc.PorticoConstants#PROPERTY_TSO_STORE}
+ * system property. Any class implementing this interface with a public no-arg constructor can be
+ * given there.
+ */
+public interface ITsoStore
+{
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Add the given message to the store.
+	 */
+	public void add( PorticoMessage message );
+
+	/**
+	 * Return, but don't remove, the next message to be released. Returns <code>null</code> if
+	 * the store is empty.
+	 */
+	public PorticoMessage peek();
+
+	/**
+	 * Remove and return the next message to be released. Returns <code>null</code> if the store
+	 * is empty.
+	 */
+	public PorticoMessage poll();
+
+	/**
+	 * Remove every message with a timestamp less than or equal to <code>maxTime</code> and add
+	 * them to the given collection in release order.
+	 * 
+	 * @return The number of messages that were moved into the collection
+	 */
+	public int drainTo( Collection<PorticoMessage> collection, double maxTime );
+
+	/**
+	 * Return a list of all the messages in the store, in release order, without removing them.
+	 */
+	public List<PorticoMessage> toList();
+
+	/**
+	 * Remove all messages from the store.
+	 */
+	public void clear();
+
+	/**
+	 * @return The number of messages in the store
+	 */
+	public int size();
+
+	/**
+	 * @return <code>true</code> if there are no messages in the store
+	 */
+	public boolean isEmpty();
+}
@@ -0,0 +1,54 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import org.portico.lrc.LRCMessageQueue;
+
+/**
+ * An {@link IWaitStrategy} decides how a thread waiting on the {@link LRCMessageQueue} (inside
+ * tick, evokeCallback or the immediate callback dispatcher) passes the time until something new
+ * is offered to the queue. Blocking on a condition is cheap on the CPU but every wake-up costs a
+ * context switch. Spinning keeps the waiting thread hot so it notices new messages within a
+ * few microseconds, at the cost of burning a core while it waits.
+ * <p/>
+ * The queue keeps a count of the messages offered to it. A strategy is handed the count that
+ * was seen before the queue was last found to have nothing releasable, and should return once
+ * the count moves on, the deadline passes or (for those that can't tell) whenever it likes.
+ * Returning early is always safe as the queue checks again and calls back in if it needs to.
+ * <p/>
+ * The strategy in use is chosen with the
+ * {@link org.portico.lrc.PorticoConstants#PROPERTY_WAIT_STRATEGY} system property. Any class
+ * implementing this interface with a public no-arg constructor can be given there.
+ */
+public interface IWaitStrategy
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	/** Deadline value used to wait until something is offered, however long that takes */
+	public static final long NO_DEADLINE = Long.MAX_VALUE;
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Wait until the offer count of the given queue is no longer <code>lastSeen</code>, or until
+	 * {@link System#nanoTime()} reaches <code>deadline</code> (unless it is {@link #NO_DEADLINE}).
+	 * 
+	 * @throws InterruptedException If the waiting thread is interrupted
+	 */
+	public void await( LRCMessageQueue queue, long lastSeen, long deadline )
+		throws InterruptedException;
+}
@@ -0,0 +1,77 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.concurrent.locks.LockSupport;
+
+import org.portico.lrc.LRCMessageQueue;
+
+/**
+ * Checks the queue's offer count, parking the waiting thread for a short, fixed period between
+ * checks. Nobody unparks it, it just wakes up and looks again. Wake-up latency is bounded by
+ * the park period (plus the timer slack of the OS) without the CPU cost of spinning.
+ */
+public class ParkWaitStrategy implements IWaitStrategy
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private long parkNanos;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ParkWaitStrategy()
+	{
+		this( 10000 );
+	}
+
+	public ParkWaitStrategy( long parkNanos )
+	{
+		this.parkNanos = parkNanos;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void await( LRCMessageQueue queue, long lastSeen, long deadline )
+		throws InterruptedException
+	{
+		while( queue.getOfferCount() == lastSeen )
+		{
+			long park = parkNanos;
+			if( deadline != NO_DEADLINE )
+			{
+				long remaining = deadline - System.nanoTime();
+				if( remaining <= 0 )
+					return;
+				else if( remaining < park )
+					park = remaining;
+			}
+
+			LockSupport.parkNanos( this, park );
+			if( Thread.interrupted() )
+				throw new InterruptedException();
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,187 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.utils.messaging.PooledMessage;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Wraps the {@link ITsoStore} in use by the {@link LRCMessageQueue} so that messages can be
+ * taken out of it by their retraction handle (see {@link PorticoMessage#getRetractionHandle()}).
+ * <p/>
+ * Neither of the stores can remove a message from the middle cheaply (a heap would have to be
+ * searched, and a bucket is a deque), so retracted messages aren't removed right away. Each
+ * retractable message is indexed by its handle as it goes in. A retraction looks the message up
+ * in the index and marks it as dead, and dead messages are thrown away as they reach the front of
+ * the store (or are drained out of it). From the outside they are gone as soon as they are
+ * retracted: they are never peeked, polled, drained or listed, and they don't count towards the
+ * size of the store.
+ */
+public class RetractableTsoStore implements ITsoStore
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ITsoStore store;
+	private Map<Integer,PorticoMessage> index; // retraction handle -> queued message
+	private Set<PorticoMessage> retracted;     // still in the store, but dead
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RetractableTsoStore( ITsoStore store )
+	{
+		this.store = store;
+		this.index = new HashMap<Integer,PorticoMessage>();
+		this.retracted = Collections.newSetFromMap( new IdentityHashMap<PorticoMessage,Boolean>() );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Take the message with the given retraction handle out of the store.
+	 * 
+	 * @return The message that was retracted, or <code>null</code> if there is no message with
+	 *         that handle in the store (it may have been released already)
+	 */
+	public PorticoMessage retract( int retractionHandle )
+	{
+		PorticoMessage message = index.remove( retractionHandle );
+		if( message != null )
+			retracted.add( message );
+
+		return message;
+	}
+
+	public void add( PorticoMessage message )
+	{
+		store.add( message );
+		if( message.isRetractable() )
+			index.put( message.getRetractionHandle(), message );
+	}
+
+	public PorticoMessage peek()
+	{
+		discardRetracted();
+		return store.peek();
+	}
+
+	public PorticoMessage poll()
+	{
+		discardRetracted();
+		PorticoMessage message = store.poll();
+		if( message != null && message.isRetractable() )
+			index.remove( message.getRetractionHandle() );
+
+		return message;
+	}
+
+	public int drainTo( Collection<PorticoMessage> collection, double maxTime )
+	{
+		if( index.isEmpty() && retracted.isEmpty() )
+			return store.drainTo( collection, maxTime );
+
+		List<PorticoMessage> drained = new ArrayList<PorticoMessage>();
+		store.drainTo( drained, maxTime );
+
+		int count = 0;
+		for( PorticoMessage message : drained )
+		{
+			if( retracted.remove(message) )
+			{
+				discard( message );
+				continue;
+			}
+
+			if( message.isRetractable() )
+				index.remove( message.getRetractionHandle() );
+
+			collection.add( message );
+			++count;
+		}
+
+		return count;
+	}
+
+	public List<PorticoMessage> toList()
+	{
+		List<PorticoMessage> list = store.toList();
+		if( retracted.isEmpty() == false )
+			list.removeAll( retracted );
+
+		return list;
+	}
+
+	public void clear()
+	{
+		store.clear();
+		index.clear();
+		retracted.clear();
+	}
+
+	public int size()
+	{
+		return store.size() - retracted.size();
+	}
+
+	public boolean isEmpty()
+	{
+		return size() == 0;
+	}
+
+	/**
+	 * Throw away any retracted messages sitting at the front of the store.
+	 */
+	private void discardRetracted()
+	{
+		while( retracted.isEmpty() == false )
+		{
+			PorticoMessage head = store.peek();
+			if( head == null || retracted.remove(head) == false )
+				return;
+
+			discard( store.poll() );
+		}
+	}
+
+	/**
+	 * Retracted messages will never be processed, so if they came from a pool they have to be
+	 * let go of here
+	 */
+	private void discard( PorticoMessage message )
+	{
+		if( message instanceof PooledMessage )
+			((PooledMessage)message).release();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,73 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import org.portico.lrc.LRCMessageQueue;
+
+/**
+ * Spins on the queue's offer count for a number of iterations, then falls back to calling
+ * {@link Thread#yield()} between checks. Messages that turn up soon after the wait starts are
+ * picked up with very little delay, while a longer wait at least lets other threads on the same
+ * core get a look in.
+ */
+public class SpinYieldWaitStrategy implements IWaitStrategy
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int spins;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SpinYieldWaitStrategy()
+	{
+		this( 10000 );
+	}
+
+	public SpinYieldWaitStrategy( int spins )
+	{
+		this.spins = spins;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void await( LRCMessageQueue queue, long lastSeen, long deadline )
+		throws InterruptedException
+	{
+		int remaining = spins;
+		while( queue.getOfferCount() == lastSeen )
+		{
+			if( deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0 )
+				return;
+			else if( Thread.interrupted() )
+				throw new InterruptedException();
+
+			if( remaining > 0 )
+				--remaining;
+			else
+				Thread.yield();
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,126 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.Arrays;
+
+/**
+ * Records how long it takes a thread waiting on the queue to get hold of a message after it
+ * was offered. Samples are kept in power-of-two buckets so that percentiles can be reported
+ * without storing every sample. Reported percentiles are the upper bound of the bucket they
+ * fall into, so they are accurate to within a factor of two.
+ * <p/>
+ * Only waits that actually had to wait are recorded. If a message was already available when
+ * the queue was polled, there was no wake-up to measure.
+ */
+public class WakeLatency
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private long[] buckets; // bucket i holds samples in [2^(i-1), 2^i) nanos
+	private long count;
+	private long total;
+	private long max;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public WakeLatency()
+	{
+		this.buckets = new long[64];
+		this.count = 0;
+		this.total = 0;
+		this.max = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public synchronized void record( long nanos )
+	{
+		if( nanos < 0 )
+			nanos = 0;
+
+		buckets[64-Long.numberOfLeadingZeros(nanos)]++;
+		count++;
+		total += nanos;
+		if( nanos > max )
+			max = nanos;
+	}
+
+	public synchronized void clear()
+	{
+		Arrays.fill( buckets, 0 );
+		count = 0;
+		total = 0;
+		max = 0;
+	}
+
+	public synchronized long getCount()
+	{
+		return this.count;
+	}
+
+	/** @return The mean wake-up latency in nanoseconds, 0 if nothing has been recorded */
+	public synchronized long getMean()
+	{
+		return count == 0 ? 0 : total / count;
+	}
+
+	/** @return The longest wake-up latency recorded, in nanoseconds */
+	public synchronized long getMax()
+	{
+		return this.max;
+	}
+
+	/**
+	 * @param percentile A value between 0.0 and 1.0
+	 * @return The upper bound (nanoseconds) of the bucket the given percentile falls in
+	 */
+	public synchronized long getPercentile( double percentile )
+	{
+		long target = (long)Math.ceil( count * percentile );
+		long seen = 0;
+		for( int i = 0; i < buckets.length; i++ )
+		{
+			seen += buckets[i];
+			if( seen >= target && seen > 0 )
+				return Math.min( 1L << i, max );
+		}
+
+		return max;
+	}
+
+	public synchronized String toString()
+	{
+		return "wake latency: count="+count+", mean="+micros(getMean())+", p50<="+
+		       micros(getPercentile(0.5))+", p99<="+micros(getPercentile(0.99))+
+		       ", max="+micros(max);
+	}
+
+	private String micros( long nanos )
+	{
+		return String.format( "%.1fus", nanos / 1000.0 );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -57,7 +57,9 @@ public class ModifiedRegionHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		ModifyRegion notice = context.getRequest( ModifyRegion.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		RegionInstance region = notice.getRegion();
 		int regionToken = region.getToken();
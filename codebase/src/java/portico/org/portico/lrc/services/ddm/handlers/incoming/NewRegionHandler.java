@@ -58,7 +58,9 @@ public class NewRegionHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		CreateRegion notice = context.getRequest( CreateRegion.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		int regionToken = notice.getRegionToken();
 		int spaceHandle = notice.getSpaceHandle();
@@ -62,7 +62,9 @@ public class RegionAssociatedHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		AssociateRegion notice = context.getRequest( AssociateRegion.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		int regionToken = notice.getRegionToken();
 		int objectHandle = notice.getObjectHandle();
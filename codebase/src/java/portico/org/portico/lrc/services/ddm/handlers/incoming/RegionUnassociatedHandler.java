@@ -60,7 +60,9 @@ public class RegionUnassociatedHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		UnassociateRegion notice = context.getRequest( UnassociateRegion.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		int regionToken = notice.getRegionToken();
 		int objectHandle = notice.getObjectHandle();
@@ -57,7 +57,9 @@ public class RemoveRegionHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		DeleteRegion notice = context.getRequest( DeleteRegion.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		int regionToken = notice.getRegionToken();
 		
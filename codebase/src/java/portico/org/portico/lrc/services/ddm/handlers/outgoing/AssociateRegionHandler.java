@@ -82,7 +82,8 @@ public class AssociateRegionHandler extends LRCMessageHandler
 			
 			UnassociateRegion unassociate = new UnassociateRegion( regionToken, objectHandle );
 			reprocessOutgoing( unassociate );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		if( logger.isDebugEnabled() )
@@ -69,10 +69,12 @@ public class ResignNotificationHandler extends LRCMessageHandler
 		ResignFederation request = context.getRequest( ResignFederation.class, this );
 		// don't process our own resign (this could happen as the immediate processing flag for
 		// the resign message is set to true)
-		vetoIfMessageFromUs( request );  
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 
 		// see method comment for the full, hairy details of why this exists
-		dealWithJGroupsResignHack( request.getSourceFederate() );
+		if( dealWithJGroupsResignHack(context,request.getSourceFederate()) )
+			return;
 		
 		// remove the information about the federate for LRC use
 		String federateName = moniker( request );
@@ -131,6 +133,17 @@ public class ResignNotificationHandler extends LRCMessageHandler
 	{
 		if( action == JResignAction.NO_ACTION )
 			return;
+
+		// objects we haven't discovered still need to come out of the repository
+		if( action == JResignAction.DELETE_OBJECTS ||
+			action == JResignAction.DELETE_OBJECTS_AND_RELEASE_ATTRIBUTES )
+		{
+			for( OCInstance instance : repository.getAllUndiscoveredInstances() )
+			{
+				if( instance.isOwner(federate) )
+					queueDelete( federate, instance );
+			}
+		}
 		
 		for( OCInstance instance : repository.getAllInstances() )
 		{
@@ -148,9 +161,9 @@ public class ResignNotificationHandler extends LRCMessageHandler
 						              "] after resign of federate ["+federate+"]" );
 					}
 
-					DeleteObject delete = new DeleteObject( instance.getHandle(), new byte[0] );
-					delete.setSourceFederate( federate );
-					connection.broadcast( delete );
+					// every LRC gets the resign notice and does this same work, so the delete
+					// only has to be queued locally rather than sent to everyone else
+					queueDelete( federate, instance );
 					continue; // no need for more processing of this object
 				}
 				else
@@ -170,6 +183,17 @@ public class ResignNotificationHandler extends LRCMessageHandler
 			}
 		}
 	}
+
+	/**
+	 * Queues a delete of the given object, as if it had come from the given federate. Undiscovered
+	 * objects are removed from the repository by the delete without generating a callback.
+	 */
+	private void queueDelete( int federate, OCInstance instance )
+	{
+		DeleteObject delete = new DeleteObject( instance.getHandle(), new byte[0] );
+		delete.setSourceFederate( federate );
+		lrcState.getQueue().offer( delete );
+	}
 	
 	private void releaseAttributes( int federateHandle, OCInstance objectInstance )
 	{
@@ -219,11 +243,11 @@ public class ResignNotificationHandler extends LRCMessageHandler
 	 * is veto'd. This way, if two messages do get through, the second is ignored and the process
 	 * of only mixing HLA and connection implementation remains confined to one call inside the
 	 * JGroups implementation and not the mandated way all connection implementations have to deal
-	 * with resignations. 
+	 * with resignations. Returns <code>true</code> if the message was vetoed.
 	 */
-	private void dealWithJGroupsResignHack( int federateHandle )
+	private boolean dealWithJGroupsResignHack( MessageContext context, int federateHandle )
 	{
-		vetoIfSourceNotJoined( federateHandle );
+		return vetoIfSourceNotJoined( context, federateHandle );
 	}
 
 	//----------------------------------------------------------
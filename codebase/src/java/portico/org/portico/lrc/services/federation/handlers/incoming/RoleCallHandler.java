@@ -54,15 +54,30 @@ public class RoleCallHandler extends LRCMessageHandler
 	
 	public void process( MessageContext context ) throws Exception
 	{		
-		vetoIfNotJoined();
+		if( vetoIfNotJoined(context) )
+			return;
 
 		RoleCall notice = context.getRequest( RoleCall.class, this );
 		int handle = notice.getSourceFederate();
 		String name = notice.getFederateName();
 
+		// a RoleCall with a target is a reply to that federate's join, it isn't for us. While we
+		// are joining we can still see the replies meant for whoever joined just before us, and
+		// if we took one of those as the sender's answer we would stop waiting for RoleCalls
+		// before the sender had heard about us. Its reply to our own RoleCall will come.
+		if( notice.isBroadcast() == false &&
+			notice.getTargetFederate() != lrcState.getFederateHandle() )
+		{
+			veto( context );
+			return;
+		}
+
 		// if we already know about this federate, skip this whole process
 		if( lrcState.getKnownFederate(handle) != null )
-			veto();
+		{
+			veto( context );
+			return;
+		}
 		
 		// we do not know about the federate yet, store its particulars and
 		// send it back information about us
@@ -0,0 +1,153 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.data;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DiscoverObject;
+import org.portico.lrc.services.object.msg.SendInteraction;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * The ingress filter sits in front of the LRC message queue and throws away attribute updates
+ * and interactions that the local federate could never receive a callback for. Previously these
+ * messages were queued (and for TSO traffic, sorted and held) only to be vetoed by the incoming
+ * handlers once they finally got to the front of the queue.
+ * <p/>
+ * The filter is called from the connection's receiver thread(s), while subscription changes are
+ * made on the federate's thread. To avoid any locking on the receive path, the {@link
+ * InterestManager} publishes an immutable {@link SubscriptionTable} of the local federate's
+ * subscriptions whenever they change, and the filter only ever reads the most recently published
+ * one.
+ * <p/>
+ * The filter is deliberately conservative. It doesn't know anything about DDM regions, and it
+ * will let through anything relating to a class or object it doesn't know about (for example,
+ * objects discovered before this federate joined, or classes added by a FOM merge after the
+ * last table was built). The handlers still make the final decision about those.
+ */
+public class IngressFilter
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private boolean enabled;
+	private volatile SubscriptionTable table;
+	private Map<Integer,Integer> knownObjects; // key: object handle, value: registered class
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public IngressFilter()
+	{
+		this.enabled = PorticoConstants.isIngressFilterEnabled();
+		this.table = null;
+		this.knownObjects = new ConcurrentHashMap<Integer,Integer>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Returns <code>true</code> if the given message should be queued for processing, or
+	 * <code>false</code> if it is of no interest to the local federate and can be dropped.
+	 * Discovery and deletion notices that pass through here are also used to track the class
+	 * of each object so that updates can be related back to a subscription.
+	 */
+	public boolean accept( PorticoMessage message )
+	{
+		if( message instanceof DiscoverObject )
+		{
+			DiscoverObject discover = (DiscoverObject)message;
+			knownObjects.put( discover.getObjectHandle(), discover.getClassHandle() );
+			return true;
+		}
+		else if( message instanceof DeleteObject )
+		{
+			knownObjects.remove( ((DeleteObject)message).getObjectHandle() );
+			return true;
+		}
+
+		SubscriptionTable current = this.table;
+		if( enabled == false || current == null )
+			return true;
+
+		if( message instanceof UpdateAttributes )
+		{
+			if( message.getSourceFederate() == current.getFederateHandle() )
+				return false;
+
+			UpdateAttributes update = (UpdateAttributes)message;
+			Integer classHandle = knownObjects.get( update.getObjectId() );
+			if( classHandle == null )
+				return true;
+
+			SubscriptionTable.ObjectEntry entry = current.getObjectClass( classHandle );
+			if( entry == null )
+				return true;
+
+			for( Integer attributeHandle : update.getAttributes().keySet() )
+			{
+				if( entry.isAttributeRelevant(attributeHandle) )
+					return true;
+			}
+
+			return false;
+		}
+		else if( message instanceof SendInteraction )
+		{
+			if( message.getSourceFederate() == current.getFederateHandle() )
+				return false;
+
+			int classHandle = ((SendInteraction)message).getInteractionId();
+			SubscriptionTable.InteractionEntry entry = current.getInteractionClass( classHandle );
+			return entry == null || entry.isSubscribed();
+		}
+		else
+		{
+			return true;
+		}
+	}
+
+	/**
+	 * Publish a new view of the local federate's subscriptions. Pass <code>null</code> to
+	 * accept everything until the next table is published.
+	 */
+	public void update( SubscriptionTable table )
+	{
+		this.table = table;
+	}
+
+	/**
+	 * Forget all tracked objects and the current table. After this call, all messages will
+	 * be accepted until {@link #update(SubscriptionTable)} is called again.
+	 */
+	public void clear()
+	{
+		this.table = null;
+		this.knownObjects.clear();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -62,6 +62,9 @@ public class InterestManager implements SaveRestoreTarget
 	private Map<OCMetadata,OCInterest> sObjects;
 	private Map<ICMetadata,ICInterest> pInteractions;
 	private Map<ICMetadata,ICInterest> sInteractions;
+	private IngressFilter ingressFilter;
+	private volatile SubscriptionTable subscriptionTable;
+	private int tableVersion;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -74,6 +77,9 @@ public class InterestManager implements SaveRestoreTarget
 		this.sObjects = new HashMap<OCMetadata,OCInterest>();
 		this.pInteractions = new HashMap<ICMetadata,ICInterest>();
 		this.sInteractions = new HashMap<ICMetadata,ICInterest>();
+		this.ingressFilter = new IngressFilter();
+		this.subscriptionTable = null;
+		this.tableVersion = 0;
 	}
 
 	//----------------------------------------------------------
@@ -710,6 +716,7 @@ public class InterestManager implements SaveRestoreTarget
 		throws JObjectClassNotDefined, JAttributeNotDefined, JRTIinternalError
 	{
 		register( sObjects, "SUBSCRIBE-OBJECT", federateHandle, classHandle, attributes );
+		subscriptionsChanged( federateHandle );
 	}
 
 	/**
@@ -735,7 +742,7 @@ public class InterestManager implements SaveRestoreTarget
 		          classHandle,
 		          attributes,
 		          regionToken );
-		return;
+		subscriptionsChanged( federateHandle );
 	}
 	
 	/**
@@ -751,6 +758,7 @@ public class InterestManager implements SaveRestoreTarget
 		try
 		{
 			unregister( sObjects, "UNSUBSCRIBE-OBJECT", federateHandle, classHandle );
+			subscriptionsChanged( federateHandle );
 		}
 		catch( NoRegistration nr )
 		{
@@ -774,6 +782,7 @@ public class InterestManager implements SaveRestoreTarget
 		try
 		{
 			unregister( sObjects, "UNSUBSCRIBE-OBJECT", federateHandle, classHandle, regionToken );
+			subscriptionsChanged( federateHandle );
 		}
 		catch( NoRegistration nr )
 		{
@@ -798,6 +807,7 @@ public class InterestManager implements SaveRestoreTarget
 		try
 		{
 			unregister( sObjects, "UNSUBSCRIBE-OBJECT", federateHandle, classHandle, attributes );
+			subscriptionsChanged( federateHandle );
 		}
 		catch( NoRegistration nr )
 		{
@@ -858,6 +868,11 @@ public class InterestManager implements SaveRestoreTarget
 	 */
 	public OCMetadata getDiscoveryType( int federateHandle, int initialClass )
 	{
+		// if this is for the local federate, the answer is already in the subscription table
+		SubscriptionTable.ObjectEntry entry = tableEntry( federateHandle, initialClass );
+		if( entry != null )
+			return entry.getDiscoveryType();
+
 		// get the metadata for the original class so we can return it if necessary
 		OCMetadata clazz = fom().getObjectClass( initialClass );
 		if( clazz == null )
@@ -891,6 +906,10 @@ public class InterestManager implements SaveRestoreTarget
 	 */
 	public boolean isObjectClassSubscribed( int federateHandle, int initialClass )
 	{
+		SubscriptionTable.ObjectEntry entry = tableEntry( federateHandle, initialClass );
+		if( entry != null )
+			return entry.isSubscribed();
+
 		OCMetadata clazz = fom().getObjectClass( initialClass );
 		if( clazz == null )
 			return false;
@@ -989,6 +1008,7 @@ public class InterestManager implements SaveRestoreTarget
 		       JRTIinternalError
 	{
 		register( sInteractions, "SUBSCRIBE-INTERACTION", federateHandle, classHandle );
+		subscriptionsChanged( federateHandle );
 	}
 	
 	/**
@@ -1009,6 +1029,7 @@ public class InterestManager implements SaveRestoreTarget
 		          federateHandle,
 		          classHandle,
 		          regionToken );
+		subscriptionsChanged( federateHandle );
 	}
 
 	/**
@@ -1027,6 +1048,7 @@ public class InterestManager implements SaveRestoreTarget
 			                       "UNSUBSCRIBE-INTERACTION",
 			                       federateHandle,
 			                       classHandle );
+			subscriptionsChanged( federateHandle );
 		}
 		catch( NoRegistration nr )
 		{
@@ -1054,6 +1076,7 @@ public class InterestManager implements SaveRestoreTarget
 			                       federateHandle,
 			                       classHandle,
 			                       regionToken );
+			subscriptionsChanged( federateHandle );
 		}
 		catch( NoRegistration nr )
 		{
@@ -1066,6 +1089,11 @@ public class InterestManager implements SaveRestoreTarget
 	 */
 	public boolean isInteractionClassSubscribed( int federateHandle, int initialClass )
 	{
+		SubscriptionTable.InteractionEntry entry =
+			interactionTableEntry( federateHandle, initialClass );
+		if( entry != null )
+			return entry.isSubscribed();
+
 		ICMetadata clazz = fom().getInteractionClass( initialClass );
 		if( clazz == null )
 			return false;
@@ -1123,6 +1151,12 @@ public class InterestManager implements SaveRestoreTarget
 	 */
 	public ICInterest getSubscribedInteractionInterest( int federateHandle, int initialClass )
 	{
+		// if this is for the local federate, the answer is already in the subscription table
+		SubscriptionTable.InteractionEntry entry =
+			interactionTableEntry( federateHandle, initialClass );
+		if( entry != null )
+			return entry.getInterest();
+
 		// get the metadata for the original class so we can return it if necessary
 		ICMetadata clazz = fom().getInteractionClass( initialClass );
 		if( clazz == null )
@@ -1145,6 +1179,91 @@ public class InterestManager implements SaveRestoreTarget
 		}
 	}
 
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Subscription Table Methods ///////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Get the {@link IngressFilter} that the message queue uses to drop incoming updates and
+	 * interactions the local federate has no subscription for.
+	 */
+	public IngressFilter getIngressFilter()
+	{
+		return this.ingressFilter;
+	}
+
+	/**
+	 * Get the {@link SubscriptionTable} describing the local federate's current subscriptions.
+	 * This will be <code>null</code> if the federate isn't joined, or while a restore is in
+	 * progress.
+	 */
+	public SubscriptionTable getSubscriptionTable()
+	{
+		return this.subscriptionTable;
+	}
+
+	/**
+	 * Rebuild the {@link SubscriptionTable} from the current subscription information for the
+	 * local federate and hand it to the {@link IngressFilter}. This is called automatically
+	 * whenever the local federate changes its subscriptions, but must also be called when the
+	 * federate joins a federation or is restored (as the FOM may not be available until then).
+	 */
+	public void updateSubscriptionTable()
+	{
+		int federateHandle = state.getFederateHandle();
+		ObjectModel fom = fom();
+		if( fom == null || federateHandle == PorticoConstants.NULL_HANDLE )
+		{
+			this.subscriptionTable = null;
+		}
+		else
+		{
+			this.subscriptionTable = new SubscriptionTable( ++tableVersion,
+			                                                federateHandle,
+			                                                fom,
+			                                                sObjects,
+			                                                sInteractions );
+		}
+
+		ingressFilter.update( this.subscriptionTable );
+	}
+
+	/**
+	 * Called after any subscription change. If the change was made for the local federate, the
+	 * subscription table is rebuilt. Subscriptions of remote federates are of no concern.
+	 */
+	private void subscriptionsChanged( int federateHandle )
+	{
+		if( federateHandle == state.getFederateHandle() )
+			updateSubscriptionTable();
+	}
+
+	/**
+	 * Find the subscription table entry for the given object class. Returns <code>null</code>
+	 * if there is no table, it is for a different federate, or it doesn't know about the class,
+	 * in which case the caller has to work the answer out the long way.
+	 */
+	private SubscriptionTable.ObjectEntry tableEntry( int federateHandle, int classHandle )
+	{
+		SubscriptionTable table = this.subscriptionTable;
+		if( table == null || table.getFederateHandle() != federateHandle )
+			return null;
+		else
+			return table.getObjectClass( classHandle );
+	}
+
+	/**
+	 * The same as {@link #tableEntry(int, int)}, but for interaction classes.
+	 */
+	private SubscriptionTable.InteractionEntry interactionTableEntry( int federateHandle,
+	                                                                   int classHandle )
+	{
+		SubscriptionTable table = this.subscriptionTable;
+		if( table == null || table.getFederateHandle() != federateHandle )
+			return null;
+		else
+			return table.getInteractionClass( classHandle );
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////
 	///////////////////////////////// Private Helper Methods /////////////////////////////////
 	//////////////////////////////////////////////////////////////////////////////////////////
@@ -1176,6 +1295,11 @@ public class InterestManager implements SaveRestoreTarget
 		this.sObjects      = (Map<OCMetadata,OCInterest>)input.readObject();
 		this.pInteractions = (Map<ICMetadata,ICInterest>)input.readObject();
 		this.sInteractions = (Map<ICMetadata,ICInterest>)input.readObject();
+
+		// the objects and subscriptions we knew about are no longer valid. The subscription
+		// table is rebuilt by the LRCState once the FOM these interests reference is restored
+		this.subscriptionTable = null;
+		this.ingressFilter.clear();
 	}
 
 	//----------------------------------------------------------
@@ -126,10 +126,16 @@ public class RegionStore implements SaveRestoreTarget
 	 * Remove and return the contained {@link RegionInstance} with the given handle. If the
 	 * {@link RegionInstance} exists, it will be removed and returned. If no {@link RegionInstance}
 	 * with the given handle exists, null will be returned and the store will remain unaffected.
+	 * The token of a removed region is given back to the {@link LRCState} so that it can be
+	 * recycled (see {@link LRCState#releaseRegionToken(int)}).
 	 */
 	public RegionInstance removeRegion( int regionHandle )
 	{
-		return regions.remove( regionHandle );
+		RegionInstance region = regions.remove( regionHandle );
+		if( region != null )
+			state.releaseRegionToken( regionHandle );
+		
+		return region;
 	}
 
 	/**
@@ -140,7 +146,7 @@ public class RegionStore implements SaveRestoreTarget
 	public RegionInstance removeRegion( RegionInstance theRegion )
 	{
 		if( theRegion != null )
-			return regions.remove( theRegion.getToken() );
+			return removeRegion( theRegion.getToken() );
 		else
 			return null;
 	}
@@ -18,6 +18,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -141,11 +142,17 @@ public class Repository implements SaveRestoreTarget
 
 	/**
 	 * Remove the object with the given handle from the *discovered* collection. This won't affect
-	 * the undiscovered collection in any way.
+	 * the undiscovered collection in any way. If the object was removed, its handle is given back
+	 * to the {@link LRCState} so that it can be recycled (see
+	 * {@link LRCState#releaseObjectHandle(int)}).
 	 */
 	public OCInstance removeDiscoveredInstance( int objectHandle )
 	{
-		return discovered.remove( objectHandle );
+		OCInstance instance = discovered.remove( objectHandle );
+		if( instance != null )
+			state.releaseObjectHandle( objectHandle );
+		
+		return instance;
 	}
 
 	/**
@@ -244,16 +251,20 @@ public class Repository implements SaveRestoreTarget
 	/**
 	 * This removes the {@link OCInstance} with the given handle from either the discovered or
 	 * undiscovered collection (wherever it is) and returns it. If there is no instance with that
-	 * handle in either collection, null is returned.
+	 * handle in either collection, null is returned. As with
+	 * {@link #removeDiscoveredInstance(int)}, the handle of a removed object is given back to the
+	 * {@link LRCState} for recycling.
 	 */
 	public OCInstance deleteDiscoveredOrUndiscovered( int objectHandle )
 	{
-		if( discovered.containsKey(objectHandle) )
-			return discovered.remove( objectHandle );
-		else if( undiscovered.containsKey(objectHandle) )
-			return undiscovered.remove( objectHandle );
-		else
-			return null;
+		OCInstance instance = discovered.remove( objectHandle );
+		if( instance == null )
+			instance = undiscovered.remove( objectHandle );
+		
+		if( instance != null )
+			state.releaseObjectHandle( objectHandle );
+		
+		return instance;
 	}
 	
 	/**
@@ -403,6 +414,30 @@ public class Repository implements SaveRestoreTarget
 		// nobody has the name
 		return PorticoConstants.NULL_HANDLE;
 	}
+
+	/**
+	 * Finds which of the given names are already in use by an object (discovered or not). The
+	 * returned map links each name in use to the handle of the object using it; names that are
+	 * free are not included. Unlike calling {@link #getObjectHandleForName(String)} for each name,
+	 * this only walks the stored instances once, no matter how many names are being checked.
+	 */
+	public Map<String,Integer> getObjectHandlesForNames( Set<String> names )
+	{
+		Map<String,Integer> used = new HashMap<String,Integer>();
+		for( OCInstance instance : discovered.values() )
+		{
+			if( names.contains(instance.getName()) )
+				used.put( instance.getName(), instance.getHandle() );
+		}
+		
+		for( OCInstance instance : undiscovered.values() )
+		{
+			if( names.contains(instance.getName()) )
+				used.put( instance.getName(), instance.getHandle() );
+		}
+		
+		return used;
+	}
 	
 	public int getReserverOfName( String name )
 	{
@@ -426,6 +461,30 @@ public class Repository implements SaveRestoreTarget
 		reservedNames.put( name, federateHandle );
 	}
 
+	/**
+	 * Bulk version of {@link #reserveName(int, String)}. Each of the names is stored as reserved
+	 * by the given federate, overwriting any previous reservation.
+	 */
+	public void reserveNames( int federateHandle, Collection<String> names )
+	{
+		for( String name : names )
+			reservedNames.put( name, federateHandle );
+	}
+
+	/**
+	 * Removes the reservations for any of the given names that are currently held by the given
+	 * federate. Reservations held by anyone else are left alone.
+	 */
+	public void releaseNames( int federateHandle, Collection<String> names )
+	{
+		for( String name : names )
+		{
+			Integer holder = reservedNames.get( name );
+			if( holder != null && holder == federateHandle )
+				reservedNames.remove( name );
+		}
+	}
+
 	/////////////////////////////////////////////////////////////////////////////////////////
 	////////////////////////////////// Save/Restore Methods /////////////////////////////////
 	/////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,351 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.data;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.model.ICMetadata;
+import org.portico.lrc.model.OCMetadata;
+import org.portico.lrc.model.ObjectModel;
+import org.portico.lrc.model.RegionInstance;
+
+/**
+ * A precomputed view of the local federate's subscriptions, indexed by class handle. The
+ * {@link InterestManager} builds a new table whenever the local federate's subscriptions change
+ * (or it joins, or is restored) so that the receive path can answer "what type would I discover
+ * this as", "which attributes am I subscribed to" and "with which regions" with a single array
+ * access rather than walking the class hierarchy and probing the interest maps each time.
+ * <p/>
+ * Tables are immutable once built. Each carries a version number that goes up by one every time
+ * the {@link InterestManager} rebuilds it, so anyone holding on to a table can tell whether it
+ * has since been replaced.
+ * <p/>
+ * Only class handles that were in the FOM at the time the table was built are covered. Lookups
+ * for any other handle return <code>null</code> and callers should fall back to asking the
+ * {@link InterestManager} directly.
+ */
+public class SubscriptionTable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final RegionInstance[] NO_REGIONS = new RegionInstance[0];
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private final int version;
+	private final int federateHandle;
+	private final ObjectEntry[] objectClasses;           // index: class handle
+	private final InteractionEntry[] interactionClasses; // index: class handle
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * Build a table for the given federate from the provided subscription interests. The maps
+	 * are only read during construction, nothing from them is held on to other than the
+	 * {@link ICInterest} and {@link RegionInstance} references themselves.
+	 */
+	protected SubscriptionTable( int version,
+	                             int federateHandle,
+	                             ObjectModel fom,
+	                             Map<OCMetadata,OCInterest> sObjects,
+	                             Map<ICMetadata,ICInterest> sInteractions )
+	{
+		this.version = version;
+		this.federateHandle = federateHandle;
+
+		// object classes
+		int maxHandle = 0;
+		for( OCMetadata objectClass : fom.getAllObjectClasses() )
+			maxHandle = Math.max( maxHandle, objectClass.getHandle() );
+
+		this.objectClasses = new ObjectEntry[maxHandle+1];
+		for( OCMetadata objectClass : fom.getAllObjectClasses() )
+			objectClasses[objectClass.getHandle()] = new ObjectEntry( objectClass, sObjects );
+
+		// interaction classes
+		maxHandle = 0;
+		for( ICMetadata interactionClass : fom.getAllInteractionClasses() )
+			maxHandle = Math.max( maxHandle, interactionClass.getHandle() );
+
+		this.interactionClasses = new InteractionEntry[maxHandle+1];
+		for( ICMetadata interactionClass : fom.getAllInteractionClasses() )
+		{
+			interactionClasses[interactionClass.getHandle()] =
+				new InteractionEntry( interactionClass, sInteractions );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public int getVersion()
+	{
+		return this.version;
+	}
+
+	/**
+	 * @return The handle of the federate whose subscriptions this table describes
+	 */
+	public int getFederateHandle()
+	{
+		return this.federateHandle;
+	}
+
+	/**
+	 * Get the entry for the identified object class, or <code>null</code> if the class wasn't
+	 * known when the table was built.
+	 */
+	public ObjectEntry getObjectClass( int classHandle )
+	{
+		if( classHandle < 0 || classHandle >= objectClasses.length )
+			return null;
+		else
+			return objectClasses[classHandle];
+	}
+
+	/**
+	 * Get the entry for the identified interaction class, or <code>null</code> if the class
+	 * wasn't known when the table was built.
+	 */
+	public InteractionEntry getInteractionClass( int classHandle )
+	{
+		if( classHandle < 0 || classHandle >= interactionClasses.length )
+			return null;
+		else
+			return interactionClasses[classHandle];
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Private Class Helper Methods ////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	private RegionGroup groupFor( Map<OCMetadata,OCInterest> sObjects, OCMetadata objectClass )
+	{
+		OCInterest interest = sObjects.get( objectClass );
+		if( interest == null )
+			return null;
+		else
+			return interest.getInterestWithDDM( federateHandle );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Public Class: ObjectEntry ////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Subscription information for a single object class.
+	 */
+	public class ObjectEntry
+	{
+		private final OCMetadata discoveryType;
+		private final BitSet subscribed;       // attributes subscribed directly on this class
+		private final BitSet defaultRegion;    // ...of those, the ones with a non-DDM interest
+		private final RegionInstance[][] regions; // index: attribute handle, non-null regions
+		private final BitSet relevant;         // subscribed on this class or any parent
+
+		private ObjectEntry( OCMetadata objectClass, Map<OCMetadata,OCInterest> sObjects )
+		{
+			this.subscribed = new BitSet();
+			this.defaultRegion = new BitSet();
+			this.relevant = new BitSet();
+
+			// the direct subscription and its regions
+			RegionGroup group = groupFor( sObjects, objectClass );
+			int maxHandle = -1;
+			if( group != null )
+			{
+				for( Integer attribute : group.getAttributesNoDdm() )
+					maxHandle = Math.max( maxHandle, attribute );
+			}
+
+			this.regions = new RegionInstance[maxHandle+1][];
+			if( group != null )
+			{
+				for( Integer attribute : group.getAttributesNoDdm() )
+				{
+					Set<RegionInstance> attributeRegions = new HashSet<RegionInstance>(
+						group.getRegionsForAttribute(attribute) );
+					subscribed.set( attribute );
+					if( attributeRegions.remove(null) )
+						defaultRegion.set( attribute );
+
+					regions[attribute] = attributeRegions.isEmpty() ? NO_REGIONS :
+						attributeRegions.toArray( new RegionInstance[attributeRegions.size()] );
+				}
+			}
+
+			// find the type we'd discover instances of this class as, and collect every attribute
+			// that could be of interest to us (an object may have been discovered as any type)
+			OCMetadata discoveryType = null;
+			for( OCMetadata clazz = objectClass; clazz != null; clazz = clazz.getParent() )
+			{
+				RegionGroup interest = groupFor( sObjects, clazz );
+				if( interest == null )
+					continue;
+
+				if( discoveryType == null )
+					discoveryType = clazz;
+
+				for( Integer attribute : interest.getAttributesNoDdm() )
+					relevant.set( attribute );
+			}
+
+			this.discoveryType = discoveryType;
+		}
+
+		/**
+		 * The most specific class at or above this one in the hierarchy that the federate is
+		 * subscribed to, or <code>null</code> if there isn't one. See
+		 * {@link InterestManager#getDiscoveryType(int, int)}.
+		 */
+		public OCMetadata getDiscoveryType()
+		{
+			return this.discoveryType;
+		}
+
+		/**
+		 * @return <code>true</code> if the federate subscribes to this class or any parent
+		 */
+		public boolean isSubscribed()
+		{
+			return this.discoveryType != null;
+		}
+
+		/**
+		 * @return <code>true</code> if the federate subscribes directly to the attribute on this
+		 *         class (in any region)
+		 */
+		public boolean isAttributeSubscribed( int attributeHandle )
+		{
+			return attributeHandle >= 0 && subscribed.get( attributeHandle );
+		}
+
+		/**
+		 * @return <code>true</code> if the federate subscribes directly to the attribute on this
+		 *         class without any region (the default region)
+		 */
+		public boolean isAttributeSubscribedWithoutRegion( int attributeHandle )
+		{
+			return attributeHandle >= 0 && defaultRegion.get( attributeHandle );
+		}
+
+		/**
+		 * Get the (non-default) regions the federate subscribes to the attribute with. Returns an
+		 * empty array if there are none. The array must not be modified.
+		 */
+		public RegionInstance[] getRegionsForAttribute( int attributeHandle )
+		{
+			if( attributeHandle < 0 || attributeHandle >= regions.length )
+				return NO_REGIONS;
+
+			RegionInstance[] attributeRegions = regions[attributeHandle];
+			return attributeRegions == null ? NO_REGIONS : attributeRegions;
+		}
+
+		/**
+		 * @return <code>true</code> if the federate subscribes to the attribute on this class or
+		 *         any of its parents. An object of this class might have been discovered as any
+		 *         of them, so this is the widest possible view of interest in the attribute.
+		 */
+		public boolean isAttributeRelevant( int attributeHandle )
+		{
+			return attributeHandle >= 0 && relevant.get( attributeHandle );
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////// Public Class: InteractionEntry //////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Subscription information for a single interaction class.
+	 */
+	public class InteractionEntry
+	{
+		private final ICInterest interest;
+		private final Set<RegionInstance> regions;
+
+		private InteractionEntry( ICMetadata interactionClass,
+		                          Map<ICMetadata,ICInterest> sInteractions )
+		{
+			// find the closest class in the hierarchy we are subscribed to
+			ICInterest found = null;
+			for( ICMetadata clazz = interactionClass; clazz != null; clazz = clazz.getParent() )
+			{
+				ICInterest interest = sInteractions.get( clazz );
+				if( interest != null && interest.hasInterest(federateHandle) )
+				{
+					found = interest;
+					break;
+				}
+			}
+
+			this.interest = found;
+			if( found == null )
+			{
+				this.regions = Collections.emptySet();
+			}
+			else
+			{
+				this.regions = Collections.unmodifiableSet(
+					new HashSet<RegionInstance>(found.getRegions(federateHandle)) );
+			}
+		}
+
+		/**
+		 * The interest held in the class that interactions of this class should be received as,
+		 * or <code>null</code> if the federate isn't subscribed to this class or any parent. See
+		 * {@link InterestManager#getSubscribedInteractionInterest(int, int)}.
+		 */
+		public ICInterest getInterest()
+		{
+			return this.interest;
+		}
+
+		/**
+		 * The class interactions of this class should be received as, or <code>null</code> if
+		 * the federate isn't subscribed to this class or any parent.
+		 */
+		public ICMetadata getSubscribedType()
+		{
+			return interest == null ? null : interest.getInteractionClass();
+		}
+
+		/**
+		 * @return <code>true</code> if the federate subscribes to this class or any parent
+		 */
+		public boolean isSubscribed()
+		{
+			return this.interest != null;
+		}
+
+		/**
+		 * The regions the federate subscribed to the interaction with (see
+		 * {@link ICInterest#getRegions(int)}). This is a copy taken when the table was built.
+		 */
+		public Set<RegionInstance> getRegions()
+		{
+			return this.regions;
+		}
+	}
+}
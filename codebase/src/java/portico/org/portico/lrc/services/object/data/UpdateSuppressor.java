@@ -0,0 +1,260 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.data;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+import org.portico.lrc.LRCState;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.model.ACInstance;
+import org.portico.lrc.model.OCInstance;
+import org.portico.lrc.model.ObjectModel;
+
+/**
+ * The update suppressor remembers a compact hash of the last value the local federate sent for
+ * each attribute it owns, and removes attributes from outgoing updates when their value hasn't
+ * changed since. Federates that send their full attribute set every frame then only put the
+ * values that actually changed on the wire, and updates that change nothing aren't sent at all.
+ * <p/>
+ * Suppression is off unless one or more object classes are listed in the
+ * {@link PorticoConstants#PROPERTY_SUPPRESS_UNCHANGED} system property. Listing a class turns it
+ * on for that class and all its subclasses. To make sure federates can still get the full state
+ * of an object when they need it:
+ * <ul>
+ *   <li>When another federate asks for the current values of our attributes (a request for an
+ *       attribute value update) the values on record for them are forgotten, so the next update
+ *       the federate provides goes out in full.</li>
+ *   <li>The value on record for an attribute is only used if ownership of the attribute hasn't
+ *       changed hands since it was sent (see {@link ACInstance#getOwnershipVersion()}). If we
+ *       gave it away and got it back, someone else may have sent a different value in between.
+ *       </li>
+ *   <li>Everything for an object is forgotten when it is deleted.</li>
+ * </ul>
+ * 
+ * Values are compared by a 64-bit hash and length rather than stored in full.
+ * <p/>
+ * This is only used from the federate's thread (by the handlers in the outgoing and incoming
+ * sinks), so it does no locking.
+ */
+public class UpdateSuppressor
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME  = 0x100000001b3L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private LRCState state;
+	private Logger logger;
+	private String[] classNames;
+
+	private ObjectModel resolvedFom;  // the FOM the class names were resolved against
+	private BitSet suppressedClasses; // index: object class handle
+	private Map<Integer,Map<Integer,Sent>> sent; // key: object handle, then attribute handle
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public UpdateSuppressor( LRCState state )
+	{
+		this.state = state;
+		this.logger = Logger.getLogger( "portico.lrc" );
+		this.classNames = PorticoConstants.getSuppressUnchangedClasses();
+
+		this.resolvedFom = null;
+		this.suppressedClasses = new BitSet();
+		this.sent = new HashMap<Integer,Map<Integer,Sent>>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * @return <code>true</code> if suppression has been turned on for any object class
+	 */
+	public boolean isEnabled()
+	{
+		return classNames.length > 0;
+	}
+
+	/**
+	 * Remove any attributes from the given set of values whose value is the same as the last
+	 * value we sent for them, and record the new values of the rest as having been sent. The
+	 * given map is modified directly.
+	 * <p/>
+	 * If suppression is not on for the class of the object, the values are left alone.
+	 * 
+	 * @param instance The object the values are being sent for
+	 * @param values The attribute values about to be sent (key: attribute handle)
+	 * @return The number of attributes that were removed
+	 */
+	public int strip( OCInstance instance, Map<Integer,byte[]> values )
+	{
+		if( isSuppressed(instance.getRegisteredClassHandle()) == false )
+			return 0;
+
+		Map<Integer,Sent> record = sent.get( instance.getHandle() );
+		if( record == null )
+		{
+			record = new HashMap<Integer,Sent>();
+			sent.put( instance.getHandle(), record );
+		}
+
+		int removed = 0;
+		Iterator<Map.Entry<Integer,byte[]>> iterator = values.entrySet().iterator();
+		while( iterator.hasNext() )
+		{
+			Map.Entry<Integer,byte[]> entry = iterator.next();
+			Integer attributeHandle = entry.getKey();
+			byte[] value = entry.getValue();
+			ACInstance attribute = instance.getAttribute( attributeHandle );
+			if( value == null || attribute == null )
+			{
+				record.remove( attributeHandle );
+				continue;
+			}
+
+			long hash = hash( value );
+			int ownershipVersion = attribute.getOwnershipVersion();
+			Sent last = record.get( attributeHandle );
+			if( last == null )
+			{
+				last = new Sent();
+				record.put( attributeHandle, last );
+			}
+			else if( last.hash == hash &&
+			         last.length == value.length &&
+			         last.ownershipVersion == ownershipVersion )
+			{
+				// same value as last time, no need to send it again
+				iterator.remove();
+				++removed;
+				continue;
+			}
+
+			last.hash = hash;
+			last.length = value.length;
+			last.ownershipVersion = ownershipVersion;
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Forget the values on record for the given attributes of an object, so that the next time
+	 * they are sent they go out regardless of whether they have changed.
+	 */
+	public void forget( int objectHandle, Set<Integer> attributes )
+	{
+		Map<Integer,Sent> record = sent.get( objectHandle );
+		if( record == null )
+			return;
+
+		for( Integer attribute : attributes )
+			record.remove( attribute );
+	}
+
+	/**
+	 * Forget all values on record for the given object
+	 */
+	public void forget( int objectHandle )
+	{
+		sent.remove( objectHandle );
+	}
+
+	/**
+	 * Forget everything. Called when the federate is restored.
+	 */
+	public void clear()
+	{
+		sent.clear();
+	}
+
+	/**
+	 * Does the configuration ask for updates to objects of the given (registered) class to have
+	 * their unchanged values removed? The configured class names are resolved against the current
+	 * FOM the first time this is asked, and again if the FOM is replaced.
+	 */
+	private boolean isSuppressed( int classHandle )
+	{
+		if( classNames.length == 0 )
+			return false;
+
+		ObjectModel fom = state.getFOM();
+		if( fom == null )
+			return false;
+
+		if( fom != resolvedFom )
+		{
+			suppressedClasses.clear();
+			for( String className : classNames )
+			{
+				BitSet hierarchy = fom.getObjectClassHierarchy( className );
+				if( hierarchy == null )
+				{
+					logger.warn( "Can't suppress unchanged values for object class ["+className+
+					             "]: class not found in FOM" );
+				}
+				else
+				{
+					suppressedClasses.or( hierarchy );
+				}
+			}
+
+			resolvedFom = fom;
+		}
+
+		return classHandle >= 0 && suppressedClasses.get( classHandle );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * 64-bit FNV-1a hash of the given value
+	 */
+	private static long hash( byte[] value )
+	{
+		long hash = FNV_OFFSET;
+		for( int i = 0; i < value.length; i++ )
+		{
+			hash ^= (value[i] & 0xff);
+			hash *= FNV_PRIME;
+		}
+
+		return hash;
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Private Class: Sent ///////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Record of the last value sent for an attribute
+	 */
+	private static class Sent
+	{
+		private long hash;
+		private int length;
+		private int ownershipVersion;
+	}
+}
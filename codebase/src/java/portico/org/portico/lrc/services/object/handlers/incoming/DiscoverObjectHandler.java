@@ -61,7 +61,8 @@ public class DiscoverObjectHandler extends LRCMessageHandler
 		DiscoverObject notice = context.getRequest( DiscoverObject.class, this );
 		// veto if it is our message, but only if it ISN'T a rediscovery check
 		if( notice.isRediscoveryCheck() == false )
-			vetoIfMessageFromUs( notice );
+			if( vetoIfMessageFromUs(context,notice) )
+				return;
 		
 		int federate = notice.getSourceFederate();
 		int objectHandle = notice.getObjectHandle();
@@ -108,7 +109,8 @@ public class DiscoverObjectHandler extends LRCMessageHandler
 			// if this is a rediscovery check, this object will already be in the undiscovered
 			// store, so this call will have no effect
 			repository.addUndiscoveredInstance( newInstance );
-			veto();
+			veto( context );
+			return;
 		}
 
 		// create the OCInstance using the discovered type and store locally, just get the
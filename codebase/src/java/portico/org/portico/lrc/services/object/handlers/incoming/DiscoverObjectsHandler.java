@@ -0,0 +1,73 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.incoming;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.object.msg.DiscoverObjects;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Unpacks a {@link DiscoverObjects} notice into individual discoveries. The notice is flagged for
+ * immediate processing, so this runs as soon as it arrives and the individual discoveries are
+ * queued in the position the notice would have had, ahead of anything that arrives later (like
+ * the first updates for the new objects). From there they are handled exactly like discoveries
+ * of objects that were registered one at a time.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="incoming",
+                messages=DiscoverObjects.class)
+public class DiscoverObjectsHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void process( MessageContext context ) throws Exception
+	{
+		DiscoverObjects notice = context.getRequest( DiscoverObjects.class, this );
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+		
+		int count = notice.getObjectHandles().length;
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "@REMOTE Discover "+count+" objects: owner="+
+			              moniker(notice.getSourceFederate())+", class="+
+			              ocMoniker(notice.getClassHandle()) );
+		}
+
+		for( int i = 0; i < count; i++ )
+			lrcState.getQueue().offer( notice.getDiscovery(i) );
+		
+		context.success();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
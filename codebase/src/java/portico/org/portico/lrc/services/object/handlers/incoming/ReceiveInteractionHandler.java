@@ -60,7 +60,8 @@ public class ReceiveInteractionHandler extends LRCMessageHandler
 
 		// if we produced this message, ignore it, we don't need to generate callbacks
 		// for our own attribute reflections
-		vetoIfMessageFromUs( notice ); // throws VetoException
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
 		
 		int classHandle = notice.getInteractionId();
 		Map<Integer,byte[]> parameters = notice.getParameters();
@@ -83,7 +84,8 @@ public class ReceiveInteractionHandler extends LRCMessageHandler
 		{
 			// there is no subscription, ignore the incoming interaction and move on
 			logger.debug( "DISCARD interaction of class ["+icMoniker(classHandle)+"]: no subscription" );
-			veto("Interaction ignored: not subscribed");
+			veto( context, "Interaction ignored: not subscribed" );
+			return;
 		}
 
 		// see if we should filter this out based on DDM
@@ -96,7 +98,8 @@ public class ReceiveInteractionHandler extends LRCMessageHandler
 			// regions don't overlap, filter it out
 			logger.debug( "DISCARD interaction of class ["+icMoniker(classHandle)+
 			              "]: regions don't overlap" );
-			veto("Interaction ignored: regions don't overlap");
+			veto( context, "Interaction ignored: regions don't overlap" );
+			return;
 		}
 		
 		// Filter the incoming parameters down to those we are interested in. Only need to do this
@@ -15,15 +15,12 @@
 package org.portico.lrc.services.object.handlers.incoming;
 
 import java.util.Map;
-import java.util.Set;
 
 import org.portico.lrc.LRCMessageHandler;
-import org.portico.lrc.compat.JObjectClassNotSubscribed;
 import org.portico.lrc.model.ACInstance;
 import org.portico.lrc.model.OCInstance;
 import org.portico.lrc.model.RegionInstance;
-import org.portico.lrc.services.object.data.OCInterest;
-import org.portico.lrc.services.object.data.RegionGroup;
+import org.portico.lrc.services.object.data.SubscriptionTable;
 import org.portico.lrc.services.object.msg.UpdateAttributes;
 import org.portico.utils.messaging.MessageContext;
 import org.portico.utils.messaging.MessageHandler;
@@ -61,7 +58,8 @@ public class ReflectAttributesHandler extends LRCMessageHandler
 
 		// if we produced this message, ignore it, we don't need to generate callbacks
 		// for our own attribute reflections
-		vetoIfMessageFromUs( notice ); // throws VetoException
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
 		
 		int objectHandle = notice.getObjectId();
 		Map<Integer,byte[]> attributes = notice.getAttributes();
@@ -79,25 +77,19 @@ public class ReflectAttributesHandler extends LRCMessageHandler
 		{
 			logger.debug( "DISCARD reflection for object ["+objectMoniker(objectHandle)+
 			              "]: object unknown" );
-			veto("Reflection ignored: object unknown");
+			veto( context, "Reflection ignored: object unknown" );
+			return;
 		}
 		
-		try
-		{
-			// filter the incoming attributes down to those we are interested in
-			filter( instance, notice );
-		}
-		catch( JObjectClassNotSubscribed ocns )
-		{
-			// we're not subscribed, ignore the reflection
-			veto( "Reflection ignored: no subscribed attributes" );
-		}
+		// filter the incoming attributes down to those we are interested in
+		filter( instance, notice );
 
 		if( notice.getFilteredAttributes().isEmpty() )
 		{
 			logger.debug( "DISCARD reflection for object ["+objectMoniker(objectHandle)+
 			              "]: no subscribed attributes" );
-			veto("Reflection ignored: no subscribed attributes");
+			veto( context, "Reflection ignored: no subscribed attributes" );
+			return;
 		}
 
 		// don't set a success, we're letting it through so that a callback handler can
@@ -111,37 +103,34 @@ public class ReflectAttributesHandler extends LRCMessageHandler
 	 * those that are interesting locally. If there are none of interest, an empty set will be
 	 * returned.
 	 */
-	private void filter( OCInstance instance, UpdateAttributes request ) throws Exception
+	private void filter( OCInstance instance, UpdateAttributes request )
 	{
 		request.clearFilteredAttributes();
 
-		// get the interest this federate has in the object (use the discovered type as that's the
-		// type we discovered the object as, so it's the one that related to our subscription
-		int federateHandle = lrcState.getFederateHandle();
-		OCInterest interest = interests.getSubscribedInterest( lrcState.getFederateHandle(),
-		                                                       instance.getDiscoveredType() );
-		
-		// this is the group of subscribed attributes, each with the set of regions that
-		// are associated with the subscription
-		RegionGroup subscriptionGroup = interest.getInterestWithDDM( federateHandle );
+		// get the subscription this federate has for the object (use the discovered type as that's
+		// the type we discovered the object as, so it's the one that related to our subscription).
+		// The subscription table has this worked out already, so it's just a lookup
+		SubscriptionTable table = interests.getSubscriptionTable();
+		if( table == null )
+			return; // not joined, or in the middle of a restore
+
+		SubscriptionTable.ObjectEntry subscription =
+			table.getObjectClass( instance.getDiscoveredClassHandle() );
 		
-		// if the federate has no interest, the group will be null, make sure that isn't the case
-		if( subscriptionGroup == null )
+		// if the class wasn't known when the table was built, there'll be no entry
+		if( subscription == null )
 			return;
 		
 		Map<Integer,byte[]> raw = request.getAttributes();
 		for( Integer reflectedHandle : raw.keySet() )
 		{
 			// are we subscribed to this attribute?
-			Set<RegionInstance> subscribedRegions =
-				subscriptionGroup.getRegionsForAttribute( reflectedHandle );
-			
-			if( subscribedRegions == null )
+			if( subscription.isAttributeSubscribed(reflectedHandle) == false )
 				continue; // no subscription interest
 
 			// are we subscribed to the default region? if we are we can skip the rest
 			// of the processing as it is only ddm related
-			if( subscribedRegions.contains(null) )
+			if( subscription.isAttributeSubscribedWithoutRegion(reflectedHandle) )
 			{
 				request.addFilteredAttribute( reflectedHandle, raw.get(reflectedHandle), null );
 				continue;
@@ -156,6 +145,7 @@ public class ReflectAttributesHandler extends LRCMessageHandler
 			}
 
 			// are we interested in this attribute with OVERLAPPING regions?
+			RegionInstance[] subscribedRegions = subscription.getRegionsForAttribute( reflectedHandle );
 			for( RegionInstance subscribedRegion : subscribedRegions )
 			{
 				if( subscribedRegion.overlapsWith(reflectedAttribute.getRegion()) )
@@ -0,0 +1,66 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.incoming;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.object.msg.ReleaseObjectNames;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Drops the object name reservations a remote federate has released. Only reservations that are
+ * currently recorded against the sending federate are removed.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc1516e"},
+                sinks="incoming",
+                priority=7, // we want to handle it before any callback handler
+                messages=ReleaseObjectNames.class)
+public class ReleaseObjectNamesHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void process( MessageContext context ) throws Exception
+	{
+		ReleaseObjectNames request = context.getRequest( ReleaseObjectNames.class, this );
+		int federate = request.getSourceFederate();
+		
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "@REMOTE Release of "+request.getObjectNames().size()+
+			              " object names by federate ["+moniker(federate)+"]" );
+		}
+
+		repository.releaseNames( federate, request.getObjectNames() );
+		context.success();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -52,7 +52,9 @@ public class RemoveObjectHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		DeleteObject notice = context.getRequest( DeleteObject.class, this );
-		vetoIfMessageFromUs( notice ); // throws VetoException if its our message
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
 		int federate = notice.getSourceFederate();
 		int objectHandle = notice.getObjectHandle();
 		
@@ -65,6 +67,7 @@ public class RemoveObjectHandler extends LRCMessageHandler
 
 		// remove the object
 		OCInstance objectInstance = repository.deleteDiscoveredOrUndiscovered( objectHandle );
+		lrcState.getUpdateSuppressor().forget( objectHandle );
 		if( objectInstance != null && objectInstance.isDiscovered() )
 		{
 			// we had discovered the object, let request through to the callback handler
@@ -80,7 +83,7 @@ public class RemoveObjectHandler extends LRCMessageHandler
 				              objectMoniker(objectHandle)+"]" );
 			}
 			
-			veto();
+			veto( context );
 		}
 	}
 
@@ -0,0 +1,70 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.incoming;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.object.msg.DeleteObjects;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Unpacks a {@link DeleteObjects} notice into individual deletions as soon as it arrives (see
+ * {@link DiscoverObjectsHandler}). Each is then processed by the {@link RemoveObjectHandler} and
+ * called back separately.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="incoming",
+                messages=DeleteObjects.class)
+public class RemoveObjectsHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void process( MessageContext context ) throws Exception
+	{
+		DeleteObjects notice = context.getRequest( DeleteObjects.class, this );
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
+
+		int count = notice.getObjectHandles().length;
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "@REMOTE Delete "+count+" objects: federate="+
+			              moniker(notice.getSourceFederate()) );
+		}
+
+		for( int i = 0; i < count; i++ )
+			lrcState.getQueue().offer( notice.getDeletion(i) );
+
+		context.success();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -77,11 +77,13 @@ public class RequestClassUpdateIncomingHandler extends LRCMessageHandler
 		if( classHandle == Mom.FederateClass || classHandle == Mom.ManagerClass )
 		{
 			respondToMomFederateUpdateRequest( requested );
-			veto("Update was for MOM type, automatically handled by LRC");
+			veto( context, "Update was for MOM type, automatically handled by LRC" );
+			return;
 		}
 
 		// ignore messages that are from us
-		vetoIfMessageFromUs( notice );
+		if( vetoIfMessageFromUs(context,notice) )
+			return;
 		
 		// get the region, this will be null if if DDM is not used
 		RegionInstance region = regions.getRegion( regionToken );
@@ -71,7 +71,8 @@ public class RequestObjectUpdateIncomingHandler extends LRCMessageHandler
 		{
 			// it is, fill out this update ourselves
 			respondToMomFederateUpdateRequest( attributeHandles );
-			veto("Update was for MOM type, automatically handled by LRC");
+			veto( context, "Update was for MOM type, automatically handled by LRC" );
+			return;
 		}
 		
 		// find our local copy of the object
@@ -80,7 +81,8 @@ public class RequestObjectUpdateIncomingHandler extends LRCMessageHandler
 		{
 			// we don't know the instance, don't do anything
 			logger.debug( "Object not known ["+objectHandle+"], we can't provide any update" );
-			veto("object handle not known");
+			veto( context, "object handle not known" );
+			return;
 		}
 		
 		// checks to see if there are any attributes that we own, if there are we
@@ -88,11 +90,17 @@ public class RequestObjectUpdateIncomingHandler extends LRCMessageHandler
 		HashSet<Integer> owned = filterOwnedAttributes( instance, attributeHandles );
 		// if we don't own any attributes, there is no need for an update
 		if( owned.isEmpty() )
-			veto("don't own any attributes");
+		{
+			veto( context, "don't own any attributes" );
+			return;
+		}
 		
 		// update the set of attributes that should be part of the request to be only those
 		// that we own, then let it flow through so that the callback handler can run
 		notice.setAttributes( owned );
+
+		// make sure the values the federate provides in response go out in full
+		lrcState.getUpdateSuppressor().forget( objectHandle, owned );
 		
 		if( logger.isDebugEnabled() )
 		{
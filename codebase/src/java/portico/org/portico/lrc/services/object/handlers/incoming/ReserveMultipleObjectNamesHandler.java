@@ -0,0 +1,94 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.incoming;
+
+import java.util.Set;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.services.object.msg.ReserveMultipleObjectNames;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * The multiple-name version of {@link ReserveObjectNameHandler}. Each name in the request is
+ * recorded using the same rules as for a single name (a reservation is only replaced by one from
+ * a federate with a lower handle), but the whole set is processed in one pass.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc1516e"},
+                sinks="incoming",
+                priority=7, // we want to handle it before any callback handler
+                messages=ReserveMultipleObjectNames.class)
+public class ReserveMultipleObjectNamesHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void process( MessageContext context ) throws Exception
+	{
+		ReserveMultipleObjectNames request = context.getRequest( ReserveMultipleObjectNames.class,
+		                                                         this );
+		Set<String> objectNames = request.getObjectNames();
+		int federate = request.getSourceFederate();
+		
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "@REMOTE Request reservation of "+objectNames.size()+
+			              " object names for federate ["+moniker(federate)+"]" );
+		}
+
+		int replaced = 0;
+		for( String objectName : objectNames )
+		{
+			int reservedBy = repository.getReserverOfName( objectName );
+			if( reservedBy == PorticoConstants.NULL_HANDLE )
+			{
+				// not reserved, record it
+				repository.reserveName( federate, objectName );
+			}
+			else if( reservedBy > federate )
+			{
+				// requesting federate is lower, replace reservation
+				repository.reserveName( federate, objectName );
+				++replaced;
+			}
+		}
+
+		if( replaced > 0 && logger.isDebugEnabled() )
+		{
+			logger.debug( "Replaced "+replaced+" previous object name reservations with ones "+
+			              "for ["+moniker(federate)+"]" );
+		}
+		
+		context.success();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -84,10 +84,12 @@ public class DeleteObjectHandler extends LRCMessageHandler
 		
 		// remove the object
 		repository.removeDiscoveredInstance( objectHandle );
+		lrcState.getUpdateSuppressor().forget( objectHandle );
 		
 		// notify the other federates that a new remote object has been created
+		int retractionHandle = assignRetractionHandle( request );
 		connection.broadcast( request );
-		context.success();
+		context.success( retractionHandle );
 		
 		if( logger.isInfoEnabled() )
 		{
@@ -0,0 +1,104 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.outgoing;
+
+import java.util.Map;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.compat.JDeletePrivilegeNotHeld;
+import org.portico.lrc.compat.JObjectNotKnown;
+import org.portico.lrc.model.OCInstance;
+import org.portico.lrc.services.object.msg.DeleteObjects;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Deletes a batch of objects. Every object is checked before any are removed, so either they all
+ * go or none do. The request is then broadcast as a single message for the whole batch.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="outgoing",
+                messages=DeleteObjects.class)
+public class DeleteObjectsHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		DeleteObjects request = context.getRequest( DeleteObjects.class, this );
+		int[] objectHandles = request.getObjectHandles();
+
+		// basic validity checks
+		lrcState.checkJoined();
+		lrcState.checkSave();
+		lrcState.checkRestore();
+		
+		if( logger.isDebugEnabled() )
+			logger.debug( "ATTEMPT Delete "+objectHandles.length+" objects" );
+
+		// check that the objects exist and that we own them
+		int federateHandle = lrcState.getFederateHandle();
+		for( int objectHandle : objectHandles )
+		{
+			OCInstance instance = repository.getInstance( objectHandle );
+			if( instance == null )
+			{
+				throw new JObjectNotKnown( "can't delete object ["+objectHandle+"]: unknown" );
+			}
+			else if( instance.isOwner(federateHandle) == false )
+			{
+				throw new JDeletePrivilegeNotHeld( "can't delete object [" + objectHandle +
+				                                   "]: delete privilege not held" );
+			}
+		}
+
+		// remove the objects
+		for( int objectHandle : objectHandles )
+		{
+			repository.removeDiscoveredInstance( objectHandle );
+			lrcState.getUpdateSuppressor().forget( objectHandle );
+		}
+		
+		// notify the other federates that the objects have been removed
+		connection.broadcast( request );
+		context.success();
+		
+		if( logger.isInfoEnabled() )
+			logger.info( "SUCCESS Deleted "+objectHandles.length+" objects" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -35,6 +35,8 @@ import org.portico.lrc.model.OCMetadata;
 import org.portico.lrc.model.RegionInstance;
 import org.portico.lrc.services.object.msg.DiscoverObject;
 import org.portico.lrc.services.object.msg.RegisterObject;
+import org.portico.lrc.services.object.msg.ReleaseObjectNames;
+import org.portico.lrc.services.object.msg.ReserveMultipleObjectNames;
 import org.portico.lrc.services.object.msg.ReserveObjectName;
 import org.portico.utils.messaging.MessageContext;
 import org.portico.utils.messaging.MessageHandler;
@@ -123,7 +125,7 @@ public class RegisterObjectHandler extends LRCMessageHandler
 	 * This method will try to find the {@link OCMetadata} for the object class with the given
 	 * handle, validate that this federate is publishing that class and then return the metadata.
 	 */
-	private OCMetadata checkPublished( int classHandle )
+	protected OCMetadata checkPublished( int classHandle )
 		throws JObjectClassNotDefined,
 	           JObjectClassNotPublished,
 	           JRTIinternalError
@@ -263,7 +265,12 @@ public class RegisterObjectHandler extends LRCMessageHandler
 		//////////////////////////////
 		// check to see if the name is currently available
 		int reservedBy = repository.getReserverOfName( name );
-		if( reservedBy != PorticoConstants.NULL_HANDLE )
+		if( reservedBy == federateHandle() )
+		{
+			// we reserved it earlier and haven't used it yet, it's still ours
+			return;
+		}
+		else if( reservedBy != PorticoConstants.NULL_HANDLE )
 		{
 			throw new JObjectAlreadyRegistered( "Can't reserve object name ["+name+"] for ["+
 			                                    federateName()+"], already reserved for ["+
@@ -282,9 +289,12 @@ public class RegisterObjectHandler extends LRCMessageHandler
 		//////////////////////
 		// reserve the name //
 		//////////////////////
-		// skip this if name negotiation is disabled
+		// skip this if name negotiation is disabled, just record it locally
 		if( PorticoConstants.isObjectNamingNegotiated() == false )
+		{
+			repository.reserveName( federateHandle(), name );
 			return;
+		}
 
 		// send out the reservation request and wait for a period of time defined by
 		// the connection (rather than us defining it arbitrarily)
@@ -322,10 +332,116 @@ public class RegisterObjectHandler extends LRCMessageHandler
 		}
 		
 		// we're good to go!
+		repository.reserveName( federateHandle(), name );
 		if( logger.isDebugEnabled() )
 			logger.debug( "Object name ["+name+"] successfully reserved for ["+moniker()+"]" );
 	}
 
+	/**
+	 * Reserves all of the given names for this federate in one go. This follows the same process
+	 * as {@link #reserveName(String)}, but every step covers the whole set: the names are all
+	 * checked, a single reservation notice is broadcast for all of them, we wait once, and then
+	 * they are all checked again. A federate reserving thousands of names pays for one wait
+	 * rather than thousands.
+	 * <p/>
+	 * The reservation is all-or-nothing. If any of the names can't be had, an exception is thrown
+	 * and none of the requested names are left newly reserved for this federate (any that we did
+	 * win during the negotiation are released again so other federates don't keep holding them
+	 * for us). Names we had already reserved before this request stay ours.
+	 * 
+	 * @throws JObjectAlreadyRegistered If any of the names is reserved or used by someone else
+	 */
+	public void reserveNames( Set<String> names ) throws Exception
+	{
+		// check availability first
+		checkNamesAvailable( names );
+
+		// negotiate for the names if that is turned on
+		if( PorticoConstants.isObjectNamingNegotiated() )
+		{
+			// note which names are new to us, if this fails those are the only ones to give back
+			Set<String> requested = new HashSet<String>();
+			for( String name : names )
+			{
+				if( repository.getReserverOfName(name) != federateHandle() )
+					requested.add( name );
+			}
+
+			if( logger.isDebugEnabled() )
+			{
+				logger.debug( "Sending object name reservation request: names="+names.size()+
+				              ", federate="+moniker() );
+			}
+
+			connection.broadcastAndSleep( fill(new ReserveMultipleObjectNames(names)) );
+
+			// check availability again, see reserveName() for why
+			try
+			{
+				checkNamesAvailable( names );
+			}
+			catch( JObjectAlreadyRegistered ar )
+			{
+				releaseHeldNames( requested );
+				throw ar;
+			}
+		}
+
+		// we're good to go!
+		repository.reserveNames( federateHandle(), names );
+		if( logger.isDebugEnabled() )
+			logger.debug( names.size()+" object names successfully reserved for ["+moniker()+"]" );
+	}
+
+	/**
+	 * Throws an exception if any of the given names is reserved by another federate or is used
+	 * by an existing object. Names reserved by this federate are considered available.
+	 */
+	private void checkNamesAvailable( Set<String> names ) throws JObjectAlreadyRegistered
+	{
+		int federateHandle = federateHandle();
+		for( String name : names )
+		{
+			int reservedBy = repository.getReserverOfName( name );
+			if( reservedBy != PorticoConstants.NULL_HANDLE && reservedBy != federateHandle )
+			{
+				throw new JObjectAlreadyRegistered( "Can't reserve object name ["+name+"] for ["+
+				                                    federateName()+"], already reserved for ["+
+				                                    federateName(reservedBy)+"]" );
+			}
+		}
+
+		Map<String,Integer> used = repository.getObjectHandlesForNames( names );
+		if( used.isEmpty() == false )
+		{
+			Map.Entry<String,Integer> entry = used.entrySet().iterator().next();
+			throw new JObjectAlreadyRegistered( "Can't reserve object name ["+entry.getKey()+
+			                                    "] for ["+federateName()+"], already used by "+
+			                                    "object ["+entry.getValue()+"]" );
+		}
+	}
+
+	/**
+	 * Releases any of the given names that are currently reserved for this federate, both
+	 * locally and in all the other LRCs. Only pass names this federate has just tried to
+	 * reserve, anything else it holds would be taken away from it.
+	 */
+	private void releaseHeldNames( Set<String> names ) throws Exception
+	{
+		Set<String> held = new HashSet<String>();
+		for( String name : names )
+		{
+			if( repository.getReserverOfName(name) == federateHandle() )
+				held.add( name );
+		}
+
+		if( held.isEmpty() )
+			return;
+
+		repository.releaseNames( federateHandle(), held );
+		connection.broadcast( fill(new ReleaseObjectNames(held)) );
+	}
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
@@ -0,0 +1,130 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.outgoing;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.compat.JObjectAlreadyRegistered;
+import org.portico.lrc.model.OCInstance;
+import org.portico.lrc.model.OCMetadata;
+import org.portico.lrc.services.object.msg.DiscoverObjects;
+import org.portico.lrc.services.object.msg.RegisterObjects;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Registers a batch of objects of the same class. Any names given are reserved together (one
+ * negotiation for the whole batch, see {@link RegisterObjectHandler#reserveNames(Set)}), all the
+ * instances are created and stored, and then a single {@link DiscoverObjects} notice is sent out
+ * for the lot. The new {@link OCInstance}s are returned as an array in the success response.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="outgoing",
+                messages=RegisterObjects.class)
+public class RegisterObjectsHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private RegisterObjectHandler objectHandler;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+		this.objectHandler = new RegisterObjectHandler();
+		this.objectHandler.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		RegisterObjects request = context.getRequest( RegisterObjects.class, this );
+		int classHandle = request.getClassHandle();
+		String[] objectNames = request.getObjectNames();
+
+		// basic validity checks
+		lrcState.checkJoined();
+		lrcState.checkSave();
+		lrcState.checkRestore();
+
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "ATTEMPT Register "+objectNames.length+" instances of class ["+
+			              ocMoniker(classHandle)+"]" );
+		}
+
+		// make sure the object class exists and we are publishing it
+		OCMetadata objectClass = objectHandler.checkPublished( classHandle );
+
+		// nothing to do if there are no objects
+		if( objectNames.length == 0 )
+		{
+			context.success( new OCInstance[0] );
+			return;
+		}
+
+		// collect up any names that were given and reserve them all at once
+		Set<String> requestedNames = new HashSet<String>();
+		for( String name : objectNames )
+		{
+			if( name != null && requestedNames.add(name) == false )
+				throw new JObjectAlreadyRegistered( "Object name ["+name+"] given more than once" );
+		}
+
+		if( requestedNames.isEmpty() == false )
+			objectHandler.reserveNames( requestedNames );
+
+		// create all the instances before we store any of them, so that if we fail part way
+		// through we haven't left half the batch behind
+		Set<Integer> published = interests.getPublishedAttributes( lrcState.getFederateHandle(),
+		                                                           classHandle );
+		List<OCInstance> instances = new ArrayList<OCInstance>( objectNames.length );
+		for( String name : objectNames )
+			instances.add( repository.newInstance(objectClass,name,published) );
+
+		for( OCInstance instance : instances )
+			repository.discoverInstance( instance, instance.getRegisteredType() );
+
+		// one notice for the lot
+		connection.broadcast( fill(new DiscoverObjects(instances)) );
+		context.success( instances.toArray(new OCInstance[instances.size()]) );
+
+		if( logger.isInfoEnabled() )
+		{
+			logger.info( "SUCCESS Registered "+instances.size()+" instances of class ["+
+			             ocMoniker(classHandle)+"]" );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
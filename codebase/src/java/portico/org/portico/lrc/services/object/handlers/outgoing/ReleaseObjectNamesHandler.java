@@ -0,0 +1,97 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.outgoing;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.compat.JObjectInstanceNameNotReserved;
+import org.portico.lrc.services.object.msg.ReleaseObjectNames;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Releases object names previously reserved by the local federate. Every name in the request
+ * must currently be reserved by this federate, otherwise nothing is released and an exception
+ * is thrown. When name negotiation is enabled the release is also broadcast so the other LRCs
+ * can drop the reservations they recorded for us.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc1516e"},
+                sinks="outgoing",
+                messages=ReleaseObjectNames.class)
+public class ReleaseObjectNamesHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		ReleaseObjectNames request = context.getRequest( ReleaseObjectNames.class, this );
+		Set<String> objectNames = request.getObjectNames();
+
+		// basic validity checks
+		lrcState.checkJoined();
+		lrcState.checkSave();
+		lrcState.checkRestore();
+
+		if( logger.isDebugEnabled() )
+			logger.debug( "ATTEMPT Release "+objectNames.size()+" object names" );
+
+		// make sure we hold all the names before we let any of them go
+		int federateHandle = federateHandle();
+		for( String name : objectNames )
+		{
+			if( name == null || repository.getReserverOfName(name) != federateHandle )
+			{
+				throw new JObjectInstanceNameNotReserved( "Object name ["+name+"] is not reserved "+
+				                                          "by ["+moniker()+"]" );
+			}
+		}
+
+		// release them locally and then let everyone else know
+		repository.releaseNames( federateHandle, objectNames );
+		if( PorticoConstants.isObjectNamingNegotiated() )
+			connection.broadcast( fill(new ReleaseObjectNames(objectNames)) );
+
+		context.success();
+		
+		if( logger.isInfoEnabled() )
+			logger.info( "SUCCESS Released "+objectNames.size()+" object names" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
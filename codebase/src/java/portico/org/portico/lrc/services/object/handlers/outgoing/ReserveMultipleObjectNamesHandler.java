@@ -0,0 +1,108 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.handlers.outgoing;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.compat.JIllegalName;
+import org.portico.lrc.compat.JNameSetWasEmpty;
+import org.portico.lrc.compat.JObjectAlreadyRegistered;
+import org.portico.lrc.services.object.msg.ReserveMultipleObjectNames;
+import org.portico.lrc.services.object.msg.ReserveMultipleObjectNamesResult;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+/**
+ * Reserves a set of object names for the local federate. The names are negotiated together (see
+ * {@link RegisterObjectHandler#reserveNames(Set)}) and the federate is told about the outcome for
+ * the whole set through a single {@link ReserveMultipleObjectNamesResult} callback.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc1516e"},
+                sinks="outgoing",
+                messages=ReserveMultipleObjectNames.class)
+public class ReserveMultipleObjectNamesHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private RegisterObjectHandler objectHandler;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+		this.objectHandler = new RegisterObjectHandler();
+		this.objectHandler.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		ReserveMultipleObjectNames request = context.getRequest( ReserveMultipleObjectNames.class,
+		                                                         this );
+		Set<String> objectNames = request.getObjectNames();
+
+		// make sure the names are valid
+		if( objectNames == null || objectNames.isEmpty() )
+			throw new JNameSetWasEmpty( "No object names were provided for reservation" );
+		if( objectNames.contains(null) )
+			throw new JIllegalName( "Null is not a valid object name. Cannot be reserved" );
+		
+		// basic validity checks
+		lrcState.checkJoined();
+		lrcState.checkSave();
+		lrcState.checkRestore();
+
+		if( logger.isDebugEnabled() )
+			logger.debug( "ATTEMPT Reserve "+objectNames.size()+" object names" );
+
+		boolean successful = true;
+		try
+		{
+			this.objectHandler.reserveNames( objectNames );
+		}
+		catch( JObjectAlreadyRegistered ar )
+		{
+			// at least one name is taken, so none of them are reserved
+			if( logger.isDebugEnabled() )
+				logger.debug( "FAILURE Reserve multiple object names: "+ar.getMessage() );
+			
+			successful = false;
+		}
+
+		// tell the federate about the result via callback
+		ReserveMultipleObjectNamesResult result =
+			new ReserveMultipleObjectNamesResult( objectNames, successful );
+		fill( result );
+		lrcState.getQueue().offer( result );
+		context.success();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -90,8 +90,9 @@ public class SendInteractionHandler extends LRCMessageHandler
 			validateRegion( interactionClass, regionToken );
 		
 		// everything is OK here, broadcast out the update
+		int retractionHandle = assignRetractionHandle( request );
 		connection.broadcast( request );
-		context.success();
+		context.success( retractionHandle );
 		
 		if( logger.isInfoEnabled() )
 		{
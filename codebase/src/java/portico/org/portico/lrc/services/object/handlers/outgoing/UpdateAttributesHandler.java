@@ -23,6 +23,7 @@ import org.portico.lrc.compat.JAttributeNotOwned;
 import org.portico.lrc.compat.JObjectNotKnown;
 import org.portico.lrc.model.ACInstance;
 import org.portico.lrc.model.OCInstance;
+import org.portico.lrc.services.object.data.UpdateSuppressor;
 import org.portico.lrc.services.object.msg.UpdateAttributes;
 import org.portico.utils.messaging.MessageContext;
 import org.portico.utils.messaging.MessageHandler;
@@ -101,9 +102,37 @@ public class UpdateAttributesHandler extends LRCMessageHandler
 			}
 		}
 
+		// remove any values that are the same as the last ones we sent (if we've been asked to)
+		UpdateSuppressor suppressor = lrcState.getUpdateSuppressor();
+		if( suppressor.isEnabled() )
+		{
+			HashMap<Integer,byte[]> changed = new HashMap<Integer,byte[]>( attributes );
+			if( suppressor.strip(instance,changed) > 0 )
+			{
+				if( logger.isDebugEnabled() )
+				{
+					logger.debug( "SUPPRESS unchanged attributes of object ["+
+					              objectMoniker(objectHandle)+"], sending "+
+					              acMoniker(changed.keySet()) );
+				}
+
+				// if nothing has changed, there is nothing to send. empty updates that weren't
+				// suppressed still go out as normal
+				if( changed.isEmpty() )
+				{
+					context.success();
+					return;
+				}
+
+				attributes = changed;
+				request.setAttributes( changed );
+			}
+		}
+
 		// everything is OK here, broadcast out the update
+		int retractionHandle = assignRetractionHandle( request );
 		connection.broadcast( request );
-		context.success();
+		context.success( retractionHandle );
 		
 		if( logger.isInfoEnabled() )
 		{
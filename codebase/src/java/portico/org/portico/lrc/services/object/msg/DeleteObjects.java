@@ -0,0 +1,117 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Request to delete a batch of objects, which is then broadcast as-is to tell the rest of the
+ * federation. Receiving LRCs turn it into one {@link DeleteObject} per object as soon as it
+ * arrives (it is flagged for immediate processing) so each removal is still called back on its
+ * own.
+ */
+public class DeleteObjects extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int[] objectHandles;
+	private byte[] tag;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/** <b>DO NOT USE</b> This is only provided because the deserialization of Externalizable
+	    objects requires that the class have a 0-arg constructor */
+	public DeleteObjects(){}
+
+	public DeleteObjects( int[] objectHandles, byte[] tag )
+	{
+		this.objectHandles = objectHandles;
+		this.tag = tag;
+	}
+
+	@Override
+	public boolean isImmediateProcessingRequired()
+	{
+		return true;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public int[] getObjectHandles()
+	{
+		return this.objectHandles;
+	}
+
+	public void setObjectHandles( int[] objectHandles )
+	{
+		this.objectHandles = objectHandles;
+	}
+
+	public byte[] getTag()
+	{
+		return this.tag;
+	}
+
+	public void setTag( byte[] tag )
+	{
+		this.tag = tag;
+	}
+
+	/**
+	 * Create the individual {@link DeleteObject} notice for the object at the given index. The
+	 * source federate is carried over from this message.
+	 */
+	public DeleteObject getDeletion( int index )
+	{
+		DeleteObject delete = new DeleteObject( this.objectHandles[index], this.tag );
+		delete.setSourceFederate( getSourceFederate() );
+		return delete;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.objectHandles = (int[])input.readObject();
+		this.tag = (byte[])input.readObject();
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		output.writeObject( this.objectHandles );
+		output.writeObject( this.tag );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,155 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.List;
+
+import org.portico.lrc.model.ACInstance;
+import org.portico.lrc.model.OCInstance;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Compact notice that a federate has registered a batch of objects. All the objects are of the
+ * same class and were registered by the same federate at the same time, so they all have the same
+ * set of owned attributes. That set is sent once, followed by the handle and name of each object.
+ * <p/>
+ * Receiving LRCs turn this back into one {@link DiscoverObject} per object as soon as it arrives
+ * (it is flagged for immediate processing), so that each object is discovered individually and in
+ * the right order with respect to anything sent after it.
+ */
+public class DiscoverObjects extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int classHandle;
+	private int[] ownedAttributes;
+	private int[] objectHandles;
+	private String[] objectNames;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/** <b>DO NOT USE</b> This is only provided because the deserialization of Externalizable
+	    objects requires that the class have a 0-arg constructor */
+	public DiscoverObjects(){}
+
+	/**
+	 * Create the notice for the given newly registered instances. The list must not be empty,
+	 * and the owned attributes are taken from the first instance (see the class comments).
+	 */
+	public DiscoverObjects( List<OCInstance> instances )
+	{
+		OCInstance first = instances.get( 0 );
+		this.classHandle = first.getRegisteredType().getHandle();
+
+		int index = 0;
+		this.ownedAttributes = new int[first.getAllOwnedAttributes(first.getOwner()).size()];
+		for( ACInstance attribute : first.getAllOwnedAttributes(first.getOwner()) )
+			this.ownedAttributes[index++] = attribute.getHandle();
+
+		this.objectHandles = new int[instances.size()];
+		this.objectNames = new String[instances.size()];
+		for( index = 0; index < instances.size(); index++ )
+		{
+			OCInstance instance = instances.get( index );
+			this.objectHandles[index] = instance.getHandle();
+			this.objectNames[index] = instance.getName();
+		}
+	}
+
+	@Override
+	public boolean isImmediateProcessingRequired()
+	{
+		return true;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public int getClassHandle()
+	{
+		return this.classHandle;
+	}
+
+	public int[] getOwnedAttributes()
+	{
+		return this.ownedAttributes;
+	}
+
+	public int[] getObjectHandles()
+	{
+		return this.objectHandles;
+	}
+
+	public String[] getObjectNames()
+	{
+		return this.objectNames;
+	}
+
+	/**
+	 * Create the individual {@link DiscoverObject} notice for the object at the given index.
+	 * The source federate is carried over from this message.
+	 */
+	public DiscoverObject getDiscovery( int index )
+	{
+		DiscoverObject discover = new DiscoverObject();
+		discover.setSourceFederate( getSourceFederate() );
+		discover.setClassHandle( this.classHandle );
+		discover.setObjectHandle( this.objectHandles[index] );
+		discover.setObjectName( this.objectNames[index] );
+		discover.setOwnedAttributes( this.ownedAttributes );
+		discover.setRegionTokens( new int[0][2] );
+		return discover;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.classHandle = input.readInt();
+		this.ownedAttributes = (int[])input.readObject();
+		this.objectHandles = (int[])input.readObject();
+		this.objectNames = new String[this.objectHandles.length];
+		for( int i = 0; i < this.objectNames.length; i++ )
+			this.objectNames[i] = input.readUTF();
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		output.writeInt( this.classHandle );
+		output.writeObject( this.ownedAttributes );
+		output.writeObject( this.objectHandles );
+		for( String name : this.objectNames )
+			output.writeUTF( name );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
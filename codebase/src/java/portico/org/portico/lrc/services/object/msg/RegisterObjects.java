@@ -0,0 +1,109 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Request to register a number of instances of the same object class in one go. There is one
+ * entry in the names array for each object to register. A <code>null</code> entry means the RTI
+ * should generate the name for that object.
+ */
+public class RegisterObjects extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int classHandle;
+	private String[] objectNames;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RegisterObjects()
+	{
+		super();
+	}
+
+	/**
+	 * Register <code>count</code> objects, all with RTI generated names
+	 */
+	public RegisterObjects( int classHandle, int count )
+	{
+		this( classHandle, new String[Math.max(0,count)] );
+	}
+
+	public RegisterObjects( int classHandle, String[] objectNames )
+	{
+		this();
+		this.classHandle = classHandle;
+		this.objectNames = objectNames;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public int getClassHandle()
+	{
+		return this.classHandle;
+	}
+
+	public void setClassHandle( int classHandle )
+	{
+		this.classHandle = classHandle;
+	}
+
+	public String[] getObjectNames()
+	{
+		return this.objectNames;
+	}
+
+	public void setObjectNames( String[] objectNames )
+	{
+		this.objectNames = objectNames;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.classHandle = input.readInt();
+		this.objectNames = (String[])input.readObject();
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		output.writeInt( this.classHandle );
+		output.writeObject( this.objectNames );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,103 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Releases one or more object name reservations held by the sending federate. Locally this is
+ * the request from the federate; it is then broadcast so that other LRCs can drop the
+ * reservations they recorded for the sender.
+ */
+public class ReleaseObjectNames extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<String> objectNames;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ReleaseObjectNames()
+	{
+		super();
+		this.objectNames = new HashSet<String>();
+	}
+
+	public ReleaseObjectNames( String name )
+	{
+		this();
+		this.objectNames.add( name );
+	}
+
+	public ReleaseObjectNames( Set<String> names )
+	{
+		this();
+		if( names != null )
+			this.objectNames.addAll( names );
+	}
+
+	@Override
+	public boolean isImmediateProcessingRequired()
+	{
+		return true;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public Set<String> getObjectNames()
+	{
+		return this.objectNames;
+	}
+
+	public void setObjectNames( Set<String> objectNames )
+	{
+		this.objectNames = objectNames;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.objectNames = ReserveMultipleObjectNames.readNames( input );
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		ReserveMultipleObjectNames.writeNames( output, this.objectNames );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,123 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Reserves a whole set of object names in one request. All the names are negotiated together
+ * (one broadcast and one wait, regardless of how many names there are) and the reservation is
+ * all-or-nothing: if any of the names can't be had, none of them are reserved.
+ * <p/>
+ * Like {@link ReserveObjectName}, this message is both the local request and the notice that
+ * is broadcast to other LRCs so they can record the reservations.
+ */
+public class ReserveMultipleObjectNames extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<String> objectNames;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ReserveMultipleObjectNames()
+	{
+		super();
+		this.objectNames = new HashSet<String>();
+	}
+
+	public ReserveMultipleObjectNames( Set<String> names )
+	{
+		this();
+		if( names != null )
+			this.objectNames.addAll( names );
+	}
+
+	@Override
+	public boolean isImmediateProcessingRequired()
+	{
+		return true;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public Set<String> getObjectNames()
+	{
+		return this.objectNames;
+	}
+
+	public void setObjectNames( Set<String> objectNames )
+	{
+		this.objectNames = objectNames;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.objectNames = readNames( input );
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		writeNames( output, this.objectNames );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	/**
+	 * Writes the size of the set followed by each name. Shared by the other messages that carry
+	 * a set of object names so they all use the same wire format.
+	 */
+	static void writeNames( ObjectOutput output, Set<String> names ) throws IOException
+	{
+		output.writeInt( names.size() );
+		for( String name : names )
+			output.writeUTF( name );
+	}
+
+	/**
+	 * Reads a set of names written by {@link #writeNames(ObjectOutput, Set)}.
+	 */
+	static Set<String> readNames( ObjectInput input ) throws IOException
+	{
+		int count = input.readInt();
+		Set<String> names = new HashSet<String>( Math.max(16,count*2) );
+		for( int i = 0; i < count; i++ )
+			names.add( input.readUTF() );
+
+		return names;
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.msg;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Message that provides the result of a {@link ReserveMultipleObjectNames} request. The result
+ * covers the whole set of names: they were either all reserved, or none of them were. Intended
+ * for callback.
+ */
+public class ReserveMultipleObjectNamesResult extends PorticoMessage implements Externalizable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Set<String> objectNames;
+	private boolean successful;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public ReserveMultipleObjectNamesResult()
+	{
+		super();
+		this.objectNames = new HashSet<String>();
+	}
+
+	public ReserveMultipleObjectNamesResult( Set<String> objectNames, boolean successful )
+	{
+		super();
+		this.objectNames = objectNames;
+		this.successful = successful;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public Set<String> getObjectNames()
+	{
+		return this.objectNames;
+	}
+
+	public void setObjectNames( Set<String> objectNames )
+	{
+		this.objectNames = objectNames;
+	}
+
+	public boolean isSuccessful()
+	{
+		return this.successful;
+	}
+
+	public void setSuccessful( boolean successful )
+	{
+		this.successful = successful;
+	}
+
+	/////////////////////////////////////////////////////////////
+	/////////////////// Serialization Methods ///////////////////
+	/////////////////////////////////////////////////////////////
+	public void readExternal( ObjectInput input ) throws IOException, ClassNotFoundException
+	{
+		super.readExternal( input );
+		this.objectNames = ReserveMultipleObjectNames.readNames( input );
+		this.successful = input.readBoolean();
+	}
+
+	public void writeExternal( ObjectOutput output ) throws IOException
+	{
+		super.writeExternal( output );
+		ReserveMultipleObjectNames.writeNames( output, this.objectNames );
+		output.writeBoolean( this.successful );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -21,14 +21,14 @@ import java.io.ObjectOutput;
 import java.util.HashMap;
 
 import org.portico.lrc.PorticoConstants;
-import org.portico.utils.messaging.PorticoMessage;
+import org.portico.utils.messaging.PooledMessage;
 
 /**
  * This message represents a request to send an interaction with the given set of parameters.
  * It contains an optional region token with with the interaction is being sent. If it is a
  * vanilla interaction, without region data, the regionToken is {@link PorticoConstants#NULL_HANDLE}
  */
-public class SendInteraction extends PorticoMessage implements Externalizable
+public class SendInteraction extends PooledMessage implements Externalizable
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
@@ -53,6 +53,7 @@ public class SendInteraction extends PorticoMessage implements Externalizable
 	public SendInteraction()
 	{
 		super();
+		this.parameters = new HashMap<Integer,byte[]>();
 		this.regionToken = PorticoConstants.NULL_HANDLE;
 		this.receivingRegionToken = PorticoConstants.NULL_HANDLE;
 	}
@@ -162,6 +163,22 @@ public class SendInteraction extends PorticoMessage implements Externalizable
 		return this.regionToken != PorticoConstants.NULL_HANDLE;
 	}
 
+	/**
+	 * Clears everything so the message can be reused. The parameter map is emptied rather than
+	 * replaced, but the values in it are left alone as callbacks may have handed them out.
+	 */
+	@Override
+	protected void reset()
+	{
+		super.reset();
+		this.interactionId = 0;
+		this.tag = null;
+		this.regionToken = PorticoConstants.NULL_HANDLE;
+		this.receivingRegionToken = PorticoConstants.NULL_HANDLE;
+		if( this.parameters != null )
+			this.parameters.clear();
+	}
+
 	/**
 	 * Returns <code>true</code>
 	 */
@@ -192,6 +209,7 @@ public class SendInteraction extends PorticoMessage implements Externalizable
 		//buffer.writeInt( serial );         -- not needed, always -1 (async)
 		buffer.writeDouble( timestamp );
 		//buffer.writeBoolean( immediate );  -- not needed, always false
+		buffer.writeInt( retractionHandle );
 		
 		// now marshal up the rest of our stuff
 		buffer.writeUTF( bytesToString(this.tag) ); // conver it for a string for simple read/write
@@ -223,6 +241,7 @@ public class SendInteraction extends PorticoMessage implements Externalizable
 		//super.serial = buffer.readInt();         -- not needed, always -1 (async)
 		super.timestamp = buffer.readDouble();
 		//super.immediate = buffer.readBoolean();  -- not needed, always false
+		super.retractionHandle = buffer.readInt();
 		
 		// now read the rest of our stuff
 		this.tag = buffer.readUTF().getBytes();
@@ -22,18 +22,19 @@ import java.util.HashMap;
 
 import org.portico.lrc.PorticoConstants;
 import org.portico.lrc.model.RegionInstance;
-import org.portico.utils.messaging.PorticoMessage;
+import org.portico.utils.messaging.PooledMessage;
 
 /**
  * This message represents a request to update the values of a group of attributes contained in a
  * specific object instance.
  */
-public class UpdateAttributes extends PorticoMessage implements Externalizable, Cloneable
+public class UpdateAttributes extends PooledMessage implements Externalizable, Cloneable
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
 	//----------------------------------------------------------
 	private static final long serialVersionUID = 98121116105109L;
+	private static final byte[] NO_TAG = new byte[0];
 
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
@@ -83,6 +84,7 @@ public class UpdateAttributes extends PorticoMessage implements Externalizable,
 	public UpdateAttributes( UpdateAttributes original )
 	{
 		this( original.objectId, original.tag, original.attributes, original.timestamp );
+		this.retractionHandle = original.retractionHandle;
 	}
 
 	//----------------------------------------------------------
@@ -143,6 +145,22 @@ public class UpdateAttributes extends PorticoMessage implements Externalizable,
 		this.tag = tag;
 	}
 
+	/**
+	 * Clears everything so the message can be reused. The attribute maps are emptied rather than
+	 * replaced, but the values in them are left alone as callbacks may have handed them out.
+	 */
+	@Override
+	protected void reset()
+	{
+		super.reset();
+		this.objectId = PorticoConstants.NULL_HANDLE;
+		this.tag = NO_TAG;
+		if( this.attributes != null )
+			this.attributes.clear();
+
+		this.filtered.clear();
+	}
+
 	/**
 	 * Returns <code>true</code>
 	 */
@@ -173,6 +191,7 @@ public class UpdateAttributes extends PorticoMessage implements Externalizable,
 		//buffer.writeInt( serial );         -- not needed, always -1 (async)
 		buffer.writeDouble( timestamp );
 		//buffer.writeBoolean( immediate );  -- not needed, always false
+		buffer.writeInt( retractionHandle );
 		
 		// now marshal up our stuff
 		buffer.writeUTF( bytesToString(this.tag) ); // conver it for a string for simple read/write
@@ -203,6 +222,7 @@ public class UpdateAttributes extends PorticoMessage implements Externalizable,
 		//super.serial = buffer.readInt();         -- not needed, always -1 (async)
 		super.timestamp = buffer.readDouble();
 		//super.immediate = buffer.readBoolean();  -- not needed, always false
+		super.retractionHandle = buffer.readInt();
 		
 		// now read our stuff
 		this.tag = buffer.readUTF().getBytes();
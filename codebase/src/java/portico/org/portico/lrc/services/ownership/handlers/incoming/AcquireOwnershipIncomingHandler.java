@@ -56,7 +56,9 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		AttributeAcquire acquire = context.getRequest( AttributeAcquire.class, this );
-		vetoIfMessageFromUs( acquire ); // ignore our notifications, we've already recorded this
+		if( vetoIfMessageFromUs(context,acquire) ) // ignore our notifications, we've already recorded this
+			return;
+
 		int sourceFederate = acquire.getSourceFederate();
 		int objectHandle = acquire.getObjectHandle();
 		Set<Integer> attributes = acquire.getAttributes();
@@ -73,7 +75,8 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 		if( acquire.isIfAvailable() )
 		{
 			ownership.requestAcquisitionIfAvailable( objectHandle, attributes, sourceFederate );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		ownership.requestAcquisition( objectHandle, attributes, sourceFederate );
@@ -83,7 +86,8 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 		{
 			logger.warn( "WARNING Can't assess ownership acquisition request, unknown object: "+
 			             objectHandle );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		// RELEASE THOSE WE ARE DIVESTING
@@ -92,16 +96,22 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 		
 		// if we own any of these attributes, deliver a callback to the local federate for them
 		if( remaining.isEmpty() )
-			noLocallyOwnedAttributes(); // nothing left to notify the local federate about
+		{
+			noLocallyOwnedAttributes( context ); // nothing left to notify the local federate about
+			return;
+		}
 
 		
 		// CALLBACK ABOUT THOSE WE OWN
 		// find attributes owned by the local fedeate so we can deliver a FedAmb callback for them
 		remaining = getAttributesOwnedByLocalFederate( objectInstance, remaining );
 		if( remaining.isEmpty() )
-			noLocallyOwnedAttributes(); // nothing to notify locally about
-		else
-			acquire.setAttributes( remaining );
+		{
+			noLocallyOwnedAttributes( context ); // nothing to notify locally about
+			return;
+		}
+
+		acquire.setAttributes( remaining );
 		
 		// let it through to the callback handler
 		if( logger.isDebugEnabled() )
@@ -183,7 +193,7 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 		return set;
 	}
 
-	private void noLocallyOwnedAttributes()
+	private void noLocallyOwnedAttributes( MessageContext context )
 	{
 		// log that we don't own any of the attributes and leave
 		if( logger.isDebugEnabled() )
@@ -192,7 +202,7 @@ public class AcquireOwnershipIncomingHandler extends LRCMessageHandler
 			              "] doesn't own any of requested attributes, ignore request" );
 		}
 
-		veto();
+		veto( context );
 	}
 
 	//----------------------------------------------------------
@@ -51,7 +51,8 @@ public class CancellationConfirmationIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		CancelConfirmation cancel = context.getRequest( CancelConfirmation.class, this );
-		vetoUnlessForUs( cancel );
+		if( vetoUnlessForUs(context,cancel) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
@@ -61,7 +61,9 @@ public class DivestOwnershipIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		AttributeDivest divest = context.getRequest( AttributeDivest.class, this );
-		vetoIfMessageFromUs( divest );
+		if( vetoIfMessageFromUs(context,divest) )
+			return;
+
 		int sourceFederate = divest.getSourceFederate();
 		int objectHandle = divest.getObjectHandle();
 		Set<Integer> attributes = divest.getAttributes();
@@ -96,7 +98,8 @@ public class DivestOwnershipIncomingHandler extends LRCMessageHandler
 			{
 				// none we can take up
 				logger.debug( "Can't take ownership of any attributes offered to us, ignore request" );
-				veto();
+				veto( context );
+				return;
 			}
 			
 			divest.setAttributes( suitable );
@@ -115,7 +118,8 @@ public class DivestOwnershipIncomingHandler extends LRCMessageHandler
 			if( suitable.isEmpty() )
 			{
 				logger.debug( "Can't take ownership of any attributes offered to us, ignore request" );
-				veto();
+				veto( context );
+				return;
 			}
 
 			// replace the attributes in the request with the set of those we can take
@@ -89,7 +89,8 @@ public class OwnershipAcquiredIncomingHandler extends LRCMessageHandler
 		
 		// unless this request is from us, no more processing! if it is from us, let it flow
 		// through to the callback handler
-		vetoUnlessFromUs( request );
+		if( vetoUnlessFromUs(context,request) )
+			return;
 	
 		if( logger.isInfoEnabled() )
 		{
@@ -56,7 +56,8 @@ public class RequestCancelAcquisitionIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		CancelAcquire request = context.getRequest( CancelAcquire.class, this );
-		vetoIfMessageFromUs( request ); // we already know about it
+		if( vetoIfMessageFromUs(context,request) ) // we already know about it
+			return;
 		
 		int federate = request.getSourceFederate();
 		int objectHandle = request.getObjectHandle();
@@ -16,6 +16,7 @@ package org.portico.lrc.services.ownership.msg;
 
 import java.util.Set;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -71,6 +72,12 @@ public class AttributeAcquire extends PorticoMessage
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
+
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	/**
 	 * If the ifAvailable flag is set, then immediate processing is required
 	 */
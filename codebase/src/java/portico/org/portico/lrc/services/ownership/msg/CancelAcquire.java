@@ -16,6 +16,7 @@ package org.portico.lrc.services.ownership.msg;
 
 import java.util.Set;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -50,6 +51,12 @@ public class CancelAcquire extends PorticoMessage
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
+
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	@Override
 	public boolean isImmediateProcessingRequired()
 	{
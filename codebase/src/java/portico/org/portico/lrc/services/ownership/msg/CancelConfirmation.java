@@ -16,6 +16,7 @@ package org.portico.lrc.services.ownership.msg;
 
 import java.util.Set;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -47,6 +48,12 @@ public class CancelConfirmation extends PorticoMessage
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
+
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	public int getObjectHandle()
 	{
 		return objectHandle;
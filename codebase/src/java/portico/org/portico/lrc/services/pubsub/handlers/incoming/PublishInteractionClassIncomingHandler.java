@@ -57,7 +57,8 @@ public class PublishInteractionClassIncomingHandler extends LRCMessageHandler
 	{
 		PublishInteractionClass request = context.getRequest( PublishInteractionClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
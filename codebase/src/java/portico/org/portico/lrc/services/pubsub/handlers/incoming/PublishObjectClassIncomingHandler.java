@@ -57,7 +57,8 @@ public class PublishObjectClassIncomingHandler extends LRCMessageHandler
 	{
 		PublishObjectClass request = context.getRequest( PublishObjectClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
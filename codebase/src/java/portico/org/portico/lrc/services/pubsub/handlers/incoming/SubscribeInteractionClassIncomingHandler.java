@@ -53,7 +53,8 @@ public class SubscribeInteractionClassIncomingHandler extends LRCMessageHandler
 		SubscribeInteractionClass request =
 			context.getRequest( SubscribeInteractionClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
@@ -52,7 +52,8 @@ public class SubscribeObjectClassIncomingHandler extends LRCMessageHandler
 	{
 		SubscribeObjectClass request = context.getRequest( SubscribeObjectClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 
 		if( logger.isDebugEnabled() )
 		{
@@ -53,7 +53,8 @@ public class UnpublishInteractionClassIncomingHandler extends LRCMessageHandler
 		UnpublishInteractionClass request =
 			context.getRequest( UnpublishInteractionClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
@@ -57,7 +57,8 @@ public class UnpublishObjectClassIncomingHandler extends LRCMessageHandler
 	{
 		UnpublishObjectClass request = context.getRequest( UnpublishObjectClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
@@ -53,7 +53,8 @@ public class UnsubscribeInteractionClassIncomingHandler extends LRCMessageHandle
 		UnsubscribeInteractionClass request =
 			context.getRequest( UnsubscribeInteractionClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 		{
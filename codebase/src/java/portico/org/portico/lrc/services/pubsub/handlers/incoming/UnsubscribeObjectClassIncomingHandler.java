@@ -52,7 +52,8 @@ public class UnsubscribeObjectClassIncomingHandler extends LRCMessageHandler
 	{
 		UnsubscribeObjectClass request = context.getRequest( UnsubscribeObjectClass.class, this );
 		// ignore if we sent this message
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 
 		if( logger.isDebugEnabled() )
 		{
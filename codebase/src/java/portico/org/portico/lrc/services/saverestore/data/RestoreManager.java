@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.saverestore.data;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -194,6 +195,14 @@ public class RestoreManager
 	{
 		return this.registeringFederate;
 	}
+
+	/**
+	 * Returns the restore status of each federate the manager knows about, keyed on federate handle
+	 */
+	public Map<Integer,SRStatus> getRestoreStatus()
+	{
+		return Collections.unmodifiableMap( this.restoreStatus );
+	}
 	
 	public String getActiveLabel()
 	{
@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.saverestore.data;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -190,6 +191,14 @@ public class SaveManager
 	{
 		return this.registeringFederate;
 	}
+
+	/**
+	 * Returns the save status of each federate the manager knows about, keyed on federate handle
+	 */
+	public Map<Integer,SRStatus> getSaveStatus()
+	{
+		return Collections.unmodifiableMap( this.saveStatus );
+	}
 	
 	/**
 	 * This method should be used after a save has been compelted and the federate notified. It
@@ -14,68 +14,188 @@
  */
 package org.portico.lrc.services.saverestore.data;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 
 import org.apache.log4j.Logger;
+import org.portico.lrc.PorticoConstants;
 
 /**
  * This class contains all the logic that does the actual saving and restoring of LRC state data
  * to and from a file. When you want to save, you give the {@link #save(Manifest, String)} method
  * a {@link Manifest} telling it which components need to save their data, and a file location to
- * save the data to. The Serializer will get an output stream to the file and then give that
- * stream to each {@link SaveRestoreTarget} inside the Manifest, tracking progress.
+ * save the data to. The Serializer gives an output stream to each {@link SaveRestoreTarget}
+ * inside the Manifest, tracking progress.
  * <p/>
  * The process for restoring is exactly the same, only data is read in rather than written out.
+ * <p/>
+ * <b>Snapshots and the writer thread</b>
+ * <p/>
+ * Saving is split into two parts. The targets are first written to an in-memory snapshot on the
+ * calling thread, which has to happen while the LRC is held still. The snapshot is then written
+ * to the file. Normally this is done before {@link #save(Manifest, String)} returns. If
+ * {@link PorticoConstants#PROPERTY_SAVE_BACKGROUND} is enabled it happens on a writer thread
+ * instead, and a {@link WriteListener} passed to the save is told once the file is written (or
+ * why it couldn't be). Each Serializer (and so each federate) has its own writer thread, so
+ * saves from one federate are written in order. The thread is only kept around while there is
+ * writing to do. A restore from a file that is still being written waits for that write to
+ * finish first, and fails if that write failed.
+ * <p/>
+ * <b>File format</b>
+ * <p/>
+ * Files start with a small header (magic number, format version, manifest hash and snapshot
+ * size) followed by the snapshot, cut into chunks. Each chunk is deflated unless that doesn't
+ * make it any smaller (see {@link PorticoConstants#PROPERTY_SAVE_COMPRESS}). Files are written
+ * to a temporary file which then replaces the old one, so a failed write never damages an
+ * existing save.
+ * <p/>
+ * <b>Incremental saves</b>
+ * <p/>
+ * With {@link PorticoConstants#PROPERTY_SAVE_INCREMENTAL} enabled, the snapshot is cut on
+ * content-defined boundaries, so an insertion early in the snapshot doesn't move every boundary
+ * after it. The chunks are kept in a chunk store (a directory holding one file per chunk, named
+ * after its digest) and the save file only lists the digests. Chunks that are already in the
+ * store, from this save or any earlier one, are not written again. A chunk file never changes
+ * once written, so replacing or removing one save file can't break any other. Restoring needs
+ * the chunk store to still be in place. Nothing is ever removed from it, so it is up to the
+ * user to clear it out along with any saves that are no longer wanted.
  */
 public class Serializer
 {
 	//----------------------------------------------------------
 	//                    STATIC VARIABLES
 	//----------------------------------------------------------
+	/** Identifies a Portico snapshot file ("PSNP") */
+	private static final int MAGIC = 0x50534e50;
+	private static final short VERSION = 2;
+
+	private static final byte CHUNK_INLINE = 0;
+	private static final byte CHUNK_REFERENCE = 1;
+	private static final int DIGEST_LENGTH = 20;
+
+	/** Chunk size used when not doing incremental saves */
+	private static final int BLOCK_SIZE = 1024 * 1024;
+	/** Bounds and boundary mask (average around 8K) for content-defined chunks. The mask uses
+	    high bits of the rolling hash, which depend on the last 50 or so bytes rather than just
+	    the last few */
+	private static final int MIN_CHUNK = 2 * 1024;
+	private static final int MAX_CHUNK = 64 * 1024;
+	private static final long CHUNK_MASK = ((1L << 13) - 1) << 40;
+	private static final long[] GEAR = createGearTable();
+
+	// how long an idle writer thread hangs around waiting for another save
+	private static final long WRITER_KEEP_ALIVE = 30;
+
+	// restores wait on the pending write for a file, whichever federate is writing it
+	private static final Map<String,Future<?>> PENDING_WRITES =
+		new ConcurrentHashMap<String,Future<?>>();
 
 	//----------------------------------------------------------
 	//                   INSTANCE VARIABLES
 	//----------------------------------------------------------
 	private Logger logger;
+	private boolean background;
+	private boolean compress;
+	private boolean incremental;
+	private File chunkDirectory;
+	private ThreadPoolExecutor writer;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
 	//----------------------------------------------------------
 	public Serializer( Logger logger )
+	{
+		this( logger,
+		      PorticoConstants.isSaveInBackground(),
+		      PorticoConstants.isSaveCompressed(),
+		      PorticoConstants.isSaveIncremental(),
+		      new File(PorticoConstants.getSaveChunkDirectory()) );
+	}
+
+	public Serializer( Logger logger,
+	                   boolean background,
+	                   boolean compress,
+	                   boolean incremental,
+	                   File chunkDirectory )
 	{
 		this.logger = logger;
+		this.background = background;
+		this.compress = compress;
+		this.incremental = incremental;
+		this.chunkDirectory = chunkDirectory.getAbsoluteFile();
+		this.writer = null;
 	}
 
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 	/**
-	 * Opens the file at the location provided and passes it to each of the targets in the 
-	 * given manifest so that they can save their contents out. If any of the targets should
-	 * fail to save (as indicated by an exception), the save processing will stop and a
-	 * {@link SaveRestoreFailed} will be thrown.
+	 * Takes a snapshot of each of the targets in the given manifest and writes it to the file at
+	 * the location provided. If any of the targets should fail to save (as indicated by an
+	 * exception), the save processing will stop and a {@link SaveRestoreFailed} will be thrown.
 	 * <p/>
-	 * If the save file already exists, it will be overwritten. If there is a problem opening
-	 * the file or writing to it, a SaveRestoreFailed will be thrown.
-	 * 
+	 * If the save file already exists, it will be overwritten. If there is a problem creating the
+	 * file, a SaveRestoreFailed will be thrown. When writing in the background, any problem
+	 * writing the snapshot out is logged, and reported when trying to restore from the file.
+	 *
 	 * @param manifest The manifest containing references to the {@link SaveRestoreTarget}s to save
 	 * @param fileLocation The location of the file to save to
-	 * @throws SaveRestoreFailed If there is a problem opening the file or any of the targets fail
+	 * @throws SaveRestoreFailed If there is a problem creating the file or any of the targets fail
 	 *                           when attempting to save their data out.
 	 */
 	public void save( Manifest manifest, String fileLocation ) throws SaveRestoreFailed
+	{
+		save( manifest, fileLocation, null );
+	}
+
+	/**
+	 * The same as {@link #save(Manifest, String)}, except that the given listener is told once
+	 * the file has been written, or why it couldn't be. When writing in the background it is
+	 * called from the writer thread, otherwise it is called before this method returns. Problems
+	 * taking the snapshot are still thrown from here, and the listener isn't called for them.
+	 *
+	 * @param listener Told how writing the file went, may be <code>null</code>
+	 */
+	public void save( Manifest manifest, String fileLocation, final WriteListener listener )
+		throws SaveRestoreFailed
 	{
 		logger.debug( "Serializer: Save manifest (hash:"+manifest.hashCode()+") to "+fileLocation );
-		
+
 		//////////////////////
 		// Prepare the file //
 		//////////////////////
 		// see if the file exists, if it does log that we're about to overwrite it
-		File saveFile = new File( fileLocation );
+		final File saveFile = new File( fileLocation ).getAbsoluteFile();
 		if( saveFile.exists() )
 		{
 			logger.warn( "Saving LRC state to file that exists, OVERWRITING ["+fileLocation+"]");
@@ -93,65 +213,273 @@ public class Serializer
 				throw new SaveRestoreFailed( "Couldn't create file to save to ["+fileLocation+"]", e );
 			}
 		}
-		
+
 		if( saveFile.canWrite() == false )
 			throw new SaveRestoreFailed( "Can't write to file "+fileLocation );
-		
-		// open and get an output stream around the file
-		ObjectOutputStream ostream = null;
+
+		///////////////////////
+		// Take the snapshot //
+		///////////////////////
+		// loop over each entry in the manifest and write it out
+		logger.debug( "ATTEMPT Save "+manifest.size()+" targets in manifest ("+
+		              manifest.hashCode()+")" );
+
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream( 64 * 1024 );
 		try
 		{
-			ostream = new ObjectOutputStream( new FileOutputStream(saveFile) );
+			ObjectOutputStream ostream = new ObjectOutputStream( buffer );
+			for( SaveRestoreTarget target : manifest )
+			{
+				String name = target.getClass().getSimpleName();
+
+				try
+				{
+					logger.debug( "...saving target ["+name+"]" );
+					target.saveToStream( ostream );
+				}
+				catch( Exception e )
+				{
+					throw new SaveRestoreFailed( "Internal save error: exception saving target ["+
+					                             name+"]", e );
+				}
+			}
+
+			ostream.close();
 		}
-		catch( Exception e )
+		catch( IOException ioex )
 		{
-			throw new SaveRestoreFailed( "Problem opening file to write state data to", e );
+			throw new SaveRestoreFailed( "Problem creating snapshot of LRC state", ioex );
 		}
-		
+
+		logger.debug( "SUCCESS Snapshot "+manifest.size()+" targets in manifest ("+
+		              manifest.hashCode()+"): "+buffer.size()+" bytes" );
+
 		///////////////////////////
 		// Save data to the file //
 		///////////////////////////
-		// loop over each entry in the manifest and write it out
-		logger.debug( "ATTEMPT Save "+manifest.size()+" targets in manifest ("+
-		              manifest.hashCode()+")" );
-
-		for( SaveRestoreTarget target : manifest )
+		final byte[] snapshot = buffer.toByteArray();
+		final int manifestHash = manifest.hashCode();
+		if( background == false )
 		{
-			String name = target.getClass().getSimpleName();
-			
 			try
 			{
-				logger.debug( "...saving target ["+name+"]" );
-				target.saveToStream( ostream );
+				writeSnapshot( snapshot, manifestHash, saveFile );
 			}
-			catch( Exception e )
+			catch( SaveRestoreFailed srf )
 			{
-				throw new SaveRestoreFailed( "Internal save error: exception saving target ["+name+"]", e );
+				if( listener == null )
+					throw srf;
+
+				listener.saveFailed( fileLocation, srf );
+				return;
 			}
+
+			if( listener != null )
+				listener.saveWritten( fileLocation );
+
+			return;
 		}
-		
+
+		final String location = fileLocation;
+		Future<?> write = getWriter().submit( new Callable<Object>()
+		{
+			public Object call() throws SaveRestoreFailed
+			{
+				try
+				{
+					writeSnapshot( snapshot, manifestHash, saveFile );
+				}
+				catch( SaveRestoreFailed srf )
+				{
+					logger.error( "Background save to ["+saveFile+"] failed", srf );
+					if( listener != null )
+						listener.saveFailed( location, srf );
+
+					throw srf;
+				}
+
+				if( listener != null )
+					listener.saveWritten( location );
+
+				return null;
+			}
+		});
+
+		PENDING_WRITES.put( saveFile.getPath(), write );
+	}
+
+	/**
+	 * Writes the snapshot out to the given file, through a temporary file that replaces it once
+	 * the write is complete. For a full save the chunks are stored in the file itself. For an
+	 * incremental save they go into the chunk store and the file just lists their digests, so
+	 * chunks that are already in the store aren't written again.
+	 */
+	private synchronized void writeSnapshot( byte[] snapshot, int manifestHash, File saveFile )
+		throws SaveRestoreFailed
+	{
+		String path = saveFile.getPath();
+		File tempFile = new File( path+".tmp" );
+		MessageDigest digester = incremental ? newDigester() : null;
+		Deflater deflater = compress ? new Deflater(Deflater.BEST_SPEED) : null;
+		byte[] compressed = new byte[incremental ? MAX_CHUNK : BLOCK_SIZE];
+		int chunkCount = 0;
+		int storedCount = 0;
+
+		if( incremental )
+			chunkDirectory.mkdirs();
+
+		DataOutputStream ostream = null;
 		try
 		{
-			// clean things up
+			ostream = new DataOutputStream( new BufferedOutputStream(new FileOutputStream(tempFile),
+			                                                         64*1024) );
+			ostream.writeInt( MAGIC );
+			ostream.writeShort( VERSION );
+			ostream.writeInt( manifestHash );
+			ostream.writeInt( snapshot.length );
+
+			int offset = 0;
+			while( offset < snapshot.length )
+			{
+				int length = incremental ? nextChunkLength( snapshot, offset ) :
+				                           Math.min( BLOCK_SIZE, snapshot.length-offset );
+
+				// compress the chunk if that helps
+				int storedLength = length;
+				if( compress )
+				{
+					deflater.reset();
+					deflater.setInput( snapshot, offset, length );
+					deflater.finish();
+					storedLength = deflater.deflate( compressed );
+					if( deflater.finished() == false || storedLength >= length )
+						storedLength = length;
+				}
+
+				boolean isCompressed = storedLength < length;
+				byte[] stored = isCompressed ? compressed : snapshot;
+				int storedOffset = isCompressed ? 0 : offset;
+
+				if( incremental )
+				{
+					// chunks in the store never change once written, so every save that
+					// refers to one can rely on it whatever happens to the other save files
+					digester.update( snapshot, offset, length );
+					byte[] digest = digester.digest();
+					if( storeChunk(digest,stored,storedOffset,storedLength,isCompressed) )
+						++storedCount;
+
+					ostream.writeByte( CHUNK_REFERENCE );
+					ostream.writeInt( length );
+					ostream.write( digest );
+				}
+				else
+				{
+					ostream.writeByte( CHUNK_INLINE );
+					ostream.writeInt( length );
+					ostream.writeInt( storedLength );
+					ostream.writeBoolean( isCompressed );
+					ostream.write( stored, storedOffset, storedLength );
+					++storedCount;
+				}
+
+				offset += length;
+				++chunkCount;
+			}
+
 			ostream.close();
+			ostream = null;
 		}
-		catch( Exception e )
+		catch( IOException ioex )
 		{
-			throw new SaveRestoreFailed( "Error closing save file ["+fileLocation+
-			                             "], save not successful", e );
+			throw new SaveRestoreFailed( "Problem writing state data to file ["+path+"]", ioex );
 		}
-		
+		finally
+		{
+			if( deflater != null )
+				deflater.end();
+			closeQuietly( ostream );
+		}
+
+		// swap the new file in for the old one. the old save is never removed first, so a
+		// crash part way through leaves either the old save or the new one on disk
+		try
+		{
+			moveIntoPlace( tempFile, saveFile );
+		}
+		catch( IOException ioex )
+		{
+			throw new SaveRestoreFailed( "Error moving save file into place ["+path+
+			                             "], save not successful", ioex );
+		}
+
 		// huzzah!
-		logger.debug( "SUCCESS Saved "+manifest.size()+" targets in manifest ("+
-		              manifest.hashCode()+")" );
+		if( logger.isDebugEnabled() )
+		{
+			logger.debug( "SUCCESS Wrote "+snapshot.length+" byte snapshot to ["+path+"] in "+
+			              chunkCount+" chunks ("+(chunkCount-storedCount)+" already stored)" );
+		}
 	}
-	
+
+	/**
+	 * Puts the given chunk into the chunk store under its digest, unless it is already there.
+	 * Chunks are written to a temporary file and moved into place, so a chunk that is in the
+	 * store is always complete.
+	 *
+	 * @return <code>true</code> if the chunk was written, <code>false</code> if it was already
+	 *         in the store
+	 */
+	private boolean storeChunk( byte[] digest,
+	                            byte[] stored,
+	                            int offset,
+	                            int length,
+	                            boolean isCompressed )
+		throws IOException
+	{
+		File chunkFile = chunkFile( digest );
+		if( chunkFile.exists() )
+			return false;
+
+		File tempFile = File.createTempFile( chunkFile.getName(), ".tmp", chunkDirectory );
+		OutputStream ostream = null;
+		try
+		{
+			ostream = new FileOutputStream( tempFile );
+			ostream.write( isCompressed ? 1 : 0 );
+			ostream.write( stored, offset, length );
+			ostream.close();
+			ostream = null;
+
+			// another federate may have stored the same chunk meanwhile, it has the same content
+			moveIntoPlace( tempFile, chunkFile );
+			return true;
+		}
+		finally
+		{
+			closeQuietly( ostream );
+			tempFile.delete();
+		}
+	}
+
+	private File chunkFile( byte[] digest )
+	{
+		StringBuilder name = new StringBuilder( digest.length*2 );
+		for( byte b : digest )
+		{
+			name.append( Character.forDigit((b >> 4) & 0xf, 16) );
+			name.append( Character.forDigit(b & 0xf, 16) );
+		}
+
+		return new File( chunkDirectory, name.toString() );
+	}
+
 	/**
 	 * Opens the file at the given location for reading. The input stream is passed to each
 	 * {@link SaveRestoreTarget} in the {@link Manifest}, allowing them to read in data that
 	 * was previously persisted. If there is a problem during this process (or the file cannot
-	 * be located or opened), an exception is thrown.
-	 * 
+	 * be located or opened), an exception is thrown. If the file is still being written in the
+	 * background, this waits for it to be finished first.
+	 *
 	 * @param manifest Manifest containing references to all the targets that want to restore data
 	 * @param fileLocation The location of the file to read LRC state data from
 	 * @throws SaveRestoreFailed If there is a problem finding or reading the file, or restoring
@@ -160,12 +488,13 @@ public class Serializer
 	public void restore( Manifest manifest, String fileLocation ) throws SaveRestoreFailed
 	{
 		logger.debug( "Serializer: Restore manifest (hash:"+manifest.hashCode()+") from "+fileLocation );
-		
+
 		//////////////////////
 		// Prepare the file //
 		//////////////////////
-		// see if the file exists, if it does log that we're about to overwrite it
-		File restoreFile = new File( fileLocation );
+		File restoreFile = new File( fileLocation ).getAbsoluteFile();
+		awaitWrite( restoreFile );
+
 		if( restoreFile.exists() == false )
 		{
 			throw new SaveRestoreFailed( "Can't load internal state data from file ["+fileLocation+
@@ -177,18 +506,19 @@ public class Serializer
 			throw new SaveRestoreFailed( "Can't load internal state data from file ["+fileLocation+
 			                             "]: can't read file" );
 		}
-		
-		// open and get an output stream around the file
+
+		// read the snapshot back in and get an input stream around it
 		ObjectInputStream istream = null;
 		try
 		{
-			istream = new ObjectInputStream( new FileInputStream(restoreFile) );
+			byte[] snapshot = readSnapshot( restoreFile, manifest.hashCode() );
+			istream = new ObjectInputStream( new ByteArrayInputStream(snapshot) );
 		}
-		catch( Exception e )
+		catch( IOException ioex )
 		{
-			throw new SaveRestoreFailed( "Problem opening file to restore data from", e );
+			throw new SaveRestoreFailed( "Problem opening file to restore data from", ioex );
 		}
-		
+
 		////////////////////////////////
 		// Restore data from the file //
 		////////////////////////////////
@@ -199,7 +529,7 @@ public class Serializer
 		for( SaveRestoreTarget target : manifest )
 		{
 			String name = target.getClass().getSimpleName();
-			
+
 			try
 			{
 				logger.debug( "...restoring target ["+name+"]" );
@@ -211,24 +541,307 @@ public class Serializer
 				                             name+"]", e );
 			}
 		}
-		
+
+		closeQuietly( istream );
+
+		// huzzah!
+		logger.debug( "SUCCESS Restored "+manifest.size()+" targets in manifest ("+
+		              manifest.hashCode()+")" );
+	}
+
+	/**
+	 * Reads the chunks in the given file back into a single snapshot, fetching any that the file
+	 * refers to from the chunk store.
+	 */
+	private byte[] readSnapshot( File file, int manifestHash ) throws IOException,
+	                                                                  SaveRestoreFailed
+	{
+		DataInputStream istream = null;
+		Inflater inflater = new Inflater();
+		try
+		{
+			istream = new DataInputStream( new BufferedInputStream(new FileInputStream(file),
+			                                                       64*1024) );
+			if( istream.readInt() != MAGIC )
+				throw new SaveRestoreFailed( "File ["+file+"] is not a Portico save file" );
+
+			short version = istream.readShort();
+			if( version != VERSION )
+			{
+				throw new SaveRestoreFailed( "Save file ["+file+"] has format version "+version+
+				                             ", expected "+VERSION );
+			}
+
+			if( istream.readInt() != manifestHash )
+			{
+				// the hash is identity based, so this is expected when the LRC has been rebuilt
+				logger.debug( "Save file ["+file+"] was written with a different manifest" );
+			}
+
+			byte[] snapshot = new byte[istream.readInt()];
+			byte[] stored = new byte[0];
+			int offset = 0;
+			while( offset < snapshot.length )
+			{
+				byte type = istream.readByte();
+				int length = istream.readInt();
+				if( type == CHUNK_INLINE )
+				{
+					int storedLength = istream.readInt();
+					boolean isCompressed = istream.readBoolean();
+					if( stored.length < storedLength )
+						stored = new byte[storedLength];
+
+					istream.readFully( stored, 0, storedLength );
+					unpack( stored, storedLength, isCompressed, snapshot, offset, length, inflater );
+				}
+				else
+				{
+					byte[] digest = new byte[DIGEST_LENGTH];
+					istream.readFully( digest );
+					File chunkFile = chunkFile( digest );
+					if( chunkFile.exists() == false )
+					{
+						throw new SaveRestoreFailed( "Save file ["+file+"] needs chunk ["+
+						                             chunkFile+"], which is missing" );
+					}
+
+					byte[] chunk = Files.readAllBytes( chunkFile.toPath() );
+					if( chunk.length == 0 )
+					{
+						throw new SaveRestoreFailed( "Save file ["+file+"] needs chunk ["+
+						                             chunkFile+"], which is empty" );
+					}
+
+					int storedLength = chunk.length-1;
+					if( stored.length < storedLength )
+						stored = new byte[storedLength];
+
+					boolean isCompressed = chunk[0] == 1;
+					System.arraycopy( chunk, 1, stored, 0, storedLength );
+					unpack( stored, storedLength, isCompressed, snapshot, offset, length, inflater );
+
+					// make sure the chunk hasn't been damaged since it was stored
+					MessageDigest digester = newDigester();
+					digester.update( snapshot, offset, length );
+					if( MessageDigest.isEqual(digest,digester.digest()) == false )
+					{
+						throw new SaveRestoreFailed( "Save file ["+file+"] needs chunk ["+
+						                             chunkFile+"], which is corrupt" );
+					}
+				}
+
+				offset += length;
+			}
+
+			return snapshot;
+		}
+		finally
+		{
+			inflater.end();
+			closeQuietly( istream );
+		}
+	}
+
+	private void unpack( byte[] stored,
+	                     int storedLength,
+	                     boolean isCompressed,
+	                     byte[] snapshot,
+	                     int offset,
+	                     int length,
+	                     Inflater inflater )
+		throws SaveRestoreFailed
+	{
+		if( isCompressed == false )
+		{
+			if( storedLength != length )
+				throw new SaveRestoreFailed( "Save file chunk is not the expected size" );
+
+			System.arraycopy( stored, 0, snapshot, offset, length );
+			return;
+		}
+
 		try
 		{
-			// clean things up
-			istream.close();
+			inflater.reset();
+			inflater.setInput( stored, 0, storedLength );
+			if( inflater.inflate(snapshot,offset,length) != length )
+				throw new SaveRestoreFailed( "Save file chunk is shorter than expected" );
 		}
-		catch( Exception e )
+		catch( DataFormatException dfe )
 		{
-			throw new SaveRestoreFailed( "Error closing file ["+fileLocation+
-			                             "], restore not successful", e );
+			throw new SaveRestoreFailed( "Save file chunk is corrupt", dfe );
+		}
+	}
+
+	/**
+	 * Returns <code>true</code> if there is a save file at the given location. If the file is
+	 * still being written in the background, this waits for it to be finished first, returning
+	 * <code>false</code> if that write failed.
+	 */
+	public boolean exists( String fileLocation )
+	{
+		File file = new File( fileLocation ).getAbsoluteFile();
+		try
+		{
+			awaitWrite( file );
+		}
+		catch( SaveRestoreFailed srf )
+		{
+			logger.warn( srf.getMessage() );
+			return false;
+		}
+
+		return file.exists();
+	}
+
+	/**
+	 * Waits for any background write of the given file to finish.
+	 *
+	 * @throws SaveRestoreFailed If the background write failed
+	 */
+	private void awaitWrite( File file ) throws SaveRestoreFailed
+	{
+		Future<?> write = PENDING_WRITES.get( file.getPath() );
+		if( write == null )
+			return;
+
+		try
+		{
+			write.get();
+		}
+		catch( ExecutionException ee )
+		{
+			throw new SaveRestoreFailed( "Writing save file ["+file+"] failed", ee.getCause() );
+		}
+		catch( InterruptedException ie )
+		{
+			throw new SaveRestoreFailed( "Interrupted waiting for save file ["+file+"]", ie );
 		}
-		
-		// huzzah!
-		logger.debug( "SUCCESS Restored "+manifest.size()+" targets in manifest ("+
-		              manifest.hashCode()+")" );
+	}
+
+	/**
+	 * Returns the thread pool that writes this serializer's saves. It holds a single thread so
+	 * that saves are written in the order they were taken, and lets that thread go when idle.
+	 */
+	private synchronized ExecutorService getWriter()
+	{
+		if( writer == null )
+		{
+			writer = new ThreadPoolExecutor( 1, 1,
+			                                 WRITER_KEEP_ALIVE, TimeUnit.SECONDS,
+			                                 new LinkedBlockingQueue<Runnable>(),
+			                                 new ThreadFactory()
+			{
+				public Thread newThread( Runnable runnable )
+				{
+					Thread thread = new Thread( runnable, "portico-save-writer" );
+					thread.setDaemon( true );
+					return thread;
+				}
+			});
+			writer.allowCoreThreadTimeOut( true );
+		}
+
+		return writer;
+	}
+
+	/**
+	 * Finds the length of the chunk starting at the given offset. Boundaries are placed where a
+	 * rolling hash of the preceding bytes matches {@link #CHUNK_MASK}, so they depend on the
+	 * content around them rather than on their position in the snapshot.
+	 */
+	private int nextChunkLength( byte[] snapshot, int offset )
+	{
+		int remaining = snapshot.length - offset;
+		if( remaining <= MIN_CHUNK )
+			return remaining;
+
+		// start the hash a little before the minimum so that it only reflects nearby content
+		int limit = Math.min( remaining, MAX_CHUNK );
+		long hash = 0;
+		for( int i = MIN_CHUNK-64; i < limit; i++ )
+		{
+			hash = (hash << 1) + GEAR[snapshot[offset+i] & 0xff];
+			if( i >= MIN_CHUNK && (hash & CHUNK_MASK) == 0 )
+				return i+1;
+		}
+
+		return limit;
 	}
 
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
+	private static MessageDigest newDigester()
+	{
+		try
+		{
+			return MessageDigest.getInstance( "SHA-1" );
+		}
+		catch( Exception e )
+		{
+			// every JVM is required to provide SHA-1
+			throw new RuntimeException( e );
+		}
+	}
+
+	private static long[] createGearTable()
+	{
+		// fixed seed, boundaries have to land in the same places from one save to the next
+		Random random = new Random( 98121116105109L );
+		long[] table = new long[256];
+		for( int i = 0; i < table.length; i++ )
+			table[i] = random.nextLong();
+
+		return table;
+	}
+
+	/**
+	 * Replace <code>target</code> with <code>source</code> in a single rename where the file
+	 * system supports it. If it can't do that atomically we settle for a replacing move, but we
+	 * still never delete the target first.
+	 */
+	private static void moveIntoPlace( File source, File target ) throws IOException
+	{
+		try
+		{
+			Files.move( source.toPath(),
+			            target.toPath(),
+			            StandardCopyOption.REPLACE_EXISTING,
+			            StandardCopyOption.ATOMIC_MOVE );
+		}
+		catch( AtomicMoveNotSupportedException amnse )
+		{
+			Files.move( source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING );
+		}
+	}
+
+	private static void closeQuietly( Closeable closeable )
+	{
+		if( closeable == null )
+			return;
+
+		try
+		{
+			closeable.close();
+		}
+		catch( IOException ioex )
+		{
+			// nothing more we can do
+		}
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Inner Interface ///////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Told when the file for a save has been written, or why it couldn't be.
+	 */
+	public interface WriteListener
+	{
+		public void saveWritten( String fileLocation );
+
+		public void saveFailed( String fileLocation, SaveRestoreFailed reason );
+	}
 }
@@ -0,0 +1,81 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.saverestore.handlers.incoming;
+
+import java.util.Map;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.saverestore.msg.RestoreAbort;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="incoming",
+                priority=7, // we want to handle it before the callback handler
+                messages=RestoreAbort.class)
+public class RestoreAbortIncomingHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		RestoreAbort request = context.getRequest( RestoreAbort.class, this );
+
+		// if there is no active restore, it has already completed or been aborted
+		if( restoreManager.getActiveLabel() == null )
+		{
+			if( logger.isDebugEnabled() )
+			{
+				logger.debug( "@REMOTE Ignoring request to abort federation RESTORE from ["+
+				              moniker(request.getSourceFederate())+"]: no restore in progress" );
+			}
+
+			veto( context );
+			return;
+		}
+
+		if( logger.isInfoEnabled() )
+		{
+			logger.info( "NOTICE  Federation restore with label ["+restoreManager.getActiveLabel()+
+			             "] aborted by ["+moniker(request.getSourceFederate())+"]" );
+		}
+
+		// wipe the status and let processing fall through to a callback handler
+		restoreManager.reset();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -57,6 +57,16 @@ public class RestoreCompleteIncomingHandler extends LRCMessageHandler
 
 		String result = success ? "successful" : "not successful";
 		
+		// the restore may have been aborted while this notice was on its way to us
+		if( restoreManager.getActiveLabel() == null )
+		{
+			if( logger.isDebugEnabled() )
+				logger.debug( "Ignoring restore complete notice, no restore in progress" );
+
+			veto( context );
+			return;
+		}
+
 		// NOTE: When a federate resigns, we need to reassess whether or not an outstanding
 		//       restore can now be completed. For this reason, if a RestoreComplete message comes
 		//       into the incoming sink with a source of NULL_HANDLE, we known it is a dummy
@@ -101,7 +111,7 @@ public class RestoreCompleteIncomingHandler extends LRCMessageHandler
 			if( logger.isDebugEnabled() )
 				logger.debug( "Federation not yet restored, still waiting on more federates" );
 
-			veto();
+			veto( context );
 		}
 	}
 
@@ -116,7 +116,8 @@ public class RestoreFederationIncomingHandler extends LRCMessageHandler
 			logger.error( "Error while restoring internal state from file", srf );
 			RestoreComplete failNotice = new RestoreComplete( false );
 			this.reprocessOutgoing( failNotice );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		// tell the federate that it's now time for it to do its restoration
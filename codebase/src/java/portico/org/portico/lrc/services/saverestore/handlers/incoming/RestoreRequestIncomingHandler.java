@@ -51,7 +51,9 @@ public class RestoreRequestIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		RestoreRequest request = context.getRequest( RestoreRequest.class, this );
-		vetoIfMessageFromUs( request ); // we've already stored the information
+		if( vetoIfMessageFromUs(context,request) ) // we've already stored the information
+			return;
+
 		String label = request.getLabel();
 		int sourceFederate = request.getSourceFederate();
 		
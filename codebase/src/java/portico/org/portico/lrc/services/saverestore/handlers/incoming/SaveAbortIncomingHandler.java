@@ -0,0 +1,81 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.saverestore.handlers.incoming;
+
+import java.util.Map;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.saverestore.msg.SaveAbort;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="incoming",
+                priority=7, // we want to handle it before the callback handler
+                messages=SaveAbort.class)
+public class SaveAbortIncomingHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		SaveAbort request = context.getRequest( SaveAbort.class, this );
+
+		// if there is no active save, it has already completed or been aborted
+		if( saveManager.getActiveLabel() == null )
+		{
+			if( logger.isDebugEnabled() )
+			{
+				logger.debug( "@REMOTE Ignoring request to abort federation SAVE from ["+
+				              moniker(request.getSourceFederate())+"]: no save in progress" );
+			}
+
+			veto( context );
+			return;
+		}
+
+		if( logger.isInfoEnabled() )
+		{
+			logger.info( "NOTICE  Federation save with label ["+saveManager.getActiveLabel()+
+			             "] aborted by ["+moniker(request.getSourceFederate())+"]" );
+		}
+
+		// wipe the status and let processing fall through to a callback handler
+		saveManager.reset();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -51,8 +51,11 @@ public class SaveBegunIncomingHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		SaveBegun request = context.getRequest( SaveBegun.class, this );
-		vetoIfMessageFromUs( request );
-		vetoIfSourceNotJoined( request.getSourceFederate() );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
+
+		if( vetoIfSourceNotJoined(context,request.getSourceFederate()) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 			logger.debug( "@REMOTE Federate save BEGUN by ["+moniker(request.getSourceFederate())+"]" );
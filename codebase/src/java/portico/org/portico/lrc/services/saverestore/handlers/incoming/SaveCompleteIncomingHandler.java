@@ -55,6 +55,16 @@ public class SaveCompleteIncomingHandler extends LRCMessageHandler
 		boolean success = request.isSuccessful();
 		String result = success ? "successful" : "not successful";
 		
+		// the save may have been aborted while this notice was on its way to us
+		if( saveManager.getActiveLabel() == null )
+		{
+			if( logger.isDebugEnabled() )
+				logger.debug( "Ignoring save complete notice, no save in progress" );
+
+			veto( context );
+			return;
+		}
+
 		// NOTE: When a federate resigns, we need to reassess whether or not an outstanding
 		//       save can now be completed. For this reason, if a SaveComplete message comes
 		//       into the incoming sink with a source of NULL_HANDLE, we known it is a dummy
@@ -100,7 +110,7 @@ public class SaveCompleteIncomingHandler extends LRCMessageHandler
 			if( logger.isDebugEnabled() )
 				logger.debug( "Federation not yet saved, still waiting on more federates" );
 
-			veto();
+			veto( context );
 		}
 	}
 
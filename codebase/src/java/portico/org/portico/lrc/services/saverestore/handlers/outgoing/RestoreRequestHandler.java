@@ -71,10 +71,15 @@ public class RestoreRequestHandler extends LRCMessageHandler
 		if( logger.isDebugEnabled() )
 			logger.debug( "REQUEST Start federation RESTORE with label ["+label+"]" );
 
-		// check to see if the restore files exist
+		// check to see if the restore files exist (waiting on any write still in progress)
 		File file = new File( PorticoConstants.getSaveLocation(label,federateName()) );
-		if( file.exists() == false )
-			queueFailure( label, "Can't locate save file to restore from: "+file.getAbsolutePath() );
+		if( lrcState.getSerializer().exists(file.getPath()) == false )
+		{
+			queueFailure( context,
+			              label,
+			              "Can't locate save file to restore from: "+file.getAbsolutePath() );
+			return;
+		}
 		
 		// record our intention to kick off a restore
 		restoreManager.requestRestore( federateHandle(), label );
@@ -88,9 +93,12 @@ public class RestoreRequestHandler extends LRCMessageHandler
 		if( restoreManager.getRegisteringFederate() != federateHandle() )
 		{
 			// dammit, we were beaten out
-			queueFailure( label, "Restore initiated at same time by more senior federate [label="+
+			queueFailure( context,
+			              label,
+			              "Restore initiated at same time by more senior federate [label="+
 			              restoreManager.getActiveLabel()+",federate="+
 			              moniker(restoreManager.getRegisteringFederate())+"]" );
+			return;
 		}
 		else
 		{
@@ -105,12 +113,12 @@ public class RestoreRequestHandler extends LRCMessageHandler
 		context.success();
 	}
 	
-	private void queueFailure( String label, String reason )
+	private void queueFailure( MessageContext context, String label, String reason )
 	{
 		logger.warn( "FAILURE Request restore, reason="+reason );
 		RestoreRequestResult result = new RestoreRequestResult( label, false, reason );
 		lrcState.getQueue().offer( fill(result) );
-		veto();
+		veto( context );
 	}
 
 	//----------------------------------------------------------
@@ -20,6 +20,7 @@ import org.portico.lrc.LRCMessageHandler;
 import org.portico.lrc.PorticoConstants;
 import org.portico.lrc.compat.JSaveNotInitiated;
 import org.portico.lrc.services.saverestore.data.SaveRestoreFailed;
+import org.portico.lrc.services.saverestore.data.Serializer;
 import org.portico.lrc.services.saverestore.msg.SaveComplete;
 import org.portico.utils.messaging.MessageContext;
 import org.portico.utils.messaging.MessageHandler;
@@ -29,6 +30,10 @@ import org.portico.utils.messaging.MessageHandler;
  * was successful, this handler will then try and save the local LRC state to a file. Should this
  * fail, the success notice will be switched to a failure before broadcasting it out to the other
  * federates.
+ * <p/>
+ * The notice only goes out once the file has been written. If background saving is turned on the
+ * file is written on the {@link Serializer} writer thread after the LRC state has been snapshot,
+ * and the notice is sent from there when it's done, with a failure in it if the write failed.
  */
 @MessageHandler(modules="lrc-base",
                 keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
@@ -80,38 +85,84 @@ public class SaveCompleteHandler extends LRCMessageHandler
 			// local federate wasn't successful in its save attempt, don't both trying to save
 			// out our LRC state.
 			saveManager.federateSaveNotComplete( federateHandle() );
+			connection.broadcast( request );
+			context.success();
+			return;
 		}
-		else
+
+		//////////////////////////////////////////////////////
+		// the user save was a success, try to save locally //
+		//////////////////////////////////////////////////////
+		if( logger.isDebugEnabled() )
+			logger.debug( "Attempting to write LRC state to file" );
+
+		String location = PorticoConstants.getSaveLocation( saveManager.getActiveLabel(),
+		                                                    federateName() );
+		final SaveComplete notice = request;
+		try
+		{
+			// the notice is passed on to the federation once the file has been written
+			lrcState.getSerializer().save( lrcState.getManifest(),
+			                               location,
+			                               new Serializer.WriteListener()
+			{
+				public void saveWritten( String fileLocation )
+				{
+					saveFinished( notice, null );
+				}
+
+				public void saveFailed( String fileLocation, SaveRestoreFailed reason )
+				{
+					saveFinished( notice, reason );
+				}
+			});
+		}
+		catch( SaveRestoreFailed srf )
 		{
-			//////////////////////////////////////////////////////
-			// the user save was a success, try to save locally //
-			//////////////////////////////////////////////////////
-			if( logger.isDebugEnabled() )
-				logger.debug( "Attempting to write LRC state to file" );
+			saveFinished( request, srf );
+		}
+
+		context.success();
+	}
 
-			String location = PorticoConstants.getSaveLocation( saveManager.getActiveLabel(),
-			                                                    federateName() );
-			try
+	/**
+	 * Records how the save of the local LRC state went and passes the federate's save complete
+	 * notice on to the federation, switching it to a failure if the state couldn't be saved.
+	 * This can be called from the serializer's writer thread, so problems are logged rather than
+	 * thrown.
+	 */
+	private void saveFinished( SaveComplete request, SaveRestoreFailed failure )
+	{
+		try
+		{
+			if( failure == null )
 			{
-				lrcState.getSerializer().save( lrcState.getManifest(), location );
 				saveManager.federateSaveComplete( federateHandle() );
-				
 				if( logger.isInfoEnabled() )
 					logger.info( "SUCCESS Federate ["+moniker()+"] state has been saved, notify federation" );
 			}
-			catch( SaveRestoreFailed srf )
+			else
 			{
 				// FAILURE!
 				// mark the save as incomplete and replace the existing request with info about why
-				logger.error( "Save Failed", srf );
+				logger.error( "Save Failed", failure );
 				saveManager.federateSaveNotComplete( federateHandle() );
 				request.setFailure();
 			}
+
+			// pass the request on to the federation
+			connection.broadcast( request );
+		}
+		catch( JSaveNotInitiated sni )
+		{
+			// the save was aborted while the file was being written
+			logger.debug( "Save no longer in progress, not sending save complete notice" );
+		}
+		catch( Exception e )
+		{
+			logger.error( "Couldn't notify federation that federate ["+moniker()+
+			              "] has completed save", e );
 		}
-		
-		// pass the request on to the federation
-		connection.broadcast( request );
-		context.success();
 	}
 
 	//----------------------------------------------------------
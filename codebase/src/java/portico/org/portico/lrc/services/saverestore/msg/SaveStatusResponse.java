@@ -0,0 +1,60 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.saverestore.msg;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.portico.lrc.services.saverestore.data.SRStatus;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Carries the save status of each federate in the federation back to the local federate in
+ * response to a {@link QuerySaveStatus} request. This message is never
+ * sent to other federates.
+ */
+public class SaveStatusResponse extends PorticoMessage
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private Map<Integer,SRStatus> statuses; // key: federateHandle
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public SaveStatusResponse( Map<Integer,SRStatus> statuses )
+	{
+		this.statuses = new HashMap<Integer,SRStatus>( statuses );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+
+	public Map<Integer,SRStatus> getStatuses()
+	{
+		return this.statuses;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -63,7 +63,10 @@ public class SyncAchievedHandler extends LRCMessageHandler
 
 		// if we don't know about the point, ignore it - it might be restricted and not for us
 		if( point == null )
-			veto("unknown synchronization point");
+		{
+			veto( context, "unknown synchronization point" );
+			return;
+		}
 
 		// if we know about it, mark the federate has having achieved it
 		point.federateAchieved( notice.getSourceFederate() );
@@ -77,7 +80,7 @@ public class SyncAchievedHandler extends LRCMessageHandler
 		else
 		{
 			// no need for further processing, it's not time yet
-			veto("still waiting for federation to synchronize on point ["+label+"]");
+			veto( context, "still waiting for federation to synchronize on point ["+label+"]" );
 		}
 	}
 
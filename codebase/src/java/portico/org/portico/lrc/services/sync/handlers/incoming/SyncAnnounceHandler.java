@@ -52,7 +52,9 @@ public class SyncAnnounceHandler extends LRCMessageHandler
 	public void process( MessageContext context ) throws Exception
 	{
 		SyncPointAnnouncement announcement = context.getRequest( SyncPointAnnouncement.class, this );
-		vetoIfMessageFromUs( announcement ); // announcement handled in reg.result handler if local federate
+		if( vetoIfMessageFromUs(context,announcement) ) // announcement handled in reg.result handler if local federate
+			return;
+
 		String label = announcement.getLabel();
 		Set<Integer> federates = announcement.getFederateSet();
 		int announcer = announcement.getSourceFederate();
@@ -79,7 +81,7 @@ public class SyncAnnounceHandler extends LRCMessageHandler
 		}
 		else
 		{
-			veto("Local federate not involved in synchronization point");
+			veto( context, "Local federate not involved in synchronization point" );
 		}
 	}
 
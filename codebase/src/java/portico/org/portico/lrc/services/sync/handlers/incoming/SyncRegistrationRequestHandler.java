@@ -88,7 +88,8 @@ public class SyncRegistrationRequestHandler extends LRCMessageHandler
 	{
 		SyncRegistrationRequest request = context.getRequest( SyncRegistrationRequest.class, this );
 		// before processing, make sure this isn't a message that we broadcast out outselves :P
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 
 		String label = request.getLabel();
 		int registrant = request.getSourceFederate();
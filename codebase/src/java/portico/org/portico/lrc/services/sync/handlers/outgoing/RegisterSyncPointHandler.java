@@ -81,7 +81,8 @@ public class RegisterSyncPointHandler extends LRCMessageHandler
 			// The validateGroupHandles() method will have queued the appropriate sync-point
 			// registration failure notice containing information about the invalid handle, so
 			// there is no need to do that here. Just mark the request as handled and get out.
-			veto();
+			veto( context );
+			return;
 		}
 
 		// if the sync set exists, but is empty, set it to null so as to indicate that this point
@@ -105,7 +106,8 @@ public class RegisterSyncPointHandler extends LRCMessageHandler
 		{
 			// fail! :(
 			queueFailure( label, "label already registered" );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		//////////////////////////////////////
@@ -125,7 +127,8 @@ public class RegisterSyncPointHandler extends LRCMessageHandler
 		{
 			queueFailure( label, "already announced" );
 			context.success();
-			veto();
+			veto( context );
+			return;
 		}
 
 		// check to see if anyone else has tried to register the point
@@ -135,7 +138,8 @@ public class RegisterSyncPointHandler extends LRCMessageHandler
 			// FAIL, someone else with a lower handle has tried to register the point, they win
 			queueFailure( label, "point already registered by ["+federateName(registrant)+"]" );
 			syncPoint.setStatus( SyncPoint.Status.PENDING );
-			veto();
+			veto( context );
+			return;
 		}
 		
 		// SUCCESS
@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.sync.msg;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -45,6 +46,11 @@ public class SyncPointAchieved extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	public String getLabel()
 	{
 		return this.label;
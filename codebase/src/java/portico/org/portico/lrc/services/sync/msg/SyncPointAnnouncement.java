@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.Set;
 
 import org.portico.lrc.services.sync.data.SyncPoint;
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -68,6 +69,12 @@ public class SyncPointAnnouncement extends PorticoMessage
 	//----------------------------------------------------------
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
+
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	public void setLabel( String label )
 	{
 		this.label = label;
@@ -16,6 +16,7 @@ package org.portico.lrc.services.sync.msg;
 
 import java.util.HashSet;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 /**
@@ -59,6 +60,11 @@ public class SyncRegistrationRequest extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.CONTROL;
+	}
+
 	public String getLabel()
 	{
 		return this.label;
@@ -0,0 +1,256 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.time.data;
+
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.compat.JInvalidRetractionHandle;
+import org.portico.lrc.compat.JMessageCanNoLongerBeRetracted;
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.lrc.services.saverestore.data.SaveRestoreTarget;
+import org.portico.lrc.utils.HandleAllocator;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Keeps track of the messages that could still be retracted, from both ends:
+ * <ul>
+ *   <li><b>Sent</b>: Each timestamped message the local federate sends while regulating is given
+ *       a retraction handle from its own range (see {@link PorticoConstants#MAX_RETRACTIONS}),
+ *       so handles are unique across the federation without any negotiation. The handle is
+ *       remembered along with the message's timestamp until the federate's time reaches it, at
+ *       which point the message can no longer be retracted and the handle is given back.</li>
+ *   <li><b>Delivered</b>: Each retractable message handed to the local federate from the TSO
+ *       queue is remembered until its sender's time reaches it. If the sender retracts one of
+ *       these, the federate is asked to retract it too. Messages that are retracted while still
+ *       queued are simply taken out of the queue instead (see
+ *       {@link org.portico.lrc.LRCMessageQueue#retract(int)}).</li>
+ * </ul>
+ * 
+ * Both sides are pruned as grants come in (see {@link #federateAdvanced(int, double)}), so only
+ * messages in the window between a sender's current time and its sent timestamps are held.
+ * <p/>
+ * The manager is used from both the callback thread and the connection thread (retractions are
+ * processed as soon as they arrive), so all access is synchronized.
+ */
+public class RetractionManager implements SaveRestoreTarget
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int localHandle;
+	private HandleAllocator handles;                     // created on first use
+	private Map<Integer,Double> sent;                    // handle -> timestamp
+	private Map<Integer,Map<Integer,Double>> delivered;  // sender -> (handle -> timestamp)
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public RetractionManager()
+	{
+		this.localHandle = PorticoConstants.NULL_HANDLE;
+		this.handles = null;
+		this.sent = new HashMap<Integer,Double>();
+		this.delivered = new HashMap<Integer,Map<Integer,Double>>();
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Federate Management Methods /////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	public synchronized void joinedFederation( int federateHandle )
+	{
+		this.localHandle = federateHandle;
+		this.handles = null;
+	}
+
+	public synchronized void resignedFederation( int federateHandle )
+	{
+		this.delivered.remove( federateHandle );
+	}
+
+	/**
+	 * Federate time has moved on. Any message sent by the federate with a timestamp at or below
+	 * the new time can no longer be retracted, so we stop tracking them. If it was the local
+	 * federate, the handles for its messages are given back.
+	 */
+	public synchronized void federateAdvanced( int federateHandle, double time )
+	{
+		if( federateHandle == localHandle )
+		{
+			Iterator<Map.Entry<Integer,Double>> iterator = sent.entrySet().iterator();
+			while( iterator.hasNext() )
+			{
+				Map.Entry<Integer,Double> entry = iterator.next();
+				if( entry.getValue() <= time )
+				{
+					iterator.remove();
+					handles.release( entry.getKey() );
+				}
+			}
+		}
+		else
+		{
+			Map<Integer,Double> fromFederate = delivered.get( federateHandle );
+			if( fromFederate == null )
+				return;
+
+			Iterator<Double> iterator = fromFederate.values().iterator();
+			while( iterator.hasNext() )
+			{
+				if( iterator.next() <= time )
+					iterator.remove();
+			}
+		}
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////// Sent Message Methods //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Hand out a retraction handle for a message the local federate is about to send with the
+	 * given timestamp. If the local federate has so many messages outstanding that we've run
+	 * out of handles (it must have been sending for a long time without advancing), the message
+	 * just can't be retracted and {@link PorticoConstants#NULL_HANDLE} is returned.
+	 */
+	public synchronized int messageSent( double timestamp )
+	{
+		if( this.handles == null )
+		{
+			this.handles =
+				new HandleAllocator( (localHandle-1) * PorticoConstants.MAX_RETRACTIONS,
+				                     PorticoConstants.MAX_RETRACTIONS,
+				                     1,
+				                     PorticoConstants.getHandleGenerationBits() );
+		}
+
+		if( handles.getHandlesInUse() >= handles.getCapacity() )
+			return PorticoConstants.NULL_HANDLE;
+
+		try
+		{
+			int handle = handles.nextHandle();
+			sent.put( handle, timestamp );
+			return handle;
+		}
+		catch( JRTIinternalError rtie )
+		{
+			return PorticoConstants.NULL_HANDLE;
+		}
+	}
+
+	/**
+	 * The local federate wants to retract the message with the given handle. If it is still
+	 * retractable, we stop tracking it and give the handle back.
+	 * 
+	 * @throws JMessageCanNoLongerBeRetracted If the handle was one of ours, but the message has
+	 *                                        already been retracted or its time has passed
+	 * @throws JInvalidRetractionHandle If we never handed the handle out
+	 */
+	public synchronized void retract( int handle, double currentTime )
+		throws JInvalidRetractionHandle, JMessageCanNoLongerBeRetracted
+	{
+		Double timestamp = sent.get( handle );
+		if( timestamp == null )
+		{
+			long offset = (long)handle - (long)(localHandle-1) * PorticoConstants.MAX_RETRACTIONS;
+			if( handles != null && offset > 0 && offset < PorticoConstants.MAX_RETRACTIONS )
+			{
+				throw new JMessageCanNoLongerBeRetracted( "message ["+handle+"] has already been "+
+				                                          "retracted or its time has passed" );
+			}
+			else
+			{
+				throw new JInvalidRetractionHandle( "unknown retraction handle: "+handle );
+			}
+		}
+		else if( timestamp <= currentTime )
+		{
+			throw new JMessageCanNoLongerBeRetracted( "message ["+handle+"] time ["+timestamp+
+			                                          "] has passed (current:"+currentTime+")" );
+		}
+
+		sent.remove( handle );
+		handles.release( handle );
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////// Delivered Message Methods ////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Record that the given message has been released to the local federate from the TSO queue.
+	 * Messages that can't be retracted are ignored.
+	 */
+	public synchronized void messageDelivered( PorticoMessage message )
+	{
+		if( message.isRetractable() == false )
+			return;
+
+		int sender = message.getSourceFederate();
+		Map<Integer,Double> fromSender = delivered.get( sender );
+		if( fromSender == null )
+		{
+			fromSender = new HashMap<Integer,Double>();
+			delivered.put( sender, fromSender );
+		}
+
+		fromSender.put( message.getRetractionHandle(), message.getTimestamp() );
+	}
+
+	/**
+	 * The given sender has retracted one of its messages. Returns <code>true</code> if we had
+	 * already delivered that message to the local federate (in which case the local federate
+	 * needs to be told about it). The message is forgotten either way.
+	 */
+	public synchronized boolean messageRetracted( int sender, int handle )
+	{
+		Map<Integer,Double> fromSender = delivered.get( sender );
+		return fromSender != null && fromSender.remove(handle) != null;
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Save/Restore Methods /////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	public synchronized void saveToStream( ObjectOutput output ) throws Exception
+	{
+		output.writeInt( localHandle );
+		output.writeObject( handles );
+		output.writeObject( sent );
+		output.writeObject( delivered );
+	}
+
+	@SuppressWarnings("unchecked")
+	public synchronized void restoreFromStream( ObjectInput input ) throws Exception
+	{
+		this.localHandle = input.readInt();
+		this.handles = (HandleAllocator)input.readObject();
+		this.sent = (Map<Integer,Double>)input.readObject();
+		this.delivered = (Map<Integer,Map<Integer,Double>>)input.readObject();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -72,7 +72,7 @@ public class EnableConstrainedIncomingHandler extends LRCMessageHandler
 		// requested to have time constrained enabled, otherwise just kill processing now
 		// that we have recorded the notice
 		if( federate != federateHandle() )
-			veto();
+			veto( context );
 		else
 			context.success();
 	}
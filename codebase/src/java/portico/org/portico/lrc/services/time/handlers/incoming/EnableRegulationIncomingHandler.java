@@ -136,8 +136,7 @@ public class EnableRegulationIncomingHandler extends LRCMessageHandler
 		// if time regulation was enabled for THIS FEDERATE then make sure a callback can happen,
 		// otherwise, if no callback is needed, just kill processing here
 		if( federate != federateHandle() )
-			// no need for further processing, if there is a callack to be made we will have queued it
-			veto();
+			veto( context ); // no further processing, if a callback is needed we have queued it
 		else
 			context.success();
 	}
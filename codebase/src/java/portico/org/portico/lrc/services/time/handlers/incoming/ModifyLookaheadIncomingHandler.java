@@ -63,7 +63,8 @@ public class ModifyLookaheadIncomingHandler extends LRCMessageHandler
 		// Only process this message if it ISN'T for us. If it is for us, all the work will
 		// have already been done in the outgoing handler. We're just updating local stores
 		// here with the new information
-		vetoIfMessageFromUs( request );
+		if( vetoIfMessageFromUs(context,request) )
+			return;
 		
 		// update the local status and do any pending advanced notifications
 		timeManager.setLookahead( federate, newLookahead );
@@ -0,0 +1,93 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.time.handlers.incoming;
+
+import java.util.Map;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.services.time.msg.RequestRetraction;
+import org.portico.lrc.services.time.msg.Retract;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Retractions are processed as soon as they turn up (see {@link Retract}). If the retracted
+ * message is still waiting in the TSO queue it is taken out and the federate never sees it. If
+ * it has already been given to the federate, a {@link RequestRetraction} is queued so that the
+ * federate is asked to retract it itself. Otherwise we never had the message (or no longer have
+ * any interest in it) and there is nothing to do.
+ */
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="incoming",
+                messages=Retract.class)
+public class RetractIncomingHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		Retract request = context.getRequest( Retract.class, this );
+		int sender = request.getSourceFederate();
+		int handle = request.getRetractionHandle();
+		
+		// we've already stopped tracking our own messages when we sent this
+		if( vetoIfMessageFromUs(context,request) )
+			return;
+
+		PorticoMessage retracted = lrcState.getQueue().retract( handle );
+		if( retracted != null )
+		{
+			if( logger.isDebugEnabled() )
+			{
+				logger.debug( "@REMOTE Retracted queued message ["+retracted.getIdentifier()+
+				              "] with handle ["+handle+"] from federate ["+moniker(sender)+"]" );
+			}
+		}
+		else if( lrcState.getRetractionManager().messageRetracted(sender,handle) )
+		{
+			if( logger.isDebugEnabled() )
+			{
+				logger.debug( "@REMOTE Federate ["+moniker(sender)+"] retracted delivered "+
+				              "message with handle ["+handle+"], requesting retraction" );
+			}
+
+			lrcState.getQueue().offer( fill(new RequestRetraction(handle)) );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -59,7 +59,8 @@ public class TimeAdvanceGrantedIncomingHandler extends LRCMessageHandler
 		TimeStatus status = timeManager.getTimeStatus( federate );
 		if( status == null )
 		{
-			veto( "ADVANCE (GRANTED) for unknown federate (may have resigned): handle="+federate );
+			veto( context, "ADVANCE (GRANTED) for unknown federate (may have resigned): handle="+federate );
+			return;
 		}
 
 		if( logger.isDebugEnabled() )
@@ -70,10 +71,14 @@ public class TimeAdvanceGrantedIncomingHandler extends LRCMessageHandler
 		
 		status.advanceGrantCallbackProcessed( newTime );
 
+		// messages the federate sent for times up to here can no longer be retracted
+		lrcState.getRetractionManager().federateAdvanced( federate, newTime );
+
 		////////////////////////////////////////////////////////////////
 		// everything after this point is ONLY FOR THE LOCAL FEDERATE //
 		////////////////////////////////////////////////////////////////
-		vetoUnlessForUs( request );
+		if( vetoUnlessForUs(context,request) )
+			return;
 		
 	}
 
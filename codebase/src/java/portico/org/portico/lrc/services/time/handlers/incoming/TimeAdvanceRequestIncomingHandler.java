@@ -67,7 +67,8 @@ public class TimeAdvanceRequestIncomingHandler extends LRCMessageHandler
 		}
 
 		// check to make sure we know about the source federate
-		vetoIfSourceNotJoined( federate );
+		if( vetoIfSourceNotJoined(context,federate) )
+			return;
 		
 		if( logger.isDebugEnabled() )
 			logger.debug( "Federate ["+moniker(federate)+"] requests ADVANCE to time ["+newTime+"]" );
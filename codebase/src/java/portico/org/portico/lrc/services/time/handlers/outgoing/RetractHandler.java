@@ -0,0 +1,83 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.time.handlers.outgoing;
+
+import java.util.Map;
+
+import org.portico.lrc.LRCMessageHandler;
+import org.portico.lrc.compat.JTimeRegulationWasNotEnabled;
+import org.portico.lrc.services.time.msg.Retract;
+import org.portico.utils.messaging.MessageContext;
+import org.portico.utils.messaging.MessageHandler;
+
+@MessageHandler(modules="lrc-base",
+                keywords={"lrc13","lrcjava1","lrc1516","lrc1516e"},
+                sinks="outgoing",
+                messages=Retract.class)
+public class RetractHandler extends LRCMessageHandler
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	public void initialize( Map<String,Object> properties )
+	{
+		super.initialize( properties );
+	}
+	
+	public void process( MessageContext context ) throws Exception
+	{
+		// basic state validity checks
+		lrcState.checkJoined();          // FederateNotExecutionMember
+		lrcState.checkSave();            // SaveInProgress
+		lrcState.checkRestore();         // RestoreInProgress
+
+		Retract request = context.getRequest( Retract.class, this );
+		int handle = request.getRetractionHandle();
+		
+		if( logger.isDebugEnabled() )
+			logger.debug( "REQUEST Retract message with handle ["+handle+"]" );
+		
+		// only regulating federates send messages that can be retracted
+		if( timeStatus().isRegulating() == false )
+			throw new JTimeRegulationWasNotEnabled( "try to retract message when not regulating" );
+		
+		// make sure the handle is ours and that the message hasn't had its time come already.
+		// if it is fine, we stop tracking it from here
+		lrcState.getRetractionManager().retract( handle, timeStatus().getCurrentTime() );
+		
+		// tell everyone else so they can pull it out of their queues
+		connection.broadcast( fill(request) );
+		context.success();
+		
+		if( logger.isInfoEnabled() )
+			logger.info( "SUCCESS Retracted message with handle ["+handle+"]" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
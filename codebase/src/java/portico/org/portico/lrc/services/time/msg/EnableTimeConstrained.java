@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.time.msg;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 public class EnableTimeConstrained extends PorticoMessage
@@ -35,6 +36,11 @@ public class EnableTimeConstrained extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.EXPEDITED;
+	}
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
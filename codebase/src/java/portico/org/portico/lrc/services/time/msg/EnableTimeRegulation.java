@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.time.msg;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 public class EnableTimeRegulation extends PorticoMessage
@@ -43,6 +44,11 @@ public class EnableTimeRegulation extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.EXPEDITED;
+	}
+
 	public double getFederateTime()
     {
     	return federateTime;
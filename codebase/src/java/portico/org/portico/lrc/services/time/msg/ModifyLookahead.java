@@ -14,6 +14,7 @@
  */
 package org.portico.lrc.services.time.msg;
 
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 public class ModifyLookahead extends PorticoMessage
@@ -41,6 +42,11 @@ public class ModifyLookahead extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.EXPEDITED;
+	}
+
 	public double getLookahead()
 	{
 		return this.lookahead;
@@ -0,0 +1,59 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.time.msg;
+
+import org.portico.utils.messaging.PorticoMessage;
+
+/**
+ * Sent out by a federate to retract one of its earlier timestamped messages. The message is
+ * identified by the {@link #getRetractionHandle() retraction handle} carried in this message,
+ * which is the same one the original message went out with.
+ * <p/>
+ * Retractions are processed as soon as they are received (rather than being queued) so that
+ * the message can be pulled out of the TSO queue before it is released. They are sent with
+ * normal priority so they can't overtake the message they retract on the way.
+ */
+public class Retract extends PorticoMessage
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public Retract( int retractionHandle )
+	{
+		setRetractionHandle( retractionHandle );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@Override
+	public boolean isImmediateProcessingRequired()
+	{
+		return true;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -19,6 +19,7 @@ import java.io.ObjectInput;
 import java.io.ObjectOutput;
 
 import org.portico.lrc.PorticoConstants;
+import org.portico.utils.messaging.MessagePriority;
 import org.portico.utils.messaging.PorticoMessage;
 
 public class TimeAdvanceRequest extends PorticoMessage
@@ -57,6 +58,11 @@ public class TimeAdvanceRequest extends PorticoMessage
 	//                    INSTANCE METHODS
 	//----------------------------------------------------------
 
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.EXPEDITED;
+	}
+
 	public double getTime()
 	{
 		return this.time;
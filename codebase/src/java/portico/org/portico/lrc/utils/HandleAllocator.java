@@ -0,0 +1,214 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.utils;
+
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Queue;
+
+import org.portico.lrc.compat.JRTIinternalError;
+
+/**
+ * Hands out handles from a fixed range of values and takes them back again once they are no
+ * longer in use. This lets a federate keep registering objects (or creating regions) for as long
+ * as it likes, so long as it never has more than {@link #getCapacity()} of them alive at once.
+ * <p/>
+ * Each handle is built from a <i>slot</i> and a <i>generation</i>:
+ * <pre>
+ *     handle = base + (generation << slotBits) + slot
+ * </pre>
+ * Slots are what get recycled, but only once every fresh slot has been handed out. Released
+ * slots are then reused in the order they were released, so a released handle stays out of
+ * circulation for as long as possible. Anyone still holding it will find that it no longer
+ * refers to anything, rather than quietly picking up whatever took its place.
+ * <p/>
+ * The generation bits stretch that out further. Each time a slot is released its generation is
+ * bumped, so the handle it next comes back as is a different value. The generation wraps when
+ * it runs out of bits, so a particular handle value can only come back after its slot has been
+ * recycled <code>2^generationBits</code> times. The cost is in capacity: each generation bit
+ * halves the number of slots, and so the number of handles that can be alive at once. With no
+ * generation bits every value in the range is a slot of its own.
+ * <p/>
+ * Until a slot is released for the first time its handles are generation zero, which are exactly
+ * the values a simple incrementing counter over the same range would have given out.
+ */
+public class HandleAllocator implements Serializable
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private int base;
+	private int size;
+	private int firstSlot;
+	private int slotBits;
+	private int slotMask;
+	private int generationMask;
+	private int maxSlot;       // highest slot we will hand out
+	private int nextFreshSlot; // lowest slot that has never been handed out
+	private int[] generations; // current generation of each slot, null without generation bits
+	private BitSet freeSlots;  // slots that have been released and are ready for reuse
+	private Queue<Integer> releaseOrder; // the free slots, in the order they were released
+	private int handlesInUse;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param base The first value in the range. Every handle is an offset from this value.
+	 * @param size The number of values in the range. Handles are always less than base+size.
+	 * @param firstSlot Slots below this are left for the caller to use as it sees fit. They are
+	 *                  never handed out by {@link #nextHandle()} or taken back by
+	 *                  {@link #release(int)}.
+	 * @param generationBits The number of high bits of each offset to use for the generation.
+	 *                       May be zero, in which case every value is a slot.
+	 */
+	public HandleAllocator( int base, int size, int firstSlot, int generationBits )
+	{
+		int offsetBits = 32 - Integer.numberOfLeadingZeros( size-1 );
+		if( generationBits < 0 || generationBits >= offsetBits )
+		{
+			throw new IllegalArgumentException( "Can't use "+generationBits+
+			                                    " generation bits in a range of size "+size );
+		}
+
+		this.base = base;
+		this.size = size;
+		this.firstSlot = firstSlot;
+		this.slotBits = offsetBits - generationBits;
+		this.slotMask = (1 << slotBits) - 1;
+		this.generationMask = (1 << generationBits) - 1;
+		// the top generation of the top slot must still land inside the range
+		this.maxSlot = Math.min( slotMask, (size-1) - (generationMask << slotBits) );
+		this.nextFreshSlot = firstSlot;
+		this.generations = generationBits == 0 ? null : new int[Math.min(maxSlot+1,1024)];
+		this.freeSlots = new BitSet();
+		this.releaseOrder = new ArrayDeque<Integer>();
+		this.handlesInUse = 0;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Returns the next available handle. A fresh slot is taken if there are any left, otherwise
+	 * the slot that was released longest ago is reused.
+	 * 
+	 * @throws JRTIinternalError If every slot in the range is currently in use
+	 */
+	public synchronized int nextHandle() throws JRTIinternalError
+	{
+		int slot;
+		if( nextFreshSlot <= maxSlot )
+		{
+			slot = nextFreshSlot++;
+			if( generations != null && slot >= generations.length )
+				generations = Arrays.copyOf( generations, Math.min(maxSlot+1,slot*2) );
+		}
+		else if( releaseOrder.isEmpty() == false )
+		{
+			slot = releaseOrder.remove();
+			freeSlots.clear( slot );
+		}
+		else
+		{
+			throw new JRTIinternalError( "Exceeded max number of handles in use: "+handlesInUse );
+		}
+
+		++handlesInUse;
+		return base + (generationOf(slot) << slotBits) + slot;
+	}
+
+	/**
+	 * Gives the handle back so that its slot can be reused. The slot is moved on to its next
+	 * generation, so the handle itself won't be seen again until the generation wraps.
+	 * <p/>
+	 * Handles that didn't come from this allocator, that come from an older generation of their
+	 * slot, or that have already been released are ignored.
+	 * 
+	 * @return <code>true</code> if the handle was released, <code>false</code> if it was ignored
+	 */
+	public synchronized boolean release( int handle )
+	{
+		long offset = (long)handle - base;
+		if( offset < 0 || offset >= size )
+			return false;
+
+		int slot = (int)offset & slotMask;
+		int generation = (int)offset >>> slotBits;
+		if( slot < firstSlot || slot >= nextFreshSlot || freeSlots.get(slot) )
+			return false;
+		else if( generationOf(slot) != generation )
+			return false;
+
+		if( generations != null )
+			generations[slot] = (generation+1) & generationMask;
+
+		freeSlots.set( slot );
+		releaseOrder.add( slot );
+		--handlesInUse;
+		return true;
+	}
+
+	/**
+	 * Returns <code>true</code> if the given handle was handed out by this allocator and has not
+	 * been released since. Stale handles (those from an older generation of their slot) are not
+	 * current.
+	 */
+	public synchronized boolean isCurrent( int handle )
+	{
+		long offset = (long)handle - base;
+		if( offset < 0 || offset >= size )
+			return false;
+
+		int slot = (int)offset & slotMask;
+		int generation = (int)offset >>> slotBits;
+		return slot >= firstSlot &&
+		       slot < nextFreshSlot &&
+		       freeSlots.get(slot) == false &&
+		       generationOf(slot) == generation;
+	}
+
+	private int generationOf( int slot )
+	{
+		return generations == null ? 0 : generations[slot];
+	}
+
+	/**
+	 * Returns the number of handles that have been handed out and not yet released.
+	 */
+	public synchronized int getHandlesInUse()
+	{
+		return this.handlesInUse;
+	}
+
+	/**
+	 * Returns the largest number of handles that can be in use at any one time.
+	 */
+	public int getCapacity()
+	{
+		return maxSlot - firstSlot + 1;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -19,6 +19,8 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
 
 import org.portico.lrc.LRC;
 import org.portico.lrc.services.object.msg.SendInteraction;
@@ -228,7 +230,8 @@ public class MessageHelpers
 	 * input stream. It uses the {@link LRC} to determine whether or not it should bother inflating
 	 * the message at all. For example, for UpdateAttributes message, it won't bother if the object
 	 * the update relates to hasn't been discovered by the local federate (if we were interested,
-	 * we would have discovered it).
+	 * we would have discovered it). Reflections and interactions are taken from the LRC's
+	 * message pools, so they are reused once processed if pooling has been turned on.
 	 */
 	private static PorticoMessage manuallyUnmarshal( ObjectInputStream ois, LRC lrc ) throws Exception
 	{
@@ -237,7 +240,8 @@ public class MessageHelpers
 		{
 			int objectId = ois.readInt();
 			
-			UpdateAttributes update = new UpdateAttributes();
+			UpdateAttributes update = lrc == null ? new UpdateAttributes() :
+			                                        lrc.getUpdatePool().acquire();
 			update.setObjectId( objectId );
 			update.unmarshal( ois );
 			return update;
@@ -246,7 +250,8 @@ public class MessageHelpers
 		{
 			int interactionId = ois.readInt();
 			
-			SendInteraction interaction = new SendInteraction();
+			SendInteraction interaction = lrc == null ? new SendInteraction() :
+			                                            lrc.getInteractionPool().acquire();
 			interaction.setInteractionId( interactionId );
 			interaction.unmarshal( ois );
 			return interaction;
@@ -257,6 +262,83 @@ public class MessageHelpers
 		}
 	}
 	
+	///////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Packed Value Methods ///////////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Read the tag and handle/value pairs for an update out of a buffer filled by the C++
+	 * bindings, storing them in an {@link UpdateAttributes} taken from the update pool of the
+	 * given LRC. See {@link #unpackValues(ByteBuffer, Map)} for the layout of the buffer. The
+	 * caller must release the message once it has been processed.
+	 */
+	public static UpdateAttributes unpackUpdate( ByteBuffer buffer, int objectId, LRC lrc )
+	{
+		UpdateAttributes update = lrc.getUpdatePool().acquire();
+		try
+		{
+			update.setObjectId( objectId );
+			update.setTag( unpackValues(buffer,update.getAttributes()) );
+			return update;
+		}
+		catch( RuntimeException re )
+		{
+			update.release();
+			throw re;
+		}
+	}
+
+	/**
+	 * Same as {@link #unpackUpdate(ByteBuffer, int, LRC)}, but for a {@link SendInteraction}
+	 * taken from the interaction pool of the given LRC.
+	 */
+	public static SendInteraction unpackInteraction( ByteBuffer buffer, int classId, LRC lrc )
+	{
+		SendInteraction interaction = lrc.getInteractionPool().acquire();
+		try
+		{
+			interaction.setInteractionId( classId );
+			interaction.setTag( unpackValues(buffer,interaction.getParameters()) );
+			return interaction;
+		}
+		catch( RuntimeException re )
+		{
+			interaction.release();
+			throw re;
+		}
+	}
+
+	/**
+	 * Read a tag and a set of handle/value pairs from the given buffer, putting the pairs into
+	 * the given map and returning the tag. The content is read from the start of the buffer up
+	 * to its limit and is laid out as follows, with each int in the buffer's byte order:
+	 * <pre>
+	 *   [tag length][tag bytes][pair count] ([handle][value length][value bytes])*
+	 * </pre>
+	 * A tag length of -1 means that there was no tag at all, giving a null tag.
+	 */
+	public static byte[] unpackValues( ByteBuffer buffer, Map<Integer,byte[]> into )
+	{
+		buffer.rewind();
+		byte[] tag = null;
+		int tagLength = buffer.getInt();
+		if( tagLength >= 0 )
+		{
+			tag = new byte[tagLength];
+			buffer.get( tag );
+		}
+
+		int count = buffer.getInt();
+		for( int i = 0; i < count; i++ )
+		{
+			int handle = buffer.getInt();
+			byte[] value = new byte[buffer.getInt()];
+			buffer.get( value );
+			into.put( handle, value );
+		}
+
+		return tag;
+	}
+
 	///////////////////////////////////////////////////////////////////////////////////////////
 	//////////////////////// Message Compression/Decompression Methods ////////////////////////
 	///////////////////////////////////////////////////////////////////////////////////////////
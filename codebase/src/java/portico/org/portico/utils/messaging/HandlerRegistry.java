@@ -42,7 +42,13 @@ import org.portico.impl.hla13.handlers.SyncRegResultCallbackHandler;
 import org.portico.impl.hla13.handlers.TimeAdvanceGrantCallbackHandler;
 import org.portico.impl.hla13.handlers.TimeConstrainedEnabledCallbackHandler;
 import org.portico.impl.hla13.handlers.TimeRegulationEnabledCallbackHandler;
+import org.portico.impl.hla1516e.handlers.MultipleObjectNameReservationCallbackHandler;
 import org.portico.impl.hla1516e.handlers.ObjectNameReservationCallbackHandler;
+import org.portico.impl.hla1516e.handlers.RequestRetractionCallbackHandler;
+import org.portico.impl.hla1516e.handlers.RestoreAbortCallbackHandler;
+import org.portico.impl.hla1516e.handlers.RestoreStatusResponseCallbackHandler;
+import org.portico.impl.hla1516e.handlers.SaveAbortCallbackHandler;
+import org.portico.impl.hla1516e.handlers.SaveStatusResponseCallbackHandler;
 import org.portico.lrc.compat.JConfigurationException;
 import org.portico.lrc.services.ddm.handlers.incoming.ModifiedRegionHandler;
 import org.portico.lrc.services.ddm.handlers.incoming.NewRegionHandler;
@@ -61,16 +67,22 @@ import org.portico.lrc.services.federation.handlers.outgoing.DestroyFederationHa
 import org.portico.lrc.services.federation.handlers.outgoing.JoinFederationHandler;
 import org.portico.lrc.services.federation.handlers.outgoing.ResignFederationHandler;
 import org.portico.lrc.services.object.handlers.incoming.DiscoverObjectHandler;
+import org.portico.lrc.services.object.handlers.incoming.DiscoverObjectsHandler;
 import org.portico.lrc.services.object.handlers.incoming.ReceiveInteractionHandler;
 import org.portico.lrc.services.object.handlers.incoming.ReflectAttributesHandler;
 import org.portico.lrc.services.object.handlers.incoming.RemoveObjectHandler;
+import org.portico.lrc.services.object.handlers.incoming.RemoveObjectsHandler;
 import org.portico.lrc.services.object.handlers.incoming.RequestClassUpdateIncomingHandler;
 import org.portico.lrc.services.object.handlers.incoming.RequestObjectUpdateIncomingHandler;
 import org.portico.lrc.services.object.handlers.outgoing.DeleteObjectHandler;
+import org.portico.lrc.services.object.handlers.outgoing.DeleteObjectsHandler;
 import org.portico.lrc.services.object.handlers.outgoing.LocalDeleteHandler;
 import org.portico.lrc.services.object.handlers.outgoing.RegisterObjectHandler;
+import org.portico.lrc.services.object.handlers.outgoing.RegisterObjectsHandler;
+import org.portico.lrc.services.object.handlers.outgoing.ReleaseObjectNamesHandler;
 import org.portico.lrc.services.object.handlers.outgoing.RequestClassUpdateHandler;
 import org.portico.lrc.services.object.handlers.outgoing.RequestObjectUpdateHandler;
+import org.portico.lrc.services.object.handlers.outgoing.ReserveMultipleObjectNamesHandler;
 import org.portico.lrc.services.object.handlers.outgoing.ReserveObjectNameHandler;
 import org.portico.lrc.services.object.handlers.outgoing.SendInteractionHandler;
 import org.portico.lrc.services.object.handlers.outgoing.UpdateAttributesHandler;
@@ -102,14 +114,20 @@ import org.portico.lrc.services.pubsub.handlers.outgoing.UnpublishInteractionCla
 import org.portico.lrc.services.pubsub.handlers.outgoing.UnpublishObjectClassHandler;
 import org.portico.lrc.services.pubsub.handlers.outgoing.UnsubscribeInteractionClassHandler;
 import org.portico.lrc.services.pubsub.handlers.outgoing.UnsubscribeObjectClassHandler;
+import org.portico.lrc.services.saverestore.handlers.incoming.RestoreAbortIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.RestoreCompleteIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.RestoreFederationIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.RestoreRequestIncomingHandler;
+import org.portico.lrc.services.saverestore.handlers.incoming.SaveAbortIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.SaveBegunIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.SaveCompleteIncomingHandler;
 import org.portico.lrc.services.saverestore.handlers.incoming.SaveRequestIncomingHandler;
+import org.portico.lrc.services.saverestore.handlers.outgoing.QueryRestoreStatusHandler;
+import org.portico.lrc.services.saverestore.handlers.outgoing.QuerySaveStatusHandler;
+import org.portico.lrc.services.saverestore.handlers.outgoing.RestoreAbortHandler;
 import org.portico.lrc.services.saverestore.handlers.outgoing.RestoreCompleteHandler;
 import org.portico.lrc.services.saverestore.handlers.outgoing.RestoreRequestHandler;
+import org.portico.lrc.services.saverestore.handlers.outgoing.SaveAbortHandler;
 import org.portico.lrc.services.saverestore.handlers.outgoing.SaveBegunHandler;
 import org.portico.lrc.services.saverestore.handlers.outgoing.SaveCompleteHandler;
 import org.portico.lrc.services.saverestore.handlers.outgoing.SaveRequestHandler;
@@ -122,6 +140,7 @@ import org.portico.lrc.services.time.handlers.incoming.DisableRegulationIncoming
 import org.portico.lrc.services.time.handlers.incoming.EnableConstrainedIncomingHandler;
 import org.portico.lrc.services.time.handlers.incoming.EnableRegulationIncomingHandler;
 import org.portico.lrc.services.time.handlers.incoming.ModifyLookaheadIncomingHandler;
+import org.portico.lrc.services.time.handlers.incoming.RetractIncomingHandler;
 import org.portico.lrc.services.time.handlers.incoming.TimeAdvanceGrantedIncomingHandler;
 import org.portico.lrc.services.time.handlers.incoming.TimeAdvanceRequestIncomingHandler;
 import org.portico.lrc.services.time.handlers.outgoing.DisableAsyncDeliveryHandler;
@@ -133,6 +152,7 @@ import org.portico.lrc.services.time.handlers.outgoing.EnableTimeRegulationHandl
 import org.portico.lrc.services.time.handlers.outgoing.FlushQueueRequestHandler;
 import org.portico.lrc.services.time.handlers.outgoing.ModifyLookaheadHandler;
 import org.portico.lrc.services.time.handlers.outgoing.NextEventRequestHandler;
+import org.portico.lrc.services.time.handlers.outgoing.RetractHandler;
 import org.portico.lrc.services.time.handlers.outgoing.TimeAdvanceRequestHandler;
 
 /**
@@ -222,21 +242,29 @@ public class HandlerRegistry
 		///////////////////////////////////////////////////////
 		// Outgoing
 		register( DeleteObjectHandler.class );
+		register( DeleteObjectsHandler.class );
 		register( LocalDeleteHandler.class );
 		register( RegisterObjectHandler.class );
+		register( RegisterObjectsHandler.class );
+		register( ReleaseObjectNamesHandler.class );
 		register( RequestClassUpdateHandler.class );
 		register( RequestObjectUpdateHandler.class );
+		register( ReserveMultipleObjectNamesHandler.class );
 		register( ReserveObjectNameHandler.class );
 		register( SendInteractionHandler.class );
 		register( UpdateAttributesHandler.class );
 		
 		// Incoming
 		register( DiscoverObjectHandler.class );
+		register( DiscoverObjectsHandler.class );
 		register( ReceiveInteractionHandler.class );
 		register( ReflectAttributesHandler.class );
 		register( RemoveObjectHandler.class );
+		register( RemoveObjectsHandler.class );
 		register( RequestClassUpdateIncomingHandler.class );
 		register( RequestObjectUpdateIncomingHandler.class );
+		register( org.portico.lrc.services.object.handlers.incoming.ReleaseObjectNamesHandler.class );
+		register( org.portico.lrc.services.object.handlers.incoming.ReserveMultipleObjectNamesHandler.class );
 		register( org.portico.lrc.services.object.handlers.incoming.ReserveObjectNameHandler.class );
 
 		///////////////////////////////////////////////////////
@@ -252,6 +280,7 @@ public class HandlerRegistry
 		register( FlushQueueRequestHandler.class );
 		register( ModifyLookaheadHandler.class );
 		register( NextEventRequestHandler.class );
+		register( RetractHandler.class );
 		register( TimeAdvanceRequestHandler.class );
 		
 		// Incoming
@@ -260,6 +289,7 @@ public class HandlerRegistry
 		register( EnableConstrainedIncomingHandler.class );
 		register( EnableRegulationIncomingHandler.class );
 		register( ModifyLookaheadIncomingHandler.class );
+		register( RetractIncomingHandler.class );
 		register( TimeAdvanceGrantedIncomingHandler.class );
 		register( TimeAdvanceRequestIncomingHandler.class );
 
@@ -267,16 +297,22 @@ public class HandlerRegistry
 		// Save/Restore   /////////////////////////////////////
 		///////////////////////////////////////////////////////
 		// Outgoing
+		register( QueryRestoreStatusHandler.class );
+		register( QuerySaveStatusHandler.class );
+		register( RestoreAbortHandler.class );
 		register( RestoreCompleteHandler.class );
 		register( RestoreRequestHandler.class );
+		register( SaveAbortHandler.class );
 		register( SaveBegunHandler.class );
 		register( SaveCompleteHandler.class );
 		register( SaveRequestHandler.class );
 		
 		// Incoming
+		register( RestoreAbortIncomingHandler.class );
 		register( RestoreCompleteIncomingHandler.class );
 		register( RestoreFederationIncomingHandler.class );
 		register( RestoreRequestIncomingHandler.class );
+		register( SaveAbortIncomingHandler.class );
 		register( SaveBegunIncomingHandler.class );
 		register( SaveCompleteIncomingHandler.class );
 		register( SaveRequestIncomingHandler.class );
@@ -370,17 +406,23 @@ public class HandlerRegistry
 		register( org.portico.impl.hla1516e.handlers.CancelOwnershipRequestCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.DiscoverObjectCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.InitiateSaveCallbackHandler.class );
+		register( MultipleObjectNameReservationCallbackHandler.class );
 		register( ObjectNameReservationCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.ProvideUpdateCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.ReceiveInteractionCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.ReflectAttributesCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RemoveObjectCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RequestAttributeReleaseCallbackHandler.class );
+		register( RequestRetractionCallbackHandler.class );
+		register( RestoreAbortCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RestoreBegunCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RestoreCompleteCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RestoreInitiateCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.RestoreRequestCallbackHandler.class );
+		register( RestoreStatusResponseCallbackHandler.class );
+		register( SaveAbortCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.SaveCompleteCallbackHandler.class );
+		register( SaveStatusResponseCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.SyncAchievedCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.SyncAnnounceCallbackHandler.class );
 		register( org.portico.impl.hla1516e.handlers.SyncRegResultCallbackHandler.class );
@@ -30,12 +30,17 @@ import org.apache.log4j.Logger;
  * anywhere an instance of {@link IMessageHandler} can be. This includes being embedded into other
  * chains.
  * <p/>
- * <b>Veto Exceptions</b>
+ * <b>Vetoes</b>
  * <p/>
- * Message chains will not explicitly handle veto exceptions, it will just let them bubble up to
- * the {@link MessageSink}. If they were handled locally, in situations where a sink contains a
- * chain of handlers, and one of those is a chain, then an exception in the inner chain would not
- * end processing, it would only end processing for the handlers in the inner chain.
+ * When a handler {@link MessageContext#veto() vetoes} a message, the chain stops passing it to
+ * the remaining handlers and returns. The veto is left in the context so that it is seen by
+ * any enclosing chain and ultimately by the {@link MessageSink}, which decides what to do with
+ * it. If the veto were cleared here, in situations where a sink contains a chain of handlers, and
+ * one of those is a chain, then a veto in the inner chain would not end processing, it would
+ * only end processing for the handlers in the inner chain.
+ * <p/>
+ * Message chains will not explicitly handle {@link VetoException}s, they will just let them
+ * bubble up to the {@link MessageSink} for the same reason.
  */
 public class MessageChain extends AbstractMessageHandler implements IMessageHandler
 {
@@ -65,7 +70,7 @@ public class MessageChain extends AbstractMessageHandler implements IMessageHand
 	//----------------------------------------------------------
 	/**
 	 * Passes the context on to each {@link IMessageHandler} in the chain. If any of them throw
-	 * an exception, this stops the others receiving the message.
+	 * an exception or veto the message, this stops the others receiving the message.
 	 */
 	public void process( MessageContext context ) throws Exception
 	{
@@ -76,6 +81,8 @@ public class MessageChain extends AbstractMessageHandler implements IMessageHand
 				              ", handler="+handler.getClass().getCanonicalName() );
 
 			handler.process( context );
+			if( context.isVetoed() )
+				return;
 		}
 	}
 
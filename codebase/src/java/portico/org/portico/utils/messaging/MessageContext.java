@@ -23,6 +23,12 @@ import java.util.HashMap;
 /**
  * A MessageContext aggregates together a {@link PorticoMessage} and a {@link ResponseMessage} into
  * a single logical unit that can be passed around the various messaging framework components.
+ * <p/>
+ * The context also carries the veto status of the message. A handler that wants to end any
+ * further processing of the message should call {@link #veto()} and return. The {@link
+ * MessageChain} and {@link MessageSink} check this status after each handler and act on it in
+ * the same way they do for a {@link VetoException}, without the cost of creating and throwing
+ * an exception for what is a routine outcome (such as discarding our own echoed messages).
  */
 public class MessageContext implements Externalizable
 {
@@ -36,6 +42,7 @@ public class MessageContext implements Externalizable
 	//----------------------------------------------------------
 	private PorticoMessage request;
 	private ResponseMessage response;
+	private boolean vetoed;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -44,6 +51,7 @@ public class MessageContext implements Externalizable
 	public MessageContext( PorticoMessage request )
 	{
 		this.request = request;
+		this.vetoed = false;
 	}
 
 	//----------------------------------------------------------
@@ -203,6 +211,36 @@ public class MessageContext implements Externalizable
 		return this.response != null;
 	}
 
+	////////////////////////////////////////////////////////////
+	////////////////// Veto Handling Methods ///////////////////
+	////////////////////////////////////////////////////////////
+	/**
+	 * Marks the message as vetoed. Once the current handler returns, no further handlers in the
+	 * chain will be given the message. See {@link MessageSink} for a description of how a veto
+	 * is treated at each stage of processing.
+	 */
+	public void veto()
+	{
+		this.vetoed = true;
+	}
+
+	/**
+	 * Returns <code>true</code> if a handler has vetoed this message, <code>false</code> otherwise
+	 */
+	public boolean isVetoed()
+	{
+		return this.vetoed;
+	}
+
+	/**
+	 * Removes any veto from the context. This is used by the {@link MessageSink} once a veto has
+	 * been dealt with, so that later stages (such as the post-processing handlers) can still run.
+	 */
+	public void clearVeto()
+	{
+		this.vetoed = false;
+	}
+
 	////////////////////////////////////////////////////////////
 	////////////////////// Helper Methods //////////////////////
 	////////////////////////////////////////////////////////////
@@ -217,12 +255,14 @@ public class MessageContext implements Externalizable
 	}
 
 	/**
-	 * Replaces the current request with the given argument and removes any existing response.
+	 * Replaces the current request with the given argument and removes any existing response
+	 * or veto.
 	 */
 	public void clear( PorticoMessage newRequest )
 	{
 		this.request = newRequest;
 		this.response = null;
+		this.vetoed = false;
 	}
 
 	/**
@@ -0,0 +1,218 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.utils.messaging;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.log4j.Logger;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.compat.JConfigurationException;
+
+/**
+ * A pool of recyclable {@link PooledMessage}s of a single type. Messages are taken from the pool
+ * with {@link #acquire()} and find their own way back when their last reference is released (see
+ * {@link PooledMessage#release()}). If the pool is empty when a message is asked for, a new one
+ * is created. If it is full when a message comes back, the message is left for the garbage
+ * collector. The pool can be used from any number of threads.
+ * <p/>
+ * Pooling is off unless {@link PorticoConstants#PROPERTY_MESSAGE_POOL} is turned on. When it is
+ * off, {@link #acquire()} just creates a new message each time, and as that message isn't
+ * reference counted, releasing it does nothing.
+ * <p/>
+ * <b>Leak Detection</b>
+ * <p/>
+ * If {@link PorticoConstants#PROPERTY_MESSAGE_POOL_DEBUG} is turned on, the pool keeps a weak
+ * reference to every message it hands out, along with where it was acquired. If the garbage
+ * collector finds a message that was never released, a warning with the acquisition point is
+ * logged the next time a message is acquired. A leak isn't fatal, the pool just has to create
+ * another message to replace it, but it means something isn't releasing what it was given.
+ */
+public abstract class MessagePool<T extends PooledMessage>
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String name;
+	private Logger logger;
+	private boolean enabled;
+	private int capacity;
+
+	private ConcurrentLinkedQueue<T> free;
+	private AtomicInteger freeCount;
+	private AtomicLong created;
+	private AtomicLong reused;
+
+	// leak detection, only used in debug mode
+	private boolean debug;
+	private ReferenceQueue<PooledMessage> collected;
+	private Set<Tracker> outstanding;
+	private AtomicLong leaked;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	/**
+	 * @param name The name of the pool, used when logging
+	 */
+	protected MessagePool( String name ) throws JConfigurationException
+	{
+		this.name = name;
+		this.logger = Logger.getLogger( "portico.lrc" );
+		this.enabled = PorticoConstants.isMessagePoolEnabled();
+		this.capacity = PorticoConstants.getMessagePoolSize();
+
+		this.free = new ConcurrentLinkedQueue<T>();
+		this.freeCount = new AtomicInteger( 0 );
+		this.created = new AtomicLong( 0 );
+		this.reused = new AtomicLong( 0 );
+
+		this.debug = enabled && PorticoConstants.isMessagePoolDebug();
+		this.collected = new ReferenceQueue<PooledMessage>();
+		this.outstanding = Collections.newSetFromMap( new ConcurrentHashMap<Tracker,Boolean>() );
+		this.leaked = new AtomicLong( 0 );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Create a brand new message for the pool. Called whenever the pool is empty.
+	 */
+	protected abstract T create();
+
+	/**
+	 * Get a message from the pool, creating one if there are none available. The caller holds
+	 * the only reference to the message and must {@link PooledMessage#release() release} it (or
+	 * hand it to something that will) once they are finished with it.
+	 */
+	public T acquire()
+	{
+		if( enabled == false )
+			return create();
+
+		T message = free.poll();
+		if( message == null )
+		{
+			message = create();
+			created.incrementAndGet();
+		}
+		else
+		{
+			freeCount.decrementAndGet();
+			reused.incrementAndGet();
+		}
+
+		message.acquired( this );
+		if( debug )
+			track( message );
+
+		return message;
+	}
+
+	/**
+	 * Called by a message from this pool when its last reference has been released
+	 */
+	@SuppressWarnings("unchecked")
+	void recycle( PooledMessage message )
+	{
+		if( message.tracker != null )
+		{
+			outstanding.remove( message.tracker );
+			message.tracker.clear();
+			message.tracker = null;
+		}
+
+		message.reset();
+		if( freeCount.incrementAndGet() <= capacity )
+			free.offer( (T)message );
+		else
+			freeCount.decrementAndGet();
+	}
+
+	/**
+	 * Record where the message was acquired, and report any messages that have been garbage
+	 * collected without being released since we last looked
+	 */
+	private void track( T message )
+	{
+		Tracker collectedTracker = (Tracker)collected.poll();
+		while( collectedTracker != null )
+		{
+			if( outstanding.remove(collectedTracker) )
+			{
+				leaked.incrementAndGet();
+				logger.warn( "LEAK "+name+" message was never released, it was acquired at:",
+				             collectedTracker.acquiredAt );
+			}
+
+			collectedTracker = (Tracker)collected.poll();
+		}
+
+		message.tracker = new Tracker( message, collected );
+		outstanding.add( message.tracker );
+	}
+
+	public boolean isEnabled()
+	{
+		return this.enabled;
+	}
+
+	/**
+	 * @return The number of messages that were found to have been garbage collected without
+	 *         being released. Only counted when leak detection is on.
+	 */
+	public long getLeakCount()
+	{
+		return this.leaked.get();
+	}
+
+	public String toString()
+	{
+		return name+" pool: created="+created+", reused="+reused+", free="+freeCount+
+		       (debug ? ", leaked="+leaked : "");
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	///////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Inner Class: Tracker //////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Weak reference to a message that has been handed out, along with where it was acquired
+	 */
+	static class Tracker extends WeakReference<PooledMessage>
+	{
+		private Throwable acquiredAt;
+
+		private Tracker( PooledMessage message, ReferenceQueue<PooledMessage> queue )
+		{
+			super( message, queue );
+			this.acquiredAt = new Throwable( "acquired here" );
+		}
+	}
+}
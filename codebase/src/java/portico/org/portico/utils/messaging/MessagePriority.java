@@ -0,0 +1,53 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.utils.messaging;
+
+/**
+ * Classifies how urgently a {@link PorticoMessage} should be moved through the connection and
+ * the receiving {@link org.portico.lrc.LRCMessageQueue LRCMessageQueue}. Bulk data (reflections,
+ * interactions and so on) is {@link #NORMAL}, while the small amount of traffic that federates
+ * block on (time advancement, synchronization points, ownership negotiation) can be pushed past
+ * it.
+ * <p/>
+ * Nothing here relaxes per-sender FIFO delivery at the connection level. A time advance request
+ * is a promise that the sender has already sent everything below a given time, so it must never
+ * overtake the sender's earlier timestamped messages. The levels only differ in how the message
+ * is sent (bundled or not) and where it is queued once it arrives.
+ */
+public enum MessagePriority
+{
+	/**
+	 * Default. Bundled and subject to flow control on the way out and placed at the back of the
+	 * receive-order queue on the way in.
+	 */
+	NORMAL,
+
+	/**
+	 * Sent on its own (no bundling or flow control). When received it may be moved ahead of
+	 * queued traffic from other federates, but it will stay behind anything that is already
+	 * queued from its own sender. Use this for messages that refer to state created by earlier
+	 * messages (for example, ownership negotiation refers to registered object instances).
+	 */
+	CONTROL,
+
+	/**
+	 * Sent on its own (no bundling or flow control). When received it is moved ahead of all
+	 * queued receive-order traffic. Only use this for messages that do not depend on any
+	 * earlier receive-order message, which in practice means the time management messages that
+	 * feed into LBTS calculations. Timestamped messages are never held in the receive-order
+	 * queue, so they are not affected.
+	 */
+	EXPEDITED;
+}
@@ -69,14 +69,19 @@ import static org.portico.utils.messaging.Module.className;
  * If either of the handlers is marked as {@link IMessageHandler#isAugmentable() not augmentable},
  * then the attempt to augment the handlers will fail and nothing will change.
  * <p/>
- * <b>Veto Exceptions</b>
+ * <b>Vetoes</b>
  * <p/>
- * When a {@link VetoException} is found during processing, the sink will stop any further
- * processing with one exception. If the exception happens in a regular handler, the global
- * post-processing handlers will still be given the opportunity to run. If a veto happens in
- * the global pre-processing chain, no regular or post-processing handlers will run. Before
+ * When a handler {@link MessageContext#veto() vetoes} a message during processing, the sink will
+ * stop any further processing with one exception. If the veto happens in a regular handler, the
+ * global post-processing handlers will still be given the opportunity to run. If a veto happens
+ * in the global pre-processing chain, no regular or post-processing handlers will run. Before
  * returning processing after a veto, the sink will check to see if a response message has been
  * filled out. If one hasn't, it will <b><i>automatically mark the call as a success</i></b>.
+ * <p/>
+ * Handlers may also veto by throwing a {@link VetoException}. This is treated in exactly the
+ * same way as a veto set on the context, and is only supported so that existing handlers that
+ * were written this way continue to work. New handlers should veto via the context, as it
+ * avoids the cost of creating an exception for what is usually a very common outcome.
  */
 public class MessageSink extends AbstractMessageHandler
 {
@@ -163,11 +168,12 @@ public class MessageSink extends AbstractMessageHandler
 		}
 		catch( VetoException ve )
 		{
-			if( logger.isTraceEnabled() )
-				logger.trace( "Veto!" );
+			context.veto();
+		}
 
-			if( context.getResponse() == null )
-				context.success();
+		if( context.isVetoed() )
+		{
+			vetoed( context );
 			return;
 		}
 		
@@ -188,13 +194,12 @@ public class MessageSink extends AbstractMessageHandler
 			}
 			catch( VetoException ve )
 			{
-				// swallow this one up and let the post-process global handlers run
-				if( context.getResponse() == null )
-					context.success();
-				
-				if( logger.isTraceEnabled() )
-					logger.trace( "Veto!" );
+				context.veto();
 			}
+
+			// swallow any veto and let the post-process global handlers run
+			if( context.isVetoed() )
+				vetoed( context );
 		}
 		else
 		{
@@ -215,13 +220,27 @@ public class MessageSink extends AbstractMessageHandler
 		}
 		catch( VetoException ve )
 		{
-			if( logger.isTraceEnabled() )
-				logger.trace( "Veto!" );
-
-			if( context.getResponse() == null )
-				context.success();
-			return;
+			context.veto();
 		}
+
+		if( context.isVetoed() )
+			vetoed( context );
+	}
+
+	/**
+	 * Called when processing of a message has been vetoed. If no response has been filled out
+	 * yet, the call is marked as a success. The veto is then cleared, as it has been dealt with
+	 * here and shouldn't stop any handlers outside of this sink.
+	 */
+	private void vetoed( MessageContext context )
+	{
+		if( logger.isTraceEnabled() )
+			logger.trace( "Veto!" );
+
+		if( context.getResponse() == null )
+			context.success();
+
+		context.clearVeto();
 	}
 
 	
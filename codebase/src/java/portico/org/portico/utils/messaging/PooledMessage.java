@@ -0,0 +1,171 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.utils.messaging;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+import org.portico.lrc.PorticoConstants;
+
+/**
+ * Parent class for the high-volume message types that can be recycled through a
+ * {@link MessagePool} rather than left for the garbage collector. A message that came from a pool
+ * is reference counted. It starts out with a single reference held by whoever acquired it, and is
+ * handed back to its pool (and reset) when the last reference is released. Anyone that needs to
+ * hold on to a pooled message beyond the point where its owner will release it must call
+ * {@link #retain()} first, and {@link #release()} when they are done.
+ * <p/>
+ * Clones share their content (the value maps in particular) with the message they were cloned
+ * from. So that the original isn't reset underneath them, each clone of a pooled message holds a
+ * reference to it until the clone itself is released. Clones never go back into a pool.
+ * <p/>
+ * For messages that weren't acquired from a pool (or cloned from one that was), both
+ * {@link #retain()} and {@link #release()} do nothing. Code handling messages can therefore
+ * release them without caring where they came from.
+ */
+public abstract class PooledMessage extends PorticoMessage
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long serialVersionUID = 98121116105109L;
+
+	private static final AtomicIntegerFieldUpdater<PooledMessage> REFERENCES =
+		AtomicIntegerFieldUpdater.newUpdater( PooledMessage.class, "references" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	// none of these are ever sent over the wire
+	private transient MessagePool<?> pool;       // null if we didn't come from a pool
+	private transient PooledMessage original;    // pooled message we were cloned from (if any)
+	private transient volatile int references;
+	transient MessagePool.Tracker tracker;        // only used for leak detection
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	protected PooledMessage()
+	{
+		super();
+		this.pool = null;
+		this.original = null;
+		this.references = 0;
+		this.tracker = null;
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Called by the pool when it hands this message out
+	 */
+	void acquired( MessagePool<?> pool )
+	{
+		this.pool = pool;
+		this.references = 1;
+	}
+
+	/**
+	 * @return <code>true</code> if this message is reference counted, which is the case if it
+	 *         came from a pool or is a clone of one that did
+	 */
+	public boolean isPooled()
+	{
+		return this.pool != null || this.original != null;
+	}
+
+	/**
+	 * Take an additional reference to this message so that it won't be recycled until
+	 * {@link #release()} has been called once more. Does nothing for unpooled messages.
+	 */
+	public void retain()
+	{
+		if( isPooled() )
+			REFERENCES.incrementAndGet( this );
+	}
+
+	/**
+	 * Give up a reference to this message. When the last reference is released, the message is
+	 * reset and returned to its pool (or, for a clone, gives up its reference to the original).
+	 * The message <b>must not</b> be used again by the caller after this. Does nothing for
+	 * unpooled messages.
+	 * 
+	 * @throws IllegalStateException If the message has been released more often than retained
+	 */
+	public void release()
+	{
+		if( isPooled() == false )
+			return;
+
+		int remaining = REFERENCES.decrementAndGet( this );
+		if( remaining > 0 )
+			return;
+		else if( remaining < 0 )
+			throw new IllegalStateException( getIdentifier()+" released more often than retained" );
+
+		// that was the last reference, let go of the message we share content with
+		PooledMessage shared = this.original;
+		this.original = null;
+		if( shared != null )
+			shared.release();
+
+		if( pool != null )
+			pool.recycle( this );
+	}
+
+	/**
+	 * Put this message back into the state it was in when it was first created, ready to be
+	 * used again. Subclasses must call up to this so that the common message settings are
+	 * cleared. Any collections should be cleared rather than replaced so that they can be
+	 * reused along with the message.
+	 */
+	protected void reset()
+	{
+		this.sourceFederate = PorticoConstants.NULL_HANDLE;
+		this.targetFederate = PorticoConstants.NULL_HANDLE;
+		this.timestamp = PorticoConstants.NULL_TIME;
+		this.immediate = false;
+		this.retractionHandle = PorticoConstants.NULL_HANDLE;
+	}
+
+	/**
+	 * Clones share content with this message, so if we are reference counted, the clone takes
+	 * a reference to us (or to the pooled message we are a clone of) which it gives up when it
+	 * is released.
+	 */
+	@Override
+	public Object clone() throws CloneNotSupportedException
+	{
+		PooledMessage clone = (PooledMessage)super.clone();
+		clone.pool = null;
+		clone.original = null;
+		clone.references = 0;
+		clone.tracker = null;
+
+		PooledMessage root = this.original != null ? this.original : this;
+		if( root.pool != null )
+		{
+			root.retain();
+			clone.original = root;
+			clone.references = 1;
+		}
+
+		return clone;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
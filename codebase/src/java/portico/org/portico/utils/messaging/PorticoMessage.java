@@ -67,6 +67,7 @@ public class PorticoMessage implements Serializable, Cloneable
 	protected int targetFederate;
 	protected double timestamp;
 	protected boolean immediate; // does this message require immediate processing?
+	protected int retractionHandle;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -79,6 +80,7 @@ public class PorticoMessage implements Serializable, Cloneable
 		this.targetFederate = PorticoConstants.NULL_HANDLE;
 		this.timestamp = PorticoConstants.NULL_TIME;
 		this.immediate = false;
+		this.retractionHandle = PorticoConstants.NULL_HANDLE;
 	}
 
 	//----------------------------------------------------------
@@ -144,6 +146,29 @@ public class PorticoMessage implements Serializable, Cloneable
 		return false;
 	}
 
+	/**
+	 * Returns the handle the sender can use to retract this message, or
+	 * {@link PorticoConstants#NULL_HANDLE} if it can't be retracted. Only timestamped "messages"
+	 * (see {@link #isSpecDefinedMessage()}) sent by a regulating federate are given one.
+	 */
+	public int getRetractionHandle()
+	{
+		return this.retractionHandle;
+	}
+
+	public void setRetractionHandle( int retractionHandle )
+	{
+		this.retractionHandle = retractionHandle;
+	}
+
+	/**
+	 * Returns <code>true</code> if this message has been given a retraction handle.
+	 */
+	public boolean isRetractable()
+	{
+		return this.retractionHandle != PorticoConstants.NULL_HANDLE;
+	}
+
 	/**
 	 * Is this callback type a "message" as defined in the HLA specification. The specification
 	 * defines "messages" as follows:
@@ -162,6 +187,19 @@ public class PorticoMessage implements Serializable, Cloneable
 		return false;
 	}
 	
+	/**
+	 * Returns the {@link MessagePriority} of this message. Connections use this to decide
+	 * whether the message can skip any bundling they do, and the receiving queue uses it to
+	 * decide whether it can be moved ahead of bulk traffic.
+	 * 
+	 * @return Hardcoded to return {@link MessagePriority#NORMAL}. Should be overridden by any
+	 * control messages that federates regularly block on.
+	 */
+	public MessagePriority getPriority()
+	{
+		return MessagePriority.NORMAL;
+	}
+
 	/**
 	 * Returns <code>true</code> if there is no target federate for this message
 	 */
@@ -242,6 +280,7 @@ public class PorticoMessage implements Serializable, Cloneable
 		this.targetFederate = input.readInt();
 		this.timestamp = input.readDouble();
 		this.immediate = input.readBoolean();
+		this.retractionHandle = input.readInt();
 	}
 	
 	public void writeExternal( ObjectOutput output ) throws IOException
@@ -250,6 +289,7 @@ public class PorticoMessage implements Serializable, Cloneable
 		output.writeInt( targetFederate );
 		output.writeDouble( timestamp );
 		output.writeBoolean( immediate );
+		output.writeInt( retractionHandle );
 	}
 	
 	protected String bytesToString( byte[] bytes )
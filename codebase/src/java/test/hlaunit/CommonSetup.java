@@ -18,6 +18,7 @@ import java.io.File;
 
 import org.portico.bindings.jgroups.Configuration;
 import org.portico.bindings.jvm.JVMConnection;
+import org.portico.bindings.shm.ShmConnection;
 import org.portico.lrc.PorticoConstants;
 import org.portico.utils.logging.Log4jConfigurator;
 import org.testng.Assert;
@@ -118,6 +119,11 @@ public class CommonSetup
 					System.setProperty( "portico.jgroups.udp.bindAddress", jgroupsInterface );
 				}
 			}
+			else if( binding.equals("shm") )
+			{
+				System.setProperty( PorticoConstants.PROPERTY_CONNECTION, "shm" );
+				TIMEOUT = ShmConnection.CONNECTION_TIMEOUT;
+			}
 			else if( binding.equals("ptalk") )
 			{
 				System.setProperty( PorticoConstants.PROPERTY_CONNECTION,
@@ -531,6 +531,93 @@ public class TestFederate
 		}
 	}
 
+	////////////////////////////////////////////////////////////
+	///////////// Save and Restore Helper Methods //////////////
+	////////////////////////////////////////////////////////////
+	/**
+	 * Request a federation save with the given label. If there is an exception, Assert.fail()
+	 * will be used to kill the test.
+	 */
+	public void quickSaveRequest( String label )
+	{
+		try
+		{
+			rtiamb.requestFederationSave( label );
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception requesting federation save: " + e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Tell the RTI that this federate has begun its save. If there is an exception,
+	 * Assert.fail() will be used to kill the test.
+	 */
+	public void quickSaveBegun()
+	{
+		try
+		{
+			rtiamb.federateSaveBegun();
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception informing RTI that save has begun: " + e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Tell the RTI that this federate has successfully completed its save. If there is an
+	 * exception, Assert.fail() will be used to kill the test.
+	 */
+	public void quickSaveComplete()
+	{
+		try
+		{
+			rtiamb.federateSaveComplete();
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception informing RTI that save was completed: " + e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Request a federation restore with the given label and wait until the RTI tells us that
+	 * the request was accepted. If there is an exception, or the request is rejected,
+	 * Assert.fail() will be used to kill the test.
+	 */
+	public void quickRestoreRequest( String label )
+	{
+		try
+		{
+			rtiamb.requestFederationRestore( label );
+			fedamb.waitForRestoreRequestSuccess( label );
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception requesting federation restore with label ["+label+"]: " +
+			             e.getMessage(), e );
+		}
+	}
+
+	/**
+	 * Tell the RTI that this federate has successfully completed its restore. If there is an
+	 * exception, Assert.fail() will be used to kill the test.
+	 */
+	public void quickRestoreComplete()
+	{
+		try
+		{
+			rtiamb.federateRestoreComplete();
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception informing RTI that restore was completed: " + e.getMessage(),
+			             e );
+		}
+	}
+
 	/////////////////////////////////////////////////////////////
 	/////////// Publish and Subscribe helper methods ////////////
 	/////////////////////////////////////////////////////////////
@@ -30,7 +30,10 @@ import hla.rti1516e.AttributeHandle;
 import hla.rti1516e.AttributeHandleSet;
 import hla.rti1516e.AttributeHandleValueMap;
 import hla.rti1516e.CallbackModel;
+import hla.rti1516e.FederateHandle;
+import hla.rti1516e.FederateHandleSaveStatusPair;
 import hla.rti1516e.FederateHandleSet;
+import hla.rti1516e.FederateRestoreStatus;
 import hla.rti1516e.InteractionClassHandle;
 import hla.rti1516e.LogicalTime;
 import hla.rti1516e.MessageRetractionHandle;
@@ -38,6 +41,8 @@ import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.ObjectInstanceHandle;
 import hla.rti1516e.OrderType;
 import hla.rti1516e.ParameterHandleValueMap;
+import hla.rti1516e.RestoreFailureReason;
+import hla.rti1516e.SaveFailureReason;
 import hla.rti1516e.SynchronizationPointFailureReason;
 import hla.rti1516e.TransportationTypeHandle;
 import hla.rti1516e.NullFederateAmbassador;
@@ -78,6 +83,20 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 	
 	protected List<TestInteraction> roInteractions;
 	protected List<TestInteraction> tsoInteractions;
+	protected List<MessageRetractionHandle> retractionsRequested;
+
+	public String saveInitiated; // label of the last save we were asked to perform
+	public double saveTime; // time of the last save we were asked to perform, -1 if none
+	public Boolean saved; // null until we're told whether the last save worked
+	public SaveFailureReason notSavedReason;
+	public FederateHandleSaveStatusPair[] saveStatus;
+	public String restoreRequestSucceeded;
+	public String restoreRequestFailed;
+	public boolean restoreBegun;
+	public String restoreInitiated; // label of the last restore we were asked to perform
+	public Boolean restored; // null until we're told whether the last restore worked
+	public RestoreFailureReason notRestoredReason;
+	public FederateRestoreStatus[] restoreStatus;
 
 	//----------------------------------------------------------
 	//                      CONSTRUCTORS
@@ -175,6 +194,20 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 		
 		this.roInteractions = new Vector<TestInteraction>();
 		this.tsoInteractions = new Vector<TestInteraction>();
+		this.retractionsRequested = new Vector<MessageRetractionHandle>();
+
+		this.saveInitiated = null;
+		this.saveTime = -1;
+		this.saved = null;
+		this.notSavedReason = null;
+		this.saveStatus = null;
+		this.restoreRequestSucceeded = null;
+		this.restoreRequestFailed = null;
+		this.restoreBegun = false;
+		this.restoreInitiated = null;
+		this.restored = null;
+		this.notRestoredReason = null;
+		this.restoreStatus = null;
 	}
 	
 	//////////////////////////////////////////////////////////////////////////////////////////
@@ -1178,6 +1211,266 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 		Assert.fail( "Received time advance to [" + toTime + "] but was EXPECTING A TIMEOUT!" );
 	}
 
+	/**
+	 * Wait until we are asked to retract a message we were given, returning the handle of that
+	 * message. If there is no request before the timeout, a TimeoutException will be thrown.
+	 */
+	public MessageRetractionHandle waitForRetractionRequest()
+	{
+		long finishTime = getTimeout();
+		while( retractionsRequested.isEmpty() )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for retraction request" );
+
+			waitForEvent();
+		}
+
+		return retractionsRequested.remove( 0 );
+	}
+
+	///////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////// Save & Restore Helper Methods //////////////////////////////
+	///////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Wait until we are asked to perform a federation save with the given label. If that
+	 * doesn't happen before the timeout, a TimeoutException will be thrown.
+	 */
+	public void waitForSaveInitiated( String label )
+	{
+		long finishTime = getTimeout();
+		while( label.equals(saveInitiated) == false )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for initiate save ["+label+"]" );
+
+			waitForEvent();
+		}
+	}
+
+	/**
+	 * The opposite of {@link #waitForSaveInitiated(String)}, this method expects a timeout to
+	 * occur and will fail the current test if one doesn't happen.
+	 */
+	public void waitForSaveInitiatedTimeout( String label )
+	{
+		try
+		{
+			waitForSaveInitiated( label );
+			Assert.fail( "Expected timeout waiting for save initiated with label ["+label+
+			             "], but received initiation notice" );
+		}
+		catch( TimeoutException te )
+		{
+			// success!
+		}
+	}
+
+	/**
+	 * Wait until we are told whether the last federation save worked or not. If we don't get
+	 * told before the timeout, a TimeoutException will be thrown.
+	 */
+	private boolean waitForSaveResult()
+	{
+		long finishTime = getTimeout();
+		while( saved == null )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for federation save result" );
+
+			waitForEvent();
+		}
+
+		return saved;
+	}
+
+	/**
+	 * Wait until the federation has successfully saved. If we get a failure notice, or no notice
+	 * at all before the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForFederationSaved()
+	{
+		if( waitForSaveResult() == false )
+		{
+			throw new TimeoutException( "Timeout waiting for federation to save, got failure "+
+			                            "notice: "+notSavedReason );
+		}
+	}
+
+	/**
+	 * Wait until we are told that the federation did not save, returning the reason given. If
+	 * we get a success notice, or no notice at all before the timeout, a TimeoutException is
+	 * thrown.
+	 */
+	public SaveFailureReason waitForFederationNotSaved()
+	{
+		if( waitForSaveResult() )
+		{
+			throw new TimeoutException( "Timeout waiting for \"federation not saved\" notice: "+
+			                            "got federation saved notice" );
+		}
+
+		return notSavedReason;
+	}
+
+	/**
+	 * Wait for a response to a save status query and return it. If we don't get one before the
+	 * timeout, a TimeoutException is thrown.
+	 */
+	public FederateHandleSaveStatusPair[] waitForSaveStatusResponse()
+	{
+		long finishTime = getTimeout();
+		while( saveStatus == null )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for save status response" );
+
+			waitForEvent();
+		}
+
+		FederateHandleSaveStatusPair[] response = saveStatus;
+		saveStatus = null;
+		return response;
+	}
+
+	/**
+	 * Wait until we are told that our request to restore with the given label was accepted. If
+	 * it is rejected, or we get no notice before the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForRestoreRequestSuccess( String label )
+	{
+		long finishTime = getTimeout();
+		while( label.equals(restoreRequestSucceeded) == false )
+		{
+			if( label.equals(restoreRequestFailed) )
+				throw new TimeoutException( "Restore request ["+label+"] failed" );
+			else if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for restore request success notice" );
+
+			waitForEvent();
+		}
+	}
+
+	/**
+	 * Wait until we are told that our request to restore with the given label was rejected. If
+	 * it is accepted, or we get no notice before the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForRestoreRequestFailure( String label )
+	{
+		long finishTime = getTimeout();
+		while( label.equals(restoreRequestFailed) == false )
+		{
+			if( label.equals(restoreRequestSucceeded) )
+				throw new TimeoutException( "Restore request ["+label+"] succeeded" );
+			else if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for restore request failure notice" );
+
+			waitForEvent();
+		}
+	}
+
+	/**
+	 * Wait until we are told that a federation restore has begun. If this doesn't happen before
+	 * the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForFederationRestoreBegun()
+	{
+		long finishTime = getTimeout();
+		while( restoreBegun == false )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for restore to begin" );
+
+			waitForEvent();
+		}
+	}
+
+	/**
+	 * Wait until we are asked to restore to the save with the given label. If this doesn't
+	 * happen before the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForFederateRestoreInitiated( String label )
+	{
+		long finishTime = getTimeout();
+		while( label.equals(restoreInitiated) == false )
+		{
+			if( finishTime < System.currentTimeMillis() )
+			{
+				throw new TimeoutException( "Timeout waiting for restore to be initiated with "+
+				                            "label ["+label+"]" );
+			}
+
+			waitForEvent();
+		}
+	}
+
+	/**
+	 * Wait until we are told whether the last federation restore worked or not. If we don't get
+	 * told before the timeout, a TimeoutException will be thrown.
+	 */
+	private boolean waitForRestoreResult()
+	{
+		long finishTime = getTimeout();
+		while( restored == null )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for federation restore result" );
+
+			waitForEvent();
+		}
+
+		return restored;
+	}
+
+	/**
+	 * Wait until the federation has successfully restored. If we get a failure notice, or no
+	 * notice at all before the timeout, a TimeoutException is thrown.
+	 */
+	public void waitForFederationRestored()
+	{
+		if( waitForRestoreResult() == false )
+		{
+			throw new TimeoutException( "Timeout waiting for federation to restore, got failure "+
+			                            "notice: "+notRestoredReason );
+		}
+	}
+
+	/**
+	 * Wait until we are told that the federation did not restore, returning the reason given.
+	 * If we get a success notice, or no notice at all before the timeout, a TimeoutException is
+	 * thrown.
+	 */
+	public RestoreFailureReason waitForFederationNotRestored()
+	{
+		if( waitForRestoreResult() )
+		{
+			throw new TimeoutException( "Timeout waiting for \"federation not restored\" notice: "+
+			                            "got federation restored notice" );
+		}
+
+		return notRestoredReason;
+	}
+
+	/**
+	 * Wait for a response to a restore status query and return it. If we don't get one before
+	 * the timeout, a TimeoutException is thrown.
+	 */
+	public FederateRestoreStatus[] waitForRestoreStatusResponse()
+	{
+		long finishTime = getTimeout();
+		while( restoreStatus == null )
+		{
+			if( finishTime < System.currentTimeMillis() )
+				throw new TimeoutException( "Timeout waiting for restore status response" );
+
+			waitForEvent();
+		}
+
+		FederateRestoreStatus[] response = restoreStatus;
+		restoreStatus = null;
+		return response;
+	}
+
 	////////////////////////////////////////////////////////////////////////////////////////////
 	/////////////////////////////////// HLA Callback Methods ///////////////////////////////////
 	////////////////////////////////////////////////////////////////////////////////////////////
@@ -1240,6 +1533,108 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 		notifyEventListeners();
 	}
 
+	/////////////////////////////////////////////////////////////////////////
+	/////////////////////////// Save and Restore ////////////////////////////
+	/////////////////////////////////////////////////////////////////////////
+	@Override
+	public void initiateFederateSave( String label )
+	{
+		this.saveInitiated = label;
+		this.saveTime = -1;
+		this.saved = null;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void initiateFederateSave( String label, LogicalTime time )
+	{
+		this.saveInitiated = label;
+		this.saveTime = TypeFactory.fromTime( time );
+		this.saved = null;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationSaved()
+	{
+		this.saveInitiated = null;
+		this.saved = true;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationNotSaved( SaveFailureReason reason )
+	{
+		this.saveInitiated = null;
+		this.notSavedReason = reason;
+		this.saved = false;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationSaveStatusResponse( FederateHandleSaveStatusPair[] response )
+	{
+		this.saveStatus = response;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void requestFederationRestoreSucceeded( String label )
+	{
+		this.restoreRequestSucceeded = label;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void requestFederationRestoreFailed( String label )
+	{
+		this.restoreRequestFailed = label;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationRestoreBegun()
+	{
+		this.restoreBegun = true;
+		this.restored = null;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void initiateFederateRestore( String label,
+	                                     String federateName,
+	                                     FederateHandle federateHandle )
+	{
+		this.restoreInitiated = label;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationRestored()
+	{
+		this.restoreBegun = false;
+		this.restoreInitiated = null;
+		this.restored = true;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationNotRestored( RestoreFailureReason reason )
+	{
+		this.restoreBegun = false;
+		this.restoreInitiated = null;
+		this.notRestoredReason = reason;
+		this.restored = false;
+		notifyEventListeners();
+	}
+
+	@Override
+	public void federationRestoreStatusResponse( FederateRestoreStatus[] response )
+	{
+		this.restoreStatus = response;
+		notifyEventListeners();
+	}
+
 	/////////////////////////////////////////////////////////////////////////
 	//////////////////////////// Time Callbacks /////////////////////////////
 	/////////////////////////////////////////////////////////////////////////
@@ -1267,6 +1662,13 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 		notifyEventListeners();
 	}
 
+	@Override
+	public void requestRetraction( MessageRetractionHandle theHandle )
+	{
+		this.retractionsRequested.add( theHandle );
+		notifyEventListeners();
+	}
+
 	/////////////////////////////////////////////////////////////////////////
 	//////////////////// Object Name Reservation Methods ////////////////////
 	/////////////////////////////////////////////////////////////////////////
@@ -1282,14 +1684,18 @@ public class TestFederateAmbassador extends NullFederateAmbassador
 		this.objectNameReservations.put( objectName, false );
 	}
 
+	@Override
 	public void multipleObjectInstanceNameReservationSucceeded( Set<String> objectNames )
 	{
-		// not supported yet
+		for( String objectName : objectNames )
+			this.objectNameReservations.put( objectName, true );
 	}
 
+	@Override
 	public void multipleObjectInstanceNameReservationFailed( Set<String> objectNames )
 	{
-		// not supported yet
+		for( String objectName : objectNames )
+			this.objectNameReservations.put( objectName, false );
 	}
 
 	/////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,249 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package hlaunit.ieee1516e.object;
+
+import static hlaunit.ieee1516e.common.TypeFactory.*;
+
+import hla.rti1516e.ObjectClassHandle;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.exceptions.ObjectClassNotPublished;
+import hla.rti1516e.exceptions.ObjectInstanceNameInUse;
+import hla.rti1516e.exceptions.ObjectInstanceNotKnown;
+import hla.rti1516e.exceptions.RTIexception;
+import hlaunit.ieee1516e.common.Abstract1516eTest;
+import hlaunit.ieee1516e.common.TestFederate;
+
+import org.portico.impl.IBulkObjectManagement;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test(sequential=true, groups={"BulkObjectManagementTest", "objectManagement"})
+public class BulkObjectManagementTest extends Abstract1516eTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestFederate secondFederate;
+	private IBulkObjectManagement<ObjectClassHandle,ObjectInstanceHandle[],RTIexception> bulk;
+	private int bHandle; // handle for class ObjectRoot.A.B
+	private byte[] tag;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	@SuppressWarnings("unchecked")
+	public void beforeClass()
+	{
+		super.beforeClass();
+		secondFederate = new TestFederate( "secondFederate", this );
+		this.tag = "letag".getBytes();
+		this.bulk = (IBulkObjectManagement<ObjectClassHandle,ObjectInstanceHandle[],RTIexception>)
+		            defaultFederate.rtiamb;
+	}
+	
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod()
+	{
+		defaultFederate.quickCreate();
+		defaultFederate.quickJoin();
+		secondFederate.quickJoin();
+		
+		// cache the handles
+		bHandle = defaultFederate.quickOCHandle( "ObjectRoot.A.B" );
+
+		// do publication and subscription
+		defaultFederate.quickPublish( "ObjectRoot.A.B", "aa", "ab", "ac", "ba", "bb", "bc" );
+		secondFederate.quickSubscribe( "ObjectRoot.A.B", "aa", "ab", "ac", "ba", "bb", "bc" );
+	}
+	
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod()
+	{
+		secondFederate.quickResign();
+		defaultFederate.quickResign();
+		defaultFederate.quickDestroy();
+	}
+	
+	@AfterClass(alwaysRun=true)
+	public void afterClass()
+	{
+		super.afterClass();
+	}
+	
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Bulk Registration Methods ////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////////////////////////
+	// TEST: (valid) testRegisterObjectInstancesCount() //
+	//////////////////////////////////////////////////////
+	@Test
+	public void testRegisterObjectInstancesCount() throws Exception
+	{
+		ObjectInstanceHandle[] handles = bulk.registerObjectInstances( getObjectClassHandle(bHandle),
+		                                                               100 );
+		Assert.assertEquals( handles.length, 100 );
+		
+		// each object should be discovered individually
+		for( ObjectInstanceHandle handle : handles )
+			secondFederate.fedamb.waitForDiscoveryAs( getObjectHandle(handle), bHandle );
+	}
+
+	//////////////////////////////////////////////////////
+	// TEST: (valid) testRegisterObjectInstancesNamed() //
+	//////////////////////////////////////////////////////
+	@Test
+	public void testRegisterObjectInstancesNamed() throws Exception
+	{
+		String[] names = new String[]{ "one", "two", null, "four" };
+		ObjectInstanceHandle[] handles = bulk.registerObjectInstances( getObjectClassHandle(bHandle),
+		                                                               names );
+		Assert.assertEquals( handles.length, names.length );
+		for( int i = 0; i < handles.length; i++ )
+		{
+			int handle = getObjectHandle( handles[i] );
+			secondFederate.fedamb.waitForDiscovery( handle );
+			String discoveredName = secondFederate.fedamb.getInstances().get(handle).getName();
+			if( names[i] != null )
+				Assert.assertEquals( discoveredName, names[i] );
+			
+			Assert.assertEquals( defaultFederate.rtiamb.getObjectInstanceName(handles[i]),
+			                     discoveredName );
+		}
+	}
+
+	//////////////////////////////////////////////////////
+	// TEST: testRegisterObjectInstancesWithNameInUse() //
+	//////////////////////////////////////////////////////
+	@Test
+	public void testRegisterObjectInstancesWithNameInUse() throws Exception
+	{
+		int existing = defaultFederate.quickRegister( bHandle, "taken" );
+		secondFederate.fedamb.waitForDiscovery( existing );
+		
+		try
+		{
+			bulk.registerObjectInstances( getObjectClassHandle(bHandle),
+			                              new String[]{ "free", "taken" } );
+			expectedException( ObjectInstanceNameInUse.class );
+		}
+		catch( ObjectInstanceNameInUse niu )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNameInUse.class );
+		}
+
+		// none of the objects should have been registered
+		try
+		{
+			defaultFederate.rtiamb.getObjectInstanceHandle( "free" );
+			Assert.fail( "Object from a failed bulk registration was registered" );
+		}
+		catch( ObjectInstanceNotKnown oink )
+		{
+			// success!
+		}
+	}
+
+	/////////////////////////////////////////////////////////////
+	// TEST: testRegisterObjectInstancesWithUnpublishedClass() //
+	/////////////////////////////////////////////////////////////
+	@Test
+	public void testRegisterObjectInstancesWithUnpublishedClass()
+	{
+		int aHandle = defaultFederate.quickOCHandle( "ObjectRoot.A" );
+		try
+		{
+			bulk.registerObjectInstances( getObjectClassHandle(aHandle), 10 );
+			expectedException( ObjectClassNotPublished.class );
+		}
+		catch( ObjectClassNotPublished ocnp )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectClassNotPublished.class );
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////// Bulk Deletion Methods //////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	///////////////////////////////////////////////
+	// TEST: (valid) testDeleteObjectInstances() //
+	///////////////////////////////////////////////
+	@Test
+	public void testDeleteObjectInstances() throws Exception
+	{
+		ObjectInstanceHandle[] handles = bulk.registerObjectInstances( getObjectClassHandle(bHandle),
+		                                                               50 );
+		for( ObjectInstanceHandle handle : handles )
+			secondFederate.fedamb.waitForDiscovery( getObjectHandle(handle) );
+
+		bulk.deleteObjectInstances( handles, tag );
+		for( ObjectInstanceHandle handle : handles )
+			secondFederate.fedamb.waitForRORemoval( getObjectHandle(handle) );
+	}
+
+	////////////////////////////////////////////////////////
+	// TEST: testDeleteObjectInstancesWithUnknownObject() //
+	////////////////////////////////////////////////////////
+	@Test
+	public void testDeleteObjectInstancesWithUnknownObject() throws Exception
+	{
+		ObjectInstanceHandle[] handles = bulk.registerObjectInstances( getObjectClassHandle(bHandle),
+		                                                               2 );
+		secondFederate.fedamb.waitForDiscovery( getObjectHandle(handles[0]) );
+		secondFederate.fedamb.waitForDiscovery( getObjectHandle(handles[1]) );
+
+		ObjectInstanceHandle[] withUnknown = { handles[0], getObjectHandle(111111), handles[1] };
+		try
+		{
+			bulk.deleteObjectInstances( withUnknown, tag );
+			expectedException( ObjectInstanceNotKnown.class );
+		}
+		catch( ObjectInstanceNotKnown oink )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNotKnown.class );
+		}
+
+		// nothing should have been deleted
+		secondFederate.fedamb.waitForRORemovalTimeout( getObjectHandle(handles[0]) );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -243,6 +243,35 @@ public class DeleteObjectTest extends Abstract1516eTest
 		}
 	}
 
+	///////////////////////////////////////////////
+	// TEST: testRODeleteObjectWithStaleHandle() //
+	///////////////////////////////////////////////
+	@Test
+	public void testRODeleteObjectWithStaleHandle()
+	{
+		// delete the object and register a new one, which may well reuse the old one's slot
+		defaultFederate.quickDelete( oHandle, tag );
+		secondFederate.fedamb.waitForRORemoval( oHandle );
+		int newHandle = defaultFederate.quickRegister( bHandle );
+		secondFederate.fedamb.waitForDiscovery( newHandle );
+		Assert.assertFalse( newHandle == oHandle, "Deleted object handle was given out again" );
+
+		// the old handle must not be mistaken for the new object
+		try
+		{
+			defaultFederate.rtiamb.deleteObjectInstance( getObjectHandle(oHandle), tag );
+			expectedException( ObjectInstanceNotKnown.class );
+		}
+		catch( ObjectInstanceNotKnown oink )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNotKnown.class );
+		}
+	}
+
 	//////////////////////////////////////////////////////////////////////////////////////////
 	///////////////////////////////// TSO Delete Test Methods ////////////////////////////////
 	//////////////////////////////////////////////////////////////////////////////////////////
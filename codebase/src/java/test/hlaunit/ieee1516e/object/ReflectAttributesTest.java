@@ -15,6 +15,7 @@
 package hlaunit.ieee1516e.object;
 
 import static hlaunit.ieee1516e.common.TypeFactory.*;
+import hla.rti1516e.AttributeHandle;
 import hla.rti1516e.AttributeHandleValueMap;
 import hla.rti1516e.LogicalTime;
 import hla.rti1516e.ObjectInstanceHandle;
@@ -28,6 +29,8 @@ import hlaunit.ieee1516e.common.TestFederate;
 import hlaunit.ieee1516e.common.TestObject;
 import hlaunit.ieee1516e.common.TypeFactory;
 
+import org.portico.impl.hla1516e.Rti1516eAmbassador;
+import org.portico.impl.hla1516e.types.encoding.HLA1516eEncoderSession;
 import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
@@ -223,6 +226,48 @@ public class ReflectAttributesTest extends Abstract1516eTest
 		checkThirdFederateAttributes( temp );
 	}
 
+	////////////////////////////////////////////////////
+	// TEST: (valid) testROUpdateFromEncoderSession() //
+	////////////////////////////////////////////////////
+	/**
+	 * Portico-specific: the values are encoded into a session rather than an
+	 * AttributeHandleValueMap, and should arrive exactly as they would otherwise.
+	 */
+	@Test
+	public void testROUpdateFromEncoderSession()
+	{
+		// do any necessary setup
+		int oHandle = defaultFederate.quickRegister( "ObjectRoot.A.B" );
+		secondFederate.fedamb.waitForDiscovery( oHandle );
+		thirdFederate.fedamb.waitForDiscovery( oHandle );
+
+		try
+		{
+			// start with a buffer that is too small, so it has to grow along the way
+			HLA1516eEncoderSession session = new HLA1516eEncoderSession( 1 );
+			for( AttributeHandle attribute : updateSet.keySet() )
+			{
+				session.begin( attribute ).put( updateSet.get(attribute) );
+				session.end();
+			}
+
+			ObjectInstanceHandle handle = getObjectHandle( oHandle );
+			((Rti1516eAmbassador)defaultFederate.rtiamb).updateAttributeValues( handle,
+			                                                                    session,
+			                                                                    tag );
+		}
+		catch( Exception e )
+		{
+			Assert.fail( "Exception during valid RO attribute update: " + e.getMessage(), e );
+		}
+
+		// wait for the update in the other federates and check the values //
+		secondFederate.fedamb.waitForROUpdate( oHandle );
+		checkSecondFederateAttributes( secondFederate.fedamb.getInstances().get(oHandle) );
+		thirdFederate.fedamb.waitForROUpdate( oHandle );
+		checkThirdFederateAttributes( thirdFederate.fedamb.getInstances().get(oHandle) );
+	}
+
 	///////////////////////////////////////////////
 	// TEST: (valid) testROUpdateWithTimestamp() //
 	///////////////////////////////////////////////
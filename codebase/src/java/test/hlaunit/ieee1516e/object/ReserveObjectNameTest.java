@@ -14,12 +14,24 @@
  */
 package hlaunit.ieee1516e.object;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import hla.rti1516e.ObjectClassHandle;
 import hla.rti1516e.exceptions.IllegalName;
+import hla.rti1516e.exceptions.NameSetWasEmpty;
+import hla.rti1516e.exceptions.ObjectInstanceNameNotReserved;
 import hlaunit.ieee1516e.common.Abstract1516eTest;
 import hlaunit.ieee1516e.common.TestFederate;
 import hlaunit.ieee1516e.common.TypeFactory;
 
+import org.portico.impl.hla1516e.Rti1516eAmbassador;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.services.object.msg.ReserveObjectName;
+import org.portico.utils.messaging.MessageContext;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -142,6 +154,250 @@ public class ReserveObjectNameTest extends Abstract1516eTest
 		}
 	}
 
+	//////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////// Multiple Name Reservation Methods ///////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	// public void reserveMultipleObjectInstanceName( Set<String> theObjectNames )
+	//    throws IllegalName,
+	//           NameSetWasEmpty,
+	//           SaveInProgress,
+	//           RestoreInProgress,
+	//           FederateNotExecutionMember,
+	//           NotConnected,
+	//           RTIinternalError
+
+	////////////////////////////////////////////////////
+	// TEST: (valid) testReserveMultipleObjectNames() //
+	////////////////////////////////////////////////////
+	@Test
+	public void testReserveMultipleObjectNames() throws Exception
+	{
+		Set<String> names = new HashSet<String>();
+		for( int i = 0; i < 100; i++ )
+			names.add( "object"+i );
+
+		defaultFederate.rtiamb.reserveMultipleObjectInstanceName( names );
+		for( String name : names )
+			defaultFederate.fedamb.waitForObjectNameReservationSuccess( name );
+
+		// make sure we can use the names we've reserved
+		defaultFederate.quickRegister( objectClass, "object0" );
+		defaultFederate.quickRegister( objectClass, "object99" );
+	}
+
+	/////////////////////////////////////////////////////////
+	// TEST: testReserveMultipleObjectNamesWithNameInUse() //
+	/////////////////////////////////////////////////////////
+	@Test
+	public void testReserveMultipleObjectNamesWithNameInUse() throws Exception
+	{
+		defaultFederate.quickRegister( objectClass, "taken" );
+
+		Set<String> names = new HashSet<String>();
+		names.add( "free" );
+		names.add( "taken" );
+
+		// the whole set should fail, even the name that was free
+		defaultFederate.rtiamb.reserveMultipleObjectInstanceName( names );
+		defaultFederate.fedamb.waitForObjectNameReservationFailure( "free" );
+		defaultFederate.fedamb.waitForObjectNameReservationFailure( "taken" );
+	}
+
+	////////////////////////////////////////////////////////////////////
+	// TEST: testReserveMultipleObjectNamesKeepsEarlierReservations() //
+	////////////////////////////////////////////////////////////////////
+	/**
+	 * If a multiple reservation loses one of its names during the negotiation, the names that
+	 * it won have to be given back, but not names the federate had reserved before asking.
+	 */
+	@Test
+	public void testReserveMultipleObjectNamesKeepsEarlierReservations() throws Exception
+	{
+		// make sure that object name checking is ENABLED!
+		System.setProperty( PorticoConstants.PROPERTY_NEGOTIATE_OBJECT_NAMES, "true" );
+
+		try
+		{
+			secondFederate.rtiamb.reserveObjectInstanceName( "A" );
+			secondFederate.fedamb.waitForObjectNameReservationSuccess( "A" );
+
+			// while the second federate waits out the negotiation, have the default federate
+			// (lower handle, so it wins) ask for "B" as well
+			final ReserveObjectName competing = new ReserveObjectName( "B" );
+			competing.setSourceFederate( defaultFederate.federateHandle );
+			final List<Exception> problems = new ArrayList<Exception>();
+			Thread competitor = new Thread( new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						Thread.sleep( 20 );
+						((Rti1516eAmbassador)secondFederate.rtiamb).getHelper().getLrc()
+							.getIncomingSink().process( new MessageContext(competing) );
+					}
+					catch( Exception e )
+					{
+						problems.add( e );
+					}
+				}
+			});
+			competitor.start();
+
+			Set<String> names = new HashSet<String>();
+			names.add( "A" );
+			names.add( "B" );
+			secondFederate.rtiamb.reserveMultipleObjectInstanceName( names );
+			competitor.join();
+			if( problems.isEmpty() == false )
+				Assert.fail( "Couldn't deliver the competing reservation", problems.get(0) );
+			secondFederate.fedamb.waitForObjectNameReservationFailure( "B" );
+
+			// "A" was ours before the failed request, so it still is, here and everywhere else
+			defaultFederate.rtiamb.reserveObjectInstanceName( "A" );
+			defaultFederate.fedamb.waitForObjectNameReservationFailure( "A" );
+		}
+		finally
+		{
+			// back to the default value
+			System.setProperty( PorticoConstants.PROPERTY_NEGOTIATE_OBJECT_NAMES, "false" );
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// TEST: testReserveMultipleObjectNamesWithEmptySet() //
+	////////////////////////////////////////////////////////
+	@Test
+	public void testReserveMultipleObjectNamesWithEmptySet()
+	{
+		try
+		{
+			defaultFederate.rtiamb.reserveMultipleObjectInstanceName( new HashSet<String>() );
+			expectedException( NameSetWasEmpty.class );
+		}
+		catch( NameSetWasEmpty empty )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, NameSetWasEmpty.class );
+		}
+	}
+
+	////////////////////////////////////////////////////////
+	// TEST: testReserveMultipleObjectNamesWithNullName() //
+	////////////////////////////////////////////////////////
+	@Test
+	public void testReserveMultipleObjectNamesWithNullName()
+	{
+		Set<String> names = new HashSet<String>();
+		names.add( "myObject" );
+		names.add( null );
+		try
+		{
+			defaultFederate.rtiamb.reserveMultipleObjectInstanceName( names );
+			expectedException( IllegalName.class );
+		}
+		catch( IllegalName illegalName )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, IllegalName.class );
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Name Release Methods /////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	// public void releaseObjectInstanceName( String theObjectInstanceName )
+	// public void releaseMultipleObjectInstanceName( Set<String> theObjectNames )
+	//    throws ObjectInstanceNameNotReserved,
+	//           SaveInProgress,
+	//           RestoreInProgress,
+	//           FederateNotExecutionMember,
+	//           NotConnected,
+	//           RTIinternalError
+
+	///////////////////////////////////////////
+	// TEST: (valid) testReleaseObjectName() //
+	///////////////////////////////////////////
+	@Test
+	public void testReleaseObjectName() throws Exception
+	{
+		defaultFederate.rtiamb.reserveObjectInstanceName( "myObject" );
+		defaultFederate.fedamb.waitForObjectNameReservationSuccess( "myObject" );
+		defaultFederate.rtiamb.releaseObjectInstanceName( "myObject" );
+
+		// it has been released, so releasing it again should fail
+		try
+		{
+			defaultFederate.rtiamb.releaseObjectInstanceName( "myObject" );
+			expectedException( ObjectInstanceNameNotReserved.class );
+		}
+		catch( ObjectInstanceNameNotReserved notReserved )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNameNotReserved.class );
+		}
+	}
+
+	//////////////////////////////////////////////
+	// TEST: testReleaseObjectNameNotReserved() //
+	//////////////////////////////////////////////
+	@Test
+	public void testReleaseObjectNameNotReserved()
+	{
+		try
+		{
+			defaultFederate.rtiamb.releaseObjectInstanceName( "neverReserved" );
+			expectedException( ObjectInstanceNameNotReserved.class );
+		}
+		catch( ObjectInstanceNameNotReserved notReserved )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNameNotReserved.class );
+		}
+	}
+
+	////////////////////////////////////////////////////
+	// TEST: (valid) testReleaseMultipleObjectNames() //
+	////////////////////////////////////////////////////
+	@Test
+	public void testReleaseMultipleObjectNames() throws Exception
+	{
+		Set<String> names = new HashSet<String>();
+		names.add( "one" );
+		names.add( "two" );
+		defaultFederate.rtiamb.reserveMultipleObjectInstanceName( names );
+		defaultFederate.fedamb.waitForObjectNameReservationSuccess( "one" );
+		defaultFederate.fedamb.waitForObjectNameReservationSuccess( "two" );
+
+		// release them, then try again with a set including one we don't hold
+		defaultFederate.rtiamb.releaseMultipleObjectInstanceName( names );
+		try
+		{
+			defaultFederate.rtiamb.releaseMultipleObjectInstanceName( names );
+			expectedException( ObjectInstanceNameNotReserved.class );
+		}
+		catch( ObjectInstanceNameNotReserved notReserved )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, ObjectInstanceNameNotReserved.class );
+		}
+	}
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
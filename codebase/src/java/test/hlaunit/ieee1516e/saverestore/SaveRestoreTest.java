@@ -0,0 +1,409 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package hlaunit.ieee1516e.saverestore;
+
+import static hlaunit.ieee1516e.common.TypeFactory.*;
+
+import hla.rti1516e.FederateHandleSaveStatusPair;
+import hla.rti1516e.FederateRestoreStatus;
+import hla.rti1516e.RestoreFailureReason;
+import hla.rti1516e.RestoreStatus;
+import hla.rti1516e.SaveFailureReason;
+import hla.rti1516e.SaveStatus;
+import hla.rti1516e.exceptions.FederateHasNotBegunSave;
+import hla.rti1516e.exceptions.ObjectInstanceNotKnown;
+import hla.rti1516e.exceptions.RestoreNotInProgress;
+import hla.rti1516e.exceptions.SaveInProgress;
+import hla.rti1516e.exceptions.SaveNotInProgress;
+import hla.rti1516e.exceptions.SaveNotInitiated;
+import hlaunit.ieee1516e.common.Abstract1516eTest;
+import hlaunit.ieee1516e.common.TestFederate;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test(sequential=true, groups={"SaveRestoreTest", "saveRestore", "federationManagement"})
+public class SaveRestoreTest extends Abstract1516eTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestFederate secondFederate;
+	private int defaultHandle;
+	private int secondHandle;
+	private int bHandle; // handle for class ObjectRoot.A.B
+	private String label = "SaveRestoreTest";
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@Override
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass()
+	{
+		super.beforeClass();
+		secondFederate = new TestFederate( "secondFederate", this );
+	}
+
+	@Override
+	@AfterClass(alwaysRun=true)
+	public void afterClass()
+	{
+		super.afterClass();
+	}
+
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod()
+	{
+		defaultFederate.quickCreate();
+		defaultHandle = defaultFederate.quickJoin();
+		secondHandle = secondFederate.quickJoin();
+
+		// make sure the default federate has heard about the second joining, otherwise it
+		// won't have a save/restore status to track for it
+		defaultFederate.quickTick();
+
+		bHandle = defaultFederate.quickOCHandle( "ObjectRoot.A.B" );
+		defaultFederate.quickPublish( "ObjectRoot.A.B", "aa", "ab", "ac", "ba", "bb", "bc" );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod()
+	{
+		defaultFederate.quickResign();
+		secondFederate.quickResign();
+		defaultFederate.quickDestroy();
+	}
+
+	/**
+	 * Takes the federation all the way through a save with the given label.
+	 */
+	private void saveToCompletion( String label )
+	{
+		defaultFederate.quickSaveRequest( label );
+		defaultFederate.fedamb.waitForSaveInitiated( label );
+		secondFederate.fedamb.waitForSaveInitiated( label );
+
+		defaultFederate.quickSaveBegun();
+		defaultFederate.quickSaveComplete();
+		secondFederate.quickSaveBegun();
+		secondFederate.quickSaveComplete();
+
+		defaultFederate.fedamb.waitForFederationSaved();
+		secondFederate.fedamb.waitForFederationSaved();
+	}
+
+	/**
+	 * Requests a restore with the given label and waits until both federates have been told
+	 * to restore, leaving the restore in progress.
+	 */
+	private void restoreInProgress( String label )
+	{
+		defaultFederate.quickRestoreRequest( label );
+		defaultFederate.fedamb.waitForFederationRestoreBegun();
+		secondFederate.fedamb.waitForFederationRestoreBegun();
+		defaultFederate.fedamb.waitForFederateRestoreInitiated( label );
+		secondFederate.fedamb.waitForFederateRestoreInitiated( label );
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Save Test Methods ////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////////////////
+	// TEST: (valid) testSaveToCompletion() //
+	//////////////////////////////////////////
+	@Test
+	public void testSaveToCompletion()
+	{
+		saveToCompletion( label );
+
+		// the save is over, so we should be free to start another one
+		saveToCompletion( label+"Again" );
+	}
+
+	//////////////////////////////////////////////
+	// TEST: testSaveBegunWhenNoSaveInitiated() //
+	//////////////////////////////////////////////
+	@Test
+	public void testSaveBegunWhenNoSaveInitiated()
+	{
+		try
+		{
+			defaultFederate.rtiamb.federateSaveBegun();
+			expectedException( SaveNotInitiated.class );
+		}
+		catch( SaveNotInitiated sni )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, SaveNotInitiated.class );
+		}
+	}
+
+	///////////////////////////////////////////////
+	// TEST: testSaveRequestWhenSaveInProgress() //
+	///////////////////////////////////////////////
+	@Test
+	public void testSaveRequestWhenSaveInProgress()
+	{
+		defaultFederate.quickSaveRequest( label );
+		defaultFederate.fedamb.waitForSaveInitiated( label );
+		secondFederate.fedamb.waitForSaveInitiated( label );
+
+		try
+		{
+			secondFederate.rtiamb.requestFederationSave( label+"Again" );
+			expectedException( SaveInProgress.class );
+		}
+		catch( SaveInProgress sip )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, SaveInProgress.class );
+		}
+
+		// finish off the save so we can resign cleanly
+		defaultFederate.quickSaveBegun();
+		defaultFederate.quickSaveComplete();
+		secondFederate.quickSaveBegun();
+		secondFederate.quickSaveComplete();
+		defaultFederate.fedamb.waitForFederationSaved();
+	}
+
+	///////////////////////////////////////////////////
+	// TEST: (valid) testQueryFederationSaveStatus() //
+	///////////////////////////////////////////////////
+	@Test
+	public void testQueryFederationSaveStatus() throws Exception
+	{
+		defaultFederate.quickSaveRequest( label );
+		defaultFederate.fedamb.waitForSaveInitiated( label );
+		secondFederate.fedamb.waitForSaveInitiated( label );
+		defaultFederate.quickSaveBegun();
+
+		defaultFederate.rtiamb.queryFederationSaveStatus();
+		FederateHandleSaveStatusPair[] response =
+			defaultFederate.fedamb.waitForSaveStatusResponse();
+
+		Assert.assertEquals( response.length, 2, "Wrong number of federates in status response" );
+		for( FederateHandleSaveStatusPair pair : response )
+		{
+			if( getFederateHandle(pair.handle) == defaultHandle )
+				Assert.assertEquals( pair.status, SaveStatus.FEDERATE_SAVING );
+			else if( getFederateHandle(pair.handle) == secondHandle )
+				Assert.assertEquals( pair.status, SaveStatus.FEDERATE_INSTRUCTED_TO_SAVE );
+			else
+				Assert.fail( "Unknown federate in save status response: "+pair.handle );
+		}
+
+		// finish off the save, after which nobody should be saving
+		defaultFederate.quickSaveComplete();
+		secondFederate.quickSaveBegun();
+		secondFederate.quickSaveComplete();
+		defaultFederate.fedamb.waitForFederationSaved();
+
+		defaultFederate.rtiamb.queryFederationSaveStatus();
+		response = defaultFederate.fedamb.waitForSaveStatusResponse();
+		for( FederateHandleSaveStatusPair pair : response )
+			Assert.assertEquals( pair.status, SaveStatus.NO_SAVE_IN_PROGRESS );
+	}
+
+	/////////////////////////////////////////////
+	// TEST: (valid) testAbortFederationSave() //
+	/////////////////////////////////////////////
+	@Test
+	public void testAbortFederationSave() throws Exception
+	{
+		defaultFederate.quickSaveRequest( label );
+		defaultFederate.fedamb.waitForSaveInitiated( label );
+		secondFederate.fedamb.waitForSaveInitiated( label );
+		defaultFederate.quickSaveBegun();
+
+		// abort the save from the other federate and make sure everyone hears about it
+		secondFederate.rtiamb.abortFederationSave();
+		Assert.assertEquals( defaultFederate.fedamb.waitForFederationNotSaved(),
+		                     SaveFailureReason.SAVE_ABORTED );
+		Assert.assertEquals( secondFederate.fedamb.waitForFederationNotSaved(),
+		                     SaveFailureReason.SAVE_ABORTED );
+
+		// there is no save to complete anymore
+		try
+		{
+			defaultFederate.rtiamb.federateSaveComplete();
+			expectedException( FederateHasNotBegunSave.class );
+		}
+		catch( FederateHasNotBegunSave fhnbs )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, FederateHasNotBegunSave.class );
+		}
+
+		// but we should be free to start a new one
+		saveToCompletion( label+"Again" );
+	}
+
+	/////////////////////////////////////////////////////////
+	// TEST: testAbortFederationSaveWhenNoSaveInProgress() //
+	/////////////////////////////////////////////////////////
+	@Test
+	public void testAbortFederationSaveWhenNoSaveInProgress()
+	{
+		try
+		{
+			defaultFederate.rtiamb.abortFederationSave();
+			expectedException( SaveNotInProgress.class );
+		}
+		catch( SaveNotInProgress snip )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, SaveNotInProgress.class );
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Restore Test Methods //////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////////////////
+	// TEST: (valid) testRestoreToCompletion() //
+	/////////////////////////////////////////////
+	@Test
+	public void testRestoreToCompletion() throws Exception
+	{
+		// register an object, save, then register another one
+		defaultFederate.quickRegister( bHandle, "beforeSave" );
+		saveToCompletion( label );
+		defaultFederate.quickRegister( bHandle, "afterSave" );
+
+		// restore the federation back to the save
+		restoreInProgress( label );
+		defaultFederate.quickRestoreComplete();
+		secondFederate.quickRestoreComplete();
+		defaultFederate.fedamb.waitForFederationRestored();
+		secondFederate.fedamb.waitForFederationRestored();
+
+		// only the object from before the save should be left
+		defaultFederate.rtiamb.getObjectInstanceHandle( "beforeSave" );
+		try
+		{
+			defaultFederate.rtiamb.getObjectInstanceHandle( "afterSave" );
+			Assert.fail( "Object registered after the save still exists after the restore" );
+		}
+		catch( ObjectInstanceNotKnown oink )
+		{
+			// success!
+		}
+	}
+
+	////////////////////////////////////////////////
+	// TEST: testRestoreRequestWithUnknownLabel() //
+	////////////////////////////////////////////////
+	@Test
+	public void testRestoreRequestWithUnknownLabel() throws Exception
+	{
+		defaultFederate.rtiamb.requestFederationRestore( "noSuchSave" );
+		defaultFederate.fedamb.waitForRestoreRequestFailure( "noSuchSave" );
+	}
+
+	//////////////////////////////////////////////////////
+	// TEST: (valid) testQueryFederationRestoreStatus() //
+	//////////////////////////////////////////////////////
+	@Test
+	public void testQueryFederationRestoreStatus() throws Exception
+	{
+		saveToCompletion( label );
+		restoreInProgress( label );
+
+		defaultFederate.rtiamb.queryFederationRestoreStatus();
+		FederateRestoreStatus[] response = defaultFederate.fedamb.waitForRestoreStatusResponse();
+		Assert.assertEquals( response.length, 2, "Wrong number of federates in status response" );
+		for( FederateRestoreStatus status : response )
+		{
+			Assert.assertEquals( status.preRestoreHandle, status.postRestoreHandle );
+			Assert.assertEquals( status.status, RestoreStatus.FEDERATE_RESTORING );
+		}
+
+		// finish off the restore so we can resign cleanly
+		defaultFederate.quickRestoreComplete();
+		secondFederate.quickRestoreComplete();
+		defaultFederate.fedamb.waitForFederationRestored();
+	}
+
+	////////////////////////////////////////////////
+	// TEST: (valid) testAbortFederationRestore() //
+	////////////////////////////////////////////////
+	@Test
+	public void testAbortFederationRestore() throws Exception
+	{
+		saveToCompletion( label );
+		restoreInProgress( label );
+
+		// abort the restore and make sure everyone hears about it
+		secondFederate.rtiamb.abortFederationRestore();
+		Assert.assertEquals( defaultFederate.fedamb.waitForFederationNotRestored(),
+		                     RestoreFailureReason.RESTORE_ABORTED );
+		Assert.assertEquals( secondFederate.fedamb.waitForFederationNotRestored(),
+		                     RestoreFailureReason.RESTORE_ABORTED );
+
+		// we should be free to save again
+		saveToCompletion( label+"Again" );
+	}
+
+	///////////////////////////////////////////////////////////////
+	// TEST: testAbortFederationRestoreWhenNoRestoreInProgress() //
+	///////////////////////////////////////////////////////////////
+	@Test
+	public void testAbortFederationRestoreWhenNoRestoreInProgress()
+	{
+		try
+		{
+			defaultFederate.rtiamb.abortFederationRestore();
+			expectedException( RestoreNotInProgress.class );
+		}
+		catch( RestoreNotInProgress rnip )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, RestoreNotInProgress.class );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
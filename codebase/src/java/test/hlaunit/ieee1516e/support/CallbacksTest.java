@@ -14,9 +14,30 @@
  */
 package hlaunit.ieee1516e.support;
 
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.CallbackModel;
+import hla.rti1516e.ObjectInstanceHandle;
+import hla.rti1516e.OrderType;
+import hla.rti1516e.TransportationTypeHandle;
 import hlaunit.ieee1516e.common.Abstract1516eTest;
 import hlaunit.ieee1516e.common.TestFederate;
+import hlaunit.ieee1516e.common.TestFederateAmbassador;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.portico.impl.hla1516e.Rti1516eAmbassador;
+import org.portico.lrc.LRC;
+import org.portico.lrc.PorticoConstants;
+import org.testng.Assert;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeClass;
@@ -110,6 +131,297 @@ public class CallbacksTest extends Abstract1516eTest
 		secondFederate.fedamb.waitForROUpdate( objectHandle );
 	}
 
+	////////////////////////////////////////////////////////////////
+	// TEST: testDisableCallbacksHoldsBackCallbackWorkers()       //
+	////////////////////////////////////////////////////////////////
+	/**
+	 * With callback workers in use, reflections that have already been handed to a worker must
+	 * not be delivered once disableCallbacks() has returned.
+	 */
+	@Test
+	public void testDisableCallbacksHoldsBackCallbackWorkers() throws Exception
+	{
+		// set up a federate with immediate callbacks that spreads reflections over workers.
+		// its reflect callback is slow, so that work piles up in the workers
+		final AtomicInteger reflections = new AtomicInteger( 0 );
+		final TestFederate workerFederate = new TestFederate( "workerFederate", this );
+		workerFederate.fedamb = new TestFederateAmbassador( workerFederate )
+		{
+			@Override
+			public void reflectAttributeValues( ObjectInstanceHandle theObject,
+			                                    AttributeHandleValueMap theAttributes,
+			                                    byte[] userSuppliedTag,
+			                                    OrderType sentOrdering,
+			                                    TransportationTypeHandle theTransport,
+			                                    SupplementalReflectInfo reflectInfo )
+			{
+				reflections.incrementAndGet();
+				try{ Thread.sleep(2); } catch( InterruptedException ie ) { /*ignore*/ }
+				super.reflectAttributeValues( theObject,
+				                              theAttributes,
+				                              userSuppliedTag,
+				                              sentOrdering,
+				                              theTransport,
+				                              reflectInfo );
+			}
+		};
+
+		System.setProperty( PorticoConstants.PROPERTY_CALLBACK_WORKERS, "4" );
+		try
+		{
+			workerFederate.rtiamb.connect( workerFederate.fedamb, CallbackModel.HLA_IMMEDIATE );
+		}
+		finally
+		{
+			System.clearProperty( PorticoConstants.PROPERTY_CALLBACK_WORKERS );
+		}
+
+		workerFederate.quickJoin();
+		final int[] objects = new int[8];
+		final AtomicBoolean stop = new AtomicBoolean( false );
+		Thread updater = null;
+		try
+		{
+			defaultFederate.quickPublish( "ObjectRoot.A", "aa" );
+			workerFederate.quickSubscribe( "ObjectRoot.A", "aa" );
+			for( int i = 0; i < objects.length; i++ )
+			{
+				objects[i] = defaultFederate.quickRegister( "ObjectRoot.A" );
+				workerFederate.fedamb.waitForDiscovery( objects[i] );
+			}
+
+			// keep the updates coming while we turn callbacks off
+			updater = new Thread( "updater" )
+			{
+				public void run()
+				{
+					while( stop.get() == false )
+					{
+						for( int object : objects )
+							defaultFederate.quickReflect( object, "aa" );
+					}
+				}
+			};
+			updater.start();
+			while( reflections.get() < 100 )
+				Thread.sleep( 5 );
+
+			// nothing more may come through once disableCallbacks() has returned
+			workerFederate.rtiamb.disableCallbacks();
+			int disabledAt = reflections.get();
+			Thread.sleep( 250 );
+			Assert.assertEquals( reflections.get(), disabledAt,
+			                     "Reflections delivered after callbacks were disabled" );
+
+			// turn them back on and make sure the held back reflections get through
+			workerFederate.rtiamb.enableCallbacks();
+			long deadline = System.currentTimeMillis() + 5000;
+			while( reflections.get() == disabledAt && System.currentTimeMillis() < deadline )
+				Thread.sleep( 5 );
+
+			stop.set( true );
+			updater.join();
+			Assert.assertTrue( reflections.get() > disabledAt,
+			                   "No reflections delivered after callbacks were enabled again" );
+		}
+		finally
+		{
+			stop.set( true );
+			if( updater != null )
+				updater.join();
+
+			workerFederate.rtiamb.enableCallbacks();
+			workerFederate.quickResign();
+			workerFederate.quickDisconnect();
+		}
+	}
+
+	//////////////////////////////////////////////////////////////
+	// TEST: testDisableCallbacksFromTwoCallbacksAtOnce()       //
+	//////////////////////////////////////////////////////////////
+	/**
+	 * Two callbacks on different workers that disable callbacks at the same time must not wait
+	 * for each other to finish.
+	 */
+	@Test
+	public void testDisableCallbacksFromTwoCallbacksAtOnce() throws Exception
+	{
+		// the first reflections on two different workers meet up and disable callbacks together
+		final Set<Thread> disablers = new HashSet<Thread>();
+		final CyclicBarrier together = new CyclicBarrier( 2 );
+		final CountDownLatch disabled = new CountDownLatch( 2 );
+		final List<Exception> problems = Collections.synchronizedList( new ArrayList<Exception>() );
+		final TestFederate workerFederate = new TestFederate( "workerFederate", this );
+		workerFederate.fedamb = new TestFederateAmbassador( workerFederate )
+		{
+			@Override
+			public void reflectAttributeValues( ObjectInstanceHandle theObject,
+			                                    AttributeHandleValueMap theAttributes,
+			                                    byte[] userSuppliedTag,
+			                                    OrderType sentOrdering,
+			                                    TransportationTypeHandle theTransport,
+			                                    SupplementalReflectInfo reflectInfo )
+			{
+				boolean disabler = false;
+				synchronized( disablers )
+				{
+					if( disablers.size() < 2 )
+						disabler = disablers.add( Thread.currentThread() );
+				}
+
+				if( disabler )
+				{
+					try
+					{
+						together.await( 5, TimeUnit.SECONDS );
+						workerFederate.rtiamb.disableCallbacks();
+						disabled.countDown();
+					}
+					catch( Exception e )
+					{
+						problems.add( e );
+					}
+				}
+
+				super.reflectAttributeValues( theObject,
+				                              theAttributes,
+				                              userSuppliedTag,
+				                              sentOrdering,
+				                              theTransport,
+				                              reflectInfo );
+			}
+		};
+
+		connectWithWorkers( workerFederate );
+		workerFederate.quickJoin();
+		try
+		{
+			int[] objects = registerObjects( workerFederate, 8 );
+			for( int object : objects )
+				defaultFederate.quickReflect( object, "aa" );
+
+			boolean finished = disabled.await( 10, TimeUnit.SECONDS );
+			if( problems.isEmpty() == false )
+				Assert.fail( "Exception disabling callbacks from a callback", problems.get(0) );
+
+			Assert.assertTrue( finished, "Callbacks disabling together waited on each other" );
+		}
+		finally
+		{
+			// this also lets the disablers go if they are stuck
+			workerFederate.rtiamb.enableCallbacks();
+			workerFederate.quickResign();
+			workerFederate.quickDisconnect();
+		}
+	}
+
+	////////////////////////////////////////////////////////////////////
+	// TEST: testCallbacksHeldBackAreKeptWhenImmediateDeliveryStops() //
+	////////////////////////////////////////////////////////////////////
+	/**
+	 * Reflections the callback workers are holding while callbacks are disabled have already
+	 * been taken off the queue. If immediate delivery is turned off then, they must go back on
+	 * the queue for tick() rather than being thrown away.
+	 */
+	@Test
+	public void testCallbacksHeldBackAreKeptWhenImmediateDeliveryStops() throws Exception
+	{
+		final AtomicInteger reflections = new AtomicInteger( 0 );
+		final TestFederate workerFederate = new TestFederate( "workerFederate", this );
+		workerFederate.fedamb = new TestFederateAmbassador( workerFederate )
+		{
+			@Override
+			public void reflectAttributeValues( ObjectInstanceHandle theObject,
+			                                    AttributeHandleValueMap theAttributes,
+			                                    byte[] userSuppliedTag,
+			                                    OrderType sentOrdering,
+			                                    TransportationTypeHandle theTransport,
+			                                    SupplementalReflectInfo reflectInfo )
+			{
+				reflections.incrementAndGet();
+				try{ Thread.sleep(2); } catch( InterruptedException ie ) { /*ignore*/ }
+				super.reflectAttributeValues( theObject,
+				                              theAttributes,
+				                              userSuppliedTag,
+				                              sentOrdering,
+				                              theTransport,
+				                              reflectInfo );
+			}
+		};
+
+		connectWithWorkers( workerFederate );
+		workerFederate.quickJoin();
+		LRC lrc = ((Rti1516eAmbassador)workerFederate.rtiamb).getHelper().getLrc();
+		try
+		{
+			int[] objects = registerObjects( workerFederate, 8 );
+			int sent = 0;
+			for( int i = 0; i < 25; i++ )
+			{
+				for( int object : objects )
+				{
+					defaultFederate.quickReflect( object, "aa" );
+					++sent;
+				}
+			}
+
+			// turn callbacks off while the workers are busy, then stop immediate delivery
+			while( reflections.get() < 10 )
+				Thread.sleep( 1 );
+
+			workerFederate.rtiamb.disableCallbacks();
+			lrc.disableImmediateCallbackProcessing();
+			workerFederate.rtiamb.enableCallbacks();
+
+			// everything left should now come out through tick()
+			long deadline = System.currentTimeMillis() + 5000;
+			while( reflections.get() < sent && System.currentTimeMillis() < deadline )
+				lrc.tick();
+
+			Assert.assertEquals( reflections.get(), sent, "Reflections lost" );
+		}
+		finally
+		{
+			workerFederate.rtiamb.enableCallbacks();
+			workerFederate.quickResign();
+			workerFederate.quickDisconnect();
+		}
+	}
+
+	/**
+	 * Connect the given federate with immediate callbacks spread over four callback workers
+	 */
+	private void connectWithWorkers( TestFederate federate ) throws Exception
+	{
+		System.setProperty( PorticoConstants.PROPERTY_CALLBACK_WORKERS, "4" );
+		try
+		{
+			federate.rtiamb.connect( federate.fedamb, CallbackModel.HLA_IMMEDIATE );
+		}
+		finally
+		{
+			System.clearProperty( PorticoConstants.PROPERTY_CALLBACK_WORKERS );
+		}
+	}
+
+	/**
+	 * Register the given number of objects in the default federate and wait for the given
+	 * federate to discover them all
+	 */
+	private int[] registerObjects( TestFederate subscriber, int count )
+	{
+		defaultFederate.quickPublish( "ObjectRoot.A", "aa" );
+		subscriber.quickSubscribe( "ObjectRoot.A", "aa" );
+		int[] objects = new int[count];
+		for( int i = 0; i < count; i++ )
+		{
+			objects[i] = defaultFederate.quickRegister( "ObjectRoot.A" );
+			subscriber.fedamb.waitForDiscovery( objects[i] );
+		}
+
+		return objects;
+	}
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
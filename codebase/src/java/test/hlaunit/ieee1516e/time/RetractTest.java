@@ -0,0 +1,298 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package hlaunit.ieee1516e.time;
+
+import hla.rti1516e.InteractionClassHandle;
+import hla.rti1516e.MessageRetractionHandle;
+import hla.rti1516e.MessageRetractionReturn;
+import hla.rti1516e.exceptions.FederateNotExecutionMember;
+import hla.rti1516e.exceptions.InvalidMessageRetractionHandle;
+import hla.rti1516e.exceptions.MessageCanNoLongerBeRetracted;
+import hla.rti1516e.exceptions.TimeRegulationIsNotEnabled;
+import hlaunit.ieee1516e.common.Abstract1516eTest;
+import hlaunit.ieee1516e.common.TestFederate;
+import hlaunit.ieee1516e.common.TestInteraction;
+import hlaunit.ieee1516e.common.TypeFactory;
+
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+@Test(sequential=true, groups={"RetractTest", "retract", "timeManagement"})
+public class RetractTest extends Abstract1516eTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestFederate secondFederate;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass()
+	{
+		super.beforeClass();
+		
+		this.secondFederate = new TestFederate( "secondFederate", this );
+	}
+
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod()
+	{
+		defaultFederate.quickCreate();
+		defaultFederate.quickJoin();
+		secondFederate.quickJoin();
+
+		// publication and subscription
+		defaultFederate.quickPublish( "InteractionRoot.X" );
+		secondFederate.quickSubscribe( "InteractionRoot.X" );
+		
+		// time management
+		defaultFederate.quickEnableRegulating( 5.0 );
+		secondFederate.quickEnableConstrained();
+		
+		// advance time a little
+		defaultFederate.quickAdvanceAndWait( 10.0 );
+		secondFederate.quickAdvanceAndWait( 10.0 );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod()
+	{
+		secondFederate.quickResignTolerant();
+		defaultFederate.quickResign();
+		defaultFederate.quickDestroy();
+	}
+
+	@AfterClass(alwaysRun=true)
+	public void afterClass()
+	{
+		super.afterClass();
+	}
+
+	/**
+	 * Send a timestamped InteractionRoot.X from the default federate, returning what the RTI
+	 * gave back for it. Fails the test if there is an exception.
+	 */
+	private MessageRetractionReturn send( double time )
+	{
+		try
+		{
+			InteractionClassHandle clazz =
+				defaultFederate.rtiamb.getInteractionClassHandle( "InteractionRoot.X" );
+			return defaultFederate.rtiamb.sendInteraction( clazz,
+			                                               TypeFactory.newParameterMap(),
+			                                               "letag".getBytes(),
+			                                               TypeFactory.createTime(time) );
+		}
+		catch( Exception e )
+		{
+			unexpectedException( "sending timestamped interaction", e );
+			return null;
+		}
+	}
+
+	//////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Test Methods //////////////////////////////////////
+	//////////////////////////////////////////////////////////////////////////////////////////
+	// public void retract( MessageRetractionHandle theHandle )
+	//     throws MessageCanNoLongerBeRetracted,
+	//            InvalidMessageRetractionHandle,
+	//            TimeRegulationIsNotEnabled,
+	//            SaveInProgress,
+	//            RestoreInProgress,
+	//            FederateNotExecutionMember,
+	//            NotConnected,
+	//            RTIinternalError
+
+	/**
+	 * A message that is retracted before the receiver's time reaches it should be taken out of
+	 * the receiver's queue and never delivered, while the messages around it still are.
+	 */
+	@Test
+	public void testRetractQueuedMessage()
+	{
+		MessageRetractionReturn first = send( 20.0 );
+		MessageRetractionReturn second = send( 25.0 );
+		Assert.assertTrue( first.retractionHandleIsValid );
+		Assert.assertTrue( second.retractionHandleIsValid );
+		Assert.assertFalse( first.handle.equals(second.handle) );
+
+		try
+		{
+			defaultFederate.rtiamb.retract( first.handle );
+		}
+		catch( Exception e )
+		{
+			unexpectedException( "retracting queued message", e );
+		}
+
+		// advance past both messages, only the second should come through
+		defaultFederate.quickAdvanceAndWait( 30.0 );
+		secondFederate.quickAdvanceRequest( 30.0 );
+		TestInteraction received = secondFederate.fedamb.waitForTSOInteraction( "InteractionRoot.X" );
+		Assert.assertEquals( received.getTimestamp(), 25.0 );
+		secondFederate.fedamb.waitForTimeAdvance( 30.0 );
+		secondFederate.fedamb.waitForTSOInteractionTimeout( "InteractionRoot.X" );
+	}
+
+	/**
+	 * If the receiver has already been given the message (here, by flushing its queue), it
+	 * should be asked to retract it instead.
+	 */
+	@Test
+	public void testRetractDeliveredMessage()
+	{
+		MessageRetractionReturn sent = send( 20.0 );
+		secondFederate.quickFlushQueueRequest( 100.0 );
+		secondFederate.fedamb.waitForTSOInteraction( "InteractionRoot.X" );
+
+		try
+		{
+			defaultFederate.rtiamb.retract( sent.handle );
+		}
+		catch( Exception e )
+		{
+			unexpectedException( "retracting delivered message", e );
+		}
+
+		MessageRetractionHandle requested = secondFederate.fedamb.waitForRetractionRequest();
+		Assert.assertEquals( requested, sent.handle );
+	}
+
+	@Test
+	public void testRetractTwice()
+	{
+		MessageRetractionReturn sent = send( 20.0 );
+		try
+		{
+			defaultFederate.rtiamb.retract( sent.handle );
+		}
+		catch( Exception e )
+		{
+			unexpectedException( "retracting message", e );
+		}
+
+		try
+		{
+			defaultFederate.rtiamb.retract( sent.handle );
+			expectedException( MessageCanNoLongerBeRetracted.class );
+		}
+		catch( MessageCanNoLongerBeRetracted mcnlbr )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, MessageCanNoLongerBeRetracted.class );
+		}
+	}
+
+	@Test
+	public void testRetractAfterTimeHasPassed()
+	{
+		MessageRetractionReturn sent = send( 20.0 );
+		defaultFederate.quickAdvanceAndWait( 20.0 );
+
+		try
+		{
+			defaultFederate.rtiamb.retract( sent.handle );
+			expectedException( MessageCanNoLongerBeRetracted.class );
+		}
+		catch( MessageCanNoLongerBeRetracted mcnlbr )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, MessageCanNoLongerBeRetracted.class );
+		}
+	}
+
+	@Test
+	public void testRetractWithInvalidHandle()
+	{
+		try
+		{
+			defaultFederate.rtiamb.retract( new HLA1516eHandle(0) );
+			expectedException( InvalidMessageRetractionHandle.class );
+		}
+		catch( InvalidMessageRetractionHandle imrh )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, InvalidMessageRetractionHandle.class );
+		}
+	}
+
+	@Test
+	public void testRetractWhenNotRegulating()
+	{
+		MessageRetractionReturn sent = send( 20.0 );
+		try
+		{
+			secondFederate.rtiamb.retract( sent.handle );
+			expectedException( TimeRegulationIsNotEnabled.class );
+		}
+		catch( TimeRegulationIsNotEnabled trine )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, TimeRegulationIsNotEnabled.class );
+		}
+	}
+
+	@Test
+	public void testRetractWhenNotJoined()
+	{
+		MessageRetractionReturn sent = send( 20.0 );
+		secondFederate.quickResign();
+
+		try
+		{
+			secondFederate.rtiamb.retract( sent.handle );
+			expectedException( FederateNotExecutionMember.class );
+		}
+		catch( FederateNotExecutionMember fnem )
+		{
+			// success!
+		}
+		catch( Exception e )
+		{
+			wrongException( e, FederateNotExecutionMember.class );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,294 @@
+/*
+ *   Copyright 2013 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package hlaunit.ieee1516e.types.encoding;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.portico.impl.hla1516e.fomparser.FOM;
+import org.portico.impl.hla1516e.types.encoding.HLA1516eEncoderFactory;
+import org.portico.impl.hla1516e.types.encoding.codec.CodecFactory;
+import org.portico.impl.hla1516e.types.encoding.codec.FixedRecordCodec;
+import org.portico.impl.hla1516e.types.encoding.codec.ICodec;
+import org.portico.lrc.model.ObjectModel;
+import org.portico.lrc.model.datatype.ArrayType;
+import org.portico.lrc.model.datatype.EnumeratedType;
+import org.portico.lrc.model.datatype.FixedRecordType;
+import org.portico.lrc.model.datatype.IDatatype;
+import org.portico.lrc.model.datatype.VariantRecordType;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import hla.rti1516e.encoding.ByteWrapper;
+import hla.rti1516e.encoding.DecoderException;
+import hla.rti1516e.encoding.EncoderException;
+import hla.rti1516e.encoding.EncoderFactory;
+import hla.rti1516e.encoding.HLAfixedRecord;
+import hla.rti1516e.encoding.HLAvariableArray;
+import hla.rti1516e.encoding.HLAinteger32BE;
+import hla.rti1516e.encoding.DataElementFactory;
+
+/**
+ * Tests for the codecs built by {@link CodecFactory} from the data types in a FOM, checking
+ * that they round-trip values and produce the same bytes as the HLA1516eEncoderFactory
+ * elements.
+ */
+@Test(groups={"FomCodecTest","types","encoding"})
+public class FomCodecTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private ObjectModel rprFom;
+	private EncoderFactory encoderFactory;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass() throws Exception
+	{
+		URL url = ClassLoader.getSystemResource( "fom/ieee1516e/rpr/RPR-FOM2D18.xml" );
+		this.rprFom = FOM.parseFOM( url );
+		this.encoderFactory = new HLA1516eEncoderFactory();
+	}
+
+	/**
+	 * Builds a model holding a single fixed record of HLAfloat32BE, HLAASCIIstring and
+	 * HLAboolean, the same as the one used in {@link HLAfixedRecordTest}
+	 */
+	private ObjectModel createRecordModel()
+	{
+		FixedRecordType record = new FixedRecordType( "TestRecord" );
+		record.addField( "One", "HLAfloat32BE" );
+		record.addField( "Two", "HLAASCIIstring" );
+		record.addField( "Three", "HLAboolean" );
+
+		ObjectModel model = new ObjectModel();
+		model.addDatatype( record );
+		model.addDatatype( new ArrayType("TestRecordArray","TestRecord",2,"HLAfixedArray") );
+		model.addDatatype( new ArrayType("TestIntArray","HLAinteger32BE",-1,"HLAvariableArray") );
+		return model;
+	}
+
+    //////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////// Test Methods //////////////////////////////////////
+    //////////////////////////////////////////////////////////////////////////////////////////
+
+	////////////////////////////////////
+	// TEST: testFomDatatypesParsed() //
+	////////////////////////////////////
+	@Test
+	public void testFomDatatypesParsed()
+	{
+		IDatatype location = rprFom.getDatatype( "WorldLocationStruct" );
+		Assert.assertTrue( location instanceof FixedRecordType );
+		Assert.assertEquals( ((FixedRecordType)location).getFields().size(), 3 );
+
+		IDatatype spatial = rprFom.getDatatype( "SpatialStruct" );
+		Assert.assertTrue( spatial instanceof VariantRecordType );
+		Assert.assertEquals( ((VariantRecordType)spatial).getDiscriminantType(),
+		                     "DeadReckoningAlgorithmEnum8" );
+
+		IDatatype algorithm = rprFom.getDatatype( "DeadReckoningAlgorithmEnum8" );
+		Assert.assertTrue( algorithm instanceof EnumeratedType );
+		Assert.assertNotNull( ((EnumeratedType)algorithm).getValue("Static") );
+
+		// standard types are always there, even if the FOM doesn't declare them
+		Assert.assertNotNull( rprFom.getDatatype("HLAunicodeString") );
+		Assert.assertNull( rprFom.getDatatype("NoSuchType") );
+	}
+
+	///////////////////////////////////
+	// TEST: testFomCodecsBuildAll() //
+	///////////////////////////////////
+	@Test
+	public void testFomCodecsBuildAll()
+	{
+		CodecFactory factory = new CodecFactory( rprFom );
+		List<String> failed = new ArrayList<String>();
+		for( IDatatype datatype : rprFom.getDatatypes() )
+		{
+			try
+			{
+				Assert.assertNotNull( factory.getCodec(datatype.getName()) );
+			}
+			catch( EncoderException ee )
+			{
+				// the RPR FOM uses a number of its own array encodings (LengthlessVarArray
+				// and the like) which have no standard codec; everything else should build
+				if( ee.getMessage().contains("Unsupported array encoding") == false )
+					failed.add( datatype.getName()+": "+ee.getMessage() );
+			}
+		}
+
+		Assert.assertTrue( failed.isEmpty(), "Could not build codecs: "+failed );
+	}
+
+	/////////////////////////////////////
+	// TEST: testFomCodecUnknownType() //
+	/////////////////////////////////////
+	@Test
+	public void testFomCodecUnknownType()
+	{
+		try
+		{
+			new CodecFactory( rprFom ).getCodec( "NoSuchType" );
+			Assert.fail( "Expected EncoderException for an unknown type" );
+		}
+		catch( EncoderException ee )
+		{
+			// PASS
+		}
+	}
+
+	////////////////////////////////////////////
+	// TEST: testFomCodecMatchesFixedRecord() //
+	////////////////////////////////////////////
+	@Test
+	public void testFomCodecMatchesFixedRecord() throws Exception
+	{
+		ICodec codec = new CodecFactory( createRecordModel() ).getCodec( "TestRecord" );
+		Assert.assertTrue( codec instanceof FixedRecordCodec );
+
+		HLAfixedRecord record = encoderFactory.createHLAfixedRecord();
+		record.add( encoderFactory.createHLAfloat32BE(HLAfixedRecordTest.VALUE_ONE) );
+		record.add( encoderFactory.createHLAASCIIstring(HLAfixedRecordTest.VALUE_TWO) );
+		record.add( encoderFactory.createHLAboolean(HLAfixedRecordTest.VALUE_THREE) );
+
+		Object[] value = new Object[]{ HLAfixedRecordTest.VALUE_ONE,
+		                               HLAfixedRecordTest.VALUE_TWO,
+		                               1 /*HLAtrue*/ };
+
+		byte[] expected = record.toByteArray();
+		Assert.assertEquals( codec.getEncodedLength(value), expected.length );
+		Assert.assertEquals( CodecFactory.encode(codec,value), expected );
+
+		// decode into an existing array and check it is reused
+		Object[] reuse = new Object[3];
+		ByteWrapper wrapper = new ByteWrapper( expected );
+		Object decoded = CodecFactory.decode( codec, wrapper, reuse );
+		Assert.assertSame( decoded, reuse );
+		Assert.assertEquals( reuse[0], HLAfixedRecordTest.VALUE_ONE );
+		Assert.assertEquals( reuse[1], HLAfixedRecordTest.VALUE_TWO );
+		Assert.assertEquals( ((Number)reuse[2]).intValue(), 1 );
+		Assert.assertEquals( wrapper.remaining(), 0 );
+	}
+
+	///////////////////////////////////////
+	// TEST: testFomCodecMatchesArrays() //
+	///////////////////////////////////////
+	@Test
+	public void testFomCodecMatchesArrays() throws Exception
+	{
+		ICodec codec = new CodecFactory( createRecordModel() ).getCodec( "TestIntArray" );
+
+		HLAvariableArray<HLAinteger32BE> array =
+			encoderFactory.createHLAvariableArray( new DataElementFactory<HLAinteger32BE>()
+			{
+				public HLAinteger32BE createElement( int index )
+				{
+					return encoderFactory.createHLAinteger32BE();
+				}
+			} );
+		array.addElement( encoderFactory.createHLAinteger32BE(7) );
+		array.addElement( encoderFactory.createHLAinteger32BE(-42) );
+
+		Object[] value = new Object[]{ 7, -42 };
+		Assert.assertEquals( CodecFactory.encode(codec,value), array.toByteArray() );
+		Assert.assertEquals( (Object[])CodecFactory.decode(codec,array.toByteArray()), value );
+
+		// fixed arrays of records
+		ICodec records = new CodecFactory( createRecordModel() ).getCodec( "TestRecordArray" );
+		Object[] recordValue = new Object[]{ new Object[]{ 1.5f, "a", 0 },
+		                                     new Object[]{ 2.5f, "bc", 1 } };
+		byte[] bytes = CodecFactory.encode( records, recordValue );
+		Assert.assertEquals( bytes.length, records.getEncodedLength(recordValue) );
+		Object[] decoded = (Object[])CodecFactory.decode( records, bytes );
+		Assert.assertEquals( (Object[])decoded[0], (Object[])recordValue[0] );
+		Assert.assertEquals( (Object[])decoded[1], (Object[])recordValue[1] );
+
+		// wrong number of elements for a fixed array
+		try
+		{
+			CodecFactory.encode( records, new Object[]{ recordValue[0] } );
+			Assert.fail( "Expected EncoderException for the wrong number of elements" );
+		}
+		catch( EncoderException ee )
+		{
+			// PASS
+		}
+	}
+
+	//////////////////////////////////////
+	// TEST: testFomCodecRoundTripRpr() //
+	//////////////////////////////////////
+	@Test
+	public void testFomCodecRoundTripRpr() throws Exception
+	{
+		CodecFactory factory = new CodecFactory( rprFom );
+
+		// WorldLocationStruct is three HLAfloat64BE
+		ICodec location = factory.getCodec( "WorldLocationStruct" );
+		Assert.assertEquals( location.getFixedLength(), 24 );
+		Object[] point = new Object[]{ 1.0, -2.5, 3e6 };
+		byte[] bytes = CodecFactory.encode( location, point );
+		Assert.assertEquals( bytes.length, 24 );
+		Assert.assertEquals( (Object[])CodecFactory.decode(location,bytes), point );
+
+		// SpatialStruct is a variant on the dead reckoning algorithm
+		ICodec spatial = factory.getCodec( "SpatialStruct" );
+		EnumeratedType algorithm =
+			(EnumeratedType)rprFom.getDatatype( "DeadReckoningAlgorithmEnum8" );
+		ICodec staticCodec = factory.getCodec( "SpatialStaticStruct" );
+		Object[] staticValue = new Object[]{ point, 0, new Object[]{ 0.5f, 0.25f, 0.125f } };
+		Object[] variant = new Object[]{ algorithm.getValue("Static").byteValue(), staticValue };
+
+		bytes = CodecFactory.encode( spatial, variant );
+		Assert.assertEquals( bytes.length, 1 + staticCodec.getEncodedLength(staticValue) );
+		Object[] decoded = (Object[])CodecFactory.decode( spatial, bytes );
+		Assert.assertEquals( ((Number)decoded[0]).longValue(),
+		                     algorithm.getValue("Static").longValue() );
+		Object[] decodedStatic = (Object[])decoded[1];
+		Assert.assertEquals( (Object[])decodedStatic[0], point );
+		Assert.assertEquals( (Object[])decodedStatic[2], (Object[])staticValue[2] );
+
+		// not enough data
+		try
+		{
+			CodecFactory.decode( spatial, Arrays.copyOf(bytes,bytes.length-1) );
+			Assert.fail( "Expected DecoderException for truncated data" );
+		}
+		catch( DecoderException de )
+		{
+			// PASS
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
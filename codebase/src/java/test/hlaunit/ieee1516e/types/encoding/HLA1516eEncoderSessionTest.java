@@ -0,0 +1,194 @@
+/*
+ *   Copyright 2013 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package hlaunit.ieee1516e.types.encoding;
+
+import java.util.HashMap;
+
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.impl.hla1516e.types.encoding.HLA1516eEncoderFactory;
+import org.portico.impl.hla1516e.types.encoding.HLA1516eEncoderSession;
+import org.portico.impl.hla1516e.types.encoding.codec.BasicCodec;
+import org.portico.lrc.model.datatype.BasicType;
+import org.portico.lrc.model.datatype.StandardDatatypes;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import hla.rti1516e.AttributeHandle;
+import hla.rti1516e.AttributeHandleValueMap;
+import hla.rti1516e.encoding.ByteWrapper;
+import hla.rti1516e.encoding.DataElement;
+import hla.rti1516e.encoding.EncoderException;
+import hla.rti1516e.encoding.EncoderFactory;
+import hla.rti1516e.encoding.HLAfixedRecord;
+
+@Test(groups={"HLA1516eEncoderSessionTest","types","encoding"})
+public class HLA1516eEncoderSessionTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final AttributeHandle ONE = new HLA1516eHandle( 1 );
+	private static final AttributeHandle TWO = new HLA1516eHandle( 2 );
+	private static final AttributeHandle THREE = new HLA1516eHandle( 3 );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private EncoderFactory encoderFactory;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass()
+	{
+		this.encoderFactory = new HLA1516eEncoderFactory();
+	}
+
+	private DataElement createRecord()
+	{
+		HLAfixedRecord record = encoderFactory.createHLAfixedRecord();
+		record.add( encoderFactory.createHLAfloat32BE(HLAfixedRecordTest.VALUE_ONE) );
+		record.add( encoderFactory.createHLAASCIIstring(HLAfixedRecordTest.VALUE_TWO) );
+		record.add( encoderFactory.createHLAboolean(HLAfixedRecordTest.VALUE_THREE) );
+		return record;
+	}
+
+    //////////////////////////////////////////////////////////////////////////////////////////
+    ////////////////////////////////////// Test Methods //////////////////////////////////////
+    //////////////////////////////////////////////////////////////////////////////////////////
+
+	///////////////////////////////////
+	// TEST: testSessionEncodeMany() //
+	///////////////////////////////////
+	@Test
+	public void testSessionEncodeMany()
+	{
+		// start small so that the buffer has to grow
+		HLA1516eEncoderSession session = new HLA1516eEncoderSession( 1 );
+		DataElement record = createRecord();
+		DataElement integer = encoderFactory.createHLAinteger64LE( 0x0102030405060708L );
+		DataElement string = encoderFactory.createHLAunicodeString( "portico" );
+
+		session.encode( ONE, record );
+		session.encode( TWO, integer );
+		session.encode( THREE, string );
+		Assert.assertEquals( session.size(), 3 );
+		Assert.assertEquals( session.getEncodedLength(), record.getEncodedLength() +
+		                                                  integer.getEncodedLength() +
+		                                                  string.getEncodedLength() );
+
+		// each value should be exactly what the element would give us on its own
+		AttributeHandleValueMap map = session.toAttributeHandleValueMap();
+		Assert.assertEquals( map.size(), 3 );
+		Assert.assertEquals( map.get(ONE), record.toByteArray() );
+		Assert.assertEquals( map.get(TWO), integer.toByteArray() );
+		Assert.assertEquals( map.get(THREE), string.toByteArray() );
+
+		// reset and reuse
+		session.reset();
+		Assert.assertEquals( session.size(), 0 );
+		Assert.assertEquals( session.getEncodedLength(), 0 );
+		session.encode( TWO, record );
+		HashMap<Integer,byte[]> values = session.toJavaMap( new HashMap<Integer,byte[]>() );
+		Assert.assertEquals( values.size(), 1 );
+		Assert.assertEquals( values.get(2), record.toByteArray() );
+	}
+
+	////////////////////////////////////
+	// TEST: testSessionBackfillInt() //
+	////////////////////////////////////
+	@Test
+	public void testSessionBackfillInt()
+	{
+		HLA1516eEncoderSession session = new HLA1516eEncoderSession( 4 );
+		ByteWrapper wrapper = session.begin( ONE );
+		int count = session.reserveInt();
+		int length = session.reserveInt();
+		for( int i = 0; i < 3; i++ )
+			encoderFactory.createHLAinteger32BE( i ).encode( wrapper );
+
+		session.backfillInt( count, 3 );
+		session.backfillLength( length );
+		session.end();
+
+		byte[] value = session.toAttributeHandleValueMap().get( ONE );
+		ByteWrapper reader = new ByteWrapper( value );
+		Assert.assertEquals( reader.getInt(), 3 );
+		Assert.assertEquals( reader.getInt(), 12 );
+		for( int i = 0; i < 3; i++ )
+			Assert.assertEquals( reader.getInt(), i );
+	}
+
+	////////////////////////////////////
+	// TEST: testSessionEncodeCodec() //
+	////////////////////////////////////
+	@Test
+	public void testSessionEncodeCodec()
+	{
+		BasicType basic = (BasicType)StandardDatatypes.get( "HLAfloat64LE" );
+		HLA1516eEncoderSession session = new HLA1516eEncoderSession();
+		session.encode( ONE, new BasicCodec("HLAfloat64LE",basic), 2.5 );
+
+		byte[] expected = encoderFactory.createHLAfloat64LE( 2.5 ).toByteArray();
+		Assert.assertEquals( session.toAttributeHandleValueMap().get(ONE), expected );
+	}
+
+	////////////////////////////////////
+	// TEST: testSessionEncodeFails() //
+	////////////////////////////////////
+	@Test
+	public void testSessionEncodeFails()
+	{
+		HLA1516eEncoderSession session = new HLA1516eEncoderSession();
+		session.encode( ONE, createRecord() );
+		int length = session.getEncodedLength();
+
+		// an empty record can't be encoded, and shouldn't leave anything behind
+		try
+		{
+			session.encode( TWO, encoderFactory.createHLAfixedRecord() );
+			Assert.fail( "Expected EncoderException encoding an empty record" );
+		}
+		catch( EncoderException ee )
+		{
+			// PASS
+		}
+
+		Assert.assertEquals( session.size(), 1 );
+		Assert.assertEquals( session.getEncodedLength(), length );
+
+		// values have to be ended before they can be used
+		session.begin( THREE ).put( 1 );
+		try
+		{
+			session.toAttributeHandleValueMap();
+			Assert.fail( "Expected EncoderException with a value still open" );
+		}
+		catch( EncoderException ee )
+		{
+			// PASS
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
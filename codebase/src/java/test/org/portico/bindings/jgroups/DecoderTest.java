@@ -0,0 +1,247 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.portico.lrc.LRC;
+import org.portico.lrc.services.sync.msg.SyncPointAchieved;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link Decoder}: messages from each sender are delivered in the order they were
+ * submitted no matter which worker finishes first, a slow sender doesn't hold up the others and
+ * the stream kept for a sender goes away when it is released.
+ * <p/>
+ * Payloads are just "sender:sequence" strings. A {@link Federation} stub turns them into
+ * {@link SyncPointAchieved} messages with the payload as the label and records what it is given.
+ */
+@Test(groups={"DecoderTest","jgroups"})
+public class DecoderTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private RecordingFederation federation;
+	private Decoder decoder;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod
+	public void beforeMethod()
+	{
+		this.federation = new RecordingFederation();
+		this.decoder = new Decoder( federation, 4 );
+	}
+	
+	@AfterMethod
+	public void afterMethod()
+	{
+		federation.gate.countDown();
+		decoder.shutdown();
+	}
+
+	@Test
+	public void testDeliversInSenderOrder()
+	{
+		for( int i = 0; i < 200; i++ )
+		{
+			submit( "a", i );
+			submit( "b", i );
+		}
+		
+		decoder.flush();
+		Assert.assertEquals( federation.delivered().size(), 400 );
+		Assert.assertEquals( federation.delivered("a"), sequence("a",200) );
+		Assert.assertEquals( federation.delivered("b"), sequence("b",200) );
+	}
+
+	@Test
+	public void testSlowSenderDoesNotHoldUpOthers() throws Exception
+	{
+		// the first message from "a" can't finish decoding until we open the gate
+		federation.blocked = "a:0";
+		submit( "a", 0 );
+		submit( "a", 1 );
+		for( int i = 0; i < 10; i++ )
+			submit( "b", i );
+		
+		Assert.assertTrue( federation.waitForDelivered(10), "Messages from b held up behind a" );
+		Assert.assertEquals( federation.delivered("a").size(), 0 );
+
+		// let "a" go, its second message must still come out after the first
+		federation.gate.countDown();
+		decoder.flush();
+		Assert.assertEquals( federation.delivered("a"), sequence("a",2) );
+		Assert.assertEquals( federation.delivered("b"), sequence("b",10) );
+	}
+
+	@Test
+	public void testReleaseRemovesStream()
+	{
+		submit( "a", 0 );
+		submit( "b", 0 );
+		decoder.flush();
+		Assert.assertEquals( decoder.getStreamCount(), 2 );
+
+		decoder.release( "a" );
+		Assert.assertEquals( decoder.getStreamCount(), 1 );
+		decoder.release( "b" );
+		Assert.assertEquals( decoder.getStreamCount(), 0 );
+
+		// releasing something we never heard from is fine
+		decoder.release( "c" );
+		Assert.assertEquals( decoder.getStreamCount(), 0 );
+	}
+
+	@Test
+	public void testReleaseKeepsStreamWithUndeliveredMessages()
+	{
+		federation.blocked = "a:0";
+		submit( "a", 0 );
+		submit( "a", 1 );
+		
+		// nothing has come out yet, so the stream has to stay to keep the order
+		decoder.release( "a" );
+		Assert.assertEquals( decoder.getStreamCount(), 1 );
+
+		federation.gate.countDown();
+		decoder.flush();
+		Assert.assertEquals( federation.delivered("a"), sequence("a",2) );
+		decoder.release( "a" );
+		Assert.assertEquals( decoder.getStreamCount(), 0 );
+	}
+
+	private void submit( String sender, int sequence )
+	{
+		decoder.submit( sender, (sender+":"+sequence).getBytes(), null );
+	}
+
+	private List<String> sequence( String sender, int count )
+	{
+		List<String> expected = new ArrayList<String>();
+		for( int i = 0; i < count; i++ )
+			expected.add( sender+":"+i );
+		
+		return expected;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Decodes "sender:sequence" payloads and records the order they are delivered in. Every
+	 * third payload takes a little longer to decode so that workers finish out of order, and
+	 * the payload named by <code>blocked</code> waits for the gate to open.
+	 */
+	private class RecordingFederation extends Federation
+	{
+		private List<String> delivered = new ArrayList<String>();
+		private volatile String blocked = null;
+		private CountDownLatch gate = new CountDownLatch( 1 );
+
+		public RecordingFederation()
+		{
+			super( "DecoderTest" );
+		}
+
+		@Override
+		protected PorticoMessage decode( byte[] payload, LRC lrc )
+		{
+			String label = new String( payload );
+			try
+			{
+				if( label.equals(blocked) )
+					gate.await( 10, TimeUnit.SECONDS );
+				else if( label.hashCode() % 3 == 0 )
+					Thread.sleep( 1 );
+			}
+			catch( InterruptedException ie )
+			{
+				return null;
+			}
+
+			return new SyncPointAchieved( label );
+		}
+
+		@Override
+		protected void deliver( PorticoMessage message, int size, LRC lrc )
+		{
+			synchronized( delivered )
+			{
+				delivered.add( ((SyncPointAchieved)message).getLabel() );
+				delivered.notifyAll();
+			}
+		}
+
+		private List<String> delivered()
+		{
+			synchronized( delivered )
+			{
+				return new ArrayList<String>( delivered );
+			}
+		}
+
+		private List<String> delivered( String sender )
+		{
+			List<String> fromSender = new ArrayList<String>();
+			for( String label : delivered() )
+			{
+				if( label.startsWith(sender+":") )
+					fromSender.add( label );
+			}
+			
+			return fromSender;
+		}
+
+		private boolean waitForDelivered( int count ) throws InterruptedException
+		{
+			long deadline = System.currentTimeMillis() + 5000;
+			synchronized( delivered )
+			{
+				while( delivered.size() < count )
+				{
+					long remaining = deadline - System.currentTimeMillis();
+					if( remaining <= 0 )
+						return false;
+
+					delivered.wait( remaining );
+				}
+			}
+			
+			return true;
+		}
+	}
+}
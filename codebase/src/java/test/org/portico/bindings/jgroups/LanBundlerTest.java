@@ -0,0 +1,376 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.portico.bindings.jgroups.channel.Channel;
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.utils.messaging.MessagePriority;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the {@link LanBundler}: bundles split back into exactly what was submitted, they go out
+ * when full or when the oldest message has waited long enough, nothing sent unbundled overtakes
+ * a message that was already bundled, and a send in progress doesn't hold up other submitters.
+ * <p/>
+ * No JGroups channel is connected, a {@link Channel} stub records what it is asked to send.
+ */
+@Test(groups={"LanBundlerTest","jgroups"})
+public class LanBundlerTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private RecordingChannel channel;
+	private LanBundler bundler;
+	private List<Throwable> failures; // anything thrown on a thread other than the test's
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod
+	public void beforeMethod()
+	{
+		// long enough that the flusher only gets involved when a test wants it to
+		System.setProperty( Configuration.PROP_JGROUPS_BUNDLER_TIME, "60000" );
+		this.channel = new RecordingChannel();
+		this.failures = Collections.synchronizedList( new ArrayList<Throwable>() );
+	}
+
+	@AfterMethod
+	public void afterMethod()
+	{
+		channel.gate.countDown();
+		if( bundler != null )
+			bundler.stop();
+
+		System.clearProperty( Configuration.PROP_JGROUPS_BUNDLER_TIME );
+		System.clearProperty( Configuration.PROP_JGROUPS_BUNDLER_SIZE );
+	}
+
+	@Test
+	public void testFramingRoundTrip() throws Exception
+	{
+		startBundler();
+		byte[][] payloads = new byte[][]{ new byte[0],
+		                                  "a".getBytes(),
+		                                  new byte[1500],
+		                                  "the last one".getBytes() };
+		payloads[2][1499] = 42;
+		for( byte[] payload : payloads )
+			bundler.submit( payload, MessagePriority.NORMAL );
+
+		Assert.assertEquals( channel.bundles.size(), 0 );
+		bundler.flush();
+		Assert.assertEquals( channel.bundles.size(), 1 );
+
+		List<byte[]> split = LanBundler.split( channel.bundles.get(0) );
+		Assert.assertEquals( split.size(), payloads.length );
+		for( int i = 0; i < payloads.length; i++ )
+			Assert.assertTrue( Arrays.equals(split.get(i),payloads[i]), "Payload "+i+" changed" );
+
+		Assert.assertEquals( bundler.getSentMessageCount(), 4 );
+		Assert.assertEquals( bundler.getSentBundleCount(), 1 );
+
+		// nothing left to flush
+		bundler.flush();
+		Assert.assertEquals( channel.bundles.size(), 1 );
+	}
+
+	@Test
+	public void testBundleFlushedBeforePriorityMessage() throws Exception
+	{
+		startBundler();
+		submit( "one" );
+		submit( "two" );
+		bundler.submit( "control".getBytes(), MessagePriority.CONTROL );
+		submit( "three" );
+		bundler.submit( "expedited".getBytes(), MessagePriority.EXPEDITED );
+
+		Assert.assertEquals( channel.sent(), Arrays.asList("one","two","control",
+		                                                   "three","expedited") );
+	}
+
+	@Test
+	public void testPriorityMessagesNeverOvertakeFromManyThreads() throws Exception
+	{
+		startBundler();
+		channel.slow = true;
+		final int threads = 4;
+		final int messages = 100;
+		final CountDownLatch done = new CountDownLatch( threads );
+		for( int t = 0; t < threads; t++ )
+		{
+			final String name = "t"+t;
+			new Thread( new Runnable()
+			{
+				public void run()
+				{
+					try
+					{
+						for( int i = 0; i < messages; i++ )
+						{
+							submit( name+":"+i );
+							if( i % 10 == 9 )
+								bundler.submit( (name+":p"+i).getBytes(), MessagePriority.CONTROL );
+						}
+					}
+					catch( Throwable throwable )
+					{
+						failures.add( throwable );
+					}
+					finally
+					{
+						done.countDown();
+					}
+				}
+			}).start();
+		}
+
+		Assert.assertTrue( done.await(30,TimeUnit.SECONDS), "Submitting threads didn't finish" );
+		assertNoFailures();
+		bundler.flush();
+
+		// each thread's messages must come out in the order it submitted them
+		List<String> sent = channel.sent();
+		Assert.assertEquals( sent.size(), threads*(messages+messages/10) );
+		for( int t = 0; t < threads; t++ )
+		{
+			List<String> expected = new ArrayList<String>();
+			List<String> actual = new ArrayList<String>();
+			for( int i = 0; i < messages; i++ )
+			{
+				expected.add( "t"+t+":"+i );
+				if( i % 10 == 9 )
+					expected.add( "t"+t+":p"+i );
+			}
+
+			for( String message : sent )
+			{
+				if( message.startsWith("t"+t+":") )
+					actual.add( message );
+			}
+
+			Assert.assertEquals( actual, expected );
+		}
+	}
+
+	@Test
+	public void testFlushesWhenFull() throws Exception
+	{
+		System.setProperty( Configuration.PROP_JGROUPS_BUNDLER_SIZE, "1k" );
+		startBundler();
+
+		// 100 bytes plus 4 bytes of length each, ten of them won't quite fill it
+		for( int i = 0; i < 9; i++ )
+			bundler.submit( new byte[100], MessagePriority.NORMAL );
+
+		Assert.assertEquals( channel.bundles.size(), 0 );
+		bundler.submit( new byte[100], MessagePriority.NORMAL );
+		Assert.assertEquals( channel.bundles.size(), 1 );
+		Assert.assertEquals( LanBundler.split(channel.bundles.get(0)).size(), 10 );
+	}
+
+	@Test
+	public void testFlushesAfterTimeout() throws Exception
+	{
+		System.setProperty( Configuration.PROP_JGROUPS_BUNDLER_TIME, "5" );
+		startBundler();
+		submit( "waiting" );
+
+		Assert.assertTrue( channel.waitForBundles(1), "Bundle not flushed after the timeout" );
+		Assert.assertEquals( channel.sent(), Arrays.asList("waiting") );
+	}
+
+	@Test
+	public void testSubmitNotBlockedBySend() throws Exception
+	{
+		startBundler();
+		channel.blocked = true;
+		submit( "first" );
+
+		// this flush is stuck sending until we open the gate
+		Thread flusher = new Thread( new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					bundler.flush();
+				}
+				catch( Throwable throwable )
+				{
+					failures.add( throwable );
+				}
+			}
+		});
+		flusher.start();
+		Assert.assertTrue( channel.waitForBundles(1), "Flush didn't start sending" );
+
+		// we can still fill the next bundle while that one is going out
+		final CountDownLatch submitted = new CountDownLatch( 1 );
+		new Thread( new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					submit( "second" );
+					submitted.countDown();
+				}
+				catch( Throwable throwable )
+				{
+					failures.add( throwable );
+				}
+			}
+		}).start();
+		boolean wasSubmitted = submitted.await( 5, TimeUnit.SECONDS );
+		assertNoFailures();
+		Assert.assertTrue( wasSubmitted, "Submit held up by a send" );
+
+		channel.gate.countDown();
+		flusher.join( 5000 );
+		Assert.assertFalse( flusher.isAlive(), "Flush still sending after the gate opened" );
+		assertNoFailures();
+		bundler.flush();
+		Assert.assertEquals( channel.sent(), Arrays.asList("first","second") );
+	}
+
+	/**
+	 * Fail the test with the first exception recorded by any of the threads it started
+	 */
+	private void assertNoFailures()
+	{
+		synchronized( failures )
+		{
+			if( failures.isEmpty() == false )
+			{
+				Throwable first = failures.get( 0 );
+				Assert.fail( failures.size()+" exception(s) on test threads, first: "+first, first );
+			}
+		}
+	}
+
+	private void startBundler()
+	{
+		this.bundler = new LanBundler( channel );
+		this.bundler.start();
+	}
+
+	private void submit( String message ) throws JRTIinternalError
+	{
+		bundler.submit( message.getBytes(), MessagePriority.NORMAL );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Records every bundle and unbundled message in the order it was asked to send them. If
+	 * <code>slow</code> is set each send takes a moment, giving other threads a chance to get in;
+	 * if <code>blocked</code> is set bundles wait for the gate to open before the send returns.
+	 */
+	private class RecordingChannel extends Channel
+	{
+		private List<byte[]> bundles = new ArrayList<byte[]>();
+		private List<String> sent = new ArrayList<String>();
+		private volatile boolean slow = false;
+		private volatile boolean blocked = false;
+		private CountDownLatch gate = new CountDownLatch( 1 );
+
+		public RecordingChannel()
+		{
+			super( new Federation("LanBundlerTest") );
+		}
+
+		@Override
+		public void send( byte[] payload, MessagePriority priority ) throws JRTIinternalError
+		{
+			pause();
+			synchronized( this )
+			{
+				sent.add( new String(payload) );
+			}
+		}
+
+		@Override
+		public void sendBundle( byte[] bundle ) throws JRTIinternalError
+		{
+			synchronized( this )
+			{
+				bundles.add( bundle );
+				for( byte[] payload : LanBundler.split(bundle) )
+					sent.add( new String(payload) );
+
+				notifyAll();
+			}
+
+			pause();
+			if( blocked )
+			{
+				try
+				{
+					gate.await( 10, TimeUnit.SECONDS );
+				}
+				catch( InterruptedException ie )
+				{
+					throw new JRTIinternalError( ie );
+				}
+			}
+		}
+
+		private void pause()
+		{
+			if( slow )
+				Thread.yield();
+		}
+
+		/** @return Every message sent so far, bundled or not, in the order it went out */
+		public synchronized List<String> sent()
+		{
+			return new ArrayList<String>( sent );
+		}
+
+		public synchronized boolean waitForBundles( int count ) throws InterruptedException
+		{
+			long deadline = System.currentTimeMillis() + 5000;
+			while( bundles.size() < count && System.currentTimeMillis() < deadline )
+				wait( 100 );
+
+			return bundles.size() >= count;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.jgroups.protocols.TP;
+import org.portico.lrc.compat.JFederationExecutionAlreadyExists;
+import org.portico.lrc.model.ObjectModel;
+import org.portico.lrc.services.federation.msg.CreateFederation;
+import org.portico.lrc.services.federation.msg.DestroyFederation;
+import org.portico.utils.fom.FomParser;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that federations created through {@link JGroupsConnection}s in the same JVM share a single
+ * JGroups transport when {@link Configuration#PROP_JGROUPS_SHARED_TRANSPORT} is on, and that the
+ * {@link Federation}s the connections cache are reused or dropped as they should be around a
+ * failed create and a destroy.
+ */
+@Test(groups={"SharedTransportTest","jgroups"})
+public class SharedTransportTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String sharedTransportProperty;
+	private ObjectModel fom;
+	private String prefix;
+	private List<JGroupsConnection> connections;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass() throws Exception
+	{
+		this.sharedTransportProperty =
+			System.getProperty( Configuration.PROP_JGROUPS_SHARED_TRANSPORT );
+		System.setProperty( Configuration.PROP_JGROUPS_SHARED_TRANSPORT, "true" );
+		this.fom = FomParser.parse( ClassLoader.getSystemResource("fom/testfom.fed") );
+	}
+
+	@AfterClass(alwaysRun=true)
+	public void afterClass()
+	{
+		if( sharedTransportProperty == null )
+			System.clearProperty( Configuration.PROP_JGROUPS_SHARED_TRANSPORT );
+		else
+			System.setProperty( Configuration.PROP_JGROUPS_SHARED_TRANSPORT,
+			                    sharedTransportProperty );
+	}
+
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod()
+	{
+		// keep well clear of federations from other tests or runs on the same network
+		this.prefix = "sharedTransportTest-"+System.currentTimeMillis()+"-";
+		this.connections = new ArrayList<JGroupsConnection>();
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		for( JGroupsConnection connection : connections )
+			connection.disconnect();
+	}
+
+	@Test
+	public void testFederationsShareOneTransport() throws Exception
+	{
+		JGroupsConnection connection = connect();
+		TP transport = null;
+		for( int i = 0; i < 3; i++ )
+		{
+			String name = prefix+"shared"+i;
+			connection.createFederation( new CreateFederation(name,fom) );
+
+			Federation federation = connection.getFederation( name );
+			Assert.assertNotNull( federation, "No federation cached for ["+name+"]" );
+			TP current = federation.getChannel().getTransport();
+			Assert.assertTrue( current.isSingleton(), "["+name+"] isn't on the shared transport" );
+			if( transport == null )
+				transport = current;
+			else
+				Assert.assertSame( current, transport, "["+name+"] has a transport of its own" );
+		}
+
+		for( int i = 0; i < 3; i++ )
+			connection.destroyFederation( new DestroyFederation(prefix+"shared"+i) );
+	}
+
+	@Test
+	public void testFailedCreateKeepsConnectedFederation() throws Exception
+	{
+		String name = prefix+"failed";
+		JGroupsConnection first = connect();
+		JGroupsConnection second = connect();
+		first.createFederation( new CreateFederation(name,fom) );
+		TP shared = first.getFederation(name).getChannel().getTransport();
+
+		createExpectingFailure( second, name );
+		Federation federation = second.getFederation( name );
+		Assert.assertNotNull( federation, "Federation not kept after failed create" );
+		Assert.assertTrue( federation.isConnected(), "Federation disconnected by failed create" );
+
+		// the cluster is already on the shared transport, so the second channel can't be
+		TP transport = federation.getChannel().getTransport();
+		Assert.assertNotSame( transport, shared );
+		Assert.assertFalse( transport.isSingleton(), "Second channel for cluster was shared" );
+
+		// trying again goes through the federation we have rather than connecting a new one
+		createExpectingFailure( second, name );
+		Assert.assertSame( second.getFederation(name), federation );
+		Assert.assertTrue( federation.isConnected(), "Federation disconnected by failed create" );
+
+		first.destroyFederation( new DestroyFederation(name) );
+	}
+
+	@Test
+	public void testDestroyDropsCachedFederation() throws Exception
+	{
+		String name = prefix+"destroyed";
+		JGroupsConnection connection = connect();
+		connection.createFederation( new CreateFederation(name,fom) );
+		Federation federation = connection.getFederation( name );
+
+		// the destroy goes through the federation we already have, which is then let go
+		connection.destroyFederation( new DestroyFederation(name) );
+		Assert.assertFalse( federation.isConnected(), "Cached federation not disconnected" );
+		Assert.assertNull( connection.getFederation(name), "Destroyed federation still cached" );
+
+		// creating it again must connect a new federation, not reuse the disconnected one
+		connection.createFederation( new CreateFederation(name,fom) );
+		Federation recreated = connection.getFederation( name );
+		Assert.assertNotSame( recreated, federation );
+		Assert.assertTrue( recreated.isConnected(), "Recreated federation not connected" );
+		Assert.assertTrue( recreated.getChannel().getTransport().isSingleton(),
+		                   "Recreated federation not back on the shared transport" );
+
+		connection.destroyFederation( new DestroyFederation(name) );
+	}
+
+	private JGroupsConnection connect() throws Exception
+	{
+		JGroupsConnection connection = new JGroupsConnection();
+		connection.configure( null, new HashMap<String,Object>() );
+		connection.connect();
+		connections.add( connection );
+		return connection;
+	}
+
+	private void createExpectingFailure( JGroupsConnection connection, String name )
+		throws Exception
+	{
+		try
+		{
+			connection.createFederation( new CreateFederation(name,fom) );
+			Assert.fail( "Expected JFederationExecutionAlreadyExists creating ["+name+"] twice" );
+		}
+		catch( JFederationExecutionAlreadyExists feae )
+		{
+			// yay!
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,245 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.jgroups.channel;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.List;
+
+import org.jgroups.JChannel;
+import org.jgroups.conf.ProtocolConfiguration;
+import org.jgroups.protocols.TCP;
+import org.jgroups.protocols.TP;
+import org.jgroups.protocols.UDP;
+import org.portico.bindings.jgroups.Configuration;
+import org.portico.lrc.compat.JConfigurationException;
+import org.portico.utils.ResourceLocator;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the selection of the JGroups stack through {@link Configuration#PROP_JGROUPS_STACK}:
+ * from a system property or the RID, each of the built-in profiles, an external stack file, and
+ * what happens when the external file is missing or isn't a valid stack.
+ */
+@Test(groups={"StackFactoryTest","jgroups"})
+public class StackFactoryTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String stackProperty;
+	private File directory;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		this.stackProperty = System.getProperty( Configuration.PROP_JGROUPS_STACK );
+		System.clearProperty( Configuration.PROP_JGROUPS_STACK );
+		this.directory = Files.createTempDirectory( "stackFactoryTest" ).toFile();
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod()
+	{
+		if( stackProperty == null )
+			System.clearProperty( Configuration.PROP_JGROUPS_STACK );
+		else
+			System.setProperty( Configuration.PROP_JGROUPS_STACK, stackProperty );
+
+		for( File file : directory.listFiles() )
+			file.delete();
+		directory.delete();
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////// Profile Selection Tests ////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testDefaultProfileIsUdp()
+	{
+		Assert.assertEquals( Configuration.getStackLocation(), "etc/jgroups-udp.xml" );
+	}
+
+	@Test
+	public void testProfileSelectedBySystemProperty()
+	{
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, "throughput" );
+		Assert.assertEquals( Configuration.getStackLocation(), "etc/jgroups-throughput.xml" );
+
+		// names are matched without regard to case or surrounding whitespace
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, " TCP-File " );
+		Assert.assertEquals( Configuration.getStackLocation(), "etc/jgroups-tcp-file.xml" );
+	}
+
+	@Test
+	public void testProfileSelectedByRid() throws Exception
+	{
+		File rid = new File( directory, "RTI.rid" );
+		FileWriter writer = new FileWriter( rid );
+		writer.write( "# select a profile the way a federate's RID would\n" );
+		writer.write( Configuration.PROP_JGROUPS_STACK+" = lowlatency\n" );
+		writer.close();
+
+		ResourceLocator.loadPropertiesFile( rid.getAbsolutePath() );
+		Assert.assertEquals( Configuration.getStackLocation(), "etc/jgroups-lowlatency.xml" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// Built-in Profile Tests ////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testUdpProfile() throws Exception
+	{
+		assertProfile( "udp", UDP.class, "PING" );
+	}
+
+	@Test
+	public void testLowLatencyProfile() throws Exception
+	{
+		assertProfile( "lowlatency", UDP.class, "PING" );
+	}
+
+	@Test
+	public void testThroughputProfile() throws Exception
+	{
+		assertProfile( "throughput", UDP.class, "PING" );
+	}
+
+	@Test
+	public void testTcpProfile() throws Exception
+	{
+		assertProfile( "tcp", TCP.class, "TCPPING" );
+	}
+
+	@Test
+	public void testTcpFileProfile() throws Exception
+	{
+		assertProfile( "tcp-file", TCP.class, "FILE_PING" );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	//////////////////////////////// External Stack Tests //////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	@Test
+	public void testExternalStackFile() throws Exception
+	{
+		// use a copy of the tcp profile so we can tell it apart from the udp default
+		File stack = new File( directory, "external-stack.xml" );
+		InputStream profile = ClassLoader.getSystemResourceAsStream( "etc/jgroups-tcp.xml" );
+		Assert.assertNotNull( profile, "Could not find tcp profile on the classpath" );
+		Files.copy( profile, stack.toPath() );
+		profile.close();
+
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, stack.getAbsolutePath() );
+		Assert.assertEquals( Configuration.getStackLocation(), stack.getAbsolutePath() );
+		assertTransport( "external", TCP.class );
+	}
+
+	@Test
+	public void testMissingExternalStackFile() throws Exception
+	{
+		File stack = new File( directory, "missing-stack.xml" );
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, stack.getAbsolutePath() );
+		assertStackRejected( stack );
+	}
+
+	@Test
+	public void testInvalidExternalStackFile() throws Exception
+	{
+		File stack = new File( directory, "invalid-stack.xml" );
+		FileWriter writer = new FileWriter( stack );
+		writer.write( "<config xmlns=\"urn:org:jgroups\">\n    <UDP bind_port=\"7600\"\n" );
+		writer.close();
+
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, stack.getAbsolutePath() );
+		assertStackRejected( stack );
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/////////////////////////////////// Helper Methods /////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	/**
+	 * Select the named profile, check it parses with the given transport and discovery protocol
+	 * and that a channel can be built from it.
+	 */
+	private void assertProfile( String profile, Class<? extends TP> transport, String discovery )
+		throws Exception
+	{
+		System.setProperty( Configuration.PROP_JGROUPS_STACK, profile );
+		List<ProtocolConfiguration> stack =
+			StackFactory.getStack( Configuration.getStackLocation() );
+
+		Assert.assertEquals( stack.get(0).getProtocolName(), transport.getSimpleName(),
+		                     "Wrong transport in ["+profile+"] profile" );
+		boolean found = false;
+		for( ProtocolConfiguration protocol : stack )
+			found |= protocol.getProtocolName().equals( discovery );
+		Assert.assertTrue( found, "No "+discovery+" discovery in ["+profile+"] profile" );
+
+		assertTransport( profile, transport );
+	}
+
+	/**
+	 * Build (but don't connect) a channel from the selected stack and check its transport
+	 */
+	private void assertTransport( String name, Class<? extends TP> transport ) throws Exception
+	{
+		String cluster = "stackFactoryTest-"+name;
+		JChannel channel = StackFactory.createChannel( cluster );
+		try
+		{
+			Assert.assertTrue( transport.isInstance(channel.getProtocolStack().getTransport()),
+			                   "Channel for ["+name+"] not using "+transport.getSimpleName() );
+		}
+		finally
+		{
+			StackFactory.closeChannel( cluster, channel );
+		}
+	}
+
+	private void assertStackRejected( File stack ) throws Exception
+	{
+		try
+		{
+			StackFactory.createChannel( "stackFactoryTest-rejected" );
+			Assert.fail( "Expected JConfigurationException for stack file ["+stack+"]" );
+		}
+		catch( JConfigurationException jce )
+		{
+			Assert.assertTrue( jce.getMessage().contains(stack.getAbsolutePath()),
+			                   "Exception doesn't name the stack file: "+jce.getMessage() );
+		}
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,230 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.bindings.shm;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.portico.lrc.compat.JRTIinternalError;
+import org.portico.lrc.model.ObjectModel;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the broadcast ring of the {@link SharedFederation}: records come back out in the order
+ * they went in (including across the end of the ring), producers can't overrun slow readers and
+ * federates that have resigned stop receiving.
+ */
+@Test(groups={"SharedFederationTest","shm"})
+public class SharedFederationTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private File directory;
+	private SharedFederation first;
+	private SharedFederation second;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod
+	public void beforeMethod() throws Exception
+	{
+		this.directory = File.createTempFile( "shm", "" );
+		this.directory.delete();
+		System.setProperty( Configuration.PROP_SHM_DIRECTORY, directory.getAbsolutePath() );
+		System.setProperty( Configuration.PROP_SHM_RING_SIZE, "1k" );
+		System.setProperty( Configuration.PROP_SHM_FOM_SIZE, "64k" );
+		System.setProperty( Configuration.PROP_SHM_SEND_TIMEOUT, "200" );
+
+		SharedFederation.create( "shmtest", new ObjectModel() ).close();
+		this.first = SharedFederation.open( "shmtest" );
+		this.second = SharedFederation.open( "shmtest" );
+		this.first.join( "first", new ArrayList<ObjectModel>() );
+		this.second.join( "second", new ArrayList<ObjectModel>() );
+	}
+	
+	@AfterMethod
+	public void afterMethod() throws Exception
+	{
+		first.resign();
+		second.resign();
+		first.destroy();
+		second.close();
+
+		System.clearProperty( Configuration.PROP_SHM_DIRECTORY );
+		System.clearProperty( Configuration.PROP_SHM_RING_SIZE );
+		System.clearProperty( Configuration.PROP_SHM_FOM_SIZE );
+		System.clearProperty( Configuration.PROP_SHM_SEND_TIMEOUT );
+		directory.delete();
+	}
+
+	private byte[] record( int length, int seed )
+	{
+		byte[] bytes = new byte[length];
+		for( int i = 0; i < length; i++ )
+			bytes[i] = (byte)(seed+i);
+
+		return bytes;
+	}
+
+	@Test
+	public void testRoundTrip() throws Exception
+	{
+		Assert.assertNull( second.read() );
+		Assert.assertFalse( second.hasPending() );
+
+		first.write( record(10,1) );
+		first.write( record(3,2) );
+		Assert.assertTrue( second.hasPending() );
+
+		// every member sees every record, including the one that wrote it
+		for( SharedFederation federation : new SharedFederation[]{ first, second } )
+		{
+			Assert.assertTrue( Arrays.equals(federation.read(),record(10,1)) );
+			Assert.assertTrue( Arrays.equals(federation.read(),record(3,2)) );
+			Assert.assertNull( federation.read() );
+			Assert.assertFalse( federation.hasPending() );
+		}
+	}
+
+	@Test
+	public void testRingWrap() throws Exception
+	{
+		// sizes that don't divide the ring evenly, so records land across the end of it
+		for( int i = 0; i < 200; i++ )
+		{
+			byte[] expected = record( 50+(i%7)*20, i );
+			first.write( expected );
+			Assert.assertTrue( Arrays.equals(first.read(),expected), "record "+i );
+			Assert.assertTrue( Arrays.equals(second.read(),expected), "record "+i );
+		}
+
+		Assert.assertNull( second.read() );
+		Assert.assertTrue( second.getReadCursor() > 1024*10 );
+	}
+
+	@Test
+	public void testWriterWaitsForSlowReader() throws Exception
+	{
+		// fill the ring without the readers taking anything out
+		try
+		{
+			for( int i = 0; i < 20; i++ )
+				first.write( record(100,i) );
+
+			Assert.fail( "Expected the ring to fill up" );
+		}
+		catch( JRTIinternalError rtie )
+		{
+			// success!
+		}
+		
+		// nothing that was already written may have been overwritten
+		for( int i = 0; second.hasPending(); i++ )
+			Assert.assertTrue( Arrays.equals(second.read(),record(100,i)), "record "+i );
+	}
+
+	@Test
+	public void testResign() throws Exception
+	{
+		first.write( record(10,1) );
+		Assert.assertTrue( second.hasPending() );
+
+		// once resigned, nothing more is delivered even though there is data waiting
+		second.resign();
+		Assert.assertFalse( second.hasPending() );
+		Assert.assertNull( second.read() );
+
+		// and producers no longer wait for the resigned federate to catch up
+		Assert.assertTrue( Arrays.equals(first.read(),record(10,1)) );
+		for( int i = 0; i < 50; i++ )
+		{
+			first.write( record(100,i) );
+			Assert.assertTrue( Arrays.equals(first.read(),record(100,i)) );
+		}
+	}
+
+	@Test
+	public void testLateJoinerOnlySeesNewRecords() throws Exception
+	{
+		first.write( record(10,1) );
+
+		SharedFederation third = SharedFederation.open( "shmtest" );
+		try
+		{
+			third.join( "third", new ArrayList<ObjectModel>() );
+			Assert.assertNull( third.read() );
+			
+			first.write( record(10,2) );
+			Assert.assertTrue( Arrays.equals(third.read(),record(10,2)) );
+		}
+		finally
+		{
+			third.resign();
+			third.close();
+		}
+	}
+
+	@Test
+	public void testWriterWaitsForLateJoiner() throws Exception
+	{
+		// move everyone along so the late joiner starts part way into the ring
+		first.write( record(10,1) );
+		first.read();
+		second.read();
+
+		SharedFederation third = SharedFederation.open( "shmtest" );
+		try
+		{
+			third.join( "third", new ArrayList<ObjectModel>() );
+			try
+			{
+				for( int i = 0; i < 20; i++ )
+				{
+					first.write( record(100,i) );
+					first.read();
+					second.read();
+				}
+
+				Assert.fail( "Expected the ring to fill up waiting for the late joiner" );
+			}
+			catch( JRTIinternalError rtie )
+			{
+				// success!
+			}
+
+			for( int i = 0; third.hasPending(); i++ )
+				Assert.assertTrue( Arrays.equals(third.read(),record(100,i)), "record "+i );
+		}
+		finally
+		{
+			third.resign();
+			third.close();
+		}
+	}
+}
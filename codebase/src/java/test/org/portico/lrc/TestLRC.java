@@ -0,0 +1,182 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc;
+
+import hla.rti.AttributeHandleSet;
+import hla.rti.ResignAction;
+import hla.rti.jlc.NullFederateAmbassador;
+import hla.rti.jlc.RtiFactoryFactory;
+
+import java.net.URL;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.bindings.jvm.JVMConnection;
+import org.portico.impl.hla13.Rti13Ambassador;
+import org.portico.lrc.model.ObjectModel;
+
+/**
+ * Creates a federation from the HLA 1.3 test FOM and joins a single federate to it, so that unit
+ * tests have a live {@link LRC} to work against (its message queue, interest manager and so on).
+ * The federate uses the JVM binding and a federate ambassador that ignores all callbacks.
+ * <p/>
+ * Tests can fake traffic from other federates by offering messages to the queue directly with a
+ * source federate handle other than {@link #getFederateHandle()}.
+ */
+public class TestLRC
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private String federationName;
+	private Rti13Ambassador rtiamb;
+	private int federateHandle;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+	public TestLRC( String federationName ) throws Exception
+	{
+		this.federationName = federationName;
+
+		// the connection is picked when the LRC is created, so we only need the property for now
+		String connection = System.getProperty( PorticoConstants.PROPERTY_CONNECTION );
+		System.setProperty( PorticoConstants.PROPERTY_CONNECTION,
+		                    JVMConnection.class.getCanonicalName() );
+		try
+		{
+			this.rtiamb = (Rti13Ambassador)RtiFactoryFactory.getRtiFactory().createRtiAmbassador();
+		}
+		finally
+		{
+			if( connection == null )
+				System.clearProperty( PorticoConstants.PROPERTY_CONNECTION );
+			else
+				System.setProperty( PorticoConstants.PROPERTY_CONNECTION, connection );
+		}
+
+		URL fom = ClassLoader.getSystemResource( "fom/testfom.fed" );
+		rtiamb.createFederationExecution( federationName, fom );
+		this.federateHandle = rtiamb.joinFederationExecution( "testLRC",
+		                                                      federationName,
+		                                                      new NullFederateAmbassador() );
+	}
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Resign the federate and destroy the federation.
+	 */
+	public void destroy() throws Exception
+	{
+		rtiamb.resignFederationExecution( ResignAction.DELETE_OBJECTS_AND_RELEASE_ATTRIBUTES );
+		rtiamb.destroyFederationExecution( federationName );
+	}
+
+	public Rti13Ambassador getRtiamb()
+	{
+		return this.rtiamb;
+	}
+
+	public LRC getLrc()
+	{
+		return rtiamb.getHelper().getLrc();
+	}
+
+	public LRCState getState()
+	{
+		return getLrc().getState();
+	}
+
+	public ObjectModel getFOM()
+	{
+		return getState().getFOM();
+	}
+
+	public int getFederateHandle()
+	{
+		return this.federateHandle;
+	}
+
+	/**
+	 * A handle to use as the source of messages that should look like they came from another
+	 * federate.
+	 */
+	public int getRemoteHandle()
+	{
+		return this.federateHandle + 100;
+	}
+
+	public int getObjectClass( String name )
+	{
+		return getFOM().getObjectClassHandle( name );
+	}
+
+	public int getAttribute( String className, String attributeName )
+	{
+		return getFOM().getObjectClass( className ).getAttributeHandle( attributeName );
+	}
+
+	/**
+	 * Get the handles of the named attributes of the named class.
+	 */
+	public Set<Integer> getAttributes( String className, String... attributeNames )
+	{
+		Set<Integer> handles = new HashSet<Integer>();
+		for( String attributeName : attributeNames )
+			handles.add( getAttribute(className,attributeName) );
+
+		return handles;
+	}
+
+	/**
+	 * Publish the named attributes of the named object class through the RTIambassador.
+	 */
+	public void publish( String className, String... attributeNames ) throws Exception
+	{
+		AttributeHandleSet handles = RtiFactoryFactory.getRtiFactory().createAttributeHandleSet();
+		for( Integer handle : getAttributes(className,attributeNames) )
+			handles.add( handle );
+
+		rtiamb.publishObjectClass( getObjectClass(className), handles );
+	}
+
+	/**
+	 * Subscribe the federate to the named attributes of the named object class through the
+	 * RTIambassador, as a real federate would.
+	 */
+	public void subscribe( String className, String... attributeNames ) throws Exception
+	{
+		AttributeHandleSet handles = RtiFactoryFactory.getRtiFactory().createAttributeHandleSet();
+		for( Integer handle : getAttributes(className,attributeNames) )
+			handles.add( handle );
+
+		rtiamb.subscribeObjectClassAttributes( getObjectClass(className), handles );
+	}
+
+	public int getInteractionClass( String name )
+	{
+		return getFOM().getInteractionClassHandle( name );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
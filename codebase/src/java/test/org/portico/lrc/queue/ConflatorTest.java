@@ -0,0 +1,246 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DiscoverObject;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that RO reflections for objects of a conflated class are merged while they wait in the
+ * {@link LRCMessageQueue}, and that timestamped updates and re-used object handles are not.
+ * The {@link Conflator} is driven directly where we need to see each decision it makes.
+ */
+@Test(groups={"ConflatorTest","queue"})
+public class ConflatorTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int OBJECT = 1000;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private LRCMessageQueue queue;
+	private int aa;
+	private int ab;
+	private int blah;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		// the conflator reads its configuration when the LRC is created
+		System.setProperty( PorticoConstants.PROPERTY_CONFLATE, "ObjectRoot.A" );
+		this.fixture = new TestLRC( "conflatorTest" );
+		this.fixture.subscribe( "ObjectRoot.A", "aa", "ab" );
+		this.fixture.subscribe( "ObjectRoot.BestEffortTest", "blah" );
+		this.queue = fixture.getState().getQueue();
+		this.aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		this.ab = fixture.getAttribute( "ObjectRoot.A", "ab" );
+		this.blah = fixture.getAttribute( "ObjectRoot.BestEffortTest", "blah" );
+
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		System.clearProperty( PorticoConstants.PROPERTY_CONFLATE );
+		this.fixture.destroy();
+	}
+
+	private DiscoverObject discover( String className )
+	{
+		DiscoverObject discover = new DiscoverObject();
+		discover.setClassHandle( fixture.getObjectClass(className) );
+		discover.setObjectHandle( OBJECT );
+		discover.setObjectName( "object"+OBJECT );
+		discover.setOwnedAttributes( new int[0] );
+		discover.setRegionTokens( new int[0][0] );
+		discover.setSourceFederate( fixture.getRemoteHandle() );
+		return discover;
+	}
+
+	private DeleteObject delete()
+	{
+		DeleteObject delete = new DeleteObject( OBJECT, new byte[0] );
+		delete.setSourceFederate( fixture.getRemoteHandle() );
+		return delete;
+	}
+
+	private UpdateAttributes update( int attribute, int value )
+	{
+		HashMap<Integer,byte[]> attributes = new HashMap<Integer,byte[]>();
+		attributes.put( attribute, new byte[]{ (byte)value } );
+		UpdateAttributes update = new UpdateAttributes( OBJECT, new byte[0], attributes );
+		update.setSourceFederate( fixture.getRemoteHandle() );
+		return update;
+	}
+
+	private UpdateAttributes timestamped( int attribute, int value, double time )
+	{
+		UpdateAttributes update = update( attribute, value );
+		update.setTimestamp( time );
+		return update;
+	}
+
+	/**
+	 * Poll everything out of the queue, returning only the messages about our test object
+	 */
+	private List<PorticoMessage> drain()
+	{
+		List<PorticoMessage> messages = new ArrayList<PorticoMessage>();
+		for( PorticoMessage message = queue.poll(); message != null; message = queue.poll() )
+		{
+			if( message instanceof UpdateAttributes &&
+			    ((UpdateAttributes)message).getObjectId() == OBJECT )
+			{
+				messages.add( message );
+			}
+			else if( message instanceof DiscoverObject &&
+			         ((DiscoverObject)message).getObjectHandle() == OBJECT )
+			{
+				messages.add( message );
+			}
+		}
+
+		return messages;
+	}
+
+	private byte valueOf( PorticoMessage update, int attribute )
+	{
+		return ((UpdateAttributes)update).getAttributes().get( attribute )[0];
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Test Methods ////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public void testMerge()
+	{
+		Conflator conflator = new Conflator( fixture.getState() );
+		Assert.assertTrue( conflator.isEnabled() );
+		Assert.assertFalse( conflator.conflate(discover("ObjectRoot.A")) );
+
+		UpdateAttributes first = update( aa, 1 );
+		Assert.assertFalse( conflator.conflate(first) );
+		Assert.assertTrue( conflator.conflate(update(ab,2)) );
+		Assert.assertTrue( conflator.conflate(update(aa,3)) );
+		Assert.assertEquals( first.getAttributes().size(), 2 );
+		Assert.assertEquals( valueOf(first,aa), 3 );
+		Assert.assertEquals( valueOf(first,ab), 2 );
+
+		// once released, nothing more can be merged into it
+		conflator.released( first );
+		Assert.assertFalse( conflator.conflate(update(aa,4)) );
+		Assert.assertEquals( valueOf(first,aa), 3 );
+	}
+
+	public void testNotMergedFromOtherFederate()
+	{
+		Conflator conflator = new Conflator( fixture.getState() );
+		conflator.conflate( discover("ObjectRoot.A") );
+		Assert.assertFalse( conflator.conflate(update(aa,1)) );
+
+		UpdateAttributes other = update( aa, 2 );
+		other.setSourceFederate( fixture.getRemoteHandle()+1 );
+		Assert.assertFalse( conflator.conflate(other) );
+	}
+
+	public void testTimestampedNotMerged()
+	{
+		Conflator conflator = new Conflator( fixture.getState() );
+		conflator.conflate( discover("ObjectRoot.A") );
+		Assert.assertFalse( conflator.conflate(timestamped(aa,1,5.0)) );
+		Assert.assertFalse( conflator.conflate(timestamped(aa,2,6.0)) );
+
+		// an RO update that was sent after a TSO one mustn't be merged into an RO update that
+		// was sent before it
+		UpdateAttributes first = update( aa, 3 );
+		Assert.assertFalse( conflator.conflate(first) );
+		Assert.assertFalse( conflator.conflate(timestamped(aa,4,7.0)) );
+		Assert.assertFalse( conflator.conflate(update(aa,5)) );
+		Assert.assertEquals( valueOf(first,aa), 3 );
+	}
+
+	public void testDeleteAndRediscoveryResetState()
+	{
+		Conflator conflator = new Conflator( fixture.getState() );
+		conflator.conflate( discover("ObjectRoot.A") );
+		UpdateAttributes first = update( aa, 1 );
+		Assert.assertFalse( conflator.conflate(first) );
+		Assert.assertFalse( conflator.conflate(delete()) );
+
+		// the object is gone, so nothing more is merged into the waiting update
+		Assert.assertFalse( conflator.conflate(update(aa,2)) );
+		Assert.assertEquals( valueOf(first,aa), 1 );
+
+		// the handle comes back as an object of a class that isn't conflated
+		conflator.conflate( discover("ObjectRoot.BestEffortTest") );
+		Assert.assertFalse( conflator.conflate(update(blah,3)) );
+		Assert.assertFalse( conflator.conflate(update(blah,4)) );
+
+		// and then again as an A, which is merged once more
+		conflator.conflate( delete() );
+		conflator.conflate( discover("ObjectRoot.A") );
+		Assert.assertFalse( conflator.conflate(update(aa,5)) );
+		Assert.assertTrue( conflator.conflate(update(aa,6)) );
+	}
+
+	public void testQueueMergesWhenNotConstrained()
+	{
+		// the federate isn't constrained, so the queue makes these RO before they are conflated
+		queue.offer( discover("ObjectRoot.A") );
+		queue.offer( timestamped(aa,1,5.0) );
+		queue.offer( timestamped(ab,2,6.0) );
+		queue.offer( update(aa,3) );
+
+		List<PorticoMessage> received = drain();
+		Assert.assertEquals( received.size(), 2 );
+		Assert.assertTrue( received.get(0) instanceof DiscoverObject );
+		Assert.assertFalse( received.get(1).isTimestamped() );
+		Assert.assertEquals( valueOf(received.get(1),aa), 3 );
+		Assert.assertEquals( valueOf(received.get(1),ab), 2 );
+
+		// once delivered, the next update has to be queued on its own
+		queue.offer( update(aa,4) );
+		received = drain();
+		Assert.assertEquals( received.size(), 1 );
+		Assert.assertEquals( ((UpdateAttributes)received.get(0)).getAttributes().size(), 1 );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,162 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.lrc.services.sync.msg.SyncPointAchieved;
+import org.portico.lrc.services.time.msg.TimeAdvanceRequest;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that control traffic offered to the {@link LRCMessageQueue} is released ahead of the
+ * bulk RO traffic already waiting there, without getting ahead of anything from its own sender
+ * that it might depend on.
+ */
+@Test(groups={"LRCMessageQueueTest","queue"})
+public class LRCMessageQueueTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int BULK = 1000;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private LRCMessageQueue queue;
+	private int remote;
+	private int other;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		this.fixture = new TestLRC( "messageQueueTest" );
+		this.fixture.subscribe( "ObjectRoot.A", "aa" );
+		this.queue = fixture.getState().getQueue();
+		this.remote = fixture.getRemoteHandle();
+		this.other = remote+1;
+
+		// get rid of anything left over from joining
+		pollAll();
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		this.fixture.destroy();
+	}
+
+	private List<PorticoMessage> offerBulk( int sender )
+	{
+		int aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		List<PorticoMessage> bulk = new ArrayList<PorticoMessage>();
+		for( int i = 0; i < BULK; i++ )
+		{
+			HashMap<Integer,byte[]> attributes = new HashMap<Integer,byte[]>();
+			attributes.put( aa, new byte[]{ (byte)i } );
+			UpdateAttributes update = new UpdateAttributes( 1000+i, new byte[0], attributes );
+			update.setSourceFederate( sender );
+			bulk.add( update );
+			queue.offer( update );
+		}
+
+		return bulk;
+	}
+
+	private PorticoMessage offer( PorticoMessage message, int sender )
+	{
+		message.setSourceFederate( sender );
+		queue.offer( message );
+		return message;
+	}
+
+	private List<PorticoMessage> pollAll()
+	{
+		List<PorticoMessage> polled = new ArrayList<PorticoMessage>();
+		PorticoMessage message = queue.poll();
+		while( message != null )
+		{
+			polled.add( message );
+			message = queue.poll();
+		}
+
+		return polled;
+	}
+
+	@Test
+	public void testControlOvertakesBulkTraffic()
+	{
+		List<PorticoMessage> bulk = offerBulk( remote );
+		PorticoMessage achieved = offer( new SyncPointAchieved("point"), other );
+		PorticoMessage request = offer( new TimeAdvanceRequest(1.0), other );
+
+		List<PorticoMessage> expected = new ArrayList<PorticoMessage>();
+		expected.add( achieved );
+		expected.add( request );
+		expected.addAll( bulk );
+		Assert.assertEquals( pollAll(), expected );
+	}
+
+	@Test
+	public void testControlWaitsBehindItsSender()
+	{
+		// a CONTROL message could depend on what its sender sent before it, so it waits its
+		// turn, but time management (EXPEDITED) doesn't depend on any RO message
+		List<PorticoMessage> bulk = offerBulk( remote );
+		PorticoMessage achieved = offer( new SyncPointAchieved("point"), remote );
+		PorticoMessage request = offer( new TimeAdvanceRequest(1.0), remote );
+
+		List<PorticoMessage> expected = new ArrayList<PorticoMessage>();
+		expected.add( request );
+		expected.addAll( bulk );
+		expected.add( achieved );
+		Assert.assertEquals( pollAll(), expected );
+	}
+
+	@Test
+	public void testControlExpeditedOnceSenderDrained()
+	{
+		offerBulk( remote );
+		pollAll();
+
+		List<PorticoMessage> bulk = offerBulk( other );
+		PorticoMessage achieved = offer( new SyncPointAchieved("point"), remote );
+		List<PorticoMessage> polled = pollAll();
+		Assert.assertSame( polled.get(0), achieved );
+		Assert.assertEquals( polled.subList(1,polled.size()), bulk );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
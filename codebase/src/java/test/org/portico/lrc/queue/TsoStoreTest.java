@@ -0,0 +1,197 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.lrc.services.time.msg.TimeAdvanceGrant;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that each of the {@link ITsoStore} implementations release messages in timestamp
+ * order, keep arrival order within a timestamp and hold time advances back until last.
+ */
+@Test(groups={"TsoStoreTest","utils"})
+public class TsoStoreTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@DataProvider(name="stores")
+	public Object[][] stores()
+	{
+		return new Object[][]{ {new CalendarTsoStore()},
+		                       {new HeapTsoStore()},
+		                       {new RetractableTsoStore(new CalendarTsoStore())},
+		                       {new RetractableTsoStore(new HeapTsoStore())} };
+	}
+
+	@DataProvider(name="retractable")
+	public Object[][] retractable()
+	{
+		return new Object[][]{ {new RetractableTsoStore(new CalendarTsoStore())},
+		                       {new RetractableTsoStore(new HeapTsoStore())} };
+	}
+
+	private PorticoMessage update( double time )
+	{
+		UpdateAttributes message = new UpdateAttributes();
+		message.setTimestamp( time );
+		return message;
+	}
+
+	private PorticoMessage update( double time, int retractionHandle )
+	{
+		PorticoMessage message = update( time );
+		message.setRetractionHandle( retractionHandle );
+		return message;
+	}
+
+	@Test(dataProvider="stores")
+	public void testReleaseOrder( ITsoStore store )
+	{
+		PorticoMessage grant = new TimeAdvanceGrant( 2.0 );
+		PorticoMessage first = update( 2.0 );
+		PorticoMessage second = update( 2.0 );
+		PorticoMessage early = update( 1.0 );
+		PorticoMessage late = update( 3.0 );
+
+		store.add( grant );
+		store.add( first );
+		store.add( late );
+		store.add( second );
+		store.add( early );
+		Assert.assertEquals( store.size(), 5 );
+
+		// toList() should give the same order as polling, without removing anything
+		List<PorticoMessage> expected = new ArrayList<PorticoMessage>();
+		expected.add( early );
+		expected.add( first );
+		expected.add( second );
+		expected.add( grant );
+		expected.add( late );
+		Assert.assertEquals( store.toList(), expected );
+		Assert.assertEquals( store.size(), 5 );
+
+		for( PorticoMessage message : expected )
+		{
+			Assert.assertSame( store.peek(), message );
+			Assert.assertSame( store.poll(), message );
+		}
+
+		Assert.assertTrue( store.isEmpty() );
+		Assert.assertNull( store.peek() );
+		Assert.assertNull( store.poll() );
+	}
+
+	@Test(dataProvider="stores")
+	public void testDrainToTime( ITsoStore store )
+	{
+		for( int i = 5; i > 0; i-- )
+		{
+			store.add( update(i) );
+			store.add( update(i) );
+		}
+
+		List<PorticoMessage> drained = new ArrayList<PorticoMessage>();
+		Assert.assertEquals( store.drainTo(drained,3.0), 6 );
+		Assert.assertEquals( drained.size(), 6 );
+		Assert.assertEquals( drained.get(5).getTimestamp(), 3.0 );
+		Assert.assertEquals( store.size(), 4 );
+
+		// something earlier than everything left should go to the front
+		PorticoMessage straggler = update( 0.5 );
+		store.add( straggler );
+		Assert.assertSame( store.poll(), straggler );
+		Assert.assertEquals( store.poll().getTimestamp(), 4.0 );
+
+		store.clear();
+		Assert.assertTrue( store.isEmpty() );
+		Assert.assertEquals( store.drainTo(drained,10.0), 0 );
+	}
+
+	@Test(dataProvider="retractable")
+	public void testRetractQueued( RetractableTsoStore store )
+	{
+		PorticoMessage first = update( 1.0, 11 );
+		PorticoMessage second = update( 2.0, 12 );
+		PorticoMessage third = update( 2.0 );
+		PorticoMessage fourth = update( 3.0, 14 );
+		store.add( fourth );
+		store.add( first );
+		store.add( second );
+		store.add( third );
+
+		// retract one from the front and one from the middle
+		Assert.assertSame( store.retract(11), first );
+		Assert.assertSame( store.retract(12), second );
+		Assert.assertEquals( store.size(), 2 );
+
+		List<PorticoMessage> expected = new ArrayList<PorticoMessage>();
+		expected.add( third );
+		expected.add( fourth );
+		Assert.assertEquals( store.toList(), expected );
+
+		// a message can only be retracted once, and handles we never saw are ignored
+		Assert.assertNull( store.retract(11) );
+		Assert.assertNull( store.retract(99) );
+
+		Assert.assertSame( store.peek(), third );
+		Assert.assertSame( store.poll(), third );
+		Assert.assertSame( store.poll(), fourth );
+		Assert.assertTrue( store.isEmpty() );
+
+		// once released, a message can no longer be retracted from the store
+		Assert.assertNull( store.retract(14) );
+	}
+
+	@Test(dataProvider="retractable")
+	public void testRetractThenDrain( RetractableTsoStore store )
+	{
+		for( int i = 1; i <= 5; i++ )
+			store.add( update(i,i) );
+
+		store.retract( 2 );
+		store.retract( 5 );
+		Assert.assertEquals( store.size(), 3 );
+
+		List<PorticoMessage> drained = new ArrayList<PorticoMessage>();
+		Assert.assertEquals( store.drainTo(drained,3.0), 2 );
+		Assert.assertEquals( drained.get(0).getRetractionHandle(), 1 );
+		Assert.assertEquals( drained.get(1).getRetractionHandle(), 3 );
+
+		// the retracted message at the back is skipped over too
+		Assert.assertEquals( store.poll().getRetractionHandle(), 4 );
+		Assert.assertNull( store.poll() );
+		Assert.assertTrue( store.isEmpty() );
+	}
+}
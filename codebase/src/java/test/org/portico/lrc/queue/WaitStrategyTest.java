@@ -0,0 +1,217 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.queue;
+
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that a thread waiting on the {@link LRCMessageQueue} with each of the
+ * {@link IWaitStrategy} implementations wakes up when something is offered and gives up when
+ * its deadline passes. The queue picks its strategy when the LRC is created, so each test
+ * builds its own fixture.
+ */
+@Test(groups={"WaitStrategyTest","queue"})
+public class WaitStrategyTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final long TIMEOUT = TimeUnit.SECONDS.toNanos( 10 );
+	private static final long SHORT = TimeUnit.MILLISECONDS.toNanos( 100 );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private LRCMessageQueue queue;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@DataProvider(name="strategies")
+	public Object[][] strategies()
+	{
+		return new Object[][]{ {"blocking"}, {"spinyield"}, {"busyspin"}, {"park"} };
+	}
+
+	private void createQueue( String strategy ) throws Exception
+	{
+		System.setProperty( PorticoConstants.PROPERTY_WAIT_STRATEGY, strategy );
+		this.fixture = new TestLRC( "waitStrategyTest" );
+		this.queue = fixture.getState().getQueue();
+
+		// get rid of anything left over from joining
+		while( queue.poll() != null );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		System.clearProperty( PorticoConstants.PROPERTY_WAIT_STRATEGY );
+		if( fixture != null )
+			fixture.destroy();
+
+		this.fixture = null;
+	}
+
+	private PorticoMessage message()
+	{
+		UpdateAttributes update = new UpdateAttributes( 1000, new byte[0],
+		                                                new HashMap<Integer,byte[]>() );
+		update.setSourceFederate( fixture.getRemoteHandle() );
+		return update;
+	}
+
+	/**
+	 * Offer the given message from another thread once the given delay has passed
+	 */
+	private Thread offerLater( final PorticoMessage message, final long delayMillis )
+	{
+		Thread thread = new Thread( new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					Thread.sleep( delayMillis );
+				}
+				catch( InterruptedException ie )
+				{
+					return;
+				}
+
+				queue.offer( message );
+			}
+		});
+
+		thread.start();
+		return thread;
+	}
+
+	@Test(dataProvider="strategies")
+	public void testWakesOnOffer( String strategy ) throws Exception
+	{
+		createQueue( strategy );
+		PorticoMessage message = message();
+		Thread offerer = offerLater( message, 50 );
+
+		long start = System.nanoTime();
+		PorticoMessage polled = queue.poll( TIMEOUT );
+		long waited = System.nanoTime() - start;
+		offerer.join();
+
+		Assert.assertSame( polled, message, "Waiter didn't get the offered message" );
+		Assert.assertTrue( waited < TIMEOUT/2, "Waiter took "+waited+"ns to see the offer" );
+	}
+
+	@Test(dataProvider="strategies")
+	public void testWakesWithoutDeadline( String strategy ) throws Exception
+	{
+		createQueue( strategy );
+		final AtomicReference<PorticoMessage> polled = new AtomicReference<PorticoMessage>();
+		Thread waiter = new Thread( new Runnable()
+		{
+			public void run()
+			{
+				try
+				{
+					polled.set( queue.pollUntilNextMessage() );
+				}
+				catch( InterruptedException ie )
+				{
+					// test will fail with nothing polled
+				}
+			}
+		});
+		waiter.start();
+
+		// nothing has been offered, so it should still be waiting
+		waiter.join( TimeUnit.NANOSECONDS.toMillis(SHORT) );
+		Assert.assertTrue( waiter.isAlive(), "Waiter returned with nothing offered" );
+
+		PorticoMessage message = message();
+		queue.offer( message );
+		waiter.join( TimeUnit.NANOSECONDS.toMillis(TIMEOUT) );
+		Assert.assertFalse( waiter.isAlive(), "Waiter didn't wake up after an offer" );
+		Assert.assertSame( polled.get(), message );
+	}
+
+	@Test(dataProvider="strategies")
+	public void testHonoursDeadline( String strategy ) throws Exception
+	{
+		createQueue( strategy );
+		long start = System.nanoTime();
+		PorticoMessage polled = queue.poll( SHORT );
+		long waited = System.nanoTime() - start;
+
+		Assert.assertNull( polled );
+		Assert.assertTrue( waited >= SHORT, "Gave up before the deadline: "+waited+"ns" );
+		Assert.assertTrue( waited < TIMEOUT/2, "Didn't give up at the deadline: "+waited+"ns" );
+
+		// a deadline that has already passed doesn't wait at all
+		start = System.nanoTime();
+		Assert.assertNull( queue.pollUntil(start-1) );
+		Assert.assertTrue( System.nanoTime()-start < SHORT );
+	}
+
+	@Test
+	public void testAwaitOffer() throws Exception
+	{
+		createQueue( "blocking" );
+
+		// the count has already moved on, so there's nothing to wait for
+		long seen = queue.getOfferCount();
+		queue.offer( message() );
+		long start = System.nanoTime();
+		queue.awaitOffer( seen, LRCMessageQueue.deadline(TIMEOUT) );
+		Assert.assertTrue( System.nanoTime()-start < SHORT, "Waited for an offer already made" );
+
+		// nothing new, so we wait out the deadline
+		seen = queue.getOfferCount();
+		start = System.nanoTime();
+		queue.awaitOffer( seen, LRCMessageQueue.deadline(SHORT) );
+		long waited = System.nanoTime() - start;
+		Assert.assertTrue( waited >= SHORT, "Gave up before the deadline: "+waited+"ns" );
+
+		// and wake up as soon as something does turn up
+		Thread offerer = offerLater( message(), 50 );
+		start = System.nanoTime();
+		queue.awaitOffer( seen, IWaitStrategy.NO_DEADLINE );
+		waited = System.nanoTime() - start;
+		offerer.join();
+		Assert.assertTrue( queue.getOfferCount() > seen );
+		Assert.assertTrue( waited < TIMEOUT/2, "Took "+waited+"ns to see the offer" );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
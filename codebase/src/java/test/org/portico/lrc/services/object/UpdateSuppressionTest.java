@@ -0,0 +1,173 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object;
+
+import hla.rti.SuppliedAttributes;
+import hla.rti.jlc.RtiFactoryFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.portico.lrc.LRCMessageQueue;
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.model.ACInstance;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.portico.utils.messaging.PorticoMessage;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Checks which updates the outgoing update handler actually sends when unchanged values are
+ * being suppressed. The ingress filter is turned off so that the federate gets a copy of
+ * everything it sends back in its own queue, which is how we see what went out.
+ */
+@Test(groups={"UpdateSuppressionTest","object"})
+public class UpdateSuppressionTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private LRCMessageQueue queue;
+	private int aa;
+	private int ab;
+	private int blah;
+	private int suppressed;   // object of class A, which is suppressed
+	private int unsuppressed; // object of class BestEffortTest, which isn't
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		// both of these are read when the LRC is created
+		System.setProperty( PorticoConstants.PROPERTY_SUPPRESS_UNCHANGED, "ObjectRoot.A" );
+		System.setProperty( PorticoConstants.PROPERTY_INGRESS_FILTER, "false" );
+		this.fixture = new TestLRC( "suppressionTest" );
+		this.queue = fixture.getState().getQueue();
+		this.aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		this.ab = fixture.getAttribute( "ObjectRoot.A", "ab" );
+		this.blah = fixture.getAttribute( "ObjectRoot.BestEffortTest", "blah" );
+
+		fixture.publish( "ObjectRoot.A", "aa", "ab" );
+		fixture.publish( "ObjectRoot.BestEffortTest", "blah" );
+		this.suppressed = fixture.getRtiamb().registerObjectInstance(
+		    fixture.getObjectClass("ObjectRoot.A") );
+		this.unsuppressed = fixture.getRtiamb().registerObjectInstance(
+		    fixture.getObjectClass("ObjectRoot.BestEffortTest") );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		System.clearProperty( PorticoConstants.PROPERTY_SUPPRESS_UNCHANGED );
+		System.clearProperty( PorticoConstants.PROPERTY_INGRESS_FILTER );
+		this.fixture.destroy();
+	}
+
+	/**
+	 * Update the given object with the given attribute/value pairs and return the updates that
+	 * were actually sent for it.
+	 */
+	private List<UpdateAttributes> update( int objectHandle, int... pairs ) throws Exception
+	{
+		SuppliedAttributes values = RtiFactoryFactory.getRtiFactory().createSuppliedAttributes();
+		for( int i = 0; i < pairs.length; i += 2 )
+			values.add( pairs[i], new byte[]{ (byte)pairs[i+1] } );
+
+		fixture.getRtiamb().updateAttributeValues( objectHandle, values, new byte[0] );
+
+		List<UpdateAttributes> sent = new ArrayList<UpdateAttributes>();
+		for( PorticoMessage message = queue.poll(); message != null; message = queue.poll() )
+		{
+			if( message instanceof UpdateAttributes &&
+			    ((UpdateAttributes)message).getObjectId() == objectHandle )
+			{
+				sent.add( (UpdateAttributes)message );
+			}
+		}
+
+		return sent;
+	}
+
+	////////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////////// Test Methods ////////////////////////////////////////
+	////////////////////////////////////////////////////////////////////////////////////////////
+	public void testSuppressedDuplicate() throws Exception
+	{
+		Assert.assertEquals( update(suppressed,aa,1,ab,2).get(0).getAttributes().size(), 2 );
+
+		// nothing has changed, so nothing is sent
+		Assert.assertTrue( update(suppressed,aa,1,ab,2).isEmpty() );
+
+		// only the value that changed is sent
+		List<UpdateAttributes> sent = update( suppressed, aa, 1, ab, 3 );
+		Assert.assertEquals( sent.size(), 1 );
+		Assert.assertEquals( sent.get(0).getAttributes().keySet().size(), 1 );
+		Assert.assertEquals( sent.get(0).getAttributes().get(ab)[0], 3 );
+	}
+
+	public void testChangedValue() throws Exception
+	{
+		Assert.assertEquals( update(suppressed,aa,1).size(), 1 );
+		Assert.assertEquals( update(suppressed,aa,2).size(), 1 );
+		Assert.assertEquals( update(suppressed,aa,1).size(), 1 );
+
+		// classes that aren't listed are never suppressed
+		Assert.assertEquals( update(unsuppressed,blah,1).size(), 1 );
+		Assert.assertEquals( update(unsuppressed,blah,1).size(), 1 );
+	}
+
+	public void testOwnershipChangeResetsHash() throws Exception
+	{
+		Assert.assertEquals( update(suppressed,aa,1).size(), 1 );
+		Assert.assertTrue( update(suppressed,aa,1).isEmpty() );
+
+		// give the attribute away and get it back. someone else may have sent a different
+		// value in between, so the next value has to go out even if it's the same as ours
+		ACInstance attribute =
+			fixture.getState().getRepository().getInstance(suppressed).getAttribute( aa );
+		attribute.setOwner( fixture.getRemoteHandle() );
+		attribute.setOwner( fixture.getFederateHandle() );
+		Assert.assertEquals( update(suppressed,aa,1).size(), 1 );
+		Assert.assertTrue( update(suppressed,aa,1).isEmpty() );
+	}
+
+	public void testEmptyUpdateNotSuppressed() throws Exception
+	{
+		// nothing was stripped from these, so they go out as they always have
+		List<UpdateAttributes> sent = update( unsuppressed );
+		Assert.assertEquals( sent.size(), 1 );
+		Assert.assertTrue( sent.get(0).getAttributes().isEmpty() );
+
+		Assert.assertEquals( update(suppressed).size(), 1 );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,214 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.data;
+
+import java.util.HashMap;
+
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.services.object.msg.DeleteObject;
+import org.portico.lrc.services.object.msg.DiscoverObject;
+import org.portico.lrc.services.object.msg.SendInteraction;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the {@link IngressFilter} drops remote updates and interactions the local federate
+ * has no subscription for (and its own traffic), lets through anything it can't relate back to a
+ * subscription, and picks up the new {@link SubscriptionTable} whenever subscriptions change.
+ */
+@Test(groups={"IngressFilterTest","object"})
+public class IngressFilterTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final int OBJECT = 1000;
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private IngressFilter filter;
+	private int aa;
+	private int ab;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		this.fixture = new TestLRC( "ingressFilterTest" );
+		this.filter = fixture.getState().getInterestManager().getIngressFilter();
+		this.aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		this.ab = fixture.getAttribute( "ObjectRoot.A", "ab" );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		this.fixture.destroy();
+	}
+
+	private DiscoverObject discover( int classHandle )
+	{
+		DiscoverObject discover = new DiscoverObject();
+		discover.setClassHandle( classHandle );
+		discover.setObjectHandle( OBJECT );
+		discover.setObjectName( "object"+OBJECT );
+		discover.setOwnedAttributes( new int[0] );
+		discover.setRegionTokens( new int[0][0] );
+		discover.setSourceFederate( fixture.getRemoteHandle() );
+		return discover;
+	}
+
+	private UpdateAttributes update( int source, int... attributes )
+	{
+		HashMap<Integer,byte[]> values = new HashMap<Integer,byte[]>();
+		for( int attribute : attributes )
+			values.put( attribute, new byte[]{ 1 } );
+
+		UpdateAttributes update = new UpdateAttributes( OBJECT, new byte[0], values );
+		update.setSourceFederate( source );
+		return update;
+	}
+
+	private SendInteraction interaction( int source, String className )
+	{
+		SendInteraction interaction = new SendInteraction( fixture.getInteractionClass(className),
+		                                                   new byte[0],
+		                                                   new HashMap<Integer,byte[]>() );
+		interaction.setSourceFederate( source );
+		return interaction;
+	}
+
+	@Test
+	public void testUnsubscribedInteractionDropped() throws Exception
+	{
+		int remote = fixture.getRemoteHandle();
+		Assert.assertFalse( filter.accept(interaction(remote,"InteractionRoot.X")) );
+
+		// a subscription to the parent covers the child class too
+		fixture.getRtiamb().subscribeInteractionClass(
+			fixture.getInteractionClass("InteractionRoot.X") );
+		Assert.assertTrue( filter.accept(interaction(remote,"InteractionRoot.X")) );
+		Assert.assertTrue( filter.accept(interaction(remote,"InteractionRoot.X.Y")) );
+	}
+
+	@Test
+	public void testUnsubscribedAttributeDropped() throws Exception
+	{
+		int remote = fixture.getRemoteHandle();
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+		Assert.assertTrue( filter.accept(discover(fixture.getObjectClass("ObjectRoot.A"))) );
+
+		Assert.assertFalse( filter.accept(update(remote,ab)) );
+		Assert.assertTrue( filter.accept(update(remote,aa)) );
+		// one subscribed attribute is enough for the whole update to go through
+		Assert.assertTrue( filter.accept(update(remote,aa,ab)) );
+	}
+
+	@Test
+	public void testUnsubscribedClassDropped() throws Exception
+	{
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.BestEffortTest")) );
+
+		int blah = fixture.getAttribute( "ObjectRoot.BestEffortTest", "blah" );
+		Assert.assertFalse( filter.accept(update(fixture.getRemoteHandle(),blah)) );
+	}
+
+	@Test
+	public void testUnknownObjectAccepted() throws Exception
+	{
+		int remote = fixture.getRemoteHandle();
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+
+		// never discovered, so we can't tell what class it is
+		Assert.assertTrue( filter.accept(update(remote,ab)) );
+
+		// discovered as a class the table doesn't cover (added after it was built, say)
+		filter.accept( discover(Integer.MAX_VALUE) );
+		Assert.assertTrue( filter.accept(update(remote,ab)) );
+
+		// once it has been deleted we no longer know about it again
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.A")) );
+		Assert.assertFalse( filter.accept(update(remote,ab)) );
+		filter.accept( new DeleteObject(OBJECT,new byte[0]) );
+		Assert.assertTrue( filter.accept(update(remote,ab)) );
+	}
+
+	@Test
+	public void testSubscriptionChangeRepublishesTable() throws Exception
+	{
+		int remote = fixture.getRemoteHandle();
+		InterestManager interests = fixture.getState().getInterestManager();
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.A")) );
+		int version = interests.getSubscriptionTable().getVersion();
+		Assert.assertFalse( filter.accept(update(remote,ab)) );
+
+		fixture.subscribe( "ObjectRoot.A", "aa", "ab" );
+		Assert.assertTrue( interests.getSubscriptionTable().getVersion() > version );
+		Assert.assertTrue( filter.accept(update(remote,ab)) );
+
+		// drop back to just "aa", the next table has to stop letting "ab" through
+		version = interests.getSubscriptionTable().getVersion();
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+		Assert.assertTrue( interests.getSubscriptionTable().getVersion() > version );
+		Assert.assertFalse( filter.accept(update(remote,ab)) );
+		Assert.assertTrue( filter.accept(update(remote,aa)) );
+
+		fixture.getRtiamb().unsubscribeObjectClass( fixture.getObjectClass("ObjectRoot.A") );
+		Assert.assertFalse( filter.accept(update(remote,aa)) );
+	}
+
+	@Test
+	public void testOwnTrafficDropped() throws Exception
+	{
+		int local = fixture.getFederateHandle();
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+		fixture.getRtiamb().subscribeInteractionClass(
+			fixture.getInteractionClass("InteractionRoot.X") );
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.A")) );
+
+		Assert.assertFalse( filter.accept(update(local,aa)) );
+		Assert.assertFalse( filter.accept(interaction(local,"InteractionRoot.X")) );
+	}
+
+	@Test
+	public void testClearedFilterAcceptsEverything() throws Exception
+	{
+		int remote = fixture.getRemoteHandle();
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.A")) );
+		Assert.assertFalse( filter.accept(update(remote,aa)) );
+
+		// no table (during a restore, for example) means no filtering
+		filter.clear();
+		filter.accept( discover(fixture.getObjectClass("ObjectRoot.A")) );
+		Assert.assertTrue( filter.accept(update(remote,aa)) );
+		Assert.assertTrue( filter.accept(interaction(remote,"InteractionRoot.X")) );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
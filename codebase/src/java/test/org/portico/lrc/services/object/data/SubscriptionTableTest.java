@@ -0,0 +1,351 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.object.data;
+
+import hla.rti.AttributeHandleSet;
+import hla.rti.Region;
+import hla.rti.jlc.RtiFactoryFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.lrc.LRCState;
+import org.portico.lrc.TestLRC;
+import org.portico.lrc.model.ACMetadata;
+import org.portico.lrc.model.ICMetadata;
+import org.portico.lrc.model.OCMetadata;
+import org.portico.lrc.model.RegionInstance;
+import org.portico.lrc.services.object.msg.DiscoverObject;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the {@link SubscriptionTable} the {@link InterestManager} builds for the local
+ * federate gives the same answers as working them out the long way from the subscription
+ * interests, after subscribes, unsubscribes, subscriptions with DDM regions and a restore.
+ */
+@Test(groups={"SubscriptionTableTest","object"})
+public class SubscriptionTableTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private TestLRC fixture;
+	private InterestManager interests;
+	private int classA;
+	private int classB;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod(alwaysRun=true)
+	public void beforeMethod() throws Exception
+	{
+		this.fixture = new TestLRC( "subscriptionTableTest" );
+		this.interests = fixture.getState().getInterestManager();
+		this.classA = fixture.getObjectClass( "ObjectRoot.A" );
+		this.classB = fixture.getObjectClass( "ObjectRoot.A.B" );
+	}
+
+	@AfterMethod(alwaysRun=true)
+	public void afterMethod() throws Exception
+	{
+		this.fixture.destroy();
+	}
+
+	private AttributeHandleSet handleSet( String className, String... attributeNames )
+		throws Exception
+	{
+		AttributeHandleSet handles = RtiFactoryFactory.getRtiFactory().createAttributeHandleSet();
+		for( Integer handle : fixture.getAttributes(className,attributeNames) )
+			handles.add( handle );
+
+		return handles;
+	}
+
+	private Region createRegion() throws Exception
+	{
+		int space = fixture.getRtiamb().getRoutingSpaceHandle( "TestSpace" );
+		return fixture.getRtiamb().createRegion( space, 1 );
+	}
+
+	/**
+	 * Check every class in the FOM, comparing what the current table says against what the
+	 * interest maps say, and return the table that was checked.
+	 */
+	private SubscriptionTable assertMatchesInterests() throws Exception
+	{
+		SubscriptionTable table = interests.getSubscriptionTable();
+		Assert.assertNotNull( table, "No subscription table published" );
+		Assert.assertEquals( table.getFederateHandle(), fixture.getFederateHandle() );
+
+		for( OCMetadata objectClass : fixture.getFOM().getAllObjectClasses() )
+			assertMatches( table, objectClass );
+
+		for( ICMetadata interactionClass : fixture.getFOM().getAllInteractionClasses() )
+			assertMatches( table, interactionClass );
+
+		return table;
+	}
+
+	private void assertMatches( SubscriptionTable table, OCMetadata objectClass ) throws Exception
+	{
+		int federate = fixture.getFederateHandle();
+		SubscriptionTable.ObjectEntry entry = table.getObjectClass( objectClass.getHandle() );
+		Assert.assertNotNull( entry, "No entry for "+objectClass );
+
+		// discovery type: the first class up the hierarchy we subscribe to
+		OCMetadata discoveryType = objectClass;
+		while( discoveryType != null &&
+		       interests.isObjectClassSubscribedDirectly(federate,
+		                                                 discoveryType.getHandle()) == false )
+		{
+			discoveryType = discoveryType.getParent();
+		}
+
+		Assert.assertEquals( entry.getDiscoveryType(), discoveryType,
+		                     "discovery type of "+objectClass );
+		Assert.assertEquals( entry.isSubscribed(), discoveryType != null );
+
+		// the direct subscription, attribute by attribute
+		RegionGroup group = null;
+		if( interests.isObjectClassSubscribedDirectly(federate,objectClass.getHandle()) )
+		{
+			OCInterest interest = interests.getSubscribedInterest( federate, objectClass );
+			group = interest.getInterestWithDDM( federate );
+		}
+
+		for( ACMetadata attribute : objectClass.getAllAttributes() )
+		{
+			int handle = attribute.getHandle();
+			String moniker = objectClass.getQualifiedName()+"."+attribute.getName();
+			Set<RegionInstance> regions = null;
+			if( group != null )
+				regions = group.getRegionsForAttribute( handle );
+
+			Assert.assertEquals( entry.isAttributeSubscribed(handle),
+			                     regions != null,
+			                     "subscribed: "+moniker );
+			Assert.assertEquals( entry.isAttributeSubscribedWithoutRegion(handle),
+			                     regions != null && regions.contains(null),
+			                     "default region: "+moniker );
+
+			Set<RegionInstance> expected = new HashSet<RegionInstance>();
+			if( regions != null )
+				expected.addAll( regions );
+			expected.remove( null );
+			Set<RegionInstance> actual =
+				new HashSet<RegionInstance>( Arrays.asList(entry.getRegionsForAttribute(handle)) );
+			Assert.assertEquals( actual, expected, "regions: "+moniker );
+
+			// relevant if subscribed on this class or any parent that has the attribute
+			boolean relevant = false;
+			for( OCMetadata clazz = objectClass; clazz != null; clazz = clazz.getParent() )
+			{
+				if( interests.isAttributeClassSubscribed(federate,clazz.getHandle(),handle) )
+					relevant = true;
+			}
+
+			Assert.assertEquals( entry.isAttributeRelevant(handle),
+			                     relevant,
+			                     "relevant: "+moniker );
+		}
+	}
+
+	private void assertMatches( SubscriptionTable table, ICMetadata interactionClass )
+	{
+		int federate = fixture.getFederateHandle();
+		SubscriptionTable.InteractionEntry entry =
+			table.getInteractionClass( interactionClass.getHandle() );
+		Assert.assertNotNull( entry, "No entry for "+interactionClass );
+
+		ICMetadata subscribedType = interactionClass;
+		while( subscribedType != null &&
+		       interests.isInteractionClassSubscribedDirectly(federate,
+		                                                      subscribedType.getHandle()) == false )
+		{
+			subscribedType = subscribedType.getParent();
+		}
+
+		Assert.assertEquals( entry.getSubscribedType(), subscribedType,
+		                     "subscribed type of "+interactionClass );
+		if( subscribedType != null )
+			Assert.assertEquals( entry.getRegions(), entry.getInterest().getRegions(federate) );
+	}
+
+	@Test
+	public void testSubscribe() throws Exception
+	{
+		int version = assertMatchesInterests().getVersion();
+
+		fixture.subscribe( "ObjectRoot.A", "aa", "ab" );
+		fixture.getRtiamb().subscribeInteractionClass(
+			fixture.getInteractionClass("InteractionRoot.X") );
+		SubscriptionTable table = assertMatchesInterests();
+		Assert.assertTrue( table.getVersion() > version );
+
+		// B isn't subscribed directly, so its instances are discovered as A
+		int aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		SubscriptionTable.ObjectEntry entryB = table.getObjectClass( classB );
+		Assert.assertEquals( entryB.getDiscoveryType().getHandle(), classA );
+		Assert.assertFalse( entryB.isAttributeSubscribed(aa) );
+		Assert.assertTrue( entryB.isAttributeRelevant(aa) );
+
+		fixture.subscribe( "ObjectRoot.A.B", "aa", "ba" );
+		table = assertMatchesInterests();
+		Assert.assertEquals( table.getObjectClass(classB).getDiscoveryType().getHandle(), classB );
+	}
+
+	@Test
+	public void testUnsubscribe() throws Exception
+	{
+		fixture.subscribe( "ObjectRoot.A", "aa", "ab" );
+		fixture.subscribe( "ObjectRoot.A.B", "ba" );
+		fixture.getRtiamb().subscribeInteractionClass(
+			fixture.getInteractionClass("InteractionRoot.X") );
+		int version = assertMatchesInterests().getVersion();
+
+		fixture.getRtiamb().unsubscribeObjectClass( classA );
+		SubscriptionTable table = assertMatchesInterests();
+		Assert.assertTrue( table.getVersion() > version );
+		Assert.assertFalse( table.getObjectClass(classA).isSubscribed() );
+		Assert.assertTrue( table.getObjectClass(classB).isSubscribed() );
+
+		fixture.getRtiamb().unsubscribeObjectClass( classB );
+		fixture.getRtiamb().unsubscribeInteractionClass(
+			fixture.getInteractionClass("InteractionRoot.X") );
+		table = assertMatchesInterests();
+		Assert.assertFalse( table.getObjectClass(classB).isSubscribed() );
+		Assert.assertFalse(
+			table.getInteractionClass(fixture.getInteractionClass("InteractionRoot.X.Y"))
+			     .isSubscribed() );
+	}
+
+	@Test
+	public void testSubscribeWithRegions() throws Exception
+	{
+		int aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		int ab = fixture.getAttribute( "ObjectRoot.A", "ab" );
+		Region first = createRegion();
+		Region second = createRegion();
+
+		// "aa" only in regions, "ab" in a region and in the default region
+		fixture.getRtiamb().subscribeObjectClassAttributesWithRegion(
+			classA, first, handleSet("ObjectRoot.A","aa","ab") );
+		fixture.getRtiamb().subscribeObjectClassAttributesWithRegion(
+			classA, second, handleSet("ObjectRoot.A","aa") );
+		fixture.subscribe( "ObjectRoot.A", "ab" );
+		SubscriptionTable.ObjectEntry entry = assertMatchesInterests().getObjectClass( classA );
+		Assert.assertFalse( entry.isAttributeSubscribedWithoutRegion(aa) );
+		Assert.assertEquals( entry.getRegionsForAttribute(aa).length, 2 );
+		Assert.assertTrue( entry.isAttributeSubscribedWithoutRegion(ab) );
+		Assert.assertEquals( entry.getRegionsForAttribute(ab).length, 1 );
+
+		// dropping a region takes it out of the next table
+		fixture.getRtiamb().unsubscribeObjectClassWithRegion( classA, second );
+		entry = assertMatchesInterests().getObjectClass( classA );
+		Assert.assertEquals( entry.getRegionsForAttribute(aa).length, 1 );
+
+		// interactions keep the regions they were subscribed with
+		int classX = fixture.getInteractionClass( "InteractionRoot.X" );
+		fixture.getRtiamb().subscribeInteractionClassWithRegion( classX, first );
+		Assert.assertEquals(
+			assertMatchesInterests().getInteractionClass(classX).getRegions().size(), 1 );
+	}
+
+	@Test
+	public void testRestoreRebuildsTable() throws Exception
+	{
+		fixture.subscribe( "ObjectRoot.A", "aa" );
+		LRCState state = fixture.getState();
+
+		// save the state the table is built from, in the order a save writes it
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream( bytes );
+		interests.saveToStream( output );
+		state.saveToStream( output );
+		output.close();
+
+		// move on from the saved subscriptions
+		int aa = fixture.getAttribute( "ObjectRoot.A", "aa" );
+		int ab = fixture.getAttribute( "ObjectRoot.A", "ab" );
+		int ac = fixture.getAttribute( "ObjectRoot.A", "ac" );
+		fixture.subscribe( "ObjectRoot.A", "ab" );
+		int version = assertMatchesInterests().getVersion();
+		IngressFilter filter = interests.getIngressFilter();
+		filter.accept( discover() );
+		Assert.assertFalse( filter.accept(update(ac)) );
+
+		// restoring the interests throws the old table and everything the filter knew away
+		ObjectInputStream input =
+			new ObjectInputStream( new ByteArrayInputStream(bytes.toByteArray()) );
+		interests.restoreFromStream( input );
+		Assert.assertNull( interests.getSubscriptionTable() );
+		Assert.assertTrue( filter.accept(update(ac)) );
+
+		// and it is rebuilt from the restored interests once the FOM is back
+		state.restoreFromStream( input );
+		SubscriptionTable table = assertMatchesInterests();
+		Assert.assertTrue( table.getVersion() > version );
+		Assert.assertTrue( table.getObjectClass(classA).isAttributeSubscribed(aa) );
+		Assert.assertFalse( table.getObjectClass(classA).isAttributeSubscribed(ab) );
+
+		// the filter is using the new table
+		filter.accept( discover() );
+		Assert.assertFalse( filter.accept(update(ab)) );
+	}
+
+	private DiscoverObject discover()
+	{
+		DiscoverObject discover = new DiscoverObject();
+		discover.setClassHandle( classA );
+		discover.setObjectHandle( 1000 );
+		discover.setObjectName( "object1000" );
+		discover.setOwnedAttributes( new int[0] );
+		discover.setRegionTokens( new int[0][0] );
+		discover.setSourceFederate( fixture.getRemoteHandle() );
+		return discover;
+	}
+
+	private UpdateAttributes update( int attribute )
+	{
+		HashMap<Integer,byte[]> values = new HashMap<Integer,byte[]>();
+		values.put( attribute, new byte[]{ 1 } );
+		UpdateAttributes update = new UpdateAttributes( 1000, new byte[0], values );
+		update.setSourceFederate( fixture.getRemoteHandle() );
+		return update;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
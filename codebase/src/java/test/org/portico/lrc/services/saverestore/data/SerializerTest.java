@@ -0,0 +1,331 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.services.saverestore.data;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Tests that the {@link Serializer} snapshot format reads back what was written, including
+ * background writes, compression and incremental saves that share a chunk store.
+ */
+@Test(groups={"SerializerTest","saverestore"})
+public class SerializerTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+	private static final Logger LOGGER = Logger.getLogger( "portico.lrc" );
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+	private File directory;
+	private File chunkDirectory;
+	private ListTarget target;
+	private Manifest manifest;
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeMethod
+	public void beforeMethod() throws Exception
+	{
+		this.directory = File.createTempFile( "serializer", "" );
+		this.directory.delete();
+		this.directory.mkdirs();
+		this.chunkDirectory = new File( directory, "chunks" );
+		
+		this.target = new ListTarget();
+		for( int i = 0; i < 20000; i++ )
+			target.values.add( "value-"+i );
+		
+		this.manifest = new Manifest();
+		this.manifest.addTarget( target );
+	}
+	
+	@AfterMethod
+	public void afterMethod()
+	{
+		delete( directory );
+	}
+	
+	@Test
+	public void testSaveAndRestore() throws Exception
+	{
+		Serializer serializer = serializer( false, true, false );
+		List<String> expected = new ArrayList<String>( target.values );
+		String location = location( "full" );
+		serializer.save( manifest, location );
+		
+		target.values.clear();
+		serializer.restore( manifest, location );
+		Assert.assertEquals( target.values, expected );
+	}
+
+	@Test
+	public void testSaveReplacesExistingFile() throws Exception
+	{
+		Serializer serializer = serializer( false, true, false );
+		String location = location( "replaced" );
+		serializer.save( manifest, location );
+
+		target.values.set( 0, "modified" );
+		List<String> expected = new ArrayList<String>( target.values );
+		serializer.save( manifest, location );
+
+		// the new save sits where the old one was and nothing is left over from the swap
+		Assert.assertFalse( new File(location+".tmp").exists(), "Temporary save file left behind" );
+		Assert.assertEquals( directory.listFiles().length, 1 );
+
+		target.values.clear();
+		serializer.restore( manifest, location );
+		Assert.assertEquals( target.values, expected );
+	}
+
+	@Test
+	public void testRestoreWaitsForBackgroundWrite() throws Exception
+	{
+		Serializer serializer = serializer( true, true, false );
+		List<String> expected = new ArrayList<String>( target.values );
+		String location = location( "background" );
+		serializer.save( manifest, location );
+		
+		// change the live state straight away, the snapshot must not see it
+		target.values.clear();
+		target.values.add( "changed" );
+		serializer.restore( manifest, location );
+		Assert.assertEquals( target.values, expected );
+	}
+
+	@Test
+	public void testIncrementalSaveOnlyWritesChanges() throws Exception
+	{
+		Serializer serializer = serializer( false, false, true );
+		String first = location( "first" );
+		serializer.save( manifest, first );
+		long firstSize = new File( first ).length() + storedSize();
+		
+		// change a little near the start, so a fixed-size split would shift everything after it
+		target.values.add( 10, "inserted" );
+		target.values.set( 15000, "modified" );
+		List<String> expected = new ArrayList<String>( target.values );
+		String second = location( "second" );
+		serializer.save( manifest, second );
+		
+		// only the chunks that weren't already stored count towards the second save
+		long secondSize = new File( second ).length() + storedSize() - firstSize +
+		                  new File( first ).length();
+		Assert.assertTrue( secondSize*4 < firstSize,
+		                   "Incremental save not much smaller: "+secondSize+" vs "+firstSize );
+		
+		target.values.clear();
+		serializer.restore( manifest, second );
+		Assert.assertEquals( target.values, expected );
+	}
+
+	@Test
+	public void testResaveOfEarlierLabelKeepsLaterSaves() throws Exception
+	{
+		Serializer serializer = serializer( false, true, true );
+		String first = location( "first" );
+		serializer.save( manifest, first );
+		target.values.set( 100, "modified" );
+		List<String> secondValues = new ArrayList<String>( target.values );
+		String second = location( "second" );
+		serializer.save( manifest, second );
+		
+		// save something else entirely over the label the second save built on
+		target.values.clear();
+		target.values.add( "something else" );
+		List<String> firstValues = new ArrayList<String>( target.values );
+		serializer.save( manifest, first );
+		
+		target.values.clear();
+		serializer.restore( manifest, second );
+		Assert.assertEquals( target.values, secondValues );
+
+		target.values.clear();
+		serializer.restore( manifest, first );
+		Assert.assertEquals( target.values, firstValues );
+	}
+
+	@Test
+	public void testIncrementalSaveDetectsDamagedChunk() throws Exception
+	{
+		Serializer serializer = serializer( false, false, true );
+		String location = location( "damaged" );
+		serializer.save( manifest, location );
+		
+		// scribble over one of the chunks it needs
+		File chunk = chunkDirectory.listFiles()[0];
+		FileOutputStream ostream = new FileOutputStream( chunk );
+		ostream.write( new byte[(int)chunk.length()] );
+		ostream.close();
+		
+		try
+		{
+			serializer.restore( manifest, location );
+			Assert.fail( "Expected SaveRestoreFailed restoring from a save with a damaged chunk" );
+		}
+		catch( SaveRestoreFailed srf )
+		{
+			// yay!
+		}
+	}
+
+	@Test
+	public void testListenerToldOnceBackgroundWriteIsDone() throws Exception
+	{
+		String location = location( "listened" );
+		RecordingListener listener = new RecordingListener();
+		serializer( true, true, false ).save( manifest, location, listener );
+		
+		Assert.assertTrue( listener.done.await(10,TimeUnit.SECONDS), "Listener never told" );
+		Assert.assertEquals( listener.problems, Collections.emptyList() );
+		Assert.assertNull( listener.failure, "Write failed" );
+		Assert.assertEquals( listener.written, location );
+	}
+
+	@Test
+	public void testListenerToldOfFailedBackgroundWrite() throws Exception
+	{
+		// put a file where the chunk store should be so the chunks can't be written
+		new FileOutputStream( chunkDirectory ).close();
+		
+		String location = location( "failed" );
+		RecordingListener listener = new RecordingListener();
+		serializer( true, false, true ).save( manifest, location, listener );
+		
+		Assert.assertTrue( listener.done.await(10,TimeUnit.SECONDS), "Listener never told" );
+		Assert.assertNull( listener.written, "Listener told the write was a success" );
+		Assert.assertNotNull( listener.failure, "Listener not told the write failed" );
+	}
+
+	@Test
+	public void testRestoreFromForeignFile() throws Exception
+	{
+		String location = location( "foreign" );
+		FileOutputStream ostream = new FileOutputStream( location );
+		ostream.write( "this is not a save file".getBytes() );
+		ostream.close();
+		
+		try
+		{
+			serializer( false, true, false ).restore( manifest, location );
+			Assert.fail( "Expected SaveRestoreFailed restoring from a file that isn't a save" );
+		}
+		catch( SaveRestoreFailed srf )
+		{
+			// yay!
+		}
+	}
+
+	private String location( String name )
+	{
+		return new File( directory, name+".save" ).getPath();
+	}
+
+	private Serializer serializer( boolean background, boolean compress, boolean incremental )
+	{
+		return new Serializer( LOGGER, background, compress, incremental, chunkDirectory );
+	}
+
+	private long storedSize()
+	{
+		long size = 0;
+		for( File chunk : chunkDirectory.listFiles() )
+			size += chunk.length();
+
+		return size;
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+	private static void delete( File file )
+	{
+		if( file.isDirectory() )
+		{
+			for( File child : file.listFiles() )
+				delete( child );
+		}
+
+		file.delete();
+	}
+
+	/////////////////////////////////////////////////////////////////////////////////////////
+	////////////////////////////////// Private Inner Class //////////////////////////////////
+	/////////////////////////////////////////////////////////////////////////////////////////
+	private static class ListTarget implements SaveRestoreTarget
+	{
+		private List<String> values = new ArrayList<String>();
+		
+		public void saveToStream( ObjectOutput output ) throws Exception
+		{
+			output.writeObject( values );
+		}
+
+		@SuppressWarnings("unchecked")
+		public void restoreFromStream( ObjectInput input ) throws Exception
+		{
+			values = (List<String>)input.readObject();
+		}
+	}
+
+	/**
+	 * Records what a {@link Serializer.WriteListener} is told. Anything unexpected is put in
+	 * {@link #problems} for the test thread to check.
+	 */
+	private class RecordingListener implements Serializer.WriteListener
+	{
+		private CountDownLatch done = new CountDownLatch( 1 );
+		private List<String> problems = Collections.synchronizedList( new ArrayList<String>() );
+		private volatile String written;
+		private volatile SaveRestoreFailed failure;
+
+		public void saveWritten( String fileLocation )
+		{
+			if( new File(fileLocation).length() == 0 )
+				problems.add( "Told ["+fileLocation+"] was written before it was" );
+
+			written = fileLocation;
+			done.countDown();
+		}
+
+		public void saveFailed( String fileLocation, SaveRestoreFailed reason )
+		{
+			failure = reason;
+			done.countDown();
+		}
+	}
+}
@@ -0,0 +1,228 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.lrc.utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.portico.lrc.compat.JRTIinternalError;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Tests the recycling and generation handling of the {@link HandleAllocator}.
+ */
+@Test(groups={"HandleAllocatorTest","utils"})
+public class HandleAllocatorTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@Test
+	public void testFreshHandlesMatchCounter() throws Exception
+	{
+		// until something is released, handles should come out just like a counter
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		for( int i = 2; i < 10; i++ )
+			Assert.assertEquals( allocator.nextHandle(), 1000+i );
+		
+		Assert.assertEquals( allocator.getHandlesInUse(), 8 );
+	}
+
+	@Test
+	public void testReleasedSlotComesBackWithNewGeneration() throws Exception
+	{
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		int first = allocator.nextHandle();
+		int second = allocator.nextHandle();
+		Assert.assertTrue( allocator.release(first) );
+		Assert.assertFalse( allocator.isCurrent(first) );
+		Assert.assertTrue( allocator.isCurrent(second) );
+		
+		// once the fresh slots are gone the slot is reused, but the handle must be different
+		fill( allocator );
+		int recycled = allocator.nextHandle();
+		Assert.assertFalse( recycled == first );
+		Assert.assertEquals( (recycled-1000) & 15, (first-1000) & 15 );
+		Assert.assertTrue( allocator.isCurrent(recycled) );
+		Assert.assertFalse( allocator.isCurrent(first) );
+	}
+
+	@Test
+	public void testReleaseIgnoresStaleAndForeignHandles() throws Exception
+	{
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		int handle = allocator.nextHandle();
+		Assert.assertTrue( allocator.release(handle) );
+		
+		// second release of the same handle
+		Assert.assertFalse( allocator.release(handle) );
+		
+		// reserved slots, never-issued slots and values outside the range
+		Assert.assertFalse( allocator.release(1000) );
+		Assert.assertFalse( allocator.release(1001) );
+		Assert.assertFalse( allocator.release(1010) );
+		Assert.assertFalse( allocator.release(999) );
+		Assert.assertFalse( allocator.release(1064) );
+		Assert.assertEquals( allocator.getHandlesInUse(), 0 );
+		
+		// stale release once the slot is back in use must not free the new occupant
+		fill( allocator );
+		int recycled = allocator.nextHandle();
+		Assert.assertFalse( allocator.release(handle) );
+		Assert.assertTrue( allocator.isCurrent(recycled) );
+		Assert.assertEquals( allocator.getHandlesInUse(), allocator.getCapacity() );
+	}
+
+	@Test
+	public void testFreshSlotsUsedBeforeReleasedOnes() throws Exception
+	{
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		int[] handles = new int[6];
+		for( int i = 0; i < handles.length; i++ )
+			handles[i] = allocator.nextHandle();
+		
+		allocator.release( handles[4] );
+		allocator.release( handles[1] );
+		
+		Assert.assertEquals( allocator.nextHandle(), 1008 );
+		Assert.assertEquals( allocator.nextHandle(), 1009 );
+	}
+
+	@Test
+	public void testReleasedSlotsReusedInReleaseOrder() throws Exception
+	{
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		int[] handles = new int[allocator.getCapacity()];
+		for( int i = 0; i < handles.length; i++ )
+			handles[i] = allocator.nextHandle();
+		
+		allocator.release( handles[4] );
+		allocator.release( handles[1] );
+		allocator.release( handles[9] );
+		
+		Assert.assertEquals( (allocator.nextHandle()-1000) & 15, 6 );
+		Assert.assertEquals( (allocator.nextHandle()-1000) & 15, 3 );
+		Assert.assertEquals( (allocator.nextHandle()-1000) & 15, 11 );
+	}
+
+	@Test
+	public void testCapacityIsOnLiveHandles() throws Exception
+	{
+		HandleAllocator allocator = new HandleAllocator( 1000, 64, 2, 2 );
+		int capacity = allocator.getCapacity();
+		Assert.assertEquals( capacity, 14 );
+		
+		// churn through many more handles than the range holds, all inside the range
+		Set<Integer> live = new HashSet<Integer>();
+		for( int i = 0; i < 1000; i++ )
+		{
+			int handle = allocator.nextHandle();
+			Assert.assertTrue( handle >= 1002 && handle < 1064, "out of range: "+handle );
+			Assert.assertTrue( live.add(handle), "handle issued twice: "+handle );
+			if( live.size() == capacity )
+			{
+				for( Integer current : live )
+					Assert.assertTrue( allocator.release(current) );
+				live.clear();
+			}
+		}
+		
+		// fill it up and make sure we're told when it is full
+		while( live.size() < capacity )
+			live.add( allocator.nextHandle() );
+		
+		try
+		{
+			allocator.nextHandle();
+			Assert.fail( "Expected JRTIinternalError when all slots are in use" );
+		}
+		catch( JRTIinternalError rtie )
+		{
+			// yay!
+		}
+	}
+
+	@Test
+	public void testFederateRangeBoundaries() throws Exception
+	{
+		// the top of a full-sized federate range must not spill into the next federate's range
+		int size = Integer.MAX_VALUE / 1024;
+		HandleAllocator allocator = new HandleAllocator( size, size, 2, 4 );
+		Assert.assertEquals( allocator.getCapacity(), 131069 );
+		
+		int handle = 0;
+		for( int i = 0; i < allocator.getCapacity(); i++ )
+			handle = allocator.nextHandle();
+		
+		// keep recycling the top slot until it reaches its last generation
+		for( int i = 0; i < 15; i++ )
+		{
+			Assert.assertTrue( allocator.release(handle) );
+			handle = allocator.nextHandle();
+		}
+		
+		Assert.assertEquals( handle, size + (15 << 17) + 131070 );
+		Assert.assertTrue( handle < size*2 );
+	}
+
+	@Test
+	public void testFullRangeWithoutGenerationBits() throws Exception
+	{
+		// without generation bits every value in a federate's range can be alive at once
+		int size = Integer.MAX_VALUE / 1024;
+		HandleAllocator allocator = new HandleAllocator( size, size, 2, 0 );
+		Assert.assertEquals( allocator.getCapacity(), size-2 );
+		
+		int first = allocator.nextHandle();
+		int handle = first;
+		for( int i = 1; i < allocator.getCapacity(); i++ )
+			handle = allocator.nextHandle();
+		
+		Assert.assertEquals( handle, size*2 - 1 );
+		
+		// a released handle is only given out again once there's nothing else left
+		Assert.assertTrue( allocator.release(first) );
+		Assert.assertFalse( allocator.isCurrent(first) );
+		Assert.assertEquals( allocator.nextHandle(), first );
+		Assert.assertTrue( allocator.isCurrent(first) );
+	}
+
+	/**
+	 * Hand out handles until there is only one slot left. When the one slot left is one that was
+	 * released, the next handle is a recycled one.
+	 */
+	private void fill( HandleAllocator allocator ) throws Exception
+	{
+		while( allocator.getHandlesInUse() < allocator.getCapacity()-1 )
+			allocator.nextHandle();
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
@@ -0,0 +1,156 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.shared;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+import java.util.Map;
+
+import hla.rti1516e.OrderType;
+
+import org.portico.impl.cpp1516e.CallbackBatch;
+import org.portico.impl.hla1516e.types.HLA1516eAttributeHandleValueMap;
+import org.portico.impl.hla1516e.types.HLA1516eHandle;
+import org.portico.impl.hla1516e.types.HLA1516eParameterHandleValueMap;
+import org.portico.impl.hla1516e.types.HLA1516eRegionHandleSet;
+import org.portico.impl.hla1516e.types.time.DoubleTime;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+@Test(groups={"CallbackBatchTest","shared","helpers"})
+public class CallbackBatchTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	/**
+	 * Packs a reflection and an interaction and then walks the buffer, making sure it holds
+	 * exactly the layout that the C++ side expects to read.
+	 */
+	@Test
+	public void testBatchLayout()
+	{
+		Map<Integer,byte[]> values = new HashMap<Integer,byte[]>();
+		values.put( 7, new byte[]{ 1, 2, 3 } );
+		
+		CallbackBatch batch = new CallbackBatch( 1024 );
+		boolean added = batch.addReflect( new HLA1516eHandle(100),
+		                                  new HLA1516eAttributeHandleValueMap(values),
+		                                  new byte[]{ 9 },
+		                                  OrderType.RECEIVE,
+		                                  new HLA1516eHandle(1),
+		                                  null,
+		                                  null,
+		                                  null,
+		                                  new HLA1516eHandle(3),
+		                                  new HLA1516eRegionHandleSet(new int[]{ 11 }) );
+		Assert.assertTrue( added, "Reflection was not added to the batch" );
+
+		added = batch.addReceive( new HLA1516eHandle(200),
+		                          new HLA1516eParameterHandleValueMap(values),
+		                          null,
+		                          OrderType.TIMESTAMP,
+		                          new HLA1516eHandle(2),
+		                          new DoubleTime(1.5),
+		                          OrderType.TIMESTAMP,
+		                          new HLA1516eHandle(42),
+		                          new HLA1516eHandle(3),
+		                          new HLA1516eRegionHandleSet() );
+		Assert.assertTrue( added, "Interaction was not added to the batch" );
+		Assert.assertEquals( batch.getCount(), 2 );
+
+		ByteBuffer buffer = batch.getBuffer().duplicate().order( ByteOrder.nativeOrder() );
+		buffer.flip();
+
+		// reflection
+		Assert.assertEquals( buffer.getInt(), CallbackBatch.TYPE_REFLECT );
+		Assert.assertEquals( buffer.getInt(), 100 );  // object
+		Assert.assertEquals( buffer.getInt(), 1 );    // sent order (RECEIVE)
+		Assert.assertEquals( buffer.getInt(), 1 );    // transport
+		Assert.assertEquals( buffer.getInt(), 0 );    // flags
+		Assert.assertEquals( buffer.getInt(), 3 );    // producing federate
+		Assert.assertEquals( buffer.getInt(), 1 );    // region count
+		Assert.assertEquals( buffer.getInt(), 11 );
+		Assert.assertEquals( buffer.getInt(), 1 );    // tag
+		Assert.assertEquals( buffer.get(), 9 );
+		Assert.assertEquals( buffer.getInt(), 1 );    // value count
+		Assert.assertEquals( buffer.getInt(), 7 );
+		Assert.assertEquals( buffer.getInt(), 3 );
+		buffer.position( buffer.position()+3 );
+
+		// interaction
+		Assert.assertEquals( buffer.getInt(), CallbackBatch.TYPE_RECEIVE );
+		Assert.assertEquals( buffer.getInt(), 200 );  // class
+		Assert.assertEquals( buffer.getInt(), 2 );    // sent order (TIMESTAMP)
+		Assert.assertEquals( buffer.getInt(), 2 );    // transport
+		Assert.assertEquals( buffer.getInt(),
+		                     CallbackBatch.FLAG_FLOAT_TIME | CallbackBatch.FLAG_RETRACTION );
+		Assert.assertEquals( buffer.getDouble(), 1.5 );
+		Assert.assertEquals( buffer.getInt(), 2 );    // received order
+		Assert.assertEquals( buffer.getInt(), 42 );   // retraction
+		Assert.assertEquals( buffer.getInt(), 3 );    // producing federate
+		Assert.assertEquals( buffer.getInt(), 0 );    // region count
+		Assert.assertEquals( buffer.getInt(), -1 );   // no tag
+		Assert.assertEquals( buffer.getInt(), 1 );    // value count
+		Assert.assertEquals( buffer.getInt(), 7 );
+		Assert.assertEquals( buffer.getInt(), 3 );
+		buffer.position( buffer.position()+3 );
+
+		Assert.assertEquals( buffer.remaining(), 0 );
+		Assert.assertEquals( batch.getLength(), buffer.position() );
+	}
+
+	/**
+	 * Make sure that a callback which won't fit is refused without anything being written.
+	 */
+	@Test
+	public void testBatchFull()
+	{
+		Map<Integer,byte[]> values = new HashMap<Integer,byte[]>();
+		values.put( 1, new byte[64] );
+
+		CallbackBatch batch = new CallbackBatch( 64 );
+		boolean added = batch.addReflect( new HLA1516eHandle(100),
+		                                  new HLA1516eAttributeHandleValueMap(values),
+		                                  null,
+		                                  OrderType.RECEIVE,
+		                                  new HLA1516eHandle(1),
+		                                  null,
+		                                  null,
+		                                  null,
+		                                  new HLA1516eHandle(3),
+		                                  new HLA1516eRegionHandleSet() );
+		Assert.assertFalse( added, "Oversized reflection should not have been added" );
+		Assert.assertTrue( batch.isEmpty() );
+		Assert.assertEquals( batch.getLength(), 0 );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}
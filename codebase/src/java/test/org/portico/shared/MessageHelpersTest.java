@@ -14,6 +14,10 @@
  */
 package org.portico.shared;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.HashMap;
+
 import org.portico.impl.hla13.fomparser.FOM;
 import org.portico.lrc.model.ACMetadata;
 import org.portico.lrc.model.ICMetadata;
@@ -138,6 +142,36 @@ public class MessageHelpersTest
 		Assert.assertEquals( inflated.getFederationName(), request.getFederationName() );
 	}
 
+	/**
+	 * Pack a tag and some values the way the C++ bindings do and make sure they come back out
+	 * of the buffer intact, including when there is no tag at all.
+	 */
+	@Test
+	public void testUnpackValues() throws Exception
+	{
+		ByteBuffer buffer = ByteBuffer.allocateDirect( 128 ).order( ByteOrder.nativeOrder() );
+		buffer.putInt( 3 ).put( "tag".getBytes() );
+		buffer.putInt( 2 );
+		buffer.putInt( 11 ).putInt( 2 ).put( new byte[]{ 1, 2 } );
+		buffer.putInt( 12 ).putInt( 0 );
+		buffer.flip();
+
+		HashMap<Integer,byte[]> values = new HashMap<Integer,byte[]>();
+		byte[] tag = MessageHelpers.unpackValues( buffer, values );
+		Assert.assertEquals( new String(tag), "tag" );
+		Assert.assertEquals( values.size(), 2 );
+		Assert.assertEquals( values.get(11), new byte[]{ 1, 2 } );
+		Assert.assertEquals( values.get(12).length, 0 );
+
+		// the buffer is reused from the start for the next call, this time with no tag
+		buffer.clear();
+		buffer.putInt( -1 ).putInt( 0 );
+		buffer.flip();
+		values.clear();
+		Assert.assertNull( MessageHelpers.unpackValues(buffer,values) );
+		Assert.assertTrue( values.isEmpty() );
+	}
+
 	//----------------------------------------------------------
 	//                     STATIC METHODS
 	//----------------------------------------------------------
@@ -0,0 +1,144 @@
+/*
+ *   Copyright 2015 The Portico Project
+ *
+ *   This file is part of portico.
+ *
+ *   portico is free software; you can redistribute it and/or modify
+ *   it under the terms of the Common Developer and Distribution License (CDDL) 
+ *   as published by Sun Microsystems. For more information see the LICENSE file.
+ *   
+ *   Use of this software is strictly AT YOUR OWN RISK!!!
+ *   If something bad happens you do not have permission to come crying to me.
+ *   (that goes for your lawyer as well)
+ *
+ */
+package org.portico.utils.messaging;
+
+import org.portico.lrc.PorticoConstants;
+import org.portico.lrc.services.object.msg.UpdateAttributes;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+/**
+ * Checks that pooled messages are only reused once every reference to them (including those
+ * held by clones) has been released, and that they come back reset.
+ */
+@Test(groups={"MessagePoolTest","utils"})
+public class MessagePoolTest
+{
+	//----------------------------------------------------------
+	//                    STATIC VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                   INSTANCE VARIABLES
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                      CONSTRUCTORS
+	//----------------------------------------------------------
+
+	//----------------------------------------------------------
+	//                    INSTANCE METHODS
+	//----------------------------------------------------------
+	@BeforeClass(alwaysRun=true)
+	public void beforeClass()
+	{
+		System.setProperty( PorticoConstants.PROPERTY_MESSAGE_POOL, "true" );
+	}
+
+	@AfterClass(alwaysRun=true)
+	public void afterClass()
+	{
+		System.clearProperty( PorticoConstants.PROPERTY_MESSAGE_POOL );
+	}
+
+	private MessagePool<UpdateAttributes> newPool() throws Exception
+	{
+		return new MessagePool<UpdateAttributes>( "UpdateAttributes" )
+		{
+			protected UpdateAttributes create() { return new UpdateAttributes(); }
+		};
+	}
+
+	@Test
+	public void testReleasedMessageIsReusedAndReset() throws Exception
+	{
+		MessagePool<UpdateAttributes> pool = newPool();
+		UpdateAttributes first = pool.acquire();
+		Assert.assertTrue( first.isPooled() );
+		first.setObjectId( 42 );
+		first.setTimestamp( 10.0 );
+		first.getAttributes().put( 1, new byte[]{1} );
+		first.addFilteredAttribute( 1, new byte[]{1}, null );
+
+		// still held, so we should get a different one
+		UpdateAttributes second = pool.acquire();
+		Assert.assertNotSame( second, first );
+
+		first.release();
+		UpdateAttributes third = pool.acquire();
+		Assert.assertSame( third, first );
+		Assert.assertEquals( third.getObjectId(), PorticoConstants.NULL_HANDLE );
+		Assert.assertFalse( third.isTimestamped() );
+		Assert.assertTrue( third.getAttributes().isEmpty() );
+		Assert.assertTrue( third.getFilteredAttributes().isEmpty() );
+	}
+
+	@Test
+	public void testRetainedMessageIsNotReused() throws Exception
+	{
+		MessagePool<UpdateAttributes> pool = newPool();
+		UpdateAttributes message = pool.acquire();
+		message.retain();
+		message.release();
+		Assert.assertNotSame( pool.acquire(), message );
+
+		message.release();
+		Assert.assertSame( pool.acquire(), message );
+	}
+
+	@Test
+	public void testCloneHoldsOriginal() throws Exception
+	{
+		MessagePool<UpdateAttributes> pool = newPool();
+		UpdateAttributes original = pool.acquire();
+		original.getAttributes().put( 1, new byte[]{1} );
+
+		UpdateAttributes clone = original.clone( UpdateAttributes.class );
+		Assert.assertTrue( clone.isPooled() );
+		original.release();
+
+		// the clone shares the attribute map, so the original can't have been reset yet
+		Assert.assertEquals( clone.getAttributes().size(), 1 );
+		Assert.assertNotSame( pool.acquire(), original );
+
+		clone.release();
+		Assert.assertSame( pool.acquire(), original );
+	}
+
+	@Test(expectedExceptions=IllegalStateException.class)
+	public void testDoubleReleaseFails() throws Exception
+	{
+		UpdateAttributes message = newPool().acquire();
+		message.release();
+		message.release();
+	}
+
+	@Test
+	public void testUnpooledMessagesIgnoreRelease() throws Exception
+	{
+		UpdateAttributes message = new UpdateAttributes();
+		message.getAttributes().put( 1, new byte[]{1} );
+		Assert.assertFalse( message.isPooled() );
+		message.release();
+		message.release();
+		Assert.assertEquals( message.getAttributes().size(), 1 );
+	}
+
+	//----------------------------------------------------------
+	//                     STATIC METHODS
+	//----------------------------------------------------------
+}